@@ -0,0 +1,151 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.base.data.aggregation.approximate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests the estimates of the {@link HyperLogLog} sketch.
+ *
+ * @author agent
+ */
+public class HyperLogLogTest {
+
+    /** Small cardinalities are counted exactly by the linear counting correction. */
+    @Test
+    public void testSmallCardinality() {
+        final HyperLogLog sketch = new HyperLogLog(12);
+        assertEquals(0, sketch.estimate());
+        for (int i = 0; i < 10; i++) {
+            // duplicates must not be counted
+            sketch.add(Integer.hashCode(i));
+            sketch.add(Integer.hashCode(i));
+        }
+        assertEquals(10, sketch.estimate());
+    }
+
+    /** Large cardinalities are estimated within a few standard errors. */
+    @Test
+    public void testLargeCardinality() {
+        final HyperLogLog sketch = new HyperLogLog(12);
+        final int n = 1000000;
+        for (int i = 0; i < n; i++) {
+            sketch.add(Integer.hashCode(i));
+        }
+        assertEquals(n, sketch.estimate(), 0.05 * n);
+    }
+
+    /** Merging two sketches estimates the cardinality of the union. */
+    @Test
+    public void testMerge() {
+        final HyperLogLog first = new HyperLogLog(12);
+        final HyperLogLog second = new HyperLogLog(12);
+        final int n = 100000;
+        for (int i = 0; i < n; i++) {
+            // overlapping halves
+            first.add(("value" + i).hashCode());
+            second.add(("value" + (i + n / 2)).hashCode());
+        }
+        first.merge(second);
+        assertEquals(1.5 * n, first.estimate(), 0.05 * 1.5 * n);
+        first.clear();
+        assertEquals(0, first.estimate());
+    }
+
+    /** Small sketches keep the hashes and count exactly, until the hashes would take more memory than the registers. */
+    @Test
+    public void testSparseToRegisters() {
+        final HyperLogLog sketch = new HyperLogLog(12);
+        final int sparseLimit = (1 << 12) / Long.BYTES;
+        for (int i = 0; i < sparseLimit; i++) {
+            sketch.add(("value" + i).hashCode());
+        }
+        assertTrue(sketch.isSparse());
+        assertEquals(sparseLimit, sketch.estimate());
+        sketch.add(("value" + sparseLimit).hashCode());
+        assertFalse(sketch.isSparse());
+        assertEquals(sparseLimit + 1, sketch.estimate(), 0.05 * sparseLimit);
+        sketch.clear();
+        assertTrue(sketch.isSparse());
+        assertEquals(0, sketch.estimate());
+    }
+
+    /** Sparse and dense sketches can be merged in either direction. */
+    @Test
+    public void testMergeSparseAndRegisters() {
+        final int n = 10000;
+        final HyperLogLog dense = new HyperLogLog(12);
+        for (int i = 0; i < n; i++) {
+            dense.add(Integer.hashCode(i));
+        }
+        final HyperLogLog sparse = new HyperLogLog(12);
+        for (int i = n; i < n + 100; i++) {
+            sparse.add(Integer.hashCode(i));
+        }
+        final HyperLogLog sparseCopy = new HyperLogLog(12);
+        sparseCopy.merge(sparse);
+        assertTrue(sparseCopy.isSparse());
+        assertEquals(100, sparseCopy.estimate());
+
+        sparseCopy.merge(dense);
+        assertFalse(sparseCopy.isSparse());
+        assertEquals(n + 100, sparseCopy.estimate(), 0.05 * n);
+        dense.merge(sparse);
+        assertEquals(sparseCopy.estimate(), dense.estimate());
+    }
+
+    /** Merging sketches of different precision fails. */
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeDifferentPrecision() {
+        new HyperLogLog(10).merge(new HyperLogLog(12));
+    }
+}
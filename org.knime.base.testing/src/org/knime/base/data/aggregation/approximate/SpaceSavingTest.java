@@ -0,0 +1,106 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.base.data.aggregation.approximate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link SpaceSaving} sketch.
+ *
+ * @author agent
+ */
+public class SpaceSavingTest {
+
+    /** Counts are exact as long as the number of distinct values does not exceed the capacity. */
+    @Test
+    public void testExactWithinCapacity() {
+        final SpaceSaving<String> sketch = new SpaceSaving<>(10);
+        assertNull(sketch.getMostFrequent());
+        for (final String value : new String[]{"a", "b", "c", "b", "c", "c", "d"}) {
+            sketch.add(value);
+        }
+        assertEquals("c", sketch.getMostFrequent());
+        assertEquals(Arrays.asList("c", "b", "a"), sketch.getTopK(3));
+        assertEquals(Arrays.asList("c", "b", "a", "d"), sketch.getTopK(10));
+    }
+
+    /** Heavy hitters of a skewed distribution are found despite many rare values. */
+    @Test
+    public void testHeavyHitters() {
+        final Random random = new Random(0);
+        final SpaceSaving<Integer> sketch = new SpaceSaving<>(20);
+        final SpaceSaving<Integer> first = new SpaceSaving<>(20);
+        final SpaceSaving<Integer> second = new SpaceSaving<>(20);
+        for (int i = 0; i < 100000; i++) {
+            final int value;
+            final double r = random.nextDouble();
+            if (r < 0.3) {
+                value = 1;
+            } else if (r < 0.5) {
+                value = 2;
+            } else if (r < 0.6) {
+                value = 3;
+            } else {
+                // rare values
+                value = 100 + random.nextInt(100000);
+            }
+            sketch.add(value);
+            (i % 2 == 0 ? first : second).add(value);
+        }
+        assertEquals(Arrays.asList(1, 2, 3), sketch.getTopK(3));
+        first.merge(second);
+        assertEquals(Arrays.asList(1, 2, 3), first.getTopK(3));
+        assertEquals(Integer.valueOf(1), first.getMostFrequent());
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.base.data.aggregation.approximate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the estimates of the {@link TDigest}.
+ *
+ * @author agent
+ */
+public class TDigestTest {
+
+    private static final double[] QUANTILES = {0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99};
+
+    /** An empty digest has no quantiles, a single value is every quantile. */
+    @Test
+    public void testEmptyAndSingleValue() {
+        final TDigest digest = new TDigest(100);
+        assertTrue(digest.isEmpty());
+        assertTrue(Double.isNaN(digest.quantile(0.5)));
+        digest.add(42);
+        assertEquals(42, digest.quantile(0), 0);
+        assertEquals(42, digest.quantile(0.5), 0);
+        assertEquals(42, digest.quantile(1), 0);
+    }
+
+    /** Quantiles of a normal distribution are estimated closely, minimum and maximum exactly. */
+    @Test
+    public void testQuantiles() {
+        final Random random = new Random(0);
+        final double[] values = new double[100000];
+        final TDigest digest = new TDigest(100);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextGaussian();
+            digest.add(values[i]);
+        }
+        assertQuantiles(values, digest);
+    }
+
+    /** Merged digests estimate the quantiles of the combined values. */
+    @Test
+    public void testMerge() {
+        final Random random = new Random(0);
+        final double[] values = new double[100000];
+        final TDigest[] digests = {new TDigest(100), new TDigest(100), new TDigest(100)};
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextDouble() * 1000;
+            digests[i % digests.length].add(values[i]);
+        }
+        digests[0].merge(digests[1]);
+        digests[0].merge(digests[2]);
+        assertQuantiles(values, digests[0]);
+        digests[0].clear();
+        assertTrue(digests[0].isEmpty());
+    }
+
+    private static void assertQuantiles(final double[] values, final TDigest digest) {
+        final double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        final double range = sorted[sorted.length - 1] - sorted[0];
+        assertEquals(sorted[0], digest.quantile(0), 0);
+        assertEquals(sorted[sorted.length - 1], digest.quantile(1), 0);
+        for (final double q : QUANTILES) {
+            final double exact = sorted[(int)(q * sorted.length)];
+            assertEquals("Quantile " + q, exact, digest.quantile(q), 0.005 * range);
+        }
+    }
+}
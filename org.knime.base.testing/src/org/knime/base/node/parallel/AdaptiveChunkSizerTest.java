@@ -0,0 +1,108 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.base.node.parallel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Testcases for {@link AdaptiveChunkSizer}.
+ *
+ * @author agent
+ */
+public class AdaptiveChunkSizerTest {
+
+    /** Before any timing is available the initial size is used (unless the tail bound is smaller). */
+    @Test
+    public void testInitialChunkSize() {
+        AdaptiveChunkSizer sizer = new AdaptiveChunkSizer(100, 10, 4, 500L);
+        assertEquals(100, sizer.nextChunkSize(1000000L));
+        assertEquals("Tail bound not applied", 13, sizer.nextChunkSize(100L));
+        assertEquals(1, sizer.nextChunkSize(1L));
+    }
+
+    /** Chunk size follows the measured processing time per row. */
+    @Test
+    public void testTimeBasedChunkSize() {
+        AdaptiveChunkSizer sizer = new AdaptiveChunkSizer(100, 10, 4, 500L);
+        // 1ms per row -> 500 rows per chunk
+        sizer.chunkFinished(100, 100 * 1000000L);
+        assertEquals(500, sizer.nextChunkSize(1000000L));
+        // very expensive rows -> never below the minimum chunk size
+        sizer.chunkFinished(1, 3600 * 1000000000L);
+        assertEquals(10, sizer.nextChunkSize(1000000L));
+    }
+
+    /** Chunks shrink towards the end of the input, but not below the minimum chunk size. */
+    @Test
+    public void testShrinkingTail() {
+        AdaptiveChunkSizer sizer = new AdaptiveChunkSizer(1000, 50, 8, 500L);
+        long remaining = 100000L;
+        int previous = Integer.MAX_VALUE;
+        while (remaining > 0) {
+            int size = sizer.nextChunkSize(remaining);
+            assertTrue("Chunk size increased", size <= previous);
+            assertTrue("Chunk larger than remaining rows", size <= remaining);
+            assertTrue("Chunk smaller than minimum: " + size, size >= 50 || size == remaining);
+            previous = size;
+            remaining -= size;
+        }
+    }
+
+    /** The minimum chunk size is capped by the initial chunk size. */
+    @Test
+    public void testMinChunkSizeCapped() {
+        AdaptiveChunkSizer sizer = new AdaptiveChunkSizer(20, 50, 4, 500L);
+        assertEquals(20, sizer.getMinChunkSize());
+        assertEquals(20, sizer.nextChunkSize(30L));
+        assertEquals(10, sizer.nextChunkSize(10L));
+    }
+
+}
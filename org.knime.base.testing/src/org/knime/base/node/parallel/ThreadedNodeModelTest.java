@@ -0,0 +1,239 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.base.node.parallel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTable;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.container.RowAppender;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Executes a {@link ThreadedNodeModel} with fixed and with adaptive chunking and checks the chunks and the result.
+ *
+ * @author agent
+ */
+@SuppressWarnings("deprecation")
+public class ThreadedNodeModelTest {
+
+    private static final int ROW_COUNT = 5000;
+
+    private static final int CHUNK_SIZE = 500;
+
+    private static final int MIN_CHUNK_SIZE = 20;
+
+    private ExecutionContext m_exec;
+
+    private BufferedDataTable m_table;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec =
+            new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+                SingleNodeContainer.MemoryPolicy.CacheOnDisc, new HashMap<Integer, ContainerTable>());
+        final BufferedDataContainer cont = m_exec.createDataContainer(
+            new DataTableSpec(new DataColumnSpecCreator("value", IntCell.TYPE).createSpec()));
+        for (int i = 0; i < ROW_COUNT; i++) {
+            cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i)));
+        }
+        cont.close();
+        m_table = cont.getTable();
+    }
+
+    /**
+     * Chunks get smaller than the initial chunk size (but not smaller than the minimum) and the result contains all
+     * rows in input order.
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testAdaptiveChunking() throws Exception {
+        DoublingNodeModel model = new DoublingNodeModel();
+        assertFalse("Adaptive chunking enabled by default", model.isAdaptiveChunking());
+        model.setAdaptiveChunking(true);
+        assertTrue(model.isAdaptiveChunking());
+        // each row takes at least 20us, chunks should shrink to about 50 rows
+        model.setTargetChunkDuration(1L);
+        model.setMinChunkSize(MIN_CHUNK_SIZE);
+        model.setMaxThreads(2);
+
+        BufferedDataTable result = model.execute(new BufferedDataTable[]{m_table}, m_exec)[0];
+
+        List<Integer> chunkSizes = new ArrayList<>(model.m_chunkSizes);
+        assertTrue("Chunks didn't adapt: " + chunkSizes, chunkSizes.size() > ROW_COUNT / CHUNK_SIZE);
+        int nrRows = 0;
+        int nrSmallChunks = 0;
+        for (int size : chunkSizes) {
+            assertTrue("Chunk too large: " + chunkSizes, size <= CHUNK_SIZE);
+            if (size < MIN_CHUNK_SIZE) {
+                nrSmallChunks++;
+            }
+            nrRows += size;
+        }
+        assertEquals(ROW_COUNT, nrRows);
+        assertTrue("Chunks below minimum size: " + chunkSizes, nrSmallChunks <= 1);
+
+        assertEquals(ROW_COUNT, result.size());
+        int i = 0;
+        for (DataRow row : result) {
+            assertEquals(RowKey.createRowKey((long)i), row.getKey());
+            assertEquals(new IntCell(2 * i), row.getCell(0));
+            i++;
+        }
+    }
+
+    /** Chunking with a fixed size, the default.
+     * @throws Exception if an error occurs */
+    @Test
+    public void testFixedChunking() throws Exception {
+        DoublingNodeModel model = new DoublingNodeModel();
+        assertFalse(model.isAdaptiveChunking());
+
+        BufferedDataTable result = model.execute(new BufferedDataTable[]{m_table}, m_exec)[0];
+
+        assertEquals(ROW_COUNT / CHUNK_SIZE, model.m_chunkSizes.size());
+        for (int size : model.m_chunkSizes) {
+            assertEquals(CHUNK_SIZE, size);
+        }
+        assertEquals(ROW_COUNT, result.size());
+    }
+
+    /** Doubles the values, taking some time per row, and records the chunk sizes. */
+    private static final class DoublingNodeModel extends ThreadedNodeModel {
+
+        private final Queue<Integer> m_chunkSizes = new ConcurrentLinkedQueue<>();
+
+        DoublingNodeModel() {
+            super(1, 1, CHUNK_SIZE);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected DataTableSpec[] prepareExecute(final DataTable[] data) throws Exception {
+            return new DataTableSpec[]{data[0].getDataTableSpec()};
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void executeByChunk(final BufferedDataTable inDataChunk, final BufferedDataTable[] additionalData,
+            final RowAppender[] outputTables, final ExecutionMonitor exec) throws Exception {
+            m_chunkSizes.add((int)inDataChunk.size());
+            for (DataRow row : inDataChunk) {
+                LockSupport.parkNanos(20000L);
+                int value = ((IntCell)row.getCell(0)).getIntValue();
+                outputTables[0].addRowToTable(new DefaultRow(row.getKey(), new IntCell(2 * value)));
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void loadInternals(final File nodeInternDir, final ExecutionMonitor exec) {
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void saveInternals(final File nodeInternDir, final ExecutionMonitor exec) {
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void saveSettingsTo(final NodeSettingsWO settings) {
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void validateSettings(final NodeSettingsRO settings) {
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) {
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void reset() {
+        }
+    }
+
+}
@@ -0,0 +1,196 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.base.node.preproc.groupby;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.base.data.aggregation.ColumnAggregator;
+import org.knime.base.data.aggregation.GlobalSettings;
+import org.knime.base.data.aggregation.OperatorColumnSettings;
+import org.knime.base.data.aggregation.general.ConcatenateOperator;
+import org.knime.base.data.aggregation.general.CountOperator;
+import org.knime.base.data.aggregation.numerical.SumOperator;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Tests the {@link HashGroupByTable}, especially when groups are spilled to disk.
+ *
+ * @author agent
+ */
+public class HashGroupByTableTest {
+
+    private static final List<String> GROUP_COLS = Arrays.asList("group");
+
+    private ExecutionContext m_exec;
+
+    private BufferedDataTable m_table;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec =
+            new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+                SingleNodeContainer.MemoryPolicy.CacheOnDisc, new HashMap<Integer, ContainerTable>());
+        final DataTableSpec spec = new DataTableSpec(
+            new DataColumnSpecCreator("group", StringCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("value", IntCell.TYPE).createSpec());
+        final BufferedDataContainer cont = m_exec.createDataContainer(spec);
+        final Random rand = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i),
+                new StringCell("Group " + rand.nextInt(500)), new IntCell(rand.nextInt(1000))));
+        }
+        cont.close();
+        m_table = cont.getTable();
+    }
+
+    /**
+     * Checks the result if all groups fit into memory.
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testInMemory() throws Exception {
+        compareWithMemoryGroupBy(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Checks the result if groups need to be spilled to disk (and partitions re-partitioned).
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testSpillToDisk() throws Exception {
+        compareWithMemoryGroupBy(3);
+    }
+
+    /**
+     * Checks the result if only some of the partitions are spilled, the other groups remain in memory.
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testSpillSomePartitions() throws Exception {
+        compareWithMemoryGroupBy(450);
+    }
+
+    private void compareWithMemoryGroupBy(final int maxGroupsInMemory) throws Exception {
+        final GroupByTable reference = new MemoryGroupByTable(m_exec, m_table, GROUP_COLS, createAggregators(),
+            createGlobalSettings(), true, ColumnNamePolicy.AGGREGATION_METHOD_COLUMN_NAME, false);
+        final GroupByTable test = new HashGroupByTable(m_exec, m_table, GROUP_COLS, createAggregators(),
+            createGlobalSettings(), true, ColumnNamePolicy.AGGREGATION_METHOD_COLUMN_NAME, false, maxGroupsInMemory);
+        final Map<DataCell, DataRow> referenceRows = getRowsByGroup(reference.getBufferedTable());
+        final Map<DataCell, DataRow> testRows = getRowsByGroup(test.getBufferedTable());
+        assertThat("Number of groups", testRows.size(), is(referenceRows.size()));
+        for (final Map.Entry<DataCell, DataRow> e : referenceRows.entrySet()) {
+            final DataRow refRow = e.getValue();
+            final DataRow testRow = testRows.get(e.getKey());
+            for (int i = 1; i < refRow.getNumCells(); i++) {
+                assertThat("Aggregate of " + e.getKey(), testRow.getCell(i), is(refRow.getCell(i)));
+            }
+            assertThat("Hilite mapping of " + e.getKey(), test.getHiliteMapper().getKeys(testRow.getKey()),
+                is(reference.getHiliteMapper().getKeys(refRow.getKey())));
+        }
+        // the keys of the rows of spilled partitions are not stored again when they are aggregated again
+        assertThat("Number of row keys", ((RowIndexHiLiteMapper)test.getHiliteMapper()).getRowKeyCount(),
+            is(m_table.size()));
+    }
+
+    private ColumnAggregator[] createAggregators() {
+        final GlobalSettings settings = createGlobalSettings();
+        return new ColumnAggregator[]{
+            new ColumnAggregator(m_table.getSpec().getColumnSpec("value"),
+                new SumOperator(settings, OperatorColumnSettings.DEFAULT_EXCL_MISSING)),
+            new ColumnAggregator(m_table.getSpec().getColumnSpec("value"),
+                new CountOperator(settings, OperatorColumnSettings.DEFAULT_EXCL_MISSING)),
+            // depends on the order of the rows within a group
+            new ColumnAggregator(m_table.getSpec().getColumnSpec("value"),
+                new ConcatenateOperator(settings, OperatorColumnSettings.DEFAULT_EXCL_MISSING))};
+    }
+
+    private GlobalSettings createGlobalSettings() {
+        return GlobalSettings.builder().setGroupColNames(GROUP_COLS).setDataTableSpec(m_table.getSpec())
+            .setNoOfRows(m_table.size()).build();
+    }
+
+    private static Map<DataCell, DataRow> getRowsByGroup(final BufferedDataTable table) {
+        final Map<DataCell, DataRow> rows = new HashMap<>();
+        for (final DataRow row : table) {
+            rows.put(row.getCell(0), row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.base.node.preproc.groupby;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.base.data.aggregation.ColumnAggregator;
+import org.knime.base.data.aggregation.GlobalSettings;
+import org.knime.base.data.aggregation.OperatorColumnSettings;
+import org.knime.base.data.aggregation.general.ConcatenateOperator;
+import org.knime.base.data.aggregation.general.FirstOperator;
+import org.knime.base.data.aggregation.general.LastOperator;
+import org.knime.base.data.aggregation.general.ListCellOperator;
+import org.knime.base.data.aggregation.general.ModeOperator;
+import org.knime.base.data.aggregation.general.UniqueCountOperator;
+import org.knime.base.data.aggregation.numerical.MeanOperator;
+import org.knime.base.data.aggregation.numerical.StdDeviationOperator;
+import org.knime.base.data.aggregation.numerical.SumOperator;
+import org.knime.base.data.aggregation.numerical.VarianceOperator;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Tests that the parallel aggregation of the {@link MemoryGroupByTable} and the {@link BigGroupByTable}, which merge
+ * partial aggregation states, yields the same result as the sequential aggregation.
+ *
+ * @author agent
+ */
+public class MemoryGroupByTableTest {
+
+    private static final List<String> GROUP_COLS = Arrays.asList("group");
+
+    private ExecutionContext m_exec;
+
+    private BufferedDataTable m_table;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec =
+            new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+                SingleNodeContainer.MemoryPolicy.CacheOnDisc, new HashMap<Integer, ContainerTable>());
+        final DataTableSpec spec = new DataTableSpec(
+            new DataColumnSpecCreator("group", StringCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("value", IntCell.TYPE).createSpec());
+        final BufferedDataContainer cont = m_exec.createDataContainer(spec);
+        final Random rand = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i),
+                new StringCell("Group " + rand.nextInt(50)), new IntCell(rand.nextInt(100))));
+        }
+        cont.close();
+        m_table = cont.getTable();
+    }
+
+    /**
+     * Compares the parallel with the sequential aggregation.
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testParallelAggregation() throws Exception {
+        final GroupByTable reference = new MemoryGroupByTable(m_exec, m_table, GROUP_COLS, createAggregators(),
+            createGlobalSettings(), true, ColumnNamePolicy.AGGREGATION_METHOD_COLUMN_NAME, false, Integer.MAX_VALUE,
+            RowKeyStore.DEFAULT_MAX_KEYS_IN_MEMORY);
+        final GroupByTable test = new MemoryGroupByTable(m_exec, m_table, GROUP_COLS, createAggregators(),
+            createGlobalSettings(), true, ColumnNamePolicy.AGGREGATION_METHOD_COLUMN_NAME, false, 100,
+            RowKeyStore.DEFAULT_MAX_KEYS_IN_MEMORY);
+        assertSameResult(reference, test);
+    }
+
+    /**
+     * Compares the parallel with the sequential aggregation of the sorted table. With 50 groups in 5000 rows and
+     * chunks of 70 rows most groups span several chunks.
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testSortedParallelAggregation() throws Exception {
+        final GroupByTable reference = new BigGroupByTable(m_exec, m_table, GROUP_COLS, createAggregators(),
+            createGlobalSettings(), true, ColumnNamePolicy.AGGREGATION_METHOD_COLUMN_NAME, false, Integer.MAX_VALUE);
+        final GroupByTable test = new BigGroupByTable(m_exec, m_table, GROUP_COLS, createAggregators(),
+            createGlobalSettings(), true, ColumnNamePolicy.AGGREGATION_METHOD_COLUMN_NAME, false, 70);
+        assertSameResult(reference, test);
+    }
+
+    private static void assertSameResult(final GroupByTable reference, final GroupByTable test) {
+        assertThat("Number of groups", test.getBufferedTable().size(), is(reference.getBufferedTable().size()));
+        final Iterator<DataRow> testIt = test.getBufferedTable().iterator();
+        for (final DataRow refRow : reference.getBufferedTable()) {
+            final DataRow testRow = testIt.next();
+            assertThat("Row key", testRow.getKey(), is(refRow.getKey()));
+            for (int i = 0; i < refRow.getNumCells(); i++) {
+                final DataCell refCell = refRow.getCell(i);
+                final DataCell testCell = testRow.getCell(i);
+                if (refCell instanceof DoubleValue && !(refCell instanceof IntCell)) {
+                    assertEquals("Aggregate " + i + " of " + refRow.getKey(), ((DoubleValue)refCell).getDoubleValue(),
+                        ((DoubleValue)testCell).getDoubleValue(), 1e-9);
+                } else {
+                    assertThat("Aggregate " + i + " of " + refRow.getKey(), testCell, is(refCell));
+                }
+            }
+            assertThat("Hilite mapping of " + refRow.getKey(), test.getHiliteMapper().getKeys(testRow.getKey()),
+                is(reference.getHiliteMapper().getKeys(refRow.getKey())));
+        }
+    }
+
+    /**
+     * Checks the hilite mapping of the parallel aggregation if the row keys are spilled to disk, also after saving
+     * and loading the mapping and after resolving it.
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testSpilledHiliteMapping() throws Exception {
+        final Map<DataCell, Set<RowKey>> expected = new HashMap<>();
+        for (final DataRow row : m_table) {
+            expected.computeIfAbsent(row.getCell(0), c -> new HashSet<>()).add(row.getKey());
+        }
+        final GroupByTable test = new MemoryGroupByTable(m_exec, m_table, GROUP_COLS, createAggregators(),
+            createGlobalSettings(), true, ColumnNamePolicy.AGGREGATION_METHOD_COLUMN_NAME, false, 100, 100);
+        final RowIndexHiLiteMapper mapper = (RowIndexHiLiteMapper)test.getHiliteMapper();
+        final File file = File.createTempFile("hilite", ".bin.gz");
+        try (final RowIndexHiLiteMapper loaded = saveAndLoad(mapper, file)) {
+            assertThat("Number of groups", mapper.keySet().size(), is(expected.size()));
+            for (final DataRow row : test.getBufferedTable()) {
+                final Set<RowKey> keys = expected.get(row.getCell(0));
+                assertThat("Hilite mapping of " + row.getKey(), mapper.getKeys(row.getKey()), is(keys));
+                assertThat("Loaded hilite mapping of " + row.getKey(), loaded.getKeys(row.getKey()), is(keys));
+            }
+            // resolving the mapping deletes the spilled row keys
+            final Map<RowKey, Set<RowKey>> resolved = test.getHiliteMapping();
+            assertThat("Number of stored row keys", mapper.getRowKeyCount(), is(0L));
+            for (final DataRow row : test.getBufferedTable()) {
+                assertThat("Resolved hilite mapping of " + row.getKey(), resolved.get(row.getKey()),
+                    is(expected.get(row.getCell(0))));
+            }
+        } finally {
+            mapper.close();
+            file.delete();
+        }
+    }
+
+    /**
+     * Merging is opt-in per class, subclasses of mergeable operators are not mergeable unless they say so.
+     */
+    @Test
+    public void testMergeableOptIn() {
+        final GlobalSettings settings = createGlobalSettings();
+        final OperatorColumnSettings colSettings = OperatorColumnSettings.DEFAULT_EXCL_MISSING;
+        assertTrue(new SumOperator(settings, colSettings).isMergeable());
+        assertTrue(new StdDeviationOperator(settings, colSettings).isMergeable());
+        assertFalse(new SumOperator(settings, colSettings) {
+            // might keep additional state
+        }.isMergeable());
+    }
+
+    private static RowIndexHiLiteMapper saveAndLoad(final RowIndexHiLiteMapper mapper, final File file)
+        throws IOException {
+        mapper.save(file);
+        return RowIndexHiLiteMapper.load(file);
+    }
+
+    private ColumnAggregator[] createAggregators() {
+        final GlobalSettings settings = createGlobalSettings();
+        final DataColumnSpec valueSpec = m_table.getSpec().getColumnSpec("value");
+        final OperatorColumnSettings colSettings = OperatorColumnSettings.DEFAULT_EXCL_MISSING;
+        return new ColumnAggregator[]{
+            new ColumnAggregator(valueSpec, new SumOperator(settings, colSettings)),
+            new ColumnAggregator(valueSpec, new MeanOperator(settings, colSettings)),
+            new ColumnAggregator(valueSpec, new VarianceOperator(settings, colSettings)),
+            new ColumnAggregator(valueSpec, new FirstOperator(settings, colSettings)),
+            new ColumnAggregator(valueSpec, new LastOperator(settings, colSettings)),
+            new ColumnAggregator(valueSpec, new ModeOperator(settings, colSettings)),
+            new ColumnAggregator(valueSpec, new UniqueCountOperator(settings, colSettings)),
+            new ColumnAggregator(valueSpec, new ConcatenateOperator(settings, colSettings)),
+            new ColumnAggregator(valueSpec, new ListCellOperator(settings, colSettings))};
+    }
+
+    private GlobalSettings createGlobalSettings() {
+        return GlobalSettings.builder().setGroupColNames(GROUP_COLS).setDataTableSpec(m_table.getSpec())
+            .setNoOfRows(m_table.size()).build();
+    }
+}
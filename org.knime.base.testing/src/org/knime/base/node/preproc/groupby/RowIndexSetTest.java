@@ -0,0 +1,206 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.base.node.preproc.groupby;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link RowIndexSet} with sparse, dense and consecutive indices.
+ *
+ * @author agent
+ */
+public class RowIndexSetTest {
+
+    /**
+     * Scattered indices across many containers.
+     * @throws IOException if the set can't be serialized
+     */
+    @Test
+    public void testSparse() throws IOException {
+        final Random random = new Random(0);
+        final List<Long> indices = new ArrayList<>();
+        long index = 0;
+        for (int i = 0; i < 10000; i++) {
+            index += 1 + random.nextInt(1000);
+            indices.add(index);
+        }
+        checkSet(indices);
+    }
+
+    /**
+     * Every other index, which results in bitmap containers.
+     * @throws IOException if the set can't be serialized
+     */
+    @Test
+    public void testDense() throws IOException {
+        final List<Long> indices = new ArrayList<>();
+        for (long i = 0; i < 300000; i += 2) {
+            indices.add(i);
+        }
+        checkSet(indices);
+    }
+
+    /**
+     * Long ranges of consecutive indices, which results in run containers.
+     * @throws IOException if the set can't be serialized
+     */
+    @Test
+    public void testRuns() throws IOException {
+        final List<Long> indices = new ArrayList<>();
+        for (long start = 5; start < 1000000; start += 100000) {
+            for (long i = start; i < start + 70000; i++) {
+                indices.add(i);
+            }
+        }
+        checkSet(indices);
+    }
+
+    /**
+     * Indices beyond the int range.
+     * @throws IOException if the set can't be serialized
+     */
+    @Test
+    public void testLargeIndices() throws IOException {
+        final List<Long> indices = new ArrayList<>();
+        indices.add(0L);
+        indices.add((long)Integer.MAX_VALUE);
+        indices.add(Integer.MAX_VALUE + 1L);
+        indices.add(Long.MAX_VALUE - 1);
+        indices.add(Long.MAX_VALUE);
+        checkSet(indices);
+    }
+
+    /**
+     * Adding a set with an offset, as done when merging chunks.
+     */
+    @Test
+    public void testAddAll() {
+        final RowIndexSet chunk = new RowIndexSet();
+        chunk.add(0);
+        chunk.add(3);
+        final RowIndexSet set = new RowIndexSet();
+        set.add(1);
+        set.addAll(chunk, 10);
+        set.addAll(chunk, 20);
+        final List<Long> indices = new ArrayList<>();
+        for (final PrimitiveIterator.OfLong it = set.iterator(); it.hasNext();) {
+            indices.add(it.nextLong());
+        }
+        assertEquals(Arrays.asList(1L, 10L, 13L, 20L, 23L), indices);
+    }
+
+    /** Indices must be added in increasing order. */
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecreasingIndex() {
+        final RowIndexSet set = new RowIndexSet();
+        set.add(5);
+        set.add(3);
+    }
+
+    private static void checkSet(final List<Long> indices) throws IOException {
+        final RowIndexSet set = new RowIndexSet();
+        // trim half way to check that adding after trimming works
+        for (int i = 0; i < indices.size(); i++) {
+            set.add(indices.get(i));
+            if (i == indices.size() / 2) {
+                set.trim();
+            }
+        }
+        set.trim();
+        checkContent(indices, set);
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(bytes)) {
+            set.writeTo(out);
+        }
+        final RowIndexSet read;
+        try (final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            read = RowIndexSet.readFrom(in);
+        }
+        checkContent(indices, read);
+        // continue adding to the read set
+        final long last = indices.get(indices.size() - 1);
+        if (last < Long.MAX_VALUE) {
+            read.add(last + 1);
+            assertTrue(read.contains(last + 1));
+            assertEquals(indices.size() + 1, read.size());
+        }
+    }
+
+    private static void checkContent(final List<Long> indices, final RowIndexSet set) {
+        assertEquals("Size", indices.size(), set.size());
+        final Set<Long> expected = new HashSet<>(indices);
+        final PrimitiveIterator.OfLong it = set.iterator();
+        for (final long index : indices) {
+            assertTrue("Missing index " + index, it.hasNext());
+            assertEquals(index, it.nextLong());
+            assertTrue("Contains " + index, set.contains(index));
+            if (index < Long.MAX_VALUE && !expected.contains(index + 1)) {
+                assertFalse("Contains " + (index + 1), set.contains(index + 1));
+            }
+        }
+        assertFalse(it.hasNext());
+    }
+}
@@ -304,6 +304,33 @@ public final void testSkipPartitionsFullOuterJoin() throws Exception {
         compareTables(reference, test);
     }
 
+    /**
+     * Checks whether a full outer join works as expected when the probe rows are joined in many small chunks.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public final void testSmallChunksFullOuterJoin() throws Exception {
+        Joiner2Settings settingsRef = createReferenceSettings("Data");
+        settingsRef.setJoinMode(JoinMode.FullOuterJoin);
+        Joiner2Settings settingsTest = createReferenceSettings("Data");
+        settingsTest.setJoinMode(JoinMode.FullOuterJoin);
+
+        BufferedDataTable leftTable = m_exec.createBufferedDataTable(new TestData(100, 1), m_exec);
+        BufferedDataTable rightTable = m_exec.createBufferedDataTable(new TestData(200, 1), m_exec);
+
+        // run joiner with reference settings
+        Joiner joinerRef = new Joiner(leftTable.getDataTableSpec(), rightTable.getDataTableSpec(), settingsRef);
+        BufferedDataTable reference = joinerRef.computeJoinTable(leftTable, rightTable, m_exec);
+
+        // run joiner with test settings
+        Joiner joinerTest = new Joiner(leftTable.getDataTableSpec(), rightTable.getDataTableSpec(), settingsTest);
+        joinerTest.setRowsAddedBeforeOOM(10);
+        joinerTest.setChunkSize(7);
+        BufferedDataTable test = joinerTest.computeJoinTable(leftTable, rightTable, m_exec);
+        compareTables(reference, test);
+    }
+
     @Test
     public void testSortPartitionsInnerJoin() throws Exception {
         Joiner2Settings settingsRef = createReferenceSettings(Joiner2Settings.ROW_KEY_IDENTIFIER);
@@ -405,6 +432,37 @@ public void testSortPartitionsFullOuterJoin() throws Exception {
     }
 
 
+    /**
+     * Checks whether a full outer join works as expected when the join column has only a few distinct values, so that
+     * spilled partitions can not be split by hashing and are joined block-wise.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testSkewedPartitionsFullOuterJoin() throws Exception {
+        Joiner2Settings settingsRef = createReferenceSettings("Data");
+        settingsRef.setJoinMode(JoinMode.FullOuterJoin);
+
+        Joiner2Settings settingsTest = createReferenceSettings("Data");
+        settingsTest.setJoinMode(JoinMode.FullOuterJoin);
+
+        BufferedDataTable leftTable = m_exec.createBufferedDataTable(new TestData(100, 1, 3), m_exec);
+        BufferedDataTable rightTable = m_exec.createBufferedDataTable(new TestData(200, 1, 4), m_exec);
+
+        // run joiner with reference settings
+        Joiner joinerRef = new Joiner(leftTable.getDataTableSpec(), rightTable.getDataTableSpec(), settingsRef);
+        BufferedDataTable reference = joinerRef.computeJoinTable(leftTable, rightTable, m_exec);
+
+        // run joiner with test settings
+        Joiner joinerTest = new Joiner(leftTable.getDataTableSpec(), rightTable.getDataTableSpec(), settingsTest);
+        joinerTest.setRowsAddedBeforeOOM(10);
+        joinerTest.setNumBitsInitial(2);
+        joinerTest.setNumBitsMaximal(8);
+        BufferedDataTable test = joinerTest.computeJoinTable(leftTable, rightTable, m_exec);
+        compareTables(reference, test);
+    }
+
+
     private Joiner2Settings createReferenceSettings(final String col) {
         Joiner2Settings settingsRef = new Joiner2Settings();
         String[] joinColumns = new String[]{col};
@@ -436,9 +494,16 @@ private static class TestData implements DataTable {
 
         private final int m_randSeed;
 
+        private final int m_numDistinct;
+
         public TestData(final int size, final int randSeed) {
+            this(size, randSeed, Integer.MAX_VALUE);
+        }
+
+        public TestData(final int size, final int randSeed, final int numDistinct) {
             m_size = size;
             m_randSeed = randSeed;
+            m_numDistinct = numDistinct;
         }
 
         /**
@@ -455,7 +520,7 @@ public DataTableSpec getDataTableSpec() {
          */
         @Override
         public RowIterator iterator() {
-            return new TestDataIterator(m_size, m_randSeed);
+            return new TestDataIterator(m_size, m_randSeed, m_numDistinct);
         }
 
         private static class TestDataIterator extends RowIterator {
@@ -465,9 +530,12 @@ private static class TestDataIterator extends RowIterator {
 
             private final Random m_rand;
 
-            public TestDataIterator(final int size, final int randSeed) {
+            private final int m_numDistinct;
+
+            public TestDataIterator(final int size, final int randSeed, final int numDistinct) {
                 m_rand = new Random(randSeed);
                 m_size = size;
+                m_numDistinct = numDistinct;
                 m_count = 0;
             }
 
@@ -487,7 +555,7 @@ public DataRow next() {
                 m_count++;
 
                 return new DefaultRow(Integer.toString(m_count), new IntCell(m_rand.nextInt()), new StringCell(
-                    Integer.toString(m_count)));
+                    Integer.toString(m_count % m_numDistinct)));
             }
         }
 
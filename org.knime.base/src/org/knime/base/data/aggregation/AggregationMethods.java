@@ -69,6 +69,10 @@
 import org.eclipse.core.runtime.IExtensionPoint;
 import org.eclipse.core.runtime.IExtensionRegistry;
 import org.eclipse.core.runtime.Platform;
+import org.knime.base.data.aggregation.approximate.ApproximateModeOperator;
+import org.knime.base.data.aggregation.approximate.ApproximateQuantileOperator;
+import org.knime.base.data.aggregation.approximate.ApproximateTopKOperator;
+import org.knime.base.data.aggregation.approximate.ApproximateUniqueCountOperator;
 import org.knime.base.data.aggregation.bitvector.BitVectorIntersectionOperator;
 import org.knime.base.data.aggregation.bitvector.BitVectorNotSetCountOperator;
 import org.knime.base.data.aggregation.bitvector.BitVectorSetCountOperator;
@@ -262,6 +266,9 @@ private AggregationMethods() {
             addOperator(new MedianAbsoluteDeviationOperator(GlobalSettings.DEFAULT,
                 OperatorColumnSettings.DEFAULT_EXCL_MISSING));
             addOperator(new SecondMomentOperator(GlobalSettings.DEFAULT, OperatorColumnSettings.DEFAULT_EXCL_MISSING));
+            /**Approximate quantile using a t-digest.*/
+            addOperator(new ApproximateQuantileOperator(GlobalSettings.DEFAULT,
+                OperatorColumnSettings.DEFAULT_EXCL_MISSING));
 
             //The boolean methods
             /**True count operator.*/
@@ -311,6 +318,15 @@ private AggregationMethods() {
                 OperatorColumnSettings.DEFAULT_EXCL_MISSING));
             /**Counts the number of unique group members.*/
             addOperator(new UniqueCountOperator(GlobalSettings.DEFAULT, OperatorColumnSettings.DEFAULT_INCL_MISSING));
+            /**Estimates the number of unique group members.*/
+            addOperator(new ApproximateUniqueCountOperator(GlobalSettings.DEFAULT,
+                OperatorColumnSettings.DEFAULT_INCL_MISSING));
+            /**Estimates the value which occurs most.*/
+            addOperator(new ApproximateModeOperator(GlobalSettings.DEFAULT,
+                OperatorColumnSettings.DEFAULT_INCL_MISSING));
+            /**Estimates the values which occur most.*/
+            addOperator(new ApproximateTopKOperator(GlobalSettings.DEFAULT,
+                OperatorColumnSettings.DEFAULT_INCL_MISSING));
             /**Counts the number of group members.*/
             addOperator(new CountOperator(GlobalSettings.DEFAULT, OperatorColumnSettings.DEFAULT_INCL_MISSING));
             /**Returns the percentage of the group.*/
@@ -326,6 +326,75 @@ public final void compute(final DataRow row, final int... idxs) {
         }
     }
 
+    /**
+     * Returns <code>true</code> if the partial state of this operator can be combined with the partial state of
+     * another instance that aggregated a different part of the same group (see {@link #merge(AggregationOperator)}).
+     * Groups of such operators can be aggregated on several threads in parallel. Operators that support merging
+     * override this method together with {@link #mergeInternal(AggregationOperator)}. Merging is opt-in per concrete
+     * class: implementations only return <code>true</code> for their own class (i.e.
+     * <code>getClass() == MyOperator.class</code>) since a subclass might keep additional state that is not merged.
+     * Subclasses that are mergeable need to override this method themselves.
+     * <p>
+     * Floating point aggregates (e.g. sum, mean or variance) add up the partial results in a different order than
+     * the sequential aggregation, their results might therefore differ in the last digits.
+     *
+     * @return <code>true</code> if this operator supports merging of partial states, <code>false</code> by default
+     * @since 3.7
+     */
+    public boolean isMergeable() {
+        return false;
+    }
+
+    /**
+     * Combines the partial state of the given operator into this operator so that this operator afterwards returns
+     * the result of all rows seen by both operators. The given operator must be an instance of the same class created
+     * with the same settings and must have aggregated the rows that follow the rows aggregated by this operator in
+     * the input order (relevant for order dependent operators such as first or concatenate). The given operator
+     * must not be used afterwards since it might share its state with this operator.
+     *
+     * @param other the operator with the partial state to merge into this operator
+     * @throws UnsupportedOperationException if this operator is not {@link #isMergeable() mergeable}
+     * @throws IllegalArgumentException if the given operator is of a different class
+     * @since 3.7
+     */
+    public final void merge(final AggregationOperator other) {
+        if (!isMergeable()) {
+            throw new UnsupportedOperationException(
+                "Operator '" + getLabel() + "' does not support the merging of partial aggregation states");
+        }
+        if (other == null) {
+            throw new NullPointerException("operator must not be null");
+        }
+        if (other.getClass() != getClass()) {
+            throw new IllegalArgumentException("Can't merge operator of class " + other.getClass().getName()
+                + " into operator of class " + getClass().getName());
+        }
+        m_missingValuesCount += other.m_missingValuesCount;
+        if (m_skipped) {
+            return;
+        }
+        if (other.m_skipped) {
+            m_skipped = true;
+            m_skipMsg = other.m_skipMsg;
+            return;
+        }
+        m_skipped = mergeInternal(other);
+    }
+
+    /**
+     * Merges the partial state of the given operator into the state of this operator. Only called if
+     * {@link #isMergeable()} returns <code>true</code> and neither operator is skipped.
+     *
+     * @param other the operator to merge, of the same class as this operator
+     * @return <code>true</code> if this column should be skipped in further calculations
+     * @see #merge(AggregationOperator)
+     * @since 3.7
+     */
+    protected boolean mergeInternal(final AggregationOperator other) {
+        throw new UnsupportedOperationException(
+            "Operator '" + getLabel() + "' does not support the merging of partial aggregation states");
+    }
+
     /**
      * @return <code>true</code> if the original {@link DataColumnSpec} should
      * be kept.
@@ -0,0 +1,251 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.base.data.aggregation.approximate;
+
+import java.awt.Component;
+
+import org.knime.base.data.aggregation.AggregationOperator;
+import org.knime.base.data.aggregation.GlobalSettings;
+import org.knime.base.data.aggregation.OperatorColumnSettings;
+import org.knime.base.data.aggregation.OperatorData;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DataValue;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.NotConfigurableException;
+import org.knime.core.node.defaultnodesettings.SettingsModelIntegerBounded;
+
+/**
+ * Estimates the most frequent value per group using the Space-Saving algorithm. In contrast to the exact mode
+ * operator at most capacity values are counted per group, hence the operator is not limited by the maximum number
+ * of unique values. Each value that occurs more often than n / capacity times is guaranteed to be counted.
+ *
+ * @author agent
+ * @since 3.7
+ */
+public class ApproximateModeOperator extends AggregationOperator {
+
+    private static final String CFG_CAPACITY = "capacity";
+
+    /** The default number of counted values. */
+    static final int DEFAULT_CAPACITY = 100;
+
+    private final SettingsModelIntegerBounded m_capacity =
+        new SettingsModelIntegerBounded(CFG_CAPACITY, DEFAULT_CAPACITY, 1, Integer.MAX_VALUE);
+
+    private final SketchSettings m_settings = new SketchSettings(new String[]{"Counted values: "}, m_capacity);
+
+    private SpaceSaving<DataCell> m_sketch;
+
+    /**
+     * Constructor for class ApproximateModeOperator.
+     *
+     * @param globalSettings the global settings
+     * @param opColSettings the operator column specific settings
+     */
+    public ApproximateModeOperator(final GlobalSettings globalSettings,
+        final OperatorColumnSettings opColSettings) {
+        this(globalSettings, opColSettings, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor for class ApproximateModeOperator.
+     *
+     * @param globalSettings the global settings
+     * @param opColSettings the operator column specific settings
+     * @param capacity the maximum number of values counted per group
+     */
+    public ApproximateModeOperator(final GlobalSettings globalSettings,
+        final OperatorColumnSettings opColSettings, final int capacity) {
+        super(new OperatorData("Approximate mode", false, true, DataValue.class, true), globalSettings,
+            opColSettings);
+        m_capacity.setIntValue(capacity);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AggregationOperator createInstance(final GlobalSettings globalSettings,
+        final OperatorColumnSettings opColSettings) {
+        return new ApproximateModeOperator(globalSettings, opColSettings, m_capacity.getIntValue());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected DataType getDataType(final DataType origType) {
+        return origType;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean computeInternal(final DataCell cell) {
+        getSketch().add(cell);
+        return false;
+    }
+
+    private SpaceSaving<DataCell> getSketch() {
+        if (m_sketch == null) {
+            m_sketch = new SpaceSaving<>(m_capacity.getIntValue());
+        }
+        return m_sketch;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected DataCell getResultInternal() {
+        final DataCell result = m_sketch == null ? null : m_sketch.getMostFrequent();
+        return result == null ? DataType.getMissingCell() : result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == ApproximateModeOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final SpaceSaving<DataCell> otherSketch = ((ApproximateModeOperator)other).m_sketch;
+        if (otherSketch != null) {
+            getSketch().merge(otherSketch);
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void resetInternal() {
+        m_sketch = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getDescription() {
+        return "Estimates the value with the most occurrences per group using a fixed amount of memory.";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getDetailedDescription() {
+        return "Estimates the value with the most occurrences per group using the Space-Saving algorithm. "
+            + "At most the given number of values is counted per group; once all counters are in use a new value "
+            + "replaces the least frequent one. Every value occurring more than n / counted values times is "
+            + "guaranteed to be counted, hence the result is exact for skewed data. "
+            + "If multiple values match this criterion the first occurrence is written to the output table.";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasOptionalSettings() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Component getSettingsPanel() {
+        return m_settings.getPanel();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void loadValidatedSettings(final NodeSettingsRO settings) throws InvalidSettingsException {
+        m_settings.loadSettingsFrom(settings);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void loadSettingsFrom(final NodeSettingsRO settings, final DataTableSpec spec)
+        throws NotConfigurableException {
+        m_settings.loadSettingsInDialog(settings, spec);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void saveSettingsTo(final NodeSettingsWO settings) {
+        m_settings.saveSettingsTo(settings);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void validateSettings(final NodeSettingsRO settings) throws InvalidSettingsException {
+        m_settings.validateSettings(settings);
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.base.data.aggregation.approximate;
+
+import java.awt.Component;
+
+import org.knime.base.data.aggregation.AggregationOperator;
+import org.knime.base.data.aggregation.GlobalSettings;
+import org.knime.base.data.aggregation.OperatorColumnSettings;
+import org.knime.base.data.aggregation.OperatorData;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.NotConfigurableException;
+import org.knime.core.node.defaultnodesettings.SettingsModelDoubleBounded;
+import org.knime.core.node.defaultnodesettings.SettingsModelIntegerBounded;
+
+/**
+ * Estimates a quantile per group using a t-digest. In contrast to the exact quantile operator the values are not
+ * kept in memory; the memory per group is bounded by the compression and the estimate is most accurate for
+ * quantiles close to 0 and 1.
+ *
+ * @author agent
+ * @since 3.7
+ */
+public class ApproximateQuantileOperator extends AggregationOperator {
+
+    private static final String CFG_QUANTILE = "quantile";
+
+    private static final String CFG_COMPRESSION = "compression";
+
+    /** The default quantile, the median. */
+    static final double DEFAULT_QUANTILE = 0.5;
+
+    /** The default compression. */
+    static final int DEFAULT_COMPRESSION = 100;
+
+    private final SettingsModelDoubleBounded m_quantile =
+        new SettingsModelDoubleBounded(CFG_QUANTILE, DEFAULT_QUANTILE, 0, 1);
+
+    private final SettingsModelIntegerBounded m_compression = new SettingsModelIntegerBounded(CFG_COMPRESSION,
+        DEFAULT_COMPRESSION, TDigest.MIN_COMPRESSION, Integer.MAX_VALUE / 5);
+
+    private final SketchSettings m_settings =
+        new SketchSettings(new String[]{"Quantile: ", "Compression: "}, m_quantile, m_compression);
+
+    private TDigest m_sketch;
+
+    /**
+     * Constructor for class ApproximateQuantileOperator.
+     *
+     * @param globalSettings the global settings
+     * @param opColSettings the operator column specific settings
+     */
+    public ApproximateQuantileOperator(final GlobalSettings globalSettings,
+        final OperatorColumnSettings opColSettings) {
+        this(globalSettings, opColSettings, DEFAULT_QUANTILE, DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Constructor for class ApproximateQuantileOperator.
+     *
+     * @param globalSettings the global settings
+     * @param opColSettings the operator column specific settings
+     * @param quantile the quantile to estimate, between 0 and 1
+     * @param compression the compression of the digest
+     */
+    public ApproximateQuantileOperator(final GlobalSettings globalSettings,
+        final OperatorColumnSettings opColSettings, final double quantile, final int compression) {
+        super(new OperatorData("Approximate quantile", false, false, DoubleValue.class, false), globalSettings,
+            AggregationOperator.setInclMissingFlag(opColSettings, false));
+        m_quantile.setDoubleValue(quantile);
+        m_compression.setIntValue(compression);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AggregationOperator createInstance(final GlobalSettings globalSettings,
+        final OperatorColumnSettings opColSettings) {
+        return new ApproximateQuantileOperator(globalSettings, opColSettings, m_quantile.getDoubleValue(),
+            m_compression.getIntValue());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected DataType getDataType(final DataType origType) {
+        return DoubleCell.TYPE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean computeInternal(final DataCell cell) {
+        getSketch().add(((DoubleValue)cell).getDoubleValue());
+        return false;
+    }
+
+    private TDigest getSketch() {
+        if (m_sketch == null) {
+            m_sketch = new TDigest(m_compression.getIntValue());
+        }
+        return m_sketch;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected DataCell getResultInternal() {
+        if (m_sketch == null || m_sketch.isEmpty()) {
+            return DataType.getMissingCell();
+        }
+        return new DoubleCell(m_sketch.quantile(m_quantile.getDoubleValue()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == ApproximateQuantileOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final TDigest otherSketch = ((ApproximateQuantileOperator)other).m_sketch;
+        if (otherSketch != null) {
+            getSketch().merge(otherSketch);
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void resetInternal() {
+        m_sketch = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getColumnLabel() {
+        return m_quantile.getDoubleValue() + "-approximate quantile";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getDescription() {
+        return "Estimates the qth quantile per group using a fixed amount of memory.";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getDetailedDescription() {
+        return "Estimates the qth quantile per group using a t-digest. Instead of all values of a group only "
+            + "about 2 * compression weighted centroids are kept in memory. Larger compression values are more "
+            + "accurate; the estimate is most accurate for extreme quantiles such as 0.01 or 0.99.";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasOptionalSettings() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Component getSettingsPanel() {
+        return m_settings.getPanel();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void loadValidatedSettings(final NodeSettingsRO settings) throws InvalidSettingsException {
+        m_settings.loadSettingsFrom(settings);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void loadSettingsFrom(final NodeSettingsRO settings, final DataTableSpec spec)
+        throws NotConfigurableException {
+        m_settings.loadSettingsInDialog(settings, spec);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void saveSettingsTo(final NodeSettingsWO settings) {
+        m_settings.saveSettingsTo(settings);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void validateSettings(final NodeSettingsRO settings) throws InvalidSettingsException {
+        m_settings.validateSettings(settings);
+    }
+}
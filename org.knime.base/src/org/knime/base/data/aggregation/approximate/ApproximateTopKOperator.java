@@ -0,0 +1,263 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.base.data.aggregation.approximate;
+
+import java.awt.Component;
+
+import org.knime.base.data.aggregation.AggregationOperator;
+import org.knime.base.data.aggregation.GlobalSettings;
+import org.knime.base.data.aggregation.OperatorColumnSettings;
+import org.knime.base.data.aggregation.OperatorData;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DataValue;
+import org.knime.core.data.collection.CollectionCellFactory;
+import org.knime.core.data.collection.ListCell;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.NotConfigurableException;
+import org.knime.core.node.defaultnodesettings.SettingsModelIntegerBounded;
+
+/**
+ * Estimates the k most frequent values per group using the Space-Saving algorithm with 10 * k counters and returns
+ * them as a list sorted by their estimated frequency.
+ *
+ * @author agent
+ * @since 3.7
+ */
+public class ApproximateTopKOperator extends AggregationOperator {
+
+    private static final String CFG_K = "k";
+
+    /** The default number of returned values. */
+    static final int DEFAULT_K = 10;
+
+    /** The number of counters per returned value. */
+    private static final int COUNTERS_PER_VALUE = 10;
+
+    private final SettingsModelIntegerBounded m_k =
+        new SettingsModelIntegerBounded(CFG_K, DEFAULT_K, 1, Integer.MAX_VALUE / COUNTERS_PER_VALUE);
+
+    private final SketchSettings m_settings = new SketchSettings(new String[]{"Number of values (k): "}, m_k);
+
+    private SpaceSaving<DataCell> m_sketch;
+
+    /**
+     * Constructor for class ApproximateTopKOperator.
+     *
+     * @param globalSettings the global settings
+     * @param opColSettings the operator column specific settings
+     */
+    public ApproximateTopKOperator(final GlobalSettings globalSettings,
+        final OperatorColumnSettings opColSettings) {
+        this(globalSettings, opColSettings, DEFAULT_K);
+    }
+
+    /**
+     * Constructor for class ApproximateTopKOperator.
+     *
+     * @param globalSettings the global settings
+     * @param opColSettings the operator column specific settings
+     * @param k the maximum number of values to return per group
+     */
+    public ApproximateTopKOperator(final GlobalSettings globalSettings,
+        final OperatorColumnSettings opColSettings, final int k) {
+        super(new OperatorData("Approximate top k", false, false, DataValue.class, true), globalSettings,
+            opColSettings);
+        m_k.setIntValue(k);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AggregationOperator createInstance(final GlobalSettings globalSettings,
+        final OperatorColumnSettings opColSettings) {
+        return new ApproximateTopKOperator(globalSettings, opColSettings, m_k.getIntValue());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected DataType getDataType(final DataType origType) {
+        return ListCell.getCollectionType(origType);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean computeInternal(final DataCell cell) {
+        getSketch().add(cell);
+        return false;
+    }
+
+    private SpaceSaving<DataCell> getSketch() {
+        if (m_sketch == null) {
+            m_sketch = new SpaceSaving<>(COUNTERS_PER_VALUE * m_k.getIntValue());
+        }
+        return m_sketch;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected DataCell getResultInternal() {
+        if (m_sketch == null) {
+            return DataType.getMissingCell();
+        }
+        return CollectionCellFactory.createListCell(m_sketch.getTopK(m_k.getIntValue()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == ApproximateTopKOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final SpaceSaving<DataCell> otherSketch = ((ApproximateTopKOperator)other).m_sketch;
+        if (otherSketch != null) {
+            getSketch().merge(otherSketch);
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void resetInternal() {
+        m_sketch = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getColumnLabel() {
+        return "Approximate top " + m_k.getIntValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getDescription() {
+        return "Estimates the k values with the most occurrences per group and lists them by frequency.";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getDetailedDescription() {
+        return "Estimates the k values with the most occurrences per group using the Space-Saving algorithm "
+            + "with 10 * k counters per group and returns them as a list, the most frequent value first. "
+            + "Every value occurring more than n / (10 * k) times is guaranteed to be counted.";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasOptionalSettings() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Component getSettingsPanel() {
+        return m_settings.getPanel();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void loadValidatedSettings(final NodeSettingsRO settings) throws InvalidSettingsException {
+        m_settings.loadSettingsFrom(settings);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void loadSettingsFrom(final NodeSettingsRO settings, final DataTableSpec spec)
+        throws NotConfigurableException {
+        m_settings.loadSettingsInDialog(settings, spec);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void saveSettingsTo(final NodeSettingsWO settings) {
+        m_settings.saveSettingsTo(settings);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void validateSettings(final NodeSettingsRO settings) throws InvalidSettingsException {
+        m_settings.validateSettings(settings);
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.base.data.aggregation.approximate;
+
+import java.awt.Component;
+
+import org.knime.base.data.aggregation.AggregationOperator;
+import org.knime.base.data.aggregation.GlobalSettings;
+import org.knime.base.data.aggregation.OperatorColumnSettings;
+import org.knime.base.data.aggregation.OperatorData;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DataValue;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.NotConfigurableException;
+import org.knime.core.node.defaultnodesettings.SettingsModelIntegerBounded;
+
+/**
+ * Estimates the number of distinct values per group using a HyperLogLog sketch. In contrast to the exact unique
+ * count operator the memory per group is bounded (2^precision bytes) and the operator is not limited by the maximum
+ * number of unique values. Groups with few unique values are counted exactly and use less memory. The relative
+ * standard error is about 1.04 / sqrt(2^precision).
+ *
+ * @author agent
+ * @since 3.7
+ */
+public class ApproximateUniqueCountOperator extends AggregationOperator {
+
+    private static final String CFG_PRECISION = "precision";
+
+    /** The default precision, which results in a relative standard error of about 1.6%. */
+    static final int DEFAULT_PRECISION = 12;
+
+    private final SettingsModelIntegerBounded m_precision = new SettingsModelIntegerBounded(CFG_PRECISION,
+        DEFAULT_PRECISION, HyperLogLog.MIN_PRECISION, HyperLogLog.MAX_PRECISION);
+
+    private final SketchSettings m_settings = new SketchSettings(new String[]{"Precision (bits): "}, m_precision);
+
+    private HyperLogLog m_sketch;
+
+    /**
+     * Constructor for class ApproximateUniqueCountOperator.
+     *
+     * @param globalSettings the global settings
+     * @param opColSettings the operator column specific settings
+     */
+    public ApproximateUniqueCountOperator(final GlobalSettings globalSettings,
+        final OperatorColumnSettings opColSettings) {
+        this(globalSettings, opColSettings, DEFAULT_PRECISION);
+    }
+
+    /**
+     * Constructor for class ApproximateUniqueCountOperator.
+     *
+     * @param globalSettings the global settings
+     * @param opColSettings the operator column specific settings
+     * @param precision the number of index bits of the sketch
+     */
+    public ApproximateUniqueCountOperator(final GlobalSettings globalSettings,
+        final OperatorColumnSettings opColSettings, final int precision) {
+        super(new OperatorData("Approximate unique count", false, false, DataValue.class, true), globalSettings,
+            opColSettings);
+        m_precision.setIntValue(precision);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AggregationOperator createInstance(final GlobalSettings globalSettings,
+        final OperatorColumnSettings opColSettings) {
+        return new ApproximateUniqueCountOperator(globalSettings, opColSettings, m_precision.getIntValue());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected DataType getDataType(final DataType origType) {
+        return LongCell.TYPE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean computeInternal(final DataCell cell) {
+        getSketch().add(cell.hashCode());
+        return false;
+    }
+
+    private HyperLogLog getSketch() {
+        if (m_sketch == null) {
+            m_sketch = new HyperLogLog(m_precision.getIntValue());
+        }
+        return m_sketch;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected DataCell getResultInternal() {
+        return new LongCell(m_sketch == null ? 0 : m_sketch.estimate());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == ApproximateUniqueCountOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final HyperLogLog otherSketch = ((ApproximateUniqueCountOperator)other).m_sketch;
+        if (otherSketch != null) {
+            getSketch().merge(otherSketch);
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void resetInternal() {
+        m_sketch = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getDescription() {
+        return "Estimates the number of unique values per group using a fixed amount of memory.";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getDetailedDescription() {
+        return "Estimates the number of unique values per group using the HyperLogLog algorithm. "
+            + "The memory per group is at most 2^precision bytes, independent of the number of unique values, "
+            + "and the relative standard error is about 1.04 / sqrt(2^precision), e.g. 1.6% for the default "
+            + "precision of " + DEFAULT_PRECISION + ". Groups with up to 2^precision / 8 unique values are "
+            + "counted exactly. Values are distinguished by their hash code.";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasOptionalSettings() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Component getSettingsPanel() {
+        return m_settings.getPanel();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void loadValidatedSettings(final NodeSettingsRO settings) throws InvalidSettingsException {
+        m_settings.loadSettingsFrom(settings);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void loadSettingsFrom(final NodeSettingsRO settings, final DataTableSpec spec)
+        throws NotConfigurableException {
+        m_settings.loadSettingsInDialog(settings, spec);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void saveSettingsTo(final NodeSettingsWO settings) {
+        m_settings.saveSettingsTo(settings);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void validateSettings(final NodeSettingsRO settings) throws InvalidSettingsException {
+        m_settings.validateSettings(settings);
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.base.data.aggregation.approximate;
+
+import java.util.Arrays;
+
+/**
+ * HyperLogLog sketch to estimate the number of distinct values (Flajolet et al., 2007) using
+ * 2<sup>precision</sup> registers of one byte each. The relative standard error is about
+ * 1.04 / sqrt(2<sup>precision</sup>).
+ *
+ * <p>
+ * As long as few distinct values are added the sketch is sparse: it keeps the sorted 64 bit hashes of the values and
+ * counts them exactly (up to hash collisions). It switches to the registers once the hashes would take more memory
+ * than the registers, so small groups don't allocate 2<sup>precision</sup> bytes each.
+ *
+ * @author agent
+ */
+final class HyperLogLog {
+
+    /** Smallest supported precision. */
+    static final int MIN_PRECISION = 4;
+
+    /** Largest supported precision. */
+    static final int MAX_PRECISION = 18;
+
+    /** Initial capacity of the sparse representation. */
+    private static final int INITIAL_SPARSE_CAPACITY = 4;
+
+    private final int m_precision;
+
+    /** Maximum number of hashes in the sparse representation, i.e. the memory of the registers. */
+    private final int m_sparseLimit;
+
+    /** The registers, null while the sketch is sparse. */
+    private byte[] m_registers;
+
+    /** The sorted distinct hashes added so far (sparse representation), null once the registers are used. */
+    private long[] m_sparseHashes;
+
+    private int m_sparseSize;
+
+    /**
+     * @param precision the number of index bits, between {@link #MIN_PRECISION} and {@link #MAX_PRECISION}
+     */
+    HyperLogLog(final int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Precision must be between " + MIN_PRECISION + " and "
+                + MAX_PRECISION + ": " + precision);
+        }
+        m_precision = precision;
+        m_sparseLimit = (1 << precision) / Long.BYTES;
+        m_sparseHashes = new long[Math.min(INITIAL_SPARSE_CAPACITY, m_sparseLimit)];
+    }
+
+    /**
+     * @param hashCode the (32 bit) hash code of the value to add
+     */
+    void add(final int hashCode) {
+        addHash(fmix64(hashCode));
+    }
+
+    private void addHash(final long hash) {
+        if (m_registers != null) {
+            addToRegisters(hash);
+            return;
+        }
+        int pos = Arrays.binarySearch(m_sparseHashes, 0, m_sparseSize, hash);
+        if (pos >= 0) {
+            return;
+        }
+        if (m_sparseSize == m_sparseLimit) {
+            toRegisters();
+            addToRegisters(hash);
+            return;
+        }
+        pos = -pos - 1;
+        if (m_sparseSize == m_sparseHashes.length) {
+            m_sparseHashes = Arrays.copyOf(m_sparseHashes, Math.min(2 * m_sparseHashes.length, m_sparseLimit));
+        }
+        System.arraycopy(m_sparseHashes, pos, m_sparseHashes, pos + 1, m_sparseSize - pos);
+        m_sparseHashes[pos] = hash;
+        m_sparseSize++;
+    }
+
+    private void addToRegisters(final long hash) {
+        final int index = (int)(hash >>> (Long.SIZE - m_precision));
+        final long remainder = hash << m_precision;
+        final int rank = Math.min(Long.numberOfLeadingZeros(remainder), Long.SIZE - m_precision) + 1;
+        if (rank > m_registers[index]) {
+            m_registers[index] = (byte)rank;
+        }
+    }
+
+    /** Switches from the sparse representation to the registers. */
+    private void toRegisters() {
+        m_registers = new byte[1 << m_precision];
+        for (int i = 0; i < m_sparseSize; i++) {
+            addToRegisters(m_sparseHashes[i]);
+        }
+        m_sparseHashes = null;
+        m_sparseSize = 0;
+    }
+
+    /** @return whether the sketch still holds the hashes of the values instead of the registers */
+    boolean isSparse() {
+        return m_registers == null;
+    }
+
+    /**
+     * Adds all values of the given sketch to this sketch.
+     * @param other a sketch with the same precision
+     */
+    void merge(final HyperLogLog other) {
+        if (other.m_precision != m_precision) {
+            throw new IllegalArgumentException(
+                "Can't merge sketches of different precision: " + m_precision + " vs. " + other.m_precision);
+        }
+        if (other.m_registers == null) {
+            for (int i = 0; i < other.m_sparseSize; i++) {
+                addHash(other.m_sparseHashes[i]);
+            }
+            return;
+        }
+        if (m_registers == null) {
+            toRegisters();
+        }
+        for (int i = 0; i < m_registers.length; i++) {
+            if (other.m_registers[i] > m_registers[i]) {
+                m_registers[i] = other.m_registers[i];
+            }
+        }
+    }
+
+    /** @return the estimated number of distinct values added */
+    long estimate() {
+        if (m_registers == null) {
+            return m_sparseSize;
+        }
+        final int m = m_registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (final byte register : m_registers) {
+            sum += Math.scalb(1.0, -register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        final double alpha;
+        switch (m) {
+            case 16:
+                alpha = 0.673;
+                break;
+            case 32:
+                alpha = 0.697;
+                break;
+            case 64:
+                alpha = 0.709;
+                break;
+            default:
+                alpha = 0.7213 / (1 + 1.079 / m);
+        }
+        final double estimate = alpha * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            // small range correction (linear counting)
+            return Math.round(m * Math.log((double)m / zeros));
+        }
+        return Math.round(estimate);
+    }
+
+    /** Removes all values, the sketch is sparse again. */
+    void clear() {
+        m_registers = null;
+        m_sparseHashes = new long[Math.min(INITIAL_SPARSE_CAPACITY, m_sparseLimit)];
+        m_sparseSize = 0;
+    }
+
+    /** Spreads the hash code to 64 bits using the 64 bit finalizer (fmix64) of MurmurHash3. */
+    private static long fmix64(final long hashCode) {
+        long h = hashCode;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
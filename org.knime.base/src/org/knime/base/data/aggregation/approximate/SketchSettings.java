@@ -0,0 +1,147 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.base.data.aggregation.approximate;
+
+import java.awt.Component;
+
+import javax.swing.BoxLayout;
+import javax.swing.JPanel;
+
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.NotConfigurableException;
+import org.knime.core.node.defaultnodesettings.DialogComponentNumber;
+import org.knime.core.node.defaultnodesettings.SettingsModelDouble;
+import org.knime.core.node.defaultnodesettings.SettingsModelNumber;
+
+/**
+ * The accuracy settings of an approximate operator, each of them a bounded number, and the panel to edit them.
+ *
+ * @author agent
+ */
+final class SketchSettings {
+
+    private final String[] m_labels;
+
+    private final SettingsModelNumber[] m_models;
+
+    private DialogComponentNumber[] m_components;
+
+    private JPanel m_panel;
+
+    /**
+     * @param labels the labels of the settings in the panel
+     * @param models the settings models (with bounds)
+     */
+    SketchSettings(final String[] labels, final SettingsModelNumber... models) {
+        if (labels.length != models.length) {
+            throw new IllegalArgumentException("Number of labels and models differ");
+        }
+        m_labels = labels;
+        m_models = models;
+    }
+
+    /** @return the panel with one number field per setting */
+    Component getPanel() {
+        if (m_panel == null) {
+            m_panel = new JPanel();
+            m_panel.setLayout(new BoxLayout(m_panel, BoxLayout.Y_AXIS));
+            m_components = new DialogComponentNumber[m_models.length];
+            for (int i = 0; i < m_models.length; i++) {
+                m_components[i] = new DialogComponentNumber(m_models[i], m_labels[i],
+                    m_models[i] instanceof SettingsModelDouble ? Double.valueOf(0.01) : Integer.valueOf(1));
+                m_panel.add(m_components[i].getComponentPanel());
+            }
+        }
+        return m_panel;
+    }
+
+    /**
+     * @param settings the settings to read from
+     * @param spec the input {@link DataTableSpec}
+     * @throws NotConfigurableException if the settings can't be loaded into the panel
+     */
+    void loadSettingsInDialog(final NodeSettingsRO settings, final DataTableSpec spec)
+        throws NotConfigurableException {
+        getPanel();
+        for (final DialogComponentNumber component : m_components) {
+            component.loadSettingsFrom(settings, new DataTableSpec[]{spec});
+        }
+    }
+
+    /**
+     * @param settings the settings to read from
+     * @throws InvalidSettingsException if the settings are invalid
+     */
+    void loadSettingsFrom(final NodeSettingsRO settings) throws InvalidSettingsException {
+        for (final SettingsModelNumber model : m_models) {
+            model.loadSettingsFrom(settings);
+        }
+    }
+
+    /**
+     * @param settings the settings to validate
+     * @throws InvalidSettingsException if the settings are invalid, e.g. out of bounds
+     */
+    void validateSettings(final NodeSettingsRO settings) throws InvalidSettingsException {
+        for (final SettingsModelNumber model : m_models) {
+            model.validateSettings(settings);
+        }
+    }
+
+    /**
+     * @param settings the settings to write to
+     */
+    void saveSettingsTo(final NodeSettingsWO settings) {
+        for (final SettingsModelNumber model : m_models) {
+            model.saveSettingsTo(settings);
+        }
+    }
+}
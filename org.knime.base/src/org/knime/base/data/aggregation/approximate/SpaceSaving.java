@@ -0,0 +1,169 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.base.data.aggregation.approximate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Space-saving sketch (Metwally et al., 2005) that keeps a bounded number of counters to find the most frequent
+ * values. If all counters are in use a new value replaces the value with the smallest count and inherits its count,
+ * hence counts are overestimated by at most n / capacity. Every value that occurs more than n / capacity times is
+ * guaranteed to be monitored.
+ *
+ * @param <T> the type of the counted values
+ * @author agent
+ */
+final class SpaceSaving<T> {
+
+    private final int m_capacity;
+
+    /** Counters in insertion order, used to break ties in favor of the first occurrence. */
+    private final Map<T, long[]> m_counters;
+
+    /**
+     * @param capacity the maximum number of monitored values
+     */
+    SpaceSaving(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        m_capacity = capacity;
+        m_counters = new LinkedHashMap<>();
+    }
+
+    /**
+     * @param value the value to count
+     */
+    void add(final T value) {
+        add(value, 1);
+    }
+
+    private void add(final T value, final long count) {
+        final long[] counter = m_counters.get(value);
+        if (counter != null) {
+            counter[0] += count;
+        } else if (m_counters.size() < m_capacity) {
+            m_counters.put(value, new long[]{count});
+        } else {
+            final Entry<T, long[]> min = getMinEntry();
+            m_counters.remove(min.getKey());
+            m_counters.put(value, new long[]{min.getValue()[0] + count});
+        }
+    }
+
+    /**
+     * Adds the counts of the given sketch to this sketch. Values that are only monitored by one of the sketches
+     * get the smallest count of the other sketch added, as they might have been evicted there. Only the
+     * capacity most frequent values are kept afterwards.
+     * @param other a sketch with the same capacity
+     */
+    void merge(final SpaceSaving<T> other) {
+        final long thisMin = m_counters.size() < m_capacity ? 0 : getMinEntry().getValue()[0];
+        final long otherMin = other.m_counters.size() < other.m_capacity ? 0 : other.getMinEntry().getValue()[0];
+        for (final Entry<T, long[]> entry : m_counters.entrySet()) {
+            final long[] otherCounter = other.m_counters.get(entry.getKey());
+            entry.getValue()[0] += otherCounter == null ? otherMin : otherCounter[0];
+        }
+        for (final Entry<T, long[]> entry : other.m_counters.entrySet()) {
+            if (!m_counters.containsKey(entry.getKey())) {
+                m_counters.put(entry.getKey(), new long[]{entry.getValue()[0] + thisMin});
+            }
+        }
+        while (m_counters.size() > m_capacity) {
+            m_counters.remove(getMinEntry().getKey());
+        }
+    }
+
+    /** @return the value with the largest (estimated) count, the first one in case of ties, or <code>null</code> */
+    T getMostFrequent() {
+        T result = null;
+        long max = Long.MIN_VALUE;
+        for (final Entry<T, long[]> entry : m_counters.entrySet()) {
+            if (entry.getValue()[0] > max) {
+                max = entry.getValue()[0];
+                result = entry.getKey();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param k the maximum number of values to return
+     * @return the (at most) k most frequent values, sorted by their estimated count in descending order
+     */
+    List<T> getTopK(final int k) {
+        final List<Entry<T, long[]>> entries = new ArrayList<>(m_counters.entrySet());
+        // stable sort, ties stay in insertion order
+        entries.sort((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]));
+        final List<T> result = new ArrayList<>(Math.min(k, entries.size()));
+        for (final Iterator<Entry<T, long[]>> it = entries.iterator(); it.hasNext() && result.size() < k;) {
+            result.add(it.next().getKey());
+        }
+        return result;
+    }
+
+    /** Removes all counters. */
+    void clear() {
+        m_counters.clear();
+    }
+
+    private Entry<T, long[]> getMinEntry() {
+        Entry<T, long[]> min = null;
+        for (final Entry<T, long[]> entry : m_counters.entrySet()) {
+            if (min == null || entry.getValue()[0] < min.getValue()[0]) {
+                min = entry;
+            }
+        }
+        return min;
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.base.data.aggregation.approximate;
+
+import java.util.Arrays;
+
+/**
+ * Merging t-digest (Dunning &amp; Ertl) to estimate quantiles. The values are summarized by a sorted list of
+ * centroids (mean and weight) whose weight is limited by 4 * n * q * (1 - q) / compression, hence the centroids at
+ * the tails are small and the quantiles there are accurate. New values are collected in a buffer that is merged
+ * into the centroids once it's full, so the memory is bounded by a small multiple of the compression. The arrays
+ * are allocated on the first value and grow with the number of values up to that bound, hence digests of small
+ * groups stay small.
+ *
+ * @author agent
+ */
+final class TDigest {
+
+    /** Smallest supported compression. */
+    static final int MIN_COMPRESSION = 10;
+
+    /** Capacity of the arrays once the first value is added. */
+    private static final int INITIAL_CAPACITY = 8;
+
+    private static final double[] EMPTY = new double[0];
+
+    private final double m_compression;
+
+    private double[] m_means = EMPTY;
+
+    private double[] m_weights = EMPTY;
+
+    private int m_centroidCount;
+
+    private double[] m_bufferMeans = EMPTY;
+
+    private double[] m_bufferWeights = EMPTY;
+
+    /** The number of buffered values at which the buffer is merged into the centroids. */
+    private final int m_maxBufferSize;
+
+    private int m_bufferCount;
+
+    private double m_totalWeight;
+
+    private double m_min = Double.POSITIVE_INFINITY;
+
+    private double m_max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * @param compression the compression, larger values are more accurate but require more memory
+     */
+    TDigest(final int compression) {
+        if (compression < MIN_COMPRESSION) {
+            throw new IllegalArgumentException(
+                "Compression must be at least " + MIN_COMPRESSION + ": " + compression);
+        }
+        m_compression = compression;
+        m_maxBufferSize = 5 * compression;
+    }
+
+    /**
+     * @param value the value to add
+     */
+    void add(final double value) {
+        add(value, 1);
+    }
+
+    private void add(final double mean, final double weight) {
+        if (m_bufferCount == m_bufferMeans.length) {
+            if (m_bufferCount < m_maxBufferSize) {
+                final int capacity = Math.min(m_maxBufferSize, Math.max(INITIAL_CAPACITY, 2 * m_bufferCount));
+                m_bufferMeans = Arrays.copyOf(m_bufferMeans, capacity);
+                m_bufferWeights = Arrays.copyOf(m_bufferWeights, capacity);
+            } else {
+                compress();
+            }
+        }
+        m_bufferMeans[m_bufferCount] = mean;
+        m_bufferWeights[m_bufferCount] = weight;
+        m_bufferCount++;
+        m_min = Math.min(m_min, mean);
+        m_max = Math.max(m_max, mean);
+    }
+
+    /**
+     * Adds all values of the given digest to this digest.
+     * @param other the digest to add
+     */
+    void merge(final TDigest other) {
+        other.compress();
+        for (int i = 0; i < other.m_centroidCount; i++) {
+            add(other.m_means[i], other.m_weights[i]);
+        }
+        m_min = Math.min(m_min, other.m_min);
+        m_max = Math.max(m_max, other.m_max);
+    }
+
+    /** @return <code>true</code> if no value has been added */
+    boolean isEmpty() {
+        return m_centroidCount == 0 && m_bufferCount == 0;
+    }
+
+    /**
+     * @param q the quantile between 0 and 1
+     * @return the estimated quantile or {@link Double#NaN} if the digest is empty
+     */
+    double quantile(final double q) {
+        compress();
+        if (m_centroidCount == 0) {
+            return Double.NaN;
+        }
+        if (m_centroidCount == 1) {
+            return m_means[0];
+        }
+        final double target = q * m_totalWeight;
+        // the centers of the centroids are at the cumulative weight of all previous centroids plus half the weight
+        double center = m_weights[0] / 2;
+        if (target < center) {
+            return m_min + (m_means[0] - m_min) * (target / center);
+        }
+        for (int i = 1; i < m_centroidCount; i++) {
+            final double nextCenter = center + (m_weights[i - 1] + m_weights[i]) / 2;
+            if (target < nextCenter) {
+                return m_means[i - 1] + (m_means[i] - m_means[i - 1]) * ((target - center) / (nextCenter - center));
+            }
+            center = nextCenter;
+        }
+        final double lastWeight = m_totalWeight - center;
+        if (lastWeight <= 0) {
+            return m_max;
+        }
+        return m_means[m_centroidCount - 1]
+            + (m_max - m_means[m_centroidCount - 1]) * ((target - center) / lastWeight);
+    }
+
+    /** Removes all values. */
+    void clear() {
+        m_centroidCount = 0;
+        m_bufferCount = 0;
+        m_totalWeight = 0;
+        m_min = Double.POSITIVE_INFINITY;
+        m_max = Double.NEGATIVE_INFINITY;
+    }
+
+    /** Merges the buffered values into the centroids. */
+    private void compress() {
+        if (m_bufferCount == 0) {
+            return;
+        }
+        final int count = m_centroidCount + m_bufferCount;
+        final double[] means = new double[count];
+        final double[] weights = new double[count];
+        System.arraycopy(m_means, 0, means, 0, m_centroidCount);
+        System.arraycopy(m_weights, 0, weights, 0, m_centroidCount);
+        System.arraycopy(m_bufferMeans, 0, means, m_centroidCount, m_bufferCount);
+        System.arraycopy(m_bufferWeights, 0, weights, m_centroidCount, m_bufferCount);
+        final Integer[] order = new Integer[count];
+        double totalWeight = 0;
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+            totalWeight += weights[i];
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(means[a], means[b]));
+
+        int centroidCount = 0;
+        double mean = means[order[0]];
+        double weight = weights[order[0]];
+        double weightSoFar = 0;
+        for (int i = 1; i < count; i++) {
+            final double nextMean = means[order[i]];
+            final double nextWeight = weights[order[i]];
+            final double proposedWeight = weight + nextWeight;
+            final double q = (weightSoFar + proposedWeight / 2) / totalWeight;
+            final double maxWeight = 4 * totalWeight * q * (1 - q) / m_compression;
+            if (proposedWeight <= maxWeight) {
+                mean += (nextMean - mean) * (nextWeight / proposedWeight);
+                weight = proposedWeight;
+            } else {
+                centroidCount = addCentroid(centroidCount, mean, weight);
+                weightSoFar += weight;
+                mean = nextMean;
+                weight = nextWeight;
+            }
+        }
+        centroidCount = addCentroid(centroidCount, mean, weight);
+        m_centroidCount = centroidCount;
+        m_bufferCount = 0;
+        m_totalWeight = totalWeight;
+    }
+
+    private int addCentroid(final int index, final double mean, final double weight) {
+        if (index == m_means.length) {
+            // the number of centroids is bounded by about 2 * compression
+            final int capacity = Math.max(INITIAL_CAPACITY, 2 * index);
+            m_means = Arrays.copyOf(m_means, capacity);
+            m_weights = Arrays.copyOf(m_weights, capacity);
+        }
+        m_means[index] = mean;
+        m_weights[index] = weight;
+        return index + 1;
+    }
+}
@@ -136,6 +136,26 @@ protected DataCell getResultInternal() {
         return m_v;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == BitVectorIntersectionOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final DenseBitVectorCell v = ((BitVectorIntersectionOperator)other).m_v;
+        if (v != null) {
+            m_v = m_v == null ? v : DenseBitVectorCellFactory.and(m_v, v);
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
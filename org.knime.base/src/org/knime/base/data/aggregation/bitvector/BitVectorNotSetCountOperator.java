@@ -122,6 +122,23 @@ protected DataCell getResultInternal() {
         return new LongCell(m_counter);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == BitVectorNotSetCountOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        m_counter += ((BitVectorNotSetCountOperator)other).m_counter;
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
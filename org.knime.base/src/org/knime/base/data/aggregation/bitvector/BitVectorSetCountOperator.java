@@ -121,6 +121,23 @@ protected DataCell getResultInternal() {
         return new LongCell(m_counter);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == BitVectorSetCountOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        m_counter += ((BitVectorSetCountOperator)other).m_counter;
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
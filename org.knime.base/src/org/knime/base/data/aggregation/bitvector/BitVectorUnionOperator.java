@@ -128,6 +128,26 @@ protected DataCell getResultInternal() {
         return m_v;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == BitVectorUnionOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final DenseBitVectorCell v = ((BitVectorUnionOperator)other).m_v;
+        if (v != null) {
+            m_v = m_v == null ? v : DenseBitVectorCellFactory.or(m_v, v);
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
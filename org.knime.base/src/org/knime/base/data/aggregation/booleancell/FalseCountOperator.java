@@ -128,6 +128,23 @@ protected DataCell getResultInternal() {
         return new IntCell(m_counter);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == FalseCountOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        m_counter += ((FalseCountOperator)other).m_counter;
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -128,6 +128,23 @@ protected DataCell getResultInternal() {
         return new IntCell(m_counter);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == TrueCountOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        m_counter += ((TrueCountOperator)other).m_counter;
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
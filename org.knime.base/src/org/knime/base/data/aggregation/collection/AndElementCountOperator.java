@@ -109,4 +109,11 @@ public String getDescription() {
         + "Only elements that are present in all collections count.";
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == AndElementCountOperator.class;
+    }
 }
@@ -170,6 +170,34 @@ protected DataCell getResultInternal() {
         return CollectionCellFactory.createSetCell(m_vals);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == AndElementOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final AndElementOperator and = (AndElementOperator)other;
+        if (and.m_first) {
+            //the other operator hasn't seen any value
+            return false;
+        }
+        m_containsMissing |= and.m_containsMissing;
+        if (m_first) {
+            m_vals.addAll(and.m_vals);
+            m_first = false;
+        } else {
+            m_vals.retainAll(and.m_vals);
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -155,6 +155,23 @@ protected DataCell getResultInternal() {
         return CollectionCellFactory.createListCell(m_vals);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == AppendElementOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        m_vals.addAll(((AppendElementOperator)other).m_vals);
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -126,6 +126,23 @@ protected DataCell getResultInternal() {
         return new IntCell(m_counter);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == ElementCountOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        m_counter += ((ElementCountOperator)other).m_counter;
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -124,4 +124,11 @@ public String getDescription() {
         + "union of all collection elements per group.";
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == OrElementCountOperator.class;
+    }
 }
@@ -154,6 +154,32 @@ protected DataCell getResultInternal() {
         return CollectionCellFactory.createSetCell(m_vals);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == OrElementOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        for (final DataCell valCell : ((OrElementOperator)other).m_vals) {
+            if (m_vals.contains(valCell)) {
+                continue;
+            }
+            if (m_vals.size() >= getMaxUniqueValues()) {
+                setSkipMessage("Group contains too many unique values");
+                return true;
+            }
+            m_vals.add(valCell);
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -110,4 +110,11 @@ public String getDescription() {
         + "elements that exist in only one collection per group";
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == XORElementCountOperator.class;
+    }
 }
@@ -157,6 +157,38 @@ protected DataCell getResultInternal() {
         return CollectionCellFactory.createSetCell(m_vals);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == XORElementOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final XORElementOperator xor = (XORElementOperator)other;
+        for (final DataCell valCell : xor.m_allVals) {
+            if (m_allVals.add(valCell)) {
+                //the element is only contained in the collections of the other operator
+                if (xor.m_vals.contains(valCell)) {
+                    if (m_vals.size() + 1 >= getMaxUniqueValues()) {
+                        setSkipMessage("Group contains too many unique values");
+                        return true;
+                    }
+                    m_vals.add(valCell);
+                }
+            } else {
+                //the element is contained in the collections of both operators
+                m_vals.remove(valCell);
+            }
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -142,6 +142,32 @@ protected DataCell getResultInternal() {
                 (long)m_mean, m_hasDate, m_hasTime, m_hasMilis);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == DateMeanOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final DateMeanOperator mean = (DateMeanOperator)other;
+        if (mean.m_count == 0) {
+            return false;
+        }
+        m_hasDate |= mean.m_hasDate;
+        m_hasTime |= mean.m_hasTime;
+        m_hasMilis |= mean.m_hasMilis;
+        final int count = m_count + mean.m_count;
+        m_mean += (mean.m_mean - m_mean) * ((double)mean.m_count / count);
+        m_count = count;
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -123,4 +123,12 @@ public String getDescription() {
         return "Calculates the range between the first and last date "
         + "in days.";
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == DayRangeOperator.class;
+    }
 }
@@ -163,6 +163,28 @@ protected DataCell getResultInternal() {
                 date1.hasMillis() || date2.hasMillis());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == MedianDateOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final List<DataCell> cells = ((MedianDateOperator)other).m_cells;
+        if (m_cells.size() + cells.size() > getMaxUniqueValues()) {
+            setSkipMessage("Group contains too many values");
+            return true;
+        }
+        m_cells.addAll(cells);
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -148,6 +148,37 @@ protected DataCell getResultInternal() {
         return new LongCell(max - min);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == MillisRangeOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final MillisRangeOperator range = (MillisRangeOperator)other;
+        if (range.m_min == null || range.m_max == null) {
+            return false;
+        }
+        if (m_min == null || m_max == null) {
+            m_min = range.m_min;
+            m_max = range.m_max;
+            return false;
+        }
+        if (m_comparator.compare(m_min, range.m_min) > 0) {
+            m_min = range.m_min;
+        }
+        if (m_comparator.compare(m_max, range.m_max) < 0) {
+            m_max = range.m_max;
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -152,6 +152,29 @@ protected DataCell getResultInternal() {
         return getResultInternal(m_min, m_max);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final AbstractRangeOperator range = (AbstractRangeOperator)other;
+        if (range.m_min == null || range.m_max == null) {
+            return false;
+        }
+        if (m_min == null || m_max == null) {
+            m_min = range.m_min;
+            m_max = range.m_max;
+            return false;
+        }
+        if (m_comparator.compare(m_min, range.m_min) > 0) {
+            m_min = range.m_min;
+        }
+        if (m_comparator.compare(m_max, range.m_max) < 0) {
+            m_max = range.m_max;
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -134,6 +134,32 @@ protected DataCell getResultInternal() {
         return new StringCell(m_buf.toString());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == ConcatenateOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final ConcatenateOperator concat = (ConcatenateOperator)other;
+        if (concat.m_first) {
+            return false;
+        }
+        if (m_first) {
+            m_first = false;
+        } else {
+            m_buf.append(getValueDelimiter());
+        }
+        m_buf.append(concat.m_buf);
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -122,6 +122,23 @@ protected DataCell getResultInternal() {
         return new IntCell(m_counter);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == CountOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        m_counter += ((CountOperator)other).m_counter;
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -123,6 +123,25 @@ protected DataCell getResultInternal() {
         return m_firstCell;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == FirstOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        if (m_firstCell == null) {
+            m_firstCell = ((FirstOperator)other).m_firstCell;
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -122,6 +122,26 @@ protected DataCell getResultInternal() {
         return m_lastCell;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == LastOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final DataCell lastCell = ((LastOperator)other).m_lastCell;
+        if (lastCell != null) {
+            m_lastCell = lastCell;
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
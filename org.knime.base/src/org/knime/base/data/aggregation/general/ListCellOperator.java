@@ -143,6 +143,28 @@ protected DataCell getResultInternal() {
         return CollectionCellFactory.createListCell(m_cells);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == ListCellOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final List<DataCell> cells = ((ListCellOperator)other).m_cells;
+        if (m_cells.size() + cells.size() > getMaxUniqueValues()) {
+            setSkipMessage("Group contains too many values");
+            return true;
+        }
+        m_cells.addAll(cells);
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
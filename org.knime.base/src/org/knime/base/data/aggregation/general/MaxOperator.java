@@ -139,6 +139,26 @@ protected DataCell getResultInternal() {
         return m_maxVal;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == MaxOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final DataCell maxVal = ((MaxOperator)other).m_maxVal;
+        if (maxVal != null && (m_maxVal == null || m_comparator.compare(maxVal, m_maxVal) > 0)) {
+            m_maxVal = maxVal;
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -138,6 +138,26 @@ protected DataCell getResultInternal() {
         return m_minVal;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == MinOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final DataCell minVal = ((MinOperator)other).m_minVal;
+        if (minVal != null && (m_minVal == null || m_comparator.compare(minVal, m_minVal) < 0)) {
+            m_minVal = minVal;
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -137,6 +137,23 @@ protected DataCell getResultInternal() {
         return new IntCell(m_counter);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == MissingValueCountOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        m_counter += ((MissingValueCountOperator)other).m_counter;
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
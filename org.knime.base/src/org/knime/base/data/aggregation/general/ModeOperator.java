@@ -151,6 +151,34 @@ protected DataCell getResultInternal() {
         return result;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == ModeOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        for (final Entry<DataCell, MutableInteger> entry : ((ModeOperator)other).m_valCounter.entrySet()) {
+            final MutableInteger counter = m_valCounter.get(entry.getKey());
+            if (counter != null) {
+                counter.add(entry.getValue().intValue());
+                continue;
+            }
+            if (m_valCounter.size() >= getMaxUniqueValues()) {
+                setSkipMessage("Group contains too many unique values");
+                return true;
+            }
+            m_valCounter.put(entry.getKey(), entry.getValue());
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -143,6 +143,27 @@ protected Set<DataCell> getGroupMembers() {
         return m_cells;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == SetCellOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        for (final DataCell cell : ((SetCellOperator)other).m_cells) {
+            if (computeInternal(cell)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -136,4 +136,12 @@ protected void sortCells(final List<DataCell> cells) {
     public String getDescription() {
         return "Creates a sorted ListCell that contains all elements per group.";
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == SortedListCellOperator.class;
+    }
 }
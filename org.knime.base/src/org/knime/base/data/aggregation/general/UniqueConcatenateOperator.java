@@ -125,4 +125,12 @@ protected DataCell getResultInternal() {
     public String getDescription() {
         return "Concatenates each member only once per group.";
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == UniqueConcatenateOperator.class;
+    }
 }
@@ -164,6 +164,34 @@ protected DataCell getResultInternal() {
         return new StringCell(buf.toString());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == UniqueConcatenateWithCountOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        for (final Entry<DataCell, MutableInteger> entry : ((UniqueConcatenateWithCountOperator)other).m_vals.entrySet()) {
+            final MutableInteger counter = m_vals.get(entry.getKey());
+            if (counter != null) {
+                counter.add(entry.getValue().intValue());
+                continue;
+            }
+            if (m_vals.size() >= getMaxUniqueValues()) {
+                setSkipMessage("Group contains too many unique values");
+                return true;
+            }
+            m_vals.put(entry.getKey(), entry.getValue());
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
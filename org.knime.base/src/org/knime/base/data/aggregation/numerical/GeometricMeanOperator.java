@@ -127,6 +127,25 @@ protected DataCell getResultInternal() {
         return new DoubleCell(Math.exp(m_logSum / m_count));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == GeometricMeanOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final GeometricMeanOperator mean = (GeometricMeanOperator)other;
+        m_logSum += mean.m_logSum;
+        m_count += mean.m_count;
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -116,4 +116,12 @@ public String getDescription() {
         return "Calculates the geometric standard deviation per group."
         + " The method returns NaN if any of the values is <= 0.";
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == GeometricStdDeviationOperator.class;
+    }
 }
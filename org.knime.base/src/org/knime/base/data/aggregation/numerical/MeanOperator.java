@@ -127,6 +127,29 @@ protected DataCell getResultInternal() {
         return new DoubleCell(m_mean);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == MeanOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final MeanOperator mean = (MeanOperator)other;
+        if (mean.m_count == 0) {
+            return false;
+        }
+        final int count = m_count + mean.m_count;
+        m_mean += (mean.m_mean - m_mean) * ((double)mean.m_count / count);
+        m_count = count;
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
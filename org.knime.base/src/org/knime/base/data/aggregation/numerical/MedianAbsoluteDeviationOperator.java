@@ -144,4 +144,11 @@ protected DataCell getResultInternal() {
         return new DoubleCell(medianValue);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == MedianAbsoluteDeviationOperator.class;
+    }
 }
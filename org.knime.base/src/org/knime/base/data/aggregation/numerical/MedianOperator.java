@@ -158,4 +158,11 @@ public String getDescription() {
                 + "Missing cells are skipped.";
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == MedianOperator.class;
+    }
 }
@@ -128,6 +128,27 @@ protected DataCell getResultInternal() {
         return new DoubleCell(m_product);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == ProductOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final ProductOperator product = (ProductOperator)other;
+        if (product.m_valid) {
+            m_valid = true;
+            m_product *= product.m_product;
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
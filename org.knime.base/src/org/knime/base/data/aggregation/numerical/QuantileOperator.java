@@ -404,4 +404,11 @@ public void saveSettingsTo(final NodeSettingsWO settings) {
 
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == QuantileOperator.class;
+    }
 }
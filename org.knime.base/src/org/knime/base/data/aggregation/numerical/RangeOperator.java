@@ -133,4 +133,12 @@ protected DataCell getResultInternal(final DataCell min, final DataCell max) {
                 - ((DoubleValue)min).getDoubleValue();
         return new DoubleCell(range);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == RangeOperator.class;
+    }
 }
@@ -99,6 +99,27 @@ protected boolean computeInternal(final DataCell cell) {
         return false;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final ResizableDoubleArray cells = ((StoreResizableDoubleArrayOperator)other).m_cells;
+        if (m_cells.getNumElements() + cells.getNumElements() > getMaxUniqueValues()) {
+            setSkipMessage("Group contains too many values");
+            return true;
+        }
+        try {
+            for (final double value : cells.getElements()) {
+                m_cells.addElement(value);
+            }
+        } catch (final OutOfMemoryError e) {
+            setSkipMessage("Group requires too much storage");
+            return true;
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -167,6 +167,25 @@ protected DataCell getResultInternal() {
         return new DoubleCell(m_sum);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == SumOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final SumOperator sum = (SumOperator)other;
+        m_valid |= sum.m_valid;
+        m_sum += sum.m_sum;
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
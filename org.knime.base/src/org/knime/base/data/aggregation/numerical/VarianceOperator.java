@@ -141,6 +141,26 @@ protected DataCell getResultInternal() {
         return new DoubleCell(variance);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == VarianceOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final VarianceOperator variance = (VarianceOperator)other;
+        m_sumSquare += variance.m_sumSquare;
+        m_sum += variance.m_sum;
+        m_validCount += variance.m_validCount;
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
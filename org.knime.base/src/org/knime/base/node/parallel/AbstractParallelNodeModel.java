@@ -51,11 +51,12 @@
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTable;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.RowIterator;
-import org.knime.core.data.container.DataContainer;
 import org.knime.core.data.container.RowAppender;
 import org.knime.core.node.BufferedDataContainer;
 import org.knime.core.node.BufferedDataTable;
@@ -63,6 +64,7 @@
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.NodeModel;
+import org.knime.core.node.ParallelBufferedDataContainer;
 import org.knime.core.util.ThreadPool;
 
 /**
@@ -77,13 +79,23 @@
  * If the node has more than one input table only the first input table is
  * chunked, the remaining ones are passed to {@link #executeByChunk(
  * BufferedDataTable, BufferedDataTable[], RowAppender[], ExecutionMonitor)}
- * completely.
+ * completely.<br>
+ *
+ * By default all chunks have the same (maximal) size. With {@link #setAdaptiveChunking(boolean) adaptive chunking}
+ * the chunk size is derived from the measured processing time per row and chunks get smaller towards the end of
+ * the input so that the threads finish at about the same time even if the processing costs differ between rows.
  *
  * @author Thorsten Meinl, University of Konstanz
  */
 public abstract class AbstractParallelNodeModel extends NodeModel {
     private int m_chunkSize;
 
+    private boolean m_adaptiveChunking;
+
+    private long m_targetChunkDuration = AdaptiveChunkSizer.DEFAULT_TARGET_CHUNK_DURATION;
+
+    private int m_minChunkSize = AdaptiveChunkSizer.DEFAULT_MIN_CHUNK_SIZE;
+
     /** The execution service that is used. */
     protected final ThreadPool m_workers;
 
@@ -130,7 +142,7 @@ protected final BufferedDataTable[] execute(final BufferedDataTable[] data,
             final ExecutionContext exec) throws Exception {
         final DataTableSpec[] outSpecs = prepareExecute(data);
 
-        final List<Future<BufferedDataContainer[]>> futures = new ArrayList<>();
+        final List<Future<Void>> futures = new ArrayList<>();
         final BufferedDataTable[] additionalTables =
                 new BufferedDataTable[Math.max(0, data.length - 1)];
         System.arraycopy(data, 1, additionalTables, 0, additionalTables.length);
@@ -153,62 +165,59 @@ protected final BufferedDataTable[] execute(final BufferedDataTable[] data,
         }
 
         final double max = data[0].size();
+        final AtomicLong processedRows = new AtomicLong();
+        final AdaptiveChunkSizer chunkSizer = m_adaptiveChunking ? new AdaptiveChunkSizer(m_chunkSize,
+            m_minChunkSize, Math.max(1, m_workers.getMaxThreads()), m_targetChunkDuration) : null;
+
+        // rows of chunk k get indices k * Integer.MAX_VALUE + i, so each chunk is written by the thread processing it
+        // into its own container that keeps no cells in memory, and the chunks are concatenated on close (as before)
+        final ParallelBufferedDataContainer[] outContainers = new ParallelBufferedDataContainer[outSpecs.length];
+        for (int i = 0; i < outSpecs.length; i++) {
+            outContainers[i] = exec.createParallelDataContainer(outSpecs[i], true, Integer.MAX_VALUE);
+        }
 
         final Callable<Void> submitter = new Callable<Void>() {
             @Override
             public Void call() throws Exception {
                 final RowIterator it = data[0].iterator();
-                BufferedDataContainer container = null;
-                int count = 0, chunks = 0;
-                while (true) {
-                    if ((count++ % m_chunkSize == 0) || !it.hasNext()) {
-                        exec.checkCanceled();
-
-                        if (container != null) {
-                            container.close();
-                            final BufferedDataContainer temp = container;
-                            chunks++;
-                            final int temp2 = chunks;
-                            futures.add(m_workers
-                                    .submit(new Callable<BufferedDataContainer[]>() {
-                                        @Override
-                                        public BufferedDataContainer[] call()
-                                                throws Exception {
-                                            ExecutionMonitor subProg =
-                                                    exec
-                                                            .createSilentSubProgress((m_chunkSize > max) ? 1
-                                                                    : m_chunkSize
-                                                                            / max);
-                                            exec.setMessage("Processing chunk "
-                                                    + temp2);
-                                            BufferedDataContainer[] result = new BufferedDataContainer[outSpecs.length];
-                                            for (int i = 0; i < outSpecs.length; i++) {
-                                                result[i] = exec.createDataContainer(outSpecs[i], true, 0);
-                                            }
-
-                                            executeByChunk(temp.getTable(),
-                                                    additionalTables, result,
-                                                    subProg);
-
-                                            for (DataContainer c : result) {
-                                                c.close();
-                                            }
-
-                                            exec.setProgress(temp2
-                                                    * m_chunkSize / max);
-                                            return result;
-                                        }
-                                    }));
-                        }
-                        if (!it.hasNext()) {
-                            break;
-                        }
-
-                        container =
-                                exec.createDataContainer(data[0]
-                                        .getDataTableSpec());
+                long remainingRows = data[0].size();
+                int chunks = 0;
+                while (it.hasNext()) {
+                    exec.checkCanceled();
+                    // ThreadPool#submit blocks until the previous chunk is being processed, hence the adaptive
+                    // size is based on the timings of all chunks finished so far
+                    final int chunkSize = chunkSizer == null ? m_chunkSize : chunkSizer.nextChunkSize(remainingRows);
+                    final BufferedDataContainer container = exec.createDataContainer(data[0].getDataTableSpec());
+                    for (int i = 0; i < chunkSize && it.hasNext(); i++) {
+                        container.addRowToTable(it.next());
                     }
-                    container.addRowToTable(it.next());
+                    container.close();
+                    final BufferedDataTable chunk = container.getTable();
+                    final long chunkRows = chunk.size();
+                    remainingRows -= chunkRows;
+                    chunks++;
+                    final int chunkIndex = chunks;
+                    futures.add(m_workers.submit(new Callable<Void>() {
+                        @Override
+                        public Void call() throws Exception {
+                            ExecutionMonitor subProg = exec.createSilentSubProgress(chunkRows / max);
+                            exec.setMessage("Processing chunk " + chunkIndex);
+                            RowAppender[] result = new RowAppender[outSpecs.length];
+                            for (int i = 0; i < outSpecs.length; i++) {
+                                result[i] = new ChunkRowAppender(outContainers[i],
+                                    (chunkIndex - 1L) * Integer.MAX_VALUE);
+                            }
+
+                            final long start = System.nanoTime();
+                            executeByChunk(chunk, additionalTables, result, subProg);
+                            if (chunkSizer != null) {
+                                chunkSizer.chunkFinished(chunkRows, System.nanoTime() - start);
+                            }
+
+                            exec.setProgress(processedRows.addAndGet(chunkRows) / max);
+                            return null;
+                        }
+                    }));
                 }
                 return null;
             }
@@ -222,36 +231,22 @@ public BufferedDataContainer[] call()
             submitter.call();
         }
 
-        final BufferedDataTable[][] tempTables =
-                new BufferedDataTable[outSpecs.length][futures.size()];
-        int k = 0;
-        for (Future<BufferedDataContainer[]> results : futures) {
+        for (Future<Void> result : futures) {
             try {
                 exec.checkCanceled();
             } catch (CanceledExecutionException ex) {
-                for (Future<BufferedDataContainer[]> cancel : futures) {
+                for (Future<Void> cancel : futures) {
                     cancel.cancel(true);
                 }
                 throw ex;
             }
-
-            final BufferedDataContainer[] temp = results.get();
-
-            if ((temp == null) || (temp.length != getNrOutPorts())) {
-                throw new IllegalStateException("Invalid result. Execution "
-                        + " failed, reason: data is null or number "
-                        + "of outputs wrong.");
-            }
-
-            for (int i = 0; i < temp.length; i++) {
-                tempTables[i][k] = temp[i].getTable();
-            }
-            k++;
+            result.get();
         }
 
         final BufferedDataTable[] resultTables = new BufferedDataTable[outSpecs.length];
         for (int i = 0; i < resultTables.length; i++) {
-            resultTables[i] = exec.createConcatenateTable(exec, tempTables[i]);
+            outContainers[i].close();
+            resultTables[i] = outContainers[i].getTable();
         }
 
         return resultTables;
@@ -276,6 +271,23 @@ protected abstract void executeByChunk(final BufferedDataTable inDataChunk,
             final RowAppender[] outputTables, final ExecutionMonitor exec)
             throws Exception;
 
+    /** Adds the rows of one chunk to a parallel container, using consecutive indices. */
+    private static final class ChunkRowAppender implements RowAppender {
+        private final ParallelBufferedDataContainer m_container;
+        private long m_nextIndex;
+
+        ChunkRowAppender(final ParallelBufferedDataContainer container,
+                final long firstIndex) {
+            m_container = container;
+            m_nextIndex = firstIndex;
+        }
+
+        @Override
+        public void addRowToTable(final DataRow row) {
+            m_container.addRowToTable(m_nextIndex++, row);
+        }
+    }
+
     /**
      * Sets the chunk size of the split data tables.
      *
@@ -293,4 +305,74 @@ public void setChunkSize(final int newValue) {
     public int getChunkSize() {
         return m_chunkSize;
     }
+
+    /**
+     * Enables or disables adaptive chunking. If enabled the {@link #getChunkSize() chunk size} is only used for the
+     * first chunks; subsequent chunks are sized so that each takes about {@link #getTargetChunkDuration()} ms to
+     * process and chunks towards the end of the input are made smaller to balance the load among the threads.
+     *
+     * @param adaptive whether to size chunks adaptively
+     * @since 3.7
+     */
+    public void setAdaptiveChunking(final boolean adaptive) {
+        m_adaptiveChunking = adaptive;
+    }
+
+    /**
+     * Returns whether adaptive chunking is enabled.
+     *
+     * @return <code>true</code> if chunks are sized adaptively
+     * @see #setAdaptiveChunking(boolean)
+     * @since 3.7
+     */
+    public boolean isAdaptiveChunking() {
+        return m_adaptiveChunking;
+    }
+
+    /**
+     * Sets the time a single chunk should take to process when adaptive chunking is enabled.
+     *
+     * @param millis the target duration in ms, must be positive
+     * @since 3.7
+     */
+    public void setTargetChunkDuration(final long millis) {
+        if (millis <= 0) {
+            throw new IllegalArgumentException("Target chunk duration must be positive: " + millis);
+        }
+        m_targetChunkDuration = millis;
+    }
+
+    /**
+     * Returns the time a single chunk should take to process when adaptive chunking is enabled.
+     *
+     * @return the target duration in ms
+     * @since 3.7
+     */
+    public long getTargetChunkDuration() {
+        return m_targetChunkDuration;
+    }
+
+    /**
+     * Sets the minimum number of rows in a chunk when adaptive chunking is enabled. Only the last chunk may be
+     * smaller. If the value is larger than the {@link #getChunkSize() chunk size}, the chunk size is used instead.
+     *
+     * @param minChunkSize the minimum number of rows per chunk, must be positive
+     * @since 3.7
+     */
+    public void setMinChunkSize(final int minChunkSize) {
+        if (minChunkSize <= 0) {
+            throw new IllegalArgumentException("Minimum chunk size must be positive: " + minChunkSize);
+        }
+        m_minChunkSize = minChunkSize;
+    }
+
+    /**
+     * Returns the minimum number of rows in a chunk when adaptive chunking is enabled.
+     *
+     * @return the minimum number of rows per chunk
+     * @since 3.7
+     */
+    public int getMinChunkSize() {
+        return m_minChunkSize;
+    }
 }
@@ -0,0 +1,149 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.base.node.parallel;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Determines the size of the next chunk in {@link AbstractParallelNodeModel} when adaptive chunking is enabled.
+ * Chunk sizes are derived from the measured average processing time per row so that each chunk takes roughly
+ * {@link #getTargetChunkDuration() a fixed amount of time}. In addition, chunks shrink towards the end of the input
+ * (guided self-scheduling): no chunk is larger than the remaining rows divided by twice the number of workers, so
+ * that a single expensive chunk can't keep one thread busy while all others are idle. Chunks never get smaller than
+ * the {@link #getMinChunkSize() minimum chunk size} (unless fewer rows remain), otherwise the tail of the input
+ * would be processed row by row, paying the per chunk overhead for each of them.
+ *
+ * @author agent
+ */
+final class AdaptiveChunkSizer {
+
+    /** Default time (in ms) a single chunk should take to process. */
+    static final long DEFAULT_TARGET_CHUNK_DURATION = 500L;
+
+    /** Default minimum number of rows per chunk. */
+    static final int DEFAULT_MIN_CHUNK_SIZE = 50;
+
+    private final int m_initialChunkSize;
+
+    private final int m_minChunkSize;
+
+    private final int m_parallelism;
+
+    private final long m_targetChunkDurationNanos;
+
+    private final AtomicLong m_processedRows = new AtomicLong();
+
+    private final AtomicLong m_processingNanos = new AtomicLong();
+
+    /**
+     * @param initialChunkSize size of the chunks before any timing is available, &gt; 0
+     * @param minChunkSize the minimum size of a chunk, &gt; 0; if larger than the initial chunk size, the initial
+     *            chunk size is used as minimum
+     * @param parallelism the number of threads processing chunks concurrently, &gt; 0
+     * @param targetChunkDuration the time (in ms) each chunk should take to process, &gt; 0
+     */
+    AdaptiveChunkSizer(final int initialChunkSize, final int minChunkSize, final int parallelism,
+        final long targetChunkDuration) {
+        if (initialChunkSize <= 0 || minChunkSize <= 0 || parallelism <= 0 || targetChunkDuration <= 0) {
+            throw new IllegalArgumentException("Arguments must be positive: " + initialChunkSize + ", "
+                + minChunkSize + ", " + parallelism + ", " + targetChunkDuration);
+        }
+        m_initialChunkSize = initialChunkSize;
+        m_minChunkSize = Math.min(minChunkSize, initialChunkSize);
+        m_parallelism = parallelism;
+        m_targetChunkDurationNanos = targetChunkDuration * 1000000L;
+    }
+
+    /** @return the minimum number of rows per chunk */
+    int getMinChunkSize() {
+        return m_minChunkSize;
+    }
+
+    /** @return the target processing time per chunk in ms */
+    long getTargetChunkDuration() {
+        return m_targetChunkDurationNanos / 1000000L;
+    }
+
+    /**
+     * Called by the worker threads after a chunk has been processed.
+     *
+     * @param rows number of rows in the chunk
+     * @param nanos time it took to process the chunk
+     */
+    void chunkFinished(final long rows, final long nanos) {
+        m_processingNanos.addAndGet(Math.max(0L, nanos));
+        m_processedRows.addAndGet(rows);
+    }
+
+    /**
+     * Determines the number of rows in the next chunk.
+     *
+     * @param remainingRows number of rows not yet assigned to any chunk
+     * @return the number of rows in the next chunk, at least the minimum chunk size and at most
+     *         <code>remainingRows</code> (if positive)
+     */
+    int nextChunkSize(final long remainingRows) {
+        long size = m_initialChunkSize;
+        long rows = m_processedRows.get();
+        long nanos = m_processingNanos.get();
+        if (rows > 0 && nanos > 0) {
+            double nanosPerRow = nanos / (double)rows;
+            size = (long)Math.min(Integer.MAX_VALUE - 1, m_targetChunkDurationNanos / nanosPerRow);
+        }
+        if (remainingRows > 0) {
+            long tailBound = (remainingRows + 2L * m_parallelism - 1) / (2L * m_parallelism);
+            size = Math.min(size, tailBound);
+        }
+        size = Math.max(m_minChunkSize, size);
+        if (remainingRows > 0) {
+            size = Math.min(size, remainingRows);
+        }
+        return (int)size;
+    }
+
+}
@@ -45,13 +45,13 @@
 
 package org.knime.base.node.preproc.groupby;
 
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 
 import org.knime.base.data.aggregation.AggregationOperator;
 import org.knime.base.data.aggregation.ColumnAggregator;
@@ -68,8 +68,10 @@
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodeLogger.LEVEL;
+import org.knime.core.util.MultiThreadWorker;
 import org.knime.core.util.MutableInteger;
 import org.knime.core.util.Pair;
 
@@ -84,6 +86,12 @@
  * to get a <code>Map</code> with all skipped groups or the
  * {@link #getSkippedGroupsMessage(int, int)} for a appropriate warning message.
  *
+ * <p>
+ * The input table is sorted by the group columns and then aggregated group by group. If all aggregation operators
+ * support the {@link AggregationOperator#isMergeable() merging} of partial states the sorted table is split into
+ * chunks of consecutive rows that are aggregated on multiple threads; a group spanning several chunks is merged in
+ * the order of the chunks.
+ *
  * @author Tobias Koetter, University of Konstanz
  */
 public class BigGroupByTable extends GroupByTable {
@@ -153,6 +161,36 @@ public BigGroupByTable(final ExecutionContext exec,
                 sortInMemory, enableHilite, colNamePolicy, retainOrder);
     }
 
+    /**Constructor for class BigGroupByTable that sets the number of rows
+     * aggregated by a single task when aggregating in parallel.
+     * @param exec the <code>ExecutionContext</code>
+     * @param inDataTable the table to aggregate
+     * @param groupByCols the name of all columns to group by
+     * @param colAggregators the aggregation columns with the aggregation method
+     * to use in the order the columns should be appear in the result table
+     * @param globalSettings the global settings
+     * @param enableHilite <code>true</code> if a row key map should be
+     * maintained to enable hiliting
+     * @param colNamePolicy the {@link ColumnNamePolicy} for the
+     * aggregation columns
+     * @param retainOrder returns the row of the table in the same order as the
+     * input table if set to <code>true</code>
+     * @param chunkSize the number of consecutive rows per task
+     * @throws CanceledExecutionException if the user has canceled the execution
+     */
+    BigGroupByTable(final ExecutionContext exec,
+            final BufferedDataTable inDataTable,
+            final List<String> groupByCols,
+            final ColumnAggregator[] colAggregators,
+            final GlobalSettings globalSettings, final boolean enableHilite,
+            final ColumnNamePolicy colNamePolicy, final boolean retainOrder,
+            final int chunkSize)
+    throws CanceledExecutionException {
+        super(exec, inDataTable, groupByCols, colAggregators, globalSettings,
+                false, enableHilite, colNamePolicy, retainOrder, chunkSize, Integer.MAX_VALUE,
+                RowKeyStore.DEFAULT_MAX_KEYS_IN_MEMORY);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -191,6 +229,16 @@ protected BufferedDataTable createGroupByTable(final ExecutionContext exec,
         final DataCell[] previousGroup = new DataCell[groupColIdx.length];
         final DataCell[] currentGroup = new DataCell[groupColIdx.length];
         final MutableInteger groupCounter = new MutableInteger(0);
+        initMissingValuesMap();  // cannot put init to the constructor, as the super() constructor directly calls the current function
+        if (isParallelAggregation(sortedTable)) {
+            final int maxThreads = getMaxAggregationThreads();
+            final SortedChunkAggregator aggregator = new SortedChunkAggregator(2 * maxThreads, maxThreads,
+                groupExec, sortedTable, groupColIdx, comparators, dc, groupCounter);
+            aggregateChunks(aggregator, sortedTable);
+            aggregator.finish();
+            dc.close();
+            return dc.getTable();
+        }
         boolean firstRow = true;
         final double numOfRows = sortedTable.size();
         long rowCounter = 0;
@@ -205,10 +253,9 @@ protected BufferedDataTable createGroupByTable(final ExecutionContext exec,
         //(such as cells that contain chemical structures).
         //In this rare case this map will contain for each group of data cells
         //that are pairwise equal in the chunk a separate entry.
-        final Map<GroupKey, Pair<ColumnAggregator[], Set<RowKey>>> chunkMembers = new LinkedHashMap<>(3);
+        final Map<GroupKey, Pair<ColumnAggregator[], RowIndexSet>> chunkMembers = new LinkedHashMap<>(3);
         boolean logUnusualCells = true;
         String groupLabel = "";
-        initMissingValuesMap();  // cannot put init to the constructor, as the super() constructor directly calls the current function
         for (final DataRow row : sortedTable) {
             //fetch the current group column values
             for (int i = 0, length = groupColIdx.length; i < length; i++) {
@@ -230,38 +277,18 @@ protected BufferedDataTable createGroupByTable(final ExecutionContext exec,
                 System.arraycopy(currentGroup, 0, previousGroup, 0,
                         currentGroup.length);
                 if (logUnusualCells && chunkMembers.size() > 1) {
-                    //log unusual number of chunk members with the classes that
-                    //cause the problem
-                    if (LOGGER.isEnabledFor(LEVEL.INFO)) {
-                        final StringBuilder buf = new StringBuilder();
-                        buf.append("Data chunk with ");
-                        buf.append(chunkMembers.size());
-                        buf.append(" members occured in groupby node. "
-                                + "Involved classes are: ");
-                        final GroupKey key =
-                            chunkMembers.keySet().iterator().next();
-                        for (final DataCell cell : key.getGroupVals()) {
-                            buf.append(cell.getClass().getCanonicalName());
-                            buf.append(", ");
-                        }
-                        LOGGER.info(buf.toString());
-                    }
+                    logUnusualCells(chunkMembers);
                     logUnusualCells = false;
                 }
                 //reset the chunk members map
                 chunkMembers.clear();
             }
             //process the row as one of the members of the current chunk
-            Pair<ColumnAggregator[], Set<RowKey>> member =
+            Pair<ColumnAggregator[], RowIndexSet> member =
                 chunkMembers.get(new GroupKey(currentGroup));
             if (member == null) {
-                Set<RowKey> rowKeys;
-                if (isEnableHilite()) {
-                    rowKeys = new HashSet<>();
-                } else {
-                    rowKeys = Collections.emptySet();
-                }
-                member = new Pair<>(cloneColumnAggregators(), rowKeys);
+                final RowIndexSet rowIndices = isEnableHilite() ? new RowIndexSet() : null;
+                member = new Pair<>(cloneColumnAggregators(), rowIndices);
                 final DataCell[] groupKeys = new DataCell[currentGroup.length];
                 System.arraycopy(currentGroup, 0, groupKeys, 0,
                         currentGroup.length);
@@ -274,7 +301,7 @@ protected BufferedDataTable createGroupByTable(final ExecutionContext exec,
                 colAggr.getOperator(getGlobalSettings()).compute(row, colIdx);
             }
             if (isEnableHilite()) {
-                member.getSecond().add(row.getKey());
+                member.getSecond().add(addHiliteRowKey(row.getKey()));
             }
             groupExec.checkCanceled();
             groupExec.setProgress(++rowCounter/numOfRows, groupLabel);
@@ -286,6 +313,28 @@ protected BufferedDataTable createGroupByTable(final ExecutionContext exec,
         return dc.getTable();
     }
 
+    /**
+     * Logs an unusual number of chunk members with the classes that cause the problem.
+     *
+     * @param chunkMembers the members of a data chunk
+     */
+    private static void logUnusualCells(final Map<GroupKey, ?> chunkMembers) {
+        if (LOGGER.isEnabledFor(LEVEL.INFO)) {
+            final StringBuilder buf = new StringBuilder();
+            buf.append("Data chunk with ");
+            buf.append(chunkMembers.size());
+            buf.append(" members occured in groupby node. "
+                    + "Involved classes are: ");
+            final GroupKey key =
+                chunkMembers.keySet().iterator().next();
+            for (final DataCell cell : key.getGroupVals()) {
+                buf.append(cell.getClass().getCanonicalName());
+                buf.append(", ");
+            }
+            LOGGER.info(buf.toString());
+        }
+    }
+
     /** Get a string describing the current group. Used in progress message.
      * @param currentGroup The current group
      * @return That string. */
@@ -321,12 +370,12 @@ private static String createGroupLabelForProgress(final DataCell[] currentGroup)
      */
     private void createTableRows(final BufferedDataContainer dc,
             final Map<GroupKey,
-                        Pair<ColumnAggregator[], Set<RowKey>>> chunkMembers,
+                        Pair<ColumnAggregator[], RowIndexSet>> chunkMembers,
             final MutableInteger groupCounter) {
         if (chunkMembers == null || chunkMembers.isEmpty()) {
             return;
         }
-        for (final Entry<GroupKey, Pair<ColumnAggregator[], Set<RowKey>>> e
+        for (final Entry<GroupKey, Pair<ColumnAggregator[], RowIndexSet>> e
                 : chunkMembers.entrySet()) {
             final DataCell[] groupVals = e.getKey().getGroupVals();
             final ColumnAggregator[] colAggregators = e.getValue().getFirst();
@@ -355,8 +404,7 @@ private void createTableRows(final BufferedDataContainer dc,
             final DataRow newRow = new DefaultRow(rowKey, rowVals);
             dc.addRowToTable(newRow);
             if (isEnableHilite()) {
-                final Set<RowKey> oldKeys = e.getValue().getSecond();
-                addHiliteMapping(rowKey, oldKeys);
+                addHiliteMapping(rowKey, e.getValue().getSecond());
             }
         }
     }
@@ -397,4 +445,176 @@ private static boolean sameChunk(final DataValueComparator[] comparators,
         }
         return true;
     }
+
+    /**
+     * Consecutive rows of the sorted table whose group values compare as equal (see
+     * {@link #sameChunk(DataValueComparator[], DataCell[], DataCell[])}), i.e. the members of a data chunk.
+     */
+    private static final class Segment {
+
+        /** The group values of the first row. */
+        private final DataCell[] m_group;
+
+        private final Map<GroupKey, Pair<ColumnAggregator[], RowIndexSet>> m_members = new LinkedHashMap<>(3);
+
+        Segment(final DataCell[] group) {
+            m_group = group;
+        }
+    }
+
+    /** The segments of a chunk of rows. */
+    private static final class PartialSegments {
+
+        private final List<Segment> m_segments = new ArrayList<>();
+
+        /** The keys of the chunk rows, only if hiliting is enabled; the row indices are relative to the chunk. */
+        private final List<RowKey> m_keys = new ArrayList<>();
+
+        private int m_rowCount;
+    }
+
+    /**
+     * Aggregates chunks of rows of the sorted table concurrently. The segments are merged in the order of the
+     * chunks; a segment is written once the next chunk starts a different one.
+     */
+    private final class SortedChunkAggregator extends MultiThreadWorker<List<DataRow>, PartialSegments> {
+
+        private final ExecutionMonitor m_exec;
+
+        private final DataTableSpec m_spec;
+
+        private final int[] m_groupColIdx;
+
+        private final DataValueComparator[] m_comparators;
+
+        private final BufferedDataContainer m_dc;
+
+        private final MutableInteger m_groupCounter;
+
+        private final long m_rowCount;
+
+        private long m_rowCounter;
+
+        /** The last segment, which may be continued by the next chunk. */
+        private Segment m_open;
+
+        private boolean m_logUnusualCells = true;
+
+        SortedChunkAggregator(final int maxQueueSize, final int maxActiveInstanceSize, final ExecutionMonitor exec,
+            final BufferedDataTable sortedTable, final int[] groupColIdx, final DataValueComparator[] comparators,
+            final BufferedDataContainer dc, final MutableInteger groupCounter) {
+            super(maxQueueSize, maxActiveInstanceSize);
+            m_exec = exec;
+            m_spec = sortedTable.getDataTableSpec();
+            m_groupColIdx = groupColIdx;
+            m_comparators = comparators;
+            m_dc = dc;
+            m_groupCounter = groupCounter;
+            m_rowCount = sortedTable.size();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected PartialSegments compute(final List<DataRow> chunk, final long index) throws Exception {
+            final PartialSegments partial = new PartialSegments();
+            Segment segment = null;
+            for (final DataRow row : chunk) {
+                final DataCell[] currentGroup = new DataCell[m_groupColIdx.length];
+                //fetch the current group column values
+                for (int i = 0, length = m_groupColIdx.length; i < length; i++) {
+                    currentGroup[i] = row.getCell(m_groupColIdx[i]);
+                }
+                if (segment == null || !sameChunk(m_comparators, segment.m_group, currentGroup)) {
+                    segment = new Segment(currentGroup);
+                    partial.m_segments.add(segment);
+                }
+                final GroupKey groupKey = new GroupKey(currentGroup);
+                Pair<ColumnAggregator[], RowIndexSet> member = segment.m_members.get(groupKey);
+                if (member == null) {
+                    final RowIndexSet rowIndices = isEnableHilite() ? new RowIndexSet() : null;
+                    member = new Pair<>(cloneColumnAggregators(), rowIndices);
+                    segment.m_members.put(groupKey, member);
+                }
+                for (final ColumnAggregator colAggr : member.getFirst()) {
+                    final int colIdx = m_spec.findColumnIndex(colAggr.getOriginalColName());
+                    colAggr.getOperator(getGlobalSettings()).compute(row, colIdx);
+                }
+                if (isEnableHilite()) {
+                    member.getSecond().add(partial.m_keys.size());
+                    partial.m_keys.add(row.getKey());
+                }
+            }
+            partial.m_rowCount = chunk.size();
+            return partial;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void processFinished(final ComputationTask task)
+                throws ExecutionException, CancellationException, InterruptedException {
+            final PartialSegments partial = task.get(); // exception falls through
+            long offset = 0;
+            if (isEnableHilite() && !partial.m_keys.isEmpty()) {
+                // the chunks are finished in order, hence the keys are stored in the order of the sorted table
+                offset = addHiliteRowKey(partial.m_keys.get(0));
+                for (int i = 1; i < partial.m_keys.size(); i++) {
+                    addHiliteRowKey(partial.m_keys.get(i));
+                }
+            }
+            for (final Segment segment : partial.m_segments) {
+                if (m_open == null || !sameChunk(m_comparators, m_open.m_group, segment.m_group)) {
+                    finish();
+                    m_open = new Segment(segment.m_group);
+                }
+                merge(segment, offset);
+            }
+            m_rowCounter += partial.m_rowCount;
+            m_exec.setProgress(m_rowCounter / (double)m_rowCount,
+                "Analyzed " + m_rowCounter + " of " + m_rowCount + " rows");
+            try {
+                m_exec.checkCanceled();
+            } catch (CanceledExecutionException cee) {
+                throw new CancellationException();
+            }
+        }
+
+        /** Adds the members of the segment, whose row indices are relative to the given offset, to the open one. */
+        private void merge(final Segment segment, final long offset) {
+            for (final Entry<GroupKey, Pair<ColumnAggregator[], RowIndexSet>> e : segment.m_members.entrySet()) {
+                final Pair<ColumnAggregator[], RowIndexSet> member = m_open.m_members.get(e.getKey());
+                final RowIndexSet rowIndices = e.getValue().getSecond();
+                if (member == null) {
+                    RowIndexSet shifted = null;
+                    if (rowIndices != null) {
+                        shifted = new RowIndexSet();
+                        shifted.addAll(rowIndices, offset);
+                    }
+                    m_open.m_members.put(e.getKey(), new Pair<>(e.getValue().getFirst(), shifted));
+                } else {
+                    final ColumnAggregator[] aggregators = member.getFirst();
+                    final ColumnAggregator[] partialAggregators = e.getValue().getFirst();
+                    for (int i = 0; i < aggregators.length; i++) {
+                        aggregators[i].getOperator(getGlobalSettings())
+                            .merge(partialAggregators[i].getOperator(getGlobalSettings()));
+                    }
+                    if (rowIndices != null) {
+                        member.getSecond().addAll(rowIndices, offset);
+                    }
+                }
+            }
+        }
+
+        /** Writes the rows of the open segment (if any), called when a new segment starts and at the end. */
+        void finish() {
+            if (m_open == null) {
+                return;
+            }
+            if (m_logUnusualCells && m_open.m_members.size() > 1) {
+                logUnusualCells(m_open.m_members);
+                m_logUnusualCells = false;
+            }
+            createTableRows(m_dc, m_open.m_members, m_groupCounter);
+            m_open = null;
+        }
+    }
 }
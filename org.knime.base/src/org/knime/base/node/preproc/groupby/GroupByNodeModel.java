@@ -89,6 +89,7 @@
 import org.knime.core.node.port.PortObjectSpec;
 import org.knime.core.node.property.hilite.DefaultHiLiteMapper;
 import org.knime.core.node.property.hilite.HiLiteHandler;
+import org.knime.core.node.property.hilite.HiLiteMapper;
 import org.knime.core.node.property.hilite.HiLiteTranslator;
 
 /**
@@ -138,6 +139,9 @@ public class GroupByNodeModel extends NodeModel {
 
     private static final String INTERNALS_FILE_NAME = "hilite_mapping.xml.gz";
 
+    /** Name of the file with the row index based hilite mapping, used since KNIME 3.7. */
+    private static final String ROW_INDEX_INTERNALS_FILE_NAME = "hilite_row_indices.bin.gz";
+
     /** Configuration key of the selected group by columns. */
     protected static final String CFG_GROUP_BY_COLUMNS = "grouByColumns";
 
@@ -158,6 +162,10 @@ public class GroupByNodeModel extends NodeModel {
     /** Configuration key for the in memory option. */
     protected static final String CFG_IN_MEMORY = "inMemory";
 
+    /** Configuration key for the hash aggregation option.
+     * @since 3.7 */
+    protected static final String CFG_HASH_AGGREGATION = "hashAggregation";
+
     /** Configuration key for the aggregation column name policy. */
     protected static final String CFG_COLUMN_NAME_POLICY = "columnNamePolicy";
 
@@ -187,6 +195,8 @@ public class GroupByNodeModel extends NodeModel {
 
     private final SettingsModelBoolean m_inMemory = new SettingsModelBoolean(CFG_IN_MEMORY, false);
 
+    private final SettingsModelBoolean m_hashAggregation = new SettingsModelBoolean(CFG_HASH_AGGREGATION, false);
+
     private final SettingsModelString m_columnNamePolicy =
         new SettingsModelString(GroupByNodeModel.CFG_COLUMN_NAME_POLICY,
                 ColumnNamePolicy.getDefault().getLabel());
@@ -250,6 +260,12 @@ protected void inMemoryChanged() {
     protected void loadInternals(final File nodeInternDir,
             final ExecutionMonitor exec) throws IOException {
         if (m_enableHilite.getBooleanValue()) {
+            final File rowIndexFile = new File(nodeInternDir, ROW_INDEX_INTERNALS_FILE_NAME);
+            if (rowIndexFile.exists()) {
+                setHiliteMapper(RowIndexHiLiteMapper.load(rowIndexFile));
+                m_hilite.addToHiLiteHandler(getInHiLiteHandler(0));
+                return;
+            }
             final NodeSettingsRO config = NodeSettings
                     .loadFromXML(new FileInputStream(new File(nodeInternDir,
                             INTERNALS_FILE_NAME)));
@@ -269,6 +285,11 @@ protected void loadInternals(final File nodeInternDir,
     protected void saveInternals(final File nodeInternDir,
             final ExecutionMonitor exec) throws IOException {
         if (m_enableHilite.getBooleanValue()) {
+            if (m_hilite.getMapper() instanceof RowIndexHiLiteMapper) {
+                ((RowIndexHiLiteMapper)m_hilite.getMapper())
+                    .save(new File(nodeInternDir, ROW_INDEX_INTERNALS_FILE_NAME));
+                return;
+            }
             final NodeSettings config = new NodeSettings("hilite_mapping");
             final DefaultHiLiteMapper mapper = (DefaultHiLiteMapper) m_hilite.getMapper();
             if (mapper != null) {
@@ -300,6 +321,7 @@ protected void saveSettingsTo(final NodeSettingsWO settings) {
         m_columnNamePolicy.saveSettingsTo(settings);
         m_retainOrder.saveSettingsTo(settings);
         m_inMemory.saveSettingsTo(settings);
+        m_hashAggregation.saveSettingsTo(settings);
         m_valueDelimiter.saveSettingsTo(settings);
         m_version.saveSettingsTo(settings);
     }
@@ -434,6 +456,12 @@ protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) throws I
         } catch (final InvalidSettingsException e) {
             m_inMemory.setBooleanValue(false);
         }
+        try {
+            // this option was introduced in KNIME 3.7
+            m_hashAggregation.loadSettingsFrom(settings);
+        } catch (final InvalidSettingsException e) {
+            m_hashAggregation.setBooleanValue(false);
+        }
         m_maxUniqueValues.loadSettingsFrom(settings);
         m_enableHilite.loadSettingsFrom(settings);
         try {
@@ -455,6 +483,18 @@ protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) throws I
      * @param mapper new hilite mapping, or null
      */
     protected final void setHiliteMapping(final DefaultHiLiteMapper mapper) {
+        setHiliteMapper(mapper);
+    }
+
+    /**
+     * Applies a new mapping to the hilite translator and deletes the row keys spilled by the previous mapping.
+     * @param mapper new hilite mapping, or null
+     */
+    private void setHiliteMapper(final HiLiteMapper mapper) {
+        final HiLiteMapper oldMapper = m_hilite.getMapper();
+        if (oldMapper != mapper && oldMapper instanceof RowIndexHiLiteMapper) {
+            ((RowIndexHiLiteMapper)oldMapper).close();
+        }
         m_hilite.setMapper(mapper);
     }
 
@@ -463,13 +503,22 @@ protected final void setHiliteMapping(final DefaultHiLiteMapper mapper) {
      */
     @Override
     protected void reset() {
-        m_hilite.setMapper(null);
+        setHiliteMapper(null);
         for (final ColumnAggregator colAggr : m_columnAggregators) {
             colAggr.reset();
         }
         m_columnAggregators2Use.clear();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void onDispose() {
+        setHiliteMapper(null);
+        super.onDispose();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -680,12 +729,15 @@ protected final GroupByTable createGroupByTable(final ExecutionContext exec, fin
         if (inMemory || groupByCols.isEmpty()) {
             resultTable = new MemoryGroupByTable(exec, table, groupByCols, aggregators.toArray(new ColumnAggregator[0]),
                 globalSettings, enableHilite, colNamePolicy, retainOrder);
+        } else if (m_hashAggregation.getBooleanValue()) {
+            resultTable = new HashGroupByTable(exec, table, groupByCols,
+                aggregators.toArray(new ColumnAggregator[0]), globalSettings, enableHilite, colNamePolicy, retainOrder);
         } else {
             resultTable = new BigGroupByTable(exec, table, groupByCols, aggregators.toArray(new ColumnAggregator[0]),
                     globalSettings, enableHilite, colNamePolicy, retainOrder);
         }
         if (m_enableHilite.getBooleanValue()) {
-            setHiliteMapping(new DefaultHiLiteMapper(resultTable.getHiliteMapping()));
+            setHiliteMapper(resultTable.getHiliteMapper());
         }
         // check for skipped columns
         final String warningMsg = resultTable.getSkippedGroupsMessage(3, 3);
@@ -745,6 +797,15 @@ protected boolean isProcessInMemory() {
         return m_inMemory.getBooleanValue();
     }
 
+    /**
+     * @return <code>true</code> if the groups should be aggregated by hash
+     * (spilling to disk if necessary) instead of sorting the table first
+     * @since 3.7
+     */
+    protected boolean isHashAggregation() {
+        return m_hashAggregation.getBooleanValue();
+    }
+
     /**
      * @return <code>true</code> if any sorting should be performed in memory
      * @deprecated sort in memory is no longer required
@@ -44,15 +44,20 @@
  */
 package org.knime.base.node.preproc.groupby;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 
 import org.apache.commons.lang.mutable.MutableLong;
 import org.knime.base.data.aggregation.AggregationMethod;
@@ -74,6 +79,9 @@
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.property.hilite.DefaultHiLiteMapper;
+import org.knime.core.node.property.hilite.HiLiteMapper;
+import org.knime.core.util.MultiThreadWorker;
 import org.knime.core.util.MutableInteger;
 import org.knime.core.util.Pair;
 
@@ -86,11 +94,17 @@ public abstract class GroupByTable {
     private static final AggregationMethod RETAIN_ORDER_COL_AGGR_METHOD =
         AggregationMethods.getRowOrderMethod();
     private static final String RETAIN_ORDER_COL_NAME = "orig_order_col";
+
+    /** Default number of consecutive rows aggregated by a single task when aggregating in parallel. */
+    static final int DEFAULT_CHUNK_SIZE = 10000;
+
     private final List<String> m_groupCols;
     private final GlobalSettings m_globalSettings;
     private final boolean m_enableHilite;
     private final ColumnNamePolicy m_colNamePolicy;
-    private final Map<RowKey, Set<RowKey>> m_hiliteMapping;
+    private final RowIndexHiLiteMapper m_hiliteMapper;
+    /** The resolved hilite mapping once {@link #getHiliteMapping()} has been called. */
+    private Map<RowKey, Set<RowKey>> m_hiliteMapping;
     private final Map<String, Collection<Pair<String, String>>> m_skippedGroupsByColName = new HashMap<>();
     private final boolean m_retainOrder;
     private final ColumnAggregator[] m_colAggregators;
@@ -98,6 +112,12 @@ public abstract class GroupByTable {
 
     private Map<String, MutableLong> m_missingValuesMap;
 
+    /** Number of consecutive rows aggregated by a single task, see {@link #getChunkSize()}. */
+    private final int m_chunkSize;
+
+    /** Maximum number of groups kept in memory, see {@link #getMaxGroupsInMemory()}. */
+    private final int m_maxGroupsInMemory;
+
     /**Constructor for class GroupByTable.
      * @param exec the <code>ExecutionContext</code>
      * @param inDataTable the table to aggregate
@@ -151,6 +171,39 @@ protected GroupByTable(final ExecutionContext exec, final BufferedDataTable inDa
         final List<String> groupByCols, final ColumnAggregator[] colAggregators, final GlobalSettings globalSettings,
         final boolean sortInMemory, final boolean enableHilite, final ColumnNamePolicy colNamePolicy,
         final boolean retainOrder) throws CanceledExecutionException {
+        this(exec, inDataTable, groupByCols, colAggregators, globalSettings, sortInMemory, enableHilite,
+            colNamePolicy, retainOrder, DEFAULT_CHUNK_SIZE, Integer.MAX_VALUE,
+            RowKeyStore.DEFAULT_MAX_KEYS_IN_MEMORY);
+    }
+
+    /**Constructor for the implementations of this package that take the engine specific limits.
+     * @param exec the <code>ExecutionContext</code>
+     * @param inDataTable the table to aggregate
+     * @param groupByCols the name of all columns to group by
+     * @param colAggregators the aggregation columns with the aggregation method
+     * to use in the order the columns should be appear in the result table
+     * @param globalSettings the global settings
+     * @param sortInMemory <code>true</code> if the table should be sorted in
+     * the memory
+     * @param enableHilite <code>true</code> if a row key map should be
+     * maintained to enable hiliting
+     * @param colNamePolicy the {@link ColumnNamePolicy} for the
+     * aggregation columns
+     * @param retainOrder <code>true</code> if the original row order should be
+     * retained
+     * @param chunkSize the number of consecutive rows aggregated by a single task, see {@link #getChunkSize()}
+     * @param maxGroupsInMemory the maximum number of groups kept in memory, see {@link #getMaxGroupsInMemory()}
+     * @param maxKeysInMemory the maximum number of row keys kept in memory for hiliting before they are spilled to
+     * disk, see {@link RowKeyStore#DEFAULT_MAX_KEYS_IN_MEMORY}
+     * @throws CanceledExecutionException if the user has canceled the execution
+     */
+    GroupByTable(final ExecutionContext exec, final BufferedDataTable inDataTable,
+        final List<String> groupByCols, final ColumnAggregator[] colAggregators, final GlobalSettings globalSettings,
+        final boolean sortInMemory, final boolean enableHilite, final ColumnNamePolicy colNamePolicy,
+        final boolean retainOrder, final int chunkSize, final int maxGroupsInMemory, final int maxKeysInMemory)
+        throws CanceledExecutionException {
+        m_chunkSize = chunkSize;
+        m_maxGroupsInMemory = maxGroupsInMemory;
         if (inDataTable == null) {
             throw new NullPointerException("DataTable must not be null");
         }
@@ -160,9 +213,9 @@ protected GroupByTable(final ExecutionContext exec, final BufferedDataTable inDa
         }
         m_enableHilite = enableHilite;
         if (m_enableHilite) {
-            m_hiliteMapping = new HashMap<>();
+            m_hiliteMapper = new RowIndexHiLiteMapper(maxKeysInMemory);
         } else {
-            m_hiliteMapping = null;
+            m_hiliteMapper = null;
         }
         m_groupCols = groupByCols;
         m_colNamePolicy = colNamePolicy;
@@ -237,6 +290,13 @@ protected GroupByTable(final ExecutionContext exec, final BufferedDataTable inDa
             }
             m_resultTable = resultTable;
         }
+        if (m_enableHilite) {
+            try {
+                m_hiliteMapper.finish();
+            } catch (final IOException e) {
+                throw new IllegalStateException("Unable to store row keys for hiliting: " + e.getMessage(), e);
+            }
+        }
         exec.setProgress(1.0);
     }
 
@@ -259,6 +319,107 @@ private static Set<String> getWorkingCols(final GlobalSettings globalSettings, f
         return colNames;
     }
 
+    /**
+     * The number of consecutive rows aggregated by a single task if the aggregation is run in parallel (see
+     * {@link #isParallelAggregation(BufferedDataTable)}). Passed to the constructor, hence available when
+     * {@link #createGroupByTable(ExecutionContext, BufferedDataTable, DataTableSpec, int[])} is called.
+     * @return the chunk size, {@link Integer#MAX_VALUE} to aggregate sequentially
+     */
+    int getChunkSize() {
+        return m_chunkSize;
+    }
+
+    /**
+     * The maximum number of groups the {@link HashGroupByTable} keeps in memory before it spills partitions to disk.
+     * Passed to the constructor, hence available when {@link #createGroupByTable(ExecutionContext, BufferedDataTable,
+     * DataTableSpec, int[])} is called.
+     * @return the maximum number of groups, {@link Integer#MAX_VALUE} to only rely on the memory state
+     */
+    int getMaxGroupsInMemory() {
+        return m_maxGroupsInMemory;
+    }
+
+    /**
+     * @param table the table to aggregate
+     * @return <code>true</code> if the table has more than one chunk of rows, several processors are available and
+     * all operators support the {@link org.knime.base.data.aggregation.AggregationOperator#isMergeable() merging}
+     * of partial aggregation states
+     */
+    boolean isParallelAggregation(final BufferedDataTable table) {
+        if (getMaxAggregationThreads() < 2 || table.size() <= m_chunkSize) {
+            return false;
+        }
+        for (final ColumnAggregator colAggr : m_colAggregators) {
+            if (!colAggr.clone().getOperator(m_globalSettings).isMergeable()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** @return the number of threads used to aggregate chunks of rows in parallel */
+    static int getMaxAggregationThreads() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Runs the worker on chunks of {@link #getChunkSize()} consecutive rows of the table.
+     * @param worker the worker aggregating a chunk and merging the partial results in the order of the chunks
+     * @param table the table to aggregate
+     * @throws CanceledExecutionException if the aggregation has been canceled
+     */
+    void aggregateChunks(final MultiThreadWorker<List<DataRow>, ?> worker, final BufferedDataTable table)
+        throws CanceledExecutionException {
+        try {
+            worker.run(() -> new ChunkIterator(table.iterator(), m_chunkSize));
+        } catch (InterruptedException | CancellationException e) {
+            CanceledExecutionException cee = new CanceledExecutionException(e.getMessage());
+            cee.initCause(e);
+            throw cee;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause == null) {
+                cause = e;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    /** Splits the rows of a table into lists of consecutive rows. */
+    private static final class ChunkIterator implements Iterator<List<DataRow>> {
+
+        private final Iterator<DataRow> m_rowIterator;
+
+        private final int m_chunkSize;
+
+        ChunkIterator(final Iterator<DataRow> rowIterator, final int chunkSize) {
+            m_rowIterator = rowIterator;
+            m_chunkSize = chunkSize;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean hasNext() {
+            return m_rowIterator.hasNext();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public List<DataRow> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final List<DataRow> chunk = new ArrayList<>(m_chunkSize);
+            while (chunk.size() < m_chunkSize && m_rowIterator.hasNext()) {
+                chunk.add(m_rowIterator.next());
+            }
+            return chunk;
+        }
+    }
+
     /**
      * @param exec the {@link ExecutionContext}
      * @param dataTable the data table to aggregate
@@ -410,7 +571,32 @@ public static String createSkippedGroupName(final DataCell[] groupVals) {
      * @param oldKeys all old {@link RowKey}s
      */
     protected void addHiliteMapping(final RowKey newKey, final Set<RowKey> oldKeys) {
-        m_hiliteMapping.put(newKey, oldKeys);
+        final RowIndexSet rowIndices = new RowIndexSet();
+        for (final RowKey oldKey : oldKeys) {
+            rowIndices.add(addHiliteRowKey(oldKey));
+        }
+        addHiliteMapping(newKey, rowIndices);
+    }
+
+    /**
+     * Stores the key of a row that is added to a group.
+     * @param key the {@link RowKey} of the input row
+     * @return the index of the key that is added to the {@link RowIndexSet} of the group
+     */
+    long addHiliteRowKey(final RowKey key) {
+        try {
+            return m_hiliteMapper.addRowKey(key);
+        } catch (final IOException e) {
+            throw new IllegalStateException("Unable to store row keys for hiliting: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @param newKey the new {@link RowKey}
+     * @param rowIndices the indices of the old {@link RowKey}s as returned by {@link #addHiliteRowKey(RowKey)}
+     */
+    void addHiliteMapping(final RowKey newKey, final RowIndexSet rowIndices) {
+        m_hiliteMapper.addMapping(newKey, rowIndices);
     }
 
     /**
@@ -494,13 +680,39 @@ public static final DataTableSpec createGroupByTableSpec(final DataTableSpec spe
      * The key of the <code>Map</code> is the row key of the new group row and
      * the corresponding value is the <code>Collection</code> with all old row
      * keys which belong to this group.
+     * Note that this method resolves all row keys in memory and deletes the row keys that were spilled to disk, use
+     * {@link #getHiliteMapper()} instead.
      * @return the hilite translation <code>Map</code> or <code>null</code> if
      * the enableHilte flag in the constructor was set to <code>false</code>.
      */
     public Map<RowKey, Set<RowKey>> getHiliteMapping() {
+        if (m_hiliteMapper == null) {
+            return null;
+        }
+        if (m_hiliteMapping == null) {
+            m_hiliteMapping = m_hiliteMapper.toMap();
+            m_hiliteMapper.close();
+        }
         return m_hiliteMapping;
     }
 
+    /**
+     * The hilite translation from the row key of a new group row to the row keys of all old rows which belong to
+     * this group. In contrast to {@link #getHiliteMapping()} the old row keys are only resolved (from disk for large
+     * tables) once a hilite event is translated. The caller is responsible to close the returned mapper if it is
+     * {@link AutoCloseable} in order to delete the spilled row keys. If {@link #getHiliteMapping()} has been called
+     * before the mapper is based on the resolved mapping.
+     * @return the hilite mapper or <code>null</code> if the enableHilte flag in the constructor was set to
+     * <code>false</code>
+     * @since 3.7
+     */
+    public HiLiteMapper getHiliteMapper() {
+        if (m_hiliteMapping != null) {
+            return new DefaultHiLiteMapper(m_hiliteMapping);
+        }
+        return m_hiliteMapper;
+    }
+
     /**
      * Returns a <code>Map</code> with all skipped groups. The key of the
      * <code>Map</code> is the name of the column and the value is a
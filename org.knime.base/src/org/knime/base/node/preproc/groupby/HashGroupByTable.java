@@ -0,0 +1,449 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.base.node.preproc.groupby;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+
+import org.knime.base.data.aggregation.AggregationOperator;
+import org.knime.base.data.aggregation.ColumnAggregator;
+import org.knime.base.data.aggregation.GlobalSettings;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.LongValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.append.AppendedColumnRow;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.data.util.memory.MemoryAlertSystem.MemoryActionIndicator;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.util.MutableInteger;
+
+/**
+ * Group by table that aggregates the input in a single pass using a hash map of groups instead of sorting it
+ * first (as done by {@link BigGroupByTable}). The groups are assigned to a fixed number of partitions by hash of the
+ * group key. Once the memory gets low the partition with the most groups in memory is spilled: its groups are
+ * dropped and all further rows of that partition are written to disk, while the groups of the other partitions are
+ * still updated and new groups are admitted. After the pass the in-memory groups are written to the result and each
+ * spilled partition is aggregated the same way, using different bits of the hash in case it needs to be split again.
+ *
+ * <p>Each group is aggregated in exactly one pass, hence no partial aggregation states need to be combined. As the
+ * dropped groups already aggregated some rows, the rows of a spilled partition read before it was spilled are read
+ * again from the input (one more scan of the input up to the last spill) and aggregated before the rows on disk, so
+ * that the rows of each group are aggregated in input order. The groups in the result table are not sorted.
+ *
+ * <p>If hiliting is enabled the key of each input row is stored once while the input is read. The rows written to the
+ * spilled partitions carry the index of their stored key in an additional last column, so that they are mapped to
+ * the same key when they are aggregated again.
+ *
+ * @author agent
+ * @since 3.7
+ */
+public class HashGroupByTable extends GroupByTable {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(HashGroupByTable.class);
+
+    /** Number of hash bits used per partitioning level. */
+    private static final int PARTITION_BITS = 4;
+
+    /** Number of partitions the rows of non-admitted groups are distributed to. */
+    private static final int NR_PARTITIONS = 1 << PARTITION_BITS;
+
+    /** Partitioning level up to which rows are spilled; deeper partitions are aggregated in memory. */
+    private static final int MAX_PARTITION_DEPTH = Integer.SIZE / PARTITION_BITS - 1;
+
+    /** Name of the column that holds the index of the row key in the spilled partitions. */
+    private static final String ROW_KEY_INDEX_COL_NAME = "row_key_index";
+
+    /**Constructor for class HashGroupByTable.
+     * @param exec the <code>ExecutionContext</code>
+     * @param inDataTable the table to aggregate
+     * @param groupByCols the name of all columns to group by
+     * @param colAggregators the aggregation columns with the aggregation method
+     * to use in the order the columns should be appear in the result table
+     * @param globalSettings the global settings
+     * @param enableHilite <code>true</code> if a row key map should be
+     * maintained to enable hiliting
+     * @param colNamePolicy the {@link ColumnNamePolicy} for the
+     * aggregation columns
+     * @param retainOrder <code>true</code> if the original row order should be
+     * retained
+     * @throws CanceledExecutionException if the user has canceled the execution
+     */
+    public HashGroupByTable(final ExecutionContext exec,
+            final BufferedDataTable inDataTable, final List<String> groupByCols,
+            final ColumnAggregator[] colAggregators,
+            final GlobalSettings globalSettings,
+            final boolean enableHilite, final ColumnNamePolicy colNamePolicy,
+            final boolean retainOrder)
+            throws CanceledExecutionException {
+        this(exec, inDataTable, groupByCols, colAggregators, globalSettings,
+                enableHilite, colNamePolicy, retainOrder, Integer.MAX_VALUE);
+    }
+
+    /**Constructor for class HashGroupByTable that limits the number of groups
+     * held in memory per pass, independent of the memory state.
+     * @param exec the <code>ExecutionContext</code>
+     * @param inDataTable the table to aggregate
+     * @param groupByCols the name of all columns to group by
+     * @param colAggregators the aggregation columns with the aggregation method
+     * to use in the order the columns should be appear in the result table
+     * @param globalSettings the global settings
+     * @param enableHilite <code>true</code> if a row key map should be
+     * maintained to enable hiliting
+     * @param colNamePolicy the {@link ColumnNamePolicy} for the
+     * aggregation columns
+     * @param retainOrder <code>true</code> if the original row order should be
+     * retained
+     * @param maxGroupsInMemory the maximum number of groups, {@link Integer#MAX_VALUE} to only rely on the memory
+     * state
+     * @throws CanceledExecutionException if the user has canceled the execution
+     */
+    HashGroupByTable(final ExecutionContext exec,
+            final BufferedDataTable inDataTable, final List<String> groupByCols,
+            final ColumnAggregator[] colAggregators,
+            final GlobalSettings globalSettings,
+            final boolean enableHilite, final ColumnNamePolicy colNamePolicy,
+            final boolean retainOrder, final int maxGroupsInMemory)
+            throws CanceledExecutionException {
+        super(exec, inDataTable, groupByCols, colAggregators, globalSettings,
+                false, enableHilite, colNamePolicy, retainOrder, Integer.MAX_VALUE, maxGroupsInMemory,
+                RowKeyStore.DEFAULT_MAX_KEYS_IN_MEMORY);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected BufferedDataTable createGroupByTable(final ExecutionContext exec,
+            final BufferedDataTable dataTable, final DataTableSpec resultSpec,
+            final int[] groupColIdx) throws CanceledExecutionException {
+        initMissingValuesMap();
+        final BufferedDataContainer dc = exec.createDataContainer(resultSpec);
+        aggregate(exec, dataTable, groupColIdx, 0, dc, new MutableInteger(0));
+        dc.close();
+        return dc.getTable();
+    }
+
+    /**
+     * Aggregates the given table (the input or a partition of it) and adds the result rows to the container.
+     */
+    private void aggregate(final ExecutionContext exec, final BufferedDataTable table, final int[] groupColIdx,
+        final int depth, final BufferedDataContainer dc, final MutableInteger groupCounter)
+                throws CanceledExecutionException {
+        final DataTableSpec spec = table.getDataTableSpec();
+        final ColumnAggregator[] origAggregators = getColAggregators();
+        final int[] aggrColIdx = new int[origAggregators.length];
+        for (int i = 0; i < origAggregators.length; i++) {
+            aggrColIdx[i] = spec.findColumnIndex(origAggregators[i].getOriginalColName());
+        }
+        final int maxGroupsInMemory = getMaxGroupsInMemory();
+        final Map<GroupKey, Group> groups = new LinkedHashMap<>();
+        // number of groups in memory per partition
+        final int[] partitionGroupCounts = new int[NR_PARTITIONS];
+        // index of the row at which a partition was spilled, -1 if it's not spilled
+        final long[] spillRowIndices = new long[NR_PARTITIONS];
+        Arrays.fill(spillRowIndices, -1L);
+        final BufferedDataContainer[] partitions = new BufferedDataContainer[NR_PARTITIONS];
+        final MemoryActionIndicator memIndicator = MemoryAlertSystem.getInstance().newIndicator();
+        final boolean canSpill = depth < MAX_PARTITION_DEPTH;
+        // the input rows get the index of their key appended once they are spilled, deeper levels already have it
+        final boolean appendKeyIndex = isEnableHilite() && depth == 0;
+        final DataTableSpec partitionSpec = appendKeyIndex ? new DataTableSpec(spec, new DataTableSpec(
+            new DataColumnSpecCreator(DataTableSpec.getUniqueColumnName(spec, ROW_KEY_INDEX_COL_NAME), LongCell.TYPE)
+                .createSpec())) : spec;
+        final ExecutionContext passExec = exec.createSubExecutionContext(0.5);
+        final long rowCount = table.size();
+        long rowIndex = -1;
+        for (final DataRow row : table) {
+            rowIndex++;
+            passExec.checkCanceled();
+            passExec.setProgress(rowIndex / (double)rowCount,
+                "Analyzing row " + (rowIndex + 1) + " of " + rowCount);
+            final DataCell[] currentGroup = new DataCell[groupColIdx.length];
+            //fetch the current group column values
+            for (int i = 0, length = groupColIdx.length; i < length; i++) {
+                currentGroup[i] = row.getCell(groupColIdx[i]);
+            }
+            final GroupKey groupKey = new GroupKey(currentGroup);
+            final int partition = canSpill ? getPartition(groupKey, depth) : 0;
+            final long keyIndex = isEnableHilite() ? getRowKeyIndex(row, depth) : -1L;
+            final DataRow partitionRow = appendKeyIndex ? new AppendedColumnRow(row, new LongCell(keyIndex)) : row;
+            if (spillRowIndices[partition] >= 0) {
+                addToPartition(exec, partitions, partition, partitionSpec, partitionRow);
+                continue;
+            }
+            Group group = groups.get(groupKey);
+            if (group == null) {
+                if (canSpill && !groups.isEmpty()
+                        && (groups.size() >= maxGroupsInMemory || memIndicator.lowMemoryActionRequired())) {
+                    final int spilled = spillLargestPartition(groups, partitionGroupCounts, depth);
+                    spillRowIndices[spilled] = rowIndex;
+                    LOGGER.debugWithFormat("Spilled partition %d at row %d (partition level %d), %d groups remain "
+                        + "in memory", spilled, rowIndex, depth, groups.size());
+                    if (spilled == partition) {
+                        addToPartition(exec, partitions, partition, partitionSpec, partitionRow);
+                        continue;
+                    }
+                }
+                group = new Group(origAggregators, isEnableHilite());
+                groups.put(groupKey, group);
+                partitionGroupCounts[partition]++;
+            }
+            for (int i = 0; i < aggrColIdx.length; i++) {
+                group.m_aggregators[i].getOperator(getGlobalSettings()).compute(row, aggrColIdx[i]);
+            }
+            if (isEnableHilite()) {
+                group.m_rowIndices.add(keyIndex);
+            }
+        }
+        addResultRows(groups, dc, groupCounter);
+        groups.clear();
+        passExec.setProgress(1.0);
+        final BufferedDataTable[] prefixTables =
+                readRowsBeforeSpill(exec, table, groupColIdx, depth, spillRowIndices, partitionSpec, appendKeyIndex);
+        long spilledRows = 0;
+        for (int p = 0; p < NR_PARTITIONS; p++) {
+            if (prefixTables[p] != null) {
+                spilledRows += prefixTables[p].size();
+            }
+            if (partitions[p] != null) {
+                partitions[p].close();
+                spilledRows += partitions[p].getTable().size();
+            }
+        }
+        for (int p = 0; p < NR_PARTITIONS; p++) {
+            if (prefixTables[p] == null && partitions[p] == null) {
+                continue;
+            }
+            final BufferedDataTable partitionTable;
+            if (prefixTables[p] == null) {
+                partitionTable = partitions[p].getTable();
+            } else if (partitions[p] == null) {
+                partitionTable = prefixTables[p];
+            } else {
+                // row keys are unique as both tables contain different rows of the input
+                partitionTable = exec.createConcatenateTable(exec, Optional.empty(), false, prefixTables[p],
+                    partitions[p].getTable());
+            }
+            final ExecutionContext partitionExec =
+                    exec.createSubExecutionContext(0.5 * partitionTable.size() / spilledRows);
+            aggregate(partitionExec, partitionTable, groupColIdx, depth + 1, dc, groupCounter);
+            if (prefixTables[p] != null) {
+                exec.clearTable(prefixTables[p]);
+            }
+            if (partitions[p] != null) {
+                exec.clearTable(partitions[p].getTable());
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the row's key in the hilite mapping. The keys are stored when the input is read on the
+     * first level, the rows of the spilled partitions carry the index in their last column.
+     */
+    private long getRowKeyIndex(final DataRow row, final int depth) {
+        if (depth == 0) {
+            return addHiliteRowKey(row.getKey());
+        }
+        return ((LongValue)row.getCell(row.getNumCells() - 1)).getLongValue();
+    }
+
+    /** Adds a row of a spilled partition to the partition's container on disk, creating it if needed. */
+    private static void addToPartition(final ExecutionContext exec, final BufferedDataContainer[] partitions,
+        final int partition, final DataTableSpec spec, final DataRow row) {
+        if (partitions[partition] == null) {
+            partitions[partition] = exec.createDataContainer(spec, false, 0);
+        }
+        partitions[partition].addRowToTable(row);
+    }
+
+    /**
+     * Drops the groups of the partition with the most groups in memory.
+     * @return the index of the spilled partition
+     */
+    private static int spillLargestPartition(final Map<GroupKey, Group> groups, final int[] partitionGroupCounts,
+        final int depth) {
+        int largest = 0;
+        for (int p = 1; p < NR_PARTITIONS; p++) {
+            if (partitionGroupCounts[p] > partitionGroupCounts[largest]) {
+                largest = p;
+            }
+        }
+        for (final Iterator<GroupKey> it = groups.keySet().iterator(); it.hasNext();) {
+            if (getPartition(it.next(), depth) == largest) {
+                it.remove();
+            }
+        }
+        partitionGroupCounts[largest] = 0;
+        return largest;
+    }
+
+    /**
+     * Reads the rows of the spilled partitions again that were aggregated by the dropped groups, i.e. that precede
+     * the row at which the partition was spilled. If <code>appendKeyIndex</code> is set the index of the row's key in
+     * the hilite mapping is appended, which is the index of the row as the keys of the input are stored in order.
+     * @return the rows per partition, <code>null</code> for partitions without such rows
+     */
+    private static BufferedDataTable[] readRowsBeforeSpill(final ExecutionContext exec, final BufferedDataTable table,
+        final int[] groupColIdx, final int depth, final long[] spillRowIndices, final DataTableSpec partitionSpec,
+        final boolean appendKeyIndex) throws CanceledExecutionException {
+        final BufferedDataTable[] prefixTables = new BufferedDataTable[NR_PARTITIONS];
+        final long lastSpillRowIndex = Arrays.stream(spillRowIndices).max().getAsLong();
+        if (lastSpillRowIndex <= 0) {
+            return prefixTables;
+        }
+        final BufferedDataContainer[] prefixes = new BufferedDataContainer[NR_PARTITIONS];
+        long rowIndex = 0;
+        try (CloseableRowIterator it = table.iterator()) {
+            while (rowIndex < lastSpillRowIndex && it.hasNext()) {
+                exec.checkCanceled();
+                final DataRow row = it.next();
+                final DataCell[] currentGroup = new DataCell[groupColIdx.length];
+                for (int i = 0, length = groupColIdx.length; i < length; i++) {
+                    currentGroup[i] = row.getCell(groupColIdx[i]);
+                }
+                final int partition = getPartition(new GroupKey(currentGroup), depth);
+                if (rowIndex < spillRowIndices[partition]) {
+                    addToPartition(exec, prefixes, partition, partitionSpec,
+                        appendKeyIndex ? new AppendedColumnRow(row, new LongCell(rowIndex)) : row);
+                }
+                rowIndex++;
+            }
+        }
+        for (int p = 0; p < NR_PARTITIONS; p++) {
+            if (prefixes[p] != null) {
+                prefixes[p].close();
+                prefixTables[p] = prefixes[p].getTable();
+            }
+        }
+        return prefixTables;
+    }
+
+    private void addResultRows(final Map<GroupKey, Group> groups, final BufferedDataContainer dc,
+        final MutableInteger groupCounter) {
+        for (final Entry<GroupKey, Group> entry : groups.entrySet()) {
+            final GroupKey groupVals = entry.getKey();
+            final ColumnAggregator[] colAggregators = entry.getValue().m_aggregators;
+            final RowKey rowKey = RowKey.createRowKey((long)groupCounter.intValue());
+            groupCounter.inc();
+            final DataCell[] rowVals =
+                new DataCell[groupVals.size() + colAggregators.length];
+            //add the group values first
+            int valIdx = 0;
+            for (final DataCell groupCell : groupVals.getGroupVals()) {
+                rowVals[valIdx++] = groupCell;
+            }
+            //add the aggregation values
+            for (final ColumnAggregator colAggr : colAggregators) {
+                final AggregationOperator operator =
+                    colAggr.getOperator(getGlobalSettings());
+                rowVals[valIdx++] = operator.getResult();
+                if (operator.isSkipped()) {
+                    //add skipped groups and the column that causes the skipping
+                    //into the skipped groups map
+                    addSkippedGroup(colAggr.getOriginalColName(),
+                            operator.getSkipMessage(),
+                            groupVals.getGroupVals());
+                }
+                addToMissingValuesMap(colAggr.getOriginalColName(), operator.getMissingValuesCount());
+                //reset the operator to release its memory
+                operator.reset();
+            }
+            dc.addRowToTable(new DefaultRow(rowKey, rowVals));
+            //add hilite mappings if enabled
+            if (isEnableHilite()) {
+                addHiliteMapping(rowKey, entry.getValue().m_rowIndices);
+            }
+        }
+    }
+
+    /**
+     * Returns the partition of a group on the given level. The hash code is scrambled (finalizer of MurmurHash3)
+     * and each level uses different bits of it, so rows that share a partition on one level are spread on the next.
+     */
+    private static int getPartition(final GroupKey key, final int depth) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return (h >>> (depth * PARTITION_BITS)) & (NR_PARTITIONS - 1);
+    }
+
+    /** The aggregation state of a single group. */
+    private static final class Group {
+
+        private final ColumnAggregator[] m_aggregators;
+
+        /** The members of the group, <code>null</code> if hiliting is disabled. */
+        private final RowIndexSet m_rowIndices;
+
+        Group(final ColumnAggregator[] origAggregators, final boolean enableHilite) {
+            m_aggregators = new ColumnAggregator[origAggregators.length];
+            for (int i = 0, length = origAggregators.length; i < length; i++) {
+                m_aggregators[i] = origAggregators[i].clone();
+            }
+            m_rowIndices = enableHilite ? new RowIndexSet() : null;
+        }
+    }
+}
@@ -45,13 +45,14 @@
 
 package org.knime.base.node.preproc.groupby;
 
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 
 import org.knime.base.data.aggregation.AggregationOperator;
 import org.knime.base.data.aggregation.ColumnAggregator;
@@ -66,15 +67,20 @@
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.util.MultiThreadWorker;
 
 
 /**
+ * Group by table that keeps all groups in memory. If all aggregation operators support the
+ * {@link AggregationOperator#isMergeable() merging} of partial states the input is split into chunks of consecutive
+ * rows that are aggregated on multiple threads; the partial groups are merged in the order of the chunks. The
+ * results of floating point aggregates might therefore differ in the last digits from the sequential aggregation.
  *
  * @author Tobias Koetter, University of Konstanz
  */
 public class MemoryGroupByTable extends GroupByTable {
 
-    private Map<GroupKey, Set<RowKey>> m_rowKeys;
+    private Map<GroupKey, RowIndexSet> m_rowKeys;
     private Map<GroupKey, ColumnAggregator[]> m_vals;
 
     /**Constructor for class MemoryGroupByTable.
@@ -102,8 +108,40 @@ public MemoryGroupByTable(final ExecutionContext exec,
             final boolean enableHilite, final ColumnNamePolicy colNamePolicy,
             final boolean retainOrder)
             throws CanceledExecutionException {
+        this(exec, inDataTable, groupByCols, colAggregators, globalSettings,
+                enableHilite, colNamePolicy, retainOrder, DEFAULT_CHUNK_SIZE, RowKeyStore.DEFAULT_MAX_KEYS_IN_MEMORY);
+    }
+
+    /**Constructor for class MemoryGroupByTable that sets the number of rows
+     * aggregated by a single task when aggregating in parallel and the number
+     * of row keys kept in memory for hiliting.
+     * @param exec the <code>ExecutionContext</code>
+     * @param inDataTable the table to aggregate
+     * @param groupByCols the name of all columns to group by
+     * @param colAggregators the aggregation columns with the aggregation method
+     * to use in the order the columns should be appear in the result table
+     * @param globalSettings the global settings
+     * @param enableHilite <code>true</code> if a row key map should be
+     * maintained to enable hiliting
+     * @param colNamePolicy the {@link ColumnNamePolicy} for the
+     * aggregation columns
+     * @param retainOrder <code>true</code> if the original row order should be
+     * retained
+     * @param chunkSize the number of consecutive rows per task
+     * @param maxKeysInMemory the maximum number of row keys kept in memory for hiliting
+     * @throws CanceledExecutionException if the user has canceled the execution
+     */
+    MemoryGroupByTable(final ExecutionContext exec,
+            final BufferedDataTable inDataTable, final List<String> groupByCols,
+            final ColumnAggregator[] colAggregators,
+            final GlobalSettings globalSettings,
+            final boolean enableHilite, final ColumnNamePolicy colNamePolicy,
+            final boolean retainOrder, final int chunkSize, final int maxKeysInMemory)
+            throws CanceledExecutionException {
+        //retainOrder is always false since it is automatically maintained
+        //in this class by the chosen Map implementation
         super(exec, inDataTable, groupByCols, colAggregators, globalSettings,
-                enableHilite, colNamePolicy, false);
+                false, enableHilite, colNamePolicy, false, chunkSize, Integer.MAX_VALUE, maxKeysInMemory);
     }
 
     /**Constructor for class MemoryGroupByTable.
@@ -139,7 +177,8 @@ protected MemoryGroupByTable(final ExecutionContext exec,
         //retainOrder is always false since it is automatically maintained
         //in this class by the chosen Map implementation
         super(exec, inDataTable, groupByCols, colAggregators, globalSettings,
-                sortInMemory, enableHilite, colNamePolicy, false);
+                sortInMemory, enableHilite, colNamePolicy, false, DEFAULT_CHUNK_SIZE, Integer.MAX_VALUE,
+                RowKeyStore.DEFAULT_MAX_KEYS_IN_MEMORY);
     }
 
     /**
@@ -156,6 +195,12 @@ protected BufferedDataTable createGroupByTable(final ExecutionContext exec,
         final long rowCount = dataTable.size();
         long rowCounter = 0;
         initMissingValuesMap();
+        if (isParallelAggregation(dataTable)) {
+            final int maxThreads = getMaxAggregationThreads();
+            aggregateChunks(new ChunkAggregator(2 * maxThreads, maxThreads, groupExec, dataTable, groupColIdx),
+                dataTable);
+            return createResultTable(exec.createSubExecutionContext(0.3), resultSpec);
+        }
         for (final DataRow row : dataTable) {
             groupExec.checkCanceled();
             groupExec.setProgress(rowCounter++ / (double) rowCount,
@@ -212,8 +257,7 @@ private BufferedDataTable createResultTable(final ExecutionContext exec,
             dc.addRowToTable(newRow);
             //add hilite mappings if enabled
             if (isEnableHilite()) {
-                final Set<RowKey> oldKeys = m_rowKeys.get(groupVals);
-                addHiliteMapping(rowKey, oldKeys);
+                addHiliteMapping(rowKey, m_rowKeys.get(groupVals));
             }
         }
         dc.close();
@@ -222,14 +266,19 @@ private BufferedDataTable createResultTable(final ExecutionContext exec,
 
     private void addRow(final DataTableSpec spec, final GroupKey groupKey,
             final DataRow row) {
-        ColumnAggregator[] aggregators = m_vals.get(groupKey);
+        addRow(m_vals, spec, groupKey, row);
+    }
+
+    private void addRow(final Map<GroupKey, ColumnAggregator[]> vals, final DataTableSpec spec,
+        final GroupKey groupKey, final DataRow row) {
+        ColumnAggregator[] aggregators = vals.get(groupKey);
         if (aggregators == null) {
             final ColumnAggregator[] origAggregators = getColAggregators();
             aggregators = new ColumnAggregator[origAggregators.length];
             for (int i = 0, length = origAggregators.length; i < length; i++) {
                 aggregators[i] = origAggregators[i].clone();
             }
-            m_vals.put(groupKey, aggregators);
+            vals.put(groupKey, aggregators);
         }
         for (final ColumnAggregator aggregator : aggregators) {
             final int colIdx =
@@ -240,12 +289,122 @@ private void addRow(final DataTableSpec spec, final GroupKey groupKey,
 
     private void addRowKey(final GroupKey groupKey, final RowKey key) {
         if (isEnableHilite()) {
-            Set<RowKey> keySet = m_rowKeys.get(groupKey);
-            if (keySet == null) {
-                keySet = new HashSet<>();
-                m_rowKeys.put(groupKey, keySet);
+            addRowIndex(m_rowKeys, groupKey, addHiliteRowKey(key));
+        }
+    }
+
+    private static void addRowIndex(final Map<GroupKey, RowIndexSet> rowIndices, final GroupKey groupKey,
+        final long index) {
+        RowIndexSet indexSet = rowIndices.get(groupKey);
+        if (indexSet == null) {
+            indexSet = new RowIndexSet();
+            rowIndices.put(groupKey, indexSet);
+        }
+        indexSet.add(index);
+    }
+
+    /** The partial groups of a single chunk. */
+    private static final class PartialGroups {
+
+        private final Map<GroupKey, ColumnAggregator[]> m_vals = new LinkedHashMap<>();
+
+        /** The keys of the chunk rows, only if hiliting is enabled. */
+        private final List<RowKey> m_keys = new ArrayList<>();
+
+        /** The members of each group, indexed relative to the first row of the chunk. */
+        private final Map<GroupKey, RowIndexSet> m_rowIndices = new HashMap<>();
+
+        private int m_rowCount;
+    }
+
+    /**
+     * Aggregates chunks of rows concurrently and merges the partial groups in the order of the chunks into the
+     * groups of this table.
+     */
+    private final class ChunkAggregator extends MultiThreadWorker<List<DataRow>, PartialGroups> {
+
+        private final ExecutionMonitor m_exec;
+
+        private final DataTableSpec m_spec;
+
+        private final int[] m_groupColIdx;
+
+        private final long m_rowCount;
+
+        private long m_rowCounter;
+
+        ChunkAggregator(final int maxQueueSize, final int maxActiveInstanceSize, final ExecutionMonitor exec,
+            final BufferedDataTable dataTable, final int[] groupColIdx) {
+            super(maxQueueSize, maxActiveInstanceSize);
+            m_exec = exec;
+            m_spec = dataTable.getDataTableSpec();
+            m_groupColIdx = groupColIdx;
+            m_rowCount = dataTable.size();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected PartialGroups compute(final List<DataRow> chunk, final long index) throws Exception {
+            final PartialGroups groups = new PartialGroups();
+            for (final DataRow row : chunk) {
+                final DataCell[] currentGroup = new DataCell[m_groupColIdx.length];
+                //fetch the current group column values
+                for (int i = 0, length = m_groupColIdx.length; i < length; i++) {
+                    currentGroup[i] = row.getCell(m_groupColIdx[i]);
+                }
+                final GroupKey groupKey = new GroupKey(currentGroup);
+                if (isEnableHilite()) {
+                    addRowIndex(groups.m_rowIndices, groupKey, groups.m_keys.size());
+                    groups.m_keys.add(row.getKey());
+                }
+                addRow(groups.m_vals, m_spec, groupKey, row);
+            }
+            groups.m_rowCount = chunk.size();
+            return groups;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void processFinished(final ComputationTask task)
+                throws ExecutionException, CancellationException, InterruptedException {
+            final PartialGroups groups = task.get(); // exception falls through
+            for (final Entry<GroupKey, ColumnAggregator[]> entry : groups.m_vals.entrySet()) {
+                final ColumnAggregator[] aggregators = m_vals.get(entry.getKey());
+                if (aggregators == null) {
+                    m_vals.put(entry.getKey(), entry.getValue());
+                } else {
+                    final ColumnAggregator[] partialAggregators = entry.getValue();
+                    for (int i = 0; i < aggregators.length; i++) {
+                        aggregators[i].getOperator(getGlobalSettings())
+                            .merge(partialAggregators[i].getOperator(getGlobalSettings()));
+                    }
+                }
+            }
+            if (isEnableHilite() && !groups.m_keys.isEmpty()) {
+                // the chunks are finished in order, hence the keys are stored in the order of the input table
+                final long offset = addHiliteRowKey(groups.m_keys.get(0));
+                for (int i = 1; i < groups.m_keys.size(); i++) {
+                    addHiliteRowKey(groups.m_keys.get(i));
+                }
+                for (final Entry<GroupKey, RowIndexSet> entry : groups.m_rowIndices.entrySet()) {
+                    final RowIndexSet indexSet = m_rowKeys.get(entry.getKey());
+                    if (indexSet == null) {
+                        final RowIndexSet shifted = new RowIndexSet();
+                        shifted.addAll(entry.getValue(), offset);
+                        m_rowKeys.put(entry.getKey(), shifted);
+                    } else {
+                        indexSet.addAll(entry.getValue(), offset);
+                    }
+                }
+            }
+            m_rowCounter += groups.m_rowCount;
+            m_exec.setProgress(m_rowCounter / (double)m_rowCount,
+                "Analyzed " + m_rowCounter + " of " + m_rowCount + " rows");
+            try {
+                m_exec.checkCanceled();
+            } catch (CanceledExecutionException cee) {
+                throw new CancellationException();
             }
-            keySet.add(key);
         }
     }
 }
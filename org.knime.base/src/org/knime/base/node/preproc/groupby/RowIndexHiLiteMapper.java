@@ -0,0 +1,219 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.base.node.preproc.groupby;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.knime.core.data.RowKey;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.property.hilite.HiLiteMapper;
+
+/**
+ * A {@link HiLiteMapper} that maps the key of each group row to the {@link RowIndexSet} of its members instead of a
+ * set of {@link RowKey}s. The keys of the members are held by a {@link RowKeyStore}, which spills them to disk for
+ * large tables, and are only resolved when a hilite event needs to be translated.
+ *
+ * @author agent
+ */
+final class RowIndexHiLiteMapper implements HiLiteMapper, AutoCloseable {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(RowIndexHiLiteMapper.class);
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final RowKeyStore m_rowKeys;
+
+    private final Map<RowKey, RowIndexSet> m_mapping = new LinkedHashMap<>();
+
+    /**
+     * Creates an empty mapper.
+     * @param maxKeysInMemory the maximum number of row keys kept in memory, see
+     * {@link RowKeyStore#DEFAULT_MAX_KEYS_IN_MEMORY}
+     */
+    RowIndexHiLiteMapper(final int maxKeysInMemory) {
+        this(new RowKeyStore(maxKeysInMemory));
+    }
+
+    private RowIndexHiLiteMapper(final RowKeyStore rowKeys) {
+        m_rowKeys = rowKeys;
+    }
+
+    /**
+     * @param key the key of an input row
+     * @return the index of the key to be added to the {@link RowIndexSet} of its group
+     * @throws IOException if the key can't be stored
+     */
+    long addRowKey(final RowKey key) throws IOException {
+        return m_rowKeys.add(key);
+    }
+
+    /** @return the number of stored row keys */
+    long getRowKeyCount() {
+        return m_rowKeys.size();
+    }
+
+    /**
+     * @param newKey the key of the group row
+     * @param rowIndices the indices of the keys of the group members as returned by {@link #addRowKey(RowKey)}
+     */
+    void addMapping(final RowKey newKey, final RowIndexSet rowIndices) {
+        rowIndices.trim();
+        m_mapping.put(newKey, rowIndices);
+    }
+
+    /**
+     * Completes the mapper once all row keys and mappings have been added.
+     * @throws IOException if the row keys can't be written
+     */
+    void finish() throws IOException {
+        m_rowKeys.finish();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<RowKey> getKeys(final RowKey key) {
+        final RowIndexSet indices = m_mapping.get(key);
+        if (indices == null) {
+            return null;
+        }
+        final Set<RowKey> keys = new LinkedHashSet<>();
+        try {
+            for (final PrimitiveIterator.OfLong it = indices.iterator(); it.hasNext();) {
+                keys.add(m_rowKeys.get(it.nextLong()));
+            }
+        } catch (IOException e) {
+            LOGGER.error("Unable to read the row keys of group " + key + ": " + e.getMessage(), e);
+            return Collections.emptySet();
+        }
+        return keys;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<RowKey> keySet() {
+        return Collections.unmodifiableSet(m_mapping.keySet());
+    }
+
+    /**
+     * Resolves all row keys, which requires as much memory as the former explicit mapping.
+     * @return the map from the key of each group row to the keys of its members
+     */
+    Map<RowKey, Set<RowKey>> toMap() {
+        final Map<RowKey, Set<RowKey>> map = new LinkedHashMap<>(m_mapping.size());
+        for (final RowKey key : m_mapping.keySet()) {
+            map.put(key, getKeys(key));
+        }
+        return map;
+    }
+
+    /**
+     * @param file the (gzipped) file to write the mapping to
+     * @throws IOException if the mapping can't be written
+     */
+    void save(final File file) throws IOException {
+        try (final DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(file))))) {
+            out.writeInt(FORMAT_VERSION);
+            m_rowKeys.writeTo(out);
+            out.writeInt(m_mapping.size());
+            for (final Entry<RowKey, RowIndexSet> entry : m_mapping.entrySet()) {
+                out.writeUTF(entry.getKey().getString());
+                entry.getValue().writeTo(out);
+            }
+        }
+    }
+
+    /**
+     * @param file the file written by {@link #save(File)}
+     * @return the restored mapper
+     * @throws IOException if the mapping can't be read
+     */
+    static RowIndexHiLiteMapper load(final File file) throws IOException {
+        try (final DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))))) {
+            final int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported hilite mapping version: " + version);
+            }
+            final RowIndexHiLiteMapper mapper = new RowIndexHiLiteMapper(RowKeyStore.readFrom(in));
+            final int groupCount = in.readInt();
+            for (int i = 0; i < groupCount; i++) {
+                final RowKey key = new RowKey(in.readUTF());
+                mapper.m_mapping.put(key, RowIndexSet.readFrom(in));
+            }
+            return mapper;
+        }
+    }
+
+    /** Deletes the spilled row keys. */
+    @Override
+    public void close() {
+        m_rowKeys.close();
+        m_mapping.clear();
+    }
+}
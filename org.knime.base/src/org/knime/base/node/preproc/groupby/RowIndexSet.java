@@ -0,0 +1,602 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.base.node.preproc.groupby;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * A compressed set of row indices used to record the members of a group. Indices must be added in increasing
+ * order, which is the case as the rows of a table are visited one after the other.
+ *
+ * <p>
+ * The set is organized like a roaring bitmap: the indices are split by their upper bits into containers of 2^16
+ * values each. A container stores its (lower 16 bit) values as sorted array if it is sparse, as bitmap if it is
+ * dense or as list of runs if it consists of long ranges of consecutive values, whichever is smallest. Hence a group
+ * of consecutive rows takes a few bytes and a group of scattered rows about two bytes per row, compared to several
+ * dozens of bytes per row for a set of {@link org.knime.core.data.RowKey}s.
+ *
+ * @author agent
+ */
+final class RowIndexSet {
+
+    private static final int CONTAINER_BITS = 16;
+
+    private static final int LOW_MASK = (1 << CONTAINER_BITS) - 1;
+
+    /** Array containers with more values are converted into bitmaps (which take 8 KB). */
+    private static final int MAX_ARRAY_SIZE = 4096;
+
+    private static final byte ARRAY = 0;
+
+    private static final byte BITMAP = 1;
+
+    private static final byte RUN = 2;
+
+    private long[] m_highs = new long[1];
+
+    private Container[] m_containers = new Container[1];
+
+    private int m_containerCount;
+
+    private long m_size;
+
+    private long m_last = -1;
+
+    /**
+     * Adds the given index which must be larger than all indices added so far.
+     * @param index the row index
+     * @throws IllegalArgumentException if the index is negative or not larger than the last added index
+     */
+    void add(final long index) {
+        if (index <= m_last) {
+            throw new IllegalArgumentException(
+                "Row indices must be added in increasing order: " + index + " after " + m_last);
+        }
+        final long high = index >>> CONTAINER_BITS;
+        final int low = (int)(index & LOW_MASK);
+        if (m_containerCount == 0 || m_highs[m_containerCount - 1] != high) {
+            if (m_containerCount > 0) {
+                m_containers[m_containerCount - 1] = m_containers[m_containerCount - 1].optimize();
+            }
+            if (m_containerCount == m_highs.length) {
+                final int capacity = Math.max(1, 2 * m_containerCount);
+                m_highs = Arrays.copyOf(m_highs, capacity);
+                m_containers = Arrays.copyOf(m_containers, capacity);
+            }
+            m_highs[m_containerCount] = high;
+            m_containers[m_containerCount] = new ArrayContainer();
+            m_containerCount++;
+        }
+        m_containers[m_containerCount - 1] = m_containers[m_containerCount - 1].add(low);
+        m_size++;
+        m_last = index;
+    }
+
+    /**
+     * Adds all indices of the given set shifted by the given offset, e.g. when merging the members of a chunk of
+     * rows that have been indexed relative to the start of the chunk.
+     * @param other the set to add
+     * @param offset the offset to add to each index of the other set
+     * @throws IllegalArgumentException if the shifted indices are not larger than the last added index
+     */
+    void addAll(final RowIndexSet other, final long offset) {
+        for (final PrimitiveIterator.OfLong it = other.iterator(); it.hasNext();) {
+            add(it.nextLong() + offset);
+        }
+    }
+
+    /**
+     * @param index the row index
+     * @return <code>true</code> if the index is contained in this set
+     */
+    boolean contains(final long index) {
+        final int pos = Arrays.binarySearch(m_highs, 0, m_containerCount, index >>> CONTAINER_BITS);
+        return pos >= 0 && m_containers[pos].contains((int)(index & LOW_MASK));
+    }
+
+    /** @return the number of indices in this set */
+    long size() {
+        return m_size;
+    }
+
+    /** @return <code>true</code> if this set is empty */
+    boolean isEmpty() {
+        return m_size == 0;
+    }
+
+    /** @return an iterator over the indices in increasing order */
+    PrimitiveIterator.OfLong iterator() {
+        return new PrimitiveIterator.OfLong() {
+
+            private int m_containerIdx = -1;
+
+            private PrimitiveIterator.OfInt m_lows = null;
+
+            @Override
+            public boolean hasNext() {
+                while (m_lows == null || !m_lows.hasNext()) {
+                    if (m_containerIdx + 1 >= m_containerCount) {
+                        return false;
+                    }
+                    m_lows = m_containers[++m_containerIdx].iterator();
+                }
+                return true;
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return (m_highs[m_containerIdx] << CONTAINER_BITS) | m_lows.nextInt();
+            }
+        };
+    }
+
+    /**
+     * Chooses the smallest representation for the last container and releases unused array capacity. Call this
+     * method once all indices have been added; further indices can still be added afterwards.
+     */
+    void trim() {
+        if (m_containerCount > 0) {
+            m_containers[m_containerCount - 1] = m_containers[m_containerCount - 1].optimize();
+        }
+        if (m_containerCount < m_highs.length) {
+            m_highs = Arrays.copyOf(m_highs, m_containerCount);
+            m_containers = Arrays.copyOf(m_containers, m_containerCount);
+        }
+    }
+
+    /**
+     * @param out the output to write this set to
+     * @throws IOException if the set can't be written
+     */
+    void writeTo(final DataOutput out) throws IOException {
+        out.writeInt(m_containerCount);
+        for (int i = 0; i < m_containerCount; i++) {
+            out.writeLong(m_highs[i]);
+            m_containers[i].writeTo(out);
+        }
+    }
+
+    /**
+     * @param in the input to read from
+     * @return the set written by {@link #writeTo(DataOutput)}
+     * @throws IOException if the set can't be read
+     */
+    static RowIndexSet readFrom(final DataInput in) throws IOException {
+        final RowIndexSet set = new RowIndexSet();
+        final int containerCount = in.readInt();
+        set.m_highs = new long[containerCount];
+        set.m_containers = new Container[containerCount];
+        for (int i = 0; i < containerCount; i++) {
+            set.m_highs[i] = in.readLong();
+            final Container container;
+            final byte type = in.readByte();
+            switch (type) {
+                case ARRAY:
+                    container = ArrayContainer.readFrom(in);
+                    break;
+                case BITMAP:
+                    container = BitmapContainer.readFrom(in);
+                    break;
+                case RUN:
+                    container = RunContainer.readFrom(in);
+                    break;
+                default:
+                    throw new IOException("Unknown row index container type: " + type);
+            }
+            set.m_containers[i] = container;
+            set.m_size += container.size();
+        }
+        set.m_containerCount = containerCount;
+        if (containerCount > 0) {
+            final Container last = set.m_containers[containerCount - 1];
+            set.m_last = (set.m_highs[containerCount - 1] << CONTAINER_BITS) | last.last();
+        }
+        return set;
+    }
+
+    /** The lower 16 bits of the indices sharing the same upper bits. */
+    private abstract static class Container {
+
+        /**
+         * @param low the value to add, larger than all values added so far
+         * @return this container or a new container (of another type) if this container is full
+         */
+        abstract Container add(int low);
+
+        abstract boolean contains(int low);
+
+        abstract int size();
+
+        abstract int last();
+
+        abstract PrimitiveIterator.OfInt iterator();
+
+        abstract void writeTo(DataOutput out) throws IOException;
+
+        /** @return the number of runs of consecutive values */
+        int runCount() {
+            int runs = 0;
+            int previous = -2;
+            for (final PrimitiveIterator.OfInt it = iterator(); it.hasNext();) {
+                final int value = it.nextInt();
+                if (value != previous + 1) {
+                    runs++;
+                }
+                previous = value;
+            }
+            return runs;
+        }
+
+        /** @return the smallest representation of this container */
+        Container optimize() {
+            final int size = size();
+            final int runs = runCount();
+            final int arrayBytes = 2 * size;
+            final int bitmapBytes = 8 * BitmapContainer.WORDS;
+            final int runBytes = 4 * runs;
+            if (runBytes < arrayBytes && runBytes < bitmapBytes) {
+                final RunContainer result = new RunContainer(runs);
+                for (final PrimitiveIterator.OfInt it = iterator(); it.hasNext();) {
+                    result.add(it.nextInt());
+                }
+                return result;
+            }
+            if (size <= MAX_ARRAY_SIZE) {
+                final ArrayContainer result = new ArrayContainer(size);
+                for (final PrimitiveIterator.OfInt it = iterator(); it.hasNext();) {
+                    result.add(it.nextInt());
+                }
+                return result;
+            }
+            if (this instanceof BitmapContainer) {
+                return this;
+            }
+            final BitmapContainer result = new BitmapContainer();
+            for (final PrimitiveIterator.OfInt it = iterator(); it.hasNext();) {
+                result.add(it.nextInt());
+            }
+            return result;
+        }
+    }
+
+    /** Sorted array of the values, for sparse containers. */
+    private static final class ArrayContainer extends Container {
+
+        private char[] m_values;
+
+        private int m_size;
+
+        ArrayContainer() {
+            this(1);
+        }
+
+        ArrayContainer(final int capacity) {
+            m_values = new char[Math.max(1, capacity)];
+        }
+
+        @Override
+        Container add(final int low) {
+            if (m_size == MAX_ARRAY_SIZE) {
+                final BitmapContainer bitmap = new BitmapContainer();
+                for (int i = 0; i < m_size; i++) {
+                    bitmap.add(m_values[i]);
+                }
+                return bitmap.add(low);
+            }
+            if (m_size == m_values.length) {
+                m_values = Arrays.copyOf(m_values, Math.min(MAX_ARRAY_SIZE, 2 * m_size));
+            }
+            m_values[m_size++] = (char)low;
+            return this;
+        }
+
+        @Override
+        boolean contains(final int low) {
+            return Arrays.binarySearch(m_values, 0, m_size, (char)low) >= 0;
+        }
+
+        @Override
+        int size() {
+            return m_size;
+        }
+
+        @Override
+        int last() {
+            return m_values[m_size - 1];
+        }
+
+        @Override
+        PrimitiveIterator.OfInt iterator() {
+            return new PrimitiveIterator.OfInt() {
+                private int m_pos;
+
+                @Override
+                public boolean hasNext() {
+                    return m_pos < m_size;
+                }
+
+                @Override
+                public int nextInt() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return m_values[m_pos++];
+                }
+            };
+        }
+
+        @Override
+        void writeTo(final DataOutput out) throws IOException {
+            out.writeByte(ARRAY);
+            out.writeInt(m_size);
+            for (int i = 0; i < m_size; i++) {
+                out.writeChar(m_values[i]);
+            }
+        }
+
+        static ArrayContainer readFrom(final DataInput in) throws IOException {
+            final int size = in.readInt();
+            final ArrayContainer container = new ArrayContainer(size);
+            for (int i = 0; i < size; i++) {
+                container.m_values[i] = in.readChar();
+            }
+            container.m_size = size;
+            return container;
+        }
+    }
+
+    /** One bit per possible value, for dense containers. */
+    private static final class BitmapContainer extends Container {
+
+        static final int WORDS = (1 << CONTAINER_BITS) / Long.SIZE;
+
+        private final long[] m_words = new long[WORDS];
+
+        private int m_size;
+
+        private int m_last;
+
+        @Override
+        Container add(final int low) {
+            m_words[low >>> 6] |= 1L << low;
+            m_size++;
+            m_last = low;
+            return this;
+        }
+
+        @Override
+        boolean contains(final int low) {
+            return (m_words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        int size() {
+            return m_size;
+        }
+
+        @Override
+        int last() {
+            return m_last;
+        }
+
+        @Override
+        PrimitiveIterator.OfInt iterator() {
+            return new PrimitiveIterator.OfInt() {
+                private int m_wordIdx = 0;
+
+                private long m_word = m_words[0];
+
+                @Override
+                public boolean hasNext() {
+                    while (m_word == 0) {
+                        if (m_wordIdx + 1 >= WORDS) {
+                            return false;
+                        }
+                        m_word = m_words[++m_wordIdx];
+                    }
+                    return true;
+                }
+
+                @Override
+                public int nextInt() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    final int bit = Long.numberOfTrailingZeros(m_word);
+                    // clear the lowest set bit
+                    m_word &= m_word - 1;
+                    return (m_wordIdx << 6) | bit;
+                }
+            };
+        }
+
+        @Override
+        void writeTo(final DataOutput out) throws IOException {
+            out.writeByte(BITMAP);
+            for (final long word : m_words) {
+                out.writeLong(word);
+            }
+        }
+
+        static BitmapContainer readFrom(final DataInput in) throws IOException {
+            final BitmapContainer container = new BitmapContainer();
+            for (int i = 0; i < WORDS; i++) {
+                final long word = in.readLong();
+                container.m_words[i] = word;
+                container.m_size += Long.bitCount(word);
+                if (word != 0) {
+                    container.m_last = (i << 6) | (Long.SIZE - 1 - Long.numberOfLeadingZeros(word));
+                }
+            }
+            return container;
+        }
+    }
+
+    /** Pairs of start value and length - 1 of runs of consecutive values, for containers of ranges. */
+    private static final class RunContainer extends Container {
+
+        private char[] m_runs;
+
+        private int m_runCount;
+
+        private int m_size;
+
+        RunContainer(final int capacity) {
+            m_runs = new char[2 * Math.max(1, capacity)];
+        }
+
+        @Override
+        Container add(final int low) {
+            if (m_runCount > 0 && m_runs[2 * m_runCount - 2] + m_runs[2 * m_runCount - 1] + 1 == low) {
+                m_runs[2 * m_runCount - 1]++;
+            } else {
+                if (2 * m_runCount == m_runs.length) {
+                    m_runs = Arrays.copyOf(m_runs, 4 * m_runCount);
+                }
+                m_runs[2 * m_runCount] = (char)low;
+                m_runs[2 * m_runCount + 1] = 0;
+                m_runCount++;
+            }
+            m_size++;
+            return this;
+        }
+
+        @Override
+        boolean contains(final int low) {
+            int lower = 0;
+            int upper = m_runCount - 1;
+            while (lower <= upper) {
+                final int mid = (lower + upper) >>> 1;
+                final int start = m_runs[2 * mid];
+                if (low < start) {
+                    upper = mid - 1;
+                } else if (low > start + m_runs[2 * mid + 1]) {
+                    lower = mid + 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        int size() {
+            return m_size;
+        }
+
+        @Override
+        int last() {
+            return m_runs[2 * m_runCount - 2] + m_runs[2 * m_runCount - 1];
+        }
+
+        @Override
+        int runCount() {
+            return m_runCount;
+        }
+
+        @Override
+        PrimitiveIterator.OfInt iterator() {
+            return new PrimitiveIterator.OfInt() {
+                private int m_run;
+
+                private int m_offset;
+
+                @Override
+                public boolean hasNext() {
+                    return m_run < m_runCount;
+                }
+
+                @Override
+                public int nextInt() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    final int value = m_runs[2 * m_run] + m_offset;
+                    if (m_offset == m_runs[2 * m_run + 1]) {
+                        m_run++;
+                        m_offset = 0;
+                    } else {
+                        m_offset++;
+                    }
+                    return value;
+                }
+            };
+        }
+
+        @Override
+        void writeTo(final DataOutput out) throws IOException {
+            out.writeByte(RUN);
+            out.writeInt(m_runCount);
+            for (int i = 0; i < 2 * m_runCount; i++) {
+                out.writeChar(m_runs[i]);
+            }
+        }
+
+        static RunContainer readFrom(final DataInput in) throws IOException {
+            final int runCount = in.readInt();
+            final RunContainer container = new RunContainer(runCount);
+            for (int i = 0; i < runCount; i++) {
+                final char start = in.readChar();
+                final char lengthMinusOne = in.readChar();
+                container.m_runs[2 * i] = start;
+                container.m_runs[2 * i + 1] = lengthMinusOne;
+                container.m_size += lengthMinusOne + 1;
+            }
+            container.m_runCount = runCount;
+            return container;
+        }
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.base.node.preproc.groupby;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.knime.core.data.RowKey;
+import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.data.util.memory.MemoryAlertSystem.MemoryActionIndicator;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Stores {@link RowKey}s in the order they are added and returns them by their index. The first keys are kept in
+ * memory; once more than the given maximum number of keys have been added or memory gets low all keys are spilled to a
+ * temporary key file, accompanied by an index file that holds the offset of each key in the key file. Reading a key
+ * then requires two positional reads and no memory at all.
+ *
+ * <p>
+ * Call {@link #finish()} once all keys have been added and {@link #close()} to delete the temporary files.
+ *
+ * @author agent
+ */
+final class RowKeyStore implements AutoCloseable {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(RowKeyStore.class);
+
+    /** Default maximum number of keys kept in memory before they are spilled to disk. */
+    static final int DEFAULT_MAX_KEYS_IN_MEMORY = 10000;
+
+    private final int m_maxKeysInMemory;
+
+    private List<RowKey> m_keys = new ArrayList<>();
+
+    private long m_size;
+
+    private File m_keyFile;
+
+    private File m_indexFile;
+
+    private DataOutputStream m_keyOut;
+
+    private DataOutputStream m_indexOut;
+
+    private long m_keyFileLength;
+
+    private FileChannel m_keyChannel;
+
+    private FileChannel m_indexChannel;
+
+    private MemoryActionIndicator m_memIndicator;
+
+    /**
+     * @param maxKeysInMemory the maximum number of keys kept in memory before they are spilled to disk, see
+     * {@link #DEFAULT_MAX_KEYS_IN_MEMORY}
+     */
+    RowKeyStore(final int maxKeysInMemory) {
+        m_maxKeysInMemory = maxKeysInMemory;
+    }
+
+    /**
+     * @param key the key to add
+     * @return the index of the key
+     * @throws IOException if the key can't be written to disk
+     */
+    synchronized long add(final RowKey key) throws IOException {
+        if (m_keys != null) {
+            if (m_keys.size() < m_maxKeysInMemory && !isLowMemory()) {
+                m_keys.add(key);
+                return m_size++;
+            }
+            spill();
+        }
+        if (m_keyOut == null) {
+            throw new IllegalStateException("Row key store has been finished");
+        }
+        writeKey(key);
+        return m_size++;
+    }
+
+    private boolean isLowMemory() {
+        if (m_memIndicator == null) {
+            m_memIndicator = MemoryAlertSystem.getInstance().newIndicator();
+        }
+        return m_memIndicator.lowMemoryActionRequired();
+    }
+
+    private void spill() throws IOException {
+        LOGGER.debugWithFormat("Spilling %d row keys to disk", m_keys.size());
+        m_keyFile = FileUtil.createTempFile("knime_groupby_keys", ".bin");
+        m_indexFile = FileUtil.createTempFile("knime_groupby_keyindex", ".bin");
+        m_keyOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(m_keyFile)));
+        m_indexOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(m_indexFile)));
+        for (final RowKey key : m_keys) {
+            writeKey(key);
+        }
+        m_keys = null;
+    }
+
+    private void writeKey(final RowKey key) throws IOException {
+        final byte[] bytes = key.getString().getBytes(StandardCharsets.UTF_8);
+        m_indexOut.writeLong(m_keyFileLength);
+        m_keyOut.writeInt(bytes.length);
+        m_keyOut.write(bytes);
+        m_keyFileLength += Integer.BYTES + bytes.length;
+    }
+
+    /**
+     * Completes the store, no more keys can be added afterwards.
+     * @throws IOException if the spilled keys can't be written
+     */
+    synchronized void finish() throws IOException {
+        if (m_keys != null) {
+            ((ArrayList<RowKey>)m_keys).trimToSize();
+        } else if (m_keyOut != null) {
+            m_keyOut.close();
+            m_indexOut.close();
+            m_keyOut = null;
+            m_indexOut = null;
+        }
+    }
+
+    /** @return the number of keys */
+    synchronized long size() {
+        return m_size;
+    }
+
+    /**
+     * @param index the index of the key as returned by {@link #add(RowKey)}
+     * @return the key
+     * @throws IOException if the key can't be read from disk
+     */
+    synchronized RowKey get(final long index) throws IOException {
+        if (index < 0 || index >= m_size) {
+            throw new IndexOutOfBoundsException("Row key index " + index + " not in [0, " + m_size + ")");
+        }
+        if (m_keys != null) {
+            return m_keys.get((int)index);
+        }
+        if (m_keyOut != null) {
+            throw new IllegalStateException("Row key store has not been finished");
+        }
+        if (m_keyChannel == null) {
+            m_keyChannel = new RandomAccessFile(m_keyFile, "r").getChannel();
+            m_indexChannel = new RandomAccessFile(m_indexFile, "r").getChannel();
+        }
+        final ByteBuffer offset = ByteBuffer.allocate(Long.BYTES);
+        readFully(m_indexChannel, offset, index * Long.BYTES);
+        final long keyOffset = offset.getLong(0);
+        final ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        readFully(m_keyChannel, length, keyOffset);
+        final ByteBuffer bytes = ByteBuffer.allocate(length.getInt(0));
+        readFully(m_keyChannel, bytes, keyOffset + Integer.BYTES);
+        return new RowKey(new String(bytes.array(), StandardCharsets.UTF_8));
+    }
+
+    private static void readFully(final FileChannel channel, final ByteBuffer buffer, final long position)
+        throws IOException {
+        long pos = position;
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, pos);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of row key file at position " + pos);
+            }
+            pos += read;
+        }
+    }
+
+    /**
+     * Writes all keys in the order of their index.
+     * @param out the output to write to
+     * @throws IOException if the keys can't be written
+     */
+    synchronized void writeTo(final DataOutput out) throws IOException {
+        out.writeLong(m_size);
+        if (m_keys != null) {
+            for (final RowKey key : m_keys) {
+                final byte[] bytes = key.getString().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            return;
+        }
+        try (final DataInputStream in =
+                new DataInputStream(new BufferedInputStream(new FileInputStream(m_keyFile)))) {
+            for (long i = 0; i < m_size; i++) {
+                // the key file has the same format, copy it as is
+                final byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * @param in the input to read from
+     * @return a finished store with the keys written by {@link #writeTo(DataOutput)}
+     * @throws IOException if the keys can't be read
+     */
+    static RowKeyStore readFrom(final DataInput in) throws IOException {
+        final RowKeyStore store = new RowKeyStore(DEFAULT_MAX_KEYS_IN_MEMORY);
+        final long size = in.readLong();
+        for (long i = 0; i < size; i++) {
+            final byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            store.add(new RowKey(new String(bytes, StandardCharsets.UTF_8)));
+        }
+        store.finish();
+        return store;
+    }
+
+    /** Closes and deletes the temporary files. */
+    @Override
+    public synchronized void close() {
+        try {
+            if (m_keyOut != null) {
+                m_keyOut.close();
+                m_indexOut.close();
+            }
+            if (m_keyChannel != null) {
+                m_keyChannel.close();
+                m_indexChannel.close();
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Unable to close row key files: " + e.getMessage(), e);
+        }
+        if (m_keyFile != null) {
+            m_keyFile.delete();
+            m_indexFile.delete();
+        }
+        m_keyOut = null;
+        m_indexOut = null;
+        m_keyChannel = null;
+        m_indexChannel = null;
+        m_keyFile = null;
+        m_indexFile = null;
+        m_keys = new ArrayList<>();
+        m_size = 0;
+    }
+}
@@ -0,0 +1,871 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.base.node.preproc.joiner;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+import org.knime.base.node.preproc.joiner.InputRow.Settings.InDataPort;
+import org.knime.base.node.preproc.joiner.InputRow.WildCardCell;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.data.util.memory.MemoryAlertSystem.MemoryActionIndicator;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.util.MultiThreadWorker;
+
+/**
+ * Joins two tables with a hybrid hash join. The join tuples of the smaller table (the build side) are hashed into
+ * partitions which are held in memory. When memory gets low, the largest partition is written to disk and all
+ * further rows of that partition are appended to its spill file. The other table (the probe side) is read once; its
+ * rows are probed in parallel against the partitions in memory and written to the spill file of their partition
+ * otherwise. Each pair of spilled partitions is joined recursively in the same way, using the next bits of the hash
+ * code and the smaller of both spill files as build side. Partitions that cannot be split any further, e.g. because
+ * all their rows have the same join tuple, are joined block-wise.
+ *
+ * <p>
+ * Joined rows are added to a {@link JoinContainer} in the format of {@link OutputRow}, the left rows are represented
+ * by their index only.
+ *
+ * @author agent
+ */
+final class HybridHashJoin {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(HybridHashJoin.class);
+
+    /** The default number of probe records joined by a single task. */
+    static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    /** The number of probe records joined by a single task. */
+    private final int m_chunkSize;
+
+    private final InputRow.Settings m_inputSettings;
+
+    private final OutputRow.Settings m_outputSettings;
+
+    private final boolean m_retainLeft;
+
+    private final boolean m_retainRight;
+
+    private final boolean m_matchAny;
+
+    /** The specs of the spill files, indexed by the ordinal of the {@link InDataPort}. */
+    private final DataTableSpec[] m_spillSpecs;
+
+    private int m_numBitsInitial = 6;
+
+    private int m_numBitsMaximal = Integer.SIZE;
+
+    private int m_maxBitsPerLevel = 6;
+
+    private int m_rowsAddedBeforeForcedOOM;
+
+    private long m_rowsAdded;
+
+    private MemoryActionIndicator m_memIndicator;
+
+    private ExecutionContext m_exec;
+
+    private JoinContainer m_joinCont;
+
+    /** The indices of the left rows that have a match. */
+    private BitSet m_leftMatched;
+
+    /** The indices of the right rows that have a match. */
+    private BitSet m_rightMatched;
+
+    /** Right outer join with match any only: per right row, the number of its records that did not match. */
+    private int[] m_rightUnmatchedRecords;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param leftSpec The spec of the left table.
+     * @param rightSpec The spec of the right table.
+     * @param inputSettings The settings of the {@link InputRow}s.
+     * @param outputSettings The settings of the {@link OutputRow}s.
+     * @param retainLeft True for left outer and full outer joins.
+     * @param retainRight True for right outer and full outer joins.
+     * @param matchAny True if rows match when any of the join columns match.
+     */
+    HybridHashJoin(final DataTableSpec leftSpec, final DataTableSpec rightSpec,
+        final InputRow.Settings inputSettings, final OutputRow.Settings outputSettings, final boolean retainLeft,
+        final boolean retainRight, final boolean matchAny) {
+        this(leftSpec, rightSpec, inputSettings, outputSettings, retainLeft, retainRight, matchAny,
+            DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a new instance that joins the given number of probe records per task.
+     *
+     * @param leftSpec The spec of the left table.
+     * @param rightSpec The spec of the right table.
+     * @param inputSettings The settings of the {@link InputRow}s.
+     * @param outputSettings The settings of the {@link OutputRow}s.
+     * @param retainLeft True for left outer and full outer joins.
+     * @param retainRight True for right outer and full outer joins.
+     * @param matchAny True if rows match when any of the join columns match.
+     * @param chunkSize The number of probe records joined by a single task, see {@link #DEFAULT_CHUNK_SIZE}.
+     */
+    HybridHashJoin(final DataTableSpec leftSpec, final DataTableSpec rightSpec,
+        final InputRow.Settings inputSettings, final OutputRow.Settings outputSettings, final boolean retainLeft,
+        final boolean retainRight, final boolean matchAny, final int chunkSize) {
+        m_chunkSize = chunkSize;
+        m_inputSettings = inputSettings;
+        m_outputSettings = outputSettings;
+        m_retainLeft = retainLeft;
+        m_retainRight = retainRight;
+        m_matchAny = matchAny;
+        m_spillSpecs = new DataTableSpec[2];
+        m_spillSpecs[InDataPort.Left.ordinal()] = createSpillSpec(leftSpec, InDataPort.Left);
+        m_spillSpecs[InDataPort.Right.ordinal()] = createSpillSpec(rightSpec, InDataPort.Right);
+    }
+
+    /**
+     * Sets the number of hash bits used for partitioning.
+     *
+     * @param initial The number of partitions of the input tables will be 2^initial.
+     * @param maximal The number of hash bits used for recursive partitioning, partitions which are still too large
+     *            are joined block-wise.
+     */
+    void setNumBits(final int initial, final int maximal) {
+        m_numBitsInitial = initial;
+        m_numBitsMaximal = Math.min(maximal, Integer.SIZE);
+    }
+
+    /**
+     * Limits the number of partitions per level, each spilled partition opens one file per input table.
+     *
+     * @param maxOpenFiles The maximal number of open files.
+     */
+    void setMaxOpenFiles(final int maxOpenFiles) {
+        int bits = 1;
+        while ((4 << bits) <= maxOpenFiles) {
+            bits++;
+        }
+        m_maxBitsPerLevel = bits;
+    }
+
+    /**
+     * Used for testing, only. Simulates an out-of-memory event after that many rows have been added to memory.
+     *
+     * @param maxRows the maximum number of rows before an event
+     */
+    void setRowsAddedBeforeOOM(final int maxRows) {
+        m_rowsAddedBeforeForcedOOM = maxRows;
+    }
+
+    /**
+     * Joins the given tables and adds the results to the given container. Each input table is read once.
+     *
+     * @param leftTable The left table.
+     * @param rightTable The right table.
+     * @param joinCont The container the joined rows are added to.
+     * @param exec The execution context, also used to create the spill files.
+     * @throws CanceledExecutionException When execution is canceled
+     */
+    void join(final BufferedDataTable leftTable, final BufferedDataTable rightTable, final JoinContainer joinCont,
+        final ExecutionContext exec) throws CanceledExecutionException {
+        m_exec = exec;
+        m_joinCont = joinCont;
+        m_memIndicator = MemoryAlertSystem.getInstance().newIndicator();
+        m_rowsAdded = 0;
+        m_leftMatched = new BitSet(leftTable.getRowCount());
+        m_rightMatched = new BitSet(rightTable.getRowCount());
+        if (m_retainRight && m_matchAny) {
+            m_rightUnmatchedRecords = new int[rightTable.getRowCount()];
+        }
+
+        RecordIterator leftRecords = new RecordIterator(leftTable, InDataPort.Left, false);
+        RecordIterator rightRecords = new RecordIterator(rightTable, InDataPort.Right, false);
+        int bits = Math.max(0, Math.min(Math.min(m_numBitsInitial, m_maxBitsPerLevel), m_numBitsMaximal));
+        // the smaller table is held in memory
+        if (leftTable.size() <= rightTable.size()) {
+            hashJoin(leftRecords, rightRecords, 0, bits, exec);
+        } else {
+            hashJoin(rightRecords, leftRecords, 0, bits, exec);
+        }
+
+        if (m_retainLeft) {
+            for (int i = m_leftMatched.nextClearBit(0); i < leftTable.getRowCount();
+                    i = m_leftMatched.nextClearBit(i + 1)) {
+                exec.checkCanceled();
+                m_joinCont.addLeftOuter(OutputRow.createDataRow(m_joinCont.getRowCount(), i, -1, m_outputSettings),
+                    exec);
+            }
+        }
+        m_leftMatched = null;
+        m_rightMatched = null;
+        m_rightUnmatchedRecords = null;
+        m_joinCont = null;
+        m_exec = null;
+    }
+
+    /**
+     * Performs one level of the hybrid hash join. The build records are hashed into 2^bits partitions using the bits
+     * of the hash code after the first usedBits bits. Partitions which do not fit in memory are spilled and joined
+     * recursively.
+     */
+    private void hashJoin(final RecordIterator buildRecords, final RecordIterator probeRecords, final int usedBits,
+        final int bits, final ExecutionMonitor exec) throws CanceledExecutionException {
+        Partition[] partitions = new Partition[1 << bits];
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new Partition();
+        }
+        exec.setMessage("Hashing " + buildRecords.getPort().toString().toLowerCase() + " table ("
+            + partitions.length + " partitions)");
+        buildPartitions(partitions, buildRecords, usedBits, bits, exec.createSubProgress(0.3));
+
+        exec.setMessage("Probing " + probeRecords.getPort().toString().toLowerCase() + " table");
+        probePartitions(partitions, probeRecords, usedBits, bits, exec.createSubProgress(0.4));
+
+        List<Partition> spilled = new ArrayList<Partition>();
+        long numSpilledRecords = 0;
+        for (int i = 0; i < partitions.length; i++) {
+            Partition partition = partitions[i];
+            if (partition.m_isSpilled) {
+                spilled.add(partition);
+                numSpilledRecords += partition.getNumSpilled();
+            } else {
+                addUnmatchedBuildRecords(partition, buildRecords.getPort());
+            }
+            // free memory
+            partitions[i] = null;
+        }
+        if (spilled.isEmpty()) {
+            return;
+        }
+        LOGGER.debug("Joining " + spilled.size() + " of " + partitions.length + " partitions with "
+            + numSpilledRecords + " spilled records.");
+        // a level without partitioning cannot make progress on skewed data
+        long numRecords =
+            bits > 0 ? buildRecords.getNumRecordsRead() + probeRecords.getNumRecordsRead() : Long.MAX_VALUE;
+        ExecutionMonitor spillExec = exec.createSubProgress(0.3);
+        int count = 0;
+        for (Partition partition : spilled) {
+            count++;
+            spillExec.setMessage("Joining spilled partition " + count + " of " + spilled.size());
+            joinSpilled(partition.close(InDataPort.Left), partition.close(InDataPort.Right), usedBits + bits,
+                numRecords, spillExec.createSubProgress(partition.getNumSpilled() / (double)numSpilledRecords));
+        }
+    }
+
+    /**
+     * Joins the spill files of a partition. The tables are cleared afterwards.
+     */
+    private void joinSpilled(final BufferedDataTable left, final BufferedDataTable right, final int usedBits,
+        final long parentNumRecords, final ExecutionMonitor exec) throws CanceledExecutionException {
+        try {
+            if (left == null || right == null) {
+                // only one table has rows in this partition, they are all outer joins
+                if (right != null && m_retainRight) {
+                    RecordIterator rightRecords = new RecordIterator(right, InDataPort.Right, true);
+                    while (rightRecords.hasNext()) {
+                        exec.checkCanceled();
+                        addRightOuter(rightRecords.next());
+                    }
+                }
+                return;
+            }
+            int bits = Math.min(Math.min(Math.max(1, m_numBitsInitial), m_maxBitsPerLevel),
+                m_numBitsMaximal - usedBits);
+            long numRecords = left.size() + right.size();
+            if (bits <= 0 || numRecords >= parentNumRecords) {
+                LOGGER.debug("Partition with " + left.size() + " left and " + right.size()
+                    + " right records can not be split further, joining it block-wise.");
+                joinInBlocks(left, right, exec);
+                return;
+            }
+            RecordIterator leftRecords = new RecordIterator(left, InDataPort.Left, true);
+            RecordIterator rightRecords = new RecordIterator(right, InDataPort.Right, true);
+            if (left.size() <= right.size()) {
+                hashJoin(leftRecords, rightRecords, usedBits, bits, exec);
+            } else {
+                hashJoin(rightRecords, leftRecords, usedBits, bits, exec);
+            }
+        } finally {
+            if (left != null) {
+                m_exec.clearTable(left);
+            }
+            if (right != null) {
+                m_exec.clearTable(right);
+            }
+        }
+    }
+
+    /**
+     * Joins a partition whose right records do not fit in memory at once. The right records are read in blocks that
+     * fit in memory, each block is joined with all left records. As a block sees all left records, the right outer
+     * joins can be determined per block.
+     */
+    private void joinInBlocks(final BufferedDataTable left, final BufferedDataTable right,
+        final ExecutionMonitor exec) throws CanceledExecutionException {
+        RecordIterator rightRecords = new RecordIterator(right, InDataPort.Right, true);
+        int numBlocks = 0;
+        while (rightRecords.hasNext()) {
+            Partition block = new Partition();
+            while (rightRecords.hasNext()) {
+                exec.checkCanceled();
+                Record record = rightRecords.next();
+                if (record.m_tuple.hasMissingCell()) {
+                    addUnmatched(record, InDataPort.Right);
+                } else {
+                    block.add(record);
+                    if (isMemoryLow()) {
+                        break;
+                    }
+                }
+            }
+            if (block.m_size > 0) {
+                probePartitions(new Partition[]{block}, new RecordIterator(left, InDataPort.Left, true), 0, 0,
+                    exec.createSubProgress(0.0));
+                addUnmatchedBuildRecords(block, InDataPort.Right);
+                numBlocks++;
+            }
+            exec.setProgress(rightRecords.getProgress());
+        }
+        LOGGER.debug("Joined " + right.size() + " right records block-wise in " + numBlocks + " blocks.");
+    }
+
+    /**
+     * Reads the build records into the partitions. The largest partition is spilled when memory gets low.
+     */
+    private void buildPartitions(final Partition[] partitions, final RecordIterator records, final int usedBits,
+        final int bits, final ExecutionMonitor exec) throws CanceledExecutionException {
+        while (records.hasNext()) {
+            exec.checkCanceled();
+            Record record = records.next();
+            exec.setProgress(records.getProgress());
+            if (record.m_tuple.hasMissingCell()) {
+                addUnmatched(record, records.getPort());
+                continue;
+            }
+            Partition partition = partitions[getPartition(record.m_tuple, usedBits, bits)];
+            if (partition.m_isSpilled) {
+                partition.spill(record, records.getPort());
+            } else {
+                partition.add(record);
+                if (isMemoryLow()) {
+                    spillLargestPartition(partitions, records.getPort());
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the largest partition held in memory to disk.
+     */
+    private void spillLargestPartition(final Partition[] partitions, final InDataPort port) {
+        Partition largest = null;
+        for (Partition partition : partitions) {
+            if (!partition.m_isSpilled && partition.m_size > 0
+                && (largest == null || partition.m_size > largest.m_size)) {
+                largest = partition;
+            }
+        }
+        if (largest == null) {
+            LOGGER.debug("Memory is low, but all partitions are spilled already.");
+            return;
+        }
+        LOGGER.debug("Memory is low, spilling partition with " + largest.m_size + " records.");
+        Map<JoinTuple, List<Record>> table = largest.m_table;
+        largest.m_isSpilled = true;
+        largest.m_table = null;
+        largest.m_size = 0;
+        for (List<Record> records : table.values()) {
+            for (Record record : records) {
+                largest.spill(record, port);
+            }
+        }
+    }
+
+    /**
+     * Probes the records against the partitions held in memory, concurrently. Records of spilled partitions are
+     * added to the spill files.
+     */
+    private void probePartitions(final Partition[] partitions, final RecordIterator records, final int usedBits,
+        final int bits, final ExecutionMonitor exec) throws CanceledExecutionException {
+        final int maxThreads = Runtime.getRuntime().availableProcessors();
+        final Prober prober = new Prober(2 * maxThreads, maxThreads, partitions, records, usedBits, bits, exec);
+        try {
+            prober.run(() -> new ChunkIterator(records, m_chunkSize));
+        } catch (InterruptedException | CancellationException e) {
+            CanceledExecutionException cee = new CanceledExecutionException(e.getMessage());
+            cee.initCause(e);
+            throw cee;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause == null) {
+                cause = e;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    /**
+     * Adds the right outer joins of the build records of a partition that did not match any probe record.
+     */
+    private void addUnmatchedBuildRecords(final Partition partition, final InDataPort buildPort) {
+        if (InDataPort.Right.equals(buildPort) && m_retainRight) {
+            for (List<Record> records : partition.m_table.values()) {
+                for (Record record : records) {
+                    if (!m_rightMatched.get(record.m_index)) {
+                        addRightOuter(record);
+                    }
+                }
+            }
+        }
+        partition.m_table = null;
+    }
+
+    private void addMatch(final Record left, final Record right) {
+        m_joinCont.addMatch(OutputRow.createDataRow(m_joinCont.getRowCount(), left.m_index, right.m_index,
+            right.m_rightCells), m_exec);
+        m_leftMatched.set(left.m_index);
+        m_rightMatched.set(right.m_index);
+    }
+
+    /**
+     * Called for records that can not match any more. Left outer joins are determined when all records are joined.
+     */
+    private void addUnmatched(final Record record, final InDataPort port) {
+        if (InDataPort.Right.equals(port) && m_retainRight) {
+            addRightOuter(record);
+        }
+    }
+
+    /**
+     * Called for right records that can not match any more. Without match any, a right row has a single record, hence
+     * it is a right outer join. With match any, a right row has one record per join column (each possibly in a
+     * different partition), it is a right outer join once the last of them turns out not to match.
+     */
+    private void addRightOuter(final Record right) {
+        if (m_rightUnmatchedRecords != null) {
+            int numUnmatched = ++m_rightUnmatchedRecords[right.m_index];
+            if (numUnmatched < m_inputSettings.getJoiningIndices(InDataPort.Right).size()
+                || m_rightMatched.get(right.m_index)) {
+                return;
+            }
+        }
+        m_joinCont.addRightOuter(
+            OutputRow.createDataRow(m_joinCont.getRowCount(), -1, right.m_index, right.m_rightCells), m_exec);
+    }
+
+    private boolean isMemoryLow() {
+        m_rowsAdded++;
+        if (m_rowsAddedBeforeForcedOOM > 0 && m_rowsAdded % m_rowsAddedBeforeForcedOOM == 0) {
+            return true;
+        }
+        return m_memIndicator.lowMemoryActionRequired();
+    }
+
+    private static int getPartition(final JoinTuple tuple, final int usedBits, final int bits) {
+        if (bits == 0) {
+            return 0;
+        }
+        return (tuple.hashCode() >>> usedBits) & ((1 << bits) - 1);
+    }
+
+    /**
+     * Creates the spec of the spill files: the cells of the join tuple, the position of the tuple in the match any
+     * case, the row index and, for the right table, the cells stored in an {@link OutputRow}.
+     */
+    private DataTableSpec createSpillSpec(final DataTableSpec spec, final InDataPort port) {
+        List<DataType> types = new ArrayList<DataType>();
+        for (int index : m_inputSettings.getJoiningIndices(port)) {
+            types.add(index >= 0 ? spec.getColumnSpec(index).getType() : StringCell.TYPE);
+        }
+        types.add(IntCell.TYPE);
+        types.add(IntCell.TYPE);
+        if (InDataPort.Right.equals(port)) {
+            DataTableSpec outputSpec = m_outputSettings.getSpec();
+            // the survivors and the row key
+            for (int i = 0; i < outputSpec.getNumColumns() - 2; i++) {
+                types.add(outputSpec.getColumnSpec(i).getType());
+            }
+        }
+        DataColumnSpec[] cspec = new DataColumnSpec[types.size()];
+        for (int i = 0; i < cspec.length; i++) {
+            cspec[i] = new DataColumnSpecCreator(Integer.toString(i), types.get(i)).createSpec();
+        }
+        return new DataTableSpec(cspec);
+    }
+
+    private DataRow createSpillRow(final long index, final Record record) {
+        JoinTuple tuple = record.m_tuple;
+        int numCells = tuple.getNumCells();
+        int numRightCells = record.m_rightCells != null ? record.m_rightCells.length : 0;
+        DataCell[] cells = new DataCell[numCells + 2 + numRightCells];
+        for (int i = 0; i < numCells; i++) {
+            // wild cards can not be written
+            cells[i] = record.m_pos < 0 || record.m_pos == i ? tuple.getCell(i) : DataType.getMissingCell();
+        }
+        cells[numCells] = new IntCell(record.m_pos);
+        cells[numCells + 1] = new IntCell(record.m_index);
+        if (numRightCells > 0) {
+            System.arraycopy(record.m_rightCells, 0, cells, numCells + 2, numRightCells);
+        }
+        return new DefaultRow(RowKey.createRowKey(index), cells);
+    }
+
+    private Record readSpillRow(final DataRow row, final InDataPort port) {
+        int numCells = m_inputSettings.getJoiningIndices(port).size();
+        int pos = ((IntValue)row.getCell(numCells)).getIntValue();
+        DataCell[] cells = new DataCell[numCells];
+        for (int i = 0; i < numCells; i++) {
+            cells[i] = pos < 0 || pos == i ? row.getCell(i) : WildCardCell.getDefault();
+        }
+        int index = ((IntValue)row.getCell(numCells + 1)).getIntValue();
+        DataCell[] rightCells = null;
+        if (InDataPort.Right.equals(port)) {
+            rightCells = new DataCell[row.getNumCells() - numCells - 2];
+            for (int i = 0; i < rightCells.length; i++) {
+                rightCells[i] = row.getCell(numCells + 2 + i);
+            }
+        }
+        return new Record(new JoinTuple(cells), pos, index, rightCells);
+    }
+
+    /** A join tuple of a row together with the data needed to create the joined rows. */
+    private static final class Record {
+        private final JoinTuple m_tuple;
+
+        /** The index of the join column of the tuple in the match any case, -1 otherwise. */
+        private final int m_pos;
+
+        private final int m_index;
+
+        /** The cells of a right row as stored in an {@link OutputRow}, null for left rows. */
+        private final DataCell[] m_rightCells;
+
+        Record(final JoinTuple tuple, final int pos, final int index, final DataCell[] rightCells) {
+            m_tuple = tuple;
+            m_pos = pos;
+            m_index = index;
+            m_rightCells = rightCells;
+        }
+    }
+
+    /** A partition of the build records, either held in memory or spilled to disk. */
+    private final class Partition {
+        private Map<JoinTuple, List<Record>> m_table = new HashMap<JoinTuple, List<Record>>();
+
+        /** The number of records in memory. */
+        private long m_size;
+
+        private boolean m_isSpilled;
+
+        /** The spill files, indexed by the ordinal of the {@link InDataPort}. */
+        private final BufferedDataContainer[] m_spill = new BufferedDataContainer[2];
+
+        private final long[] m_numSpilled = new long[2];
+
+        void add(final Record record) {
+            List<Record> records = m_table.get(record.m_tuple);
+            if (records == null) {
+                records = new ArrayList<Record>(1);
+                m_table.put(record.m_tuple, records);
+            }
+            records.add(record);
+            m_size++;
+        }
+
+        void spill(final Record record, final InDataPort port) {
+            int p = port.ordinal();
+            if (m_spill[p] == null) {
+                m_spill[p] = m_exec.createDataContainer(m_spillSpecs[p], false, 0);
+            }
+            m_spill[p].addRowToTable(createSpillRow(m_numSpilled[p]++, record));
+        }
+
+        long getNumSpilled() {
+            return m_numSpilled[0] + m_numSpilled[1];
+        }
+
+        /** @return the spilled records of the given table or null if there are none */
+        BufferedDataTable close(final InDataPort port) {
+            BufferedDataContainer cont = m_spill[port.ordinal()];
+            if (cont == null) {
+                return null;
+            }
+            m_spill[port.ordinal()] = null;
+            cont.close();
+            return cont.getTable();
+        }
+    }
+
+    /** Iterates the records of an input table or of a spill file. */
+    private final class RecordIterator implements Iterator<Record> {
+        private final Iterator<DataRow> m_rows;
+
+        private final InDataPort m_port;
+
+        private final boolean m_isSpill;
+
+        private final double m_numRecords;
+
+        private final Deque<Record> m_pending = new ArrayDeque<Record>();
+
+        private int m_rowIndex;
+
+        private long m_numRecordsRead;
+
+        RecordIterator(final BufferedDataTable table, final InDataPort port, final boolean isSpill) {
+            m_rows = table.iterator();
+            m_port = port;
+            m_isSpill = isSpill;
+            long numRecords = table.size();
+            if (!isSpill && m_matchAny) {
+                numRecords *= m_inputSettings.getJoiningIndices(port).size();
+            }
+            m_numRecords = Math.max(1, numRecords);
+        }
+
+        InDataPort getPort() {
+            return m_port;
+        }
+
+        long getNumRecordsRead() {
+            return m_numRecordsRead;
+        }
+
+        double getProgress() {
+            return Math.min(1.0, m_numRecordsRead / m_numRecords);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean hasNext() {
+            return !m_pending.isEmpty() || m_rows.hasNext();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Record next() {
+            if (m_pending.isEmpty()) {
+                DataRow row = m_rows.next();
+                if (m_isSpill) {
+                    m_numRecordsRead++;
+                    return readSpillRow(row, m_port);
+                }
+                int index = m_rowIndex++;
+                InputRow inputRow = new InputRow(row, index, m_port, m_inputSettings);
+                DataCell[] rightCells =
+                    InDataPort.Right.equals(m_port) ? OutputRow.getRightCells(row, m_outputSettings) : null;
+                JoinTuple[] tuples = inputRow.getJoinTuples();
+                for (int i = 0; i < tuples.length; i++) {
+                    m_pending.add(new Record(tuples[i], m_matchAny ? i : -1, index, rightCells));
+                }
+            }
+            m_numRecordsRead++;
+            return m_pending.poll();
+        }
+    }
+
+    /** Splits the records into lists of a fixed number of records. */
+    private static final class ChunkIterator implements Iterator<List<Record>> {
+
+        private final Iterator<Record> m_records;
+
+        private final int m_chunkSize;
+
+        ChunkIterator(final Iterator<Record> records, final int chunkSize) {
+            m_records = records;
+            m_chunkSize = chunkSize;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean hasNext() {
+            return m_records.hasNext();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public List<Record> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final List<Record> chunk = new ArrayList<Record>(m_chunkSize);
+            while (chunk.size() < m_chunkSize && m_records.hasNext()) {
+                chunk.add(m_records.next());
+            }
+            return chunk;
+        }
+    }
+
+    /** The result of probing a chunk of records. */
+    private static final class ProbeResult {
+        /** The matching build records, aligned with {@link #m_probeMatches}. */
+        private final List<Record> m_buildMatches = new ArrayList<Record>();
+
+        private final List<Record> m_probeMatches = new ArrayList<Record>();
+
+        private final List<Record> m_unmatched = new ArrayList<Record>();
+
+        private final List<Record> m_spilled = new ArrayList<Record>();
+
+        private int m_numRecords;
+    }
+
+    /**
+     * Probes chunks of records concurrently against the partitions. The results are added to the join container
+     * and the spill files in the order of the chunks.
+     */
+    private final class Prober extends MultiThreadWorker<List<Record>, ProbeResult> {
+
+        private final Partition[] m_partitions;
+
+        private final RecordIterator m_records;
+
+        private final InDataPort m_probePort;
+
+        private final int m_usedBits;
+
+        private final int m_bits;
+
+        private final ExecutionMonitor m_monitor;
+
+        private long m_numProcessed;
+
+        Prober(final int maxQueueSize, final int maxActiveInstanceSize, final Partition[] partitions,
+            final RecordIterator records, final int usedBits, final int bits, final ExecutionMonitor monitor) {
+            super(maxQueueSize, maxActiveInstanceSize);
+            m_partitions = partitions;
+            m_records = records;
+            m_probePort = records.getPort();
+            m_usedBits = usedBits;
+            m_bits = bits;
+            m_monitor = monitor;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected ProbeResult compute(final List<Record> chunk, final long index) throws Exception {
+            final ProbeResult result = new ProbeResult();
+            for (Record record : chunk) {
+                if (record.m_tuple.hasMissingCell()) {
+                    result.m_unmatched.add(record);
+                    continue;
+                }
+                Partition partition = m_partitions[getPartition(record.m_tuple, m_usedBits, m_bits)];
+                if (partition.m_isSpilled) {
+                    result.m_spilled.add(record);
+                    continue;
+                }
+                List<Record> matches = partition.m_table.get(record.m_tuple);
+                if (matches == null) {
+                    result.m_unmatched.add(record);
+                    continue;
+                }
+                for (Record match : matches) {
+                    result.m_buildMatches.add(match);
+                    result.m_probeMatches.add(record);
+                }
+            }
+            result.m_numRecords = chunk.size();
+            return result;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void processFinished(final ComputationTask task)
+                throws ExecutionException, CancellationException, InterruptedException {
+            final ProbeResult result = task.get(); // exception falls through
+            boolean probeIsLeft = InDataPort.Left.equals(m_probePort);
+            for (int i = 0; i < result.m_probeMatches.size(); i++) {
+                Record build = result.m_buildMatches.get(i);
+                Record probe = result.m_probeMatches.get(i);
+                if (probeIsLeft) {
+                    addMatch(probe, build);
+                } else {
+                    addMatch(build, probe);
+                }
+            }
+            for (Record record : result.m_unmatched) {
+                addUnmatched(record, m_probePort);
+            }
+            for (Record record : result.m_spilled) {
+                m_partitions[getPartition(record.m_tuple, m_usedBits, m_bits)].spill(record, m_probePort);
+            }
+            m_numProcessed += result.m_numRecords;
+            m_monitor.setProgress(Math.min(1.0, m_numProcessed / m_records.m_numRecords));
+            try {
+                m_monitor.checkCanceled();
+            } catch (CanceledExecutionException cee) {
+                throw new CancellationException();
+            }
+        }
+    }
+}
@@ -69,6 +69,34 @@ public JoinTuple(final DataCell[] cells) {
         m_cells = cells;
     }
 
+    /**
+     * @return The number of cells in this tuple.
+     */
+    int getNumCells() {
+        return m_cells.length;
+    }
+
+    /**
+     * @param index The index of the cell.
+     * @return The cell at the given index.
+     */
+    DataCell getCell(final int index) {
+        return m_cells[index];
+    }
+
+    /**
+     * @return <code>true</code> if one of the cells is missing. Such a tuple
+     * does not match any other tuple.
+     */
+    boolean hasMissingCell() {
+        for (DataCell cell : m_cells) {
+            if (cell.isMissing()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -49,16 +49,13 @@
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeSet;
 
 import org.knime.base.data.sort.SortedTable;
 import org.knime.base.node.preproc.joiner.Joiner2Settings.CompositionMode;
@@ -75,13 +72,10 @@
 import org.knime.core.data.def.DoubleCell;
 import org.knime.core.data.def.IntCell;
 import org.knime.core.data.def.StringCell;
-import org.knime.core.data.util.memory.MemoryAlertSystem;
-import org.knime.core.data.util.memory.MemoryAlertSystem.MemoryActionIndicator;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.InvalidSettingsException;
-import org.knime.core.node.NodeLogger;
 import org.knime.core.node.util.ConvenienceMethods;
 import org.knime.core.util.UniqueNameGenerator;
 
@@ -91,10 +85,6 @@
  * @author Heiko Hofer
  */
 public final class Joiner {
-    /** Logger to print debug info to. */
-    private static final NodeLogger LOGGER = NodeLogger
-    .getLogger(Joiner.class);
-
     private final DataTableSpec m_leftDataTableSpec;
     private final DataTableSpec m_rightDataTableSpec;
 
@@ -111,13 +101,6 @@ public final class Joiner {
      */
     private boolean m_matchAny;
 
-    /**
-     * This field is only used when (m_retainLeft && m_matchAny) is true. It
-     * holds the row indices of the left table that did not match to a row
-     * of the right table.
-     */
-    private Set<Integer> m_globalLeftOuterJoins;
-
     private InputRow.Settings m_inputDataRowSettings;
     private OutputRow.Settings m_outputDataRowSettings;
 
@@ -131,20 +114,23 @@ public final class Joiner {
     private final List<String> m_configWarnings;
     private final List<String> m_runtimeWarnings;
 
-    private int m_numBits;
-    private int m_bitMask;
-
-    /** The initial number of partitions the rows are read in. If not all
-     * partitions fit in main memory, they are joined subsequently using as
-     * much memory as possible.
+    /** The initial number of partitions the rows are hashed in. Partitions
+     * that do not fit in main memory are spilled to disk and joined
+     * subsequently.
      */
     private int m_numBitsInitial = 6;
-    /** The maximal number of partitions (changed in testing routines). */
+    /** The maximal number of hash bits used for partitioning, partitions
+     * that are still too large are joined block-wise (changed in testing
+     * routines).
+     */
     private int m_numBitsMaximal = Integer.SIZE;
 
     /** Only used for testcases, simulates an out-of-memory event after that many rows added in memory. */
     private int m_rowsAddedBeforeForcedOOM;
 
+    /** The number of probe rows joined by a single task (changed in testing routines). */
+    private int m_chunkSize = HybridHashJoin.DEFAULT_CHUNK_SIZE;
+
     /**
      * Creates a new instance.
      *
@@ -489,10 +475,6 @@ public BufferedDataTable computeJoinTable(
             compareDuplicates(leftTable, rightTable, duplicates);
         }
 
-        BufferedDataTable outerTable = rightTable;
-        BufferedDataTable innerTable = leftTable;
-
-
         m_retainRight = JoinMode.RightOuterJoin.equals(m_settings.getJoinMode())
             || JoinMode.FullOuterJoin.equals(m_settings.getJoinMode());
         m_retainLeft = JoinMode.LeftOuterJoin.equals(m_settings.getJoinMode())
@@ -505,14 +487,6 @@ public BufferedDataTable computeJoinTable(
             .equals(CompositionMode.MatchAny)
             && m_settings.getLeftJoinColumns().length > 1;
 
-        if (m_retainLeft && m_matchAny) {
-            m_globalLeftOuterJoins = new HashSet<Integer>();
-            for (int i = 0; i < leftTable.getRowCount(); i++) {
-                m_globalLeftOuterJoins.add(i);
-            }
-        }
-
-
         m_inputDataRowSettings = createInputDataRowSettings(leftTable,
                 rightTable);
         int[] rightSurvivors = getIndicesOf(rightTable, m_rightSurvivors);
@@ -520,52 +494,20 @@ public BufferedDataTable computeJoinTable(
                 rightTable.getDataTableSpec(),
                 rightSurvivors);
 
-        /* numBits -> numPartitions
-         * 0 -> 1
-         * 1 -> 2
-         * 2 -> 4
-         * 3 -> 8
-         * 4 -> 16
-         * 5 -> 32
-         * 6 -> 64
-         * 7 -> 128
-         */
-        m_numBits = m_numBitsInitial;
-        int numPartitions = 0x0001 << m_numBits;
-        m_bitMask = 0;
-        for (int i = 0; i < m_numBits; i++) {
-            m_bitMask += 0x0001 << i;
-        }
-
-        Set<Integer> pendingParts = new TreeSet<Integer>();
-        for (int i = 0; i < numPartitions; i++) {
-            pendingParts.add(i);
-        }
-
-
         JoinContainer joinCont = new JoinContainer(
                 m_outputDataRowSettings);
 
         double[] progressIntervals = new double[] {0.6, 0.2, 0.2};
         exec.setProgress(0.0);
-        while (pendingParts.size() > 0) {
-            Collection<Integer> processedParts = performJoin(
-                    innerTable, outerTable,
-                    joinCont, pendingParts, exec, progressIntervals[0]);
-            pendingParts.removeAll(processedParts);
-        }
-
-
-        if (m_retainLeft && m_matchAny) {
-            // Add left outer joins
-            int c = 0;
-            for (Integer index : m_globalLeftOuterJoins) {
-                DataRow outRow = OutputRow.createDataRow(c, index, -1,
-                        m_outputDataRowSettings);
-                joinCont.addLeftOuter(outRow, exec);
-                c++;
-            }
-        }
+        HybridHashJoin hashJoin = new HybridHashJoin(
+                leftTable.getDataTableSpec(), rightTable.getDataTableSpec(),
+                m_inputDataRowSettings, m_outputDataRowSettings,
+                m_retainLeft, m_retainRight, m_matchAny, m_chunkSize);
+        hashJoin.setNumBits(m_numBitsInitial, m_numBitsMaximal);
+        hashJoin.setMaxOpenFiles(m_settings.getMaxOpenFiles());
+        hashJoin.setRowsAddedBeforeOOM(m_rowsAddedBeforeForcedOOM);
+        hashJoin.join(leftTable, rightTable, joinCont,
+                exec.createSubExecutionContext(progressIntervals[0]));
         joinCont.close();
 
         // numbers are needed to report progress more precisely
@@ -618,377 +560,6 @@ public BufferedDataTable computeJoinTable(
         return oc.getTable();
     }
 
-    /** This method start with reading the partitions of the left table defined
-     * in currParts. If memory is low, partitions will be skipped or the
-     * number of partitions will be raised which leads to smaller partitions.
-     * Successfully read partitions will be joined. The return collection
-     * defines the successfully processed partitions.
-     *
-     * @param leftTable The inner input table.
-     * @param rightTable The right input table.
-     * @param outputContainer The container used for storing matches.
-     * @param pendingParts The parts that are not processed yet.
-     * @param exec The execution context.
-     * @param progressDiff The difference in the progress monitor.
-     * @return The partitions that were successfully processed (read + joined).
-     * @throws CanceledExecutionException when execution is canceled
-     */
-    private Collection<Integer> performJoin(
-            final BufferedDataTable leftTable,
-            final BufferedDataTable rightTable,
-            final JoinContainer outputContainer,
-            final Collection<Integer> pendingParts,
-            final ExecutionContext exec,
-            final double progressDiff) throws CanceledExecutionException  {
-        // Update increment for reporting progress
-        double progress = exec.getProgressMonitor().getProgress();
-        double numRows = leftTable.size() + rightTable.size();
-        double inc = (progressDiff - progress) / numRows;
-
-        Collection<Integer> currParts = new ArrayList<Integer>();
-        currParts.addAll(pendingParts);
-        setMessage("Read", exec, pendingParts, currParts);
-
-        // Partition left table
-        Map <Integer, Map<JoinTuple, Set<Integer>>> leftTableHashed =
-            new HashMap<Integer, Map<JoinTuple, Set<Integer>>>();
-        // This is only used when m_leftRetain is true and m_matchAny is false.
-        // It holds the row indices of the left table that do not match to
-        // any row of the right table
-        Map <Integer, Set<Integer>> leftOuterJoins =
-            new HashMap<Integer, Set<Integer>>();
-
-        MemoryActionIndicator memIndicator = MemoryAlertSystem.getInstance().newIndicator();
-
-        int counter = 0;
-        long rowsAdded = 0;
-        CloseableRowIterator leftIter = leftTable.iterator();
-        while (leftIter.hasNext()) {
-            exec.checkCanceled();
-            boolean saveToAddMoreRows =
-                !memIndicator.lowMemoryActionRequired()
-                    && ((m_rowsAddedBeforeForcedOOM == 0)
-                            || (rowsAdded % m_rowsAddedBeforeForcedOOM != (m_rowsAddedBeforeForcedOOM - 1)));
-
-            if (saveToAddMoreRows) {
-                DataRow row = leftIter.next();
-                InputRow inputDataRow = new InputRow(row, counter,
-                        InputRow.Settings.InDataPort.Left,
-                        m_inputDataRowSettings);
-
-                for (JoinTuple tuple : inputDataRow.getJoinTuples()) {
-                    int partition = tuple.hashCode() & m_bitMask;
-                    if (currParts.contains(partition)) {
-                        addRow(leftTableHashed, leftOuterJoins,
-                                partition, tuple, inputDataRow);
-                        rowsAdded++;
-                    }
-                }
-                counter++;
-                // report progress
-                progress += inc;
-                exec.getProgressMonitor().setProgress(progress);
-            } else {
-                rowsAdded++;
-
-                // Build list of partitions that are not empty
-                List<Integer> nonEmptyPartitions = new ArrayList<Integer>();
-                for (Integer i : currParts) {
-                    if (null != leftTableHashed.get(i)) {
-                        nonEmptyPartitions.add(i);
-                    }
-                }
-                int numNonEmpty = nonEmptyPartitions.size();
-                if (numNonEmpty > 1) {
-                    // remove input partitions to free memory
-                    List<Integer> removeParts = new ArrayList<Integer>();
-                    for (int i = 0; i < numNonEmpty / 2; i++) {
-                        removeParts.add(nonEmptyPartitions.get(i));
-                    }
-                    // remove collected data of the no longer processed
-                    for (int i : removeParts) {
-                        leftTableHashed.remove(i);
-                        if (m_retainLeft && !m_matchAny) {
-                            leftOuterJoins.remove(i);
-                        }
-                    }
-                    currParts.removeAll(removeParts);
-                    LOGGER.debug("Skip partitions while "
-                            + "reading inner table. Currently Processed: "
-                            + currParts + ". Skip: " + removeParts);
-                    // update increment for reporting progress
-                    numRows += leftTable.size() + rightTable.size();
-                    inc = (progressDiff - progress) / numRows;
-
-                    setMessage("Read", exec, pendingParts, currParts);
-                } else if (nonEmptyPartitions.size() == 1) {
-                    if (m_numBits < m_numBitsMaximal) {
-                        LOGGER.debug("Increase number of partitions while "
-                                + "reading inner table. Currently "
-                                + "Processed: " + nonEmptyPartitions);
-
-                        // increase number of partitions
-                        m_numBits = m_numBits + 1;
-                        m_bitMask = m_bitMask | (0x0001 << (m_numBits - 1));
-                        Set<Integer> pending = new TreeSet<Integer>();
-                        pending.addAll(pendingParts);
-                        pendingParts.clear();
-                        for (int i : pending) {
-                            pendingParts.add(i);
-                            int ii = i | (0x0001 << (m_numBits - 1));
-                            pendingParts.add(ii);
-                        }
-
-                        int currPart = nonEmptyPartitions.iterator().next();
-                        currParts.clear();
-                        currParts.add(currPart);
-                        // update chunk size
-                        retainPartitions(leftTableHashed, leftOuterJoins,
-                                currPart);
-                        // update increment for reporting progress
-                        numRows += leftTable.size() + rightTable.size();
-                        inc = (progressDiff - progress) / numRows;
-
-                        setMessage("Read", exec, pendingParts, currParts);
-                    } else {
-                        // We have now 2^32 partitions.
-                        // We can only keep going and hope that other nodes
-                        // may free some memory.
-                        LOGGER.warn("Memory is low. "
-                            + "I have no chance to free memory. This may "
-                            + "cause an endless loop.");
-                    }
-                } else if (nonEmptyPartitions.size() < 1) {
-                    // We have only empty partitions.
-                    // Other node consume to much memory,
-                    // we cannot free more memory
-                    LOGGER.warn("Memory is low. "
-                            + "I have no chance to free memory. This may "
-                            + "cause an endless loop.");
-                }
-            }
-        }
-
-        setMessage("Join", exec, pendingParts, currParts);
-        // Join with outer table
-        joinInMemory(leftTableHashed, leftOuterJoins,
-                currParts, rightTable,
-                outputContainer,
-                exec, inc);
-
-
-        // Log which parts were successfully joined
-        for (int part : currParts) {
-            int numTuples = leftTableHashed.get(part) != null
-            ? leftTableHashed.get(part).values().size() : 0;
-            LOGGER.debug("Joined " + part + " with "
-                    + numTuples + " tuples.");
-        }
-
-        // Garbage collector has problems without this explicit clearance.
-        leftTableHashed.clear();
-        leftOuterJoins.clear();
-
-        // return successfully joined parts
-        return currParts;
-    }
-
-    /**
-     * @param exec
-     * @param pendingParts
-     * @param currParts
-     */
-    private void setMessage(final String activity,
-            final ExecutionContext exec,
-            final Collection<Integer> pendingParts,
-            final Collection<Integer> currParts) {
-        exec.setMessage(activity + " " + currParts.size()
-                + " parts | Pending : "
-                + (pendingParts.size() - currParts.size())
-                + " parts | Total: "
-                + (1 << m_numBits)
-                + " parts.");
-    }
-
-    /**
-     * Called when the number of partitions is doubled. The innerHash is
-     * traversed and only those entries that are in the given part are
-     * retained. The innerIndexMap is build up so that it contains only
-     * the entries that are in the given part.
-     */
-    private void retainPartitions(
-            final Map<Integer, Map<JoinTuple, Set<Integer>>> innerHash,
-            final Map<Integer, Set<Integer>> innerIndexMap,
-            final int part) {
-        innerIndexMap.clear();
-
-        Map<JoinTuple, Set<Integer>> thisInnerHash = innerHash.get(part);
-        for (Iterator<JoinTuple> iter = thisInnerHash.keySet().iterator();
-        iter.hasNext();) {
-            JoinTuple tuple = iter.next();
-            int index = tuple.hashCode() & m_bitMask;
-            if (index != part) {
-                iter.remove();
-            } else if (m_retainLeft && !m_matchAny) {
-                Set<Integer> thisInnerIndexMap = innerIndexMap.get(index);
-                if (null == thisInnerIndexMap) {
-                    thisInnerIndexMap = new HashSet<Integer>();
-                    innerIndexMap.put(index, thisInnerIndexMap);
-                }
-                for (Integer rowIndex : thisInnerHash.get(tuple)) {
-                    thisInnerIndexMap.add(rowIndex);
-                }
-            }
-        }
-    }
-
-    /**
-     * Add a row to innerHash and innerIndexMap.
-     * @param partition The index of the partition.
-     * @param joinTuple The join tuples of the row.
-     * @param row The row to be added.
-     */
-    private void addRow(
-            final Map <Integer, Map<JoinTuple, Set<Integer>>> leftTableHashed,
-            final Map <Integer, Set<Integer>> leftOuterJoins,
-            final int partition, final JoinTuple joinTuple,
-            final InputRow row) {
-        if (m_retainLeft  && !m_matchAny) {
-            Set<Integer> indices = leftOuterJoins.get(partition);
-            if (null == indices) {
-                indices = new HashSet<Integer>();
-                leftOuterJoins.put(partition, indices);
-            }
-            indices.add(row.getIndex());
-        }
-
-        Map<JoinTuple, Set<Integer>> partTuples =
-            leftTableHashed.get(partition);
-        if (null == partTuples) {
-            partTuples = new HashMap<JoinTuple, Set<Integer>>();
-            leftTableHashed.put(partition, partTuples);
-        }
-
-
-        Set<Integer> c = partTuples.get(joinTuple);
-        if (null != c) {
-            c.add(row.getIndex());
-        } else {
-            Set<Integer> list = new HashSet<Integer>();
-            list.add(row.getIndex());
-            partTuples.put(joinTuple, list);
-        }
-
-
-    }
-
-
-    /**
-     * Join given rows in memory and append joined row to the outputCont.
-     *
-     * @param leftTableHashed Stores the rows of the left input table in parts.
-     * @param leftOuterJoins The same number as found in leftTableHashed used
-     * for left outer joins.
-     * @param currParts The parts of the outer table that will be joined.
-     * @param rightTable The outer table.
-     * @param outputCont The joined rows will be added to this container.
-     * @param exec The {@link ExecutionContext}
-     * @param incProgress The progress increment.
-     * @throws CanceledExecutionException When execution is canceled
-     */
-    private void joinInMemory(
-            final Map <Integer, Map<JoinTuple, Set<Integer>>> leftTableHashed,
-            final Map <Integer, Set<Integer>> leftOuterJoins,
-            final Collection<Integer> currParts,
-            final BufferedDataTable rightTable,
-            final JoinContainer outputCont,
-            final ExecutionContext exec,
-            final double incProgress) throws CanceledExecutionException {
-        double progress = exec.getProgressMonitor().getProgress();
-        int counter = 0;
-        for (DataRow dataRow : rightTable) {
-            progress += incProgress;
-            exec.getProgressMonitor().setProgress(progress);
-            exec.checkCanceled();
-
-            InputRow rightRow = new InputRow(dataRow, counter,
-                    InputRow.Settings.InDataPort.Right,
-                    m_inputDataRowSettings);
-
-            boolean matchFoundForRightRow = false;
-            boolean deferMatch = false;
-
-            for (JoinTuple joinTuple : rightRow.getJoinTuples()) {
-                int partition = joinTuple.hashCode() & m_bitMask;
-                if (!currParts.contains(partition)) {
-                    deferMatch = true;
-                    // skip and defer non-match when partition is not in the current partitions
-                    continue;
-                }
-
-                Map<JoinTuple, Set<Integer>> leftTuples =
-                    leftTableHashed.get(partition);
-                if (null == leftTuples) {
-                    // skip and check for outer join when the left table does not have rows that fall
-                    // in this partition
-                    deferMatch = false;
-                    continue;
-                }
-
-                Set<Integer> localLeftOuterJoins = null;
-                if (m_retainLeft  && !m_matchAny) {
-                    localLeftOuterJoins = leftOuterJoins.get(partition);
-                }
-
-                Set<Integer> leftRows = leftTuples.get(joinTuple);
-                if (null != leftRows) {
-                    matchFoundForRightRow = true;
-                    for (Integer leftRowIndex : leftRows) {
-                        // add inner join
-                        DataRow outRow = OutputRow.createDataRow(
-                                outputCont.getRowCount(),
-                                leftRowIndex, rightRow.getIndex(),
-                                dataRow,
-                                m_outputDataRowSettings);
-                        outputCont.addMatch(outRow, exec);
-                        if (m_retainLeft && !m_matchAny) {
-                            localLeftOuterJoins.remove(leftRowIndex);
-                        }
-                        if (m_retainLeft && m_matchAny) {
-                            m_globalLeftOuterJoins.remove(leftRowIndex);
-                        }
-                    }
-                }
-            }
-
-
-            if (m_retainRight && !matchFoundForRightRow && !deferMatch) {
-                long outRowIndex = outputCont.getRowCount();
-                // add right outer join
-                DataRow outRow = OutputRow.createDataRow(outRowIndex,
-                        -1, rightRow.getIndex(),
-                        dataRow,
-                        m_outputDataRowSettings);
-                outputCont.addRightOuter(outRow, exec);
-            }
-            counter++;
-        }
-
-        if (m_retainLeft && !m_matchAny) {
-            for (int partition : leftOuterJoins.keySet()) {
-                for (Integer row : leftOuterJoins.get(partition)) {
-                    // add left outer join
-                    DataRow outRow = OutputRow.createDataRow(
-                            outputCont.getRowCount(),
-                            row, -1,
-                            m_outputDataRowSettings);
-                    outputCont.addLeftOuter(outRow, exec);
-                }
-            }
-        }
-
-    }
-
     private List<Integer> getLeftJoinIndices(
             final BufferedDataTable leftTable) {
         // Create list of indices for the joining columns (Element of the list
@@ -1225,7 +796,8 @@ void setRowsAddedBeforeOOM(final int maxRows) {
 
     /**
      * Used for testing, only.
-     * @param bits number of initial partitions will be 2^bits
+     * @param bits number of initial partitions will be 2^bits (bounded by
+     * the maximal number of open files)
      */
     void setNumBitsInitial(final int bits) {
         m_numBitsInitial = bits;
@@ -1233,11 +805,20 @@ void setNumBitsInitial(final int bits) {
 
     /**
      * Used for testing, only.
-     * @param bits number of maximal partitions will be 2^numBits
+     * @param bits number of hash bits used for partitioning, larger
+     * partitions are joined block-wise
      */
     void setNumBitsMaximal(final int bits) {
         m_numBitsMaximal = bits;
     }
 
+    /**
+     * Used for testing, only.
+     * @param chunkSize number of probe rows joined by a single task
+     */
+    void setChunkSize(final int chunkSize) {
+        m_chunkSize = chunkSize;
+    }
+
 }
 
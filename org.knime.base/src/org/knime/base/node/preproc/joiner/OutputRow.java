@@ -47,6 +47,7 @@
  */
 package org.knime.base.node.preproc.joiner;
 
+import java.util.Arrays;
 import java.util.Comparator;
 
 import org.knime.core.data.DataCell;
@@ -92,23 +93,50 @@ static DataRow createDataRow(final long index,
             final long leftIndex, final long rightIndex,
             final DataRow rightDataRow,
             final OutputRow.Settings settings) {
+        return createDataRow(index, leftIndex, rightIndex,
+            getRightCells(rightDataRow, settings));
+    }
 
-        int[] survivors = settings.getSurvivors();
+    /**
+     * Create a {@link DataRow} that stores information of a inner or
+     * outer joins.
+     *
+     * @param index The index of this row.
+     * @param leftIndex The index of the left row.
+     * @param rightIndex The index of the right row.
+     * @param rightCells The cells of the right row as returned by
+     * {@link #getRightCells(DataRow, Settings)}.
+     * @return New instance of {@link DataRow} populated with the given
+     * information.
+     */
+    static DataRow createDataRow(final long index,
+            final long leftIndex, final long rightIndex,
+            final DataCell[] rightCells) {
+        DataCell[] cells = Arrays.copyOf(rightCells, rightCells.length + 2);
+        cells[rightCells.length] = new LongCell(leftIndex);
+        cells[rightCells.length + 1] = new LongCell(rightIndex);
+        RowKey rowID = new RowKey(Long.toString(index));
+        return new DefaultRow(rowID, cells);
+    }
 
-        DataCell[] cells =
-                new DataCell[survivors.length + 3];
-        int c = 0;
+    /**
+     * Extracts the part of the right row that is stored in an
+     * {@link OutputRow}, i.e. the surviving cells followed by the row key.
+     *
+     * @param rightDataRow The right row.
+     * @param settings The common settings object.
+     * @return The surviving cells and the row key of the right row.
+     */
+    static DataCell[] getRightCells(final DataRow rightDataRow,
+            final OutputRow.Settings settings) {
+        int[] survivors = settings.getSurvivors();
+        DataCell[] cells = new DataCell[survivors.length + 1];
         for (int i = 0; i < survivors.length; i++) {
-            cells[c] = rightDataRow.getCell(survivors[i]);
-            c++;
+            cells[i] = rightDataRow.getCell(survivors[i]);
         }
-        cells[c] = new StringCell(rightDataRow.getKey().getString());
-        c++;
-        cells[c] = new LongCell(leftIndex);
-        c++;
-        cells[c] = new LongCell(rightIndex);
-        RowKey rowID = new RowKey(Long.toString(index));
-        return  new DefaultRow(rowID, cells);
+        cells[survivors.length] =
+            new StringCell(rightDataRow.getKey().getString());
+        return cells;
     }
 
     /**
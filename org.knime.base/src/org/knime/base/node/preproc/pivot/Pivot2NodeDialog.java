@@ -199,6 +199,9 @@ protected JComponent createAdvancedOptionsBox() {
         ++c.gridx;
         rootPanel.add(createHiliteDialog().getComponentPanel(), c);
 
+        ++c.gridx;
+        rootPanel.add(createHashAggregationDialog().getComponentPanel(), c);
+
         return rootPanel;
     }
 
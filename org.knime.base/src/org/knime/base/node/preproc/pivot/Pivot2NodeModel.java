@@ -438,23 +438,25 @@ protected PortObject[] execute(final PortObject[] inData, final ExecutionContext
         ExecutionContext groupExec = exec.createSubExecutionContext(0.25);
         ExecutionContext pivotExec = exec.createSubExecutionContext(0.25);
 
+        // the in memory and hash aggregation don't return the groups sorted by the group&pivot columns
+        final boolean unsortedGroups = isProcessInMemory() || isHashAggregation();
         double progMainTotal = 0.0;
-        double progMainTableAppendIndexForSort = isProcessInMemory() || isRetainOrder() ? 1.0 : 0.0;
+        double progMainTableAppendIndexForSort = unsortedGroups || isRetainOrder() ? 1.0 : 0.0;
         progMainTotal += progMainTableAppendIndexForSort;
         double progMainTableGroup = 5.0;
         progMainTotal += progMainTableGroup;
-        double progMainTableInMemSort = isProcessInMemory() ? 3.0 : 0.0;
+        double progMainTableInMemSort = unsortedGroups ? 3.0 : 0.0;
         progMainTotal += progMainTableInMemSort;
         double progMainTableGetPivots = 1.0;
         progMainTotal += progMainTableGetPivots;
         double progMainTableFillPivots = 1.0;
         progMainTotal += progMainTableFillPivots;
-        double progMainTableRestoreSort = isProcessInMemory() || isRetainOrder() ? 1.0 : 0.0;
+        double progMainTableRestoreSort = unsortedGroups || isRetainOrder() ? 1.0 : 0.0;
         progMainTotal += progMainTableRestoreSort;
-        double progMainTableReplaceRowKey = isProcessInMemory() ? 1.0 : 0.0;
+        double progMainTableReplaceRowKey = unsortedGroups ? 1.0 : 0.0;
         progMainTotal += progMainTableReplaceRowKey;
 
-        if (isProcessInMemory() || isRetainOrder()) {
+        if (unsortedGroups || isRetainOrder()) {
             exec.setMessage("Keeping row order");
             final String retainOrderCol = DataTableSpec.getUniqueColumnName(table.getDataTableSpec(), "#pivot_order#");
             // append temp. id column with minimum-aggregation method
@@ -480,9 +482,9 @@ protected PortObject[] execute(final PortObject[] inData, final ExecutionContext
                     appTable, groupAndPivotCols, isProcessInMemory(),
                     false /* retain order always false; handled by pivoting */, Arrays.asList(aggrs));
             // table is not sorted by group&pivot columns; if process in memory
-            // true then sort table by group&pivot columns
+            // or hash aggregation is true then sort table by group&pivot columns
             final BufferedDataTable origGroupByTable = groupByTable.getBufferedTable();
-            if (isProcessInMemory()) {
+            if (unsortedGroups) {
                 exec.setMessage("Sorting group table");
                 //ensure that missing values are at the end by setting the boolean flag
                 final BufferedDataTableSorter sortedGroupByTable = new BufferedDataTableSorter(origGroupByTable,
@@ -547,8 +549,8 @@ appTable, groupAndPivotCols, isProcessInMemory(),
             pivotTable = exec.createColumnRearrangeTable(pivotTable, colre, exec.createSilentSubProgress(0.0));
         }
         // temp fix for bug 3286
-        if (isProcessInMemory()) {
-            // if process in memory is true, RowKey's needs to be re-computed
+        if (unsortedGroups) {
+            // if process in memory or hash aggregation is true, RowKey's needs to be re-computed
             final BufferedDataContainer rowkeyBuf =
                 groupAndPivotExec.createSubExecutionContext(progMainTableReplaceRowKey / progMainTotal)
                     .createDataContainer(pivotTable.getSpec());
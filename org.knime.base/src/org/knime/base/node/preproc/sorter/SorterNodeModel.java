@@ -173,6 +173,9 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
         BufferedDataTableSorter sorter = new BufferedDataTableSorter(
                 inData[INPORT], m_inclList, m_sortOrder, m_missingToEnd);
         sorter.setSortInMemory(m_sortInMemory);
+        // sorts and writes chunks in the background and merges with read-ahead, using threads of the global pool
+        // (output is identical to the sequential mode)
+        sorter.setParallel(Runtime.getRuntime().availableProcessors() > 1);
         BufferedDataTable sortedTable = sorter.sort(exec);
 
         return new BufferedDataTable[]{sortedTable};
@@ -0,0 +1,171 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.container.BlobCache.BlobCacheStatistics;
+import org.knime.core.data.container.BlobDataCell.BlobAddress;
+
+/**
+ * Tests for {@link BlobCache}, using a null buffer as the cache doesn't access it.
+ *
+ * @author agent
+ */
+public class BlobCacheTest {
+
+    private static final BlobDataCell CELL = new TestBlobCell();
+
+    private static BlobAddress createAddress(final int index) {
+        BlobAddress address = new BlobAddress(0, 0, false);
+        address.setIndexOfBlobInColumn(index);
+        return address;
+    }
+
+    /** Adds more than the budget, least recently accessed entries are evicted. */
+    @Test
+    public void testEviction() {
+        // entries are 1000 bytes each (including overhead), budget fits 10
+        BlobCache cache = new BlobCache(10000);
+        for (int i = 0; i < 10; i++) {
+            cache.put(null, createAddress(i), CELL, 872);
+        }
+        assertEquals(10, cache.getStatistics().getEntryCount());
+        cache.get(null, createAddress(0)); // most recently accessed now
+        cache.put(null, createAddress(10), CELL, 872);
+        BlobCacheStatistics stats = cache.getStatistics();
+        assertTrue("Too many entries: " + stats,
+            stats.getUsedBytes() <= 10000L * BlobCache.EVICTION_TARGET_PERCENT / 100);
+        assertEquals(stats.getEntryCount() * 1000L, stats.getUsedBytes());
+        assertEquals(11 - stats.getEntryCount(), stats.getEvictionCount());
+        assertNotNull("most recently accessed entry evicted", cache.get(null, createAddress(0)));
+        assertNotNull("last added entry evicted", cache.get(null, createAddress(10)));
+        assertNull("eldest entry not evicted", cache.get(null, createAddress(1)));
+    }
+
+    /** Concurrent insertions wait for the evicting thread, the budget holds once all of them returned.
+     * @throws Exception ... */
+    @Test
+    public void testConcurrentPutWithinBudget() throws Exception {
+        final BlobCache cache = new BlobCache(10000);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final int offset = t * 1000;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        cache.put(null, createAddress(offset + i), CELL, 872);
+                        assertTrue(cache.getStatistics().getUsedBytes() <= 10000 + 4 * 1000);
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        BlobCacheStatistics stats = cache.getStatistics();
+        assertTrue("Budget exceeded: " + stats, stats.getUsedBytes() <= 10000);
+        assertEquals(stats.getEntryCount() * 1000L, stats.getUsedBytes());
+        assertEquals(4000 - stats.getEntryCount(), stats.getEvictionCount());
+    }
+
+    /** Hit and miss counters. */
+    @Test
+    public void testStatistics() {
+        BlobCache cache = new BlobCache(10000);
+        cache.put(null, createAddress(0), CELL, 0);
+        cache.get(null, createAddress(0));
+        cache.get(null, createAddress(0));
+        cache.get(null, createAddress(1));
+        BlobCacheStatistics stats = cache.getStatistics();
+        assertEquals(2, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(2 / 3.0, stats.getHitRate(), 1e-9);
+        cache.clear();
+        assertEquals(0, cache.getStatistics().getEntryCount());
+        assertEquals(0, cache.getStatistics().getUsedBytes());
+    }
+
+    /** Minimal blob cell. */
+    @SuppressWarnings("serial")
+    private static final class TestBlobCell extends BlobDataCell {
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString() {
+            return "Test blob";
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected boolean equalsDataCell(final DataCell dc) {
+            return dc == this;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+    }
+
+}
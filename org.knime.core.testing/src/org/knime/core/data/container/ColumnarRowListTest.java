@@ -0,0 +1,112 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataType;
+import org.knime.core.data.MissingCell;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Tests for {@link ColumnarRowList}.
+ *
+ * @author agent
+ */
+public class ColumnarRowListTest {
+
+    private static final int ROW_COUNT = 1000;
+
+    private static DataCell[] createCells(final int i) {
+        DataCell missing = DataType.getMissingCell();
+        return new DataCell[]{i % 5 == 0 ? missing : new IntCell(i), //
+            new LongCell(Long.MAX_VALUE - i), //
+            i % 3 == 0 ? missing : new DoubleCell(i / 3.0), //
+            BooleanCell.get(i % 2 == 0), //
+            i % 4 == 0 ? missing : new StringCell("String " + i), //
+            i < 100 ? new IntCell(i) : new DoubleCell(i), // falls back to cell array
+            i < 130 ? missing : new StringCell("Late " + i), // all missing in first rows
+            i == 500 ? new MissingCell("error") : new IntCell(i)}; // missing cell with error message
+    }
+
+    /** Adds and reads rows, including columns that switch to the cell array storage. */
+    @Test
+    public void testAddAndGet() {
+        ColumnarRowList list = new ColumnarRowList(8, 1);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            list.add(new BlobSupportDataRow(new RowKey("Row" + i), createCells(i)));
+        }
+        assertEquals(ROW_COUNT, list.size());
+        for (int i = 0; i < ROW_COUNT; i++) {
+            DataCell[] expected = createCells(i);
+            BlobSupportDataRow row = list.get(i);
+            assertEquals(new RowKey("Row" + i), row.getKey());
+            for (int c = 0; c < expected.length; c++) {
+                assertEquals("Row " + i + ", column " + c, expected[c], row.getCell(c));
+            }
+        }
+        assertSame(DataType.getMissingCell(), list.get(0).getCell(0));
+    }
+
+    /** Index out of range. */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfRange() {
+        ColumnarRowList list = new ColumnarRowList(1);
+        list.add(new BlobSupportDataRow(new RowKey("Row0"), new DataCell[]{new IntCell(0)}));
+        list.get(1);
+    }
+
+}
@@ -0,0 +1,222 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.FileOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.UnmaterializedCell;
+import org.knime.core.data.container.storage.AbstractTableStoreReader.TableStoreCloseableRowIterator;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.NodeSettings;
+
+/**
+ * Round trip tests for {@link ColumnarTableStoreFormat}.
+ *
+ * @author agent
+ */
+public class ColumnarTableStoreFormatTest {
+
+    private static final DataTableSpec SPEC = new DataTableSpec(
+        new String[]{"int", "long", "double", "boolean", "string", "mixed"}, new DataType[]{IntCell.TYPE,
+            LongCell.TYPE, DoubleCell.TYPE, BooleanCell.TYPE, StringCell.TYPE, DoubleCell.TYPE});
+
+    private static final int ROW_COUNT = 50;
+
+    private File m_file;
+
+    private NodeSettings m_settings;
+
+    /** Writes the test table using a small chunk size.
+     * @throws Exception ... */
+    @Before
+    public void setUp() throws Exception {
+        m_file = File.createTempFile("columnar-test", new ColumnarTableStoreFormat().getFilenameSuffix());
+        m_settings = new NodeSettings("format");
+        ColumnarTableStoreWriter writer =
+            new ColumnarTableStoreWriter(SPEC, new FileOutputStream(m_file), true, 7);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            writer.writeRow(createRow(i));
+        }
+        writer.close();
+        writer.writeMetaInfoAfterWrite(m_settings);
+    }
+
+    /** Deletes temp file. */
+    @After
+    public void tearDown() {
+        m_file.delete();
+    }
+
+    private static DataRow createRow(final int i) {
+        DataCell missing = DataType.getMissingCell();
+        return new DefaultRow("Row" + i, //
+            i % 5 == 0 ? missing : new IntCell(i), //
+            new LongCell(Long.MAX_VALUE - i), //
+            i % 3 == 0 ? missing : new DoubleCell(i / 3.0), //
+            BooleanCell.get(i % 2 == 0), //
+            i % 4 == 0 ? missing : new StringCell("String " + i), //
+            i % 2 == 0 ? new IntCell(i) : new DoubleCell(i)); // no primitive encoding
+    }
+
+    private ColumnarTableStoreReader createReader() throws Exception {
+        ColumnarTableStoreReader reader =
+            new ColumnarTableStoreReader(m_file, SPEC, m_settings, Buffer.IVERSION, true);
+        reader.setBufferAndDataRepository(null, NotInWorkflowDataRepository.newInstance());
+        return reader;
+    }
+
+    /** Reads all columns.
+     * @throws Exception ... */
+    @Test
+    public void testReadAll() throws Exception {
+        try (TableStoreCloseableRowIterator it = createReader().iteratorBuilder().build()) {
+            for (int i = 0; i < ROW_COUNT; i++) {
+                DataRow expected = createRow(i);
+                DataRow actual = it.next();
+                assertEquals(expected.getKey(), actual.getKey());
+                for (int c = 0; c < SPEC.getNumColumns(); c++) {
+                    assertEquals("Row " + i + ", column " + c, expected.getCell(c), actual.getCell(c));
+                }
+            }
+            assertFalse(it.hasNext());
+        }
+    }
+
+    /** Reads a subset of the columns, others must not be materialized.
+     * @throws Exception ... */
+    @Test
+    public void testReadFiltered() throws Exception {
+        try (TableStoreCloseableRowIterator it = createReader().iteratorBuilder().filterColumns(2, 4).build()) {
+            int i = 0;
+            while (it.hasNext()) {
+                DataRow expected = createRow(i);
+                DataRow actual = it.next();
+                assertSame(UnmaterializedCell.getInstance(), actual.getCell(0));
+                assertEquals(expected.getCell(2), actual.getCell(2));
+                assertEquals(expected.getCell(4), actual.getCell(4));
+                assertSame(UnmaterializedCell.getInstance(), actual.getCell(5));
+                i++;
+            }
+            assertEquals(ROW_COUNT, i);
+        }
+    }
+
+    /** Accesses rows by index, in random order and across chunk boundaries.
+     * @throws Exception ... */
+    @Test
+    public void testGetRow() throws Exception {
+        ColumnarTableStoreReader reader = createReader();
+        for (int i : new int[]{ROW_COUNT - 1, 0, 6, 7, 8, 23, 22, ROW_COUNT - 1}) {
+            DataRow expected = createRow(i);
+            DataRow actual = reader.getRow(i);
+            assertEquals(expected.getKey(), actual.getKey());
+            for (int c = 0; c < SPEC.getNumColumns(); c++) {
+                assertEquals("Row " + i + ", column " + c, expected.getCell(c), actual.getCell(c));
+            }
+        }
+    }
+
+    /** Clearing the reader drops the cached (mapped) chunks, subsequent access re-reads them.
+     * @throws Exception ... */
+    @Test
+    public void testGetRowAfterClear() throws Exception {
+        ColumnarTableStoreReader reader = createReader();
+        assertEquals(createRow(7).getCell(0), reader.getRow(7).getCell(0));
+        reader.clearIteratorInstances();
+        for (int i : new int[]{7, ROW_COUNT - 1}) {
+            assertEquals("Row " + i, createRow(i).getCell(0), reader.getRow(i).getCell(0));
+        }
+    }
+
+    /** Row index out of range.
+     * @throws Exception ... */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetRowOutOfRange() throws Exception {
+        createReader().getRow(ROW_COUNT);
+    }
+
+    /** Reads a subset of the columns and rows, predicate is applied on the column-filtered row.
+     * @throws Exception ... */
+    @Test
+    public void testReadFilteredRows() throws Exception {
+        try (TableStoreCloseableRowIterator it = createReader().iteratorBuilder().filterColumns(0)
+            .filterRows(r -> !r.getCell(0).isMissing()).build()) {
+            int count = 0;
+            for (int i = 0; i < ROW_COUNT; i++) {
+                DataCell expected = createRow(i).getCell(0);
+                if (!expected.isMissing()) {
+                    DataRow actual = it.next();
+                    assertEquals(expected, actual.getCell(0));
+                    assertSame(UnmaterializedCell.getInstance(), actual.getCell(1));
+                    count++;
+                }
+            }
+            assertFalse(it.hasNext());
+            assertEquals(ROW_COUNT - ROW_COUNT / 5, count);
+        }
+    }
+
+}
@@ -64,7 +64,6 @@
 import java.util.stream.IntStream;
 
 import org.apache.commons.lang3.RandomStringUtils;
-import org.eclipse.core.runtime.Platform;
 import org.junit.Assume;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
@@ -208,6 +207,33 @@ public void testMemoryAlertWhileWrite() throws Exception {
         }
     }
 
+    public void testTableCacheEvictAndRestore() throws Exception {
+        DataContainer container = new DataContainer(SPEC_STR_INT_DBL, true, 1000000);
+        int count = 1000;
+        for (RowIterator it = generateRows(count); it.hasNext();) {
+            container.addRowToTable(it.next());
+        }
+        container.close();
+        final Buffer buffer = container.getBufferedTable().getBuffer();
+        assertFalse(buffer.usesOutFile());
+        TableCache.TableCacheStatistics before = TableCache.getInstance().getStatistics();
+        buffer.evictFromMemory();
+        assertTrue(buffer.usesOutFile());
+        // read from disc and restored into memory
+        for (int i = 0; i < 2; i++) {
+            RowIterator referenceIterator = generateRows(count);
+            for (DataRow row : container.getTable()) {
+                assertEquals(referenceIterator.next(), row);
+            }
+            assertFalse(referenceIterator.hasNext());
+            assertFalse(buffer.usesOutFile());
+        }
+        TableCache.TableCacheStatistics after = TableCache.getInstance().getStatistics();
+        assertEquals(before.getMissCount() + 1, after.getMissCount());
+        assertEquals(before.getHitCount() + 1, after.getHitCount());
+        container.dispose();
+    }
+
     public final void testMemoryAlertWhileRestore() throws Exception {
         DataContainer container = new DataContainer(SPEC_STR_INT_DBL, true, /* no rows in mem */ 0, false);
         int count = 100000;
@@ -691,29 +717,38 @@ public void testTableDomain() {
         assertEquals(max, r3Cell2);
     }
 
-    public void testAsyncWriteLimits() throws Exception {
+    /** Many containers open at the same time all write asynchronously (queued to the shared IO threads) and
+     * produce correct tables.
+     * @throws Exception ... */
+    public void testManyConcurrentAsyncContainers() throws Exception {
         Assume.assumeTrue(!DataContainer.SYNCHRONOUS_IO);
-        final int limit = Platform.ARCH_X86.equals(Platform.getOSArch()) ? 10 : 50;
-        Assert.assertEquals(limit, DataContainer.MAX_ASYNC_WRITE_THREADS);
-        RowIterator infinitIterator = generateRows(Integer.MAX_VALUE);
+        final int containerCount = 4 * TableIOScheduler.getInstance().getMaxThreadCount() + 10;
+        final int rowCount = 500;
         List<DataContainer> containerList = new ArrayList<DataContainer>();
-        try {
-            boolean isAsync;
-            do {
-                int activeCount = DataContainer.ASYNC_EXECUTORS.getActiveCount();
-                DataContainer c = new DataContainer(SPEC_STR_INT_DBL, true, 0);
-                c.addRowToTable(infinitIterator.next());
-                // no activeCount is incremented by one - so order of two lines is important.
-                containerList.add(c);
-                isAsync = activeCount <= limit;
-                assertEquals("unexpected async write behavior, active thread count is " + activeCount,
-                    isAsync, !c.isSynchronousWrite());
-            } while (isAsync);
-        } finally {
-            for (DataContainer c : containerList) {
-                c.close();
+        for (int i = 0; i < containerCount; i++) {
+            DataContainer c = new DataContainer(SPEC_STR_INT_DBL, true, 0);
+            assertFalse("container writes synchronously", c.isSynchronousWrite());
+            containerList.add(c);
+        }
+        List<RowIterator> iterators = new ArrayList<RowIterator>();
+        for (int i = 0; i < containerCount; i++) {
+            iterators.add(generateRows(rowCount));
+        }
+        for (int r = 0; r < rowCount; r++) {
+            for (int i = 0; i < containerCount; i++) {
+                containerList.get(i).addRowToTable(iterators.get(i).next());
+            }
+        }
+        for (DataContainer c : containerList) {
+            c.close();
+            RowIterator expected = generateRows(rowCount);
+            for (DataRow row : c.getTable()) {
+                assertEquals(expected.next(), row);
             }
+            assertFalse(expected.hasNext());
+            c.dispose();
         }
+        assertEquals(0, TableIOScheduler.getInstance().getQueueDepth());
     }
 
     /**
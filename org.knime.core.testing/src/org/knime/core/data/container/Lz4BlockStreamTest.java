@@ -0,0 +1,138 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Round trip tests for {@link Lz4BlockOutputStream} and {@link Lz4BlockInputStream}.
+ *
+ * @author agent
+ */
+public class Lz4BlockStreamTest {
+
+    private static byte[] roundTrip(final byte[] data) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream out = new Lz4BlockOutputStream(compressed)) {
+            // mix single byte and array writes
+            int i = 0;
+            while (i < data.length) {
+                if (i % 3 == 0) {
+                    out.write(data[i++]);
+                } else {
+                    int length = Math.min(data.length - i, 1000 + i % 5000);
+                    out.write(data, i, length);
+                    i += length;
+                }
+            }
+        }
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (InputStream in = new Lz4BlockInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            byte[] buffer = new byte[777];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                result.write(buffer, 0, read);
+            }
+        }
+        return result.toByteArray();
+    }
+
+    /** Random (incompressible) data, stored blocks.
+     * @throws Exception ... */
+    @Test
+    public void testRandomData() throws Exception {
+        byte[] data = new byte[3 * Lz4BlockOutputStream.BLOCK_SIZE + 17];
+        new Random(42).nextBytes(data);
+        assertArrayEquals(data, roundTrip(data));
+    }
+
+    /** Repetitive data, including long runs (overlapping matches).
+     * @throws Exception ... */
+    @Test
+    public void testRepetitiveData() throws Exception {
+        byte[] data = new byte[5 * Lz4BlockOutputStream.BLOCK_SIZE];
+        Random r = new Random(42);
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte)(i < data.length / 2 ? r.nextInt(4) : (i / 1000));
+        }
+        assertArrayEquals(data, roundTrip(data));
+    }
+
+    /** Empty and tiny inputs.
+     * @throws Exception ... */
+    @Test
+    public void testSmallData() throws Exception {
+        assertArrayEquals(new byte[0], roundTrip(new byte[0]));
+        assertArrayEquals(new byte[]{1, 2, 3}, roundTrip(new byte[]{1, 2, 3}));
+        byte[] data = new byte[20];
+        assertArrayEquals(data, roundTrip(data));
+    }
+
+    /** Compressible data must actually be compressed. */
+    @Test
+    public void testCompresses() {
+        byte[] data = new byte[Lz4BlockOutputStream.BLOCK_SIZE];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte)(i % 7);
+        }
+        byte[] compressed = new byte[Lz4Codec.maxCompressedLength(data.length)];
+        int length = new Lz4Codec().compress(data, 0, data.length, compressed, 0);
+        assertTrue("Not compressed: " + length, length < data.length / 10);
+    }
+
+}
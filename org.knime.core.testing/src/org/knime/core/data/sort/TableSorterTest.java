@@ -70,6 +70,7 @@
 import org.knime.core.data.def.IntCell;
 import org.knime.core.data.def.StringCell;
 import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.node.BufferedDataContainer;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.DefaultNodeProgressMonitor;
@@ -128,7 +129,7 @@ public void tearDown() throws Exception {
      */
     @Test
     public final void testLowMemoryRun() throws CanceledExecutionException {
-        runMemoryTest(100, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        runMemoryTest(100, Integer.MAX_VALUE, Integer.MAX_VALUE, false);
     }
 
     /**
@@ -137,12 +138,50 @@ public final void testLowMemoryRun() throws CanceledExecutionException {
      */
     @Test
     public final void testMultiStageMerge() throws CanceledExecutionException {
-        runMemoryTest(100, 5, 8);
+        runMemoryTest(100, 5, 8, false);
+    }
+
+    /**
+     * Multi stage merge in parallel mode.
+     * @throws CanceledExecutionException
+     */
+    @Test
+    public final void testMultiStageMergeParallel() throws CanceledExecutionException {
+        runMemoryTest(1000, 50, 8, true);
+    }
+
+    /**
+     * Sorts in memory in parallel mode (segments sorted by pool threads and merged), equal rows must keep their order.
+     * @throws CanceledExecutionException
+     */
+    @Test
+    public final void testInMemoryParallelIsStable() throws CanceledExecutionException {
+        BufferedDataContainer cont = m_exec.createDataContainer(
+            new DataTableSpec(new String[]{"Index"}, new DataType[]{IntCell.TYPE}));
+        Random rand = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            cont.addRowToTable(new DefaultRow(Integer.toString(i), new IntCell(rand.nextInt(100))));
+        }
+        cont.close();
+        BufferedDataTable bdt = cont.getTable();
+        BufferedDataTableSorter sorter =
+            new BufferedDataTableSorter(bdt, Arrays.asList("Index"), new boolean[] {true});
+        sorter.setSortInMemory(true);
+        BufferedDataTable defaultResult = sorter.sort(m_exec);
+        sorter.setParallel(true);
+        BufferedDataTable result = sorter.sort(m_exec);
+
+        Assert.assertEquals(defaultResult.size(), result.size());
+        RowIterator defaultIter = defaultResult.iterator();
+        RowIterator iter = result.iterator();
+        while (defaultIter.hasNext()) {
+            Assert.assertEquals(defaultIter.next().getKey(), iter.next().getKey());
+        }
     }
 
     private void runMemoryTest(final int numRows,
             final int maxNumRowsPerContainer,
-            final int maxOpenContainers) throws CanceledExecutionException {
+            final int maxOpenContainers, final boolean parallel) throws CanceledExecutionException {
         // Create data with fields that consume a lot memory
         DataTable inputTable = new TestData(numRows, 1);
 
@@ -156,6 +195,7 @@ private void runMemoryTest(final int numRows,
 
 
         sorter.setMaxRows(maxNumRowsPerContainer);
+        sorter.setParallel(parallel);
         // 10MB free memory
         long currentlyUsed = MemoryAlertSystem.getUsedMemory();
         double fraction = Math.min(1, (currentlyUsed + (10 << 20)) / (double)MemoryAlertSystem.getMaximumMemory());
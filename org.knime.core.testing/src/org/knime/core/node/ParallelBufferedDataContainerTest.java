@@ -0,0 +1,171 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.node;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+import org.knime.core.util.DuplicateKeyException;
+
+/**
+ * Tests for {@link ParallelBufferedDataContainer}.
+ *
+ * @author agent
+ */
+public class ParallelBufferedDataContainerTest {
+
+    private static final DataTableSpec SPEC =
+        new DataTableSpec(new String[]{"index"}, new DataType[]{IntCell.TYPE});
+
+    private ExecutionContext m_exec;
+
+    /** Creates execution context. */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Before
+    public void setUp() {
+        NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheSmallInMemory, new HashMap<Integer, ContainerTable>());
+    }
+
+    private static DataRow createRow(final int index) {
+        return new DefaultRow("Row" + index, new IntCell(index));
+    }
+
+    /** Threads add interleaved indices, result must be in index order.
+     * @throws Exception ... */
+    @Test
+    public void testConcurrentAdd() throws Exception {
+        final int rowCount = 25000;
+        final int threadCount = 4;
+        ParallelBufferedDataContainer container = m_exec.createParallelDataContainer(SPEC, false, 1000);
+        ExecutorService service = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threadCount; t++) {
+                final int offset = t;
+                futures.add(service.submit(() -> {
+                    for (int i = offset; i < rowCount; i += threadCount) {
+                        container.addRowToTable(i, createRow(i));
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            service.shutdown();
+        }
+        container.close();
+        BufferedDataTable table = container.getTable();
+        assertEquals(rowCount, table.size());
+        try (CloseableRowIterator it = table.iterator()) {
+            for (int i = 0; i < rowCount; i++) {
+                assertEquals(createRow(i), it.next());
+            }
+            assertFalse(it.hasNext());
+        }
+        IntCell lowerBound = (IntCell)table.getDataTableSpec().getColumnSpec(0).getDomain().getLowerBound();
+        assertEquals(0, lowerBound.getIntValue());
+    }
+
+    /** Indices with gaps, added in reverse order.
+     * @throws Exception ... */
+    @Test
+    public void testGapsAndReverseOrder() throws Exception {
+        ParallelBufferedDataContainer container = m_exec.createParallelDataContainer(SPEC, false, 10);
+        for (int i = 99; i >= 0; i -= 3) {
+            container.addRowToTable(i, createRow(i));
+        }
+        container.close();
+        try (CloseableRowIterator it = container.getTable().iterator()) {
+            for (int i = 0; i <= 99; i += 3) {
+                assertEquals(createRow(i), it.next());
+            }
+            assertFalse(it.hasNext());
+        }
+    }
+
+    /** Same row key in different chunks. */
+    @Test(expected = DuplicateKeyException.class)
+    public void testDuplicateKeyAcrossChunks() {
+        ParallelBufferedDataContainer container = m_exec.createParallelDataContainer(SPEC, false, 10);
+        container.addRowToTable(0, createRow(0));
+        container.addRowToTable(15, createRow(0));
+        container.close();
+    }
+
+    /** Same index added twice. */
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicateIndex() {
+        ParallelBufferedDataContainer container = m_exec.createParallelDataContainer(SPEC, false, 10);
+        container.addRowToTable(3, createRow(3));
+        container.addRowToTable(3, createRow(4));
+    }
+
+}
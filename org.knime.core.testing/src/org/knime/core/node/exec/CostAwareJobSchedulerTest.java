@@ -0,0 +1,296 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.node.exec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.node.ResourceDemandingNodeModel;
+import org.knime.core.node.workflow.NodeContainer;
+import org.knime.core.node.workflow.NodeID;
+import org.knime.core.node.workflow.WorkflowContext;
+import org.knime.core.node.workflow.WorkflowCreationHelper;
+import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.core.node.workflow.WorkflowTestCase;
+import org.knime.core.node.workflow.node.adapter.AdapterNodeFactory;
+import org.knime.core.node.workflow.node.adapter.AdapterNodeModel;
+import org.knime.core.util.FileUtil;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Tests the priorities computed by the {@link CostAwareJobScheduler} on a diamond shaped workflow and the holding back
+ * of nodes with resource demands.
+ *
+ * @author agent
+ */
+public class CostAwareJobSchedulerTest extends WorkflowTestCase {
+
+    private File m_workflowDirectory;
+
+    private WorkflowManager m_wfm;
+
+    private ThreadPool m_pool;
+
+    @Before
+    public void setUp() throws Exception {
+        m_workflowDirectory = FileUtil.createTempDir(getClass().getSimpleName());
+        final WorkflowCreationHelper creationHelper = new WorkflowCreationHelper();
+        creationHelper.setWorkflowContext(new WorkflowContext.Factory(m_workflowDirectory).createContext());
+        m_wfm = WorkflowManager.ROOT.createAndAddProject(getClass().getSimpleName(), creationHelper);
+        setManager(m_wfm);
+        m_pool = new ThreadPool(4);
+    }
+
+    /**
+     * Diamond a -&gt; b -&gt; d and a -&gt; c -&gt; e -&gt; d: the priority of a node is its own expected duration plus
+     * the largest priority of its successors, so the longer branch (c) comes first.
+     */
+    @Test
+    public void testCriticalPathPriority() {
+        NodeID a = m_wfm.addNode(new AdapterNodeFactory(true));
+        NodeID b = m_wfm.addNode(new AdapterNodeFactory());
+        NodeID c = m_wfm.addNode(new AdapterNodeFactory());
+        NodeID e = m_wfm.addNode(new AdapterNodeFactory());
+        NodeID d = m_wfm.addNode(new JoinNodeFactory());
+        m_wfm.addConnection(a, 1, b, 1);
+        m_wfm.addConnection(a, 1, c, 1);
+        m_wfm.addConnection(c, 1, e, 1);
+        m_wfm.addConnection(b, 1, d, 1);
+        m_wfm.addConnection(e, 1, d, 2);
+
+        Map<NodeID, Long> cache = new HashMap<>();
+        long pa = CostAwareJobScheduler.getPriority(m_wfm.getNodeContainer(a), cache);
+        assertEquals("All downstream nodes cached", 5, cache.size());
+
+        long pd = duration(d);
+        long pe = duration(e) + pd;
+        long pc = duration(c) + pe;
+        long pb = duration(b) + pd;
+        assertEquals(pd, (long)cache.get(d));
+        assertEquals(pe, (long)cache.get(e));
+        assertEquals(pc, (long)cache.get(c));
+        assertEquals(pb, (long)cache.get(b));
+        assertEquals(duration(a) + Math.max(pb, pc), pa);
+        assertTrue("Longer branch not preferred", pc > pb);
+
+        // cached values are used, the traversal stops there
+        assertEquals(duration(b) + 1000000L, CostAwareJobScheduler.getPriority(m_wfm.getNodeContainer(b),
+            new HashMap<>(Collections.singletonMap(d, 1000000L))));
+    }
+
+    private long duration(final NodeID id) {
+        return Math.max(1L, m_wfm.getNodeContainer(id).getNodeTimer().getExpectedExecutionDuration());
+    }
+
+    /**
+     * Two nodes demanding 3 of the 4 threads of the pool: the second is held back until the first is done, a node
+     * without demands is started meanwhile.
+     * @throws Exception ...
+     */
+    @Test
+    public void testDemandingNodeHeldBack() throws Exception {
+        NodeContainer first = m_wfm.getNodeContainer(m_wfm.addNode(new DemandingNodeFactory(3)));
+        NodeContainer second = m_wfm.getNodeContainer(m_wfm.addNode(new DemandingNodeFactory(3)));
+        NodeContainer plain = m_wfm.getNodeContainer(m_wfm.addNode(new AdapterNodeFactory(true)));
+        CostAwareJobScheduler scheduler = new CostAwareJobScheduler(m_pool);
+
+        final CountDownLatch firstRunning = new CountDownLatch(1);
+        final CountDownLatch releaseFirst = new CountDownLatch(1);
+        final CountDownLatch secondRunning = new CountDownLatch(1);
+        Future<?> firstFuture = scheduler.submit(first, () -> {
+            firstRunning.countDown();
+            try {
+                releaseFirst.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(firstRunning.await(10, TimeUnit.SECONDS));
+        Future<?> secondFuture = scheduler.submit(second, secondRunning::countDown);
+        Future<?> plainFuture = scheduler.submit(plain, () -> { });
+
+        plainFuture.get(10, TimeUnit.SECONDS);
+        assertFalse("Demanding node started although its demands don't fit",
+            secondRunning.await(200, TimeUnit.MILLISECONDS));
+        releaseFirst.countDown();
+        firstFuture.get(10, TimeUnit.SECONDS);
+        secondFuture.get(10, TimeUnit.SECONDS);
+        assertEquals(0, secondRunning.getCount());
+    }
+
+    /**
+     * A canceled node that is held back is dropped, the nodes behind it are started.
+     * @throws Exception ...
+     */
+    @Test
+    public void testCanceledHeldBackNodeDropped() throws Exception {
+        NodeContainer first = m_wfm.getNodeContainer(m_wfm.addNode(new DemandingNodeFactory(3)));
+        NodeContainer second = m_wfm.getNodeContainer(m_wfm.addNode(new DemandingNodeFactory(3)));
+        CostAwareJobScheduler scheduler = new CostAwareJobScheduler(m_pool);
+
+        final CountDownLatch releaseFirst = new CountDownLatch(1);
+        Future<?> firstFuture = scheduler.submit(first, () -> {
+            try {
+                releaseFirst.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Future<?> secondFuture = scheduler.submit(second, () -> { });
+        assertTrue(secondFuture.cancel(true));
+        assertTrue(secondFuture.isDone());
+        releaseFirst.countDown();
+        firstFuture.get(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Jobs whose task is dropped by the pool (on shutdown) are done nevertheless.
+     * @throws Exception ...
+     */
+    @Test
+    public void testDroppedJobsAreDone() throws Exception {
+        ThreadPool pool = new ThreadPool(1);
+        NodeContainer blocker = m_wfm.getNodeContainer(m_wfm.addNode(new AdapterNodeFactory(true)));
+        NodeContainer queued = m_wfm.getNodeContainer(m_wfm.addNode(new AdapterNodeFactory(true)));
+        NodeContainer demanding = m_wfm.getNodeContainer(m_wfm.addNode(new DemandingNodeFactory(1, 1L)));
+        CostAwareJobScheduler scheduler = new CostAwareJobScheduler(pool);
+
+        final CountDownLatch blockerRunning = new CountDownLatch(1);
+        final CountDownLatch releaseBlocker = new CountDownLatch(1);
+        Future<?> blockerFuture = scheduler.submit(blocker, () -> {
+            blockerRunning.countDown();
+            try {
+                releaseBlocker.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(blockerRunning.await(10, TimeUnit.SECONDS));
+        Future<?> queuedFuture = scheduler.submit(queued, () -> { });
+        Future<?> demandingFuture = scheduler.submit(demanding, () -> { });
+
+        pool.shutdown();
+        assertTrue("Dropped job not done", queuedFuture.isDone());
+        assertTrue("Dropped demanding job not done", demandingFuture.isDone());
+        releaseBlocker.countDown();
+        blockerFuture.get(10, TimeUnit.SECONDS);
+    }
+
+    @Override
+    @After
+    public void tearDown() throws Exception {
+        super.tearDown();
+        FileUtil.deleteRecursively(m_workflowDirectory);
+    }
+
+    /** Node with two inputs and one output. */
+    public static final class JoinNodeFactory extends AdapterNodeFactory {
+        @Override
+        public AdapterNodeModel createNodeModel() {
+            return new AdapterNodeModel(2, 1);
+        }
+    }
+
+    /** Source node declaring resource demands. */
+    public static final class DemandingNodeFactory extends AdapterNodeFactory {
+
+        private final int m_threads;
+
+        private final long m_memory;
+
+        DemandingNodeFactory(final int threads) {
+            this(threads, 0L);
+        }
+
+        DemandingNodeFactory(final int threads, final long memory) {
+            m_threads = threads;
+            m_memory = memory;
+        }
+
+        @Override
+        public AdapterNodeModel createNodeModel() {
+            return new DemandingNodeModel(m_threads, m_memory);
+        }
+    }
+
+    private static final class DemandingNodeModel extends AdapterNodeModel implements ResourceDemandingNodeModel {
+
+        private final int m_threads;
+
+        private final long m_memory;
+
+        DemandingNodeModel(final int threads, final long memory) {
+            super(0, 1);
+            m_threads = threads;
+            m_memory = memory;
+        }
+
+        @Override
+        public int getThreadDemand() {
+            return m_threads;
+        }
+
+        @Override
+        public long getMemoryDemand() {
+            return m_memory;
+        }
+    }
+
+}
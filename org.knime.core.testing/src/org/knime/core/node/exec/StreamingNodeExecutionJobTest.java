@@ -0,0 +1,325 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.node.exec;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.streamable.InputPortRole;
+import org.knime.core.node.streamable.OutputPortRole;
+import org.knime.core.node.streamable.PartitionInfo;
+import org.knime.core.node.streamable.PortInput;
+import org.knime.core.node.streamable.PortOutput;
+import org.knime.core.node.streamable.RowInput;
+import org.knime.core.node.streamable.RowOutput;
+import org.knime.core.node.streamable.StreamableOperator;
+import org.knime.core.node.workflow.NodeContainer;
+import org.knime.core.node.workflow.NodeID;
+import org.knime.core.node.workflow.NodeMessage;
+import org.knime.core.node.workflow.WorkflowContext;
+import org.knime.core.node.workflow.WorkflowCreationHelper;
+import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.core.node.workflow.WorkflowTestCase;
+import org.knime.core.node.workflow.node.adapter.AdapterNodeFactory;
+import org.knime.core.node.workflow.node.adapter.AdapterNodeModel;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Executes a metanode containing a chain of streamable nodes with the {@link StreamingNodeExecutionJobManager}:
+ * regular execution, cancelation while the operators are running and an operator that throws an exception.
+ *
+ * @author agent
+ */
+public class StreamingNodeExecutionJobTest extends WorkflowTestCase {
+
+    private static final int ROW_COUNT = 1000;
+
+    private static final int CHAIN_LENGTH = 3;
+
+    private static final DataTableSpec SPEC =
+        new DataTableSpec(new DataColumnSpecCreator("value", IntCell.TYPE).createSpec());
+
+    /** Counted down when an operator blocks at its blocking value. */
+    private static volatile CountDownLatch blockedLatch;
+
+    /** Counted down when a blocked operator gets interrupted. */
+    private static volatile CountDownLatch interruptedLatch;
+
+    private File m_workflowDirectory;
+
+    private WorkflowManager m_metaNode;
+
+    private NodeID[] m_chain;
+
+    @Before
+    public void setUp() throws Exception {
+        blockedLatch = new CountDownLatch(1);
+        interruptedLatch = new CountDownLatch(1);
+        m_workflowDirectory = FileUtil.createTempDir(getClass().getSimpleName());
+        final WorkflowCreationHelper creationHelper = new WorkflowCreationHelper();
+        creationHelper.setWorkflowContext(new WorkflowContext.Factory(m_workflowDirectory).createContext());
+        WorkflowManager wm = WorkflowManager.ROOT.createAndAddProject(getClass().getSimpleName(), creationHelper);
+        setManager(wm);
+        m_metaNode = wm.createAndAddSubWorkflow(new PortType[0], new PortType[]{BufferedDataTable.TYPE}, "Stream");
+        wm.setJobManager(m_metaNode.getID(), StreamingNodeExecutionJobManagerFactory.INSTANCE.getInstance());
+    }
+
+    /**
+     * Creates source -&gt; increment -&gt; ... -&gt; increment -&gt; metanode output.
+     * @param failValue value on which the increment node in the middle of the chain fails, -1 for none
+     * @param blockValue value on which the increment node in the middle of the chain blocks, -1 for none
+     */
+    private void createChain(final int failValue, final int blockValue) {
+        NodeID previous = m_metaNode.addNode(new SourceNodeFactory());
+        m_chain = new NodeID[CHAIN_LENGTH];
+        for (int i = 0; i < CHAIN_LENGTH; i++) {
+            boolean isMiddle = i == CHAIN_LENGTH / 2;
+            m_chain[i] = m_metaNode.addNode(
+                new IncrementNodeFactory(isMiddle ? failValue : -1, isMiddle ? blockValue : -1));
+            m_metaNode.addConnection(previous, 1, m_chain[i], 1);
+            previous = m_chain[i];
+        }
+        m_metaNode.addConnection(previous, 1, m_metaNode.getID(), 0);
+    }
+
+    /** All rows pass the chain and arrive (materialized) at the metanode output. */
+    @Test
+    public void testChainedPipeline() throws Exception {
+        createChain(-1, -1);
+        executeAllAndWait();
+        assertTrue(m_metaNode.printNodeSummary(m_metaNode.getID(), 0),
+            m_metaNode.getNodeContainerState().isExecuted());
+        BufferedDataTable result = (BufferedDataTable)m_metaNode.getOutPort(0).getPortObject();
+        assertNotNull(result);
+        assertEquals(ROW_COUNT, result.size());
+        int expected = CHAIN_LENGTH;
+        for (DataRow r : result) {
+            assertEquals(expected++, ((IntValue)r.getCell(0)).getIntValue());
+        }
+    }
+
+    /** Canceling the job interrupts the operators, no node is executed afterwards. */
+    @Test
+    public void testCancel() throws Exception {
+        createChain(-1, ROW_COUNT / 2);
+        getManager().executeAll();
+        assertTrue("Operator did not start", blockedLatch.await(30, TimeUnit.SECONDS));
+        getManager().cancelExecution(m_metaNode);
+        assertTrue("Operator not interrupted", interruptedLatch.await(30, TimeUnit.SECONDS));
+        waitWhileInExecution();
+        assertFalse(m_metaNode.getNodeContainerState().isExecuted());
+        for (NodeID id : m_chain) {
+            NodeContainer nc = m_metaNode.getNodeContainer(id);
+            assertFalse(nc.getNameWithID(), nc.getNodeContainerState().isExecuted());
+        }
+    }
+
+    /** The exception of an operator fails the node and stops the stream. */
+    @Test
+    public void testOperatorThrows() throws Exception {
+        createChain(ROW_COUNT / 2, -1);
+        executeAllAndWait();
+        assertFalse(m_metaNode.getNodeContainerState().isExecuted());
+        NodeContainer failed = m_metaNode.getNodeContainer(m_chain[CHAIN_LENGTH / 2]);
+        assertFalse(failed.getNodeContainerState().isExecuted());
+        NodeMessage message = failed.getNodeMessage();
+        assertEquals(NodeMessage.Type.ERROR, message.getMessageType());
+        assertThat(message.getMessage(), containsString("Failing on value " + ROW_COUNT / 2));
+        // the node before only streamed its output to the failed node, its output is gone
+        NodeContainer predecessor = m_metaNode.getNodeContainer(m_chain[CHAIN_LENGTH / 2 - 1]);
+        assertFalse(predecessor.getNodeContainerState().isExecuted());
+        NodeContainer successor = m_metaNode.getNodeContainer(m_chain[CHAIN_LENGTH / 2 + 1]);
+        assertFalse(successor.getNodeContainerState().isExecuted());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @After
+    public void tearDown() throws Exception {
+        super.tearDown();
+        FileUtil.deleteRecursively(m_workflowDirectory);
+    }
+
+    /** Source of ROW_COUNT rows with values 0, 1, ... */
+    public static final class SourceNodeFactory extends AdapterNodeFactory {
+
+        @Override
+        public AdapterNodeModel createNodeModel() {
+            return new AdapterNodeModel(0, 1) {
+                @Override
+                protected PortObjectSpec[] configure(final PortObjectSpec[] inSpecs) throws InvalidSettingsException {
+                    return new PortObjectSpec[]{SPEC};
+                }
+
+                @Override
+                protected PortObject[] execute(final PortObject[] inObjects, final ExecutionContext exec)
+                    throws Exception {
+                    BufferedDataContainer cont = exec.createDataContainer(SPEC);
+                    for (int i = 0; i < ROW_COUNT; i++) {
+                        cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i)));
+                    }
+                    cont.close();
+                    return new PortObject[]{cont.getTable()};
+                }
+            };
+        }
+    }
+
+    /** Streamable node adding one to each value, optionally failing or blocking on a value. */
+    public static final class IncrementNodeFactory extends AdapterNodeFactory {
+
+        private final int m_failValue;
+
+        private final int m_blockValue;
+
+        IncrementNodeFactory(final int failValue, final int blockValue) {
+            m_failValue = failValue;
+            m_blockValue = blockValue;
+        }
+
+        @Override
+        public AdapterNodeModel createNodeModel() {
+            return new IncrementNodeModel(m_failValue, m_blockValue);
+        }
+    }
+
+    private static final class IncrementNodeModel extends AdapterNodeModel {
+
+        private final int m_failValue;
+
+        private final int m_blockValue;
+
+        IncrementNodeModel(final int failValue, final int blockValue) {
+            super(1, 1);
+            m_failValue = failValue;
+            m_blockValue = blockValue;
+        }
+
+        @Override
+        public InputPortRole[] getInputPortRoles() {
+            return new InputPortRole[]{InputPortRole.DISTRIBUTED_STREAMABLE};
+        }
+
+        @Override
+        public OutputPortRole[] getOutputPortRoles() {
+            return new OutputPortRole[]{OutputPortRole.DISTRIBUTED};
+        }
+
+        private DataRow increment(final DataRow row) throws InterruptedException {
+            int value = ((IntValue)row.getCell(0)).getIntValue();
+            if (value == m_failValue) {
+                throw new IllegalStateException("Failing on value " + value);
+            }
+            if (value == m_blockValue) {
+                blockedLatch.countDown();
+                try {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(5));
+                } catch (InterruptedException ie) {
+                    interruptedLatch.countDown();
+                    throw ie;
+                }
+            }
+            return new DefaultRow(row.getKey(), new IntCell(value + 1));
+        }
+
+        @Override
+        protected PortObject[] execute(final PortObject[] inObjects, final ExecutionContext exec) throws Exception {
+            BufferedDataContainer cont = exec.createDataContainer(SPEC);
+            for (DataRow r : (BufferedDataTable)inObjects[0]) {
+                cont.addRowToTable(increment(r));
+            }
+            cont.close();
+            return new PortObject[]{cont.getTable()};
+        }
+
+        @Override
+        public StreamableOperator createStreamableOperator(final PartitionInfo partitionInfo,
+            final PortObjectSpec[] inSpecs) throws InvalidSettingsException {
+            return new StreamableOperator() {
+                @Override
+                public void runFinal(final PortInput[] inputs, final PortOutput[] outputs, final ExecutionContext exec)
+                    throws Exception {
+                    RowInput in = (RowInput)inputs[0];
+                    RowOutput out = (RowOutput)outputs[0];
+                    DataRow row;
+                    while ((row = in.poll()) != null) {
+                        out.push(increment(row));
+                    }
+                    in.close();
+                    out.close();
+                }
+            };
+        }
+    }
+
+}
@@ -57,11 +57,17 @@
 
 import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Properties;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.zip.ZipFile;
 
@@ -512,6 +518,87 @@ public void testLoadCredentials() throws Exception {
         // does not need credentials and currently there is no node besides database nodes that uses credentials.
     }
 
+    /**
+     * Test if the server mode executes jobs from the queue directory and reports exit code and timing.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testServerMode() throws Exception {
+        final File queueDir = FileUtil.createTempDir("BatchExecutorQueue");
+        final MutableInteger ret = new MutableInteger(-1);
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                ret.setValue(BatchExecutor.mainRun(new String[]{"-server=" + queueDir.getAbsolutePath(),
+                    "-server.jobs=2"}));
+            }
+        };
+        t.start();
+
+        File csvOut2 = File.createTempFile("BatchExecutorTest", ".csv");
+        csvOut2.delete();
+        submitJob(queueDir, "first", "-workflowFile=" + standardTestWorkflowZip.getAbsolutePath(), "-nosave",
+            "-workflow.variable=destinationFile," + csvOut.getAbsolutePath() + ",String");
+        submitJob(queueDir, "second", "-workflowFile=" + standardTestWorkflowZip.getAbsolutePath(), "-nosave",
+            "-threads=1", "-workflow.variable=destinationFile," + csvOut2.getAbsolutePath() + ",String");
+        submitJob(queueDir, "invalid", "-XXXX123YYY");
+
+        Properties first = waitForResult(queueDir, "first", 60000);
+        Properties second = waitForResult(queueDir, "second", 60000);
+        Properties invalid = waitForResult(queueDir, "invalid", 60000);
+        new File(queueDir, ".stop").createNewFile();
+        t.join(10000);
+        assertFalse("Server did not stop after stop file was created", t.isAlive());
+        assertEquals("Wrong return value of server", 0, ret.intValue());
+
+        assertEquals("Wrong exit code of first job", "0", first.getProperty("exitCode"));
+        assertEquals("Wrong exit code of second job", "0", second.getProperty("exitCode"));
+        assertEquals("Wrong exit code of invalid job", Integer.toString(BatchExecutor.EXIT_ERR_PRESTART),
+            invalid.getProperty("exitCode"));
+        assertThat("Missing execution time", first.getProperty("executeTime"), is(not(nullValue())));
+        assertEquals("Wrong number of lines in written CSV file", 1001, countWrittenLines(csvOut));
+        assertEquals("Wrong number of lines in written CSV file", 1001, countWrittenLines(csvOut2));
+        assertFalse("Running file not removed", new File(queueDir, "first.running").exists());
+        csvOut2.delete();
+        FileUtil.deleteRecursively(queueDir);
+    }
+
+    /**
+     * Test if a workflow exceeding its time limit is canceled.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testTimeout() throws Exception {
+        long start = System.currentTimeMillis();
+        int ret = BatchExecutor.mainRun(new String[]{"-workflowFile=" + standardTestWorkflowZip.getAbsolutePath(),
+            "-nosave", "-timeout=2", "-workflow.variable=skipLongrunner,0,int"});
+        assertEquals("Wrong return value for timed out execution", BatchExecutor.EXIT_ERR_EXECUTION, ret);
+        assertTrue("Workflow not canceled shortly after time limit", System.currentTimeMillis() - start < 20000);
+    }
+
+    private static void submitJob(final File queueDir, final String name, final String... args) throws IOException {
+        File tmp = new File(queueDir, name + ".tmp");
+        Files.write(tmp.toPath(), Arrays.asList(args), StandardCharsets.UTF_8);
+        assertTrue("Could not submit job " + name, tmp.renameTo(new File(queueDir, name + ".job")));
+    }
+
+    private static Properties waitForResult(final File queueDir, final String name, final long timeout)
+        throws Exception {
+        File resultFile = new File(queueDir, name + ".result");
+        long end = System.currentTimeMillis() + timeout;
+        while (!resultFile.exists()) {
+            assertTrue("No result for job " + name + " after " + timeout + "ms", System.currentTimeMillis() < end);
+            Thread.sleep(200);
+        }
+        Properties props = new Properties();
+        try (InputStream in = new FileInputStream(resultFile)) {
+            props.load(in);
+        }
+        return props;
+    }
+
     private int countWrittenLines(final File outputFile) throws IOException {
         BufferedReader in = new BufferedReader(new FileReader(outputFile));
         int count = 0;
@@ -0,0 +1,177 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.node.workflow;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Tests the incremental save mode ({@link WorkflowSaveHelper#setIncrementalSave(boolean)}), which links unchanged
+ * node directories into auto-save copies. Uses the 'simplechainofnodes' workflow.
+ *
+ * @author agent
+ */
+public class IncrementalWorkflowSaveTest extends WorkflowTestCase {
+
+    private File m_workflowDir;
+
+    private File m_autoSaveDir;
+
+    private NodeID m_dataGen;
+
+    private NodeID m_rowFilter;
+
+    private NodeID m_tblView;
+
+    @Before
+    public void setUp() throws Exception {
+        m_workflowDir = FileUtil.createTempDir(getClass().getSimpleName());
+        FileUtil.copyDir(getWorkflowDirectory("simplechainofnodes"), m_workflowDir);
+        NodeID baseID = loadAndSetWorkflow(m_workflowDir);
+        m_dataGen = new NodeID(baseID, 1);
+        m_rowFilter = new NodeID(baseID, 3);
+        m_tblView = new NodeID(baseID, 4);
+        m_autoSaveDir = WorkflowSaveHelper.getAutoSaveDirectory(getManager().getNodeContainerDirectory());
+    }
+
+    /** Executes and saves the workflow, then auto-saves it twice (without and with changes in between). */
+    @Test
+    public void testAutoSaveLinksUnchangedNodes() throws Exception {
+        executeAndWait(m_tblView);
+        getManager().save(m_workflowDir, new ExecutionMonitor(), true);
+
+        WorkflowSaveHelper saveHelper = new WorkflowSaveHelper(true, true).setIncrementalSave(true);
+        getManager().save(m_autoSaveDir, saveHelper, new ExecutionMonitor());
+        assertThat("Nothing linked from working directory", saveHelper.getBytesReused(), is(greaterThan(0L)));
+        Assert.assertFalse("Temporary auto-save directory not removed",
+            new File(m_autoSaveDir.getParentFile(), m_autoSaveDir.getName() + IncrementalSaveSupport.STAGING_SUFFIX)
+                .exists());
+        Assert.assertEquals("Auto-save directory not updated", m_autoSaveDir,
+            getManager().getAutoSaveDirectory().getFile());
+
+        // changes row filter and table view, data generator remains unchanged
+        getManager().resetAndConfigureNode(m_rowFilter);
+        executeAndWait(m_tblView);
+        saveHelper = new WorkflowSaveHelper(true, true).setIncrementalSave(true);
+        getManager().save(m_autoSaveDir, saveHelper, new ExecutionMonitor());
+        assertThat("Nothing linked from working directory", saveHelper.getBytesReused(), is(greaterThan(0L)));
+        assertThat("Changed nodes not written", saveHelper.getBytesWritten(), is(greaterThan(0L)));
+
+        WorkflowManager autoSaveCopy = loadWorkflow(m_autoSaveDir, new ExecutionMonitor()).getWorkflowManager();
+        try {
+            for (NodeID id : new NodeID[]{m_dataGen, m_rowFilter, m_tblView}) {
+                NodeID idInCopy = new NodeID(autoSaveCopy.getID(), id.getIndex());
+                checkState(autoSaveCopy.getNodeContainer(idInCopy), InternalNodeContainerState.EXECUTED);
+            }
+        } finally {
+            WorkflowManager.ROOT.removeNode(autoSaveCopy.getID());
+        }
+    }
+
+    /** An auto-save interrupted between the two renames of the directory swap is recovered when loaded. */
+    @Test
+    public void testRecoverInterruptedAutoSave() throws Exception {
+        executeAndWait(m_tblView);
+        WorkflowSaveHelper saveHelper = new WorkflowSaveHelper(true, true).setIncrementalSave(true);
+        getManager().save(m_autoSaveDir, saveHelper, new ExecutionMonitor());
+
+        // state after the previous copy was renamed but before the new copy was moved into place
+        File obsolete =
+            new File(m_autoSaveDir.getParentFile(), m_autoSaveDir.getName() + IncrementalSaveSupport.OBSOLETE_SUFFIX);
+        File staging =
+            new File(m_autoSaveDir.getParentFile(), m_autoSaveDir.getName() + IncrementalSaveSupport.STAGING_SUFFIX);
+        FileUtil.copyDir(m_autoSaveDir, staging);
+        Assert.assertTrue(m_autoSaveDir.renameTo(obsolete));
+
+        WorkflowManager autoSaveCopy = loadWorkflow(m_autoSaveDir, new ExecutionMonitor()).getWorkflowManager();
+        try {
+            Assert.assertTrue("Auto-save directory not recovered", m_autoSaveDir.isDirectory());
+            Assert.assertFalse("Staging directory not moved", staging.exists());
+            Assert.assertFalse("Previous copy not deleted", obsolete.exists());
+            NodeID idInCopy = new NodeID(autoSaveCopy.getID(), m_tblView.getIndex());
+            checkState(autoSaveCopy.getNodeContainer(idInCopy), InternalNodeContainerState.EXECUTED);
+        } finally {
+            WorkflowManager.ROOT.removeNode(autoSaveCopy.getID());
+        }
+    }
+
+    /** Saving into a new location without data must not link directories containing data. */
+    @Test
+    public void testNoLinkWithoutData() throws Exception {
+        executeAndWait(m_tblView);
+        getManager().save(m_workflowDir, new ExecutionMonitor(), true);
+
+        File copyDir = FileUtil.createTempDir(getClass().getSimpleName());
+        try {
+            WorkflowSaveHelper saveHelper = new WorkflowSaveHelper(false, false).setIncrementalSave(true);
+            getManager().save(copyDir, saveHelper, new ExecutionMonitor());
+            assertThat("Directories linked although saved without data", saveHelper.getBytesReused(), is(0L));
+        } finally {
+            FileUtil.deleteRecursively(copyDir);
+        }
+    }
+
+    @Override
+    @After
+    public void tearDown() throws Exception {
+        super.tearDown();
+        FileUtil.deleteRecursively(m_autoSaveDir);
+        FileUtil.deleteRecursively(m_workflowDir);
+    }
+
+}
@@ -0,0 +1,215 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.node.workflow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.workflow.NodeProfiler.NodeProfile;
+import org.knime.core.node.workflow.node.adapter.AdapterNodeFactory;
+import org.knime.core.node.workflow.node.adapter.AdapterNodeModel;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Executes a source node and a node reading only the first rows of its input with the {@link NodeProfiler} enabled
+ * and checks the rows accounted to each node.
+ *
+ * @author agent
+ */
+public class NodeProfilerTest extends WorkflowTestCase {
+
+    private static final int SOURCE_ROWS = 100;
+
+    private static final int READ_ROWS = 10;
+
+    private static final DataTableSpec SPEC =
+        new DataTableSpec(new DataColumnSpecCreator("value", IntCell.TYPE).createSpec());
+
+    private boolean m_wasEnabled;
+
+    private File m_workflowDirectory;
+
+    private NodeID m_sourceID;
+
+    private NodeID m_headID;
+
+    @Before
+    public void setUp() throws Exception {
+        m_wasEnabled = NodeProfiler.isEnabled();
+        NodeProfiler.setEnabled(true);
+        m_workflowDirectory = FileUtil.createTempDir(getClass().getSimpleName());
+        final WorkflowCreationHelper creationHelper = new WorkflowCreationHelper();
+        creationHelper.setWorkflowContext(new WorkflowContext.Factory(m_workflowDirectory).createContext());
+        WorkflowManager wm = WorkflowManager.ROOT.createAndAddProject(getClass().getSimpleName(), creationHelper);
+        setManager(wm);
+        m_sourceID = wm.addNode(new SourceNodeFactory());
+        m_headID = wm.addNode(new HeadNodeFactory());
+        wm.addConnection(m_sourceID, 1, m_headID, 1);
+    }
+
+    /** Rows written and read (only the consumed ones) are accounted to the executing node. */
+    @Test
+    public void testRowsReadAndWritten() throws Exception {
+        executeAllAndWait();
+        checkState(m_headID, InternalNodeContainerState.EXECUTED);
+
+        NodeProfile source = getManager().getNodeContainer(m_sourceID).getNodeTimer().getProfile();
+        assertEquals(1, source.getExecutions());
+        assertEquals(0, source.getRowsRead());
+        assertEquals(SOURCE_ROWS, source.getRowsWritten());
+
+        NodeProfile head = getManager().getNodeContainer(m_headID).getNodeTimer().getProfile();
+        assertEquals(1, head.getExecutions());
+        assertEquals("Only the rows consumed count as read", READ_ROWS, head.getRowsRead());
+        assertEquals(READ_ROWS, head.getRowsWritten());
+        assertTrue(head.getWallNanos() > 0);
+    }
+
+    /** The profile is accumulated over executions. */
+    @Test
+    public void testReexecution() throws Exception {
+        executeAllAndWait();
+        reset(m_headID);
+        executeAllAndWait();
+        checkState(m_headID, InternalNodeContainerState.EXECUTED);
+
+        NodeProfile source = getManager().getNodeContainer(m_sourceID).getNodeTimer().getProfile();
+        assertEquals(1, source.getExecutions());
+        NodeProfile head = getManager().getNodeContainer(m_headID).getNodeTimer().getProfile();
+        assertEquals(2, head.getExecutions());
+        assertEquals(2 * READ_ROWS, head.getRowsRead());
+        assertEquals(2 * READ_ROWS, head.getRowsWritten());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @After
+    public void tearDown() throws Exception {
+        super.tearDown();
+        FileUtil.deleteRecursively(m_workflowDirectory);
+        NodeProfiler.setEnabled(m_wasEnabled);
+    }
+
+    /** Source node creating {@link #SOURCE_ROWS} rows. */
+    public static final class SourceNodeFactory extends AdapterNodeFactory {
+
+        @Override
+        public AdapterNodeModel createNodeModel() {
+            return new SourceNodeModel();
+        }
+    }
+
+    private static final class SourceNodeModel extends AdapterNodeModel {
+
+        SourceNodeModel() {
+            super(0, 1);
+        }
+
+        @Override
+        protected PortObjectSpec[] configure(final PortObjectSpec[] inSpecs) throws InvalidSettingsException {
+            return new PortObjectSpec[]{SPEC};
+        }
+
+        @Override
+        protected PortObject[] execute(final PortObject[] inObjects, final ExecutionContext exec) throws Exception {
+            BufferedDataContainer cont = exec.createDataContainer(SPEC);
+            for (int i = 0; i < SOURCE_ROWS; i++) {
+                cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i)));
+            }
+            cont.close();
+            return new PortObject[]{cont.getTable()};
+        }
+    }
+
+    /** Node copying the first {@link #READ_ROWS} rows of its input, closes the iterator early. */
+    public static final class HeadNodeFactory extends AdapterNodeFactory {
+
+        @Override
+        public AdapterNodeModel createNodeModel() {
+            return new HeadNodeModel();
+        }
+    }
+
+    private static final class HeadNodeModel extends AdapterNodeModel {
+
+        HeadNodeModel() {
+            super(1, 1);
+        }
+
+        @Override
+        protected PortObject[] execute(final PortObject[] inObjects, final ExecutionContext exec) throws Exception {
+            BufferedDataTable in = (BufferedDataTable)inObjects[0];
+            BufferedDataContainer cont = exec.createDataContainer(in.getDataTableSpec());
+            try (CloseableRowIterator it = in.iterator()) {
+                for (int i = 0; i < READ_ROWS && it.hasNext(); i++) {
+                    cont.addRowToTable(it.next());
+                }
+            }
+            cont.close();
+            return new PortObject[]{cont.getTable()};
+        }
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.node.workflow;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.workflow.WorkflowPersistor.LoadResultEntry.LoadResultEntryType;
+import org.knime.core.node.workflow.WorkflowPersistor.WorkflowLoadResult;
+import org.knime.core.node.workflow.node.adapter.AdapterNodeFactory;
+
+/**
+ * Loads a workflow in which the settings file of one node is broken. The settings are read by the
+ * {@link NodeSettingsPrefetcher} (if enabled), the failure must be reported for that node only and the other nodes must
+ * be loaded.
+ *
+ * @author agent
+ */
+public class NodeSettingsPrefetcherTest extends WorkflowTestCase {
+
+    private static final int NR_NODES = 5;
+
+    /** Index of the node whose settings file is broken. */
+    private static final int BROKEN_NODE = 3;
+
+    @Rule
+    public TemporaryFolder m_tempFolder = new TemporaryFolder();
+
+    private File m_workflowDir;
+
+    @Before
+    public void setUp() throws Exception {
+        m_workflowDir = m_tempFolder.newFolder(getClass().getSimpleName());
+        final WorkflowCreationHelper creationHelper = new WorkflowCreationHelper();
+        creationHelper.setWorkflowContext(new WorkflowContext.Factory(m_workflowDir).createContext());
+        WorkflowManager wm = WorkflowManager.ROOT.createAndAddProject(getClass().getSimpleName(), creationHelper);
+        setManager(wm);
+        NodeID previous = null;
+        for (int i = 0; i < NR_NODES; i++) {
+            NodeID id = wm.addNode(new AdapterNodeFactory());
+            if (previous != null) {
+                wm.addConnection(previous, 1, id, 1);
+            }
+            previous = id;
+        }
+        wm.save(m_workflowDir, new ExecutionMonitor(), true);
+        closeWorkflow();
+    }
+
+    /** The node with the broken settings file is skipped with an error, all others are loaded. */
+    @Test
+    public void testLoadWithBrokenNodeSettings() throws Exception {
+        File settingsFile = new File(findNodeDirectory(BROKEN_NODE), SingleNodeContainerPersistor.SETTINGS_FILE_NAME);
+        assertTrue("Settings file does not exist: " + settingsFile, settingsFile.isFile());
+        try (OutputStream out = new FileOutputStream(settingsFile)) {
+            out.write("<?xml version=\"1.0\"?><config".getBytes(StandardCharsets.UTF_8));
+        }
+
+        WorkflowLoadResult loadResult = loadWorkflow(m_workflowDir, new ExecutionMonitor());
+        setManager(loadResult.getWorkflowManager());
+        assertEquals(LoadResultEntryType.Error, loadResult.getType());
+        assertThat(loadResult.getFilteredError("", LoadResultEntryType.Error),
+            containsString("ID suffix " + BROKEN_NODE));
+
+        NodeID baseID = getManager().getID();
+        for (int i = 1; i <= NR_NODES; i++) {
+            NodeID id = baseID.createChild(i);
+            if (i == BROKEN_NODE) {
+                assertFalse("Node with broken settings must not be loaded", getManager().containsNodeContainer(id));
+            } else {
+                assertTrue("Node " + id + " not loaded", getManager().containsNodeContainer(id));
+            }
+        }
+    }
+
+    /** All nodes are loaded if all settings files are fine, also when loading the workflow another time. */
+    @Test
+    public void testLoadAgain() throws Exception {
+        for (int run = 0; run < 2; run++) {
+            WorkflowLoadResult loadResult = loadWorkflow(m_workflowDir, new ExecutionMonitor());
+            setManager(loadResult.getWorkflowManager());
+            assertEquals(LoadResultEntryType.Ok, loadResult.getType());
+            assertEquals(NR_NODES, getManager().getNodeContainers().size());
+            closeWorkflow();
+        }
+    }
+
+    private File findNodeDirectory(final int nodeIndex) {
+        File[] dirs = m_workflowDir.listFiles(f -> f.isDirectory() && f.getName().endsWith("(#" + nodeIndex + ")"));
+        assertEquals("Node directory of node #" + nodeIndex, 1, dirs.length);
+        return dirs[0];
+    }
+
+}
@@ -0,0 +1,372 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.node.workflow;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.BufferedDataTableHolder;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.workflow.node.adapter.AdapterNodeFactory;
+import org.knime.core.node.workflow.node.adapter.AdapterNodeModel;
+import org.knime.core.node.workflow.virtual.parchunk.ParallelizedChunkContentMaster;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkNodeInput;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Runs a parallel chunk loop whose body node holds its output as internal table, once with the copied loop body and
+ * once with {@link KNIMEConstants#PROPERTY_LIGHTWEIGHT_PARALLEL_CHUNKS} set (chunks run by
+ * {@link ParallelChunkBodyExecutor}), and compares the result with the sequentially computed one.
+ *
+ * @author agent
+ */
+public class ParallelChunkBodyExecutorTest extends WorkflowTestCase {
+
+    private static final int NR_CHUNKS = 6;
+
+    private static final int ROWS_PER_CHUNK = 50;
+
+    private static final DataTableSpec SPEC =
+        new DataTableSpec(new DataColumnSpecCreator("value", IntCell.TYPE).createSpec());
+
+    /** Value on which the body node fails, negative for none. */
+    private static volatile int failOnValue = -1;
+
+    private File m_workflowDirectory;
+
+    private NodeID m_startID;
+
+    private NodeID m_endID;
+
+    @Before
+    public void setUp() throws Exception {
+        m_workflowDirectory = FileUtil.createTempDir(getClass().getSimpleName());
+        final WorkflowCreationHelper creationHelper = new WorkflowCreationHelper();
+        creationHelper.setWorkflowContext(new WorkflowContext.Factory(m_workflowDirectory).createContext());
+        WorkflowManager wm = WorkflowManager.ROOT.createAndAddProject(getClass().getSimpleName(), creationHelper);
+        setManager(wm);
+        m_startID = wm.addNode(new ChunkStartNodeFactory());
+        NodeID holderID = wm.addNode(new TableHolderNodeFactory());
+        m_endID = wm.addNode(new ChunkEndNodeFactory());
+        wm.addConnection(m_startID, 1, holderID, 1);
+        wm.addConnection(holderID, 1, m_endID, 1);
+    }
+
+    /** Standard execution, loop body copied for each chunk. */
+    @Test
+    public void testCopiedChunks() throws Exception {
+        runAndCompare(false);
+    }
+
+    /** Chunks run on fresh node instances without copying the loop body. */
+    @Test
+    public void testLightweightChunks() throws Exception {
+        runAndCompare(true);
+        // chunk data must remain valid after the workflow has been reset and executed again
+        reset(m_startID);
+        runAndCompare(true);
+    }
+
+    /** A failure in a chunk must be reported by the end node. */
+    @Test
+    public void testLightweightChunkFailure() throws Exception {
+        failOnValue = (NR_CHUNKS - 2) * ROWS_PER_CHUNK + 3;
+        String oldValue = System.setProperty(KNIMEConstants.PROPERTY_LIGHTWEIGHT_PARALLEL_CHUNKS, "true");
+        try {
+            executeAllAndWait();
+        } finally {
+            restoreProperty(oldValue);
+        }
+        assertFalse(getManager().getNodeContainer(m_endID).getNodeContainerState().isExecuted());
+        NodeMessage message = getManager().getNodeContainer(m_endID).getNodeMessage();
+        assertEquals(NodeMessage.Type.ERROR, message.getMessageType());
+        assertThat(message.getMessage(), containsString("Failing on value " + failOnValue));
+    }
+
+    private void runAndCompare(final boolean lightweight) throws Exception {
+        String oldValue = System.setProperty(KNIMEConstants.PROPERTY_LIGHTWEIGHT_PARALLEL_CHUNKS,
+            Boolean.toString(lightweight));
+        try {
+            executeAllAndWait();
+        } finally {
+            restoreProperty(oldValue);
+        }
+        checkState(m_endID, InternalNodeContainerState.EXECUTED);
+        BufferedDataTable result =
+            (BufferedDataTable)getManager().getNodeContainer(m_endID).getOutPort(1).getPortObject();
+        assertNotNull(result);
+        // sequential execution of the body on all rows yields the doubled values in input order
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < NR_CHUNKS * ROWS_PER_CHUNK; i++) {
+            expected.add(2 * i);
+        }
+        List<Integer> actual = new ArrayList<>();
+        for (DataRow r : result) {
+            actual.add(((IntValue)r.getCell(0)).getIntValue());
+        }
+        assertEquals(expected, actual);
+    }
+
+    private static void restoreProperty(final String oldValue) {
+        if (oldValue == null) {
+            System.clearProperty(KNIMEConstants.PROPERTY_LIGHTWEIGHT_PARALLEL_CHUNKS);
+        } else {
+            System.setProperty(KNIMEConstants.PROPERTY_LIGHTWEIGHT_PARALLEL_CHUNKS, oldValue);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @After
+    public void tearDown() throws Exception {
+        failOnValue = -1;
+        super.tearDown();
+        FileUtil.deleteRecursively(m_workflowDirectory);
+    }
+
+    private static BufferedDataContainer createContainer(final ExecutionContext exec) {
+        return exec.createDataContainer(SPEC);
+    }
+
+    /** Loop start generating the rows, the first chunk is processed locally. */
+    public static final class ChunkStartNodeFactory extends AdapterNodeFactory {
+
+        @Override
+        public AdapterNodeModel createNodeModel() {
+            return new ChunkStartNodeModel();
+        }
+    }
+
+    private static final class ChunkStartNodeModel extends AdapterNodeModel implements LoopStartParallelizeNode {
+
+        private BufferedDataTable[] m_remoteChunks;
+
+        private ParallelizedChunkContentMaster m_chunkMaster;
+
+        ChunkStartNodeModel() {
+            super(0, 1);
+        }
+
+        @Override
+        protected PortObjectSpec[] configure(final PortObjectSpec[] inSpecs) throws InvalidSettingsException {
+            return new PortObjectSpec[]{SPEC};
+        }
+
+        @Override
+        protected PortObject[] execute(final PortObject[] inObjects, final ExecutionContext exec) throws Exception {
+            BufferedDataTable[] chunks = new BufferedDataTable[NR_CHUNKS];
+            for (int c = 0; c < NR_CHUNKS; c++) {
+                BufferedDataContainer cont = createContainer(exec);
+                for (int i = c * ROWS_PER_CHUNK; i < (c + 1) * ROWS_PER_CHUNK; i++) {
+                    cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i)));
+                }
+                cont.close();
+                chunks[c] = cont.getTable();
+            }
+            m_remoteChunks = new BufferedDataTable[NR_CHUNKS - 1];
+            System.arraycopy(chunks, 1, m_remoteChunks, 0, NR_CHUNKS - 1);
+            return new PortObject[]{chunks[0]};
+        }
+
+        @Override
+        public VirtualParallelizedChunkNodeInput getVirtualNodeInput(final int chunkIndex) {
+            return new VirtualParallelizedChunkNodeInput(new PortObject[]{m_remoteChunks[chunkIndex]}, chunkIndex);
+        }
+
+        @Override
+        public int getNrRemoteChunks() {
+            return m_remoteChunks.length;
+        }
+
+        @Override
+        public void setChunkMaster(final ParallelizedChunkContentMaster pccm) {
+            m_chunkMaster = pccm;
+        }
+
+        @Override
+        protected void reset() {
+            if (m_chunkMaster != null) {
+                m_chunkMaster.cleanupChunks();
+                m_chunkMaster = null;
+            }
+            m_remoteChunks = null;
+        }
+    }
+
+    /** Loop body node; doubles the values and keeps its output as internal table. */
+    public static final class TableHolderNodeFactory extends AdapterNodeFactory {
+
+        @Override
+        public AdapterNodeModel createNodeModel() {
+            return new TableHolderNodeModel();
+        }
+    }
+
+    private static final class TableHolderNodeModel extends AdapterNodeModel implements BufferedDataTableHolder {
+
+        private BufferedDataTable m_table;
+
+        TableHolderNodeModel() {
+            super(1, 1);
+        }
+
+        @Override
+        protected PortObject[] execute(final PortObject[] inObjects, final ExecutionContext exec) throws Exception {
+            BufferedDataContainer cont = createContainer(exec);
+            for (DataRow r : (BufferedDataTable)inObjects[0]) {
+                int value = ((IntValue)r.getCell(0)).getIntValue();
+                if (value == failOnValue) {
+                    throw new IllegalStateException("Failing on value " + value);
+                }
+                cont.addRowToTable(new DefaultRow(r.getKey(), new IntCell(2 * value)));
+            }
+            cont.close();
+            m_table = cont.getTable();
+            return new PortObject[]{m_table};
+        }
+
+        @Override
+        public BufferedDataTable[] getInternalTables() {
+            return new BufferedDataTable[]{m_table};
+        }
+
+        @Override
+        public void setInternalTables(final BufferedDataTable[] tables) {
+            m_table = tables[0];
+        }
+
+        @Override
+        protected void reset() {
+            m_table = null;
+        }
+    }
+
+    /** Loop end waiting for all chunks and concatenating their results in chunk order. */
+    public static final class ChunkEndNodeFactory extends AdapterNodeFactory {
+
+        @Override
+        public AdapterNodeModel createNodeModel() {
+            return new ChunkEndNodeModel();
+        }
+    }
+
+    private static final class ChunkEndNodeModel extends AdapterNodeModel implements LoopEndParallelizeNode {
+
+        private final Object m_statusLock = new Object();
+
+        private ParallelizedChunkContentMaster m_chunkMaster;
+
+        ChunkEndNodeModel() {
+            super(1, 1);
+        }
+
+        @Override
+        protected PortObject[] execute(final PortObject[] inObjects, final ExecutionContext exec) throws Exception {
+            synchronized (m_statusLock) {
+                while (m_chunkMaster.nrExecutingChunks() > 0) {
+                    exec.checkCanceled();
+                    m_statusLock.wait(100);
+                }
+            }
+            if (m_chunkMaster.nrFailedChunks() > 0) {
+                Throwable failure = m_chunkMaster.getChunkFailure();
+                throw new Exception(m_chunkMaster.nrFailedChunks() + " chunk(s) failed"
+                    + (failure == null ? "" : ": " + failure.getMessage()), failure);
+            }
+            // copy the rows, the chunk tables are disposed along with the chunks
+            BufferedDataContainer cont = createContainer(exec);
+            for (DataRow r : (BufferedDataTable)inObjects[0]) {
+                cont.addRowToTable(r);
+            }
+            for (int i = 0; i < m_chunkMaster.nrChunks(); i++) {
+                for (DataRow r : (BufferedDataTable)m_chunkMaster.getChunk(i).getOutportContent()[0]) {
+                    cont.addRowToTable(new DefaultRow(r.getKey(), new DataCell[]{r.getCell(0)}));
+                }
+            }
+            cont.close();
+            return new PortObject[]{cont.getTable()};
+        }
+
+        @Override
+        public void setParallelChunkMaster(final ParallelizedChunkContentMaster pcm) {
+            m_chunkMaster = pcm;
+        }
+
+        @Override
+        public void updateStatus() {
+            synchronized (m_statusLock) {
+                m_statusLock.notifyAll();
+            }
+        }
+    }
+
+}
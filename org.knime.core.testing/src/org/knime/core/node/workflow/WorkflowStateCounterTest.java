@@ -0,0 +1,191 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.node.workflow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.node.adapter.AdapterNodeFactory;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Executes a wide workflow (one source feeding many parallel chains) and checks that the incrementally maintained
+ * node state counts used by {@link WorkflowManager#computeNewState()} agree with the actual states of the nodes. Also
+ * checks that the cost of computing the workflow state (done on each node state transition) doesn't grow with the
+ * number of nodes.
+ *
+ * @author agent
+ */
+public class WorkflowStateCounterTest extends WorkflowTestCase {
+
+    private static final int NR_CHAINS = 50;
+
+    private static final int CHAIN_LENGTH = 10;
+
+    private static final int NR_STATE_COMPUTATIONS = 20000;
+
+    private File m_workflowDirectory;
+
+    private WorkflowManager m_wfm;
+
+    @Before
+    public void setUp() throws Exception {
+        m_workflowDirectory = FileUtil.createTempDir(getClass().getSimpleName());
+        final WorkflowCreationHelper creationHelper = new WorkflowCreationHelper();
+        creationHelper.setWorkflowContext(new WorkflowContext.Factory(m_workflowDirectory).createContext());
+        m_wfm = WorkflowManager.ROOT.createAndAddProject(getClass().getSimpleName(), creationHelper);
+        setManager(m_wfm);
+        NodeID sourceNode = m_wfm.addNode(new AdapterNodeFactory(true));
+        for (int c = 0; c < NR_CHAINS; c++) {
+            NodeID previous = sourceNode;
+            for (int i = 0; i < CHAIN_LENGTH; i++) {
+                NodeID next = m_wfm.addNode(new AdapterNodeFactory(false));
+                m_wfm.addConnection(previous, 1, next, 1);
+                previous = next;
+            }
+        }
+        m_wfm.addNode(new AdapterNodeFactory(true));
+    }
+
+    @Test
+    public void testCountsAfterExecuteAndReset() throws Exception {
+        final int nrNodes = 1 + NR_CHAINS * CHAIN_LENGTH + 1;
+        assertEquals(nrNodes, m_wfm.getNodeContainers().size());
+        assertCountsConsistent();
+
+        m_wfm.executeAllAndWaitUntilDone();
+        assertEquals(m_wfm.printNodeSummary(m_wfm.getID(), 0),
+            InternalNodeContainerState.EXECUTED, m_wfm.getInternalState());
+        assertCountsConsistent();
+
+        m_wfm.resetAndConfigureAll();
+        assertEquals(InternalNodeContainerState.CONFIGURED, m_wfm.getInternalState());
+        assertCountsConsistent();
+
+        NodeID firstInChain =
+            m_wfm.getOutgoingConnectionsFor(new NodeID(m_wfm.getID(), 1)).iterator().next().getDest();
+        m_wfm.removeNode(firstInChain);
+        assertEquals(nrNodes - 1, m_wfm.getNodeContainers().size());
+        assertCountsConsistent();
+    }
+
+    @Test
+    public void testStateComputationIndependentOfNodeCount() throws Exception {
+        WorkflowManager small = createFlatMetaNode("Small", 10);
+        WorkflowManager large = createFlatMetaNode("Large", 2000);
+        // warm up, then take the best of a few rounds to reduce the noise
+        long smallNanos = Long.MAX_VALUE;
+        long largeNanos = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            smallNanos = Math.min(smallNanos, computeStateRepeatedly(small));
+            largeNanos = Math.min(largeNanos, computeStateRepeatedly(large));
+        }
+        // a scan of all nodes on each call would make the large metanode ~200 times slower
+        assertTrue(String.format("%d state computations took %dms for 2000 nodes but only %dms for 10 nodes",
+            NR_STATE_COMPUTATIONS, largeNanos / 1000000L, smallNanos / 1000000L),
+            largeNanos < 10 * Math.max(smallNanos, 1000000L));
+    }
+
+    private WorkflowManager createFlatMetaNode(final String name, final int nrNodes) {
+        WorkflowManager metaNode = m_wfm.createAndAddSubWorkflow(new PortType[0], new PortType[0], name);
+        for (int i = 0; i < nrNodes; i++) {
+            metaNode.addNode(new AdapterNodeFactory(true));
+        }
+        assertEquals(nrNodes, metaNode.getNodeContainers().size());
+        return metaNode;
+    }
+
+    private static long computeStateRepeatedly(final WorkflowManager metaNode) {
+        try (WorkflowLock lock = metaNode.lock()) {
+            long start = System.nanoTime();
+            for (int i = 0; i < NR_STATE_COMPUTATIONS; i++) {
+                assertEquals(InternalNodeContainerState.CONFIGURED, metaNode.computeNewState());
+            }
+            return System.nanoTime() - start;
+        }
+    }
+
+    private void assertCountsConsistent() {
+        try (WorkflowLock lock = m_wfm.lock()) {
+            Workflow workflow = m_wfm.getWorkflow();
+            int[] expected = new int[InternalNodeContainerState.values().length];
+            int expectedErrors = 0;
+            for (NodeContainer nc : workflow.getNodeValues()) {
+                if (!(nc instanceof WorkflowManager)) {
+                    expected[nc.getInternalState().ordinal()]++;
+                    if (NodeStateCounter.isError(nc.getNodeMessage())) {
+                        expectedErrors++;
+                    }
+                }
+            }
+            int[] actual = new int[expected.length];
+            NodeStateCounter counter = workflow.getStateCounter();
+            counter.addTo(actual);
+            for (InternalNodeContainerState s : InternalNodeContainerState.values()) {
+                assertEquals("Node count for state " + s, expected[s.ordinal()], actual[s.ordinal()]);
+            }
+            assertEquals(expectedErrors, counter.getNrNodesWithError());
+            assertEquals(workflow.getNrNodes() - workflow.getMetaNodeValues().size(), counter.getNrNodes());
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @After
+    public void tearDown() throws Exception {
+        super.tearDown();
+        FileUtil.deleteRecursively(m_workflowDirectory);
+    }
+
+}
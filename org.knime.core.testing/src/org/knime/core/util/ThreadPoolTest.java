@@ -49,9 +49,15 @@
 
 import static org.junit.Assert.assertThat;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.osgi.internal.framework.ContextFinder;
@@ -434,4 +440,215 @@ public ClassLoader call() throws Exception {
             Thread.currentThread().setContextClassLoader(cl);
         }
     }
+
+    /**
+     * Checks that queued tasks are started in the order of decreasing priority, tasks without priority first.
+     *
+     * @throws Exception if an error occurs
+     */
+    public void testPriorityEnqueue() throws Exception {
+        ThreadPool root = new ThreadPool(1);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        root.enqueue(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    blocker.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        final List<String> order = Collections.synchronizedList(new ArrayList<String>());
+        root.enqueue(() -> order.add("p1"), 1);
+        root.enqueue(() -> order.add("p3a"), 3);
+        root.enqueue(() -> order.add("p2"), 2);
+        root.enqueue(() -> order.add("p3b"), 3);
+        Future<?> last = root.enqueue(() -> order.add("default"));
+        blocker.countDown();
+
+        root.waitForTermination();
+        assertTrue(last.isDone());
+        assertEquals(Arrays.asList("default", "p3a", "p3b", "p2", "p1"), order);
+        root.shutdown();
+    }
+
+    /** Recursive fork/join computation, each task waits for the two tasks it enqueued. */
+    private static final class Fibonacci implements Callable<Integer> {
+        private final ThreadPool m_pool;
+        private final int m_n;
+
+        Fibonacci(final ThreadPool pool, final int n) {
+            m_pool = pool;
+            m_n = n;
+        }
+
+        @Override
+        public Integer call() throws Exception {
+            if (m_n < 2) {
+                return m_n;
+            }
+            Future<Integer> f1 = m_pool.enqueue(new Fibonacci(m_pool, m_n - 1));
+            Future<Integer> f2 = m_pool.enqueue(new Fibonacci(m_pool, m_n - 2));
+            return f2.get() + f1.get();
+        }
+    }
+
+    /**
+     * Checks that nested tasks waiting for their sub tasks don't block the pool, even if there are many more waiting
+     * tasks than threads.
+     *
+     * @throws Exception if an error occurs
+     */
+    public void testForkJoin() throws Exception {
+        ThreadPool root = new ThreadPool(2);
+        Future<Integer> result = root.enqueue(new Fibonacci(root, 16));
+        assertEquals(987, result.get(60, TimeUnit.SECONDS).intValue());
+        root.waitForTermination();
+        assertEquals(0, root.getQueuedTaskCount());
+        assertEquals(0, root.getRunningThreads());
+        assertTrue("Tasks should have been run while waiting", root.getInlineExecutionCount() > 0);
+        root.shutdown();
+    }
+
+    /**
+     * Checks that a task submitting a task to its own saturated pool runs it itself instead of blocking.
+     *
+     * @throws Exception if an error occurs
+     */
+    public void testSubmitInPool() throws Exception {
+        final ThreadPool root = new ThreadPool(1);
+        Future<Boolean> outer = root.enqueue(() -> {
+            final Thread outerThread = Thread.currentThread();
+            return root.submit(() -> Thread.currentThread() == outerThread).get();
+        });
+        assertTrue("Submitted task should run in the submitting thread", outer.get(60, TimeUnit.SECONDS));
+        root.waitForTermination();
+        assertEquals(0, root.getQueuedTaskCount());
+        assertEquals(0, root.getRunningThreads());
+        root.shutdown();
+    }
+
+    /**
+     * Checks the number of queued tasks if tasks are canceled or started.
+     *
+     * @throws Exception if an error occurs
+     */
+    public void testQueuedTaskCount() throws Exception {
+        ThreadPool root = new ThreadPool(1);
+        ThreadPool sub = root.createSubPool(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        root.enqueue(() -> {
+            started.countDown();
+            try {
+                blocker.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        root.enqueue(() -> { });
+        Future<?> canceled = sub.enqueue(() -> { });
+        sub.enqueue(() -> { }, 1);
+        started.await();
+        assertEquals(3, root.getQueuedTaskCount());
+        assertTrue(canceled.cancel(false));
+        assertEquals(2, root.getQueuedTaskCount());
+        blocker.countDown();
+        root.waitForTermination();
+        assertEquals(0, root.getQueuedTaskCount());
+        assertEquals(0, root.getRunningThreads());
+        root.shutdown();
+    }
+
+    /**
+     * Checks that the callback passed to {@link ThreadPool#enqueue(Runnable, long, Runnable)} is run when the task
+     * has finished and when it's dropped on shutdown without being started.
+     *
+     * @throws Exception if an error occurs
+     */
+    public void testWhenDone() throws Exception {
+        ThreadPool root = new ThreadPool(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final CountDownLatch finishedCallback = new CountDownLatch(1);
+        final AtomicInteger droppedCallback = new AtomicInteger();
+        root.enqueue(() -> {
+            started.countDown();
+            try {
+                blocker.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }, ThreadPool.DEFAULT_PRIORITY, finishedCallback::countDown);
+        started.await();
+        Future<?> dropped = root.enqueue(() -> { }, 1, droppedCallback::incrementAndGet);
+        root.shutdown();
+        assertTrue(dropped.isCancelled());
+        assertEquals(1, droppedCallback.get());
+        assertEquals(1, finishedCallback.getCount());
+        blocker.countDown();
+        assertTrue("Callback not run after task finished", finishedCallback.await(60, TimeUnit.SECONDS));
+        assertEquals(1, droppedCallback.get());
+    }
+
+    /**
+     * Checks that a thread waiting for a task of a saturated sub pool doesn't run the task itself.
+     *
+     * @throws Exception if an error occurs
+     */
+    public void testInlineRespectsSubPoolLimit() throws Exception {
+        ThreadPool root = new ThreadPool(4);
+        final ThreadPool sub = root.createSubPool(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        sub.enqueue(() -> {
+            maxRunning.set(Math.max(maxRunning.get(), running.incrementAndGet()));
+            started.countDown();
+            try {
+                blocker.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+        });
+        started.await();
+        Future<?> outer = root.enqueue(() -> {
+            sub.enqueue(() -> {
+                maxRunning.set(Math.max(maxRunning.get(), running.incrementAndGet()));
+                running.decrementAndGet();
+            }).get();
+            return null;
+        });
+        Thread.sleep(200);
+        assertFalse("Task of the saturated sub pool must not have been run", outer.isDone());
+        blocker.countDown();
+        outer.get(60, TimeUnit.SECONDS);
+        assertEquals(1, maxRunning.get());
+        assertEquals(0, root.getInlineExecutionCount());
+        root.waitForTermination();
+        assertEquals(0, root.getRunningThreads());
+        root.shutdown();
+    }
+
+    /**
+     * Checks that a thread waiting with a timeout doesn't run the awaited task itself.
+     *
+     * @throws Exception if an error occurs
+     */
+    public void testTimedGetDoesNotRunTask() throws Exception {
+        final ThreadPool root = new ThreadPool(1);
+        Future<Boolean> outer = root.enqueue(() -> {
+            final Thread outerThread = Thread.currentThread();
+            return root.enqueue(() -> Thread.currentThread() == outerThread).get(60, TimeUnit.SECONDS);
+        });
+        assertFalse("Task must not run in the waiting thread", outer.get(60, TimeUnit.SECONDS));
+        assertEquals(0, root.getInlineExecutionCount());
+        root.waitForTermination();
+        assertEquals(0, root.getRunningThreads());
+        root.shutdown();
+    }
 }
@@ -48,6 +48,9 @@
  */
 package org.knime.core.data;
 
+import java.util.Arrays;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 import org.knime.core.node.util.CheckUtils;
@@ -89,6 +92,18 @@
      */
     RowIteratorBuilder<I> filterColumns(String... columns);
 
+    /**
+     * Iterate only over rows that are accepted by the given predicate. Implementations evaluate the predicate as early
+     * as possible, i.e. right after the row has been read (and before it is handed to the client). If combined with
+     * {@link #filterColumns(int...)} the predicate is applied on the column-filtered row and must therefore only
+     * access the selected columns.
+     *
+     * @param predicate the predicate rows need to satisfy in order to be returned by the iterator, not null
+     * @return this {@link RowIteratorBuilder}
+     * @throws IllegalArgumentException if the argument is null
+     */
+    RowIteratorBuilder<I> filterRows(Predicate<? super DataRow> predicate);
+
     /**
      * Build a new row iterator with the behavior specified via methods invoked in this builder.
      *
@@ -97,8 +112,11 @@
     I build();
 
     /**
-     * A {@link RowIteratorBuilder} that always builds default {@link RowIterator}s, i.e., iterators iterating over all
-     * rows and columns of a table.
+     * A {@link RowIteratorBuilder} that by default builds iterators iterating over all columns of a table, i.e. the
+     * column selection is only validated but not applied. A row filter is applied by wrapping the iterator using the
+     * function passed in the constructor. Subclasses that are able to push the column selection and/or the row filter
+     * further down (e.g. to avoid deserializing cells that are not needed) override {@link #build()} and query
+     * {@link #getSelectedColumns()} and {@link #getRowFilter()}.
      *
      * @param <I> the row iterator to be built
      *
@@ -108,17 +126,41 @@
 
         private final Supplier<I> m_iteratorSupplier;
 
+        private final BiFunction<I, Predicate<? super DataRow>, I> m_rowFilterFunction;
+
         private final DataTableSpec m_spec;
 
+        private int[] m_selectedColumns;
+
+        private Predicate<? super DataRow> m_rowFilter;
+
         /**
-         * Constructs a new {@link org.knime.core.data.RowIteratorBuilder.DefaultRowIteratorBuilder}.
+         * Constructs a new {@link org.knime.core.data.RowIteratorBuilder.DefaultRowIteratorBuilder}. Iterators built
+         * by this builder do not support {@link #filterRows(Predicate) row filtering} unless {@link #build()} is
+         * overridden.
          *
          * @param iteratorSupplier the supplier default iterators that are to be returned when
          *            {@link org.knime.core.data.RowIteratorBuilder.DefaultRowIteratorBuilder#build()} is invoked
          * @param spec the specification of the table over which to iterate
          */
         public DefaultRowIteratorBuilder(final Supplier<I> iteratorSupplier, final DataTableSpec spec) {
+            this(iteratorSupplier, null, spec);
+        }
+
+        /**
+         * Constructs a new {@link org.knime.core.data.RowIteratorBuilder.DefaultRowIteratorBuilder} that supports
+         * {@link #filterRows(Predicate) row filtering} by wrapping the iterator returned by the supplier.
+         *
+         * @param iteratorSupplier the supplier default iterators that are to be returned when
+         *            {@link org.knime.core.data.RowIteratorBuilder.DefaultRowIteratorBuilder#build()} is invoked
+         * @param rowFilterFunction the function wrapping an iterator so that it only returns rows accepted by the
+         *            predicate, may be null (row filtering not supported)
+         * @param spec the specification of the table over which to iterate
+         */
+        public DefaultRowIteratorBuilder(final Supplier<I> iteratorSupplier,
+            final BiFunction<I, Predicate<? super DataRow>, I> rowFilterFunction, final DataTableSpec spec) {
             m_iteratorSupplier = CheckUtils.checkArgumentNotNull(iteratorSupplier, "Argument must not be null");
+            m_rowFilterFunction = rowFilterFunction;
             m_spec = CheckUtils.checkArgumentNotNull(spec, "Spec must not be null");
         }
 
@@ -128,6 +170,8 @@ public DefaultRowIteratorBuilder(final Supplier<I> iteratorSupplier, final DataT
         @Override
         public RowIteratorBuilder<I> filterColumns(final int... indices) {
             m_spec.verifyIndices(indices);
+            m_selectedColumns = indices.clone();
+            Arrays.sort(m_selectedColumns);
             return this;
         }
 
@@ -143,8 +187,49 @@ public RowIteratorBuilder<I> filterColumns(final String... columns) {
          * {@inheritDoc}
          */
         @Override
+        public RowIteratorBuilder<I> filterRows(final Predicate<? super DataRow> predicate) {
+            m_rowFilter = CheckUtils.checkArgumentNotNull(predicate, "Predicate must not be null");
+            return this;
+        }
+
+        /**
+         * @return the (sorted) indices of the columns selected via {@link #filterColumns(int...)} or null if all
+         *         columns are to be materialized.
+         */
+        protected final int[] getSelectedColumns() {
+            return m_selectedColumns == null ? null : m_selectedColumns.clone();
+        }
+
+        /**
+         * @return the predicate set via {@link #filterRows(Predicate)} or null if all rows are to be returned.
+         */
+        protected final Predicate<? super DataRow> getRowFilter() {
+            return m_rowFilter;
+        }
+
+        /**
+         * @return the spec of the table as passed in the constructor.
+         */
+        protected final DataTableSpec getSpec() {
+            return m_spec;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @throws UnsupportedOperationException if a row filter is set but no row filter function was passed in the
+         *             constructor
+         */
+        @Override
         public I build() {
-            return m_iteratorSupplier.get();
+            I iterator = m_iteratorSupplier.get();
+            if (m_rowFilter == null) {
+                return iterator;
+            }
+            if (m_rowFilterFunction == null) {
+                throw new UnsupportedOperationException("Row filtering not supported by this iterator builder");
+            }
+            return m_rowFilterFunction.apply(iterator, m_rowFilter);
         }
 
     }
@@ -0,0 +1,419 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.knime.core.data.container.BlobDataCell.BlobAddress;
+import org.knime.core.data.util.memory.MemoryAlert;
+import org.knime.core.data.util.memory.MemoryAlertListener;
+import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Process-wide cache of blob cells read by {@link Buffer#readBlobDataCell(BlobAddress, CellClassInfo)}, bounded by
+ * the estimated size of the blobs (see {@link KNIMEConstants#PROPERTY_BLOB_CACHE_SIZE}). Lookups don't lock; each
+ * entry carries a logical access time. An insertion that exceeds the budget evicts the least recently accessed
+ * entries until the cache has shrunk to {@link #EVICTION_TARGET_PERCENT} of the budget; if another thread is already
+ * evicting it waits for that thread, so the cache doesn't grow beyond the budget while readers continue.
+ *
+ * <p>The size of a blob is estimated by its size on disc, which underestimates compressed blobs. Blobs are therefore
+ * only softly referenced: the garbage collector may reclaim them before the budget is reached, their entries are
+ * then removed on the next access. The cache is also cleared when the {@link MemoryAlertSystem} reports low memory.
+ *
+ * @author agent
+ * @since 3.7
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class BlobCache {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(BlobCache.class);
+
+    /** Default budget, a sixteenth of the maximum heap size. */
+    static final long DEF_BUDGET_BYTES = Runtime.getRuntime().maxMemory() / 16;
+
+    /** Fill level (in percent of the budget) an eviction run shrinks the cache to. */
+    static final int EVICTION_TARGET_PERCENT = 80;
+
+    /** Estimated size of an entry in addition to the size of the blob. */
+    private static final long ENTRY_OVERHEAD_BYTES = 128L;
+
+    private static final BlobCache INSTANCE = createInstance();
+
+    private final long m_budgetBytes;
+
+    private final ConcurrentHashMap<Key, Value> m_map;
+
+    private final AtomicLong m_usedBytes;
+
+    private final AtomicLong m_clock;
+
+    /** Held by the thread evicting entries, only inserting threads wait for it. */
+    private final ReentrantLock m_evictionLock;
+
+    /** Values whose blob was reclaimed by the garbage collector. */
+    private final ReferenceQueue<BlobDataCell> m_reclaimedQueue;
+
+    private final LongAdder m_hitCount;
+
+    private final LongAdder m_missCount;
+
+    private final LongAdder m_evictionCount;
+
+    /**
+     * @param budgetBytes the budget, &gt;= 0
+     */
+    BlobCache(final long budgetBytes) {
+        m_budgetBytes = budgetBytes;
+        m_map = new ConcurrentHashMap<>();
+        m_usedBytes = new AtomicLong();
+        m_clock = new AtomicLong();
+        m_evictionLock = new ReentrantLock();
+        m_reclaimedQueue = new ReferenceQueue<>();
+        m_hitCount = new LongAdder();
+        m_missCount = new LongAdder();
+        m_evictionCount = new LongAdder();
+    }
+
+    private static BlobCache createInstance() {
+        BlobCache cache = new BlobCache(readBudget());
+        MemoryAlertSystem.getInstance().addListener(new MemoryAlertListener() {
+            @Override
+            protected boolean memoryAlert(final MemoryAlert alert) {
+                cache.clear();
+                return false;
+            }
+        });
+        return cache;
+    }
+
+    private static long readBudget() {
+        String value = System.getProperty(KNIMEConstants.PROPERTY_BLOB_CACHE_SIZE);
+        if (value != null) {
+            try {
+                long sizeInMB = Long.parseLong(value.trim());
+                if (sizeInMB < 0) {
+                    throw new NumberFormatException("Blob cache size must not be negative: " + sizeInMB);
+                }
+                LOGGER.debug("Using blob cache size of " + sizeInMB + "MB");
+                return sizeInMB << 20;
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Unable to parse property \"" + KNIMEConstants.PROPERTY_BLOB_CACHE_SIZE
+                    + "\", using default (" + (DEF_BUDGET_BYTES >> 20) + "MB)", e);
+            }
+        }
+        return DEF_BUDGET_BYTES;
+    }
+
+    /** @return the singleton instance. */
+    public static BlobCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param buffer the buffer owning the blob
+     * @param address its address
+     * @return the cached blob or null
+     */
+    BlobDataCell get(final Buffer buffer, final BlobAddress address) {
+        Value value = m_map.get(new Key(buffer, address));
+        BlobDataCell cell = value == null ? null : value.get();
+        if (cell == null) {
+            m_missCount.increment();
+            removeReclaimed();
+            return null;
+        }
+        value.m_lastAccess = m_clock.incrementAndGet();
+        m_hitCount.increment();
+        return cell;
+    }
+
+    /**
+     * Adds a blob, possibly evicting others (in the calling thread) if the budget is exceeded.
+     *
+     * @param buffer the buffer owning the blob
+     * @param address its address
+     * @param cell the blob
+     * @param sizeInBytes its estimated size
+     */
+    void put(final Buffer buffer, final BlobAddress address, final BlobDataCell cell, final long sizeInBytes) {
+        removeReclaimed();
+        final long size = sizeInBytes + ENTRY_OVERHEAD_BYTES;
+        if (size > m_budgetBytes) {
+            return;
+        }
+        final Key key = new Key(buffer, address);
+        Value old = m_map.put(key, new Value(key, cell, size, m_clock.incrementAndGet(), m_reclaimedQueue));
+        long used = m_usedBytes.addAndGet(old == null ? size : size - old.m_sizeInBytes);
+        if (used > m_budgetBytes) {
+            evict();
+        }
+    }
+
+    /** Removes the entries whose blob was reclaimed by the garbage collector. */
+    private void removeReclaimed() {
+        for (Value value; (value = (Value)m_reclaimedQueue.poll()) != null;) {
+            if (m_map.remove(value.m_key, value)) {
+                m_usedBytes.addAndGet(-value.m_sizeInBytes);
+            }
+        }
+    }
+
+    /**
+     * Removes entries in least recently accessed order. If another thread is already doing so, waits for it and
+     * evicts further entries if the budget is still exceeded.
+     */
+    private void evict() {
+        m_evictionLock.lock();
+        try {
+            if (m_usedBytes.get() <= m_budgetBytes) {
+                // evicted by another thread meanwhile
+                return;
+            }
+            final long target = m_budgetBytes / 100 * EVICTION_TARGET_PERCENT;
+            if (m_usedBytes.get() <= target) {
+                return;
+            }
+            // access times change concurrently, sort on a snapshot
+            List<EvictionCandidate> candidates = new ArrayList<>(m_map.size());
+            for (Map.Entry<Key, Value> e : m_map.entrySet()) {
+                candidates.add(new EvictionCandidate(e, e.getValue().m_lastAccess));
+            }
+            candidates.sort(Comparator.comparingLong(c -> c.m_lastAccess));
+            for (int i = 0; i < candidates.size() && m_usedBytes.get() > target; i++) {
+                if (remove(candidates.get(i).m_entry)) {
+                    m_evictionCount.increment();
+                }
+            }
+        } finally {
+            m_evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Removes all blobs of a buffer, called when the buffer is cleared.
+     *
+     * @param buffer the buffer
+     */
+    void removeAll(final Buffer buffer) {
+        for (Map.Entry<Key, Value> e : m_map.entrySet()) {
+            if (e.getKey().m_buffer == buffer) {
+                remove(e);
+            }
+        }
+    }
+
+    /** Removes all entries (not counted as evictions). */
+    void clear() {
+        for (Map.Entry<Key, Value> e : m_map.entrySet()) {
+            remove(e);
+        }
+    }
+
+    /** Removes the entry unless it was replaced concurrently, returns whether it was removed. */
+    private boolean remove(final Map.Entry<Key, Value> e) {
+        if (m_map.remove(e.getKey(), e.getValue())) {
+            m_usedBytes.addAndGet(-e.getValue().m_sizeInBytes);
+            // don't account the entry a second time once the garbage collector enqueues it
+            e.getValue().clear();
+            return true;
+        }
+        return false;
+    }
+
+    /** @return the budget in bytes. */
+    public long getBudgetBytes() {
+        return m_budgetBytes;
+    }
+
+    /** @return a snapshot of the cache statistics. */
+    public BlobCacheStatistics getStatistics() {
+        return new BlobCacheStatistics(m_map.size(), m_usedBytes.get(), m_budgetBytes, m_hitCount.sum(),
+            m_missCount.sum(), m_evictionCount.sum());
+    }
+
+    /** Blob address plus owning buffer (buffer IDs are only unique within a workflow). */
+    private static final class Key {
+
+        private final Buffer m_buffer;
+
+        private final BlobAddress m_address;
+
+        Key(final Buffer buffer, final BlobAddress address) {
+            m_buffer = buffer;
+            m_address = address;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key)obj;
+            return m_buffer == other.m_buffer && m_address.equals(other.m_address);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(m_buffer) + m_address.hashCode();
+        }
+    }
+
+    /** Softly referenced blob with its key, size and last access time. */
+    private static final class Value extends SoftReference<BlobDataCell> {
+
+        private final Key m_key;
+
+        private final long m_sizeInBytes;
+
+        private volatile long m_lastAccess;
+
+        Value(final Key key, final BlobDataCell cell, final long sizeInBytes, final long lastAccess,
+            final ReferenceQueue<BlobDataCell> queue) {
+            super(cell, queue);
+            m_key = key;
+            m_sizeInBytes = sizeInBytes;
+            m_lastAccess = lastAccess;
+        }
+    }
+
+    /** Entry with its access time at the start of an eviction run. */
+    private static final class EvictionCandidate {
+
+        private final Map.Entry<Key, Value> m_entry;
+
+        private final long m_lastAccess;
+
+        EvictionCandidate(final Map.Entry<Key, Value> entry, final long lastAccess) {
+            m_entry = entry;
+            m_lastAccess = lastAccess;
+        }
+    }
+
+    /** Statistics of the {@link BlobCache}, see {@link BlobCache#getStatistics()}. */
+    public static final class BlobCacheStatistics {
+
+        private final int m_entryCount;
+
+        private final long m_usedBytes;
+
+        private final long m_budgetBytes;
+
+        private final long m_hitCount;
+
+        private final long m_missCount;
+
+        private final long m_evictionCount;
+
+        BlobCacheStatistics(final int entryCount, final long usedBytes, final long budgetBytes, final long hitCount,
+            final long missCount, final long evictionCount) {
+            m_entryCount = entryCount;
+            m_usedBytes = usedBytes;
+            m_budgetBytes = budgetBytes;
+            m_hitCount = hitCount;
+            m_missCount = missCount;
+            m_evictionCount = evictionCount;
+        }
+
+        /** @return the number of cached blobs. */
+        public int getEntryCount() {
+            return m_entryCount;
+        }
+
+        /** @return the estimated bytes of the cached blobs. */
+        public long getUsedBytes() {
+            return m_usedBytes;
+        }
+
+        /** @return the budget in bytes. */
+        public long getBudgetBytes() {
+            return m_budgetBytes;
+        }
+
+        /** @return number of lookups served from the cache. */
+        public long getHitCount() {
+            return m_hitCount;
+        }
+
+        /** @return number of lookups not served from the cache. */
+        public long getMissCount() {
+            return m_missCount;
+        }
+
+        /** @return fraction of lookups served from the cache, 0 if there were none. */
+        public double getHitRate() {
+            long total = m_hitCount + m_missCount;
+            return total == 0L ? 0.0 : m_hitCount / (double)total;
+        }
+
+        /** @return number of blobs evicted so far. */
+        public long getEvictionCount() {
+            return m_evictionCount;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString() {
+            return String.format("%d blobs, %d of %d bytes, hit rate %.2f, %d evictions", m_entryCount, m_usedBytes,
+                m_budgetBytes, getHitRate(), m_evictionCount);
+        }
+    }
+
+}
@@ -56,20 +56,16 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.lang.ref.SoftReference;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
 import java.text.NumberFormat;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
@@ -89,6 +85,7 @@
 import org.knime.core.data.DataCellSerializer;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.FilteredRowIterator;
 import org.knime.core.data.IDataRepository;
 import org.knime.core.data.RowIterator;
 import org.knime.core.data.RowIteratorBuilder;
@@ -113,9 +110,6 @@
 import org.knime.core.data.filestore.internal.NotInWorkflowWriteFileStoreHandler;
 import org.knime.core.data.filestore.internal.ROWriteFileStoreHandler;
 import org.knime.core.data.util.NonClosableOutputStream;
-import org.knime.core.data.util.memory.MemoryAlert;
-import org.knime.core.data.util.memory.MemoryAlertListener;
-import org.knime.core.data.util.memory.MemoryAlertSystem;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
@@ -124,9 +118,9 @@
 import org.knime.core.node.NodeSettings;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.workflow.NodeProfiler;
 import org.knime.core.util.FileUtil;
 import org.knime.core.util.ShutdownHelper;
-import org.knime.core.util.ThreadUtils;
 
 /**
  * A buffer writes the rows from a {@link DataContainer} to a file. This class serves as connector between the
@@ -287,13 +281,6 @@ public class Buffer implements KNIMEStreamConstants {
         }
     }
 
-    /**
-     * Hash used to reduce the overhead of reading a blob cell over and over again. Useful in cases where a blob is
-     * added multiple times to a table... the iterator will read the blob address, treat it as unseen and then ask the
-     * owning Buffer to restore the blob.
-     */
-    private final BlobLRUCache m_blobLRUCache = new BlobLRUCache();
-
     static boolean isUseCompressionForBlobs(final CellClassInfo cellClassInfo) {
         @SuppressWarnings("unchecked")
         Class<? extends BlobDataCell> cl = (Class<? extends BlobDataCell>)cellClassInfo.getCellClass();
@@ -333,12 +320,6 @@ static boolean isUseCompressionForBlobs(final CellClassInfo cellClassInfo) {
         return result;
     }
 
-    /** Compression on the binary (main) file. */
-    enum CompressionFormat {
-        Gzip,
-        None;
-    }
-
     /** the file to write to. */
     private File m_binFile;
 
@@ -391,7 +372,7 @@ enum CompressionFormat {
     /** the current row count (how often has addRow been called). */
     private long m_size;
 
-    /** the list that keeps up to m_maxRowsInMem in memory. */
+    /** the list that keeps up to m_maxRowsInMem in memory, column-wise (see {@link ColumnarRowList}). */
     private List<BlobSupportDataRow> m_list;
 
     private int[] m_indicesOfBlobInColumns;
@@ -412,6 +393,13 @@ enum CompressionFormat {
      */
     private boolean m_useBackIntoMemoryIterator = false;
 
+    /** Whether the rows were held in memory but evicted by the {@link TableCache}; they are restored into memory with
+     * the next iteration if they fit. */
+    private boolean m_isEvictedFromMemory = false;
+
+    /** Estimated size of the rows when last held in memory, see {@link TableCache}. */
+    private long m_estimatedSizeInBytes;
+
     /**
      * The version of the file we are reading (if initiated with Buffer(File, boolean). Used to remember when we need to
      * read a file which has been written with another version of the Buffer, i.e. to provide backward compatibility.
@@ -443,7 +431,7 @@ enum CompressionFormat {
         final IWriteFileStoreHandler fileStoreHandler) {
         assert (maxRowsInMemory >= 0);
         m_maxRowsInMem = maxRowsInMemory;
-        m_list = new ArrayList<BlobSupportDataRow>();
+        m_list = new ColumnarRowList(spec.getNumColumns());
         m_size = 0;
         m_bufferID = bufferID;
         m_localRepository = localRep;
@@ -965,6 +953,9 @@ synchronized void close(final DataTableSpec spec) {
         assert spec != null : "Buffer is not open.";
         closeInternal();
         m_spec = spec;
+        if (NodeProfiler.isEnabled()) {
+            NodeProfiler.recordDataWritten(size(), usesOutFile() ? getBufferFileSize() : 0L);
+        }
     }
 
     /** Closes by creating shortcut array for file access. */
@@ -973,10 +964,11 @@ void closeInternal() {
         // everything is in the list, i.e. in memory
         if (m_outputWriter == null) {
             // disallow modification
+            m_estimatedSizeInBytes = estimateSizeInBytes(m_list);
             List<BlobSupportDataRow> newList = Collections.unmodifiableList(m_list);
             m_list = newList;
             if (!m_list.isEmpty()) {
-                registerMemoryAlertListener();
+                TableCache.getInstance().put(this, m_estimatedSizeInBytes);
             }
         } else {
             try {
@@ -1001,42 +993,35 @@ void closeInternal() {
         m_localRepository = null;
     } // close()
 
-    private MemoryAlertListener m_memoryAlertListener;
-
-    private void registerMemoryAlertListener() {
-        m_memoryAlertListener = new MemoryAlertListener() {
-            @Override
-            protected boolean memoryAlert(final MemoryAlert alert) {
-                if (m_list != null && !m_list.isEmpty()) {
-                    ThreadUtils.threadWithContext(new Runnable() {
-                        @Override
-                        public void run() {
-                            onMemoryAlert();
-                        }
-                    }, "KNIME Buffer flusher").start();
-                }
-                return true;
-            }
-        };
-        MemoryAlertSystem.getInstance().addListener(m_memoryAlertListener);
-    }
-
-    private synchronized void onMemoryAlert() {
+    /**
+     * Called by the {@link TableCache} to free memory. Writes the rows held in memory to disc (unless they were read
+     * from there) and discards them, subsequent iterations read from disc.
+     */
+    synchronized void evictFromMemory() {
         if (m_list == null) {
-            // concurrent close or addRow() caused this to be flushed (this method may stall long on Buffer.this)
-        } else {
-            final int nrRowsWritten = m_list.size();
+            // concurrent clear or eviction (this method may stall long on Buffer.this)
+            return;
+        }
+        final int nrRows = m_list.size();
+        if (m_outputReader == null) {
             flushBuffer();
             closeInternal();
-            LOGGER.debug("Wrote " + nrRowsWritten + " rows in order to free memory");
+            LOGGER.debug("Wrote " + nrRows + " rows in order to free memory");
+        } else {
+            // restored from file, which is still present
+            m_list = null;
+            LOGGER.debug("Discarded " + nrRows + " rows restored from file in order to free memory");
         }
+        m_isEvictedFromMemory = true;
+        TableCache.getInstance().remove(this);
     }
 
-    private void unregisterMemoryAlertListener() {
-        if (m_memoryAlertListener != null) {
-            MemoryAlertSystem.getInstance().removeListener(m_memoryAlertListener);
-            m_memoryAlertListener = null;
+    /** Estimated memory held by the list of rows. */
+    private long estimateSizeInBytes(final List<BlobSupportDataRow> list) {
+        if (list instanceof ColumnarRowList) {
+            return ((ColumnarRowList)list).getSizeInBytes();
         }
+        return list.size() * (m_spec.getNumColumns() + 1L) * 32L;
     }
 
     /**
@@ -1214,14 +1199,9 @@ final synchronized void restoreIntoMemory() {
 
     /** Called from back into memory iterator when the last row was read. */
     final synchronized void onAllRowsReadBackIntoMemory() {
-        if (m_memoryAlertListener == null) {
-            m_memoryAlertListener = new MemoryAlertListener() {
-                @Override
-                protected boolean memoryAlert(final MemoryAlert alert) {
-                    m_list = null;
-                    return true;
-                }
-            };
+        if (m_list != null) {
+            m_estimatedSizeInBytes = estimateSizeInBytes(m_list);
+            TableCache.getInstance().put(this, m_estimatedSizeInBytes);
         }
     }
 
@@ -1260,8 +1240,8 @@ BlobDataCell readBlobDataCell(final BlobAddress blobAddress, final CellClassInfo
             Buffer blobBuffer = cnTbl.getBuffer();
             return blobBuffer.readBlobDataCell(blobAddress, cl);
         }
-        SoftReference<BlobDataCell> softRef = m_blobLRUCache.get(blobAddress);
-        BlobDataCell result = softRef != null ? softRef.get() : null;
+        BlobCache blobCache = BlobCache.getInstance();
+        BlobDataCell result = blobCache.get(this, blobAddress);
         if (result != null) {
             return result;
         }
@@ -1270,7 +1250,10 @@ BlobDataCell readBlobDataCell(final BlobAddress blobAddress, final CellClassInfo
         } else {
             result = BufferFromFileIteratorVersion20.readBlobDataCell(blobAddress, cl, this);
         }
-        m_blobLRUCache.put(blobAddress, new SoftReference<BlobDataCell>(result));
+        // size on disc as estimate of the memory held by the blob
+        File blobFile = getBlobFile(blobAddress.getIndexOfBlobInColumn(), blobAddress.getColumn(), false,
+            blobAddress.isUseCompression());
+        blobCache.put(this, blobAddress, result, blobFile.length());
         return result;
     }
 
@@ -1381,23 +1364,48 @@ private static String getFileName(final int fileIndex) {
     }
 
     synchronized RowIteratorBuilder<? extends CloseableRowIterator> iteratorBuilder() {
+        if (!NodeProfiler.isEnabled()) {
+            return createIteratorBuilder();
+        }
+        // rows of a table that has an output file are read from that file, also when brought back into memory
+        long fileSize = usesOutFile() ? getBufferFileSize() : 0L;
+        return ProfilingRowIterator.wrap(createIteratorBuilder(), fileSize, size());
+    }
+
+    private RowIteratorBuilder<? extends CloseableRowIterator> createIteratorBuilder() {
         if (usesOutFile()) {
+            if (m_isEvictedFromMemory && !m_useBackIntoMemoryIterator) {
+                TableCache cache = TableCache.getInstance();
+                cache.onMiss();
+                if (cache.fits(m_estimatedSizeInBytes)) {
+                    m_isEvictedFromMemory = false;
+                    m_useBackIntoMemoryIterator = true;
+                }
+            }
             if (m_useBackIntoMemoryIterator) {
                 // the order of the following lines is very important!
                 m_useBackIntoMemoryIterator = false;
-                m_backIntoMemoryIterator = iteratorBuilder().build();
+                m_backIntoMemoryIterator = createIteratorBuilder().build();
                 // we never store more than 2^31 rows in memory, therefore it's safe to cast to int
-                m_list = new ArrayList<BlobSupportDataRow>((int) size());
-                return new DefaultRowIteratorBuilder<>(() -> new FromListIterator(), getTableSpec());
+                m_list = new ColumnarRowList(m_spec.getNumColumns(), (int) size());
+                return createFromListIteratorBuilder();
             }
             RowIteratorBuilder<? extends TableStoreCloseableRowIterator> iteratorBuilder =
                 m_outputReader.iteratorBuilder();
             return iteratorBuilder;
         } else {
-            return new DefaultRowIteratorBuilder<>(() -> new FromListIterator(), getTableSpec());
+            TableCache.getInstance().onHit(this);
+            return createFromListIteratorBuilder();
         }
     }
 
+    /** Builder for iterators on the in-memory list. Column selection is not applied as the rows are already
+     * materialized; a row filter is applied on top of the list iterator. */
+    private RowIteratorBuilder<CloseableRowIterator> createFromListIteratorBuilder() {
+        return new DefaultRowIteratorBuilder<CloseableRowIterator>(() -> new FromListIterator(),
+            FilteredRowIterator::new, getTableSpec());
+    }
+
     /**
      * True if any row containing blob cells is contained in this buffer.
      *
@@ -1602,7 +1610,7 @@ public int getBufferID() {
     synchronized void clear() {
         BufferTracker.getInstance().bufferCleared(this);
         m_list = null;
-        unregisterMemoryAlertListener();
+        TableCache.getInstance().remove(this);
         if (m_binFile != null) {
             if (m_outputReader != null) {
                 // output reader might be null if Buffer was created but never read -- no iterators to clear
@@ -1617,9 +1625,7 @@ synchronized void clear() {
         if (m_fileStoreHandler instanceof NotInWorkflowWriteFileStoreHandler) {
             m_fileStoreHandler.clearAndDispose();
         }
-        if (m_blobLRUCache != null) {
-            m_blobLRUCache.clear();
-        }
+        BlobCache.getInstance().removeAll(this);
         m_binFile = null;
         m_blobDir = null;
     }
@@ -1675,35 +1681,6 @@ synchronized void flushBuffer() {
         }
     }
 
-    /** Last recently used cache for blobs. */
-    private static final class BlobLRUCache extends LinkedHashMap<BlobAddress, SoftReference<BlobDataCell>> {
-
-        /** Default constructor, instructs for access order. */
-        BlobLRUCache() {
-            super(16, 0.75f, true); // args copied from HashMap implementation
-        }
-
-        /** {@inheritDoc} */
-        @Override
-        protected synchronized boolean removeEldestEntry(final Entry<BlobAddress, SoftReference<BlobDataCell>> eldest) {
-            return size() >= 100;
-        }
-
-        /** {@inheritDoc} */
-        @Override
-        public synchronized SoftReference<BlobDataCell> get(final Object key) {
-            return super.get(key);
-        }
-
-        /** {@inheritDoc} */
-        @Override
-        public synchronized SoftReference<BlobDataCell> put(final BlobAddress key,
-                                                            final SoftReference<BlobDataCell> value) {
-            return super.put(key, value);
-        }
-
-    }
-
 
     /**
      * Iterator to be used when data is contained in m_list. It uses access by index rather than wrapping an
@@ -60,6 +60,7 @@
 import org.knime.core.data.DataCellSerializer;
 import org.knime.core.data.DataType;
 import org.knime.core.data.RowKey;
+import org.knime.core.data.UnmaterializedCell;
 import org.knime.core.data.container.BlobDataCell.BlobAddress;
 import org.knime.core.data.container.DCObjectInputVersion2.BlockableDCObjectInputVersion2;
 import org.knime.core.data.container.DefaultTableStoreReader.FromFileIterator;
@@ -102,12 +103,27 @@ public final class BufferFromFileIteratorVersion20 extends FromFileIterator {
     /** Utility object with designated functionality to deserialize datacell. */
     private DataCellStreamReader m_dataCellStreamReader;
 
+    /** Columns whose cells are deserialized, null if all. Cells of other columns are skipped in the stream. */
+    private final boolean[] m_isMaterialize;
+
     /** Inits iterator, opens input stream.
      * @param tableFormatReader The associated buffer.
      * @throws IOException If stream reading fails.
      */
     BufferFromFileIteratorVersion20(final DefaultTableStoreReader tableFormatReader) throws IOException {
+        this(tableFormatReader, null);
+    }
+
+    /** Inits iterator, opens input stream.
+     * @param tableFormatReader The associated buffer.
+     * @param isMaterialize flags for each column whether to deserialize its cells, null for all columns. Cells of
+     *            columns not to materialize are skipped and returned as {@link UnmaterializedCell}.
+     * @throws IOException If stream reading fails.
+     */
+    BufferFromFileIteratorVersion20(final DefaultTableStoreReader tableFormatReader, final boolean[] isMaterialize)
+        throws IOException {
         m_pointer = 0;
+        m_isMaterialize = isMaterialize;
         if (tableFormatReader.getBinFile() == null) {
             throw new IOException("Unable to read table from file, "
                     + "table has been cleared.");
@@ -116,17 +132,25 @@ public final class BufferFromFileIteratorVersion20 extends FromFileIterator {
         assert m_tableFormatReader.getReadVersion() >= 6 : "Iterator is not backward "
             + "compatible, use instead "
             + BufferFromFileIteratorVersion1x.class.getSimpleName();
-        BufferedInputStream bufferedStream =
-            new BufferedInputStream(new FileInputStream(tableFormatReader.getBinFile()));
         InputStream in;
         switch (tableFormatReader.getBinFileCompressionFormat()) {
             case Gzip:
-                in = new GZIPInputStream(bufferedStream);
+                in = new GZIPInputStream(
+                    new BufferedInputStream(new FileInputStream(tableFormatReader.getBinFile())));
                 // buffering is important when reading gzip streams
                 in = new BufferedInputStream(in);
                 break;
+            case Lz4:
+                in = new Lz4BlockInputStream(
+                    new BufferedInputStream(new FileInputStream(tableFormatReader.getBinFile())));
+                break;
             case None:
-                in = bufferedStream;
+                // uncompressed files are read straight from the page cache, if enabled
+                if (MappedFileInputStream.IS_ENABLED) {
+                    in = new MappedFileInputStream(tableFormatReader.getBinFile());
+                } else {
+                    in = new BufferedInputStream(new FileInputStream(tableFormatReader.getBinFile()));
+                }
                 break;
             default:
                 throw new IOException("Unsupported compression format: " + tableFormatReader.getBinFileCompressionFormat());
@@ -178,6 +202,16 @@ public synchronized BlobSupportDataRow next() {
         DataCell[] cells = new DataCell[colCount];
         for (int i = 0; i < colCount; i++) {
             DataCell nextCell;
+            if (m_isMaterialize != null && !m_isMaterialize[i]) {
+                // each cell is written in its own block, skip it without deserializing
+                try {
+                    m_inStream.endBlock();
+                } catch (final IOException e) {
+                    handleReadThrowable(e);
+                }
+                cells[i] = UnmaterializedCell.getInstance();
+                continue;
+            }
             try {
                 try {
                     nextCell = m_dataCellStreamReader.readDataCell(m_inStream);
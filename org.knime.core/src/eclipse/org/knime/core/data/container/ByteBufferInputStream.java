@@ -0,0 +1,105 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * An {@link InputStream} reading the remaining bytes of a {@link ByteBuffer}, for instance a region of a memory mapped
+ * file. The argument buffer is not modified (the stream reads from a duplicate).
+ *
+ * @author agent
+ */
+final class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer m_buffer;
+
+    /** @param buffer to read from, position and limit define the readable bytes. */
+    ByteBufferInputStream(final ByteBuffer buffer) {
+        m_buffer = buffer.duplicate();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int read() {
+        return m_buffer.hasRemaining() ? (m_buffer.get() & 0xFF) : -1;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int read(final byte[] b, final int off, final int len) {
+        if (len == 0) {
+            return 0;
+        }
+        if (!m_buffer.hasRemaining()) {
+            return -1;
+        }
+        int count = Math.min(len, m_buffer.remaining());
+        m_buffer.get(b, off, count);
+        return count;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long skip(final long n) {
+        if (n <= 0) {
+            return 0;
+        }
+        int count = (int)Math.min(n, m_buffer.remaining());
+        m_buffer.position(m_buffer.position() + count);
+        return count;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int available() {
+        return m_buffer.remaining();
+    }
+
+}
@@ -0,0 +1,312 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataType;
+import org.knime.core.data.container.BufferFromFileIteratorVersion20.DataCellStreamReader;
+import org.knime.core.data.container.DCObjectInputVersion2.BlockableDCObjectInputVersion2;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * The content of a single column for a consecutive range of rows ("chunk") as written by the
+ * {@link ColumnarTableStoreFormat}. Primitive chunks are backed by the (possibly memory mapped) byte buffer they were
+ * read from; their cells are only created when accessed via {@link #getCell(int)}.
+ *
+ * <p>
+ * Layout of a chunk payload (all numbers big endian, as written by a {@link java.io.DataOutputStream}):
+ * <ul>
+ * <li>{@link #ENCODING_ALL_MISSING}: empty</li>
+ * <li>{@link #ENCODING_INT}, {@link #ENCODING_LONG}, {@link #ENCODING_DOUBLE}: missing bitmap (only if the chunk
+ * contains missing values), followed by one fixed-width value per row</li>
+ * <li>{@link #ENCODING_BOOLEAN}: missing bitmap (if any), followed by a value bitmap</li>
+ * <li>{@link #ENCODING_STRING}: missing bitmap (if any), followed by the non-missing strings (long UTF)</li>
+ * <li>{@link #ENCODING_GENERIC}: a blockable cell stream, one block per row</li>
+ * </ul>
+ * A bitmap consists of <code>ceil(rowCount / 64)</code> long words.
+ *
+ * @author agent
+ */
+abstract class ColumnarChunk {
+
+    /** All cells in chunk are the missing cell singleton, no payload. */
+    static final byte ENCODING_ALL_MISSING = 0;
+
+    /** All cells are {@link IntCell} or missing. */
+    static final byte ENCODING_INT = 1;
+
+    /** All cells are {@link LongCell} or missing. */
+    static final byte ENCODING_LONG = 2;
+
+    /** All cells are {@link DoubleCell} or missing. */
+    static final byte ENCODING_DOUBLE = 3;
+
+    /** All cells are {@link BooleanCell} or missing. */
+    static final byte ENCODING_BOOLEAN = 4;
+
+    /** All cells are {@link StringCell} or missing. */
+    static final byte ENCODING_STRING = 5;
+
+    /** Any other cell, serialized as in the default row format. */
+    static final byte ENCODING_GENERIC = 6;
+
+    private final int m_rowCount;
+
+    private final ColumnarChunkStatistics m_statistics;
+
+    ColumnarChunk(final int rowCount, final ColumnarChunkStatistics statistics) {
+        m_rowCount = rowCount;
+        m_statistics = statistics;
+    }
+
+    /** @return number of rows in this chunk. */
+    final int getRowCount() {
+        return m_rowCount;
+    }
+
+    /** @return the statistics as written into the chunk header. */
+    final ColumnarChunkStatistics getStatistics() {
+        return m_statistics;
+    }
+
+    /**
+     * Get the cell at the given index.
+     *
+     * @param index row index within chunk, 0 &lt;= index &lt; {@link #getRowCount()}
+     * @return the (possibly newly created) cell.
+     */
+    abstract DataCell getCell(int index);
+
+    /** @return number of bytes used by a bitmap covering the argument number of rows. */
+    static int getBitmapLength(final int rowCount) {
+        return ((rowCount + 63) >>> 6) * Long.BYTES;
+    }
+
+    /** @return the bit at the given position of the bitmap starting at the given (absolute) offset. */
+    static boolean isBitSet(final ByteBuffer buffer, final int bitmapOffset, final int index) {
+        long word = buffer.getLong(bitmapOffset + (index >>> 6) * Long.BYTES);
+        return (word & (1L << index)) != 0L;
+    }
+
+    /**
+     * Decodes a chunk from the argument buffer. Primitive chunks keep a reference to the buffer and read lazily,
+     * others are read eagerly.
+     *
+     * @param encoding The encoding as per the chunk header.
+     * @param rowCount number of rows in the chunk.
+     * @param statistics The statistics as per the chunk header.
+     * @param payload The payload, position and limit set to the chunk boundaries; the buffer is not modified.
+     * @param cellReader used to read {@link #ENCODING_GENERIC} chunks.
+     * @return a new chunk
+     * @throws IOException If the encoding is unknown or the payload is corrupt.
+     */
+    static ColumnarChunk decode(final byte encoding, final int rowCount, final ColumnarChunkStatistics statistics,
+        final ByteBuffer payload, final DataCellStreamReader cellReader) throws IOException {
+        final ByteBuffer buf = payload.slice();
+        final boolean hasMissing = statistics.getMissingCount() > 0;
+        final int valuesOffset = hasMissing ? getBitmapLength(rowCount) : 0;
+        switch (encoding) {
+            case ENCODING_ALL_MISSING:
+                return new AllMissingChunk(rowCount, statistics);
+            case ENCODING_INT:
+                checkLength(buf, valuesOffset + rowCount * Integer.BYTES);
+                return new PrimitiveChunk(rowCount, statistics, buf, hasMissing, valuesOffset) {
+                    @Override
+                    DataCell getValue(final int index) {
+                        return new IntCell(m_buffer.getInt(m_valuesOffset + index * Integer.BYTES));
+                    }
+                };
+            case ENCODING_LONG:
+                checkLength(buf, valuesOffset + rowCount * Long.BYTES);
+                return new PrimitiveChunk(rowCount, statistics, buf, hasMissing, valuesOffset) {
+                    @Override
+                    DataCell getValue(final int index) {
+                        return new LongCell(m_buffer.getLong(m_valuesOffset + index * Long.BYTES));
+                    }
+                };
+            case ENCODING_DOUBLE:
+                checkLength(buf, valuesOffset + rowCount * Double.BYTES);
+                return new PrimitiveChunk(rowCount, statistics, buf, hasMissing, valuesOffset) {
+                    @Override
+                    DataCell getValue(final int index) {
+                        return new DoubleCell(m_buffer.getDouble(m_valuesOffset + index * Double.BYTES));
+                    }
+                };
+            case ENCODING_BOOLEAN:
+                checkLength(buf, valuesOffset + getBitmapLength(rowCount));
+                return new PrimitiveChunk(rowCount, statistics, buf, hasMissing, valuesOffset) {
+                    @Override
+                    DataCell getValue(final int index) {
+                        return BooleanCell.get(isBitSet(m_buffer, m_valuesOffset, index));
+                    }
+                };
+            case ENCODING_STRING:
+                return decodeStrings(rowCount, statistics, buf, hasMissing, valuesOffset);
+            case ENCODING_GENERIC:
+                return decodeGeneric(rowCount, statistics, buf, cellReader);
+            default:
+                throw new IOException("Unknown chunk encoding: " + encoding);
+        }
+    }
+
+    private static void checkLength(final ByteBuffer buf, final int expectedLength) throws IOException {
+        if (buf.remaining() < expectedLength) {
+            throw new IOException("Corrupt chunk, expected at least " + expectedLength + " bytes but got "
+                + buf.remaining());
+        }
+    }
+
+    /** @return a stream reading the buffer from the given offset on, without copying the bytes. */
+    private static ByteBufferInputStream newInputStream(final ByteBuffer buf, final int offset) {
+        ByteBuffer dup = buf.duplicate();
+        dup.position(offset);
+        return new ByteBufferInputStream(dup);
+    }
+
+    private static ColumnarChunk decodeStrings(final int rowCount, final ColumnarChunkStatistics statistics,
+        final ByteBuffer buf, final boolean hasMissing, final int valuesOffset) throws IOException {
+        DataCell[] cells = new DataCell[rowCount];
+        try (LongUTFDataInputStream in = new LongUTFDataInputStream(
+            new DataInputStream(newInputStream(buf, valuesOffset)))) {
+            for (int i = 0; i < rowCount; i++) {
+                if (hasMissing && isBitSet(buf, 0, i)) {
+                    cells[i] = DataType.getMissingCell();
+                } else {
+                    cells[i] = new StringCell(in.readUTF());
+                }
+            }
+        }
+        return new MaterializedChunk(rowCount, statistics, cells);
+    }
+
+    private static ColumnarChunk decodeGeneric(final int rowCount, final ColumnarChunkStatistics statistics,
+        final ByteBuffer buf, final DataCellStreamReader cellReader) throws IOException {
+        DataCell[] cells = new DataCell[rowCount];
+        BlockableDCObjectInputVersion2 in =
+            new BlockableDCObjectInputVersion2(newInputStream(buf, 0), cellReader);
+        try {
+            for (int i = 0; i < rowCount; i++) {
+                try {
+                    cells[i] = cellReader.readDataCell(in);
+                } finally {
+                    in.endBlock();
+                }
+            }
+        } finally {
+            in.close();
+        }
+        return new MaterializedChunk(rowCount, statistics, cells);
+    }
+
+    /** Chunk only containing the missing cell singleton. */
+    private static final class AllMissingChunk extends ColumnarChunk {
+
+        AllMissingChunk(final int rowCount, final ColumnarChunkStatistics statistics) {
+            super(rowCount, statistics);
+        }
+
+        @Override
+        DataCell getCell(final int index) {
+            return DataType.getMissingCell();
+        }
+    }
+
+    /** Chunk whose cells have been deserialized while reading. */
+    private static final class MaterializedChunk extends ColumnarChunk {
+
+        private final DataCell[] m_cells;
+
+        MaterializedChunk(final int rowCount, final ColumnarChunkStatistics statistics, final DataCell[] cells) {
+            super(rowCount, statistics);
+            m_cells = cells;
+        }
+
+        @Override
+        DataCell getCell(final int index) {
+            return m_cells[index];
+        }
+    }
+
+    /** Fixed-width chunk, cells are created on access. */
+    private abstract static class PrimitiveChunk extends ColumnarChunk {
+
+        final ByteBuffer m_buffer;
+
+        final int m_valuesOffset;
+
+        private final boolean m_hasMissing;
+
+        PrimitiveChunk(final int rowCount, final ColumnarChunkStatistics statistics, final ByteBuffer buffer,
+            final boolean hasMissing, final int valuesOffset) {
+            super(rowCount, statistics);
+            m_buffer = buffer;
+            m_hasMissing = hasMissing;
+            m_valuesOffset = valuesOffset;
+        }
+
+        @Override
+        final DataCell getCell(final int index) {
+            if (m_hasMissing && isBitSet(m_buffer, 0, index)) {
+                return DataType.getMissingCell();
+            }
+            return getValue(index);
+        }
+
+        /** @return the non-missing cell at the given index. */
+        abstract DataCell getValue(int index);
+    }
+
+}
@@ -0,0 +1,183 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Position of all chunks in a file written by the {@link ColumnarTableStoreFormat}. Built by scanning the chunk
+ * headers once (skipping the payload) and used to map or read individual chunks and to locate a row by its index.
+ *
+ * @author agent
+ */
+final class ColumnarChunkIndex {
+
+    /** Size of a column chunk header: encoding, statistics, payload length. */
+    private static final int COLUMN_HEADER_LENGTH = Byte.BYTES + Integer.BYTES + 2 * Double.BYTES + Integer.BYTES;
+
+    /** Offset of chunk i in the file, last element is the end of the last chunk. */
+    private final long[] m_offsets;
+
+    /** Index of the first row in chunk i, last element is the total row count. */
+    private final long[] m_firstRows;
+
+    private ColumnarChunkIndex(final long[] offsets, final long[] firstRows) {
+        m_offsets = offsets;
+        m_firstRows = firstRows;
+    }
+
+    /** @return number of chunks in the file. */
+    int getChunkCount() {
+        return m_offsets.length - 1;
+    }
+
+    /** @return the total number of rows. */
+    long getRowCount() {
+        return m_firstRows[m_firstRows.length - 1];
+    }
+
+    /** @return the offset of the argument chunk in the file. */
+    long getOffset(final int chunk) {
+        return m_offsets[chunk];
+    }
+
+    /** @return the length of the argument chunk in bytes. */
+    long getLength(final int chunk) {
+        return m_offsets[chunk + 1] - m_offsets[chunk];
+    }
+
+    /** @return the index of the first row of the argument chunk. */
+    long getFirstRow(final int chunk) {
+        return m_firstRows[chunk];
+    }
+
+    /** @return the number of rows in the argument chunk. */
+    int getRowCount(final int chunk) {
+        return (int)(m_firstRows[chunk + 1] - m_firstRows[chunk]);
+    }
+
+    /**
+     * @param rowIndex a row index, 0 &lt;= rowIndex &lt; {@link #getRowCount()}
+     * @return the chunk containing the row
+     */
+    int getChunkForRow(final long rowIndex) {
+        if (rowIndex < 0 || rowIndex >= getRowCount()) {
+            throw new IndexOutOfBoundsException("Row index out of range: " + rowIndex + " (" + getRowCount()
+                + " rows)");
+        }
+        // search in all but the last element (total count)
+        int i = Arrays.binarySearch(m_firstRows, 0, m_firstRows.length - 1, rowIndex);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    /**
+     * Scans the chunk headers of the argument file.
+     *
+     * @param file to scan
+     * @param columnCount number of columns
+     * @param hasRowKeys whether the file contains row keys
+     * @return the index
+     * @throws IOException If the file is corrupt or can't be read.
+     */
+    static ColumnarChunkIndex scan(final File file, final int columnCount, final boolean hasRowKeys)
+        throws IOException {
+        long[] offsets = new long[16];
+        long[] firstRows = new long[16];
+        int chunkCount = 0;
+        long rowCount = 0L;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            ColumnarTableStoreFormat.readAndCheckHeader(in, columnCount, hasRowKeys);
+            long position = ColumnarTableStoreFormat.HEADER_LENGTH;
+            int chunkRowCount;
+            while ((chunkRowCount = in.readInt()) > 0) {
+                if (chunkCount + 1 >= offsets.length) {
+                    offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                    firstRows = Arrays.copyOf(firstRows, firstRows.length * 2);
+                }
+                offsets[chunkCount] = position;
+                firstRows[chunkCount] = rowCount;
+                position += Integer.BYTES;
+                if (hasRowKeys) {
+                    int keyLength = in.readInt();
+                    skipFully(in, keyLength);
+                    position += Integer.BYTES + keyLength;
+                }
+                for (int c = 0; c < columnCount; c++) {
+                    skipFully(in, COLUMN_HEADER_LENGTH - Integer.BYTES);
+                    int payloadLength = in.readInt();
+                    skipFully(in, payloadLength);
+                    position += COLUMN_HEADER_LENGTH + payloadLength;
+                }
+                chunkCount++;
+                rowCount += chunkRowCount;
+            }
+            offsets[chunkCount] = position;
+            firstRows[chunkCount] = rowCount;
+        }
+        return new ColumnarChunkIndex(Arrays.copyOf(offsets, chunkCount + 1),
+            Arrays.copyOf(firstRows, chunkCount + 1));
+    }
+
+    private static void skipFully(final DataInputStream in, final long length) throws IOException {
+        long remaining = length;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                throw new EOFException("Unexpected end of file while scanning chunks");
+            }
+            remaining -= skipped;
+        }
+    }
+
+}
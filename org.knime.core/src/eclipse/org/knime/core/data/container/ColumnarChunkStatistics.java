@@ -0,0 +1,113 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Statistics of a single column chunk as written into the chunk header of the {@link ColumnarTableStoreFormat}:
+ * number of missing values and, for numeric chunks, the minimum and maximum value. Min and max are
+ * {@link Double#NaN} for non-numeric chunks or chunks without non-missing values.
+ *
+ * @author agent
+ */
+final class ColumnarChunkStatistics {
+
+    private final int m_missingCount;
+
+    private final double m_min;
+
+    private final double m_max;
+
+    ColumnarChunkStatistics(final int missingCount, final double min, final double max) {
+        m_missingCount = missingCount;
+        m_min = min;
+        m_max = max;
+    }
+
+    /** @return number of missing cells in the chunk. */
+    int getMissingCount() {
+        return m_missingCount;
+    }
+
+    /** @return the smallest non-missing value or NaN. */
+    double getMin() {
+        return m_min;
+    }
+
+    /** @return the largest non-missing value or NaN. */
+    double getMax() {
+        return m_max;
+    }
+
+    /** @param out to write to
+     * @throws IOException ... */
+    void write(final DataOutput out) throws IOException {
+        out.writeInt(m_missingCount);
+        out.writeDouble(m_min);
+        out.writeDouble(m_max);
+    }
+
+    /** @param in to read from
+     * @return the statistics as written by {@link #write(DataOutput)}
+     * @throws IOException ... */
+    static ColumnarChunkStatistics read(final DataInput in) throws IOException {
+        int missingCount = in.readInt();
+        double min = in.readDouble();
+        double max = in.readDouble();
+        return new ColumnarChunkStatistics(missingCount, min, max);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "missing=" + m_missingCount + ", min=" + m_min + ", max=" + m_max;
+    }
+}
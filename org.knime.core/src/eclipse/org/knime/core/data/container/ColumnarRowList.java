@@ -0,0 +1,563 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * The list of rows held in memory by a {@link Buffer}. Rather than keeping the rows (and their cells) as objects, the
+ * data is stored column by column: columns that only contain {@link IntCell}, {@link LongCell}, {@link DoubleCell},
+ * {@link BooleanCell} or {@link StringCell} (or missing values) are stored as primitive arrays plus a missing value
+ * bitmap, all other columns as plain cell arrays. A column falls back to a cell array as soon as a cell of a different
+ * class (or a missing cell carrying an error message) is added. Rows and cells are materialized when the row is
+ * accessed via {@link #get(int)}.
+ *
+ * <p>
+ * The list only supports appending rows. Concurrent reads are safe, reads concurrent to {@link #add(BlobSupportDataRow)}
+ * must be synchronized by the caller.
+ *
+ * @author agent
+ */
+final class ColumnarRowList extends AbstractList<BlobSupportDataRow> implements RandomAccess {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** Estimated size of an object reference. */
+    private static final int REFERENCE_BYTES = 8;
+
+    /** Estimated size of a string (including the enclosing object) without its characters. */
+    private static final int STRING_BYTES = 40;
+
+    /** Estimated size of a cell kept as object, used for cells other than the primitive ones. */
+    private static final int CELL_BYTES = 32;
+
+    private RowKey[] m_keys;
+
+    private final Column[] m_columns;
+
+    private int m_size;
+
+    /** Estimated bytes of the row keys (excluding the array). */
+    private long m_keyBytes;
+
+    /**
+     * @param columnCount number of columns in the rows to be added
+     * @param initialCapacity number of rows to allocate space for
+     */
+    ColumnarRowList(final int columnCount, final int initialCapacity) {
+        m_keys = new RowKey[Math.max(initialCapacity, 1)];
+        m_columns = new Column[columnCount];
+        Arrays.fill(m_columns, AllMissingColumn.INSTANCE);
+    }
+
+    /** @param columnCount number of columns in the rows to be added */
+    ColumnarRowList(final int columnCount) {
+        this(columnCount, DEFAULT_CAPACITY);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean add(final BlobSupportDataRow row) {
+        final int index = m_size;
+        if (index == m_keys.length) {
+            m_keys = Arrays.copyOf(m_keys, newCapacity(index));
+        }
+        m_keys[index] = row.getKey();
+        m_keyBytes += REFERENCE_BYTES + stringBytes(row.getKey().getString());
+        for (int c = 0; c < m_columns.length; c++) {
+            m_columns[c] = m_columns[c].set(index, row.getRawCell(c));
+        }
+        m_size = index + 1;
+        modCount++;
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public BlobSupportDataRow get(final int index) {
+        if (index < 0 || index >= m_size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + m_size);
+        }
+        DataCell[] cells = new DataCell[m_columns.length];
+        for (int c = 0; c < cells.length; c++) {
+            cells[c] = m_columns[c].get(index);
+        }
+        return new BlobSupportDataRow(m_keys[index], cells);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return m_size;
+    }
+
+    /**
+     * An estimate of the memory held by this list. It's based on the array lengths, the lengths of the strings and a
+     * constant size per cell for columns that aren't stored as primitives; it doesn't account for memory shared with
+     * other objects.
+     *
+     * @return estimated size in bytes
+     */
+    long getSizeInBytes() {
+        long result = (long)m_keys.length * REFERENCE_BYTES + m_keyBytes;
+        for (Column c : m_columns) {
+            result += c.getSizeInBytes();
+        }
+        return result;
+    }
+
+    /** Estimated size of a string. */
+    private static long stringBytes(final String s) {
+        return STRING_BYTES + 2L * s.length();
+    }
+
+    /** Capacity of the arrays when index is to be set but is out of range. */
+    private static int newCapacity(final int index) {
+        int newCapacity = Math.max(index + 1, DEFAULT_CAPACITY);
+        return Math.max(newCapacity, index + (index >> 1));
+    }
+
+    /** Checks whether the cell is the missing cell singleton, other missing cells have an error message attached. */
+    private static boolean isMissingSingleton(final DataCell cell) {
+        return cell == DataType.getMissingCell();
+    }
+
+    /** Storage of a single column. */
+    private abstract static class Column {
+
+        /**
+         * @param index the row index, either an index previously set or the next index
+         * @param cell the raw cell
+         * @return this or a column replacing this column (to which all previously set cells have been copied)
+         */
+        abstract Column set(final int index, final DataCell cell);
+
+        /**
+         * @param index row index, valid
+         * @return the cell at that index
+         */
+        abstract DataCell get(final int index);
+
+        /** @return estimated memory held by this column, see {@link ColumnarRowList#getSizeInBytes()}. */
+        abstract long getSizeInBytes();
+
+        /** Copies all cells up to (but excluding) the argument index into a cell array based column. */
+        final Column toGeneric(final int index) {
+            CellColumn result = new CellColumn(newCapacity(index));
+            for (int i = 0; i < index; i++) {
+                result.set(i, get(i));
+            }
+            return result;
+        }
+    }
+
+    /** Initial column; holds no data as long as only missing cells are added. */
+    private static final class AllMissingColumn extends Column {
+
+        static final AllMissingColumn INSTANCE = new AllMissingColumn();
+
+        @Override
+        Column set(final int index, final DataCell cell) {
+            if (isMissingSingleton(cell)) {
+                return this;
+            }
+            final Class<? extends DataCell> cellClass = cell.getClass();
+            final int capacity = newCapacity(index);
+            Column result;
+            if (cellClass == IntCell.class) {
+                result = new IntColumn(capacity);
+            } else if (cellClass == LongCell.class) {
+                result = new LongColumn(capacity);
+            } else if (cellClass == DoubleCell.class) {
+                result = new DoubleColumn(capacity);
+            } else if (cellClass == BooleanCell.class) {
+                result = new BooleanColumn(capacity);
+            } else if (cellClass == StringCell.class) {
+                result = new StringColumn(capacity);
+            } else {
+                result = new CellColumn(capacity);
+            }
+            for (int i = 0; i < index; i++) {
+                result = result.set(i, DataType.getMissingCell());
+            }
+            return result.set(index, cell);
+        }
+
+        @Override
+        DataCell get(final int index) {
+            return DataType.getMissingCell();
+        }
+
+        @Override
+        long getSizeInBytes() {
+            return 0L;
+        }
+    }
+
+    /** Base class for primitive columns, keeps the missing value bitmap. */
+    private abstract static class PrimitiveColumn extends Column {
+
+        private long[] m_missing;
+
+        PrimitiveColumn(final int capacity) {
+            m_missing = new long[(capacity + 63) >>> 6];
+        }
+
+        @Override
+        final Column set(final int index, final DataCell cell) {
+            if (isMissingSingleton(cell)) {
+                ensureCapacity(index);
+                m_missing[index >>> 6] |= 1L << index;
+                return this;
+            }
+            if (cell.getClass() != getCellClass()) {
+                return toGeneric(index).set(index, cell);
+            }
+            ensureCapacity(index);
+            m_missing[index >>> 6] &= ~(1L << index);
+            setValue(index, cell);
+            return this;
+        }
+
+        @Override
+        final DataCell get(final int index) {
+            if ((m_missing[index >>> 6] & (1L << index)) != 0L) {
+                return DataType.getMissingCell();
+            }
+            return getValue(index);
+        }
+
+        @Override
+        final long getSizeInBytes() {
+            return 8L * m_missing.length + getValueSizeInBytes();
+        }
+
+        private void ensureCapacity(final int index) {
+            if (index >= getCapacity()) {
+                int capacity = newCapacity(index);
+                m_missing = Arrays.copyOf(m_missing, (capacity + 63) >>> 6);
+                grow(capacity);
+            }
+        }
+
+        /** @return the exact class of the cells this column accepts. */
+        abstract Class<? extends DataCell> getCellClass();
+
+        /** @return length of the value array(s). */
+        abstract int getCapacity();
+
+        /** @param capacity new length of the value array(s), larger than the current */
+        abstract void grow(final int capacity);
+
+        /** Sets a non-missing value, capacity has been ensured. */
+        abstract void setValue(final int index, final DataCell cell);
+
+        /** Creates the cell for a non-missing value. */
+        abstract DataCell getValue(final int index);
+
+        /** @return estimated size of the value array(s). */
+        abstract long getValueSizeInBytes();
+    }
+
+    private static final class IntColumn extends PrimitiveColumn {
+
+        private int[] m_values;
+
+        IntColumn(final int capacity) {
+            super(capacity);
+            m_values = new int[capacity];
+        }
+
+        @Override
+        Class<? extends DataCell> getCellClass() {
+            return IntCell.class;
+        }
+
+        @Override
+        int getCapacity() {
+            return m_values.length;
+        }
+
+        @Override
+        void grow(final int capacity) {
+            m_values = Arrays.copyOf(m_values, capacity);
+        }
+
+        @Override
+        void setValue(final int index, final DataCell cell) {
+            m_values[index] = ((IntCell)cell).getIntValue();
+        }
+
+        @Override
+        DataCell getValue(final int index) {
+            return new IntCell(m_values[index]);
+        }
+
+        @Override
+        long getValueSizeInBytes() {
+            return 4L * m_values.length;
+        }
+    }
+
+    private static final class LongColumn extends PrimitiveColumn {
+
+        private long[] m_values;
+
+        LongColumn(final int capacity) {
+            super(capacity);
+            m_values = new long[capacity];
+        }
+
+        @Override
+        Class<? extends DataCell> getCellClass() {
+            return LongCell.class;
+        }
+
+        @Override
+        int getCapacity() {
+            return m_values.length;
+        }
+
+        @Override
+        void grow(final int capacity) {
+            m_values = Arrays.copyOf(m_values, capacity);
+        }
+
+        @Override
+        void setValue(final int index, final DataCell cell) {
+            m_values[index] = ((LongCell)cell).getLongValue();
+        }
+
+        @Override
+        DataCell getValue(final int index) {
+            return new LongCell(m_values[index]);
+        }
+
+        @Override
+        long getValueSizeInBytes() {
+            return 8L * m_values.length;
+        }
+    }
+
+    private static final class DoubleColumn extends PrimitiveColumn {
+
+        private double[] m_values;
+
+        DoubleColumn(final int capacity) {
+            super(capacity);
+            m_values = new double[capacity];
+        }
+
+        @Override
+        Class<? extends DataCell> getCellClass() {
+            return DoubleCell.class;
+        }
+
+        @Override
+        int getCapacity() {
+            return m_values.length;
+        }
+
+        @Override
+        void grow(final int capacity) {
+            m_values = Arrays.copyOf(m_values, capacity);
+        }
+
+        @Override
+        void setValue(final int index, final DataCell cell) {
+            m_values[index] = ((DoubleCell)cell).getDoubleValue();
+        }
+
+        @Override
+        DataCell getValue(final int index) {
+            return new DoubleCell(m_values[index]);
+        }
+
+        @Override
+        long getValueSizeInBytes() {
+            return 8L * m_values.length;
+        }
+    }
+
+    private static final class BooleanColumn extends PrimitiveColumn {
+
+        private long[] m_values;
+
+        private int m_capacity;
+
+        BooleanColumn(final int capacity) {
+            super(capacity);
+            m_values = new long[(capacity + 63) >>> 6];
+            m_capacity = capacity;
+        }
+
+        @Override
+        Class<? extends DataCell> getCellClass() {
+            return BooleanCell.class;
+        }
+
+        @Override
+        int getCapacity() {
+            return m_capacity;
+        }
+
+        @Override
+        void grow(final int capacity) {
+            m_values = Arrays.copyOf(m_values, (capacity + 63) >>> 6);
+            m_capacity = capacity;
+        }
+
+        @Override
+        void setValue(final int index, final DataCell cell) {
+            if (((BooleanCell)cell).getBooleanValue()) {
+                m_values[index >>> 6] |= 1L << index;
+            } else {
+                m_values[index >>> 6] &= ~(1L << index);
+            }
+        }
+
+        @Override
+        DataCell getValue(final int index) {
+            return BooleanCell.get((m_values[index >>> 6] & (1L << index)) != 0L);
+        }
+
+        @Override
+        long getValueSizeInBytes() {
+            return 8L * m_values.length;
+        }
+    }
+
+    private static final class StringColumn extends PrimitiveColumn {
+
+        private String[] m_values;
+
+        private long m_stringBytes;
+
+        StringColumn(final int capacity) {
+            super(capacity);
+            m_values = new String[capacity];
+        }
+
+        @Override
+        Class<? extends DataCell> getCellClass() {
+            return StringCell.class;
+        }
+
+        @Override
+        int getCapacity() {
+            return m_values.length;
+        }
+
+        @Override
+        void grow(final int capacity) {
+            m_values = Arrays.copyOf(m_values, capacity);
+        }
+
+        @Override
+        void setValue(final int index, final DataCell cell) {
+            m_values[index] = ((StringCell)cell).getStringValue();
+            m_stringBytes += stringBytes(m_values[index]);
+        }
+
+        @Override
+        DataCell getValue(final int index) {
+            return new StringCell(m_values[index]);
+        }
+
+        @Override
+        long getValueSizeInBytes() {
+            return (long)m_values.length * REFERENCE_BYTES + m_stringBytes;
+        }
+    }
+
+    /** Fallback, keeps the (raw) cells. */
+    private static final class CellColumn extends Column {
+
+        private DataCell[] m_cells;
+
+        private int m_cellCount;
+
+        CellColumn(final int capacity) {
+            m_cells = new DataCell[capacity];
+        }
+
+        @Override
+        Column set(final int index, final DataCell cell) {
+            if (index >= m_cells.length) {
+                m_cells = Arrays.copyOf(m_cells, newCapacity(index));
+            }
+            if (m_cells[index] == null) {
+                m_cellCount++;
+            }
+            m_cells[index] = cell;
+            return this;
+        }
+
+        @Override
+        DataCell get(final int index) {
+            return m_cells[index];
+        }
+
+        @Override
+        long getSizeInBytes() {
+            return (long)m_cells.length * REFERENCE_BYTES + (long)m_cellCount * CELL_BYTES;
+        }
+    }
+
+}
@@ -0,0 +1,193 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.IDataRepository;
+import org.knime.core.data.container.storage.AbstractTableStoreReader;
+import org.knime.core.data.container.storage.AbstractTableStoreWriter;
+import org.knime.core.data.container.storage.TableStoreFormat;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeSettingsRO;
+
+/**
+ * A table store format that persists the data column by column. Rows are grouped into chunks of
+ * {@link #DEF_ROWS_PER_CHUNK} rows; within a chunk each column is written as a separate, length-prefixed block so
+ * that readers only interested in a subset of the columns (see
+ * {@link org.knime.core.data.RowIteratorBuilder#filterColumns(int...)}) skip all other columns without deserializing
+ * them. Columns (chunks) that only contain int, long, double, boolean or string cells are stored as plain primitive
+ * arrays plus a missing value bitmap; all others fall back to the cell serialization as used by the
+ * {@link DefaultTableStoreFormat}. Each column chunk header carries statistics (missing count, min, max).
+ *
+ * <p>
+ * File layout:
+ * <pre>
+ *   header   := MAGIC_NUMBER (int), FORMAT_VERSION (byte), #columns (int), has-row-keys (boolean)
+ *   chunk    := #rows (int, &gt; 0), [keys], column-chunk * #columns
+ *   keys     := byte-length (int), long-UTF strings
+ *   column-chunk := encoding (byte), missing count (int), min (double), max (double), byte-length (int), payload
+ *   file     := header, chunk*, 0 (int)
+ * </pre>
+ * See {@link ColumnarChunk} for the payload layout. Primitive chunks are fixed-width, which allows the reader to decode
+ * them in place from memory mapped regions of the file (see {@link MappedFileInputStream#IS_ENABLED}) and to access
+ * rows by their index.
+ *
+ * @author agent
+ * @since 3.7
+ * @noextend This class is not intended to be subclassed by clients.
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class ColumnarTableStoreFormat implements TableStoreFormat {
+
+    /** Number of rows per chunk. */
+    static final int DEF_ROWS_PER_CHUNK = 8192;
+
+    /** Leading bytes of each file ("KCOL"). */
+    static final int MAGIC_NUMBER = 0x4B434F4C;
+
+    /** Version of the file layout, written into the header. */
+    static final byte FORMAT_VERSION = 1;
+
+    /** Length of the file header in bytes: magic number, format version, column count and row key flag. */
+    static final int HEADER_LENGTH = Integer.BYTES + Byte.BYTES + Integer.BYTES + 1;
+
+    /** The version as persisted in the meta data ({@link #getVersion()}). */
+    static final String VERSION = "columnar_1";
+
+    /** Config key for number of rows per chunk (informative). */
+    static final String CFG_ROWS_PER_CHUNK = "columnar.rowsPerChunk";
+
+    /** Config key for the number of chunks (informative). */
+    static final String CFG_CHUNK_COUNT = "columnar.chunkCount";
+
+    @Override
+    public String getName() {
+        return "Columnar (KNIME)";
+    }
+
+    @Override
+    public String getFilenameSuffix() {
+        return ".kcol";
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean accepts(final DataTableSpec spec) {
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AbstractTableStoreWriter createWriter(final File binFile, final DataTableSpec spec,
+        final boolean writeRowKey) throws IOException {
+        return createWriter(new FileOutputStream(binFile), spec, writeRowKey);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AbstractTableStoreWriter createWriter(final OutputStream output, final DataTableSpec spec,
+        final boolean writeRowKey) throws IOException {
+        return new ColumnarTableStoreWriter(spec, output, writeRowKey, DEF_ROWS_PER_CHUNK);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AbstractTableStoreReader createReader(final File binFile, final DataTableSpec spec,
+        final IDataRepository dataRepository, final NodeSettingsRO settings, final int version,
+        final boolean isReadRowKey) throws IOException, InvalidSettingsException {
+        return new ColumnarTableStoreReader(binFile, spec, settings, version, isReadRowKey);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getVersion() {
+        return VERSION;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean validateVersion(final String versionString) {
+        return VERSION.equals(versionString);
+    }
+
+    /**
+     * Reads the file header and validates it against the expected values.
+     *
+     * @param in to read from, positioned at the start of the file
+     * @param expectedColumnCount number of columns in the spec
+     * @param expectRowKeys whether row keys are expected in the file
+     * @throws IOException if the header is invalid
+     */
+    static void readAndCheckHeader(final DataInputStream in, final int expectedColumnCount,
+        final boolean expectRowKeys) throws IOException {
+        int magic = in.readInt();
+        if (magic != MAGIC_NUMBER) {
+            throw new IOException("Not a columnar table file, invalid magic number: " + Integer.toHexString(magic));
+        }
+        byte version = in.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported columnar table file version: " + version);
+        }
+        int columnCount = in.readInt();
+        if (columnCount != expectedColumnCount) {
+            throw new IOException("Unexpected number of columns in file, expected " + expectedColumnCount
+                + " but got " + columnCount);
+        }
+        boolean hasRowKeys = in.readBoolean();
+        if (hasRowKeys != expectRowKeys) {
+            throw new IOException("File " + (hasRowKeys ? "contains" : "does not contain") + " row keys");
+        }
+    }
+
+}
@@ -0,0 +1,559 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowIteratorBuilder;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.UnmaterializedCell;
+import org.knime.core.data.container.BufferFromFileIteratorVersion20.DataCellStreamReader;
+import org.knime.core.data.container.storage.AbstractTableStoreReader;
+import org.knime.core.data.container.storage.AbstractTableStoreWriter;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeSettingsRO;
+
+/**
+ * Reader for the {@link ColumnarTableStoreFormat}. Iterators created via {@link #iteratorBuilder()} that only
+ * {@link RowIteratorBuilder#filterColumns(int...) select some columns} skip the bytes of all other columns; the
+ * corresponding cells in the returned rows are {@link UnmaterializedCell unmaterialized}.
+ *
+ * <p>
+ * If {@link MappedFileInputStream#IS_ENABLED memory mapping} is enabled the file is mapped into memory (in segments of
+ * at most {@link MappedFileInputStream#SEGMENT_SIZE} bytes, each covering consecutive chunks) and primitive cells are
+ * decoded directly from the mapped region. The mappings are dropped when the reader is cleared (see
+ * {@link #clearIteratorInstances()}) and released once garbage collected. Independent of that, rows can be accessed by their
+ * index via {@link #getRow(long)}.
+ *
+ * @author agent
+ */
+final class ColumnarTableStoreReader extends AbstractTableStoreReader {
+
+    private final boolean m_isReadRowKey;
+
+    /** Positions of the chunks in the file, lazily built by {@link #getChunkIndex()}. */
+    private ColumnarChunkIndex m_chunkIndex;
+
+    /** Mapped segments of the file (only used if memory mapping is enabled), created on demand. */
+    private MappedByteBuffer[] m_mappedSegments;
+
+    /** File offset and length of each segment, initialized along with {@link #m_mappedSegments}. */
+    private long[] m_segmentOffsets;
+
+    private long[] m_segmentLengths;
+
+    /** Index of the segment containing each chunk. */
+    private int[] m_chunkSegments;
+
+    /** The chunk that was last accessed via {@link #getRow(long)}, null if none. */
+    private int m_randomAccessChunkIndex = -1;
+
+    private RowKey[] m_randomAccessKeys;
+
+    private ColumnarChunk[] m_randomAccessChunks;
+
+    /**
+     * Constructs a reader.
+     *
+     * @param binFile the local file from which to read
+     * @param spec the specification of the data table
+     * @param settings The settings (written by
+     *            {@link AbstractTableStoreWriter#writeMetaInfoAfterWrite(org.knime.core.node.NodeSettingsWO)})
+     * @param version The version as defined in the {@link Buffer} class
+     * @param isReadRowKey whether or not row keys are to be read
+     * @throws IOException any type of I/O problem
+     * @throws InvalidSettingsException If the settings are invalid
+     */
+    ColumnarTableStoreReader(final File binFile, final DataTableSpec spec, final NodeSettingsRO settings,
+        final int version, final boolean isReadRowKey) throws IOException, InvalidSettingsException {
+        super(binFile, spec, settings, version);
+        readCellClassInfoArrayFromMetaVersion2(settings);
+        m_isReadRowKey = isReadRowKey;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TableStoreCloseableRowIterator iterator() {
+        return createIterator(null);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected TableStoreCloseableRowIterator iterator(final int[] selectedColumns) {
+        return createIterator(selectedColumns);
+    }
+
+    /** @param selectedColumns columns to materialize or null for all */
+    private TableStoreCloseableRowIterator createIterator(final int[] selectedColumns) {
+        boolean[] isMaterialize = new boolean[getSpec().getNumColumns()];
+        if (selectedColumns == null) {
+            Arrays.fill(isMaterialize, true);
+        } else {
+            for (int i : selectedColumns) {
+                isMaterialize[i] = true;
+            }
+        }
+        try {
+            if (MappedFileInputStream.IS_ENABLED) {
+                return new MappedColumnarIterator(isMaterialize);
+            }
+            return new ColumnarIterator(isMaterialize);
+        } catch (IOException ioe) {
+            checkAndReportOpenFiles(ioe);
+            throw new RuntimeException("Cannot read file \"" + getFile().getName() + "\"", ioe);
+        }
+    }
+
+    /**
+     * Returns the row with the given index. The chunk containing the row is read (or mapped) and kept until a row in
+     * a different chunk is requested, i.e. accessing rows in order is cheap.
+     *
+     * @param rowIndex index of the row, 0 &lt;= rowIndex &lt; number of rows
+     * @return the row
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * @throws IOException If reading the file fails
+     */
+    synchronized BlobSupportDataRow getRow(final long rowIndex) throws IOException {
+        final ColumnarChunkIndex chunkIndex = getChunkIndex();
+        final int chunk = chunkIndex.getChunkForRow(rowIndex);
+        if (chunk != m_randomAccessChunkIndex) {
+            boolean[] isMaterialize = new boolean[getSpec().getNumColumns()];
+            Arrays.fill(isMaterialize, true);
+            ColumnarChunk[] chunks = new ColumnarChunk[isMaterialize.length];
+            m_randomAccessKeys = decodeChunk(getChunkBuffer(chunk), isMaterialize, chunks,
+                new DataCellStreamReader(this));
+            m_randomAccessChunks = chunks;
+            m_randomAccessChunkIndex = chunk;
+        }
+        final int indexInChunk = (int)(rowIndex - chunkIndex.getFirstRow(chunk));
+        DataCell[] cells = new DataCell[m_randomAccessChunks.length];
+        for (int c = 0; c < cells.length; c++) {
+            cells[c] = m_randomAccessChunks[c].getCell(indexInChunk);
+        }
+        RowKey key = m_isReadRowKey ? m_randomAccessKeys[indexInChunk] : KNIMEStreamConstants.DUMMY_ROW_KEY;
+        return new BlobSupportDataRow(key, cells);
+    }
+
+    /** @return the chunk index, scanning the file on first access. */
+    private synchronized ColumnarChunkIndex getChunkIndex() throws IOException {
+        if (m_chunkIndex == null) {
+            m_chunkIndex = ColumnarChunkIndex.scan(getFile(), getSpec().getNumColumns(), m_isReadRowKey);
+        }
+        return m_chunkIndex;
+    }
+
+    /**
+     * Returns the bytes of the argument chunk, either as part of a (cached) memory mapped segment or, if memory mapping
+     * is disabled, read into a heap buffer.
+     */
+    private synchronized ByteBuffer getChunkBuffer(final int chunk) throws IOException {
+        final ColumnarChunkIndex chunkIndex = getChunkIndex();
+        final long length = chunkIndex.getLength(chunk);
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Chunk " + chunk + " exceeds maximum size (" + length + " bytes)");
+        }
+        if (MappedFileInputStream.IS_ENABLED) {
+            if (m_mappedSegments == null) {
+                initSegments(chunkIndex);
+            }
+            final int segment = m_chunkSegments[chunk];
+            if (m_mappedSegments[segment] == null) {
+                try (FileChannel channel = FileChannel.open(getFile().toPath(), StandardOpenOption.READ)) {
+                    // the mapping stays valid after the channel is closed
+                    m_mappedSegments[segment] =
+                        channel.map(MapMode.READ_ONLY, m_segmentOffsets[segment], m_segmentLengths[segment]);
+                }
+            }
+            ByteBuffer buffer = m_mappedSegments[segment].duplicate();
+            int position = (int)(chunkIndex.getOffset(chunk) - m_segmentOffsets[segment]);
+            buffer.position(position);
+            buffer.limit(position + (int)length);
+            return buffer.slice();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int)length);
+        try (FileChannel channel = FileChannel.open(getFile().toPath(), StandardOpenOption.READ)) {
+            long position = chunkIndex.getOffset(chunk);
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position + buffer.position());
+                if (read < 0) {
+                    throw new EOFException("Unexpected end of file while reading chunk " + chunk);
+                }
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Assigns the chunks to segments: consecutive chunks share a segment as long as it doesn't exceed
+     * {@link MappedFileInputStream#SEGMENT_SIZE} bytes (a larger chunk gets its own segment).
+     */
+    private void initSegments(final ColumnarChunkIndex chunkIndex) {
+        final int chunkCount = chunkIndex.getChunkCount();
+        m_chunkSegments = new int[chunkCount];
+        long[] offsets = new long[chunkCount];
+        long[] lengths = new long[chunkCount];
+        int segment = -1;
+        for (int c = 0; c < chunkCount; c++) {
+            long start = chunkIndex.getOffset(c);
+            long end = start + chunkIndex.getLength(c);
+            if (segment < 0 || end - offsets[segment] > MappedFileInputStream.SEGMENT_SIZE) {
+                segment++;
+                offsets[segment] = start;
+            }
+            lengths[segment] = end - offsets[segment];
+            m_chunkSegments[c] = segment;
+        }
+        m_segmentOffsets = Arrays.copyOf(offsets, segment + 1);
+        m_segmentLengths = Arrays.copyOf(lengths, segment + 1);
+        m_mappedSegments = new MappedByteBuffer[segment + 1];
+    }
+
+    /**
+     * {@inheritDoc} Also drops the memory mapped segments and the chunk cached for random access; this is called when
+     * the owning buffer is cleared, i.e. the file is about to be deleted.
+     */
+    @Override
+    public void clearIteratorInstances() {
+        super.clearIteratorInstances();
+        synchronized (this) {
+            m_mappedSegments = null;
+            m_segmentOffsets = null;
+            m_segmentLengths = null;
+            m_chunkSegments = null;
+            m_randomAccessChunkIndex = -1;
+            m_randomAccessKeys = null;
+            m_randomAccessChunks = null;
+        }
+    }
+
+    /**
+     * Decodes a chunk from its bytes. Primitive column chunks are decoded lazily from the argument buffer.
+     *
+     * @param buffer the bytes of the chunk, starting with the row count
+     * @param isMaterialize which columns to decode, others are set to null
+     * @param chunks the array to fill with the decoded column chunks
+     * @param cellReader used to read non-primitive cells
+     * @return the row keys or null if the file contains no row keys
+     */
+    private RowKey[] decodeChunk(final ByteBuffer buffer, final boolean[] isMaterialize,
+        final ColumnarChunk[] chunks, final DataCellStreamReader cellReader) throws IOException {
+        int position = buffer.position();
+        final int rowCount = buffer.getInt(position);
+        position += Integer.BYTES;
+        RowKey[] keys = null;
+        if (m_isReadRowKey) {
+            final int keyLength = buffer.getInt(position);
+            position += Integer.BYTES;
+            keys = new RowKey[rowCount];
+            ByteBuffer keyBuffer = buffer.duplicate();
+            keyBuffer.position(position).limit(position + keyLength);
+            try (LongUTFDataInputStream keyIn =
+                new LongUTFDataInputStream(new DataInputStream(new ByteBufferInputStream(keyBuffer)))) {
+                for (int r = 0; r < rowCount; r++) {
+                    keys[r] = new RowKey(keyIn.readUTF());
+                }
+            }
+            position += keyLength;
+        }
+        for (int c = 0; c < chunks.length; c++) {
+            byte encoding = buffer.get(position);
+            position += Byte.BYTES;
+            ColumnarChunkStatistics statistics = new ColumnarChunkStatistics(buffer.getInt(position),
+                buffer.getDouble(position + Integer.BYTES), buffer.getDouble(position + Integer.BYTES + Double.BYTES));
+            position += Integer.BYTES + 2 * Double.BYTES;
+            int length = buffer.getInt(position);
+            position += Integer.BYTES;
+            if (isMaterialize[c]) {
+                ByteBuffer payload = buffer.duplicate();
+                payload.position(position).limit(position + length);
+                chunks[c] = ColumnarChunk.decode(encoding, rowCount, statistics, payload, cellReader);
+            } else {
+                chunks[c] = null;
+            }
+            position += length;
+        }
+        return keys;
+    }
+
+    /** Iterator reading chunk by chunk, skipping the columns that are not to be materialized. */
+    private final class ColumnarIterator extends TableStoreCloseableRowIterator {
+
+        private final boolean[] m_isMaterialize;
+
+        private final DataCellStreamReader m_cellReader;
+
+        private DataInputStream m_in;
+
+        private RowKey[] m_keys;
+
+        private ColumnarChunk[] m_chunks;
+
+        private int m_chunkRowCount;
+
+        private int m_indexInChunk;
+
+        private long m_chunkIndex;
+
+        ColumnarIterator(final boolean[] isMaterialize) throws IOException {
+            m_isMaterialize = isMaterialize;
+            m_cellReader = new DataCellStreamReader(ColumnarTableStoreReader.this);
+            m_chunks = new ColumnarChunk[isMaterialize.length];
+            m_in = new DataInputStream(new BufferedInputStream(new FileInputStream(getFile())));
+            try {
+                ColumnarTableStoreFormat.readAndCheckHeader(m_in, isMaterialize.length, m_isReadRowKey);
+            } catch (IOException ioe) {
+                m_in.close();
+                m_in = null;
+                throw ioe;
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public synchronized boolean hasNext() {
+            if (m_indexInChunk < m_chunkRowCount) {
+                return true;
+            }
+            if (m_in == null) {
+                return false;
+            }
+            try {
+                readNextChunk();
+            } catch (IOException ioe) {
+                throw new RuntimeException("Errors while reading chunk " + m_chunkIndex + " from file \""
+                    + getFile().getName() + "\": " + ioe.getMessage(), ioe);
+            }
+            boolean hasNext = m_indexInChunk < m_chunkRowCount;
+            if (!hasNext) {
+                close();
+            }
+            return hasNext;
+        }
+
+        private void readNextChunk() throws IOException {
+            m_indexInChunk = 0;
+            m_chunkRowCount = 0;
+            final int rowCount = m_in.readInt();
+            if (rowCount == 0) {
+                return;
+            }
+            if (m_isReadRowKey) {
+                byte[] keyBytes = new byte[m_in.readInt()];
+                m_in.readFully(keyBytes);
+                m_keys = new RowKey[rowCount];
+                try (LongUTFDataInputStream keyIn =
+                    new LongUTFDataInputStream(new DataInputStream(new ByteArrayInputStream(keyBytes)))) {
+                    for (int r = 0; r < rowCount; r++) {
+                        m_keys[r] = new RowKey(keyIn.readUTF());
+                    }
+                }
+            }
+            for (int c = 0; c < m_chunks.length; c++) {
+                byte encoding = m_in.readByte();
+                ColumnarChunkStatistics statistics = ColumnarChunkStatistics.read(m_in);
+                int length = m_in.readInt();
+                if (m_isMaterialize[c]) {
+                    byte[] payload = new byte[length];
+                    m_in.readFully(payload);
+                    m_chunks[c] =
+                        ColumnarChunk.decode(encoding, rowCount, statistics, ByteBuffer.wrap(payload), m_cellReader);
+                } else {
+                    skipFully(length);
+                    m_chunks[c] = null;
+                }
+            }
+            m_chunkRowCount = rowCount;
+            m_chunkIndex++;
+        }
+
+        private void skipFully(final int length) throws IOException {
+            long remaining = length;
+            while (remaining > 0) {
+                long skipped = m_in.skip(remaining);
+                if (skipped <= 0) {
+                    throw new EOFException("Unexpected end of file while skipping column chunk");
+                }
+                remaining -= skipped;
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public synchronized BlobSupportDataRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Iterator at end");
+            }
+            final int index = m_indexInChunk++;
+            DataCell[] cells = new DataCell[m_chunks.length];
+            for (int c = 0; c < cells.length; c++) {
+                cells[c] = m_chunks[c] != null ? m_chunks[c].getCell(index) : UnmaterializedCell.getInstance();
+            }
+            RowKey key = m_isReadRowKey ? m_keys[index] : KNIMEStreamConstants.DUMMY_ROW_KEY;
+            return new BlobSupportDataRow(key, cells);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public synchronized boolean performClose() throws IOException {
+            if (m_in == null) {
+                return false;
+            }
+            DataInputStream in = m_in;
+            m_in = null;
+            m_chunkRowCount = 0;
+            m_keys = null;
+            Arrays.fill(m_chunks, null);
+            in.close();
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void finalize() throws Throwable {
+            super.finalize();
+            close();
+        }
+    }
+
+    /** Iterator on the memory mapped chunks, decoding primitive cells in place. */
+    private final class MappedColumnarIterator extends TableStoreCloseableRowIterator {
+
+        private final boolean[] m_isMaterialize;
+
+        private final DataCellStreamReader m_cellReader;
+
+        private final ColumnarChunk[] m_chunks;
+
+        private ColumnarChunkIndex m_chunkIndex;
+
+        private RowKey[] m_keys;
+
+        private int m_nextChunk;
+
+        private int m_chunkRowCount;
+
+        private int m_indexInChunk;
+
+        MappedColumnarIterator(final boolean[] isMaterialize) throws IOException {
+            m_isMaterialize = isMaterialize;
+            m_cellReader = new DataCellStreamReader(ColumnarTableStoreReader.this);
+            m_chunks = new ColumnarChunk[isMaterialize.length];
+            m_chunkIndex = getChunkIndex();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public synchronized boolean hasNext() {
+            while (m_indexInChunk >= m_chunkRowCount) {
+                if (m_chunkIndex == null) {
+                    return false;
+                }
+                if (m_nextChunk >= m_chunkIndex.getChunkCount()) {
+                    close();
+                    return false;
+                }
+                try {
+                    m_keys = decodeChunk(getChunkBuffer(m_nextChunk), m_isMaterialize, m_chunks, m_cellReader);
+                } catch (IOException ioe) {
+                    throw new RuntimeException("Errors while reading chunk " + m_nextChunk + " from file \""
+                        + getFile().getName() + "\": " + ioe.getMessage(), ioe);
+                }
+                m_chunkRowCount = m_chunkIndex.getRowCount(m_nextChunk);
+                m_indexInChunk = 0;
+                m_nextChunk++;
+            }
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public synchronized BlobSupportDataRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Iterator at end");
+            }
+            final int index = m_indexInChunk++;
+            DataCell[] cells = new DataCell[m_chunks.length];
+            for (int c = 0; c < cells.length; c++) {
+                cells[c] = m_chunks[c] != null ? m_chunks[c].getCell(index) : UnmaterializedCell.getInstance();
+            }
+            RowKey key = m_isReadRowKey ? m_keys[index] : KNIMEStreamConstants.DUMMY_ROW_KEY;
+            return new BlobSupportDataRow(key, cells);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public synchronized boolean performClose() throws IOException {
+            if (m_chunkIndex == null) {
+                return false;
+            }
+            m_chunkIndex = null;
+            m_chunkRowCount = 0;
+            m_indexInChunk = 0;
+            m_keys = null;
+            Arrays.fill(m_chunks, null);
+            return true;
+        }
+    }
+
+}
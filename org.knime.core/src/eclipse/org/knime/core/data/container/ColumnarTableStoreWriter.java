@@ -0,0 +1,289 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.container.DCObjectOutputVersion2.BlockableDCObjectOutputVersion2;
+import org.knime.core.data.container.storage.AbstractTableStoreWriter;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.NodeSettingsWO;
+
+/**
+ * Writer for the {@link ColumnarTableStoreFormat}. Rows are collected until a chunk is full; the chunk is then written
+ * column by column, each column choosing the most compact encoding for the cells it contains.
+ *
+ * @author agent
+ */
+final class ColumnarTableStoreWriter extends AbstractTableStoreWriter {
+
+    private final DataOutputStream m_out;
+
+    private final int m_rowsPerChunk;
+
+    private final List<DataRow> m_pendingRows;
+
+    private long m_chunkCount;
+
+    /**
+     * Constructs a writer and writes the file header.
+     *
+     * @param spec the spec of the table to write
+     * @param output to write to, will be closed with {@link #close()}
+     * @param writeRowKey whether to persist the row keys
+     * @param rowsPerChunk number of rows per chunk, &gt; 0
+     * @throws IOException If writing the header fails
+     */
+    ColumnarTableStoreWriter(final DataTableSpec spec, final OutputStream output, final boolean writeRowKey,
+        final int rowsPerChunk) throws IOException {
+        super(spec, writeRowKey);
+        m_rowsPerChunk = rowsPerChunk;
+        m_pendingRows = new ArrayList<>(rowsPerChunk);
+        m_out = new DataOutputStream(new BufferedOutputStream(output));
+        m_out.writeInt(ColumnarTableStoreFormat.MAGIC_NUMBER);
+        m_out.writeByte(ColumnarTableStoreFormat.FORMAT_VERSION);
+        m_out.writeInt(spec.getNumColumns());
+        m_out.writeBoolean(writeRowKey);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeRow(final DataRow row) throws IOException {
+        m_pendingRows.add(row);
+        if (m_pendingRows.size() >= m_rowsPerChunk) {
+            writeChunk();
+        }
+    }
+
+    private void writeChunk() throws IOException {
+        final int rowCount = m_pendingRows.size();
+        if (rowCount == 0) {
+            return;
+        }
+        m_out.writeInt(rowCount);
+        if (isWriteRowKey()) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (LongUTFDataOutputStream keyOut = new LongUTFDataOutputStream(new DataOutputStream(bytes))) {
+                for (DataRow r : m_pendingRows) {
+                    keyOut.writeUTF(r.getKey().getString());
+                }
+            }
+            m_out.writeInt(bytes.size());
+            bytes.writeTo(m_out);
+        }
+        final int colCount = getSpec().getNumColumns();
+        DataCell[] cells = new DataCell[rowCount];
+        for (int c = 0; c < colCount; c++) {
+            for (int r = 0; r < rowCount; r++) {
+                DataRow row = m_pendingRows.get(r);
+                cells[r] = row instanceof BlobSupportDataRow ? ((BlobSupportDataRow)row).getRawCell(c)
+                    : row.getCell(c);
+            }
+            writeColumnChunk(cells);
+        }
+        m_pendingRows.clear();
+        m_chunkCount++;
+    }
+
+    /** Determines the encoding, that is a primitive encoding if all cells are of the same primitive cell class
+     * (or the missing cell singleton, which carries no error message). */
+    private static byte determineEncoding(final DataCell[] cells) {
+        Class<?> cellClass = null;
+        for (DataCell cell : cells) {
+            if (cell == DataType.getMissingCell()) {
+                continue;
+            }
+            if (cellClass == null) {
+                cellClass = cell.getClass();
+            } else if (cellClass != cell.getClass()) {
+                return ColumnarChunk.ENCODING_GENERIC;
+            }
+        }
+        if (cellClass == null) {
+            return ColumnarChunk.ENCODING_ALL_MISSING;
+        } else if (cellClass == IntCell.class) {
+            return ColumnarChunk.ENCODING_INT;
+        } else if (cellClass == LongCell.class) {
+            return ColumnarChunk.ENCODING_LONG;
+        } else if (cellClass == DoubleCell.class) {
+            return ColumnarChunk.ENCODING_DOUBLE;
+        } else if (cellClass == BooleanCell.class) {
+            return ColumnarChunk.ENCODING_BOOLEAN;
+        } else if (cellClass == StringCell.class) {
+            return ColumnarChunk.ENCODING_STRING;
+        } else {
+            return ColumnarChunk.ENCODING_GENERIC;
+        }
+    }
+
+    private void writeColumnChunk(final DataCell[] cells) throws IOException {
+        final byte encoding = determineEncoding(cells);
+        final int rowCount = cells.length;
+        int missingCount = 0;
+        long[] missingBitmap = new long[(rowCount + 63) >>> 6];
+        for (int r = 0; r < rowCount; r++) {
+            if (cells[r].isMissing()) {
+                missingCount++;
+                missingBitmap[r >>> 6] |= 1L << r;
+            }
+        }
+        double min = Double.NaN;
+        double max = Double.NaN;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        if (encoding == ColumnarChunk.ENCODING_GENERIC) {
+            @SuppressWarnings("resource") // closed below, no resources other than the byte array
+            BlockableDCObjectOutputVersion2 out = new BlockableDCObjectOutputVersion2(bytes, this);
+            for (DataCell cell : cells) {
+                writeDataCell(cell, out);
+                out.endBlock();
+            }
+            out.close();
+        } else if (encoding != ColumnarChunk.ENCODING_ALL_MISSING) {
+            DataOutputStream out = new DataOutputStream(bytes);
+            if (missingCount > 0) {
+                writeBitmap(missingBitmap, out);
+            }
+            switch (encoding) {
+                case ColumnarChunk.ENCODING_INT:
+                case ColumnarChunk.ENCODING_LONG:
+                case ColumnarChunk.ENCODING_DOUBLE:
+                    for (DataCell cell : cells) {
+                        double d = writeNumber(encoding, cell.isMissing() ? null : cell, out);
+                        if (!cell.isMissing() && !Double.isNaN(d)) {
+                            min = Double.isNaN(min) || d < min ? d : min;
+                            max = Double.isNaN(max) || d > max ? d : max;
+                        }
+                    }
+                    break;
+                case ColumnarChunk.ENCODING_BOOLEAN:
+                    long[] valueBitmap = new long[missingBitmap.length];
+                    for (int r = 0; r < rowCount; r++) {
+                        if (!cells[r].isMissing() && ((BooleanCell)cells[r]).getBooleanValue()) {
+                            valueBitmap[r >>> 6] |= 1L << r;
+                        }
+                    }
+                    writeBitmap(valueBitmap, out);
+                    break;
+                case ColumnarChunk.ENCODING_STRING:
+                    LongUTFDataOutputStream utfOut = new LongUTFDataOutputStream(out);
+                    for (DataCell cell : cells) {
+                        if (!cell.isMissing()) {
+                            utfOut.writeUTF(((StringCell)cell).getStringValue());
+                        }
+                    }
+                    utfOut.flush();
+                    break;
+                default:
+                    throw new IOException("Unsupported encoding: " + encoding);
+            }
+            out.flush();
+        }
+        m_out.writeByte(encoding);
+        new ColumnarChunkStatistics(missingCount, min, max).write(m_out);
+        m_out.writeInt(bytes.size());
+        bytes.writeTo(m_out);
+    }
+
+    /** Writes the (possibly null = missing) number, returns its double representation. */
+    private static double writeNumber(final byte encoding, final DataCell cell, final DataOutputStream out)
+        throws IOException {
+        switch (encoding) {
+            case ColumnarChunk.ENCODING_INT:
+                int i = cell == null ? 0 : ((IntCell)cell).getIntValue();
+                out.writeInt(i);
+                return i;
+            case ColumnarChunk.ENCODING_LONG:
+                long l = cell == null ? 0L : ((LongCell)cell).getLongValue();
+                out.writeLong(l);
+                return l;
+            case ColumnarChunk.ENCODING_DOUBLE:
+                double d = cell == null ? 0.0 : ((DoubleCell)cell).getDoubleValue();
+                out.writeDouble(d);
+                return d;
+            default:
+                throw new IOException("Not a numeric encoding: " + encoding);
+        }
+    }
+
+    private static void writeBitmap(final long[] bitmap, final DataOutputStream out) throws IOException {
+        for (long word : bitmap) {
+            out.writeLong(word);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeMetaInfoAfterWrite(final NodeSettingsWO settings) {
+        settings.addInt(ColumnarTableStoreFormat.CFG_ROWS_PER_CHUNK, m_rowsPerChunk);
+        settings.addLong(ColumnarTableStoreFormat.CFG_CHUNK_COUNT, m_chunkCount);
+        super.writeMetaInfoAfterWrite(settings);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() throws IOException {
+        writeChunk();
+        m_out.writeInt(0); // end of chunks
+        m_out.close();
+    }
+
+}
@@ -51,28 +51,15 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.lang.ref.WeakReference;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Callable;
-import java.util.concurrent.Exchanger;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
-import java.util.concurrent.SynchronousQueue;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
-import org.eclipse.core.runtime.Platform;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTable;
@@ -242,9 +229,6 @@ public class DataContainer implements RowAppender {
         } else {
             SYNCHRONOUS_IO = false;
         }
-
-        // enh 5835: Number of asynchronous write threads to have different limits on different architectures
-        MAX_ASYNC_WRITE_THREADS = Platform.ARCH_X86.equals(Platform.getOSArch()) ? 10 : 50;
     }
 
     /**
@@ -271,39 +255,15 @@ public class DataContainer implements RowAppender {
     /** Size of buffers. */
     static final int ASYNC_CACHE_SIZE;
 
-    /** The executor, which runs the IO tasks. Currently used only while writing rows. */
-    static final ThreadPoolExecutor ASYNC_EXECUTORS =
-    // see also Executors.newCachedThreadPool(ThreadFactory)
-        new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(),
-            new ThreadFactory() {
-                private final AtomicInteger m_threadCount = new AtomicInteger();
-
-                /** {@inheritDoc} */
-                @Override
-                public Thread newThread(final Runnable r) {
-                    return new Thread(r, "KNIME-TableIO-" + m_threadCount.incrementAndGet());
-                }
-            });
-
     /**
      * Whether to use synchronous IO while adding rows to a buffer or reading from an file iterator. This is by default
      * <code>false</code> but can be enabled by setting the appropriate java property at startup.
      */
     static final boolean SYNCHRONOUS_IO;
 
-    /**
-     * the maximum number of asynchronous write threads, each additional container will switch to synchronous mode.
-     */
-    static final int MAX_ASYNC_WRITE_THREADS;
-
-    /** Put into write queue to signal end of writing process. */
-    private static final Object CONTAINER_CLOSE = new Object();
-
+    /** Put into write queue to flush the buffer (memory is low). */
     private static final Object FLUSH_CACHE = new Object();
 
-    /** Put into read queue to signal failure while writing a row. */
-    private static final Object CONTAINER_WRITE_FAILED = new Object();
-
     /**
      * The object that instantiates the buffer, may be set right after constructor call before any rows are added.
      */
@@ -319,27 +279,20 @@ public Thread newThread(final Runnable r) {
     private int m_size;
 
     /**
-     * The object that represent the pending task of adding a data rows to a table.
+     * The queue in the {@link TableIOScheduler} to which the rows are handed off when writing asynchronously.
      */
-    private Future<Void> m_asyncAddFuture;
-
-    private AtomicReference<Throwable> m_writeThrowable;
+    private final TableIOScheduler.WriteQueue m_writeQueue;
 
     /**
      * Whether this container writes synchronously, i.e. when rows come in they get written immediately. If true the
-     * fields {@link #m_asyncAddFuture} and {@link #m_writeThrowable} are null. This field coincides most of times with
-     * the {@link #SYNCHRONOUS_IO}, but may be true if there are too many concurrent write threads (more than
-     * {@value #MAX_ASYNC_WRITE_THREADS}).
+     * fields {@link #m_writeQueue} and {@link #m_fillingRowBuffer} are null. This field coincides with the
+     * {@link #SYNCHRONOUS_IO} unless synchronous IO is forced by the creator of the container.
      */
     private final boolean m_isSynchronousWrite;
 
-    /** The asynchronous queue holding the most recently added rows. */
-    private Exchanger<List<Object>> m_rowBufferExchanger;
-
+    /** The rows most recently added, handed to the write queue once full. */
     private List<Object> m_fillingRowBuffer;
 
-    private List<Object> m_emptyingRowBuffer;
-
     private int m_maxRowsInMemory;
 
     /** Holds the keys of the added rows to check for duplicates. */
@@ -430,25 +383,14 @@ protected DataContainer(final DataTableSpec spec, final boolean initDomain, fina
         }
         m_spec = spec;
         m_duplicateChecker = new DuplicateChecker();
-        boolean isSynchronousWrite = forceSynchronousIO || SYNCHRONOUS_IO;
-        if (!isSynchronousWrite && ASYNC_EXECUTORS.getActiveCount() > MAX_ASYNC_WRITE_THREADS) {
-            LOGGER.debug("Number of Table IO write threads exceeds " + MAX_ASYNC_WRITE_THREADS
-                + " -- switching to synchronous write mode");
-            isSynchronousWrite = true;
-        }
-        m_isSynchronousWrite = isSynchronousWrite;
+        m_isSynchronousWrite = forceSynchronousIO || SYNCHRONOUS_IO;
         if (m_isSynchronousWrite) {
             m_fillingRowBuffer = null;
-            m_emptyingRowBuffer = null;
-            m_asyncAddFuture = null;
-            m_rowBufferExchanger = null;
-            m_writeThrowable = null;
+            m_writeQueue = null;
         } else {
             m_fillingRowBuffer = new ArrayList<Object>(ASYNC_CACHE_SIZE);
-            m_emptyingRowBuffer = new ArrayList<Object>(ASYNC_CACHE_SIZE);
-            m_rowBufferExchanger = new Exchanger<List<Object>>();
-            m_writeThrowable = new AtomicReference<Throwable>();
-            m_asyncAddFuture = ASYNC_EXECUTORS.submit(new ASyncWriteCallable(this, NodeContext.getContext()));
+            m_writeQueue = TableIOScheduler.getInstance().createWriteQueue(this::writeBatch,
+                this::getBufferFileSize, NodeContext.getContext());
         }
 
         m_domainCreator = new DataTableDomainCreator(m_spec, initDomain);
@@ -501,8 +443,19 @@ private void addRowToTableWrite(final DataRow row) {
         m_buffer.addRow(row, false, m_forceCopyOfBlobs);
     }
 
+    /** Called by the IO thread of the {@link TableIOScheduler}, writes the rows of a batch. */
+    private void writeBatch(final List<Object> batch) {
+        for (Object obj : batch) {
+            if (obj == FLUSH_CACHE) {
+                m_buffer.flushBuffer();
+            } else {
+                addRowToTableWrite((DataRow)obj);
+            }
+        }
+    }
+
     private void checkAsyncWriteThrowable() {
-        Throwable t = m_writeThrowable.get();
+        Throwable t = m_writeQueue.getFailure();
         if (t != null) {
             StringBuilder error = new StringBuilder();
             if (t.getMessage() != null) {
@@ -614,14 +567,12 @@ public void close() {
         }
         if (!m_isSynchronousWrite) {
             try {
-                offerToAsynchronousQueue(CONTAINER_CLOSE);
-                m_asyncAddFuture.get();
-                checkAsyncWriteThrowable();
+                submitFillingRowBuffer();
+                m_writeQueue.awaitCompletion();
             } catch (InterruptedException e) {
                 throw new DataContainerException("Adding rows to table was interrupted", e);
-            } catch (ExecutionException e) {
-                throw new DataContainerException("Adding rows to table threw exception", e);
             }
+            checkAsyncWriteThrowable();
         }
         // create table spec _after_ all_ rows have been added (i.e. wait for
         // asynchronous write thread to finish)
@@ -646,38 +597,28 @@ public void close() {
     }
 
     /**
-     * Adds the argument object (which will be a DataRow unless when called from close()) to the filling data row queue.
-     * It will exchange the filling queue with the emptying queue from the write thread in case the queue is full.
+     * Adds the argument object (a DataRow or {@link #FLUSH_CACHE}) to the filling data row buffer. It will hand the
+     * buffer to the write queue in case the buffer is full, which blocks if the IO threads haven't caught up.
      *
      * @param object the object to add.
      */
     private void offerToAsynchronousQueue(final Object object) {
         m_fillingRowBuffer.add(object);
-        if (m_fillingRowBuffer.size() >= ASYNC_CACHE_SIZE || object == CONTAINER_CLOSE || object == FLUSH_CACHE) {
-            while (true) {
-                try {
-                    m_fillingRowBuffer = m_rowBufferExchanger.exchange(m_fillingRowBuffer, 30, TimeUnit.SECONDS);
-                    if (!m_fillingRowBuffer.isEmpty()) {
-                        Object ob = m_fillingRowBuffer.get(0);
-                        assert ob == CONTAINER_WRITE_FAILED : "Not expected element in write queue: " + ob;
-                        m_fillingRowBuffer.clear();
-                        checkAsyncWriteThrowable();
-                    }
-                    return;
-                } catch (TimeoutException e) {
-                    if (m_asyncAddFuture.isDone()) {
-                        checkAsyncWriteThrowable();
-                        // if we reach this code, the write process has not
-                        // thrown an exception (the above line will likely
-                        // throw an exc.)
-                        throw new DataContainerException("Writing to table has unexpectedly stopped");
-                    }
-                    continue;
-                } catch (InterruptedException e) {
-                    m_asyncAddFuture.cancel(true);
-                    throw new DataContainerException("Adding rows to buffer was interrupted", e);
-                }
+        if (m_fillingRowBuffer.size() >= ASYNC_CACHE_SIZE || object == FLUSH_CACHE) {
+            try {
+                submitFillingRowBuffer();
+            } catch (InterruptedException e) {
+                throw new DataContainerException("Adding rows to buffer was interrupted", e);
             }
+            checkAsyncWriteThrowable();
+        }
+    }
+
+    private void submitFillingRowBuffer() throws InterruptedException {
+        if (!m_fillingRowBuffer.isEmpty()) {
+            List<Object> batch = m_fillingRowBuffer;
+            m_fillingRowBuffer = new ArrayList<Object>(ASYNC_CACHE_SIZE);
+            m_writeQueue.submit(batch);
         }
     }
 
@@ -902,7 +843,7 @@ protected Map<Integer, ContainerTable> getLocalTableRepository() {
 
     /**
      * @return the isSynchronousWrite whether the data is written in the same thread that calls addRow. Property depends
-     *         on system property {@link #SYNCHRONOUS_IO} and the number of concurrent writes.
+     *         on system property {@link #SYNCHRONOUS_IO} and the argument passed to the constructor.
      */
     boolean isSynchronousWrite() {
         return m_isSynchronousWrite;
@@ -1184,95 +1125,6 @@ public static final boolean isContainerTable(final DataTable table) {
         return table instanceof ContainerTable;
     }
 
-    /**
-     * Background task that will write the output data. This is kept as static inner class in order to allow for a
-     * garbage collection of the outer class (which indicates an early stopped buffer writing).
-     */
-    private static final class ASyncWriteCallable implements Callable<Void> {
-
-        private final WeakReference<DataContainer> m_containerRef;
-
-        private final NodeContext m_context;
-
-        /**
-         * @param cont The outer container.
-         * @param context owner node information, if any.
-         */
-        ASyncWriteCallable(final DataContainer cont, final NodeContext context) {
-            m_context = context;
-            m_containerRef = new WeakReference<DataContainer>(cont);
-        }
-
-        /** {@inheritDoc} */
-        @Override
-        public Void call() throws Exception {
-            NodeContext.pushContext(m_context);
-            try {
-                return callWithContext();
-            } finally {
-                NodeContext.removeLastContext();
-            }
-        }
-
-        private Void callWithContext() throws Exception {
-            DataContainer d = m_containerRef.get();
-            if (d == null) {
-                // data container was already discarded (no rows added)
-                return null;
-            }
-            List<Object> queue = d.m_emptyingRowBuffer;
-            final AtomicReference<Throwable> throwable = d.m_writeThrowable;
-            final Exchanger<List<Object>> exchanger = d.m_rowBufferExchanger;
-            try {
-                do {
-                    final int size = queue.size();
-                    for (int i = 0; i < size; i++) {
-                        Object obj = queue.set(i, null);
-                        if (obj == CONTAINER_CLOSE) {
-                            assert i == size - 1;
-                            // table has been closed
-                            // (some non-DataRow was queued)
-                            return null;
-                        } else if (obj == FLUSH_CACHE) {
-                            assert i == size - 1;
-                            d.m_buffer.flushBuffer();
-                        } else {
-                            DataRow row = (DataRow)obj;
-                            d.addRowToTableWrite(row);
-                        }
-                    }
-                    queue.clear();
-                    d = null;
-                    try {
-                        queue = exchanger.exchange(queue, 30, TimeUnit.SECONDS);
-                    } catch (TimeoutException te) {
-                        // can be safely ignored, do another loop on the same
-                        // (empty!) queue (or don't if container is gc'ed)
-                    }
-                    d = m_containerRef.get();
-                } while (d != null);
-                // m_containerRef.get() returned null -> close() was never
-                // called on the container (which was garbage collected
-                // already); we can end this thread
-                LOGGER.debug("Ending DataContainer write thread since container was garbage collected");
-                return null;
-            } catch (Throwable t) {
-                throwable.compareAndSet(null, t);
-                boolean callExchange = !queue.contains(CONTAINER_CLOSE);
-                queue.clear();
-                queue.add(CONTAINER_WRITE_FAILED);
-                if (callExchange) {
-                    try {
-                        exchanger.exchange(queue, 30, TimeUnit.SECONDS);
-                    } catch (Exception e) {
-                        // ignore
-                    }
-                }
-                return null;
-            }
-        }
-    }
-
     /**
      * Helper class to create a Buffer instance given a binary file and the data table spec.
      */
@@ -52,6 +52,7 @@
 import java.io.IOException;
 import java.io.OutputStream;
 
+import org.eclipse.core.runtime.preferences.InstanceScope;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.IDataRepository;
 import org.knime.core.data.container.storage.AbstractTableStoreReader;
@@ -61,6 +62,7 @@
 import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodeSettingsRO;
+import org.osgi.framework.FrameworkUtil;
 
 /**
  *
@@ -76,38 +78,76 @@ public final class DefaultTableStoreFormat implements TableStoreFormat {
     static final String CFG_COMPRESSION = "container.compression";
 
     /**
-     * Static field to enable/disable the usage of a GZipInput/OutpuStream when writing the binary data. This option
-     * defaults to {@value DataContainer#DEF_GZIP_COMPRESSION}. */
-    static final boolean IS_USE_GZIP;
+     * Preference key (instance scope of the core bundle) for the compression of the binary file, the value is the
+     * name of a {@link CompressionFormat} constant ("Gzip", "Lz4", "None"). The system property
+     * {@link KNIMEConstants#PROPERTY_TABLE_GZIP_COMPRESSION}, if set, takes precedence.
+     *
+     * @since 3.7
+     */
+    public static final String PREF_KEY_COMPRESSION = "knime.core.table-compression";
+
+    /**
+     * The compression as defined by the system property {@link KNIMEConstants#PROPERTY_TABLE_GZIP_COMPRESSION}
+     * ({@link CompressionFormat#Gzip} or {@link CompressionFormat#None}) or null if the property is not set.
+     */
+    private static final CompressionFormat COMPRESSION_FROM_PROPERTY;
 
     static {
         // prefer this block over Boolean.getBoolean(...) to cover typos
         // on command line (warn on console)
         String isUseGzipString = System.getProperty(KNIMEConstants.PROPERTY_TABLE_GZIP_COMPRESSION);
-        boolean debugLog = true;
         if (isUseGzipString == null) {
-            isUseGzipString = Boolean.toString(DataContainer.DEF_GZIP_COMPRESSION);
-            debugLog = false;
-        }
-        if ("true".equals(isUseGzipString)) {
-            IS_USE_GZIP = true;
+            COMPRESSION_FROM_PROPERTY = null;
+        } else if ("true".equals(isUseGzipString)) {
+            COMPRESSION_FROM_PROPERTY = CompressionFormat.Gzip;
         } else if ("false".equals(isUseGzipString)) {
-            IS_USE_GZIP = false;
+            COMPRESSION_FROM_PROPERTY = CompressionFormat.None;
         } else {
-            debugLog = false;
             LOGGER.warn("Unable to read property " + KNIMEConstants.PROPERTY_TABLE_GZIP_COMPRESSION + " (\""
-                    + isUseGzipString + "\"); defaulting to " + DataContainer.DEF_GZIP_COMPRESSION);
-            IS_USE_GZIP = DataContainer.DEF_GZIP_COMPRESSION;
+                    + isUseGzipString + "\"); ignoring it");
+            COMPRESSION_FROM_PROPERTY = null;
         }
-        if (debugLog) {
-            LOGGER.debug("Setting table stream compression to " + IS_USE_GZIP);
+        if (COMPRESSION_FROM_PROPERTY != null) {
+            LOGGER.debug("Setting table stream compression to " + COMPRESSION_FROM_PROPERTY);
         }
     }
 
-    /** Compression on the binary (main) file. */
+    /** Compression on the binary (main) file. The name is persisted in the table meta data; readers that don't know
+     * the constant fail when the table is restored. */
     enum CompressionFormat {
+            /** GZIP stream compression, small files but CPU intensive. */
             Gzip,
-            None;
+            /** No compression. */
+            None,
+            /** LZ4 block compression (see {@link Lz4BlockOutputStream}), much faster than GZIP but somewhat larger
+             * files. Not readable by KNIME versions prior 3.7. */
+            Lz4;
+    }
+
+    /**
+     * The compression to use for newly written tables: the one defined by the system property, if set, otherwise the
+     * one defined by the preference {@link #PREF_KEY_COMPRESSION}, defaulting to GZIP
+     * ({@link DataContainer#DEF_GZIP_COMPRESSION}).
+     *
+     * @return the compression format, not null
+     */
+    static CompressionFormat getCompressionFormat() {
+        if (COMPRESSION_FROM_PROPERTY != null) {
+            return COMPRESSION_FROM_PROPERTY;
+        }
+        final CompressionFormat defaultFormat =
+            DataContainer.DEF_GZIP_COMPRESSION ? CompressionFormat.Gzip : CompressionFormat.None;
+        String pref = InstanceScope.INSTANCE.getNode(
+            FrameworkUtil.getBundle(DefaultTableStoreFormat.class).getSymbolicName()).get(PREF_KEY_COMPRESSION, null);
+        if (pref == null) {
+            return defaultFormat;
+        }
+        try {
+            return CompressionFormat.valueOf(pref);
+        } catch (IllegalArgumentException iae) {
+            LOGGER.warnWithFormat("Invalid table compression '%s' -- using %s instead", pref, defaultFormat);
+            return defaultFormat;
+        }
     }
 
     @Override
@@ -51,7 +51,7 @@
 import java.io.IOException;
 
 import org.knime.core.data.DataTableSpec;
-import org.knime.core.data.container.Buffer.CompressionFormat;
+import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
 import org.knime.core.data.container.storage.AbstractTableStoreReader;
 import org.knime.core.data.container.storage.AbstractTableStoreWriter;
 import org.knime.core.node.InvalidSettingsException;
@@ -115,11 +115,31 @@ final class DefaultTableStoreReader extends AbstractTableStoreReader {
 
     @Override
     public TableStoreCloseableRowIterator iterator() {
+        return createIterator(null);
+    }
+
+    /** Returns an iterator that skips the (still serialized) cells of all non-selected columns. Only supported for
+     * format version 6 and later, older versions return an iterator over all columns.
+     * {@inheritDoc} */
+    @Override
+    protected TableStoreCloseableRowIterator iterator(final int[] selectedColumns) {
+        return createIterator(selectedColumns);
+    }
+
+    /** @param selectedColumns columns to materialize or null for all */
+    private TableStoreCloseableRowIterator createIterator(final int[] selectedColumns) {
         try {
             if (getReadVersion() <= 5) { // 2.0 tech preview and before
                 return new BufferFromFileIteratorVersion1x(this);
             } else {
-                return new BufferFromFileIteratorVersion20(this);
+                boolean[] isMaterialize = null;
+                if (selectedColumns != null) {
+                    isMaterialize = new boolean[getTableSpec().getNumColumns()];
+                    for (int i : selectedColumns) {
+                        isMaterialize[i] = true;
+                    }
+                }
+                return new BufferFromFileIteratorVersion20(this, isMaterialize);
             }
         } catch (IOException ioe) {
             StringBuilder b = new StringBuilder("Cannot read file \"");
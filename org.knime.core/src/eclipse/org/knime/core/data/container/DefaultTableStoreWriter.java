@@ -86,7 +86,7 @@ final class DefaultTableStoreWriter extends AbstractTableStoreWriter implements
     public DefaultTableStoreWriter(final DataTableSpec spec, final OutputStream outputStream, final boolean writeRowKey)
         throws IOException {
         super(spec, writeRowKey);
-        m_compressionFormat = DefaultTableStoreFormat.IS_USE_GZIP ? CompressionFormat.Gzip : CompressionFormat.None;
+        m_compressionFormat = DefaultTableStoreFormat.getCompressionFormat();
         m_outStream = initOutFile(new BufferedOutputStream(outputStream));
     }
 
@@ -138,6 +138,10 @@ private BlockableDCObjectOutputVersion2 initOutFile(final OutputStream outStream
                 // and ~30s with buffering)
                 wrap = new BufferedOutputStream(wrap);
                 break;
+            case Lz4:
+                // compresses in blocks, no extra buffering needed
+                wrap = new Lz4BlockOutputStream(outStream);
+                break;
             case None:
                 wrap = outStream;
                 break;
@@ -0,0 +1,149 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream reading data written by {@link Lz4BlockOutputStream}.
+ *
+ * @author agent
+ */
+final class Lz4BlockInputStream extends InputStream {
+
+    private final DataInputStream m_in;
+
+    private final byte[] m_buffer = new byte[Lz4BlockOutputStream.BLOCK_SIZE];
+
+    private final byte[] m_compressed = new byte[Lz4Codec.maxCompressedLength(Lz4BlockOutputStream.BLOCK_SIZE)];
+
+    private int m_position;
+
+    private int m_count;
+
+    private boolean m_isEndOfStream;
+
+    /** @param in the stream to read the compressed data from, closed when this stream is closed. */
+    Lz4BlockInputStream(final InputStream in) {
+        m_in = new DataInputStream(in);
+    }
+
+    /** Reads the next block, returns false if the end of the stream is reached. */
+    private boolean readBlock() throws IOException {
+        if (m_isEndOfStream) {
+            return false;
+        }
+        final int length;
+        try {
+            length = m_in.readInt();
+        } catch (EOFException eof) {
+            throw new EOFException("Unexpected end of LZ4 stream (missing end marker)");
+        }
+        if (length == 0) {
+            m_isEndOfStream = true;
+            return false;
+        }
+        final int storedLength = m_in.readInt();
+        if (length < 0 || length > m_buffer.length || storedLength < 0 || storedLength > length) {
+            throw new IOException("Corrupt LZ4 stream, invalid block lengths " + length + "/" + storedLength);
+        }
+        if (storedLength == length) {
+            m_in.readFully(m_buffer, 0, length);
+        } else {
+            m_in.readFully(m_compressed, 0, storedLength);
+            int decompressed = Lz4Codec.decompress(m_compressed, 0, storedLength, m_buffer, 0, length);
+            if (decompressed != length) {
+                throw new IOException("Corrupt LZ4 stream, block decompressed to " + decompressed
+                    + " bytes, expected " + length);
+            }
+        }
+        m_position = 0;
+        m_count = length;
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int read() throws IOException {
+        if (m_position == m_count && !readBlock()) {
+            return -1;
+        }
+        return m_buffer[m_position++] & 0xFF;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (m_position == m_count && !readBlock()) {
+            return -1;
+        }
+        int count = Math.min(len, m_count - m_position);
+        System.arraycopy(m_buffer, m_position, b, off, count);
+        m_position += count;
+        return count;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int available() {
+        return m_count - m_position;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() throws IOException {
+        m_in.close();
+    }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Output stream compressing its data in independent blocks of {@link #BLOCK_SIZE} bytes using {@link Lz4Codec}. Each
+ * block is preceded by its uncompressed and its stored length (both int); blocks that don't compress are stored as is
+ * (stored length equals uncompressed length). The stream is terminated by a zero length block. Read by
+ * {@link Lz4BlockInputStream}.
+ *
+ * <p>
+ * Similar to {@link java.util.zip.GZIPOutputStream}, {@link #flush()} does not write the pending (incomplete) block;
+ * it's written when full or when the stream is closed.
+ *
+ * @author agent
+ */
+final class Lz4BlockOutputStream extends OutputStream {
+
+    /** Number of uncompressed bytes per block. */
+    static final int BLOCK_SIZE = 1 << 16;
+
+    private final DataOutputStream m_out;
+
+    private final Lz4Codec m_codec = new Lz4Codec();
+
+    private final byte[] m_buffer = new byte[BLOCK_SIZE];
+
+    private final byte[] m_compressed = new byte[Lz4Codec.maxCompressedLength(BLOCK_SIZE)];
+
+    private int m_count;
+
+    private boolean m_isClosed;
+
+    /** @param out the stream to write the compressed data to, closed when this stream is closed. */
+    Lz4BlockOutputStream(final OutputStream out) {
+        m_out = new DataOutputStream(out);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(final int b) throws IOException {
+        if (m_count == BLOCK_SIZE) {
+            writeBlock();
+        }
+        m_buffer[m_count++] = (byte)b;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (m_count == BLOCK_SIZE) {
+                writeBlock();
+            }
+            int count = Math.min(remaining, BLOCK_SIZE - m_count);
+            System.arraycopy(b, offset, m_buffer, m_count, count);
+            m_count += count;
+            offset += count;
+            remaining -= count;
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        if (m_count == 0) {
+            return;
+        }
+        int compressedLength = m_codec.compress(m_buffer, 0, m_count, m_compressed, 0);
+        m_out.writeInt(m_count);
+        if (compressedLength < m_count) {
+            m_out.writeInt(compressedLength);
+            m_out.write(m_compressed, 0, compressedLength);
+        } else {
+            m_out.writeInt(m_count);
+            m_out.write(m_buffer, 0, m_count);
+        }
+        m_count = 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void flush() throws IOException {
+        m_out.flush();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() throws IOException {
+        if (m_isClosed) {
+            return;
+        }
+        m_isClosed = true;
+        try {
+            writeBlock();
+            m_out.writeInt(0);
+        } finally {
+            m_out.close();
+        }
+    }
+
+}
@@ -0,0 +1,257 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Pure Java implementation of the LZ4 block format (compression and decompression of a single block). The
+ * compressor uses a single hash table lookup per position (no match chains), favoring speed over ratio, which is what
+ * the table container needs. The output is compatible with the reference LZ4 block format.
+ *
+ * <p>
+ * Instances are not thread-safe as they keep the hash table of the compressor.
+ *
+ * @author agent
+ */
+final class Lz4Codec {
+
+    private static final int MIN_MATCH = 4;
+
+    /** The last bytes of a block are always literals. */
+    private static final int LAST_LITERALS = 5;
+
+    /** A match must not start within the last bytes of a block. */
+    private static final int MF_LIMIT = 12;
+
+    private static final int MAX_DISTANCE = (1 << 16) - 1;
+
+    private static final int HASH_LOG = 14;
+
+    private static final int RUN_MASK = 15;
+
+    private final int[] m_hashTable = new int[1 << HASH_LOG];
+
+    /**
+     * @param length number of bytes to compress
+     * @return the maximum number of bytes {@link #compress(byte[], int, int, byte[], int)} will write
+     */
+    static int maxCompressedLength(final int length) {
+        return length + length / 255 + 16;
+    }
+
+    private static int readInt(final byte[] b, final int i) {
+        return (b[i] & 0xFF) | (b[i + 1] & 0xFF) << 8 | (b[i + 2] & 0xFF) << 16 | (b[i + 3] & 0xFF) << 24;
+    }
+
+    private static int hash(final int sequence) {
+        return (sequence * -1640531535) >>> (32 - HASH_LOG);
+    }
+
+    /**
+     * Compresses a block.
+     *
+     * @param src source array
+     * @param srcOff offset of first byte to compress
+     * @param srcLen number of bytes to compress
+     * @param dest destination array, must have at least {@link #maxCompressedLength(int)} bytes from destOff on
+     * @param destOff offset to write to
+     * @return number of bytes written
+     */
+    int compress(final byte[] src, final int srcOff, final int srcLen, final byte[] dest, final int destOff) {
+        final int srcEnd = srcOff + srcLen;
+        final int matchLimit = srcEnd - LAST_LITERALS;
+        final int mfLimit = srcEnd - MF_LIMIT;
+        int anchor = srcOff;
+        int op = destOff;
+        if (srcLen >= MF_LIMIT + 1) {
+            Arrays.fill(m_hashTable, -1);
+            int ip = srcOff;
+            while (ip < mfLimit) {
+                final int sequence = readInt(src, ip);
+                final int h = hash(sequence);
+                int ref = m_hashTable[h];
+                m_hashTable[h] = ip;
+                if (ref < srcOff || ip - ref > MAX_DISTANCE || readInt(src, ref) != sequence) {
+                    ip++;
+                    continue;
+                }
+                // extend backwards
+                while (ip > anchor && ref > srcOff && src[ip - 1] == src[ref - 1]) {
+                    ip--;
+                    ref--;
+                }
+                int matchLength = MIN_MATCH;
+                while (ip + matchLength < matchLimit && src[ip + matchLength] == src[ref + matchLength]) {
+                    matchLength++;
+                }
+                op = writeLiterals(src, anchor, ip - anchor, matchLength - MIN_MATCH, dest, op);
+                final int offset = ip - ref;
+                dest[op++] = (byte)offset;
+                dest[op++] = (byte)(offset >>> 8);
+                op = writeLength(matchLength - MIN_MATCH, dest, op);
+                ip += matchLength;
+                anchor = ip;
+            }
+        }
+        // last literals
+        return writeLiterals(src, anchor, srcEnd - anchor, 0, dest, op) - destOff;
+    }
+
+    /** Writes token, literal length and literals, returns new output position. */
+    private static int writeLiterals(final byte[] src, final int literalOff, final int literalLength,
+        final int matchLengthCode, final byte[] dest, final int destOff) {
+        int op = destOff;
+        final int tokenPos = op++;
+        int token = Math.min(matchLengthCode, RUN_MASK);
+        if (literalLength >= RUN_MASK) {
+            token |= RUN_MASK << 4;
+            op = writeLength(literalLength, dest, op);
+        } else {
+            token |= literalLength << 4;
+        }
+        dest[tokenPos] = (byte)token;
+        System.arraycopy(src, literalOff, dest, op, literalLength);
+        return op + literalLength;
+    }
+
+    /** Writes the extension bytes of a length (only if length &gt;= 15), returns new output position. */
+    private static int writeLength(final int length, final byte[] dest, final int destOff) {
+        int op = destOff;
+        if (length >= RUN_MASK) {
+            int remaining = length - RUN_MASK;
+            while (remaining >= 255) {
+                dest[op++] = (byte)255;
+                remaining -= 255;
+            }
+            dest[op++] = (byte)remaining;
+        }
+        return op;
+    }
+
+    /**
+     * Decompresses a block.
+     *
+     * @param src source array
+     * @param srcOff offset of the compressed block
+     * @param srcLen length of the compressed block
+     * @param dest destination array
+     * @param destOff offset to write to
+     * @param destLen maximum number of bytes to write
+     * @return number of bytes written
+     * @throws IOException If the block is corrupt.
+     */
+    static int decompress(final byte[] src, final int srcOff, final int srcLen, final byte[] dest, final int destOff,
+        final int destLen) throws IOException {
+        final int srcEnd = srcOff + srcLen;
+        final int destEnd = destOff + destLen;
+        int ip = srcOff;
+        int op = destOff;
+        while (true) {
+            if (ip >= srcEnd) {
+                throw new IOException("Corrupt LZ4 block, unexpected end of input");
+            }
+            final int token = src[ip++] & 0xFF;
+            int literalLength = token >>> 4;
+            if (literalLength == RUN_MASK) {
+                int b;
+                do {
+                    if (ip >= srcEnd) {
+                        throw new IOException("Corrupt LZ4 block, unexpected end of input");
+                    }
+                    b = src[ip++] & 0xFF;
+                    literalLength += b;
+                } while (b == 255);
+            }
+            if (ip + literalLength > srcEnd || op + literalLength > destEnd) {
+                throw new IOException("Corrupt LZ4 block, literals exceed block bounds");
+            }
+            System.arraycopy(src, ip, dest, op, literalLength);
+            ip += literalLength;
+            op += literalLength;
+            if (ip == srcEnd) {
+                return op - destOff; // last sequence has no match
+            }
+            if (ip + 2 > srcEnd) {
+                throw new IOException("Corrupt LZ4 block, unexpected end of input");
+            }
+            final int offset = (src[ip] & 0xFF) | (src[ip + 1] & 0xFF) << 8;
+            ip += 2;
+            if (offset == 0 || op - offset < destOff) {
+                throw new IOException("Corrupt LZ4 block, invalid match offset " + offset);
+            }
+            int matchLength = token & RUN_MASK;
+            if (matchLength == RUN_MASK) {
+                int b;
+                do {
+                    if (ip >= srcEnd) {
+                        throw new IOException("Corrupt LZ4 block, unexpected end of input");
+                    }
+                    b = src[ip++] & 0xFF;
+                    matchLength += b;
+                } while (b == 255);
+            }
+            matchLength += MIN_MATCH;
+            if (op + matchLength > destEnd) {
+                throw new IOException("Corrupt LZ4 block, match exceeds output bounds");
+            }
+            int ref = op - offset;
+            if (offset >= matchLength) {
+                System.arraycopy(dest, ref, dest, op, matchLength);
+                op += matchLength;
+            } else {
+                // overlapping copy, e.g. runs of the same byte
+                for (int i = 0; i < matchLength; i++) {
+                    dest[op++] = dest[ref++];
+                }
+            }
+        }
+    }
+
+}
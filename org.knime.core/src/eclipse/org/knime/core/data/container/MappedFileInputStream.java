@@ -0,0 +1,249 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+
+import org.eclipse.core.runtime.Platform;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+
+/**
+ * An {@link InputStream} reading a file through memory mapped regions of {@link #SEGMENT_SIZE} bytes instead of
+ * buffered system calls. Used to read uncompressed table files; whether memory mapping is used at all is controlled
+ * by {@link KNIMEConstants#PROPERTY_TABLE_MEMORY_MAPPED_IO} (see {@link #IS_ENABLED}).
+ *
+ * <p>
+ * A region is unmapped as soon as the stream moves on to the next region or is closed, so that many (short-lived)
+ * streams don't exhaust the number of mappings or the address space of the process. Unmapping uses JVM internals
+ * (see {@link #unmap(ByteBuffer)}); if these are not accessible the regions are released when garbage collected.
+ * Reading and closing are synchronized as a region must not be accessed once it is unmapped.
+ *
+ * @author agent
+ */
+final class MappedFileInputStream extends InputStream {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(MappedFileInputStream.class);
+
+    /** Size of the regions that are mapped at a time (1GB). */
+    static final long SEGMENT_SIZE = 1L << 30;
+
+    /** Whether uncompressed table files are read through memory mapped regions. Defaults to true except on Windows,
+     * where mapped files can't be deleted as long as the mapping is not garbage collected. */
+    static final boolean IS_ENABLED;
+
+    static {
+        String property = System.getProperty(KNIMEConstants.PROPERTY_TABLE_MEMORY_MAPPED_IO);
+        boolean defaultValue = !Platform.OS_WIN32.equals(Platform.getOS());
+        if (property == null) {
+            IS_ENABLED = defaultValue;
+        } else if ("true".equals(property)) {
+            IS_ENABLED = true;
+        } else if ("false".equals(property)) {
+            IS_ENABLED = false;
+        } else {
+            LOGGER.warn("Unable to read property " + KNIMEConstants.PROPERTY_TABLE_MEMORY_MAPPED_IO + " (\""
+                + property + "\"); defaulting to " + defaultValue);
+            IS_ENABLED = defaultValue;
+        }
+    }
+
+    /** Releases a mapped region immediately, null if not supported by the JVM. */
+    private static final Unmapper UNMAPPER = createUnmapper();
+
+    /** Releases a mapped region. */
+    @FunctionalInterface
+    private interface Unmapper {
+        void unmap(ByteBuffer buffer) throws ReflectiveOperationException;
+    }
+
+    private static Unmapper createUnmapper() {
+        try {
+            // Java 9+: sun.misc.Unsafe#invokeCleaner(ByteBuffer)
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            final Object unsafe = theUnsafe.get(null);
+            return buffer -> invokeCleaner.invoke(unsafe, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // not available in Java 8, try sun.nio.ch.DirectBuffer#cleaner() below
+        }
+        try {
+            final Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            final Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+            return buffer -> {
+                Object c = cleaner.invoke(buffer);
+                if (c != null) {
+                    clean.invoke(c);
+                }
+            };
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.debug("Unable to unmap memory mapped regions explicitly, they are released when garbage "
+                + "collected: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Releases a mapped region immediately (if supported by the JVM). The buffer must not be accessed afterwards.
+     *
+     * @param buffer the mapped region, may be null
+     */
+    static void unmap(final ByteBuffer buffer) {
+        if (buffer == null || UNMAPPER == null || !buffer.isDirect()) {
+            return;
+        }
+        try {
+            UNMAPPER.unmap(buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.debug("Unable to unmap memory mapped region: " + e.getMessage(), e);
+        }
+    }
+
+    private final FileChannel m_channel;
+
+    private final long m_size;
+
+    /** Offset of the current segment in the file. */
+    private long m_segmentOffset;
+
+    private MappedByteBuffer m_segment;
+
+    /**
+     * Opens the file, no region is mapped until the first read.
+     *
+     * @param file to read from
+     * @throws IOException If the file can't be opened.
+     */
+    MappedFileInputStream(final File file) throws IOException {
+        m_channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        m_size = m_channel.size();
+    }
+
+    /** @return the current segment with remaining bytes or null if at end of file. */
+    private MappedByteBuffer currentSegment() throws IOException {
+        if (m_segment != null && m_segment.hasRemaining()) {
+            return m_segment;
+        }
+        if (!m_channel.isOpen()) {
+            throw new IOException("Stream closed");
+        }
+        long nextOffset = m_segment == null ? 0L : m_segmentOffset + m_segment.capacity();
+        if (nextOffset >= m_size) {
+            return null;
+        }
+        unmap(m_segment);
+        m_segment = null;
+        m_segmentOffset = nextOffset;
+        m_segment = m_channel.map(MapMode.READ_ONLY, nextOffset, Math.min(SEGMENT_SIZE, m_size - nextOffset));
+        return m_segment;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized int read() throws IOException {
+        MappedByteBuffer segment = currentSegment();
+        return segment == null ? -1 : (segment.get() & 0xFF);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized int read(final byte[] b, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        MappedByteBuffer segment = currentSegment();
+        if (segment == null) {
+            return -1;
+        }
+        int count = Math.min(len, segment.remaining());
+        segment.get(b, off, count);
+        return count;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized long skip(final long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+        MappedByteBuffer segment = currentSegment();
+        if (segment == null) {
+            return 0;
+        }
+        int count = (int)Math.min(n, segment.remaining());
+        segment.position(segment.position() + count);
+        return count;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized int available() throws IOException {
+        long position = m_segment == null ? 0L : m_segmentOffset + m_segment.position();
+        return (int)Math.min(Integer.MAX_VALUE, m_size - position);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void close() throws IOException {
+        unmap(m_segment);
+        m_segment = null;
+        m_channel.close();
+    }
+
+}
@@ -0,0 +1,182 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import java.util.function.Predicate;
+
+import org.knime.core.data.DataRow;
+import org.knime.core.data.RowIteratorBuilder;
+import org.knime.core.node.workflow.NodeProfiler;
+import org.knime.core.node.workflow.NodeProfiler.NodeProfile;
+
+/**
+ * Iterator counting the rows it returns and accounting them to the node that opened it once it's closed or
+ * exhausted, see {@link NodeProfiler#recordDataRead(NodeProfile, long, long)}. The bytes read are approximated by the
+ * share of the rows returned, i.e. an iterator that stops after half of the rows accounts half of the file size.
+ * Iterators that are neither closed nor pushed to the end are not accounted.
+ *
+ * @author agent
+ */
+final class ProfilingRowIterator extends CloseableRowIterator {
+
+    private final CloseableRowIterator m_delegate;
+
+    private final NodeProfile m_profile;
+
+    private final long m_fileSize;
+
+    private final long m_tableSize;
+
+    private long m_rowCount;
+
+    private boolean m_isRecorded;
+
+    private ProfilingRowIterator(final CloseableRowIterator delegate, final NodeProfile profile, final long fileSize,
+        final long tableSize) {
+        m_delegate = delegate;
+        m_profile = profile;
+        m_fileSize = fileSize;
+        m_tableSize = tableSize;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasNext() {
+        boolean hasNext = m_delegate.hasNext();
+        if (!hasNext) {
+            record();
+        }
+        return hasNext;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DataRow next() {
+        DataRow next = m_delegate.next();
+        m_rowCount++;
+        return next;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        m_delegate.close();
+        record();
+    }
+
+    private void record() {
+        if (!m_isRecorded) {
+            m_isRecorded = true;
+            long bytes = m_tableSize > 0 ? (long)(m_fileSize * Math.min(1.0, m_rowCount / (double)m_tableSize)) : 0L;
+            NodeProfiler.recordDataRead(m_profile, m_rowCount, bytes);
+        }
+    }
+
+    /**
+     * Wraps the builder so that the iterators it builds are profiled. Returns the argument if profiling is disabled or
+     * the calling thread doesn't execute a node.
+     *
+     * @param builder the builder to wrap
+     * @param fileSize size of the table file, 0 if the rows are read from memory
+     * @param tableSize number of rows in the table
+     * @return the (possibly) wrapped builder
+     */
+    static RowIteratorBuilder<? extends CloseableRowIterator> wrap(
+        final RowIteratorBuilder<? extends CloseableRowIterator> builder, final long fileSize, final long tableSize) {
+        NodeProfile profile = NodeProfiler.currentProfile();
+        return profile == null ? builder : new Builder(builder, profile, fileSize, tableSize);
+    }
+
+    /** Builder delegating to the wrapped builder and wrapping the iterator it builds. */
+    private static final class Builder implements RowIteratorBuilder<CloseableRowIterator> {
+
+        private final RowIteratorBuilder<? extends CloseableRowIterator> m_delegate;
+
+        private final NodeProfile m_profile;
+
+        private final long m_fileSize;
+
+        private final long m_tableSize;
+
+        Builder(final RowIteratorBuilder<? extends CloseableRowIterator> delegate, final NodeProfile profile,
+            final long fileSize, final long tableSize) {
+            m_delegate = delegate;
+            m_profile = profile;
+            m_fileSize = fileSize;
+            m_tableSize = tableSize;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RowIteratorBuilder<CloseableRowIterator> filterColumns(final int... indices) {
+            m_delegate.filterColumns(indices);
+            return this;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RowIteratorBuilder<CloseableRowIterator> filterColumns(final String... columns) {
+            m_delegate.filterColumns(columns);
+            return this;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RowIteratorBuilder<CloseableRowIterator> filterRows(final Predicate<? super DataRow> predicate) {
+            m_delegate.filterRows(predicate);
+            return this;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public CloseableRowIterator build() {
+            return new ProfilingRowIterator(m_delegate.build(), m_profile, m_fileSize, m_tableSize);
+        }
+    }
+
+}
@@ -0,0 +1,342 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.knime.core.data.util.memory.MemoryAlert;
+import org.knime.core.data.util.memory.MemoryAlertListener;
+import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.workflow.NodeContext;
+
+/**
+ * Process-wide bookkeeping of the tables ({@link Buffer}) whose rows are kept in memory. Each such table is registered
+ * with its estimated size; if the sum exceeds the budget (see {@link KNIMEConstants#PROPERTY_TABLE_CACHE_SIZE}) the
+ * least recently used tables are written to disc in a background thread. A table that was evicted is read back into
+ * memory when it is iterated again (provided it fits into the budget). All tables are evicted when the
+ * {@link MemoryAlertSystem} reports low memory.
+ *
+ * <p>
+ * The decision whether a table is held in memory in the first place is still made when it's written (see
+ * {@link DataContainer#MAX_CELLS_IN_MEMORY} and the node's memory policy); the cache only bounds the memory held by all
+ * of them together.
+ *
+ * @author agent
+ * @since 3.7
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class TableCache {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(TableCache.class);
+
+    /** Default budget, a quarter of the maximum heap size. */
+    static final long DEF_BUDGET_BYTES = Runtime.getRuntime().maxMemory() / 4;
+
+    private static final TableCache INSTANCE = createInstance();
+
+    private final long m_budgetBytes;
+
+    /** Cached tables in access order (eldest first), guarded by 'this'. */
+    private final LinkedHashMap<Buffer, Entry> m_entries;
+
+    private final ExecutorService m_evictor;
+
+    private long m_usedBytes;
+
+    private long m_hitCount;
+
+    private long m_missCount;
+
+    private long m_evictionCount;
+
+    /**
+     * @param budgetBytes the budget, &gt;= 0
+     */
+    TableCache(final long budgetBytes) {
+        m_budgetBytes = budgetBytes;
+        m_entries = new LinkedHashMap<>(16, 0.75f, true);
+        ThreadPoolExecutor evictor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(), r -> {
+                Thread t = new Thread(r, "KNIME-TableCache-Evictor");
+                t.setDaemon(true);
+                return t;
+            });
+        evictor.allowCoreThreadTimeOut(true);
+        m_evictor = evictor;
+    }
+
+    private static TableCache createInstance() {
+        TableCache cache = new TableCache(readBudget());
+        MemoryAlertSystem.getInstance().addListener(new MemoryAlertListener() {
+            @Override
+            protected boolean memoryAlert(final MemoryAlert alert) {
+                cache.evictAll();
+                return false;
+            }
+        });
+        return cache;
+    }
+
+    private static long readBudget() {
+        String value = System.getProperty(KNIMEConstants.PROPERTY_TABLE_CACHE_SIZE);
+        if (value != null) {
+            try {
+                long sizeInMB = Long.parseLong(value.trim());
+                if (sizeInMB < 0) {
+                    throw new NumberFormatException("Table cache size must not be negative: " + sizeInMB);
+                }
+                LOGGER.debug("Using table cache size of " + sizeInMB + "MB");
+                return sizeInMB << 20;
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Unable to parse property \"" + KNIMEConstants.PROPERTY_TABLE_CACHE_SIZE
+                    + "\", using default (" + (DEF_BUDGET_BYTES >> 20) + "MB)", e);
+            }
+        }
+        return DEF_BUDGET_BYTES;
+    }
+
+    /** @return the singleton instance. */
+    public static TableCache getInstance() {
+        return INSTANCE;
+    }
+
+    /** @return the budget in bytes. */
+    public long getBudgetBytes() {
+        return m_budgetBytes;
+    }
+
+    /**
+     * Registers (or updates) a table whose rows are now held in memory. Evicts the least recently used tables if the
+     * budget is exceeded, possibly including the argument table.
+     *
+     * @param buffer the table
+     * @param sizeInBytes its estimated size
+     */
+    void put(final Buffer buffer, final long sizeInBytes) {
+        List<Map.Entry<Buffer, Entry>> victims = new ArrayList<>();
+        synchronized (this) {
+            Entry old = m_entries.put(buffer, new Entry(sizeInBytes, NodeContext.getContext()));
+            if (old != null) {
+                m_usedBytes -= old.m_sizeInBytes;
+            }
+            m_usedBytes += sizeInBytes;
+            for (Iterator<Map.Entry<Buffer, Entry>> it = m_entries.entrySet().iterator();
+                    m_usedBytes > m_budgetBytes && it.hasNext();) {
+                Map.Entry<Buffer, Entry> eldest = it.next();
+                it.remove();
+                m_usedBytes -= eldest.getValue().m_sizeInBytes;
+                m_evictionCount++;
+                victims.add(eldest);
+            }
+        }
+        victims.forEach(this::scheduleEviction);
+    }
+
+    /**
+     * Called when a table held in memory is accessed. Updates the access order.
+     *
+     * @param buffer the table
+     */
+    void onHit(final Buffer buffer) {
+        synchronized (this) {
+            if (m_entries.get(buffer) != null) {
+                m_hitCount++;
+            }
+        }
+    }
+
+    /** Called when a table that was evicted before is accessed (and therefore read from disc). */
+    synchronized void onMiss() {
+        m_missCount++;
+    }
+
+    /**
+     * @param sizeInBytes estimated size of a table
+     * @return whether a table of that size can be held in memory at all
+     */
+    boolean fits(final long sizeInBytes) {
+        return sizeInBytes <= m_budgetBytes;
+    }
+
+    /**
+     * Unregisters a table, e.g. because it was cleared. No-op if not registered.
+     *
+     * @param buffer the table
+     */
+    synchronized void remove(final Buffer buffer) {
+        Entry entry = m_entries.remove(buffer);
+        if (entry != null) {
+            m_usedBytes -= entry.m_sizeInBytes;
+        }
+    }
+
+    /** Evicts all tables, called on low memory. */
+    void evictAll() {
+        List<Map.Entry<Buffer, Entry>> victims;
+        synchronized (this) {
+            victims = new ArrayList<>(m_entries.entrySet());
+            m_entries.clear();
+            m_usedBytes = 0L;
+            m_evictionCount += victims.size();
+        }
+        if (!victims.isEmpty()) {
+            LOGGER.debug("Evicting " + victims.size() + " table(s) from memory due to low memory condition");
+        }
+        victims.forEach(this::scheduleEviction);
+    }
+
+    /** Writes the table to disc in the evictor thread, in the context of the node that created it. Never called while
+     * holding the lock on this object as the eviction synchronizes on the buffer, which in turn calls this class. */
+    private void scheduleEviction(final Map.Entry<Buffer, Entry> victim) {
+        final Buffer buffer = victim.getKey();
+        final NodeContext context = victim.getValue().m_context;
+        m_evictor.execute(() -> {
+            NodeContext.pushContext(context);
+            try {
+                buffer.evictFromMemory();
+            } catch (Throwable t) { // NOSONAR table stays in memory, nothing else to do
+                LOGGER.error("Failed to evict table from memory: " + t.getMessage(), t);
+            } finally {
+                NodeContext.removeLastContext();
+            }
+        });
+    }
+
+    /** @return a snapshot of the cache statistics. */
+    public synchronized TableCacheStatistics getStatistics() {
+        return new TableCacheStatistics(m_entries.size(), m_usedBytes, m_budgetBytes, m_hitCount, m_missCount,
+            m_evictionCount);
+    }
+
+    /** Size and context of a cached table. */
+    private static final class Entry {
+
+        private final long m_sizeInBytes;
+
+        private final NodeContext m_context;
+
+        Entry(final long sizeInBytes, final NodeContext context) {
+            m_sizeInBytes = sizeInBytes;
+            m_context = context;
+        }
+    }
+
+    /** Statistics of the {@link TableCache}, see {@link TableCache#getStatistics()}. */
+    public static final class TableCacheStatistics {
+
+        private final int m_tableCount;
+
+        private final long m_usedBytes;
+
+        private final long m_budgetBytes;
+
+        private final long m_hitCount;
+
+        private final long m_missCount;
+
+        private final long m_evictionCount;
+
+        TableCacheStatistics(final int tableCount, final long usedBytes, final long budgetBytes, final long hitCount,
+            final long missCount, final long evictionCount) {
+            m_tableCount = tableCount;
+            m_usedBytes = usedBytes;
+            m_budgetBytes = budgetBytes;
+            m_hitCount = hitCount;
+            m_missCount = missCount;
+            m_evictionCount = evictionCount;
+        }
+
+        /** @return the number of tables currently held in memory. */
+        public int getTableCount() {
+            return m_tableCount;
+        }
+
+        /** @return the estimated bytes of the tables currently held in memory. */
+        public long getUsedBytes() {
+            return m_usedBytes;
+        }
+
+        /** @return the budget in bytes. */
+        public long getBudgetBytes() {
+            return m_budgetBytes;
+        }
+
+        /** @return number of iterations on tables held in memory. */
+        public long getHitCount() {
+            return m_hitCount;
+        }
+
+        /** @return number of iterations on tables that were evicted before. */
+        public long getMissCount() {
+            return m_missCount;
+        }
+
+        /** @return number of tables evicted so far. */
+        public long getEvictionCount() {
+            return m_evictionCount;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString() {
+            return String.format("%d tables, %d of %d bytes, %d hits, %d misses, %d evictions", m_tableCount,
+                m_usedBytes, m_budgetBytes, m_hitCount, m_missCount, m_evictionCount);
+        }
+    }
+
+}
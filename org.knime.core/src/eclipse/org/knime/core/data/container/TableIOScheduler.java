@@ -0,0 +1,498 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.workflow.NodeContainer;
+import org.knime.core.node.workflow.NodeContext;
+
+/**
+ * Schedules the asynchronous writing of tables (see {@link DataContainer}) onto a bounded number of shared threads.
+ * Each container writing asynchronously owns a {@link WriteQueue} to which it submits batches of rows; batches of the
+ * same queue are written one after another, batches of different queues are written in parallel. Queues are grouped by
+ * the node that created them and served round robin across nodes, one batch at a time, so that a node creating many
+ * (or very large) tables does not starve other nodes. A queue only holds {@link #MAX_PENDING_BATCHES} batches, the
+ * producer blocks when submitting further batches until the IO threads caught up.
+ *
+ * <p>
+ * The number of threads is determined by {@link KNIMEConstants#PROPERTY_TABLE_IO_THREADS}. Statistics per node (queue
+ * depth, bytes written and throughput) are available via {@link #getStatistics()}.
+ *
+ * @author agent
+ * @since 3.7
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class TableIOScheduler {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(TableIOScheduler.class);
+
+    /** Default number of IO threads, the number of available processors (at least 2). */
+    static final int DEF_THREAD_COUNT = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    /** Number of batches per queue (the one being written plus the ones waiting) before the producer blocks. */
+    static final int MAX_PENDING_BATCHES = 2;
+
+    /** Key for queues created outside a node context. */
+    private static final Object NO_NODE = new Object();
+
+    private static final TableIOScheduler INSTANCE = new TableIOScheduler(readThreadCount());
+
+    private final int m_maxThreads;
+
+    private final ThreadPoolExecutor m_executor;
+
+    /** Guards all queue state. */
+    private final ReentrantLock m_lock;
+
+    /** Nodes with queues ready to be written, served round robin. */
+    private final ArrayDeque<NodeQueue> m_readyNodes;
+
+    /** State per node, the keys are the node containers (or {@link #NO_NODE}). */
+    private final Map<Object, NodeQueue> m_nodeQueues;
+
+    private int m_activeWorkers;
+
+    /**
+     * @param maxThreads number of IO threads, &gt; 0
+     */
+    TableIOScheduler(final int maxThreads) {
+        m_maxThreads = maxThreads;
+        m_executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(), new ThreadFactoryImpl());
+        m_executor.allowCoreThreadTimeOut(true);
+        m_lock = new ReentrantLock();
+        m_readyNodes = new ArrayDeque<>();
+        m_nodeQueues = new WeakHashMap<>();
+    }
+
+    private static int readThreadCount() {
+        String value = System.getProperty(KNIMEConstants.PROPERTY_TABLE_IO_THREADS);
+        if (value != null) {
+            try {
+                int count = Integer.parseInt(value.trim());
+                if (count <= 0) {
+                    throw new NumberFormatException("Thread count must be positive: " + count);
+                }
+                LOGGER.debug("Using " + count + " table IO thread(s)");
+                return count;
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Unable to parse property \"" + KNIMEConstants.PROPERTY_TABLE_IO_THREADS
+                    + "\", using default (" + DEF_THREAD_COUNT + ")", e);
+            }
+        }
+        return DEF_THREAD_COUNT;
+    }
+
+    /** @return the singleton instance. */
+    public static TableIOScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    /** @return the maximum number of IO threads. */
+    public int getMaxThreadCount() {
+        return m_maxThreads;
+    }
+
+    /**
+     * Creates a new queue, associated with the node of the argument context.
+     *
+     * @param writer writes the batches
+     * @param bytesWritten reports the number of bytes written so far (or a negative value if unknown), used for
+     *            statistics only
+     * @param context the context of the node creating the table, may be <code>null</code>
+     * @return a new queue
+     */
+    WriteQueue createWriteQueue(final BatchWriter writer, final LongSupplier bytesWritten, final NodeContext context) {
+        NodeContainer nc = context == null ? null : context.getNodeContainer();
+        Object key = nc == null ? NO_NODE : nc;
+        m_lock.lock();
+        try {
+            NodeQueue node = m_nodeQueues.get(key);
+            if (node == null) {
+                node = new NodeQueue(nc == null ? "<no node>" : nc.getNameWithID());
+                m_nodeQueues.put(key, node);
+            }
+            return new WriteQueue(node, writer, bytesWritten, context);
+        } finally {
+            m_lock.unlock();
+        }
+    }
+
+    /** Puts the queue into the ready list of its node unless it's already there or being written. Also starts an IO
+     * thread if there are fewer than the maximum running. Must hold the lock. */
+    private void scheduleLocked(final WriteQueue queue, final boolean startWorker) {
+        if (queue.m_isRunning || queue.m_isReady) {
+            return;
+        }
+        queue.m_isReady = true;
+        NodeQueue node = queue.m_node;
+        node.m_readyQueues.add(queue);
+        if (!node.m_isReady) {
+            node.m_isReady = true;
+            m_readyNodes.add(node);
+        }
+        if (startWorker && m_activeWorkers < m_maxThreads) {
+            m_activeWorkers++;
+            m_executor.execute(this::runWorker);
+        }
+    }
+
+    /** Takes the next queue, round robin across nodes. Must hold the lock. */
+    private WriteQueue pollNextLocked() {
+        NodeQueue node = m_readyNodes.poll();
+        if (node == null) {
+            return null;
+        }
+        WriteQueue queue = node.m_readyQueues.poll();
+        if (node.m_readyQueues.isEmpty()) {
+            node.m_isReady = false;
+        } else {
+            m_readyNodes.add(node);
+        }
+        queue.m_isReady = false;
+        return queue;
+    }
+
+    /** Body of an IO thread, writes one batch at a time until no more work is available. */
+    private void runWorker() {
+        while (true) {
+            WriteQueue queue;
+            List<Object> batch;
+            m_lock.lock();
+            try {
+                queue = pollNextLocked();
+                if (queue == null) {
+                    m_activeWorkers--;
+                    return;
+                }
+                batch = queue.m_batches.poll();
+                queue.m_isRunning = true;
+            } finally {
+                m_lock.unlock();
+            }
+            final long start = System.nanoTime();
+            Throwable failure = null;
+            NodeContext.pushContext(queue.m_context);
+            try {
+                queue.m_writer.write(batch);
+            } catch (Throwable t) { // NOSONAR also errors are reported back to the container
+                failure = t;
+            } finally {
+                NodeContext.removeLastContext();
+            }
+            final long end = System.nanoTime();
+            final long bytes = queue.updateBytesWritten();
+            m_lock.lock();
+            try {
+                queue.m_isRunning = false;
+                NodeQueue node = queue.m_node;
+                node.m_pendingBatches--;
+                node.m_batchCount++;
+                node.m_bytesWritten += bytes;
+                node.m_writeNanos += end - start;
+                if (failure != null) {
+                    queue.m_failure = failure;
+                    node.m_pendingBatches -= queue.m_batches.size();
+                    queue.m_batches.clear();
+                } else if (!queue.m_batches.isEmpty()) {
+                    scheduleLocked(queue, false);
+                }
+                queue.m_stateChanged.signalAll();
+            } finally {
+                m_lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * @return a snapshot of the statistics of all nodes that have written tables asynchronously (and are still
+     *         present).
+     */
+    public List<TableIOStatistics> getStatistics() {
+        m_lock.lock();
+        try {
+            List<TableIOStatistics> result = new ArrayList<>(m_nodeQueues.size());
+            for (NodeQueue node : m_nodeQueues.values()) {
+                result.add(new TableIOStatistics(node.m_name, node.m_pendingBatches, node.m_batchCount,
+                    node.m_bytesWritten, node.m_writeNanos));
+            }
+            return Collections.unmodifiableList(result);
+        } finally {
+            m_lock.unlock();
+        }
+    }
+
+    /** @return the total number of batches waiting to be written or being written. */
+    public int getQueueDepth() {
+        m_lock.lock();
+        try {
+            int depth = 0;
+            for (NodeQueue node : m_nodeQueues.values()) {
+                depth += node.m_pendingBatches;
+            }
+            return depth;
+        } finally {
+            m_lock.unlock();
+        }
+    }
+
+    /** Writes a batch of rows (or other objects put into the queue by the container). */
+    @FunctionalInterface
+    interface BatchWriter {
+
+        /**
+         * @param batch the batch to write
+         * @throws Exception if writing fails, the queue then discards all further batches
+         */
+        void write(List<Object> batch) throws Exception;
+    }
+
+    /** The batches of a single container, written in the order of submission. */
+    final class WriteQueue {
+
+        private final NodeQueue m_node;
+
+        private final BatchWriter m_writer;
+
+        private final LongSupplier m_bytesWrittenSupplier;
+
+        private final NodeContext m_context;
+
+        private final ArrayDeque<List<Object>> m_batches;
+
+        /** Signaled when a batch has been written (or failed). */
+        private final Condition m_stateChanged;
+
+        private boolean m_isRunning;
+
+        private boolean m_isReady;
+
+        private Throwable m_failure;
+
+        /** Only accessed by the (single) thread writing a batch of this queue. */
+        private long m_lastBytesWritten;
+
+        private WriteQueue(final NodeQueue node, final BatchWriter writer, final LongSupplier bytesWritten,
+            final NodeContext context) {
+            m_node = node;
+            m_writer = writer;
+            m_bytesWrittenSupplier = bytesWritten;
+            m_context = context;
+            m_batches = new ArrayDeque<>(MAX_PENDING_BATCHES);
+            m_stateChanged = m_lock.newCondition();
+        }
+
+        /**
+         * Submits a batch to be written, blocks while the queue is full. Batches submitted after a failure are
+         * discarded.
+         *
+         * @param batch the batch, must not be modified afterwards
+         * @throws InterruptedException If interrupted while waiting for the queue to accept the batch.
+         */
+        void submit(final List<Object> batch) throws InterruptedException {
+            m_lock.lock();
+            try {
+                while (m_failure == null && m_batches.size() + (m_isRunning ? 1 : 0) >= MAX_PENDING_BATCHES) {
+                    m_stateChanged.await();
+                }
+                if (m_failure != null) {
+                    return;
+                }
+                m_batches.add(batch);
+                m_node.m_pendingBatches++;
+                scheduleLocked(this, true);
+            } finally {
+                m_lock.unlock();
+            }
+        }
+
+        /**
+         * Waits until all submitted batches have been written (or writing failed).
+         *
+         * @throws InterruptedException If interrupted while waiting.
+         */
+        void awaitCompletion() throws InterruptedException {
+            m_lock.lock();
+            try {
+                while (m_isRunning || !m_batches.isEmpty()) {
+                    m_stateChanged.await();
+                }
+            } finally {
+                m_lock.unlock();
+            }
+        }
+
+        /** @return the exception thrown while writing a batch or <code>null</code>. */
+        Throwable getFailure() {
+            m_lock.lock();
+            try {
+                return m_failure;
+            } finally {
+                m_lock.unlock();
+            }
+        }
+
+        /** Called after a batch has been written, returns number of bytes written since the last call. */
+        private long updateBytesWritten() {
+            long bytesWritten = m_bytesWrittenSupplier.getAsLong();
+            if (bytesWritten < 0) {
+                return 0L;
+            }
+            long delta = Math.max(0L, bytesWritten - m_lastBytesWritten);
+            m_lastBytesWritten = bytesWritten;
+            return delta;
+        }
+    }
+
+    /** The queues of a node plus statistics. All fields guarded by the lock. */
+    private static final class NodeQueue {
+
+        private final String m_name;
+
+        private final ArrayDeque<WriteQueue> m_readyQueues;
+
+        private boolean m_isReady;
+
+        private int m_pendingBatches;
+
+        private long m_batchCount;
+
+        private long m_bytesWritten;
+
+        private long m_writeNanos;
+
+        NodeQueue(final String name) {
+            m_name = name;
+            m_readyQueues = new ArrayDeque<>();
+        }
+    }
+
+    /** Table IO statistics of a single node. */
+    public static final class TableIOStatistics {
+
+        private final String m_nodeName;
+
+        private final int m_queueDepth;
+
+        private final long m_batchCount;
+
+        private final long m_bytesWritten;
+
+        private final long m_writeNanos;
+
+        TableIOStatistics(final String nodeName, final int queueDepth, final long batchCount, final long bytesWritten,
+            final long writeNanos) {
+            m_nodeName = nodeName;
+            m_queueDepth = queueDepth;
+            m_batchCount = batchCount;
+            m_bytesWritten = bytesWritten;
+            m_writeNanos = writeNanos;
+        }
+
+        /** @return name and ID of the node, or a placeholder for tables created outside a node. */
+        public String getNodeName() {
+            return m_nodeName;
+        }
+
+        /** @return the number of batches waiting to be written or being written. */
+        public int getQueueDepth() {
+            return m_queueDepth;
+        }
+
+        /** @return the number of batches written so far. */
+        public long getBatchCount() {
+            return m_batchCount;
+        }
+
+        /** @return the number of bytes written to disc so far (tables kept in memory don't contribute). */
+        public long getBytesWritten() {
+            return m_bytesWritten;
+        }
+
+        /** @return the bytes written per second spent in the IO threads, 0 if nothing has been written. */
+        public double getBytesPerSecond() {
+            return m_writeNanos == 0L ? 0.0 : m_bytesWritten / (m_writeNanos / 1e9);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString() {
+            return String.format("%s: queue depth %d, %d batches, %d bytes, %.1f bytes/s", m_nodeName, m_queueDepth,
+                m_batchCount, m_bytesWritten, getBytesPerSecond());
+        }
+    }
+
+    /** Names the threads "KNIME-TableIO-n". */
+    private static final class ThreadFactoryImpl implements ThreadFactory {
+
+        private final AtomicInteger m_threadCount = new AtomicInteger();
+
+        /** {@inheritDoc} */
+        @Override
+        public Thread newThread(final Runnable r) {
+            return new Thread(r, "KNIME-TableIO-" + m_threadCount.incrementAndGet());
+        }
+    }
+
+}
@@ -59,13 +59,16 @@
 import java.util.Set;
 import java.util.WeakHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 
 import org.apache.commons.io.IOUtils;
 import org.eclipse.core.runtime.Platform;
 import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataType;
 import org.knime.core.data.DataTypeRegistry;
+import org.knime.core.data.FilteredRowIterator;
 import org.knime.core.data.IDataRepository;
 import org.knime.core.data.RowIteratorBuilder;
 import org.knime.core.data.RowIteratorBuilder.DefaultRowIteratorBuilder;
@@ -202,13 +205,38 @@ public RowIteratorBuilder<? extends TableStoreCloseableRowIterator> iteratorBuil
         return new DefaultRowIteratorBuilder<TableStoreCloseableRowIterator>(() -> iterator(), m_spec) {
             @Override
             public TableStoreCloseableRowIterator build() {
-                TableStoreCloseableRowIterator iterator = super.build();
+                final int[] selectedColumns = getSelectedColumns();
+                TableStoreCloseableRowIterator iterator =
+                    selectedColumns == null ? iterator() : iterator(selectedColumns);
                 registerNewIteratorInstance(iterator);
-                return iterator;
+                final Predicate<? super DataRow> rowFilter = getRowFilter();
+                if (rowFilter == null) {
+                    return iterator;
+                }
+                TableStoreCloseableRowIterator filterIterator = new FilteredTableStoreRowIterator(iterator, rowFilter);
+                filterIterator.setReader(AbstractTableStoreReader.this);
+                return filterIterator;
             }
         };
     }
 
+    /**
+     * Returns a row iterator that only materializes the cells of the selected columns, all other cells in the returned
+     * rows are {@link org.knime.core.data.UnmaterializedCell unmaterialized}. Readers that are able to skip the
+     * deserialization of cells override this method; the default implementation ignores the column selection and
+     * returns {@link #iterator()}.
+     *
+     * <p>
+     * The returned iterator will be registered by the caller (see {@link #iteratorBuilder()}).
+     *
+     * @param selectedColumns the sorted, non-empty indices of the columns to materialize
+     * @return row iterator
+     * @since 3.7
+     */
+    protected TableStoreCloseableRowIterator iterator(final int[] selectedColumns) {
+        return iterator();
+    }
+
     /**
      * Reads the cell class info shortcuts array from the node settings for container versions 6 and lower.
      *
@@ -415,4 +443,39 @@ public final void close() {
         public abstract boolean performClose() throws IOException;
     }
 
+    /**
+     * Iterator applying the row filter set via {@link RowIteratorBuilder#filterRows(Predicate)} on top of a
+     * registered iterator, using a {@link FilteredRowIterator}. It is not registered itself; closing it closes the
+     * underlying iterator.
+     */
+    private static final class FilteredTableStoreRowIterator extends TableStoreCloseableRowIterator {
+
+        private final FilteredRowIterator m_filterIterator;
+
+        FilteredTableStoreRowIterator(final TableStoreCloseableRowIterator delegate,
+            final Predicate<? super DataRow> predicate) {
+            m_filterIterator = new FilteredRowIterator(delegate, predicate);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean hasNext() {
+            return m_filterIterator.hasNext();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public DataRow next() {
+            return m_filterIterator.next();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean performClose() throws IOException {
+            m_filterIterator.close();
+            // the delegate is the registered instance and does the book keeping
+            return false;
+        }
+    }
+
 }
@@ -99,22 +99,10 @@ private static TableStoreFormatRegistry createInstance() {
         IExtensionRegistry registry = Platform.getExtensionRegistry();
         IExtensionPoint point = registry.getExtensionPoint(EXT_POINT_ID);
 
-        List<TableStoreFormat> formatList = Stream.of(point.getExtensions())
+        List<TableStoreFormat> formatList = sortFormats(Stream.of(point.getExtensions())
                 .flatMap(ext -> Stream.of(ext.getConfigurationElements()))
                 .map(cfe -> readFormat(cfe))
-                .filter(f -> f != null)
-                .sorted(Comparator.comparing(f -> f.getClass().getSimpleName(), (a, b) -> {
-                    // sort formats so that the "KNIME standard" format comes first.
-                    if (Objects.equals(a, b)) {
-                        return 0;
-                    } else if (DefaultTableStoreFormat.class.getName().equals(a)) {
-                        return -1;
-                    } else if (DefaultTableStoreFormat.class.getName().equals(b)) {
-                        return +1;
-                    } else {
-                        return a.compareTo(b);
-                    }
-                })).collect(Collectors.toList());
+                .filter(f -> f != null));
 
         boolean hasFallback= formatList.stream().anyMatch(f -> f.getClass().equals(DefaultTableStoreFormat.class));
         CheckUtils.checkState(hasFallback, "No fallback table format registered, expected '%s' but not present in '%s'",
@@ -124,6 +112,24 @@ private static TableStoreFormatRegistry createInstance() {
         return new TableStoreFormatRegistry(formatList);
     }
 
+    /** Sorts the formats so that the "KNIME standard" format comes first (it's the fallback), the others are sorted
+     * by class name.
+     * @param formats the formats to sort
+     * @return sorted list of the formats */
+    static List<TableStoreFormat> sortFormats(final Stream<TableStoreFormat> formats) {
+        return formats.sorted(Comparator.comparing(f -> f.getClass().getName(), (a, b) -> {
+            if (Objects.equals(a, b)) {
+                return 0;
+            } else if (DefaultTableStoreFormat.class.getName().equals(a)) {
+                return -1;
+            } else if (DefaultTableStoreFormat.class.getName().equals(b)) {
+                return +1;
+            } else {
+                return a.compareTo(b);
+            }
+        })).collect(Collectors.toList());
+    }
+
     private static TableStoreFormat readFormat(final IConfigurationElement cfe) {
         try {
             TableStoreFormat f = (TableStoreFormat)cfe.createExecutableExtension("formatDefinition");
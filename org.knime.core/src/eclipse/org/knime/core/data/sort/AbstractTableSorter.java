@@ -51,6 +51,7 @@
 import java.text.NumberFormat;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -62,6 +63,12 @@
 import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
@@ -78,7 +85,9 @@
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
+import org.knime.core.util.ThreadPool;
 
 /**
  * Class to sort a table. See <a href="package.html">package description</a> for details.
@@ -98,6 +107,12 @@ abstract class AbstractTableSorter {
      */
     public static final int DEF_MAX_OPENCONTAINER = 40;
 
+    /** Number of rows read ahead per temporary table during the merge in parallel mode. */
+    static final int PREFETCH_ROW_COUNT = 256;
+
+    /** Minimum number of rows per segment when sorting in memory in parallel mode. */
+    private static final int MIN_PARALLEL_SORT_SEGMENT_SIZE = 10000;
+
     private MemoryAlertSystem m_memService = MemoryAlertSystem.getInstance();
 
     private final DataTable m_inputTable;
@@ -118,6 +133,9 @@ abstract class AbstractTableSorter {
 
     private boolean m_sortInMemory = false;
 
+    /** See {@link #setParallel(boolean)}. */
+    private boolean m_parallel = false;
+
     /** The RowComparator to compare two DataRows (inner class). */
     private Comparator<DataRow> m_rowComparator;
 
@@ -405,6 +423,117 @@ public void setSortInMemory(final boolean sortInMemory) {
         m_sortInMemory = sortInMemory;
     }
 
+    /**
+     * @return the parallel field, see {@link #setParallel(boolean)} for details.
+     * @since 3.7
+     */
+    public boolean isParallel() {
+        return m_parallel;
+    }
+
+    /**
+     * Enables the parallel mode. Chunks of the input are then sorted and written to temporary tables by a pool thread
+     * while the next chunk is read; tables sorted in memory are split into segments that are sorted by pool threads
+     * and merged. Temporary tables are merged using a loser tree, whereby the rows of each temporary table are read
+     * ahead in the background. The sort order, including the order of equal rows, is the same as in the default mode.
+     * All threads are taken from a sub pool of the {@link KNIMEConstants#GLOBAL_THREAD_POOL global thread pool} that
+     * only lives for the duration of the sort, so that the KNIME thread limits apply.
+     *
+     * <p>
+     * As the rows of a chunk stay in memory until it is written, chunks are half the size of the chunks in the
+     * default mode and on low memory the next chunk is only read once the pending one is written. At most two chunks
+     * are thus held in memory, the one being written and the one being read.
+     *
+     * <p>
+     * The default value for this option is <b>false</b>.
+     *
+     * @param parallel <code>true</code> to use multiple threads
+     * @since 3.7
+     */
+    public void setParallel(final boolean parallel) {
+        m_parallel = parallel;
+    }
+
+    /**
+     * Sorts the list. If a pool is given, segments of the list are sorted by pool threads and merged pairwise
+     * afterwards (in the order of the segments, hence both variants are stable).
+     *
+     * @param rows the rows to sort
+     * @param pool the pool to sort in (parallel mode) or null
+     */
+    private void sortRows(final List<DataRow> rows, final ThreadPool pool) {
+        final int segmentCount =
+            pool == null ? 1 : Math.min(pool.getMaxThreads(), rows.size() / MIN_PARALLEL_SORT_SEGMENT_SIZE);
+        if (segmentCount <= 1) {
+            Collections.sort(rows, m_rowComparator);
+            return;
+        }
+        DataRow[] array = rows.toArray(new DataRow[rows.size()]);
+        int[] bounds = new int[segmentCount + 1];
+        for (int i = 0; i <= segmentCount; i++) {
+            bounds[i] = (int)((long)array.length * i / segmentCount);
+        }
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < segmentCount; i++) {
+            final int from = bounds[i];
+            final int to = bounds[i + 1];
+            futures.add(pool.enqueue(() -> Arrays.sort(array, from, to, m_rowComparator)));
+        }
+        waitFor(futures, "Sorting rows failed");
+        DataRow[] source = array;
+        DataRow[] target = new DataRow[array.length];
+        for (int width = 1; width < segmentCount; width *= 2) {
+            futures.clear();
+            for (int i = 0; i < segmentCount; i += 2 * width) {
+                final int from = bounds[i];
+                final int middle = bounds[Math.min(i + width, segmentCount)];
+                final int to = bounds[Math.min(i + 2 * width, segmentCount)];
+                final DataRow[] src = source;
+                final DataRow[] dest = target;
+                futures.add(pool.enqueue(() -> merge(src, from, middle, to, dest)));
+            }
+            waitFor(futures, "Sorting rows failed");
+            DataRow[] temp = source;
+            source = target;
+            target = temp;
+        }
+        for (int i = 0; i < source.length; i++) {
+            rows.set(i, source[i]);
+        }
+    }
+
+    /** Merges the sorted ranges [from, middle) and [middle, to) of the source into the same range of the target,
+     * rows of the first range go first if equal. */
+    private void merge(final DataRow[] source, final int from, final int middle, final int to,
+        final DataRow[] target) {
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < middle && m_rowComparator.compare(source[left], source[right]) <= 0)) {
+                target[i] = source[left++];
+            } else {
+                target[i] = source[right++];
+            }
+        }
+    }
+
+    /** Waits for all futures, rethrowing the failure of a pool thread. */
+    private static void waitFor(final List<Future<?>> futures, final String message) {
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                for (Future<?> f : futures) {
+                    f.cancel(true);
+                }
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while sorting", e);
+            } catch (ExecutionException e) {
+                throw unwrap(e, message);
+            }
+        }
+    }
+
     /**
      * Sorts the table passed in the constructor according to the settings and returns the sorted output table.
      *
@@ -413,20 +542,24 @@ public void setSortInMemory(final boolean sortInMemory) {
      * @throws CanceledExecutionException If canceled.
      */
     DataTable sortInternal(final ExecutionMonitor exec) throws CanceledExecutionException {
+        // only lives for this sort; sub pools hold no threads, they are taken from (and limited by) the global pool
+        final ThreadPool pool = m_parallel
+            ? KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(Runtime.getRuntime().availableProcessors()) : null;
         DataTable result;
         if (m_sortInMemory && (m_rowsInInputTable <= Integer.MAX_VALUE)) {
-            result = sortInMemory(exec);
+            result = sortInMemory(exec, pool);
         } else {
             if (m_rowsInInputTable > Integer.MAX_VALUE) {
                 LOGGER.info("Not sorting table in memory, because it has more than " + Integer.MAX_VALUE + " rows.");
             }
-            result = sortOnDisk(exec);
+            result = sortOnDisk(exec, pool);
         }
         exec.setProgress(1.0);
         return result;
     }
 
-    private DataTable sortInMemory(final ExecutionMonitor exec) throws CanceledExecutionException {
+    private DataTable sortInMemory(final ExecutionMonitor exec, final ThreadPool pool)
+        throws CanceledExecutionException {
         final DataTable dataTable = m_inputTable;
         List<DataRow> rowList = new ArrayList<DataRow>();
 
@@ -451,7 +584,7 @@ private DataTable sortInMemory(final ExecutionMonitor exec) throws CanceledExecu
         }
 
         exec.setMessage("Sorting");
-        Collections.sort(rowList, m_rowComparator);
+        sortRows(rowList, pool);
 
         exec.setMessage("Creating sorted table");
 
@@ -494,14 +627,16 @@ private DataTable sortInMemory(final ExecutionMonitor exec) throws CanceledExecu
      *
      * @param dataTable the data table that sgetRowCounthould be sorted
      * @param exec an execution context for reporting progress and creating BufferedDataContainers
+     * @param pool the pool to sort, write and read ahead in (parallel mode) or null
      * @throws CanceledExecutionException if the user has canceled execution
      */
-    private DataTable sortOnDisk(final ExecutionMonitor exec) throws CanceledExecutionException {
+    private DataTable sortOnDisk(final ExecutionMonitor exec, final ThreadPool pool)
+        throws CanceledExecutionException {
         final DataTable dataTable = m_inputTable;
 
         m_progress = 0.0;
         m_incProgress = m_rowsInInputTable <= 0 ? -1.0 : 1.0 / (2.0 * m_rowsInInputTable);
-        long counter = createInitialChunks(exec, dataTable);
+        long counter = createInitialChunks(exec, dataTable, pool);
         // no or one row only in input table, can exit immediately
         // (can't rely on global rowCount - might not be set)
         if (counter <= 1) {
@@ -511,7 +646,7 @@ private DataTable sortOnDisk(final ExecutionMonitor exec) throws CanceledExecuti
         exec.setMessage("Merging temporary tables");
         // The final output container
         // merge chunks until there are only so much left, as m_maxopencontainers
-        Iterator<DataRow> result = mergeChunks(exec, false);
+        Iterator<DataRow> result = mergeChunks(exec, false, pool);
 
         // add results to the final container
         // The final output container, leave it to the
@@ -533,6 +668,15 @@ private DataTable sortOnDisk(final ExecutionMonitor exec) throws CanceledExecuti
      */
     Iterator<DataRow> mergeChunks(final ExecutionMonitor exec, final boolean mergeCompletely)
         throws CanceledExecutionException {
+        return mergeChunks(exec, mergeCompletely, null);
+    }
+
+    /**
+     * As {@link #mergeChunks(ExecutionMonitor, boolean)}, merging with a loser tree and reading ahead in the argument
+     * pool if not null (parallel mode). The returned iterator must be consumed while the pool is in use.
+     */
+    private Iterator<DataRow> mergeChunks(final ExecutionMonitor exec, final boolean mergeCompletely,
+        final ThreadPool pool) throws CanceledExecutionException {
         while (!m_chunksContainer.isEmpty()) {
             exec.setMessage("Merging temporary tables, " + m_chunksContainer.size() + " remaining");
             if (m_chunksContainer.size() < m_maxOpenContainers) {
@@ -548,12 +692,16 @@ Iterator<DataRow> mergeChunks(final ExecutionMonitor exec, final boolean mergeCo
             }
 
             Queue<MergeEntry> containersToMerge = new ArrayDeque<>();
+            List<Iterable<DataRow>> runsToMerge = new ArrayList<>();
 
             for (int i = 0; !m_chunksContainer.isEmpty() && i < m_maxOpenContainers; i++) {
-                containersToMerge.add(new MergeEntry(m_chunksContainer.poll(), i, m_rowComparator));
+                Iterable<DataRow> run = m_chunksContainer.poll();
+                containersToMerge.add(new MergeEntry(run, i, m_rowComparator));
+                runsToMerge.add(run);
             }
 
-            MergingIterator mergingIterator = new MergingIterator(containersToMerge);
+            Iterator<DataRow> mergingIterator = pool != null ? new LoserTreeMergingIterator(runsToMerge, pool)
+                : new MergingIterator(containersToMerge);
 
             if (m_chunksContainer.isEmpty() && (!mergeCompletely || containersToMerge.size() == 1)) {
                 return mergingIterator;
@@ -578,7 +726,7 @@ Iterator<DataRow> mergeChunks(final ExecutionMonitor exec, final boolean mergeCo
         return Collections.<DataRow>emptyList().iterator();
     }
 
-    private long createInitialChunks(final ExecutionMonitor exec, final DataTable dataTable)
+    private long createInitialChunks(final ExecutionMonitor exec, final DataTable dataTable, final ThreadPool pool)
         throws CanceledExecutionException {
         long outerCounter;
         long counter = 0;
@@ -587,58 +735,88 @@ private long createInitialChunks(final ExecutionMonitor exec, final DataTable da
         int rowsInCurrentChunk = 0;
 
         MemoryActionIndicator memObservable = m_memService.newIndicator();
+        // parallel mode only: the chunk being sorted and written while the next one is read
+        PendingChunk pendingChunk = null;
+        // parallel mode only: two chunks may be in memory at the same time
+        final int parallelChunkSize = Math.max(1, m_maxRowsPerChunk / 2);
 
         exec.setMessage("Reading table");
-        for (Iterator<DataRow> iter = dataTable.iterator(); iter.hasNext();) {
-            counter++;
-            rowsInCurrentChunk++;
-            exec.checkCanceled();
-            String message = "Reading table, " + counter + " rows read";
-            if (m_rowsInInputTable > 0) {
-                m_progress += m_incProgress;
-                exec.setProgress(m_progress, message);
-            } else {
-                exec.setMessage(message);
-            }
-            DataRow row = iter.next();
-            buffer.add(row);
-            if ((memObservable.lowMemoryActionRequired() && (rowsInCurrentChunk >= m_maxOpenContainers))
-                || (counter % m_maxRowsPerChunk == 0)) {
-                LOGGER.debug("Writing chunk [" + chunkStartRow + ":" + counter + "] - mem usage: " + getMemUsage());
+        try {
+            for (Iterator<DataRow> iter = dataTable.iterator(); iter.hasNext();) {
+                counter++;
+                rowsInCurrentChunk++;
+                exec.checkCanceled();
+                String message = "Reading table, " + counter + " rows read";
                 if (m_rowsInInputTable > 0) {
-                    long estimatedIncrements = m_rowsInInputTable - counter + buffer.size();
-                    m_incProgress = (0.5 - m_progress) / estimatedIncrements;
+                    m_progress += m_incProgress;
+                    exec.setProgress(m_progress, message);
+                } else {
+                    exec.setMessage(message);
                 }
-                exec.setMessage("Sorting temporary buffer");
-                // sort buffer
-                Collections.sort(buffer, m_rowComparator);
-                // write buffer to disk
-                openChunk();
-                final int totalBufferSize = buffer.size();
-                for (int i = 0; i < totalBufferSize; i++) {
-                    exec.setMessage("Writing temporary table -- " + i + "/" + totalBufferSize);
-                    // must not use Iterator#remove as it causes
-                    // array copies
-                    DataRow next = buffer.set(i, null);
-                    addRowToChunk(next);
-                    exec.checkCanceled();
+                DataRow row = iter.next();
+                buffer.add(row);
+                final boolean lowMemory = memObservable.lowMemoryActionRequired();
+                if (lowMemory && pendingChunk != null) {
+                    // release the rows of the pending chunk before reading on
+                    finishChunk(pendingChunk, exec);
+                    pendingChunk = null;
+                }
+                if ((lowMemory && (rowsInCurrentChunk >= m_maxOpenContainers))
+                    || (pool != null ? rowsInCurrentChunk >= parallelChunkSize : counter % m_maxRowsPerChunk == 0)) {
+                    LOGGER.debug("Writing chunk [" + chunkStartRow + ":" + counter + "] - mem usage: "
+                        + getMemUsage());
                     if (m_rowsInInputTable > 0) {
-                        m_progress += m_incProgress;
-                        exec.setProgress(m_progress);
+                        long estimatedIncrements = m_rowsInInputTable - counter + buffer.size();
+                        m_incProgress = (0.5 - m_progress) / estimatedIncrements;
                     }
-                }
-                buffer.clear();
-                closeChunk();
+                    if (pool != null) {
+                        if (pendingChunk != null) {
+                            finishChunk(pendingChunk, exec);
+                        }
+                        pendingChunk = submitChunk(buffer, pool);
+                        buffer = new ArrayList<DataRow>();
+                    } else {
+                        exec.setMessage("Sorting temporary buffer");
+                        // sort buffer
+                        Collections.sort(buffer, m_rowComparator);
+                        // write buffer to disk
+                        openChunk();
+                        final int totalBufferSize = buffer.size();
+                        for (int i = 0; i < totalBufferSize; i++) {
+                            exec.setMessage("Writing temporary table -- " + i + "/" + totalBufferSize);
+                            // must not use Iterator#remove as it causes
+                            // array copies
+                            DataRow next = buffer.set(i, null);
+                            addRowToChunk(next);
+                            exec.checkCanceled();
+                            if (m_rowsInInputTable > 0) {
+                                m_progress += m_incProgress;
+                                exec.setProgress(m_progress);
+                            }
+                        }
+                        buffer.clear();
+                        closeChunk();
 
-                LOGGER.debug("Wrote chunk [" + chunkStartRow + ":" + counter + "] - mem usage: " + getMemUsage());
-                chunkStartRow = counter + 1;
-                rowsInCurrentChunk = 0;
+                        LOGGER.debug("Wrote chunk [" + chunkStartRow + ":" + counter + "] - mem usage: "
+                            + getMemUsage());
+                    }
+                    chunkStartRow = counter + 1;
+                    rowsInCurrentChunk = 0;
+                }
+            }
+            if (pendingChunk != null) {
+                finishChunk(pendingChunk, exec);
+                pendingChunk = null;
+            }
+        } finally {
+            if (pendingChunk != null) {
+                discardChunk(pendingChunk);
             }
         }
         // Add buffer to the chunks
         if (!buffer.isEmpty()) {
             // sort buffer
-            Collections.sort(buffer, m_rowComparator);
+            sortRows(buffer, pool);
             m_chunksContainer.add(buffer);
         }
         outerCounter = counter;
@@ -679,6 +857,101 @@ void closeChunk() {
         }
     }
 
+    /**
+     * Sorts the rows and writes them into a new temporary table using a pool thread (parallel mode only). The
+     * container is created in the calling thread.
+     *
+     * @param rows the rows, not used by the caller afterwards
+     * @param pool the pool to sort and write in
+     * @return the handle for {@link #finishChunk(PendingChunk, ExecutionMonitor)}
+     */
+    private PendingChunk submitChunk(final List<DataRow> rows, final ThreadPool pool) {
+        final DataContainer container = createDataContainer(m_dataTableSpec, true);
+        container.setMaxPossibleValues(0);
+        final double progressIncrement = m_rowsInInputTable > 0 ? rows.size() * m_incProgress : 0.0;
+        final DataRow[] array = rows.toArray(new DataRow[rows.size()]);
+        rows.clear();
+        final AtomicBoolean discarded = new AtomicBoolean();
+        Future<?> future = pool.enqueue(() -> {
+            // the next chunk is read meanwhile, a sequential (stable) sort is sufficient
+            Arrays.sort(array, m_rowComparator);
+            for (int i = 0; i < array.length && !discarded.get(); i++) {
+                container.addRowToTable(array[i]);
+                array[i] = null;
+            }
+        });
+        return new PendingChunk(container, future, discarded, progressIncrement);
+    }
+
+    /**
+     * Stops writing the chunk, waits for the pool thread to let go of the container and then clears the container
+     * (called on cancelation or failure).
+     *
+     * @param chunk the chunk
+     */
+    private void discardChunk(final PendingChunk chunk) {
+        chunk.m_discarded.set(true);
+        boolean interrupted = false;
+        while (true) {
+            try {
+                chunk.m_future.get();
+                break;
+            } catch (InterruptedException e) {
+                // the container must not be closed while it's still written to
+                interrupted = true;
+            } catch (ExecutionException | CancellationException e) {
+                break;
+            }
+        }
+        try {
+            chunk.m_container.close();
+            clearTable(chunk.m_container.getTable());
+        } catch (RuntimeException e) {
+            LOGGER.debug("Unable to clear temporary table: " + e.getMessage(), e);
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for the chunk to be written, closes it and adds it to the list of chunks to merge.
+     *
+     * @param chunk the chunk
+     * @param exec for cancelation and progress
+     * @throws CanceledExecutionException if canceled while waiting
+     */
+    private void finishChunk(final PendingChunk chunk, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        while (true) {
+            try {
+                chunk.m_future.get(1, TimeUnit.SECONDS);
+                break;
+            } catch (TimeoutException e) {
+                exec.checkCanceled();
+            } catch (InterruptedException e) {
+                throw new CanceledExecutionException("Interrupted while writing temporary table");
+            } catch (ExecutionException e) {
+                throw unwrap(e, "Writing temporary table failed");
+            }
+        }
+        chunk.m_container.close();
+        m_chunksContainer.offer(chunk.m_container.getTable());
+        if (m_rowsInInputTable > 0) {
+            m_progress += chunk.m_progressIncrement;
+            exec.setProgress(m_progress);
+        }
+    }
+
+    /** Runtime exception for the cause of an exception thrown by a pool thread. */
+    private static RuntimeException unwrap(final ExecutionException e, final String message) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException)cause;
+        }
+        return new RuntimeException(message + ": " + cause.getMessage(), cause);
+    }
+
     private String getMemUsage() {
         Runtime runtime = Runtime.getRuntime();
         long free = runtime.freeMemory();
@@ -866,6 +1139,195 @@ public void remove() {
         }
     }
 
+    /** A chunk being sorted and written by a pool thread, parallel mode only. */
+    private static final class PendingChunk {
+
+        private final DataContainer m_container;
+
+        private final Future<?> m_future;
+
+        /** Set if the chunk is no longer needed, stops the pool thread from writing further rows. */
+        private final AtomicBoolean m_discarded;
+
+        private final double m_progressIncrement;
+
+        PendingChunk(final DataContainer container, final Future<?> future, final AtomicBoolean discarded,
+            final double progressIncrement) {
+            m_container = container;
+            m_future = future;
+            m_discarded = discarded;
+            m_progressIncrement = progressIncrement;
+        }
+    }
+
+    /**
+     * Reads a temporary table (run) in batches of {@link #PREFETCH_ROW_COUNT} rows; the next batch is read by a pool
+     * thread while the current one is consumed. Used by the {@link LoserTreeMergingIterator}.
+     */
+    private final class PrefetchingRunReader {
+
+        private final Iterable<DataRow> m_run;
+
+        private final ThreadPool m_pool;
+
+        /** Only accessed by the (sequentially executed) prefetch tasks. */
+        private Iterator<DataRow> m_iterator;
+
+        private List<DataRow> m_batch = Collections.emptyList();
+
+        private int m_batchIndex;
+
+        /** Next batch being read, null if the run has been read completely. */
+        private Future<List<DataRow>> m_nextBatch;
+
+        /** Current row, null if the run is exhausted. */
+        private DataRow m_head;
+
+        PrefetchingRunReader(final Iterable<DataRow> run, final ThreadPool pool) {
+            m_run = run;
+            m_pool = pool;
+        }
+
+        /** Opens the run and reads the first row. */
+        void open() {
+            m_iterator = m_run.iterator();
+            m_nextBatch = prefetch();
+            advance();
+        }
+
+        private Future<List<DataRow>> prefetch() {
+            return m_pool.enqueue(() -> {
+                List<DataRow> batch = new ArrayList<>(PREFETCH_ROW_COUNT);
+                while (batch.size() < PREFETCH_ROW_COUNT && m_iterator.hasNext()) {
+                    batch.add(m_iterator.next());
+                }
+                return batch;
+            });
+        }
+
+        /** Moves to the next row, {@link #m_head} is null afterwards if the run is exhausted. */
+        void advance() {
+            if (m_batchIndex == m_batch.size()) {
+                m_batch = m_nextBatch == null ? Collections.<DataRow> emptyList() : getNextBatch();
+                m_batchIndex = 0;
+                m_nextBatch = m_batch.size() < PREFETCH_ROW_COUNT ? null : prefetch();
+                if (m_batch.isEmpty()) {
+                    m_head = null;
+                    if (m_run instanceof DataTable) {
+                        clearTable((DataTable)m_run);
+                    }
+                    return;
+                }
+            }
+            m_head = m_batch.set(m_batchIndex++, null);
+        }
+
+        private List<DataRow> getNextBatch() {
+            try {
+                return m_nextBatch.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while reading temporary table", e);
+            } catch (ExecutionException e) {
+                throw unwrap(e, "Reading temporary table failed");
+            }
+        }
+    }
+
+    /**
+     * Merges sorted runs using a loser tree, which needs log(k) row comparisons per row for k runs (parallel mode
+     * only). Equal rows are returned in the order of the runs, as done by the {@link MergingIterator}.
+     */
+    private final class LoserTreeMergingIterator implements Iterator<DataRow> {
+
+        private final PrefetchingRunReader[] m_readers;
+
+        /**
+         * Index of the reader with the smallest row in element 0, indices of the losers of the inner nodes in the
+         * remaining elements. The children of node i are 2i and 2i+1, reader r is leaf k+r.
+         */
+        private int[] m_tree;
+
+        LoserTreeMergingIterator(final List<Iterable<DataRow>> runs, final ThreadPool pool) {
+            m_readers = new PrefetchingRunReader[runs.size()];
+            for (int i = 0; i < m_readers.length; i++) {
+                m_readers[i] = new PrefetchingRunReader(runs.get(i), pool);
+            }
+        }
+
+        private void init() {
+            final int k = m_readers.length;
+            m_tree = new int[k];
+            // index k is a virtual reader which beats all others, it's pushed out of the tree by the real readers
+            Arrays.fill(m_tree, k);
+            for (PrefetchingRunReader reader : m_readers) {
+                reader.open();
+            }
+            for (int i = k - 1; i >= 0; i--) {
+                adjust(i);
+            }
+        }
+
+        /** Replays the matches on the path from the argument reader's leaf to the root. */
+        private void adjust(final int reader) {
+            int winner = reader;
+            for (int node = (winner + m_readers.length) >> 1; node > 0; node >>= 1) {
+                if (beats(m_tree[node], winner)) {
+                    int loser = winner;
+                    winner = m_tree[node];
+                    m_tree[node] = loser;
+                }
+            }
+            m_tree[0] = winner;
+        }
+
+        /** Whether reader a has a smaller row than reader b; exhausted readers lose, ties go to the lower index. */
+        private boolean beats(final int a, final int b) {
+            final int k = m_readers.length;
+            if (a == k) {
+                return true;
+            }
+            if (b == k) {
+                return false;
+            }
+            DataRow rowA = m_readers[a].m_head;
+            DataRow rowB = m_readers[b].m_head;
+            if (rowA == null) {
+                return false;
+            }
+            if (rowB == null) {
+                return true;
+            }
+            int comparison = m_rowComparator.compare(rowA, rowB);
+            return comparison < 0 || (comparison == 0 && a < b);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean hasNext() {
+            if (m_tree == null) {
+                if (m_readers.length == 0) {
+                    return false;
+                }
+                init();
+            }
+            return m_readers[m_tree[0]].m_head != null;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public DataRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final int winner = m_tree[0];
+            DataRow result = m_readers[winner].m_head;
+            m_readers[winner].advance();
+            adjust(winner);
+            return result;
+        }
+    }
+
     /**
      * The private class RowComparator is used to compare two DataRows. It implements the Comparator-interface, so we
      * can use the Arrays.sort method to sort an array of DataRows.
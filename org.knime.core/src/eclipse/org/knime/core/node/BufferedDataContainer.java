@@ -131,6 +131,7 @@ public class BufferedDataContainer extends DataContainer {
      *        and for handling table ids
      * @param localTableRepository
      *        The local (Node) table repository for blob (de)serialization.
+     * @param forceSynchronousIO Whether to write rows in the thread adding them (also forced by the node, see below)
      * @see DataContainer#DataContainer(DataTableSpec, boolean)
      */
     BufferedDataContainer(final DataTableSpec spec, final boolean initDomain,
@@ -138,13 +139,13 @@ public class BufferedDataContainer extends DataContainer {
             final boolean forceCopyOfBlobs, final int maxCellsInMemory,
             final IDataRepository dataRepository,
             final Map<Integer, ContainerTable> localTableRepository,
-            final IWriteFileStoreHandler fileStoreHandler) {
+            final IWriteFileStoreHandler fileStoreHandler, final boolean forceSynchronousIO) {
         // force synchronous IO when the node is a loop end:
         // rows containing blobs need to be written instantly as their owning
         // buffer is discarded in the next loop iteration, see bug 2935
         super(spec, initDomain, maxCellsInMemory < 0
                 ? getMaxCellsInMemory(policy) : maxCellsInMemory,
-                        node.isForceSychronousIO());
+                        forceSynchronousIO || node.isForceSychronousIO());
         m_node = node;
         m_localTableRepository = localTableRepository;
         /**
@@ -70,6 +70,7 @@
 import org.knime.core.data.DataTable;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataType;
+import org.knime.core.data.FilteredRowIterator;
 import org.knime.core.data.IDataRepository;
 import org.knime.core.data.RowIteratorBuilder;
 import org.knime.core.data.RowIteratorBuilder.DefaultRowIteratorBuilder;
@@ -940,7 +941,8 @@ void saveToFile(final File f, final NodeSettingsWO settings,
          */
         @Override
         default RowIteratorBuilder<? extends CloseableRowIterator> iteratorBuilder() {
-            return new DefaultRowIteratorBuilder<CloseableRowIterator>(() -> iterator(), getDataTableSpec());
+            return new DefaultRowIteratorBuilder<CloseableRowIterator>(() -> iterator(), FilteredRowIterator::new,
+                getDataTableSpec());
         }
 
         /** Reference to the underlying tables, if any. A reference
@@ -357,11 +357,57 @@ public BufferedDataContainer createDataContainer(final DataTableSpec spec,
      */
     public BufferedDataContainer createDataContainer(final DataTableSpec spec,
             final boolean initDomain, final int maxCellsInMemory) {
-        boolean forceCopyOfBlobs = m_node.isModelCompatibleTo(LoopEndNode.class)
-                || m_node.isModelCompatibleTo(VirtualSubNodeOutputNodeModel.class);
         return new BufferedDataContainer(spec, initDomain, m_node,
-                m_memoryPolicy, forceCopyOfBlobs, maxCellsInMemory, m_dataRepository,
-                m_localTableRepository, m_fileStoreHandler);
+                m_memoryPolicy, isForceCopyOfBlobs(), maxCellsInMemory, m_dataRepository,
+                m_localTableRepository, m_fileStoreHandler, false);
+    }
+
+    /**
+     * Creates a container to which rows can be added concurrently by multiple threads. Each row is added along with
+     * its index in the final table; the rows are serialized by the adding threads into independent chunks, which are
+     * put together in the order of the row index when the container is closed. Use this method if rows are computed
+     * in parallel, see {@link ParallelBufferedDataContainer} for details.
+     *
+     * @param spec The spec to open the container.
+     * @param initDomain If the domain information from the argument shall be used to initialize the domain (min, max,
+     *            possible values). If false, the domain will be determined on the fly.
+     * @return A new container.
+     * @throws NullPointerException If the spec argument is <code>null</code>.
+     * @since 3.7
+     */
+    public ParallelBufferedDataContainer createParallelDataContainer(final DataTableSpec spec,
+        final boolean initDomain) {
+        return createParallelDataContainer(spec, initDomain, ParallelBufferedDataContainer.DEFAULT_ROWS_PER_CHUNK);
+    }
+
+    /**
+     * Creates a container to which rows can be added concurrently by multiple threads, using a custom chunk size.
+     * Same as {@link #createParallelDataContainer(DataTableSpec, boolean)} except for the last argument.
+     *
+     * @param spec The spec to open the container.
+     * @param initDomain If the domain information from the argument shall be used to initialize the domain.
+     * @param rowsPerChunk The number of consecutive row indices that make up one chunk, must be &gt; 0.
+     * @return A new container.
+     * @throws NullPointerException If the spec argument is <code>null</code>.
+     * @throws IllegalArgumentException If the chunk size is not positive.
+     * @since 3.7
+     */
+    public ParallelBufferedDataContainer createParallelDataContainer(final DataTableSpec spec,
+        final boolean initDomain, final int rowsPerChunk) {
+        return new ParallelBufferedDataContainer(this, spec, initDomain, rowsPerChunk);
+    }
+
+    /** Creates a container for a single chunk of a {@link ParallelBufferedDataContainer}, writing rows in the thread
+     * adding them and delegating the duplicate check to the parent container. */
+    BufferedDataContainer createChunkDataContainer(final DataTableSpec spec, final boolean initDomain,
+        final ParallelBufferedDataContainer parent) {
+        return new ParallelBufferedDataContainer.ChunkDataContainer(spec, initDomain, m_node, m_memoryPolicy,
+            isForceCopyOfBlobs(), m_dataRepository, m_localTableRepository, m_fileStoreHandler, parent);
+    }
+
+    private boolean isForceCopyOfBlobs() {
+        return m_node.isModelCompatibleTo(LoopEndNode.class)
+                || m_node.isModelCompatibleTo(VirtualSubNodeOutputNodeModel.class);
     }
 
     /**
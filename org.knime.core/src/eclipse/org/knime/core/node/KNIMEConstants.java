@@ -106,6 +106,45 @@ public final class KNIMEConstants {
     public static final String PROPERTY_MAX_THREAD_COUNT =
         "org.knime.core.maxThreads";
 
+    /** Java property to enable the cost-aware scheduling of nodes (value "true" or "false", default "false"). If
+     * enabled, nodes waiting for a free thread are started in the order of the expected remaining runtime of their
+     * workflow branch (critical path first), estimated from the execution times recorded by
+     * {@link org.knime.core.node.workflow.NodeTimer}. Nodes implementing {@link ResourceDemandingNodeModel} are only
+     * started if their declared thread and memory demands can be met.
+     * @since 3.7 */
+    public static final String PROPERTY_COST_AWARE_SCHEDULING = "knime.scheduler.costaware";
+
+    /** Java property to enable the lightweight execution of parallel chunk loops (value "true" or "false", default
+     * "false"). If enabled, the remote chunks of a parallel chunk loop are not executed in copies of the loop body
+     * that are added to the workflow but by fresh instances of the loop body's nodes (one set per chunk) that are
+     * not part of any workflow. Loop bodies that can't be run that way (e.g. containing
+     * metanodes or nested loops) are still copied.
+     * @since 3.7 */
+    public static final String PROPERTY_LIGHTWEIGHT_PARALLEL_CHUNKS = "knime.parallelchunks.lightweight";
+
+    /** Java property to specify the number of threads used to read the settings files of the nodes in a workflow
+     * while it is loaded (integer value, defaults to the number of available processors). The nodes themselves are
+     * still instantiated in the order in which they are stored; a value of 1 or less reads all files sequentially in
+     * the loading thread.
+     * @since 3.7 */
+    public static final String PROPERTY_WORKFLOW_LOAD_THREADS = "knime.workflow.load.threads";
+
+    /** Java property to enable the incremental save mode by default (value "true" or "false", default "false"). See
+     * {@link org.knime.core.node.workflow.WorkflowSaveHelper#setIncrementalSave(boolean)} for details.
+     * @since 3.7 */
+    public static final String PROPERTY_INCREMENTAL_WORKFLOW_SAVE = "knime.workflow.save.incremental";
+
+    /** Java property to enable the node execution profiler (value "true" or "false", default "false"). If enabled,
+     * CPU time, allocated memory, data written/read and time spent waiting for workflow locks and execution threads
+     * are recorded per node, see {@link org.knime.core.node.workflow.NodeProfiler}.
+     * @since 3.7 */
+    public static final String PROPERTY_NODE_PROFILING = "knime.node.profiling";
+
+    /** Java property pointing to a file to which the node execution profiler appends one event per node execution
+     * (as JSON object per line). Setting this property implies {@link #PROPERTY_NODE_PROFILING}.
+     * @since 3.7 */
+    public static final String PROPERTY_NODE_PROFILING_EVENT_FILE = "knime.node.profiling.eventfile";
+
     /** Java property name to specify the default temp directory for
      * KNIME temp files (such as data files). This can be changed in the
      * preference pages and is by default the same as the java.io.tmpdir */
@@ -113,7 +152,8 @@ public final class KNIMEConstants {
 
     /** Java property to disable the asynchronous writing of KNIME tables. By
      * default, each table container writing to disk performs the write
-     * operation in a dedicated (potentially re-used) thread. Setting this field
+     * operation in one of the shared table IO threads (see
+     * {@link #PROPERTY_TABLE_IO_THREADS}). Setting this field
      * to true will instruct KNIME to always write synchronously, which in some
      * cases may be slower. (Asynchronous I/O became default with v2.1.) */
     public static final String PROPERTY_SYNCHRONOUS_IO = "knime.synchronous.io";
@@ -165,6 +205,34 @@ public final class KNIMEConstants {
     public static final String PROPERTY_TABLE_GZIP_COMPRESSION =
         "knime.compress.io";
 
+    /** Java property to enable/disable reading uncompressed table files through memory mapped regions (using
+     * {@link java.nio.channels.FileChannel#map(java.nio.channels.FileChannel.MapMode, long, long)}) rather than
+     * buffered streams. The default is <code>true</code> except on Windows, where memory mapped files can't be
+     * deleted as long as the mapping is not released (which, depending on the JVM, may only happen on garbage
+     * collection).
+     * @since 3.7 */
+    public static final String PROPERTY_TABLE_MEMORY_MAPPED_IO = "knime.table.mmap";
+
+    /** Java property to set the number of threads writing tables asynchronously (see
+     * {@link #PROPERTY_SYNCHRONOUS_IO}). The threads are shared by all tables; write requests that can't be served
+     * immediately are queued, fairly across nodes, and the producing node blocks once its queue is full. The default
+     * is the number of available processors.
+     * @since 3.7 */
+    public static final String PROPERTY_TABLE_IO_THREADS = "knime.tableio.threads";
+
+    /** Java property to set the heap budget (in MB) of tables kept in memory, shared by all workflows. If the tables
+     * held in memory exceed the budget, the least recently used ones are written to disc (and read back into memory
+     * when accessed again). The default is a quarter of the maximum heap size. See
+     * {@link org.knime.core.data.container.TableCache}.
+     * @since 3.7 */
+    public static final String PROPERTY_TABLE_CACHE_SIZE = "knime.tablecache.size";
+
+    /** Java property to set the heap budget (in MB) of blob cells cached after being read from disc, shared by all
+     * tables. The size of a blob is estimated by the size of its file. The default is a sixteenth of the maximum heap
+     * size. See {@link org.knime.core.data.container.BlobCache}.
+     * @since 3.7 */
+    public static final String PROPERTY_BLOB_CACHE_SIZE = "knime.blobcache.size";
+
     /** Java property to enable/disable row ID duplicate checks on tables.
      * Tables in KNIME are supposed to have unique IDs, whereby the uniqueness
      * is asserted using a duplicate checker. This property will disable this
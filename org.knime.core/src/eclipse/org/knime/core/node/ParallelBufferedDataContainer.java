@@ -0,0 +1,329 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.node;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.IDataRepository;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.container.DataContainerException;
+import org.knime.core.data.filestore.internal.IWriteFileStoreHandler;
+import org.knime.core.node.util.CheckUtils;
+import org.knime.core.node.workflow.SingleNodeContainer.MemoryPolicy;
+import org.knime.core.util.DuplicateChecker;
+import org.knime.core.util.DuplicateKeyException;
+
+/**
+ * A container to which rows can be added concurrently by multiple threads. In contrast to the
+ * {@link BufferedDataContainer}, which funnels all rows through a single write thread, rows are added along with their
+ * index in the final table. The index range is split into chunks of consecutive indices (see
+ * {@link ExecutionContext#createParallelDataContainer(DataTableSpec, boolean, int)}), each of which is written by its
+ * own container. Rows are serialized by the thread adding them, so that threads working on different chunks don't
+ * block each other. When the container is closed the chunks are put together in the order of their index, i.e. the
+ * result table is independent of the order in which the rows were added. The chunk containers don't keep any cells in
+ * memory (as many of them are open at the same time), the chunks are written to disc as they are filled.
+ *
+ * <p>
+ * Within a chunk rows are written in index order; a row whose predecessor has not been added yet is kept in memory
+ * until its predecessor is added. Indices may have gaps (rows that were never added), pending rows after a gap are
+ * written when the container is closed. Producers should therefore add rows of a chunk roughly in order, for instance
+ * by having each thread process a consecutive range of indices.
+ *
+ * <p>
+ * Row keys are checked for uniqueness across all chunks and domains are merged, just as for a
+ * {@link BufferedDataContainer}. The {@link #close()} method must only be called after all threads have finished
+ * adding rows.
+ *
+ * <p>
+ * Usage:
+ *
+ * <pre>
+ * ParallelBufferedDataContainer container = exec.createParallelDataContainer(spec, true);
+ * // from any thread
+ * container.addRowToTable(rowIndex, row);
+ * ...
+ * // once all producers are done
+ * container.close();
+ * BufferedDataTable result = container.getTable();
+ * </pre>
+ *
+ * @author agent
+ * @since 3.7
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+public final class ParallelBufferedDataContainer {
+
+    /** Default number of consecutive row indices in one chunk. */
+    static final int DEFAULT_ROWS_PER_CHUNK = 10000;
+
+    private final ExecutionContext m_exec;
+
+    private final DataTableSpec m_spec;
+
+    private final boolean m_initDomain;
+
+    private final int m_rowsPerChunk;
+
+    private final ConcurrentSkipListMap<Long, Chunk> m_chunks;
+
+    private final DuplicateChecker m_duplicateChecker;
+
+    private final AtomicLong m_size;
+
+    private volatile boolean m_isClosed;
+
+    private BufferedDataTable m_table;
+
+    /**
+     * Created by {@link ExecutionContext#createParallelDataContainer(DataTableSpec, boolean, int)}.
+     *
+     * @param exec the context creating the chunk containers and the result table
+     * @param spec the spec of the table
+     * @param initDomain whether the spec's domain is used for initialization
+     * @param rowsPerChunk number of row indices per chunk, &gt; 0
+     */
+    ParallelBufferedDataContainer(final ExecutionContext exec, final DataTableSpec spec, final boolean initDomain,
+        final int rowsPerChunk) {
+        m_exec = CheckUtils.checkArgumentNotNull(exec, "Execution context must not be null");
+        m_spec = CheckUtils.checkArgumentNotNull(spec, "Spec must not be null");
+        CheckUtils.checkArgument(rowsPerChunk > 0, "Rows per chunk must be positive: %d", rowsPerChunk);
+        m_initDomain = initDomain;
+        m_rowsPerChunk = rowsPerChunk;
+        m_chunks = new ConcurrentSkipListMap<>();
+        m_duplicateChecker = new DuplicateChecker();
+        m_size = new AtomicLong();
+    }
+
+    /**
+     * Adds a row to the container. This method can be called concurrently by multiple threads.
+     *
+     * @param rowIndex the index of the row in the final table, &gt;= 0
+     * @param row the row to add
+     * @throws IllegalArgumentException If the index is negative or has been added before, or the row does not fit the
+     *             spec.
+     * @throws DuplicateKeyException If the row key has been added before.
+     * @throws DataContainerException If writing the row fails.
+     * @throws IllegalStateException If the container has been closed or the duplicate check fails for an IO problem.
+     */
+    public void addRowToTable(final long rowIndex, final DataRow row) {
+        CheckUtils.checkState(!m_isClosed, "Container is closed");
+        CheckUtils.checkArgument(rowIndex >= 0, "Row index must not be negative: %d", rowIndex);
+        CheckUtils.checkArgumentNotNull(row, "Row must not be null");
+        long chunkIndex = rowIndex / m_rowsPerChunk;
+        Chunk chunk = m_chunks.computeIfAbsent(chunkIndex, c -> new Chunk(c * m_rowsPerChunk));
+        chunk.addRow(rowIndex, row);
+        m_size.incrementAndGet();
+    }
+
+    /** Called by the chunk containers, checks the key against the keys of all chunks. */
+    void addRowKeyForDuplicateCheck(final RowKey key) {
+        try {
+            synchronized (m_duplicateChecker) {
+                m_duplicateChecker.addKey(key.toString());
+            }
+        } catch (IOException ioe) {
+            throw new IllegalStateException(ioe.getClass().getSimpleName() + " while checking for duplicate row IDs: "
+                + ioe.getMessage(), ioe);
+        } catch (DuplicateKeyException dke) {
+            throw new DuplicateKeyException("Encountered duplicate row ID  \"" + dke.getKey() + "\"", dke.getKey());
+        }
+    }
+
+    /**
+     * Closes all chunks and puts them together in the order of the row index. Must be called after all threads have
+     * finished adding rows. Successive calls of {@link #addRowToTable(long, DataRow)} will fail.
+     *
+     * @throws DuplicateKeyException If the final check for duplicate row keys fails.
+     * @throws DataContainerException If writing the pending rows fails.
+     * @throws IllegalStateException If the duplicate check fails for an unknown IO problem.
+     */
+    public synchronized void close() {
+        if (m_isClosed) {
+            return;
+        }
+        m_isClosed = true;
+        List<BufferedDataTable> tables = new ArrayList<>(m_chunks.size());
+        for (Chunk chunk : m_chunks.values()) {
+            tables.add(chunk.close());
+        }
+        m_chunks.clear();
+        try {
+            m_duplicateChecker.checkForDuplicates();
+        } catch (IOException ioe) {
+            throw new IllegalStateException("Failed to check for duplicate row IDs", ioe);
+        } catch (DuplicateKeyException dke) {
+            String key = dke.getKey();
+            throw new DuplicateKeyException("Found duplicate row ID \"" + key + "\" (at unknown position)", key);
+        } finally {
+            m_duplicateChecker.clear();
+        }
+        if (tables.isEmpty()) {
+            BufferedDataContainer empty = m_exec.createDataContainer(m_spec, m_initDomain);
+            empty.close();
+            m_table = empty.getTable();
+        } else if (tables.size() == 1) {
+            m_table = tables.get(0);
+        } else {
+            try {
+                // keys have been checked across chunks already
+                m_table = m_exec.createConcatenateTable(m_exec, Optional.empty(), false,
+                    tables.toArray(new BufferedDataTable[tables.size()]));
+            } catch (CanceledExecutionException cee) {
+                // no iteration without duplicate pre-check
+                throw new IllegalStateException("Unexpected cancelation while concatenating chunks", cee);
+            }
+        }
+    }
+
+    /** @return true if {@link #close()} has been called. */
+    public boolean isClosed() {
+        return m_isClosed;
+    }
+
+    /** @return the number of rows added so far. */
+    public long size() {
+        return m_size.get();
+    }
+
+    /** @return the spec the container was opened with (the result table may have a different domain). */
+    public DataTableSpec getTableSpec() {
+        return m_spec;
+    }
+
+    /**
+     * @return the table containing all rows in the order of their index.
+     * @throws IllegalStateException If the container has not been closed.
+     */
+    public synchronized BufferedDataTable getTable() {
+        CheckUtils.checkState(m_isClosed, "Container has not been closed");
+        return m_table;
+    }
+
+    /** The rows of a range of consecutive indices, written in index order. */
+    private final class Chunk {
+
+        private final TreeMap<Long, DataRow> m_pendingRows;
+
+        private BufferedDataContainer m_container;
+
+        private long m_nextIndex;
+
+        Chunk(final long firstIndex) {
+            m_nextIndex = firstIndex;
+            m_pendingRows = new TreeMap<>();
+        }
+
+        synchronized void addRow(final long index, final DataRow row) {
+            if (index < m_nextIndex || m_pendingRows.containsKey(index)) {
+                throw new IllegalArgumentException("Row with index " + index + " has already been added");
+            }
+            if (index > m_nextIndex) {
+                m_pendingRows.put(index, row);
+                return;
+            }
+            write(row);
+            m_nextIndex++;
+            Map.Entry<Long, DataRow> next;
+            while ((next = m_pendingRows.firstEntry()) != null && next.getKey() == m_nextIndex) {
+                m_pendingRows.pollFirstEntry();
+                write(next.getValue());
+                m_nextIndex++;
+            }
+        }
+
+        private void write(final DataRow row) {
+            if (m_container == null) {
+                m_container = m_exec.createChunkDataContainer(m_spec, m_initDomain, ParallelBufferedDataContainer.this);
+            }
+            m_container.addRowToTable(row);
+        }
+
+        /** Writes rows following a gap, closes the container. */
+        synchronized BufferedDataTable close() {
+            for (DataRow row : m_pendingRows.values()) {
+                write(row);
+            }
+            m_pendingRows.clear();
+            m_container.close();
+            return m_container.getTable();
+        }
+    }
+
+    /** Container of a single chunk, writes in the thread adding the rows and reports row keys to the parent. Keeps no
+     * cells in memory, just as the per-chunk containers used by the sequential writers this class replaces. */
+    static final class ChunkDataContainer extends BufferedDataContainer {
+
+        private final ParallelBufferedDataContainer m_parent;
+
+        ChunkDataContainer(final DataTableSpec spec, final boolean initDomain, final Node node,
+            final MemoryPolicy policy, final boolean forceCopyOfBlobs, final IDataRepository dataRepository,
+            final Map<Integer, ContainerTable> localTableRepository, final IWriteFileStoreHandler fileStoreHandler,
+            final ParallelBufferedDataContainer parent) {
+            super(spec, initDomain, node, policy, forceCopyOfBlobs, 0, dataRepository, localTableRepository,
+                fileStoreHandler, true);
+            m_parent = parent;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void addRowKeyForDuplicateCheck(final RowKey key) {
+            m_parent.addRowKeyForDuplicateCheck(key);
+        }
+    }
+
+}
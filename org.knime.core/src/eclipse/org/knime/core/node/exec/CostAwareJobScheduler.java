@@ -0,0 +1,356 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.node.exec;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.ResourceDemandingNodeModel;
+import org.knime.core.node.workflow.ConnectionContainer;
+import org.knime.core.node.workflow.NativeNodeContainer;
+import org.knime.core.node.workflow.NodeContainer;
+import org.knime.core.node.workflow.NodeContainerParent;
+import org.knime.core.node.workflow.NodeID;
+import org.knime.core.node.workflow.SubNodeContainer;
+import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Cost-aware scheduling of node executions on a {@link ThreadPool}, enabled via
+ * {@link KNIMEConstants#PROPERTY_COST_AWARE_SCHEDULING}.
+ *
+ * <p>
+ * Each node is enqueued with a priority that is the expected runtime of the longest chain of nodes downstream of it
+ * (including the node itself), so that nodes on the critical path are started first when the pool is busy. The
+ * runtimes are estimated from the previous executions recorded in the {@link org.knime.core.node.workflow.NodeTimer};
+ * nodes without history count 1ms, which makes the priority the length of the remaining branch. The priorities are
+ * computed once per wave of executions: they are kept until all submitted nodes are done, so that the downstream
+ * nodes of a chain are not traversed again for each node of the chain.
+ *
+ * <p>
+ * Nodes whose model implements {@link ResourceDemandingNodeModel} and declares more than one thread or some memory are
+ * held back until their demands fit next to the demands of the other running nodes (or nothing else with demands is
+ * running). Tasks the running nodes submit to (sub) pools have the default priority and are therefore served before
+ * new nodes are started.
+ *
+ * @author agent
+ */
+final class CostAwareJobScheduler {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(CostAwareJobScheduler.class);
+
+    /** Duration assumed for nodes that have no recorded execution. */
+    private static final long UNKNOWN_DURATION = 1L;
+
+    /** Fraction of the heap that may be claimed by the declared memory demands of running nodes. */
+    private static final double MEMORY_FRACTION = 0.5;
+
+    private final ThreadPool m_pool;
+
+    private final long m_memoryBudget;
+
+    /** Held back nodes, highest priority first, in order of submission if equal. Guarded by this. */
+    private final PriorityQueue<ScheduledJob> m_pending = new PriorityQueue<>(
+        Comparator.comparingLong((ScheduledJob j) -> -j.m_priority).thenComparingLong(j -> j.m_sequence));
+
+    /** Priorities of the nodes of the current wave, dropped when {@link #m_activeJobs} drops to 0. */
+    private final Map<NodeID, Long> m_priorities = new ConcurrentHashMap<>();
+
+    /** Number of submitted jobs that are not done (finished or canceled) yet. A job is done at the latest when its
+     * task in the pool is done. */
+    private final AtomicInteger m_activeJobs = new AtomicInteger();
+
+    private long m_sequence;
+
+    private int m_runningDemandingJobs;
+
+    private int m_runningThreads;
+
+    private long m_runningMemory;
+
+    /** @param pool The pool to run the jobs in. */
+    CostAwareJobScheduler(final ThreadPool pool) {
+        m_pool = pool;
+        m_memoryBudget = (long)(Runtime.getRuntime().maxMemory() * MEMORY_FRACTION);
+    }
+
+    /** @return whether cost-aware scheduling is enabled by the system property. */
+    static boolean isEnabled() {
+        return Boolean.getBoolean(KNIMEConstants.PROPERTY_COST_AWARE_SCHEDULING);
+    }
+
+    /**
+     * Schedules the execution of the node. Called while holding the workflow lock.
+     *
+     * @param nc The node to execute.
+     * @param job Its job.
+     * @return The future representing the pending execution.
+     */
+    Future<?> submit(final NodeContainer nc, final Runnable job) {
+        m_activeJobs.incrementAndGet();
+        final long priority = getPriority(nc, m_priorities);
+        int threads = 1;
+        long memory = 0L;
+        if (nc instanceof NativeNodeContainer) {
+            NodeModel model = ((NativeNodeContainer)nc).getNodeModel();
+            if (model instanceof ResourceDemandingNodeModel) {
+                threads = Math.max(1, ((ResourceDemandingNodeModel)model).getThreadDemand());
+                memory = Math.max(0L, ((ResourceDemandingNodeModel)model).getMemoryDemand());
+            }
+        }
+        LOGGER.debugWithFormat("Scheduling %s with priority %d (threads: %d, memory: %d bytes)",
+            nc.getNameWithID(), priority, threads, memory);
+        final ScheduledJob scheduled = new ScheduledJob(job, priority, threads, memory);
+        if (threads == 1 && memory == 0L) {
+            // if the pool drops the task without running it (e.g. on shutdown) the job is canceled, so that it's done
+            scheduled.setPoolFuture(m_pool.enqueue(scheduled, priority, () -> scheduled.cancel(false)));
+            return scheduled;
+        }
+        synchronized (this) {
+            scheduled.m_sequence = m_sequence++;
+            m_pending.add(scheduled);
+            startPendingJobs();
+        }
+        return scheduled;
+    }
+
+    /** Hands the held back jobs to the pool as long as their demands fit. Caller holds the monitor. */
+    private void startPendingJobs() {
+        ScheduledJob next;
+        while ((next = m_pending.peek()) != null) {
+            if (next.isCancelled()) {
+                m_pending.poll();
+                continue;
+            }
+            if (m_runningDemandingJobs > 0 && (m_runningThreads + next.m_threads > m_pool.getMaxThreads()
+                || m_runningMemory + next.m_memory > m_memoryBudget)) {
+                // keep the order -- a demanding node on the critical path must not starve
+                return;
+            }
+            m_pending.poll();
+            m_runningDemandingJobs += 1;
+            m_runningThreads += next.m_threads;
+            m_runningMemory += next.m_memory;
+            final ScheduledJob job = next;
+            // demands are released once the pool's task is done, also if it was dropped without running the job
+            m_pool.enqueue(job, job.m_priority, () -> {
+                finished(job);
+                job.cancel(false);
+            });
+        }
+    }
+
+    /** Releases the demands of a held back job once its task in the pool is done. */
+    private synchronized void finished(final ScheduledJob job) {
+        m_runningDemandingJobs -= 1;
+        m_runningThreads -= job.m_threads;
+        m_runningMemory -= job.m_memory;
+        startPendingJobs();
+    }
+
+    /**
+     * Called once a job is finished or canceled, also if the pool dropped it without running it (see
+     * {@link ThreadPool#enqueue(Runnable, long, Runnable)}). Drops canceled jobs that are still held back.
+     */
+    private void done(final ScheduledJob job) {
+        if (job.isCancelled()) {
+            synchronized (this) {
+                if (m_pending.remove(job)) {
+                    // it might have blocked the jobs behind it
+                    startPendingJobs();
+                }
+            }
+        }
+        if (m_activeJobs.decrementAndGet() == 0) {
+            // end of the wave, the workflows or the recorded runtimes might have changed until the next one
+            m_priorities.clear();
+        }
+    }
+
+    /**
+     * Computes the priority of a node, i.e. the expected duration of the longest path starting at the node. The graph
+     * is traversed iteratively as workflows can contain long chains of nodes. The traversal stops at nodes whose
+     * priority is in the cache, the priorities of all traversed nodes are added to it.
+     *
+     * @param nc The node.
+     * @param cache The priorities computed before, not modified during the traversal.
+     * @return Its priority, at least 1.
+     */
+    static long getPriority(final NodeContainer nc, final Map<NodeID, Long> cache) {
+        final Long cached = cache.get(nc.getID());
+        if (cached != null) {
+            return cached;
+        }
+        final Map<NodeID, Long> priorities = new HashMap<>();
+        final Deque<NodeContainer> stack = new ArrayDeque<>();
+        stack.push(nc);
+        while (!stack.isEmpty()) {
+            final NodeContainer current = stack.peek();
+            if (priorities.containsKey(current.getID())) {
+                stack.pop();
+                continue;
+            }
+            long maxSuccessor = 0L;
+            boolean isComplete = true;
+            for (NodeContainer successor : getSuccessors(current)) {
+                Long successorPriority = priorities.get(successor.getID());
+                if (successorPriority == null) {
+                    successorPriority = cache.get(successor.getID());
+                }
+                if (successorPriority == null) {
+                    stack.push(successor);
+                    isComplete = false;
+                } else {
+                    maxSuccessor = Math.max(maxSuccessor, successorPriority);
+                }
+            }
+            if (isComplete) {
+                stack.pop();
+                long duration = current.getNodeTimer().getExpectedExecutionDuration();
+                priorities.put(current.getID(), Math.max(duration, UNKNOWN_DURATION) + maxSuccessor);
+            }
+        }
+        cache.putAll(priorities);
+        return priorities.get(nc.getID());
+    }
+
+    /** @return the nodes connected to the outputs of the argument, leaving metanodes and components if needed. */
+    private static Set<NodeContainer> getSuccessors(final NodeContainer nc) {
+        final Set<NodeContainer> result = new LinkedHashSet<>();
+        final WorkflowManager parent = nc.getParent();
+        if (parent == null || parent == WorkflowManager.ROOT) {
+            return result;
+        }
+        final NodeContainerParent directParent = parent.getDirectNCParent();
+        if (directParent instanceof SubNodeContainer) {
+            SubNodeContainer snc = (SubNodeContainer)directParent;
+            if (nc.getID().equals(snc.getVirtualOutNodeID())) {
+                result.addAll(getSuccessors(snc));
+                return result;
+            }
+        }
+        for (ConnectionContainer cc : parent.getOutgoingConnectionsFor(nc.getID())) {
+            NodeID dest = cc.getDest();
+            if (dest.equals(parent.getID())) {
+                if (directParent instanceof WorkflowManager) {
+                    result.addAll(getSuccessors(parent));
+                }
+            } else {
+                result.add(parent.getNodeContainer(dest));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * A submitted node execution. Jobs with resource demands are held back in {@link #m_pending} until their demands
+     * fit, the others are queued in the pool directly.
+     */
+    private final class ScheduledJob extends FutureTask<Void> {
+
+        private final long m_priority;
+
+        private final int m_threads;
+
+        private final long m_memory;
+
+        private long m_sequence;
+
+        /**
+         * The task in the pool running a job without resource demands, canceled together with the job. Null for jobs
+         * with resource demands as their task needs to run to release the demands.
+         */
+        private volatile Future<?> m_poolFuture;
+
+        ScheduledJob(final Runnable job, final long priority, final int threads, final long memory) {
+            super(job, null);
+            m_priority = priority;
+            m_threads = threads;
+            m_memory = memory;
+        }
+
+        void setPoolFuture(final Future<?> poolFuture) {
+            m_poolFuture = poolFuture;
+            if (isCancelled()) {
+                poolFuture.cancel(false);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean cancel(final boolean mayInterruptIfRunning) {
+            final boolean canceled = super.cancel(mayInterruptIfRunning);
+            final Future<?> poolFuture = m_poolFuture;
+            if (canceled && poolFuture != null) {
+                // remove it from the pool's queue if not started yet
+                poolFuture.cancel(false);
+            }
+            return canceled;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void done() {
+            CostAwareJobScheduler.this.done(this);
+        }
+    }
+
+}
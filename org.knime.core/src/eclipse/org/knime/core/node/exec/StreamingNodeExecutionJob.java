@@ -0,0 +1,499 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.node.exec;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.workflow.ConnectionContainer;
+import org.knime.core.node.workflow.NativeNodeContainer;
+import org.knime.core.node.workflow.NodeContainer;
+import org.knime.core.node.workflow.NodeContext;
+import org.knime.core.node.workflow.NodeExecutionJob;
+import org.knime.core.node.workflow.NodeID;
+import org.knime.core.node.workflow.NodeMessage;
+import org.knime.core.node.workflow.ScopeEndNode;
+import org.knime.core.node.workflow.ScopeStartNode;
+import org.knime.core.node.workflow.SubNodeContainer;
+import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.core.node.workflow.WorkflowPersistor.LoadResult;
+import org.knime.core.node.workflow.WorkflowPersistor.LoadResultEntry.LoadResultEntryType;
+import org.knime.core.node.workflow.execresult.NodeContainerExecutionResult;
+import org.knime.core.node.workflow.execresult.NodeContainerExecutionStatus;
+import org.knime.core.node.workflow.execresult.SubnodeContainerExecutionResult;
+import org.knime.core.node.workflow.execresult.WorkflowExecutionResult;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Executes the content of a metanode or component as one pipelined stream. All nodes that are not executed yet run
+ * concurrently, each in its own thread, and pass rows through bounded queues instead of writing intermediate tables.
+ * Tables are only written where needed: for inputs that are not streamable, as input of nodes that are connected to
+ * the same upstream node through multiple paths (which would otherwise deadlock on the bounded queues) and for outputs
+ * that are consumed outside the stream (e.g. the outputs of the metanode). All other outputs are represented by void
+ * tables once the execution has finished.
+ *
+ * <p>
+ * The operator threads are taken from a shared pool of at most {@link #MAX_OPERATOR_THREADS} threads. As all operators
+ * of a stream must run at the same time, a job reserves the threads for all of its operators before it starts them
+ * (waiting for other streamed executions to finish if necessary); a stream needing more threads fails.
+ *
+ * <p>
+ * The result is applied to the contained nodes in the same way as the result of a remote execution. Loops, nested
+ * metanodes and components and inactive branches are not supported. Flow variables that are created during the
+ * execution are not visible to the downstream nodes, as these are configured before the execution starts.
+ *
+ * @author agent
+ */
+final class StreamingNodeExecutionJob extends NodeExecutionJob {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(StreamingNodeExecutionJob.class);
+
+    /** Maximum number of operator threads of all streamed executions. */
+    static final int MAX_OPERATOR_THREADS = Math.max(64, 4 * KNIMEConstants.GLOBAL_THREAD_POOL.getMaxThreads());
+
+    /** Operators block on their inputs and outputs, each must have its own thread, which is reserved beforehand via
+     * {@link #OPERATOR_THREAD_PERMITS}. */
+    private static final ThreadPoolExecutor OPERATOR_EXECUTOR = createOperatorExecutor();
+
+    /** One permit per thread of {@link #OPERATOR_EXECUTOR}. */
+    private static final Semaphore OPERATOR_THREAD_PERMITS = new Semaphore(MAX_OPERATOR_THREADS, true);
+
+    private final int m_chunkSize;
+
+    private final int m_queueCapacity;
+
+    private final int m_partitionCount;
+
+    private final Set<Thread> m_operatorThreads = ConcurrentHashMap.newKeySet();
+
+    private final AtomicReference<StreamingNodeRuntime> m_firstFailed = new AtomicReference<>();
+
+    /** Written by the executing thread only, read by {@link #cancelOperators()} under the lock of the map. */
+    private final Map<NodeID, StreamingNodeRuntime> m_runtimes = new LinkedHashMap<>();
+
+    private volatile boolean m_isCanceled;
+
+    private Future<?> m_future;
+
+    /**
+     * @param nc The metanode or component to execute.
+     * @param data Its input.
+     * @param chunkSize Number of rows handed over at once.
+     * @param queueCapacity Number of chunks buffered per connection.
+     * @param partitionCount Maximum number of partitions of data-parallel nodes.
+     */
+    StreamingNodeExecutionJob(final NodeContainer nc, final PortObject[] data, final int chunkSize,
+        final int queueCapacity, final int partitionCount) {
+        super(nc, data);
+        m_chunkSize = chunkSize;
+        m_queueCapacity = queueCapacity;
+        m_partitionCount = partitionCount;
+    }
+
+    /**
+     * Set the future that represents the pending execution.
+     * @param future the future to set
+     */
+    void setFuture(final Future<?> future) {
+        m_future = future;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected boolean cancel() {
+        if (m_future == null) {
+            throw new IllegalStateException("Future that represents the execution has not been set.");
+        }
+        m_isCanceled = true;
+        cancelOperators();
+        return m_future.cancel(true);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected boolean isReConnecting() {
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected NodeContainerExecutionStatus mainExecute() {
+        final NodeContainer nc = getNodeContainer();
+        final WorkflowManager wfm = nc instanceof SubNodeContainer
+            ? ((SubNodeContainer)nc).getWorkflowManager() : (WorkflowManager)nc;
+        String errorMessage = null;
+        try {
+            createRuntimes(wfm);
+            runAll();
+        } catch (IllegalStateException ise) {
+            errorMessage = ise.getMessage();
+        }
+        StreamingNodeRuntime firstFailed = m_firstFailed.get();
+        if (errorMessage == null && firstFailed != null) {
+            Throwable t = firstFailed.getFailure();
+            errorMessage = "Execution of " + firstFailed.getNodeContainer().getNameWithID() + " failed: "
+                + (t.getMessage() != null ? t.getMessage() : t.getClass().getSimpleName());
+            LOGGER.error(errorMessage, t);
+        } else if (errorMessage == null && m_isCanceled) {
+            errorMessage = "Execution canceled";
+        }
+        boolean success = errorMessage == null && m_runtimes.values().stream().allMatch(r -> r.isSuccess());
+
+        WorkflowExecutionResult wfmResult = new WorkflowExecutionResult(wfm.getID());
+        ExecutionMonitor exec = new ExecutionMonitor();
+        try {
+            for (StreamingNodeRuntime r : m_runtimes.values()) {
+                NodeMessage message = r == firstFailed
+                    ? new NodeMessage(NodeMessage.Type.ERROR, errorMessage) : null;
+                wfmResult.addNodeExecutionResult(r.getNodeContainer().getID(), r.createExecutionResult(exec, message));
+            }
+        } catch (CanceledExecutionException cee) {
+            // not canceled, monitor has no parent
+            throw new IllegalStateException(cee);
+        }
+        wfmResult.setSuccess(success);
+        NodeContainerExecutionResult result;
+        if (nc instanceof SubNodeContainer) {
+            SubnodeContainerExecutionResult subnodeResult = new SubnodeContainerExecutionResult(nc.getID());
+            subnodeResult.setWorkflowExecutionResult(wfmResult);
+            subnodeResult.setSuccess(success);
+            result = subnodeResult;
+        } else {
+            result = wfmResult;
+        }
+        if (errorMessage != null) {
+            result.setMessage(new NodeMessage(NodeMessage.Type.ERROR, errorMessage));
+        }
+        LoadResult lR = new LoadResult("load streamed execution result");
+        nc.loadExecutionResult(result, new ExecutionMonitor(), lR);
+        if (lR.hasErrors()) {
+            LOGGER.error("Errors loading result of streamed execution:\n"
+                + lR.getFilteredError("", LoadResultEntryType.Warning));
+        }
+        for (StreamingNodeRuntime r : m_runtimes.values()) {
+            r.publishLocalTables();
+        }
+        return result;
+    }
+
+    /** Creates the runtimes of all nodes that are not executed yet and connects them. */
+    private void createRuntimes(final WorkflowManager wfm) {
+        final PortObject[] wfmInput = getPortObjects();
+        final Map<NodeID, Set<NodeID>> ancestors = new HashMap<>();
+        for (NativeNodeContainer nnc : sortTopologically(wfm)) {
+            if (nnc.getNodeContainerState().isExecuted()) {
+                continue;
+            }
+            final NodeID id = nnc.getID();
+            StreamingNodeRuntime runtime;
+            NodeContext.pushContext(nnc);
+            try {
+                runtime = new StreamingNodeRuntime(nnc, m_chunkSize, m_queueCapacity);
+            } finally {
+                NodeContext.removeLastContext();
+            }
+            synchronized (m_runtimes) {
+                m_runtimes.put(id, runtime);
+            }
+
+            // all upstream nodes that are executed in the stream, per incoming connection
+            final List<Set<NodeID>> origins = new ArrayList<>();
+            final Set<NodeID> allOrigins = new HashSet<>();
+            for (ConnectionContainer cc : wfm.getIncomingConnectionsFor(id)) {
+                final NodeID source = cc.getSource();
+                final StreamingNodeRuntime producer = m_runtimes.get(source);
+                final int modelPort = cc.getDestPort() - 1;
+                if (modelPort < 0) {
+                    if (producer != null) {
+                        runtime.addDependency(producer);
+                    }
+                } else if (source.equals(wfm.getID())) {
+                    runtime.setInputObject(modelPort, wfmInput[cc.getSourcePort()]);
+                } else if (producer == null) {
+                    runtime.setInputObject(modelPort,
+                        wfm.getNodeContainer(source).getOutPort(cc.getSourcePort()).getPortObject());
+                } else {
+                    runtime.setInputProducer(modelPort, producer, cc.getSourcePort() - 1,
+                        producer.getNodeContainer().getOutPort(cc.getSourcePort()).getPortObjectSpec());
+                }
+                if (producer != null) {
+                    Set<NodeID> origin = new HashSet<>(ancestors.get(source));
+                    origin.add(source);
+                    origins.add(origin);
+                    allOrigins.addAll(origin);
+                }
+            }
+            ancestors.put(id, allOrigins);
+            runtime.connectInputs(haveCommonOrigin(origins), m_partitionCount);
+        }
+        // outputs consumed outside the stream (outputs of the metanode or nodes that are not executed) are kept
+        for (ConnectionContainer cc : wfm.getConnectionContainers()) {
+            StreamingNodeRuntime producer = m_runtimes.get(cc.getSource());
+            if (producer != null && cc.getSourcePort() > 0 && !m_runtimes.containsKey(cc.getDest())) {
+                StreamingRowChannel channel = producer.getOutputChannel(cc.getSourcePort() - 1);
+                if (channel != null) {
+                    channel.setMaterialize();
+                }
+            }
+        }
+    }
+
+    /** @return whether any two of the argument sets intersect. */
+    private static boolean haveCommonOrigin(final List<Set<NodeID>> origins) {
+        Set<NodeID> seen = new HashSet<>();
+        for (Set<NodeID> origin : origins) {
+            for (NodeID id : origin) {
+                if (!seen.add(id)) {
+                    // ids within one set are distinct, a duplicate must come from another set
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /** @return the nodes of the workflow, each after all of its predecessors.
+     * @throws IllegalStateException If the workflow contains nodes that can't be streamed. */
+    private static List<NativeNodeContainer> sortTopologically(final WorkflowManager wfm) {
+        final Collection<NodeContainer> nodes = wfm.getNodeContainers();
+        final Map<NodeID, Integer> inDegrees = new HashMap<>();
+        final List<NativeNodeContainer> ready = new ArrayList<>();
+        for (NodeContainer nc : nodes) {
+            if (!(nc instanceof NativeNodeContainer)) {
+                throw new IllegalStateException("Streamed execution does not support nested metanodes or components ("
+                    + nc.getNameWithID() + ")");
+            }
+            NativeNodeContainer nnc = (NativeNodeContainer)nc;
+            if (nnc.isModelCompatibleTo(ScopeStartNode.class) || nnc.isModelCompatibleTo(ScopeEndNode.class)) {
+                throw new IllegalStateException("Streamed execution does not support loops or other scopes ("
+                    + nc.getNameWithID() + ")");
+            }
+            if (nnc.isInactive()) {
+                throw new IllegalStateException("Streamed execution does not support inactive branches ("
+                    + nc.getNameWithID() + ")");
+            }
+            Set<NodeID> predecessors = new HashSet<>();
+            for (ConnectionContainer cc : wfm.getIncomingConnectionsFor(nc.getID())) {
+                if (!cc.getSource().equals(wfm.getID())) {
+                    predecessors.add(cc.getSource());
+                }
+            }
+            inDegrees.put(nc.getID(), predecessors.size());
+            if (predecessors.isEmpty()) {
+                ready.add(nnc);
+            }
+        }
+        final List<NativeNodeContainer> result = new ArrayList<>(nodes.size());
+        while (!ready.isEmpty()) {
+            NativeNodeContainer nnc = ready.remove(ready.size() - 1);
+            result.add(nnc);
+            Set<NodeID> successors = new HashSet<>();
+            for (ConnectionContainer cc : wfm.getOutgoingConnectionsFor(nnc.getID())) {
+                if (!cc.getDest().equals(wfm.getID())) {
+                    successors.add(cc.getDest());
+                }
+            }
+            for (NodeID successor : successors) {
+                int inDegree = inDegrees.get(successor) - 1;
+                inDegrees.put(successor, inDegree);
+                if (inDegree == 0) {
+                    ready.add((NativeNodeContainer)wfm.getNodeContainer(successor));
+                }
+            }
+        }
+        return result;
+    }
+
+    /** Reserves the operator threads, starts all runtimes and waits until they are done. */
+    private void runAll() {
+        final int threadCount = m_runtimes.values().stream().mapToInt(StreamingNodeRuntime::getPartitionCount).sum();
+        if (threadCount > MAX_OPERATOR_THREADS) {
+            throw new IllegalStateException("Streamed execution needs " + threadCount
+                + " threads (one per node and partition), at most " + MAX_OPERATOR_THREADS + " are supported");
+        }
+        try {
+            callWhileIdle(() -> {
+                OPERATOR_THREAD_PERMITS.acquire(threadCount);
+                return null;
+            });
+        } catch (InterruptedException ie) {
+            m_isCanceled = true;
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            startAndWait();
+        } finally {
+            OPERATOR_THREAD_PERMITS.release(threadCount);
+        }
+    }
+
+    private void startAndWait() {
+        final List<Future<?>> futures = new ArrayList<>();
+        for (StreamingNodeRuntime runtime : m_runtimes.values()) {
+            futures.add(OPERATOR_EXECUTOR.submit(() -> {
+                if (m_isCanceled || m_firstFailed.get() != null) {
+                    return;
+                }
+                m_operatorThreads.add(Thread.currentThread());
+                try {
+                    runtime.run(OPERATOR_EXECUTOR);
+                } catch (Throwable t) {
+                    if (m_firstFailed.compareAndSet(null, runtime)) {
+                        cancelOperators();
+                    }
+                } finally {
+                    m_operatorThreads.remove(Thread.currentThread());
+                }
+            }));
+        }
+        Callable<Void> waitForAll = () -> {
+            boolean isInterrupted = false;
+            for (Future<?> f : futures) {
+                while (true) {
+                    try {
+                        f.get();
+                        break;
+                    } catch (InterruptedException ie) {
+                        // job canceled -- stop operators but wait for them to finish before results are collected
+                        isInterrupted = true;
+                        m_isCanceled = true;
+                        cancelOperators();
+                    }
+                }
+            }
+            if (isInterrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        };
+        try {
+            callWhileIdle(waitForAll);
+        } catch (InterruptedException ie) {
+            // not thrown by waitForAll
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Calls the argument, marking the thread as idle if it is a thread of a {@link ThreadPool} (it only waits). */
+    private static void callWhileIdle(final Callable<Void> waiting) throws InterruptedException {
+        try {
+            ThreadPool currentPool = ThreadPool.currentPool();
+            if (currentPool != null) {
+                currentPool.runInvisible(waiting);
+            } else {
+                waiting.call();
+            }
+        } catch (Exception e) {
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            if (cause instanceof InterruptedException) {
+                throw (InterruptedException)cause;
+            }
+            throw new IllegalStateException("Waiting for streamed execution failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    /** Interrupts all running operators and cancels the progress monitors of the nodes. May be called by any thread. */
+    private void cancelOperators() {
+        final List<StreamingNodeRuntime> runtimes;
+        synchronized (m_runtimes) {
+            runtimes = new ArrayList<>(m_runtimes.values());
+        }
+        for (StreamingNodeRuntime runtime : runtimes) {
+            runtime.getNodeContainer().getProgressMonitor().setExecuteCanceled();
+        }
+        for (Thread t : m_operatorThreads) {
+            t.interrupt();
+        }
+    }
+
+    private static ThreadPoolExecutor createOperatorExecutor() {
+        // tasks are only queued for the short moment a finished operator's thread needs to become available again
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_OPERATOR_THREADS, MAX_OPERATOR_THREADS, 60L,
+            TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new ThreadFactoryImpl());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /** Names the threads "KNIME-Streaming-n". */
+    private static final class ThreadFactoryImpl implements ThreadFactory {
+
+        private final AtomicInteger m_threadCount = new AtomicInteger();
+
+        /** {@inheritDoc} */
+        @Override
+        public Thread newThread(final Runnable r) {
+            Thread t = new Thread(r, "KNIME-Streaming-" + m_threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.node.exec;
+
+import java.net.URL;
+import java.util.concurrent.Future;
+
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.workflow.AbstractNodeExecutionJobManager;
+import org.knime.core.node.workflow.NodeContainer;
+import org.knime.core.node.workflow.NodeContainer.NodeContainerSettings.SplitType;
+import org.knime.core.node.workflow.NodeExecutionJob;
+import org.knime.core.node.workflow.NodeExecutionJobManagerPanel;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.SubNodeContainer;
+import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Job manager that executes the content of a metanode or component as one pipelined stream, see
+ * {@link StreamingNodeExecutionJob}. Rows are handed over in chunks through bounded queues; nodes with a single
+ * distributed input can additionally be run in multiple data-parallel partitions.
+ *
+ * @author agent
+ */
+public final class StreamingNodeExecutionJobManager extends AbstractNodeExecutionJobManager {
+
+    static final String CFG_CHUNK_SIZE = "chunk.size";
+
+    static final String CFG_QUEUE_CAPACITY = "queue.capacity";
+
+    static final String CFG_PARTITION_COUNT = "partition.count";
+
+    static final int DEFAULT_CHUNK_SIZE = 50;
+
+    static final int DEFAULT_QUEUE_CAPACITY = 4;
+
+    static final int DEFAULT_PARTITION_COUNT = 1;
+
+    private final ThreadPool m_pool;
+
+    private int m_chunkSize = DEFAULT_CHUNK_SIZE;
+
+    private int m_queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    private int m_partitionCount = DEFAULT_PARTITION_COUNT;
+
+    /** New instance using the global thread pool. */
+    public StreamingNodeExecutionJobManager() {
+        m_pool = KNIMEConstants.GLOBAL_THREAD_POOL;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NodeExecutionJob submitJob(final NodeContainer nc, final PortObject[] data) {
+        if (nc instanceof SingleNodeContainer && !(nc instanceof SubNodeContainer)) {
+            LocalNodeExecutionJob job = new LocalNodeExecutionJob((SingleNodeContainer)nc, data);
+            job.setFuture(m_pool.enqueue(job));
+            return job;
+        }
+        StreamingNodeExecutionJob job =
+            new StreamingNodeExecutionJob(nc, data, m_chunkSize, m_queueCapacity, m_partitionCount);
+        Future<?> future = m_pool.enqueue(job);
+        job.setFuture(future);
+        return job;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean canExecute(final NodeContainer nc) {
+        return nc instanceof SubNodeContainer || nc instanceof WorkflowManager;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NodeExecutionJobManagerPanel getSettingsPanelComponent(final SplitType nodeSplitType) {
+        return new StreamingNodeExecutionJobManagerPanel();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void save(final NodeSettingsWO settings) {
+        settings.addInt(CFG_CHUNK_SIZE, m_chunkSize);
+        settings.addInt(CFG_QUEUE_CAPACITY, m_queueCapacity);
+        settings.addInt(CFG_PARTITION_COUNT, m_partitionCount);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void load(final NodeSettingsRO settings) throws InvalidSettingsException {
+        int chunkSize = settings.getInt(CFG_CHUNK_SIZE, DEFAULT_CHUNK_SIZE);
+        int queueCapacity = settings.getInt(CFG_QUEUE_CAPACITY, DEFAULT_QUEUE_CAPACITY);
+        int partitionCount = settings.getInt(CFG_PARTITION_COUNT, DEFAULT_PARTITION_COUNT);
+        if (chunkSize <= 0) {
+            throw new InvalidSettingsException("Chunk size must be positive: " + chunkSize);
+        }
+        if (queueCapacity <= 0) {
+            throw new InvalidSettingsException("Queue capacity must be positive: " + queueCapacity);
+        }
+        if (partitionCount <= 0) {
+            throw new InvalidSettingsException("Partition count must be positive: " + partitionCount);
+        }
+        m_chunkSize = chunkSize;
+        m_queueCapacity = queueCapacity;
+        m_partitionCount = partitionCount;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getID() {
+        return StreamingNodeExecutionJobManagerFactory.INSTANCE.getID();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "Streaming Job Manager";
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public URL getIcon() {
+        return null;
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.node.exec;
+
+import static org.knime.core.node.exec.StreamingNodeExecutionJobManager.CFG_CHUNK_SIZE;
+import static org.knime.core.node.exec.StreamingNodeExecutionJobManager.CFG_PARTITION_COUNT;
+import static org.knime.core.node.exec.StreamingNodeExecutionJobManager.CFG_QUEUE_CAPACITY;
+import static org.knime.core.node.exec.StreamingNodeExecutionJobManager.DEFAULT_CHUNK_SIZE;
+import static org.knime.core.node.exec.StreamingNodeExecutionJobManager.DEFAULT_PARTITION_COUNT;
+import static org.knime.core.node.exec.StreamingNodeExecutionJobManager.DEFAULT_QUEUE_CAPACITY;
+
+import java.awt.GridLayout;
+
+import javax.swing.JLabel;
+import javax.swing.JSpinner;
+import javax.swing.SpinnerNumberModel;
+
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.workflow.NodeExecutionJobManagerPanel;
+
+/**
+ * Settings panel of the {@link StreamingNodeExecutionJobManager}.
+ *
+ * @author agent
+ */
+@SuppressWarnings("serial")
+final class StreamingNodeExecutionJobManagerPanel extends NodeExecutionJobManagerPanel {
+
+    private final JSpinner m_chunkSizeSpinner =
+        new JSpinner(new SpinnerNumberModel(DEFAULT_CHUNK_SIZE, 1, Integer.MAX_VALUE, 10));
+
+    private final JSpinner m_queueCapacitySpinner =
+        new JSpinner(new SpinnerNumberModel(DEFAULT_QUEUE_CAPACITY, 1, 1000, 1));
+
+    private final JSpinner m_partitionCountSpinner =
+        new JSpinner(new SpinnerNumberModel(DEFAULT_PARTITION_COUNT, 1, 1000, 1));
+
+    StreamingNodeExecutionJobManagerPanel() {
+        setLayout(new GridLayout(3, 2, 5, 5));
+        add(new JLabel("Rows per chunk: "));
+        add(m_chunkSizeSpinner);
+        add(new JLabel("Chunks buffered per connection: "));
+        add(m_queueCapacitySpinner);
+        add(new JLabel("Partitions of data-parallel nodes: "));
+        add(m_partitionCountSpinner);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void saveSettings(final NodeSettingsWO settings) throws InvalidSettingsException {
+        settings.addInt(CFG_CHUNK_SIZE, (Integer)m_chunkSizeSpinner.getValue());
+        settings.addInt(CFG_QUEUE_CAPACITY, (Integer)m_queueCapacitySpinner.getValue());
+        settings.addInt(CFG_PARTITION_COUNT, (Integer)m_partitionCountSpinner.getValue());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void loadSettings(final NodeSettingsRO settings) {
+        m_chunkSizeSpinner.setValue(Math.max(1, settings.getInt(CFG_CHUNK_SIZE, DEFAULT_CHUNK_SIZE)));
+        m_queueCapacitySpinner.setValue(Math.max(1, settings.getInt(CFG_QUEUE_CAPACITY, DEFAULT_QUEUE_CAPACITY)));
+        m_partitionCountSpinner.setValue(
+            Math.max(1, settings.getInt(CFG_PARTITION_COUNT, DEFAULT_PARTITION_COUNT)));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void updateInputSpecs(final PortObjectSpec[] inSpecs) {
+        // no spec dependent settings
+    }
+
+}
@@ -0,0 +1,605 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.node.exec;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.port.flowvariable.FlowVariablePortObject;
+import org.knime.core.node.streamable.DataTableRowInput;
+import org.knime.core.node.streamable.InputPortRole;
+import org.knime.core.node.streamable.MergeOperator;
+import org.knime.core.node.streamable.OutputPortRole;
+import org.knime.core.node.streamable.PartitionInfo;
+import org.knime.core.node.streamable.PortInput;
+import org.knime.core.node.streamable.PortObjectInput;
+import org.knime.core.node.streamable.PortObjectOutput;
+import org.knime.core.node.streamable.PortOutput;
+import org.knime.core.node.streamable.RowInput;
+import org.knime.core.node.streamable.RowOutput;
+import org.knime.core.node.streamable.StreamableOperator;
+import org.knime.core.node.streamable.StreamableOperatorInternals;
+import org.knime.core.node.workflow.NativeNodeContainer;
+import org.knime.core.node.workflow.NodeContext;
+import org.knime.core.node.workflow.NodeMessage;
+import org.knime.core.node.workflow.execresult.NativeNodeContainerExecutionResult;
+import org.knime.core.node.workflow.execresult.NodeExecutionResult;
+
+/**
+ * Runs the streamable operator(s) of one node as part of a {@link StreamingNodeExecutionJob}. Table outputs are
+ * {@link StreamingRowChannel channels} to the downstream nodes; inputs are either streamed from a channel or given as
+ * entire port object (the table of an upstream channel, the output of an already executed node or an input of the
+ * metanode).
+ *
+ * <p>
+ * If the streamed input is distributable the node may run in several partitions, each processing a part of the
+ * input in its own operator instance (see {@link StreamingPartitionCoordinator}). Nodes that iterate on their input
+ * ({@link NodeModel#iterate(StreamableOperatorInternals)}) read materialized inputs only.
+ *
+ * @author agent
+ */
+final class StreamingNodeRuntime {
+
+    private final NativeNodeContainer m_nnc;
+
+    private final NodeModel m_model;
+
+    private final ExecutionContext m_exec;
+
+    private final InputPortRole[] m_inRoles;
+
+    private final OutputPortRole[] m_outRoles;
+
+    /** Per model input port: the spec as used during configure. */
+    private final PortObjectSpec[] m_inSpecs;
+
+    /** Per model input port: object available before execution (metanode input, executed node), or null. */
+    private final PortObject[] m_inObjects;
+
+    /** Per model input port: the streamed node producing the input, or null. */
+    private final StreamingNodeRuntime[] m_inProducers;
+
+    /** Per model input port: the model output port index of the producer (-1 for its flow variable port). */
+    private final int[] m_inProducerPorts;
+
+    /** Per model input port: the streamed input (a {@link RowInput} or the queue shared by all partitions). */
+    private final Object[] m_streamedInputs;
+
+    /** Nodes that need to be finished before this node starts (flow variable connections). */
+    private final List<StreamingNodeRuntime> m_dependencies = new ArrayList<>();
+
+    /** Per model output port: the channel of a table output, or null. */
+    private final StreamingRowChannel[] m_outChannels;
+
+    /** Per model output port: the output of a non-table port, or null. */
+    private final PortObjectOutput[] m_outObjects;
+
+    private final StreamableOperatorInternals m_initialInternals;
+
+    private final boolean m_isIterative;
+
+    private final CountDownLatch m_doneLatch = new CountDownLatch(1);
+
+    private int m_partitionCount = 1;
+
+    private volatile boolean m_isSuccess;
+
+    private volatile Throwable m_failure;
+
+    /** Whether the node was reported as executed in {@link #createExecutionResult(ExecutionMonitor, NodeMessage)}. */
+    private boolean m_isReportedSuccess;
+
+    /**
+     * Creates the runtime and the channels of all table outputs. Must be called in the context of the node.
+     *
+     * @param nnc The node to run.
+     * @param chunkSize Number of rows handed over at once.
+     * @param queueCapacity Number of chunks buffered per consumer.
+     */
+    StreamingNodeRuntime(final NativeNodeContainer nnc, final int chunkSize, final int queueCapacity) {
+        m_nnc = nnc;
+        m_model = nnc.getNodeModel();
+        m_exec = nnc.createExecutionContext();
+        m_inRoles = m_model.getInputPortRoles();
+        m_outRoles = m_model.getOutputPortRoles();
+        final int nrIns = nnc.getNrInPorts() - 1;
+        m_inSpecs = new PortObjectSpec[nrIns];
+        m_inObjects = new PortObject[nrIns];
+        m_inProducers = new StreamingNodeRuntime[nrIns];
+        m_inProducerPorts = new int[nrIns];
+        m_streamedInputs = new Object[nrIns];
+        final int nrOuts = nnc.getNrOutPorts() - 1;
+        m_outChannels = new StreamingRowChannel[nrOuts];
+        m_outObjects = new PortObjectOutput[nrOuts];
+        for (int i = 0; i < nrOuts; i++) {
+            if (BufferedDataTable.TYPE.equals(m_nnc.getOutputType(i + 1))) {
+                PortObjectSpec spec = nnc.getOutPort(i + 1).getPortObjectSpec();
+                m_outChannels[i] = new StreamingRowChannel(
+                    spec instanceof DataTableSpec ? (DataTableSpec)spec : null, chunkSize, queueCapacity);
+            } else {
+                m_outObjects[i] = new PortObjectOutput();
+            }
+        }
+        m_initialInternals = m_model.createInitialStreamableOperatorInternals();
+        m_isIterative = m_initialInternals != null && m_model.iterate(m_initialInternals);
+    }
+
+    /** @return the node. */
+    NativeNodeContainer getNodeContainer() {
+        return m_nnc;
+    }
+
+    /** @return whether the node needs multiple passes on its input, which is then always materialized. */
+    boolean isIterative() {
+        return m_isIterative;
+    }
+
+    /**
+     * @param modelPort The model output port index.
+     * @return the channel of a table output, or null.
+     */
+    StreamingRowChannel getOutputChannel(final int modelPort) {
+        return m_outChannels[modelPort];
+    }
+
+    /** Sets an input that is available before execution.
+     * @param modelPort The model input port index.
+     * @param object The port object, possibly null for unconnected optional inputs. */
+    void setInputObject(final int modelPort, final PortObject object) {
+        m_inObjects[modelPort] = object;
+        m_inSpecs[modelPort] = object == null ? null : object.getSpec();
+    }
+
+    /** Sets an input produced by another streamed node.
+     * @param modelPort The model input port index.
+     * @param producer The upstream node.
+     * @param producerModelPort The model output port index of the upstream node, -1 for its flow variable output.
+     * @param spec The spec of the output as known after configure. */
+    void setInputProducer(final int modelPort, final StreamingNodeRuntime producer, final int producerModelPort,
+        final PortObjectSpec spec) {
+        m_inProducers[modelPort] = producer;
+        m_inProducerPorts[modelPort] = producerModelPort;
+        m_inSpecs[modelPort] = spec;
+    }
+
+    /** @param dependency A node that must finish before this node starts. */
+    void addDependency(final StreamingNodeRuntime dependency) {
+        m_dependencies.add(dependency);
+    }
+
+    /**
+     * Decides for each input produced by another streamed node whether it is streamed or materialized and registers
+     * with the upstream channels. Called after all inputs are set and in the order of execution.
+     *
+     * @param materializeAll Whether all inputs need to be materialized (e.g. because they originate from the same
+     *            upstream node, which could otherwise block when one of the inputs is consumed late).
+     * @param maxPartitionCount Maximum number of partitions for data-parallel execution.
+     */
+    void connectInputs(final boolean materializeAll, final int maxPartitionCount) {
+        final int nrIns = m_inProducers.length;
+        boolean[] isStreamed = new boolean[nrIns];
+        int streamedCount = 0;
+        int distributedStreamedPort = -1;
+        boolean otherInputsStreamable = false;
+        for (int i = 0; i < nrIns; i++) {
+            StreamingNodeRuntime producer = m_inProducers[i];
+            boolean isStreamable = m_inRoles[i].isStreamable();
+            if (producer == null || m_inProducerPorts[i] < 0) {
+                otherInputsStreamable |= isStreamable && m_inObjects[i] instanceof BufferedDataTable;
+                continue;
+            }
+            StreamingRowChannel channel = producer.getOutputChannel(m_inProducerPorts[i]);
+            if (channel == null) {
+                continue;
+            }
+            isStreamed[i] = isStreamable && !materializeAll && !m_isIterative && !channel.isSpecUnknown();
+            if (isStreamed[i]) {
+                streamedCount += 1;
+                if (m_inRoles[i].isDistributable()) {
+                    distributedStreamedPort = i;
+                } else {
+                    otherInputsStreamable = true;
+                }
+            } else {
+                channel.setMaterialize();
+                otherInputsStreamable |= isStreamable;
+            }
+        }
+        // data-parallel only if exactly one distributed input is streamed, all others are given as port objects
+        if (maxPartitionCount > 1 && streamedCount == 1 && distributedStreamedPort >= 0 && !otherInputsStreamable) {
+            m_partitionCount = maxPartitionCount;
+        }
+        for (int i = 0; i < nrIns; i++) {
+            if (isStreamed[i]) {
+                StreamingRowChannel channel = m_inProducers[i].getOutputChannel(m_inProducerPorts[i]);
+                m_streamedInputs[i] = m_partitionCount > 1 ? channel.newSharedQueue(this) : channel.newInput(this);
+            }
+        }
+    }
+
+    /** @return number of operator instances that run in parallel. */
+    int getPartitionCount() {
+        return m_partitionCount;
+    }
+
+    /**
+     * Runs the node; to be called in its own thread. Partitions other than the first one are submitted to the
+     * argument executor.
+     *
+     * @param executor To run additional partitions.
+     * @throws Exception Any exception thrown by the node or caused by cancelation.
+     */
+    void run(final ExecutorService executor) throws Exception {
+        NodeContext.pushContext(m_nnc);
+        try {
+            for (StreamingNodeRuntime dependency : m_dependencies) {
+                dependency.awaitSuccess();
+            }
+            m_nnc.getNode().openFileStoreHandler(m_exec);
+            execute(executor);
+            for (int i = 0; i < m_outObjects.length; i++) {
+                if (m_outObjects[i] != null && m_outObjects[i].getPortObject() == null) {
+                    throw new IllegalStateException("No output object at port " + i);
+                }
+            }
+            m_exec.setProgress(1.0);
+            m_isSuccess = true;
+        } catch (Throwable t) {
+            m_failure = t;
+            throw t;
+        } finally {
+            for (Object in : m_streamedInputs) {
+                if (in instanceof RowInput) {
+                    ((RowInput)in).close();
+                } else if (in instanceof StreamingRowChannel.ChunkQueue) {
+                    ((StreamingRowChannel.ChunkQueue)in).close();
+                }
+            }
+            m_doneLatch.countDown();
+            NodeContext.removeLastContext();
+        }
+    }
+
+    private void execute(final ExecutorService executor) throws Exception {
+        StreamableOperatorInternals internals = m_initialInternals;
+        final MergeOperator mergeOperator = m_model.createMergeOperator();
+        boolean iterate = m_isIterative;
+        while (iterate) {
+            m_exec.checkCanceled();
+            StreamableOperator operator = createOperator(0, 1, internals);
+            operator.runIntermediate(createInputs(), m_exec);
+            StreamableOperatorInternals opInternals = operator.saveInternals();
+            internals = mergeOperator == null ? opInternals
+                : mergeOperator.mergeIntermediate(new StreamableOperatorInternals[]{opInternals});
+            iterate = m_model.iterate(internals);
+        }
+        if (Arrays.stream(m_outChannels).anyMatch(c -> c != null && c.isSpecUnknown())) {
+            PortObjectSpec[] finalSpecs = m_model.computeFinalOutputSpecs(internals, m_inSpecs);
+            for (int i = 0; i < m_outChannels.length; i++) {
+                if (m_outChannels[i] != null && finalSpecs != null && finalSpecs[i] instanceof DataTableSpec) {
+                    m_outChannels[i].setSpec((DataTableSpec)finalSpecs[i]);
+                }
+            }
+        }
+        for (StreamingRowChannel channel : m_outChannels) {
+            if (channel != null) {
+                channel.open(m_exec);
+            }
+        }
+
+        final boolean hasDistributedInput = hasDistributedInput();
+        final RowOutput[] channelOutputs = new RowOutput[m_outChannels.length];
+        for (int i = 0; i < m_outChannels.length; i++) {
+            if (m_outChannels[i] != null) {
+                channelOutputs[i] = m_outChannels[i].newOutput();
+            }
+        }
+        StreamableOperatorInternals[] opInternals;
+        if (m_partitionCount == 1) {
+            StreamableOperator operator = createOperator(0, 1, internals);
+            PortOutput[] outputs = new PortOutput[m_outChannels.length];
+            for (int i = 0; i < outputs.length; i++) {
+                if (!hasDistributedInput || m_outRoles[i].isDistributable()) {
+                    outputs[i] = channelOutputs[i] != null ? channelOutputs[i] : m_outObjects[i];
+                }
+            }
+            operator.runFinal(createInputs(), outputs, m_exec);
+            opInternals = new StreamableOperatorInternals[]{operator.saveInternals()};
+        } else {
+            opInternals = runPartitions(executor, internals, channelOutputs);
+        }
+        if (mergeOperator != null) {
+            StreamableOperatorInternals merged = mergeOperator.mergeFinal(opInternals);
+            PortOutput[] outputs = new PortOutput[m_outChannels.length];
+            for (int i = 0; i < outputs.length; i++) {
+                if (hasDistributedInput && !m_outRoles[i].isDistributable()) {
+                    outputs[i] = channelOutputs[i] != null ? channelOutputs[i] : m_outObjects[i];
+                }
+            }
+            m_model.finishStreamableExecution(merged, m_exec, outputs);
+        }
+        // operators may not close their outputs
+        for (RowOutput output : channelOutputs) {
+            if (output != null) {
+                output.close();
+            }
+        }
+    }
+
+    private StreamableOperatorInternals[] runPartitions(final ExecutorService executor,
+        final StreamableOperatorInternals internals, final RowOutput[] channelOutputs) throws Exception {
+        final int k = m_partitionCount;
+        final int streamedPort = getPartitionedPort();
+        RowOutput[] sinks = new RowOutput[m_outChannels.length];
+        for (int i = 0; i < sinks.length; i++) {
+            if (m_outRoles[i].isDistributable()) {
+                sinks[i] = channelOutputs[i];
+            }
+        }
+        final StreamingPartitionCoordinator coordinator = new StreamingPartitionCoordinator(
+            (StreamingRowChannel.ChunkQueue)m_streamedInputs[streamedPort], (DataTableSpec)m_inSpecs[streamedPort],
+            sinks, k);
+        final PortInput[] sharedInputs = createInputs();
+        final StreamableOperatorInternals[] result = new StreamableOperatorInternals[k];
+        final List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int p = 1; p < k; p++) {
+                final int partition = p;
+                final ExecutionContext subExec = m_exec.createSubExecutionContext(1.0 / k);
+                futures.add(executor.submit(() -> {
+                    NodeContext.pushContext(m_nnc);
+                    try {
+                        result[partition] =
+                            runPartition(partition, internals, coordinator, sharedInputs, streamedPort, sinks, subExec);
+                    } finally {
+                        NodeContext.removeLastContext();
+                    }
+                    return null;
+                }));
+            }
+            result[0] = runPartition(0, internals, coordinator, sharedInputs, streamedPort, sinks,
+                m_exec.createSubExecutionContext(1.0 / k));
+            for (Future<?> f : futures) {
+                try {
+                    f.get();
+                } catch (ExecutionException ee) {
+                    Throwable cause = ee.getCause();
+                    throw cause instanceof Exception ? (Exception)cause : new ExecutionException(cause);
+                }
+            }
+        } finally {
+            for (Future<?> f : futures) {
+                f.cancel(true);
+            }
+            coordinator.closeSource();
+        }
+        return result;
+    }
+
+    /** @return index of the input that is shared by all partitions. */
+    private int getPartitionedPort() {
+        for (int i = 0; i < m_streamedInputs.length; i++) {
+            if (m_streamedInputs[i] instanceof StreamingRowChannel.ChunkQueue) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("No partitioned input");
+    }
+
+    private StreamableOperatorInternals runPartition(final int partition, final StreamableOperatorInternals internals,
+        final StreamingPartitionCoordinator coordinator, final PortInput[] sharedInputs, final int streamedPort,
+        final RowOutput[] sinks, final ExecutionContext exec) throws Exception {
+        StreamableOperator operator = createOperator(partition, m_partitionCount, internals);
+        StreamingPartitionCoordinator.Partition p = coordinator.newPartition();
+        PortInput[] inputs = sharedInputs.clone();
+        inputs[streamedPort] = p.getInput();
+        PortOutput[] outputs = new PortOutput[sinks.length];
+        for (int i = 0; i < sinks.length; i++) {
+            if (sinks[i] != null) {
+                outputs[i] = p.getOutput(i);
+            }
+        }
+        operator.runFinal(inputs, outputs, exec);
+        p.finishChunk();
+        return operator.saveInternals();
+    }
+
+    private StreamableOperator createOperator(final int partition, final int partitionCount,
+        final StreamableOperatorInternals internals) throws Exception {
+        StreamableOperator operator =
+            m_model.createStreamableOperator(new PartitionInfo(partition, partitionCount), m_inSpecs);
+        if (internals != null) {
+            operator.loadInternals(internals);
+        }
+        return operator;
+    }
+
+    /** Creates the inputs for one operator run. The input shared by partitions is left null. */
+    private PortInput[] createInputs() throws InterruptedException {
+        PortInput[] inputs = new PortInput[m_inSpecs.length];
+        for (int i = 0; i < inputs.length; i++) {
+            if (m_streamedInputs[i] instanceof RowInput) {
+                inputs[i] = (RowInput)m_streamedInputs[i];
+                continue;
+            } else if (m_streamedInputs[i] != null) {
+                continue; // partitioned, set per partition
+            }
+            PortObject object = m_inObjects[i];
+            StreamingNodeRuntime producer = m_inProducers[i];
+            if (producer != null) {
+                object = producer.awaitOutput(m_inProducerPorts[i]);
+            }
+            if (object == null) {
+                continue; // unconnected optional input
+            }
+            if (m_inRoles[i].isStreamable() && object instanceof BufferedDataTable) {
+                inputs[i] = new DataTableRowInput((BufferedDataTable)object);
+            } else {
+                inputs[i] = new PortObjectInput(object);
+            }
+        }
+        return inputs;
+    }
+
+    private boolean hasDistributedInput() {
+        for (int i = 0; i < m_inRoles.length; i++) {
+            boolean isConnected = m_inObjects[i] != null || m_inProducers[i] != null;
+            PortType type = m_nnc.getInPort(i + 1).getPortType();
+            if (isConnected && m_inRoles[i].isDistributable() && BufferedDataTable.TYPE.equals(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Waits until this node has finished successfully.
+     * @throws InterruptedException If canceled while waiting.
+     * @throws IllegalStateException If the node failed. */
+    void awaitSuccess() throws InterruptedException {
+        m_doneLatch.await();
+        if (!m_isSuccess) {
+            throw new IllegalStateException("Upstream node " + m_nnc.getNameWithID() + " failed");
+        }
+    }
+
+    /** Waits until this node has finished and returns the entire output (materializing table outputs must be
+     * requested before execution).
+     * @param modelPort The model output port, -1 for the flow variable port.
+     * @return The output object.
+     * @throws InterruptedException If canceled while waiting. */
+    PortObject awaitOutput(final int modelPort) throws InterruptedException {
+        if (modelPort >= 0 && m_outChannels[modelPort] != null) {
+            return m_outChannels[modelPort].awaitTable();
+        }
+        awaitSuccess();
+        return modelPort < 0 ? FlowVariablePortObject.INSTANCE : m_outObjects[modelPort].getPortObject();
+    }
+
+    /** @return whether the node has finished successfully. */
+    boolean isSuccess() {
+        return m_isSuccess;
+    }
+
+    /** @return the exception that caused the node to fail, or null. */
+    Throwable getFailure() {
+        return m_failure;
+    }
+
+    /**
+     * Creates the execution result that is loaded into the node once all nodes have finished. The output of table
+     * ports that were streamed only is a void table. If such an output has not been consumed completely as one of its
+     * consumers failed, the node is not reported as executed either, as the failed consumer will need the output
+     * when it's executed again.
+     *
+     * @param exec For progress/cancelation.
+     * @param message The message to set (or null).
+     * @return The result, never null.
+     * @throws CanceledExecutionException If canceled.
+     */
+    NativeNodeContainerExecutionResult createExecutionResult(final ExecutionMonitor exec, final NodeMessage message)
+        throws CanceledExecutionException {
+        NativeNodeContainerExecutionResult result = new NativeNodeContainerExecutionResult();
+        boolean isSuccess = m_isSuccess
+            && Arrays.stream(m_outChannels).allMatch(c -> c == null || c.isResultAvailable());
+        NodeMessage resultMessage = message;
+        if (m_isSuccess && !isSuccess && resultMessage == null) {
+            resultMessage = new NodeMessage(NodeMessage.Type.WARNING,
+                "Output was streamed to a node that did not finish, node needs to be executed again");
+        }
+        m_isReportedSuccess = isSuccess;
+        NodeContext.pushContext(m_nnc);
+        try {
+            NodeExecutionResult nodeResult = m_nnc.getNode().createNodeExecutionResult(exec);
+            if (isSuccess) {
+                PortObject[] objects = new PortObject[m_nnc.getNrOutPorts()];
+                PortObjectSpec[] specs = new PortObjectSpec[objects.length];
+                objects[0] = FlowVariablePortObject.INSTANCE;
+                for (int i = 0; i < m_outChannels.length; i++) {
+                    objects[i + 1] = m_outChannels[i] != null ? m_outChannels[i].getResult(m_exec)
+                        : m_outObjects[i].getPortObject();
+                }
+                for (int i = 0; i < objects.length; i++) {
+                    specs[i] = objects[i].getSpec();
+                }
+                nodeResult.setPortObjects(objects);
+                nodeResult.setPortObjectSpecs(specs);
+            }
+            result.setNodeExecutionResult(nodeResult);
+        } finally {
+            NodeContext.removeLastContext();
+        }
+        result.setSuccess(isSuccess);
+        if (resultMessage != null) {
+            result.setMessage(resultMessage);
+        }
+        return result;
+    }
+
+    /** Moves tables that were created during execution but are not part of the output into the node's set of
+     * temporary tables (so that they are cleared on reset). To be called after the execution result is loaded. */
+    void publishLocalTables() {
+        if (m_isReportedSuccess) {
+            m_nnc.putOutputTablesIntoGlobalRepository(m_exec);
+        }
+    }
+
+}
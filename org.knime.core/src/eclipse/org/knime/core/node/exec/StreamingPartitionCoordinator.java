@@ -0,0 +1,259 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.node.exec;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.node.exec.StreamingRowChannel.ChunkQueue;
+import org.knime.core.node.streamable.RowInput;
+import org.knime.core.node.streamable.RowOutput;
+
+/**
+ * Distributes the streamed input of a data-parallel node over its partitions and puts the output of the partitions
+ * back into input order. Each partition takes one input chunk at a time; rows it pushes are attributed to the chunk
+ * it is currently reading. Output of a chunk is published once all earlier chunks are published, so the row order is
+ * the same as for a single partition, provided the operator pushes the output of a row before it polls the next one
+ * (as {@link org.knime.core.node.streamable.StreamableFunction} does).
+ *
+ * <p>
+ * At most {@code 2 * #partitions} chunks are in progress or waiting to be published, which bounds the memory used for
+ * reordering if one partition is slower than the others.
+ *
+ * @author agent
+ */
+final class StreamingPartitionCoordinator {
+
+    private final ChunkQueue m_source;
+
+    private final DataTableSpec m_inSpec;
+
+    /** Per output port, null for ports that are not distributed. Only accessed while holding m_orderLock. */
+    private final RowOutput[] m_sinks;
+
+    private final Semaphore m_window;
+
+    private final Object m_takeLock = new Object();
+
+    private final Object m_orderLock = new Object();
+
+    /** Output of chunks that can't be published yet, guarded by m_orderLock. */
+    private final Map<Long, PendingChunk> m_pending = new HashMap<>();
+
+    /** Sequence number of the next chunk taken from the source, guarded by m_takeLock. */
+    private long m_nextSeq;
+
+    private boolean m_isSourceExhausted;
+
+    /** Sequence number of the chunk whose output is published next, guarded by m_orderLock. */
+    private long m_nextToPublish;
+
+    /**
+     * @param source The queue of the streamed input.
+     * @param inSpec The spec of the streamed input.
+     * @param sinks The outputs of the node, one per output port (null for non-distributed ports).
+     * @param partitionCount Number of partitions.
+     */
+    StreamingPartitionCoordinator(final ChunkQueue source, final DataTableSpec inSpec, final RowOutput[] sinks,
+        final int partitionCount) {
+        m_source = source;
+        m_inSpec = inSpec;
+        m_sinks = sinks;
+        m_window = new Semaphore(2 * partitionCount);
+    }
+
+    /** @return a new partition, to be used by one thread. */
+    Partition newPartition() {
+        return new Partition();
+    }
+
+    /** Closes the source (unconsumed chunks are discarded). */
+    void closeSource() {
+        m_source.close();
+    }
+
+    private DataRow[] takeNext(final Partition p) throws InterruptedException {
+        m_window.acquire();
+        synchronized (m_takeLock) {
+            DataRow[] chunk = m_isSourceExhausted ? null : m_source.take();
+            if (chunk == null) {
+                m_isSourceExhausted = true;
+                m_window.release();
+                return null;
+            }
+            p.m_seq = m_nextSeq++;
+            return chunk;
+        }
+    }
+
+    private void append(final long seq, final int port, final DataRow row) throws InterruptedException {
+        synchronized (m_orderLock) {
+            if (seq < 0 || seq == m_nextToPublish) {
+                // all earlier chunks are published (or the row is not attributed to any chunk)
+                m_sinks[port].push(row);
+            } else {
+                m_pending.computeIfAbsent(seq, s -> new PendingChunk(m_sinks.length)).add(port, row);
+            }
+        }
+    }
+
+    private void complete(final long seq) throws InterruptedException {
+        synchronized (m_orderLock) {
+            m_pending.computeIfAbsent(seq, s -> new PendingChunk(m_sinks.length)).m_isComplete = true;
+            PendingChunk next;
+            while ((next = m_pending.get(m_nextToPublish)) != null && next.m_isComplete) {
+                m_pending.remove(m_nextToPublish);
+                m_nextToPublish += 1;
+                m_window.release();
+                for (int i = 0; i < m_sinks.length; i++) {
+                    if (next.m_rows[i] != null) {
+                        for (DataRow r : next.m_rows[i]) {
+                            m_sinks[i].push(r);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /** Rows pushed for a chunk that can't be published yet. */
+    private static final class PendingChunk {
+
+        private final List<DataRow>[] m_rows;
+
+        private boolean m_isComplete;
+
+        @SuppressWarnings("unchecked")
+        private PendingChunk(final int portCount) {
+            m_rows = new List[portCount];
+        }
+
+        private void add(final int port, final DataRow row) {
+            if (m_rows[port] == null) {
+                m_rows[port] = new ArrayList<>();
+            }
+            m_rows[port].add(row);
+        }
+    }
+
+    /** One partition, i.e. the input and outputs of one operator instance. */
+    final class Partition {
+
+        /** The chunk currently read, -1 if none. */
+        private long m_seq = -1;
+
+        private DataRow[] m_chunk;
+
+        private int m_index;
+
+        /** @return the input for the operator of this partition. */
+        RowInput getInput() {
+            return new RowInput() {
+
+                @Override
+                public DataTableSpec getDataTableSpec() {
+                    return m_inSpec;
+                }
+
+                @Override
+                public DataRow poll() throws InterruptedException {
+                    while (m_chunk == null || m_index >= m_chunk.length) {
+                        finishChunk();
+                        m_chunk = takeNext(Partition.this);
+                        m_index = 0;
+                        if (m_chunk == null) {
+                            return null;
+                        }
+                    }
+                    return m_chunk[m_index++];
+                }
+
+                @Override
+                public void close() {
+                    // the source is shared with other partitions, it is closed once all of them are done
+                }
+            };
+        }
+
+        /**
+         * @param port The output port index.
+         * @return the output for the operator of this partition.
+         */
+        RowOutput getOutput(final int port) {
+            return new RowOutput() {
+
+                @Override
+                public void push(final DataRow row) throws InterruptedException {
+                    append(m_seq, port, row);
+                }
+
+                @Override
+                public void close() {
+                    // the sink is closed once all partitions are done
+                }
+            };
+        }
+
+        /** Marks the current chunk as processed, called when the operator is done or polls the next chunk.
+         * @throws InterruptedException If canceled while publishing. */
+        void finishChunk() throws InterruptedException {
+            if (m_seq >= 0) {
+                long seq = m_seq;
+                m_seq = -1;
+                m_chunk = null;
+                complete(seq);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,414 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.node.exec;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.streamable.RowInput;
+import org.knime.core.node.streamable.RowOutput;
+import org.knime.core.node.util.CheckUtils;
+
+/**
+ * Connects one data output of a streamed node with its consumers. Rows are handed over in chunks through one bounded
+ * queue per streaming consumer; a producer pushing rows blocks if any of the queues is full (back-pressure). Consumers
+ * that need the entire table (non-streamable inputs, outports of the metanode) get the table that the channel
+ * materializes in parallel to streaming. If the table is only consumed by streaming consumers the producer's output is
+ * represented by a {@linkplain ExecutionContext#createVoidTable(DataTableSpec) void table}, which is only valid if all
+ * of these consumers succeed (see {@link #isResultAvailable()}).
+ *
+ * <p>
+ * Consumers must be registered and the materialization decided before the producer starts. Rows are only published
+ * by one thread at a time (either the single producer or the partition coordinator of a partitioned producer).
+ *
+ * @author agent
+ */
+final class StreamingRowChannel {
+
+    /** Marker put into the consumer queues after the last chunk. */
+    private static final DataRow[] END_OF_STREAM = new DataRow[0];
+
+    private final int m_chunkSize;
+
+    private final int m_queueCapacity;
+
+    private final List<ChunkQueue> m_queues = new ArrayList<>();
+
+    /** The nodes reading from {@link #m_queues}. */
+    private final List<StreamingNodeRuntime> m_streamingConsumers = new ArrayList<>();
+
+    private final CountDownLatch m_finishedLatch = new CountDownLatch(1);
+
+    private DataTableSpec m_spec;
+
+    private boolean m_materialize;
+
+    private BufferedDataContainer m_container;
+
+    private BufferedDataTable m_table;
+
+    private boolean m_isFinished;
+
+    /**
+     * @param spec The spec of the table as known after configure, may be null (consumers then get the materialized
+     *            table).
+     * @param chunkSize Number of rows handed over at once.
+     * @param queueCapacity Number of chunks a consumer queue holds before the producer blocks.
+     */
+    StreamingRowChannel(final DataTableSpec spec, final int chunkSize, final int queueCapacity) {
+        m_spec = spec;
+        m_chunkSize = chunkSize;
+        m_queueCapacity = queueCapacity;
+        m_materialize = spec == null;
+    }
+
+    /** @return the spec of the streamed table, null if only known after the producer has finished. */
+    DataTableSpec getSpec() {
+        return m_spec;
+    }
+
+    /** @return true if the spec is only determined during execution (consumers must not stream). */
+    boolean isSpecUnknown() {
+        return m_spec == null;
+    }
+
+    /** Sets the final spec of the output, used by producers whose spec is only known during execution.
+     * @param spec The spec, not null. */
+    void setSpec(final DataTableSpec spec) {
+        if (m_spec == null) {
+            m_spec = spec;
+        }
+    }
+
+    /** Requests the table to be kept (for non-streaming consumers or as output of the metanode). */
+    void setMaterialize() {
+        m_materialize = true;
+    }
+
+    /** @return whether the output is written into a table. */
+    boolean isMaterialize() {
+        return m_materialize;
+    }
+
+    /** Registers a new streaming consumer.
+     * @param consumer The consuming node.
+     * @return The input to be passed to the consumer's operator. */
+    RowInput newInput(final StreamingNodeRuntime consumer) {
+        return new ChannelRowInput(m_spec, newSharedQueue(consumer));
+    }
+
+    /** Registers a new streaming consumer that is shared by the partitions of a data-parallel node.
+     * @param consumer The consuming node.
+     * @return The queue that is read by {@link StreamingPartitionCoordinator}. */
+    ChunkQueue newSharedQueue(final StreamingNodeRuntime consumer) {
+        CheckUtils.checkState(m_spec != null, "Can't stream output with unknown spec");
+        ChunkQueue queue = new ChunkQueue(m_queueCapacity);
+        m_queues.add(queue);
+        m_streamingConsumers.add(consumer);
+        return queue;
+    }
+
+    /** @return a new output that collects rows in chunks and publishes them into this channel. */
+    ChannelRowOutput newOutput() {
+        return new ChannelRowOutput();
+    }
+
+    /** Called by the producer before it starts pushing rows.
+     * @param exec The context of the producing node, used to create the materialized table. */
+    void open(final ExecutionContext exec) {
+        if (m_materialize && m_spec != null) {
+            m_container = exec.createDataContainer(m_spec);
+        }
+    }
+
+    /** Publishes a chunk to all consumers, blocking while any open queue is full.
+     * @param chunk The rows, not empty.
+     * @throws InterruptedException If canceled while waiting for a consumer. */
+    void publish(final DataRow[] chunk) throws InterruptedException {
+        CheckUtils.checkState(!m_isFinished, "Output has already been closed");
+        if (m_container == null && m_materialize) {
+            CheckUtils.checkState(m_spec != null,
+                "Rows can't be pushed into an output whose spec is not known; use setFully instead");
+            throw new IllegalStateException("Output has not been opened");
+        }
+        if (m_container != null) {
+            for (DataRow r : chunk) {
+                m_container.addRowToTable(r);
+            }
+        }
+        for (ChunkQueue q : m_queues) {
+            q.put(chunk);
+        }
+    }
+
+    /** Called once the last row has been published. Closes the table, if materialized, and notifies all consumers.
+     * @throws InterruptedException If canceled while waiting for a consumer. */
+    void finish() throws InterruptedException {
+        if (m_isFinished) {
+            return;
+        }
+        if (m_container != null) {
+            m_container.close();
+            m_table = m_container.getTable();
+        }
+        endStream();
+    }
+
+    /** Sets the entire table at once, as done by operators that wrap the node's execute method. The table is used as
+     * the node's output without copying; streaming consumers are fed from it.
+     * @param table The output table.
+     * @throws InterruptedException If canceled while waiting for a consumer. */
+    void finishFully(final BufferedDataTable table) throws InterruptedException {
+        CheckUtils.checkState(!m_isFinished, "Output has already been closed");
+        CheckUtils.checkState(m_container == null || m_container.size() == 0,
+            "Table must not be set after rows have been pushed");
+        if (m_container != null) {
+            // discard (empty) container, the argument table is the result
+            m_container.close();
+            m_container = null;
+        }
+        setSpec(table.getDataTableSpec());
+        m_table = table;
+        if (m_queues.stream().anyMatch(q -> !q.isClosed())) {
+            DataRow[] chunk = new DataRow[m_chunkSize];
+            int index = 0;
+            for (DataRow r : table) {
+                chunk[index++] = r;
+                if (index == m_chunkSize) {
+                    for (ChunkQueue q : m_queues) {
+                        q.put(chunk);
+                    }
+                    chunk = new DataRow[m_chunkSize];
+                    index = 0;
+                }
+            }
+            if (index > 0) {
+                DataRow[] last = Arrays.copyOf(chunk, index);
+                for (ChunkQueue q : m_queues) {
+                    q.put(last);
+                }
+            }
+        }
+        endStream();
+    }
+
+    private void endStream() throws InterruptedException {
+        m_isFinished = true;
+        for (ChunkQueue q : m_queues) {
+            q.put(END_OF_STREAM);
+        }
+        m_finishedLatch.countDown();
+    }
+
+    /** @return whether {@link #finish()} or {@link #finishFully(BufferedDataTable)} was called. */
+    boolean isFinished() {
+        return m_isFinished;
+    }
+
+    /** Waits for the producer to finish and returns the materialized table.
+     * @return The table, not null.
+     * @throws InterruptedException If canceled while waiting. */
+    BufferedDataTable awaitTable() throws InterruptedException {
+        m_finishedLatch.await();
+        CheckUtils.checkState(m_table != null, "Output table has not been materialized");
+        return m_table;
+    }
+
+    /** Whether the output can be used after the execution: either it was materialized or all streaming consumers
+     * have succeeded, i.e. no node needs to read it again. Consumers outside the stream always get a materialized
+     * table (see {@link #setMaterialize()}).
+     * @return that property */
+    boolean isResultAvailable() {
+        return m_table != null || m_streamingConsumers.stream().allMatch(StreamingNodeRuntime::isSuccess);
+    }
+
+    /** The object representing the output in the producing node after execution.
+     * @param exec The context of the producing node.
+     * @return The materialized table or a void table if the output was only streamed. */
+    BufferedDataTable getResult(final ExecutionContext exec) {
+        if (m_table != null) {
+            return m_table;
+        }
+        return exec.createVoidTable(m_spec);
+    }
+
+    /** Bounded queue of one consumer. Closed queues swallow any further chunk so that a consumer that stops reading
+     * early doesn't block the producer. */
+    static final class ChunkQueue {
+
+        private final BlockingQueue<DataRow[]> m_queue;
+
+        private volatile boolean m_isClosed;
+
+        private ChunkQueue(final int capacity) {
+            m_queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        private void put(final DataRow[] chunk) throws InterruptedException {
+            if (!m_isClosed) {
+                m_queue.put(chunk);
+            }
+        }
+
+        /** @return the next chunk, null after the last one.
+         * @throws InterruptedException If canceled while waiting for the producer. */
+        DataRow[] take() throws InterruptedException {
+            if (m_isClosed) {
+                return null;
+            }
+            DataRow[] chunk = m_queue.take();
+            if (chunk == END_OF_STREAM) {
+                m_isClosed = true;
+                return null;
+            }
+            return chunk;
+        }
+
+        /** Stops consumption, pending and future chunks are discarded. */
+        void close() {
+            m_isClosed = true;
+            m_queue.clear();
+        }
+
+        boolean isClosed() {
+            return m_isClosed;
+        }
+    }
+
+    /** Input handed to a streaming consumer. */
+    private static final class ChannelRowInput extends RowInput {
+
+        private final DataTableSpec m_spec;
+
+        private final ChunkQueue m_queue;
+
+        private DataRow[] m_chunk;
+
+        private int m_index;
+
+        private ChannelRowInput(final DataTableSpec spec, final ChunkQueue queue) {
+            m_spec = spec;
+            m_queue = queue;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public DataTableSpec getDataTableSpec() {
+            return m_spec;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public DataRow poll() throws InterruptedException {
+            while (m_chunk == null || m_index >= m_chunk.length) {
+                m_chunk = m_queue.take();
+                m_index = 0;
+                if (m_chunk == null) {
+                    return null;
+                }
+            }
+            return m_chunk[m_index++];
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void close() {
+            m_chunk = null;
+            m_queue.close();
+        }
+    }
+
+    /** Output handed to the producer (or used by the partition coordinator), collects rows into chunks. */
+    final class ChannelRowOutput extends RowOutput {
+
+        private DataRow[] m_chunk = new DataRow[m_chunkSize];
+
+        private int m_index;
+
+        /** {@inheritDoc} */
+        @Override
+        public void push(final DataRow row) throws InterruptedException {
+            m_chunk[m_index++] = row;
+            if (m_index == m_chunkSize) {
+                publish(m_chunk);
+                m_chunk = new DataRow[m_chunkSize];
+                m_index = 0;
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void setFully(final BufferedDataTable table) throws InterruptedException {
+            CheckUtils.checkState(m_index == 0, "Table must not be set after rows have been pushed");
+            finishFully(table);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void close() throws InterruptedException {
+            if (m_isFinished) {
+                return;
+            }
+            if (m_index > 0) {
+                publish(Arrays.copyOf(m_chunk, m_index));
+                m_index = 0;
+            }
+            finish();
+        }
+    }
+
+}
@@ -69,6 +69,9 @@ public class ThreadNodeExecutionJobManager extends AbstractNodeExecutionJobManag
 
     private final ThreadPool m_pool;
 
+    /** Non-null if cost-aware scheduling is enabled. */
+    private final CostAwareJobScheduler m_scheduler;
+
     public ThreadNodeExecutionJobManager() {
         this(KNIMEConstants.GLOBAL_THREAD_POOL);
     }
@@ -78,6 +81,7 @@ public ThreadNodeExecutionJobManager(final ThreadPool pool) {
             throw new NullPointerException("arg must not be null");
         }
         m_pool = pool;
+        m_scheduler = CostAwareJobScheduler.isEnabled() ? new CostAwareJobScheduler(pool) : null;
     }
 
     /** {@inheritDoc} */
@@ -88,7 +92,7 @@ public NodeExecutionJob submitJob(final NodeContainer nc, final PortObject[] dat
                     + " is not able to execute a metanode: " + nc.getNameWithID());
         }
         LocalNodeExecutionJob job = new LocalNodeExecutionJob((SingleNodeContainer)nc, data);
-        Future<?> future = m_pool.enqueue(job);
+        Future<?> future = m_scheduler != null ? m_scheduler.submit(nc, job) : m_pool.enqueue(job);
         job.setFuture(future);
         return job;
     }
@@ -62,6 +62,7 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
@@ -78,9 +79,11 @@
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.Node;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodeSettings;
+import org.knime.core.node.exec.ThreadNodeExecutionJobManager;
 import org.knime.core.node.util.StringFormat;
 import org.knime.core.node.workflow.WorkflowPersistor.LoadResultEntry.LoadResultEntryType;
 import org.knime.core.node.workflow.WorkflowPersistor.WorkflowLoadResult;
@@ -91,6 +94,7 @@
 import org.knime.core.util.KnimeEncryption;
 import org.knime.core.util.LockFailedException;
 import org.knime.core.util.MutableBoolean;
+import org.knime.core.util.ThreadPool;
 import org.knime.core.util.VMFileLocker;
 import org.knime.core.util.tokenizer.Tokenizer;
 import org.knime.core.util.tokenizer.TokenizerSettings;
@@ -235,6 +239,12 @@ public IllegalOptionException(final String message, final Throwable cause) {
      */
     protected boolean m_stopOnError = true;
 
+    /** The queue directory in server mode or <code>null</code> if a single batch run is requested. */
+    private File m_serverQueueDir;
+
+    /** The maximum number of workflows executed concurrently in server mode. */
+    private int m_serverMaxJobs = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
     private static final NodeLogger LOGGER = NodeLogger.getLogger(BatchExecutor.class);
 
     private static class Option {
@@ -388,8 +398,36 @@ protected static class WorkflowConfiguration {
         /** A collection of node options. */
         public final Collection<Option> nodeOptions = new ArrayList<BatchExecutor.Option>();
 
+        /**
+         * Maximum execution time in seconds after which the workflow is canceled, 0 or less if unlimited.
+         *
+         * @since 3.7
+         */
+        public long timeoutSeconds;
+
+        /**
+         * Maximum number of nodes of the workflow that are executed concurrently, 0 or less to use the global thread
+         * pool without restriction. The limit applies to the node jobs only; threads that a node submits to the
+         * global thread pool itself (e.g. for a parallel computation) are not counted.
+         *
+         * @since 3.7
+         */
+        public int maxThreads;
+
         /** The (temporary) workflow location which should be used to load the workflow. */
         File workflowLocation;
+
+        /** File whose existence requests cancellation of this particular workflow (server mode), or null. */
+        File cancelFile;
+
+        /** Set by the watchdog if execution was canceled because {@link #timeoutSeconds} was exceeded. */
+        volatile boolean timedOut;
+
+        /** Set by the watchdog if execution was canceled via the {@link #cancelFile}. */
+        volatile boolean canceled;
+
+        /** Time spent in the individual phases of {@link BatchExecutor#runOne(WorkflowConfiguration)}, in ms. */
+        long loadTime, executeTime, saveTime;
     }
 
     /**
@@ -409,8 +447,10 @@ public BatchExecutor(final String[] args) throws IOException, CoreException, Ill
             throw new IllegalOptionException("No arguments provided");
         }
         processArguments(args);
-        for (WorkflowConfiguration config : m_workflows) {
-            checkConfiguration(config);
+        if (!isServerMode()) {
+            for (WorkflowConfiguration config : m_workflows) {
+                checkConfiguration(config);
+            }
         }
     }
 
@@ -569,6 +609,20 @@ protected void handleCommandlineArgument(final String[] parts, final String s, f
                         + e.getMessage(), e);
             }
             config.flowVariables.add(var);
+        } else if ("-timeout".equals(parts[0])) {
+            config.timeoutSeconds = parsePositiveNumber(parts, s);
+        } else if ("-threads".equals(parts[0])) {
+            config.maxThreads = (int)Math.min(Integer.MAX_VALUE, parsePositiveNumber(parts, s));
+        } else if ("-server".equals(parts[0])) {
+            if (parts.length != 2) {
+                throw new IllegalOptionException("Couldn't parse -server argument: " + s);
+            }
+            m_serverQueueDir = new File(parts[1]);
+            if (!m_serverQueueDir.isDirectory()) {
+                throw new IllegalOptionException("Queue directory '" + parts[1] + "' is not a directory.");
+            }
+        } else if ("-server.jobs".equals(parts[0])) {
+            m_serverMaxJobs = (int)Math.min(Integer.MAX_VALUE, parsePositiveNumber(parts, s));
         } else if ("-option".equals(parts[0])) {
             if (parts.length != 2) {
                 throw new IllegalOptionException("Couldn't parse -option argument: " + s);
@@ -594,6 +648,21 @@ protected void handleCommandlineArgument(final String[] parts, final String s, f
         }
     }
 
+    private static long parsePositiveNumber(final String[] parts, final String s) throws IllegalOptionException {
+        if (parts.length != 2) {
+            throw new IllegalOptionException("Couldn't parse " + parts[0] + " argument: " + s);
+        }
+        try {
+            long value = Long.parseLong(parts[1].trim());
+            if (value <= 0) {
+                throw new IllegalOptionException("Value of " + parts[0] + " must be positive: " + s);
+            }
+            return value;
+        } catch (NumberFormatException ex) {
+            throw new IllegalOptionException("Couldn't parse " + parts[0] + " argument: " + s, ex);
+        }
+    }
+
     /**
      * @since 2.7
      */
@@ -624,7 +693,19 @@ public static String getOptionsString() {
                 + "                      if omitted the workflow is only saved in place\n"
                 + " -workflow.variable=name,value,type => define or overwrite workflow variable\n"
                 + "                      'name' with value 'value' (possibly enclosed by quotes). The\n"
-                + "                      'type' must be one of \"String\", \"int\" or \"double\".";
+                + "                      'type' must be one of \"String\", \"int\" or \"double\".\n"
+                + " -timeout=seconds  => cancel the workflow if its execution takes longer\n"
+                + " -threads=n        => execute at most n of the workflow's nodes concurrently\n"
+                + "                      (threads started by the nodes themselves are not limited)\n"
+                + " -server=...       => run as long-lived server processing workflow jobs from the\n"
+                + "                      given queue directory; each '<name>.job' file contains the\n"
+                + "                      options of one run (one per line). Write it under a different\n"
+                + "                      name first and rename it to '<name>.job' once complete. Timings\n"
+                + "                      and exit code are\n"
+                + "                      written to '<name>.result'. A '<name>.cancel' file cancels a\n"
+                + "                      running job, a '.stop' file shuts down the server\n"
+                + " -server.jobs=n    => maximum number of workflows executed concurrently in server\n"
+                + "                      mode";
     }
 
     /**
@@ -666,7 +747,7 @@ public static int mainRun(final String... args) {
 
         try {
             BatchExecutor exec = new BatchExecutor(args);
-            return exec.runAll();
+            return exec.isServerMode() ? exec.runServer() : exec.runAll();
         } catch (IOException ex) {
             LOGGER.error("Error while reading input XML file: " + ex.getMessage(), ex);
             return EXIT_ERR_PRESTART;
@@ -690,7 +771,7 @@ public static int mainRun(final String... args) {
      */
     public static void main(final String[] args) throws Exception {
         BatchExecutor be = new BatchExecutor(args);
-        int returnVal = be.runAll();
+        int returnVal = be.isServerMode() ? be.runServer() : be.runAll();
         System.exit(returnVal);
     }
 
@@ -898,7 +979,63 @@ public int runAll() {
         return retVal;
     }
 
-    private int runOne(final WorkflowConfiguration config) {
+    /**
+     * Whether the executor was started with the <code>-server</code> option, i.e. whether {@link #runServer()}
+     * should be called instead of {@link #runAll()}.
+     *
+     * @return that property
+     * @since 3.7
+     */
+    public boolean isServerMode() {
+        return m_serverQueueDir != null;
+    }
+
+    /**
+     * Runs the executor as long-lived server. Workflow jobs are read from the queue directory given by the
+     * <code>-server</code> option and executed concurrently (up to <code>-server.jobs</code>) within this JVM, so that
+     * the start-up cost of the application and the node repository is paid only once. The method returns after a
+     * <code>.stop</code> file was placed into the queue directory and all running jobs have finished.
+     *
+     * @return {@link #EXIT_SUCCESS} after the server was shut down
+     * @throws IllegalStateException if not in server mode
+     * @since 3.7
+     */
+    public int runServer() {
+        if (!isServerMode()) {
+            throw new IllegalStateException("No queue directory set (option -server)");
+        }
+        return new BatchExecutorServer(this, m_serverQueueDir, m_serverMaxJobs).run();
+    }
+
+    /**
+     * Reads the configuration of a single job in server mode. Options that affect the entire JVM (master key,
+     * preferences, server options) are rejected as they would interfere with concurrently running jobs.
+     *
+     * @param args the options of the job, see {@link #getOptionsString()}
+     * @return a new, checked workflow configuration
+     */
+    WorkflowConfiguration parseJobConfiguration(final String[] args) throws FileNotFoundException, CoreException,
+            IllegalOptionException {
+        WorkflowConfiguration config = createNewConfiguration();
+        for (String s : args) {
+            String[] parts = s.split("=", 2);
+            if (parts[0].startsWith("-server") || "-masterkey".equals(parts[0])
+                    || "-preferences".equals(parts[0])) {
+                throw new IllegalOptionException("Option '" + parts[0] + "' can only be set when starting the server");
+            }
+            handleCommandlineArgument(parts, s, config);
+        }
+        checkConfiguration(config);
+        return config;
+    }
+
+    /**
+     * Loads, executes and saves a single workflow. The time spent in each phase is recorded in the configuration.
+     *
+     * @param config the workflow configuration
+     * @return the exit code
+     */
+    int runOne(final WorkflowConfiguration config) {
         long t = System.currentTimeMillis();
         WorkflowManager wfm;
         try {
@@ -922,11 +1059,25 @@ private int runOne(final WorkflowConfiguration config) {
         } catch (IllegalOptionException ex) {
             LOGGER.error("Unknown or wrong option: " + ex.getMessage());
             return EXIT_ERR_PRESTART;
+        } finally {
+            config.loadTime = System.currentTimeMillis() - t;
         }
         boolean sucessful;
         try {
+            long executeStart = System.currentTimeMillis();
+            NodeExecutionJobManager origJobManager = wfm.getJobManager();
+            restrictThreads(wfm, config);
+            TimerTask watchdog = scheduleWatchdog(wfm, config);
             try {
                 sucessful = executeWorkflow(wfm, config);
+                if (config.timedOut) {
+                    LOGGER.error("Workflow execution canceled after exceeding the time limit of "
+                        + config.timeoutSeconds + "s");
+                    return EXIT_ERR_EXECUTION;
+                } else if (config.canceled) {
+                    LOGGER.warn("Workflow execution canceled");
+                    return EXIT_ERR_EXECUTION;
+                }
             } catch (CanceledExecutionException ex) {
                 LOGGER.warn("Workflow execution canceled");
                 return EXIT_ERR_EXECUTION;
@@ -934,6 +1085,14 @@ private int runOne(final WorkflowConfiguration config) {
                 LOGGER.error("Workflow execution failed: " + ex.getMessage(), ex.getCause());
                 return ex.getDetailCode();
             } finally {
+                if (watchdog != null) {
+                    watchdog.cancel();
+                }
+                if (wfm.getJobManager() != origJobManager) {
+                    // don't persist the temporary job manager with the workflow
+                    wfm.getParent().setJobManager(wfm.getID(), origJobManager);
+                }
+                config.executeTime = System.currentTimeMillis() - executeStart;
                 long elapsedTimeMillis = System.currentTimeMillis() - t;
                 String niceTime = StringFormat.formatElapsedTime(elapsedTimeMillis);
                 String timeString = "Finished in " + niceTime + " (" + elapsedTimeMillis + "ms)";
@@ -944,6 +1103,7 @@ private int runOne(final WorkflowConfiguration config) {
                 LOGGER.debug("------------------------------------");
             }
 
+            long saveStart = System.currentTimeMillis();
             try {
                 saveWorkflow(wfm, config);
             } catch (IOException ex) {
@@ -955,6 +1115,8 @@ private int runOne(final WorkflowConfiguration config) {
             } catch (LockFailedException ex) {
                 LOGGER.error("Failed to lock workflow before saving: " + ex.getMessage(), ex);
                 return EXIT_ERR_EXECUTION;
+            } finally {
+                config.saveTime = System.currentTimeMillis() - saveStart;
             }
         } finally {
             wfm.getParent().removeProject(wfm.getID());
@@ -962,6 +1124,56 @@ private int runOne(final WorkflowConfiguration config) {
         return sucessful ? EXIT_SUCCESS : EXIT_ERR_EXECUTION;
     }
 
+    /**
+     * Executes the nodes of the workflow in a sub pool of the global thread pool if a thread limit is configured. This
+     * limits the number of concurrently executing nodes; threads that nodes submit to
+     * {@link KNIMEConstants#GLOBAL_THREAD_POOL} directly are not part of the sub pool and not limited. Workflows with
+     * a custom (e.g. remote) job manager are left untouched.
+     */
+    private static void restrictThreads(final WorkflowManager wfm, final WorkflowConfiguration config) {
+        if (config.maxThreads <= 0) {
+            return;
+        }
+        NodeExecutionJobManager jobManager = wfm.getJobManager();
+        if (jobManager == null || jobManager instanceof ThreadNodeExecutionJobManager) {
+            ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(config.maxThreads);
+            wfm.getParent().setJobManager(wfm.getID(), new ThreadNodeExecutionJobManager(pool));
+            LOGGER.debug("Executing workflow with at most " + config.maxThreads + " concurrent node(s)");
+        } else {
+            LOGGER.warn("Ignoring thread limit, workflow uses job manager \"" + jobManager + "\"");
+        }
+    }
+
+    /**
+     * Schedules a task canceling the workflow if it exceeds its time limit or if its cancel file appears.
+     *
+     * @return the task or <code>null</code> if neither a time limit nor a cancel file is set
+     */
+    private static TimerTask scheduleWatchdog(final WorkflowManager wfm, final WorkflowConfiguration config) {
+        if (config.noExecute || (config.timeoutSeconds <= 0 && config.cancelFile == null)) {
+            return null;
+        }
+        final long deadline = config.timeoutSeconds > 0
+            ? System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(config.timeoutSeconds) : Long.MAX_VALUE;
+        TimerTask task = new TimerTask() {
+            @Override
+            public void run() {
+                if (System.currentTimeMillis() > deadline) {
+                    config.timedOut = true;
+                } else if (config.cancelFile != null && config.cancelFile.exists()) {
+                    config.cancelFile.delete();
+                    config.canceled = true;
+                } else {
+                    return;
+                }
+                wfm.cancelExecution();
+                cancel();
+            }
+        };
+        KNIMETimer.getInstance().schedule(task, 500, 500);
+        return task;
+    }
+
     private static void setNodeOptions(final Collection<Option> options, final WorkflowManager wfm)
             throws InvalidSettingsException, IllegalOptionException {
         for (Option o : options) {
@@ -0,0 +1,272 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.node.workflow;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.util.StringFormat;
+import org.knime.core.node.workflow.BatchExecutor.WorkflowConfiguration;
+
+/**
+ * Long-lived mode of the {@link BatchExecutor}, which processes workflow jobs from a queue directory within a single
+ * JVM. A client submits a job by placing a file <code>&lt;name&gt;.job</code> into the queue directory; it contains the
+ * batch executor options of the run, one per line (empty lines and lines starting with '#' are ignored). Clients must
+ * write the file under a different name (e.g. <code>&lt;name&gt;.job.tmp</code>) and rename it to
+ * <code>&lt;name&gt;.job</code> once it is complete: the server only picks up files ending with <code>.job</code> and
+ * can't tell whether such a file is still being written. The job file is renamed to <code>&lt;name&gt;.running</code>
+ * once a server picks it up (so that multiple servers can share a queue) and on completion the exit code and the time
+ * spent loading, executing and saving the workflow are written to <code>&lt;name&gt;.result</code>. A file
+ * <code>&lt;name&gt;.cancel</code> cancels a running job, a file <code>.stop</code> lets the server finish the running
+ * jobs and return.
+ *
+ * @author agent
+ */
+final class BatchExecutorServer {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(BatchExecutorServer.class);
+
+    static final String JOB_SUFFIX = ".job";
+
+    static final String RUNNING_SUFFIX = ".running";
+
+    static final String RESULT_SUFFIX = ".result";
+
+    static final String CANCEL_SUFFIX = ".cancel";
+
+    static final String STOP_FILE = ".stop";
+
+    /** Interval in which the queue directory is scanned for new jobs. */
+    private static final long POLL_INTERVAL_MS = 500;
+
+    private final BatchExecutor m_executor;
+
+    private final File m_queueDir;
+
+    private final int m_maxJobs;
+
+    /** Job name to its claimed job file, for all jobs claimed but not finished yet. */
+    private final ConcurrentHashMap<String, File> m_runningJobs = new ConcurrentHashMap<>();
+
+    /**
+     * @param executor the executor used to load, execute and save the individual workflows
+     * @param queueDir the queue directory
+     * @param maxJobs the maximum number of jobs executed concurrently
+     */
+    BatchExecutorServer(final BatchExecutor executor, final File queueDir, final int maxJobs) {
+        m_executor = executor;
+        m_queueDir = queueDir;
+        m_maxJobs = Math.max(1, maxJobs);
+    }
+
+    /**
+     * Processes the queue until the stop file appears or the calling thread is interrupted.
+     *
+     * @return {@link BatchExecutor#EXIT_SUCCESS}
+     */
+    int run() {
+        LOGGER.info("Batch executor server waiting for jobs in " + m_queueDir.getAbsolutePath()
+            + " (at most " + m_maxJobs + " concurrent jobs)");
+        final AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService jobExecutor = Executors.newFixedThreadPool(m_maxJobs, new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable r) {
+                Thread t = new Thread(r, "KNIME-Batch-Job-" + threadCount.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        File stopFile = new File(m_queueDir, STOP_FILE);
+        try {
+            while (!stopFile.exists()) {
+                for (File jobFile : listPendingJobs()) {
+                    if (m_runningJobs.size() >= m_maxJobs) {
+                        break; // leave remaining jobs to other servers or the next scan
+                    }
+                    final String name = jobName(jobFile);
+                    final File runningFile = new File(m_queueDir, name + RUNNING_SUFFIX);
+                    final long queuedAt = jobFile.lastModified();
+                    if (!claim(jobFile, runningFile)) {
+                        continue;
+                    }
+                    m_runningJobs.put(name, runningFile);
+                    jobExecutor.execute(() -> runJob(name, runningFile, queuedAt));
+                }
+                Thread.sleep(POLL_INTERVAL_MS);
+            }
+            LOGGER.info("Stop file found, waiting for " + m_runningJobs.size() + " running job(s) to finish");
+            stopFile.delete();
+        } catch (InterruptedException ex) {
+            LOGGER.info("Batch executor server interrupted, waiting for running jobs to finish");
+            Thread.currentThread().interrupt();
+        }
+        jobExecutor.shutdown();
+        try {
+            while (!jobExecutor.awaitTermination(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+                // wait for the running jobs; they can still be canceled via their cancel file
+            }
+        } catch (InterruptedException ex) {
+            jobExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        LOGGER.info("Batch executor server stopped");
+        return BatchExecutor.EXIT_SUCCESS;
+    }
+
+    /** @return the pending job files, oldest first */
+    private List<File> listPendingJobs() {
+        File[] jobFiles = m_queueDir.listFiles(f -> f.isFile() && f.getName().endsWith(JOB_SUFFIX));
+        if (jobFiles == null) {
+            LOGGER.warn("Can't list queue directory " + m_queueDir.getAbsolutePath());
+            return new ArrayList<>();
+        }
+        List<File> result = new ArrayList<>(Arrays.asList(jobFiles));
+        result.sort(Comparator.comparingLong(File::lastModified).thenComparing(File::getName));
+        return result;
+    }
+
+    /**
+     * Atomically renames the job file so that no other server picks it up. The file is complete as clients rename it
+     * to <code>&lt;name&gt;.job</code> only after writing it (see class comment).
+     */
+    private static boolean claim(final File jobFile, final File runningFile) {
+        try {
+            Files.move(jobFile.toPath(), runningFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException ex) {
+            // another server was faster
+            LOGGER.debug("Could not claim job file " + jobFile.getName() + ": " + ex.getMessage());
+            return false;
+        }
+    }
+
+    private static String jobName(final File jobFile) {
+        String fileName = jobFile.getName();
+        return fileName.substring(0, fileName.length() - JOB_SUFFIX.length());
+    }
+
+    private void runJob(final String name, final File runningFile, final long queuedAt) {
+        long start = System.currentTimeMillis();
+        Properties result = new Properties();
+        int exitCode = BatchExecutor.EXIT_ERR_EXECUTION;
+        WorkflowConfiguration config = null;
+        try {
+            try {
+                String[] args = Files.readAllLines(runningFile.toPath(), StandardCharsets.UTF_8).stream()
+                    .map(String::trim).filter(l -> !l.isEmpty() && !l.startsWith("#")).toArray(String[]::new);
+                config = m_executor.parseJobConfiguration(args);
+            } catch (Exception ex) {
+                LOGGER.error("Job " + name + " could not be started: " + ex.getMessage(), ex);
+                result.setProperty("error", String.valueOf(ex.getMessage()));
+                exitCode = BatchExecutor.EXIT_ERR_PRESTART;
+                return;
+            }
+            config.cancelFile = new File(m_queueDir, name + CANCEL_SUFFIX);
+            LOGGER.info("===== Executing job " + name + " (" + config.inputWorkflow + ") =====");
+            try {
+                exitCode = m_executor.runOne(config);
+            } catch (RuntimeException ex) {
+                LOGGER.error("Job " + name + " failed: " + ex.getMessage(), ex);
+                result.setProperty("error", ex.getClass().getSimpleName() + ": " + ex.getMessage());
+            }
+        } finally {
+            long total = System.currentTimeMillis() - start;
+            LOGGER.info("===== Job " + name + " finished with exit code " + exitCode + " in "
+                + StringFormat.formatElapsedTime(total) + " =====");
+            result.setProperty("exitCode", Integer.toString(exitCode));
+            result.setProperty("queueTime", Long.toString(Math.max(0, start - queuedAt)));
+            result.setProperty("totalTime", Long.toString(total));
+            if (config != null) {
+                result.setProperty("workflow", config.inputWorkflow.getAbsolutePath());
+                result.setProperty("loadTime", Long.toString(config.loadTime));
+                result.setProperty("executeTime", Long.toString(config.executeTime));
+                result.setProperty("saveTime", Long.toString(config.saveTime));
+                result.setProperty("timedOut", Boolean.toString(config.timedOut));
+                result.setProperty("canceled", Boolean.toString(config.canceled));
+                if (config.cancelFile != null) {
+                    config.cancelFile.delete();
+                }
+            }
+            writeResult(name, result);
+            runningFile.delete();
+            m_runningJobs.remove(name);
+        }
+    }
+
+    /** Writes the result to a temporary file first, so that clients never see a partial result file. */
+    private void writeResult(final String name, final Properties result) {
+        File resultFile = new File(m_queueDir, name + RESULT_SUFFIX);
+        File tmpFile = new File(m_queueDir, name + RESULT_SUFFIX + ".tmp");
+        try {
+            try (OutputStream out = new FileOutputStream(tmpFile)) {
+                result.store(out, "Batch executor job " + name + ", times in ms");
+            }
+            Files.move(tmpFile.toPath(), resultFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            LOGGER.error("Could not write result of job " + name + ": " + ex.getMessage(), ex);
+        }
+    }
+}
@@ -209,10 +209,15 @@ public void preLoadNodeContainer(final WorkflowPersistor parentPersistor, final
         }
         NodeSettingsRO settings;
         try {
-            InputStream in = new FileInputStream(settingsFile);
-            // parentPersitor is null for loaded subnode templates
-            in = parentPersistor == null ? in : parentPersistor.decipherInput(in);
-            settings = NodeSettings.loadFromXML(new BufferedInputStream(in));
+            // read in the background if loaded as part of a workflow
+            settings = parentPersistor instanceof FileWorkflowPersistor
+                ? ((FileWorkflowPersistor)parentPersistor).takePrefetchedNodeSettings(settingsFile) : null;
+            if (settings == null) {
+                InputStream in = new FileInputStream(settingsFile);
+                // parentPersitor is null for loaded subnode templates
+                in = parentPersistor == null ? in : parentPersistor.decipherInput(in);
+                settings = NodeSettings.loadFromXML(new BufferedInputStream(in));
+            }
         } catch (IOException ioe) {
             setDirtyAfterLoad();
             throw ioe;
@@ -542,6 +547,19 @@ protected static String save(final SingleNodeContainer singleNC, final Reference
                 nodeDirRef = sncAutoSaveDirRef;
             }
         }
+        if (saveHelper.isIncrementalSave() && singleNC instanceof NativeNodeContainer) {
+            ReferencedFile upToDateDirRef = IncrementalSaveSupport.findUpToDateNodeDirectory(
+                (NativeNodeContainer)singleNC, nodeDirRef, saveHelper);
+            if (upToDateDirRef != null) {
+                if (nodeDirExists) {
+                    FileUtil.deleteRecursively(nodeDir);
+                }
+                IncrementalSaveSupport.linkDirectory(upToDateDirRef.getFile(), nodeDir, saveHelper);
+                SAVE_LOGGER.debug("Linked node directory \"" + nodeDirRef + "\" to unchanged \"" + upToDateDirRef
+                    + "\"");
+                return finishSave(singleNC, nodeDirRef, saveHelper, exec, settingsDotXML);
+            }
+        }
         boolean nodeDirDeleted = true;
         if (singleNC instanceof NativeNodeContainer) {
             nodeDirDeleted = deleteChildren(nodeDir, SingleNodeContainer.DROP_DIR_NAME);
@@ -599,9 +617,23 @@ protected static String save(final SingleNodeContainer singleNC, final Reference
         OutputStream os = new FileOutputStream(nodeSettingsXMLFile);
         os = singleNC.getDirectNCParent().cipherOutput(os);
         settings.saveToXML(os);
-        if (saveHelper.isAutoSave() && sncAutoSaveDirRef == null) {
-            sncAutoSaveDirRef = nodeDirRef;
-            singleNC.setAutoSaveDirectory(sncAutoSaveDirRef);
+        if (saveHelper.isIncrementalSave()) {
+            // the content of subnodes is counted when their workflow is saved
+            saveHelper.addBytesWritten(singleNC instanceof NativeNodeContainer
+                ? IncrementalSaveSupport.sizeOf(nodeDir) : nodeSettingsXMLFile.length());
+        }
+        return finishSave(singleNC, nodeDirRef, saveHelper, exec, settingsDotXML);
+    }
+
+    /** Updates the node's directory references and dirty flags after it was saved to (or linked into) the given
+     * directory. */
+    private static String finishSave(final SingleNodeContainer singleNC, final ReferencedFile nodeDirRef,
+        final WorkflowSaveHelper saveHelper, final ExecutionMonitor exec, final String settingsDotXML) {
+        ReferencedFile sncWorkingDirRef = singleNC.getNodeContainerDirectory();
+        // in incremental mode auto-saves are written to a new (temporary) location, which replaces the old one
+        if (saveHelper.isAutoSave()
+            && (singleNC.getAutoSaveDirectory() == null || saveHelper.isIncrementalSave())) {
+            singleNC.setAutoSaveDirectory(nodeDirRef);
         }
         if (!saveHelper.isAutoSave() && sncWorkingDirRef == null) {
             // set working dir so that we can unset the dirty flag
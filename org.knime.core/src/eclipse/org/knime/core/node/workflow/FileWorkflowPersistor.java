@@ -176,6 +176,12 @@ public String toString() {
 
     private final WorkflowDataRepository m_workflowDataRepository;
 
+    /** Time spent loading the contained nodes, filled here and in {@link WorkflowManager#loadContent}. */
+    private final NodeLoadTimes m_nodeLoadTimes = new NodeLoadTimes();
+
+    /** Reads the settings files of the contained nodes during {@link #loadNodeContainer}, null otherwise. */
+    private NodeSettingsPrefetcher m_settingsPrefetcher;
+
     private WorkflowPortTemplate[] m_inPortTemplates;
 
     private WorkflowPortTemplate[] m_outPortTemplates;
@@ -298,6 +304,23 @@ public Set<ConnectionContainerTemplate> getAdditionalConnectionSet() {
         return m_nodeContainerLoaderMap;
     }
 
+    /** @return the load times of the contained nodes, never null. */
+    NodeLoadTimes getNodeLoadTimes() {
+        return m_nodeLoadTimes;
+    }
+
+    /**
+     * Returns the content of a node's settings file if it was read in the background as part of
+     * {@link #loadNodeContainer(Map, ExecutionMonitor, LoadResult)}.
+     *
+     * @param settingsFile the node's settings file (settings.xml or workflow.knime)
+     * @return the content or <code>null</code> if the file was not read in the background
+     * @throws IOException if reading the file failed
+     */
+    NodeSettingsRO takePrefetchedNodeSettings(final File settingsFile) throws IOException {
+        return m_settingsPrefetcher == null ? null : m_settingsPrefetcher.take(settingsFile);
+    }
+
     /** {@inheritDoc} */
     @Override
     public boolean mustWarnOnDataLoadError() {
@@ -515,15 +538,19 @@ public void preLoadNodeContainer(final WorkflowPersistor parentPersistor, final
         m_mustWarnOnDataLoadError = loadIfMustWarnOnDataLoadError(parentRef.getFile());
         NodeSettingsRO subWFSettings;
         try {
-            InputStream in = new FileInputStream(nodeFile);
-            if (m_parentPersistor != null) { // real metanode, not a project
-                // the workflow.knime (or template.knime) file is not encrypted
-                // with this metanode's cipher but possibly with a parent
-                // cipher
-                in = m_parentPersistor.decipherInput(in);
+            subWFSettings = m_parentPersistor instanceof FileWorkflowPersistor
+                ? ((FileWorkflowPersistor)m_parentPersistor).takePrefetchedNodeSettings(nodeFile) : null;
+            if (subWFSettings == null) {
+                InputStream in = new FileInputStream(nodeFile);
+                if (m_parentPersistor != null) { // real metanode, not a project
+                    // the workflow.knime (or template.knime) file is not encrypted
+                    // with this metanode's cipher but possibly with a parent
+                    // cipher
+                    in = m_parentPersistor.decipherInput(in);
+                }
+                in = new BufferedInputStream(in);
+                subWFSettings = NodeSettings.loadFromXML(in);
             }
-            in = new BufferedInputStream(in);
-            subWFSettings = NodeSettings.loadFromXML(in);
         } catch (IOException ioe) {
             setDirtyAfterLoad();
             throw ioe;
@@ -848,142 +875,157 @@ public void loadNodeContainer(final Map<Integer, BufferedDataTable> tblRep, fina
             new HashMap<Integer, NodeFactoryUnknownException>();
         exec.setMessage("node information");
         final ReferencedFile workflowDirRef = workflowKNIMEFile.getParent();
-        /* Load nodes */
-        for (String nodeKey : nodes.keySet()) {
-            exec.checkCanceled();
-            NodeSettingsRO nodeSetting;
-            try {
-                nodeSetting = nodes.getNodeSettings(nodeKey);
-            } catch (InvalidSettingsException e) {
-                String error =
-                    "Unable to load settings for node with internal " + "id \"" + nodeKey + "\": " + e.getMessage();
-                getLogger().debug(error, e);
-                setDirtyAfterLoad();
-                loadResult.addError(error);
-                continue;
-            }
-            if (shouldSkipThisNode(nodeSetting)) {
-                continue;
-            }
-            int nodeIDSuffix;
-            try {
-                nodeIDSuffix = loadNodeIDSuffix(nodeSetting);
-            } catch (InvalidSettingsException e) {
-                nodeIDSuffix = getRandomNodeID();
-                String error =
-                    "Unable to load node ID (internal id \"" + nodeKey + "\"), trying random number " + nodeIDSuffix
-                        + "instead: " + e.getMessage();
-                getLogger().debug(error, e);
-                setDirtyAfterLoad();
-                loadResult.addError(error);
-            }
-            NodeType nodeType;
-            try {
-                nodeType = loadNodeType(nodeSetting);
-            } catch (InvalidSettingsException e) {
-                String error =
-                    "Can't retrieve node type for contained node with id suffix " + nodeIDSuffix
-                        + ", attempting to read ordinary (native) node: " + e.getMessage();
-                getLogger().debug(error, e);
-                setDirtyAfterLoad();
-                loadResult.addError(error);
-                nodeType = NodeType.NativeNode;
-            }
-            NodeUIInformation nodeUIInfo = null;
-            String uiInfoClassName;
-            try {
-                uiInfoClassName = loadUIInfoClassName(nodeSetting);
-            } catch (InvalidSettingsException e) {
-                String error =
-                    "Unable to load UI information class name " + "to node with ID suffix " + nodeIDSuffix
-                        + ", no UI information available: " + e.getMessage();
-                getLogger().debug(error, e);
-                setDirtyAfterLoad();
-                loadResult.addError(error);
-                uiInfoClassName = null;
-            }
-            if (uiInfoClassName != null) {
+        try {
+            if (NodeSettingsPrefetcher.isEnabled()) {
+                m_settingsPrefetcher = new NodeSettingsPrefetcher(this);
+                prefetchNodeSettings(nodes, workflowDirRef);
+            }
+            /* Load nodes */
+            for (String nodeKey : nodes.keySet()) {
+                exec.checkCanceled();
+                NodeSettingsRO nodeSetting;
                 try {
-                    //load node ui info
-                    nodeUIInfo = loadNodeUIInformation(nodeSetting);
+                    nodeSetting = nodes.getNodeSettings(nodeKey);
                 } catch (InvalidSettingsException e) {
-                    String error = "Unable to load UI information to " + "node with ID suffix " + nodeIDSuffix
-                        + ", no UI information available: " + e.getMessage();
+                    String error =
+                        "Unable to load settings for node with internal " + "id \"" + nodeKey + "\": " + e.getMessage();
                     getLogger().debug(error, e);
                     setDirtyAfterLoad();
                     loadResult.addError(error);
+                    continue;
                 }
-            }
-
-            ReferencedFile nodeFile;
-            try {
-                nodeFile = loadNodeFile(nodeSetting, workflowDirRef);
-            } catch (InvalidSettingsException e) {
-                String error =
-                    "Unable to load settings for node " + "with ID suffix " + nodeIDSuffix + ": " + e.getMessage();
-                getLogger().debug(error, e);
-                setDirtyAfterLoad();
-                loadResult.addError(error);
-                failingNodeIDSet.add(nodeIDSuffix);
-                continue;
-            }
-            FromFileNodeContainerPersistor persistor;
-            switch (nodeType) {
-                case MetaNode:
-                    persistor = createWorkflowPersistorLoad(nodeFile); break;
-                case NativeNode:
-                    persistor = createNativeNodeContainerPersistorLoad(nodeFile); break;
-                case SubNode:
-                    persistor = createSubNodeContainerPersistorLoad(nodeFile); break;
-                default:
-                    throw new IllegalStateException("Unknown node type: " + nodeType);
-            }
-            try {
-                LoadResult childResult = new LoadResult(nodeType.toString() + " with ID suffix " + nodeIDSuffix);
-                persistor.preLoadNodeContainer(this, nodeSetting, childResult);
-                loadResult.addChildError(childResult);
-            } catch (Throwable e) {
-                String error =
-                    "Unable to load node with ID suffix " + nodeIDSuffix + " into workflow, skipping it: "
-                        + e.getMessage();
-                String loadErrorString;
-                if (e instanceof NodeFactoryUnknownException) {
-                    loadErrorString = e.getMessage();
-                } else {
-                    loadErrorString = error;
+                if (shouldSkipThisNode(nodeSetting)) {
+                    continue;
                 }
-                if (e instanceof InvalidSettingsException || e instanceof IOException
-                    || e instanceof NodeFactoryUnknownException) {
+                int nodeIDSuffix;
+                try {
+                    nodeIDSuffix = loadNodeIDSuffix(nodeSetting);
+                } catch (InvalidSettingsException e) {
+                    nodeIDSuffix = getRandomNodeID();
+                    String error =
+                        "Unable to load node ID (internal id \"" + nodeKey + "\"), trying random number " + nodeIDSuffix
+                            + "instead: " + e.getMessage();
                     getLogger().debug(error, e);
-                } else {
-                    getLogger().error(error, e);
+                    setDirtyAfterLoad();
+                    loadResult.addError(error);
                 }
-                loadResult.addError(loadErrorString);
-                if (e instanceof NodeFactoryUnknownException) {
-                    missingNodeIDMap.put(nodeIDSuffix, (NodeFactoryUnknownException)e);
-                    // don't set dirty
-                } else {
+                NodeType nodeType;
+                try {
+                    nodeType = loadNodeType(nodeSetting);
+                } catch (InvalidSettingsException e) {
+                    String error =
+                        "Can't retrieve node type for contained node with id suffix " + nodeIDSuffix
+                            + ", attempting to read ordinary (native) node: " + e.getMessage();
+                    getLogger().debug(error, e);
                     setDirtyAfterLoad();
+                    loadResult.addError(error);
+                    nodeType = NodeType.NativeNode;
+                }
+                NodeUIInformation nodeUIInfo = null;
+                String uiInfoClassName;
+                try {
+                    uiInfoClassName = loadUIInfoClassName(nodeSetting);
+                } catch (InvalidSettingsException e) {
+                    String error =
+                        "Unable to load UI information class name " + "to node with ID suffix " + nodeIDSuffix
+                            + ", no UI information available: " + e.getMessage();
+                    getLogger().debug(error, e);
+                    setDirtyAfterLoad();
+                    loadResult.addError(error);
+                    uiInfoClassName = null;
+                }
+                if (uiInfoClassName != null) {
+                    try {
+                        //load node ui info
+                        nodeUIInfo = loadNodeUIInformation(nodeSetting);
+                    } catch (InvalidSettingsException e) {
+                        String error = "Unable to load UI information to " + "node with ID suffix " + nodeIDSuffix
+                            + ", no UI information available: " + e.getMessage();
+                        getLogger().debug(error, e);
+                        setDirtyAfterLoad();
+                        loadResult.addError(error);
+                    }
+                }
+
+                ReferencedFile nodeFile;
+                try {
+                    nodeFile = loadNodeFile(nodeSetting, workflowDirRef);
+                } catch (InvalidSettingsException e) {
+                    String error =
+                        "Unable to load settings for node " + "with ID suffix " + nodeIDSuffix + ": " + e.getMessage();
+                    getLogger().debug(error, e);
+                    setDirtyAfterLoad();
+                    loadResult.addError(error);
                     failingNodeIDSet.add(nodeIDSuffix);
-                    // node directory is the parent of the settings.xml
-                    m_obsoleteNodeDirectories.add(nodeFile.getParent());
                     continue;
                 }
+                FromFileNodeContainerPersistor persistor;
+                switch (nodeType) {
+                    case MetaNode:
+                        persistor = createWorkflowPersistorLoad(nodeFile); break;
+                    case NativeNode:
+                        persistor = createNativeNodeContainerPersistorLoad(nodeFile); break;
+                    case SubNode:
+                        persistor = createSubNodeContainerPersistorLoad(nodeFile); break;
+                    default:
+                        throw new IllegalStateException("Unknown node type: " + nodeType);
+                }
+                final long preLoadStart = System.nanoTime();
+                try {
+                    LoadResult childResult = new LoadResult(nodeType.toString() + " with ID suffix " + nodeIDSuffix);
+                    persistor.preLoadNodeContainer(this, nodeSetting, childResult);
+                    loadResult.addChildError(childResult);
+                } catch (Throwable e) {
+                    String error =
+                        "Unable to load node with ID suffix " + nodeIDSuffix + " into workflow, skipping it: "
+                            + e.getMessage();
+                    String loadErrorString;
+                    if (e instanceof NodeFactoryUnknownException) {
+                        loadErrorString = e.getMessage();
+                    } else {
+                        loadErrorString = error;
+                    }
+                    if (e instanceof InvalidSettingsException || e instanceof IOException
+                        || e instanceof NodeFactoryUnknownException) {
+                        getLogger().debug(error, e);
+                    } else {
+                        getLogger().error(error, e);
+                    }
+                    loadResult.addError(loadErrorString);
+                    if (e instanceof NodeFactoryUnknownException) {
+                        missingNodeIDMap.put(nodeIDSuffix, (NodeFactoryUnknownException)e);
+                        // don't set dirty
+                    } else {
+                        setDirtyAfterLoad();
+                        failingNodeIDSet.add(nodeIDSuffix);
+                        // node directory is the parent of the settings.xml
+                        m_obsoleteNodeDirectories.add(nodeFile.getParent());
+                        continue;
+                    }
+                } finally {
+                    m_nodeLoadTimes.add(persistor, NodeLoadTimes.Phase.SETTINGS, System.nanoTime() - preLoadStart);
+                }
+                NodeContainerMetaPersistor meta = persistor.getMetaPersistor();
+                if (m_nodeContainerLoaderMap.containsKey(nodeIDSuffix)) {
+                    int randomID = getRandomNodeID();
+                    setDirtyAfterLoad();
+                    loadResult.addError("Duplicate id encountered in workflow: " + nodeIDSuffix
+                        + ", uniquifying to random id " + randomID + ", this possibly screws the connections");
+                    nodeIDSuffix = randomID;
+                }
+                meta.setNodeIDSuffix(nodeIDSuffix);
+                meta.setUIInfo(nodeUIInfo);
+                if (persistor.isDirtyAfterLoad()) {
+                    setDirtyAfterLoad();
+                }
+                m_nodeContainerLoaderMap.put(nodeIDSuffix, persistor);
             }
-            NodeContainerMetaPersistor meta = persistor.getMetaPersistor();
-            if (m_nodeContainerLoaderMap.containsKey(nodeIDSuffix)) {
-                int randomID = getRandomNodeID();
-                setDirtyAfterLoad();
-                loadResult.addError("Duplicate id encountered in workflow: " + nodeIDSuffix
-                    + ", uniquifying to random id " + randomID + ", this possibly screws the connections");
-                nodeIDSuffix = randomID;
-            }
-            meta.setNodeIDSuffix(nodeIDSuffix);
-            meta.setUIInfo(nodeUIInfo);
-            if (persistor.isDirtyAfterLoad()) {
-                setDirtyAfterLoad();
+        } finally {
+            // also if loading got canceled or failed, don't keep reading (and holding) settings of the remaining nodes
+            if (m_settingsPrefetcher != null) {
+                m_settingsPrefetcher.cancelRemaining();
+                m_settingsPrefetcher = null;
             }
-            m_nodeContainerLoaderMap.put(nodeIDSuffix, persistor);
         }
 
         /* read connections */
@@ -1330,6 +1372,24 @@ EditorUIInformation loadEditorUIInformation(final NodeSettingsRO settings) throw
         return builder.build();
     }
 
+    /**
+     * Schedules the settings files of all nodes for reading in the background. Any problem with the node entries is
+     * ignored here as it is reported when the nodes are loaded.
+     */
+    private void prefetchNodeSettings(final NodeSettingsRO nodes, final ReferencedFile workflowDirRef) {
+        for (String nodeKey : nodes.keySet()) {
+            try {
+                NodeSettingsRO nodeSetting = nodes.getNodeSettings(nodeKey);
+                if (shouldSkipThisNode(nodeSetting)) {
+                    continue;
+                }
+                m_settingsPrefetcher.submit(loadNodeFile(nodeSetting, workflowDirRef).getFile());
+            } catch (InvalidSettingsException e) {
+                // reported in loadNodeContainer
+            }
+        }
+    }
+
     ReferencedFile loadNodeFile(final NodeSettingsRO settings, final ReferencedFile workflowDirRef)
         throws InvalidSettingsException {
         String fileString = settings.getString("node_settings_file");
@@ -1974,6 +2034,9 @@ private static void saveContent(final WorkflowManager wm, final NodeSettings pre
             OutputStream os = new FileOutputStream(workflowFile);
             os = wm.getDirectNCParent().cipherOutput(os);
             preFilledSettings.saveToXML(os);
+            if (saveHelper.isIncrementalSave()) {
+                saveHelper.addBytesWritten(workflowFile.length());
+            }
             if (saveHelper.isSaveData()) {
                 File saveWithDataFile = new File(workflowDir, SAVED_WITH_DATA_FILE);
                 BufferedWriter o = new BufferedWriter(new FileWriter(saveWithDataFile));
@@ -1988,7 +2051,8 @@ private static void saveContent(final WorkflowManager wm, final NodeSettings pre
                 o.write(" on " + new Date());
                 o.close();
             }
-            if (saveHelper.isAutoSave() && autoSaveDirectory == null) {
+            // in incremental mode auto-saves are written to a new (temporary) location, which replaces the old one
+            if (saveHelper.isAutoSave() && (autoSaveDirectory == null || saveHelper.isIncrementalSave())) {
                 wm.setAutoSaveDirectory(workflowDirRef);
             }
             if (!saveHelper.isAutoSave() && nodeContainerDirectory == null) {
@@ -0,0 +1,270 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.node.workflow;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystemException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import org.knime.core.internal.ReferencedFile;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.FileNodePersistor;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.NodePersistor;
+import org.knime.core.util.FileUtil;
+import org.knime.core.util.LockFailedException;
+
+/**
+ * Utility methods for the incremental save mode (see {@link WorkflowSaveHelper#setIncrementalSave(boolean)}):
+ * finding node directories that are up to date, hard-linking them into the save location and swapping in auto-save
+ * copies that were written into a temporary directory.
+ *
+ * @author agent
+ */
+final class IncrementalSaveSupport {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(IncrementalSaveSupport.class);
+
+    /** Suffix of the directory an auto-save is written to before it replaces the previous auto-save copy. */
+    static final String STAGING_SUFFIX = ".tmp";
+
+    /** Suffix the previous auto-save copy is renamed to before it is deleted. */
+    static final String OBSOLETE_SUFFIX = ".old";
+
+    private IncrementalSaveSupport() {
+    }
+
+    /**
+     * Returns a directory that contains exactly what saving the given node into <code>targetDirRef</code> would
+     * produce. That's the node's working or auto-save directory if it is not dirty, the node is not executing and,
+     * in case it's executed, the directory contains the node's data (i.e. it wasn't saved without data).
+     *
+     * @param nnc the node to save
+     * @param targetDirRef the directory the node is to be saved to
+     * @param saveHelper the save options
+     * @return such a directory or <code>null</code> if the node needs to be saved
+     */
+    static ReferencedFile findUpToDateNodeDirectory(final NativeNodeContainer nnc, final ReferencedFile targetDirRef,
+        final WorkflowSaveHelper saveHelper) {
+        if (!saveHelper.isSaveData() || nnc.getNodeContainerState().isExecutionInProgress()) {
+            return null;
+        }
+        for (ReferencedFile candidate : new ReferencedFile[]{nnc.getNodeContainerDirectory(),
+            nnc.getAutoSaveDirectory()}) {
+            if (candidate != null && !candidate.isDirty() && !candidate.equals(targetDirRef)
+                && candidate.getFile().isDirectory() && containsData(nnc, candidate.getFile())) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /** Checks the directories that are only written if the node is saved with data (see
+     * {@link FileNodePersistor#save(NativeNodeContainer, org.knime.core.node.NodeSettingsWO, ExecutionMonitor,
+     * ReferencedFile, boolean)}). */
+    private static boolean containsData(final NativeNodeContainer nnc, final File nodeDir) {
+        if (!nnc.getInternalState().equals(InternalNodeContainerState.EXECUTED)) {
+            return true;
+        }
+        final Node node = nnc.getNode();
+        for (int i = 1; i < node.getNrOutPorts(); i++) {
+            if (node.getOutputObject(i) != null
+                && !new File(nodeDir, FileNodePersistor.PORT_FOLDER_PREFIX + i).isDirectory()) {
+                return false;
+            }
+        }
+        if (node.isInactiveBranchConsumer() || !node.isInactive()) {
+            return new File(nodeDir, NodePersistor.INTERN_FILE_DIR).isDirectory();
+        }
+        return true;
+    }
+
+    /**
+     * Recreates the source directory in the target directory, hard-linking all files. Files are copied if the file
+     * system doesn't support links (or source and target are on different file systems). The bytes are added to
+     * the counters of the save helper.
+     *
+     * @param source the up-to-date node directory
+     * @param target the (non-existing or empty) target directory
+     * @param saveHelper to count the bytes
+     * @throws IOException if neither linking nor copying works
+     */
+    static void linkDirectory(final File source, final File target, final WorkflowSaveHelper saveHelper)
+        throws IOException {
+        final Path sourcePath = source.toPath();
+        final Path targetPath = target.toPath();
+        Files.walkFileTree(sourcePath, new SimpleFileVisitor<Path>() {
+            private boolean m_canLink = true;
+
+            @Override
+            public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs)
+                throws IOException {
+                Files.createDirectories(targetPath.resolve(sourcePath.relativize(dir)));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
+                final Path targetFile = targetPath.resolve(sourcePath.relativize(file));
+                if (m_canLink) {
+                    try {
+                        Files.createLink(targetFile, file);
+                        saveHelper.addBytesReused(attrs.size());
+                        return FileVisitResult.CONTINUE;
+                    } catch (UnsupportedOperationException | FileSystemException e) {
+                        LOGGER.debug("Unable to link \"" + file + "\", copying files instead: " + e.getMessage());
+                        m_canLink = false;
+                    }
+                }
+                Files.copy(file, targetFile, StandardCopyOption.REPLACE_EXISTING);
+                saveHelper.addBytesWritten(attrs.size());
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * @param file a file or directory
+     * @return its size (the sum of all contained files for directories), 0 if it doesn't exist
+     * @throws IOException if the directory can't be traversed
+     */
+    static long sizeOf(final File file) throws IOException {
+        if (!file.exists()) {
+            return 0L;
+        }
+        final long[] size = new long[1];
+        Files.walkFileTree(file.toPath(), new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(final Path f, final BasicFileAttributes attrs) {
+                size[0] += attrs.size();
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return size[0];
+    }
+
+    /**
+     * Writes the auto-save copy of a workflow into a temporary directory next to the auto-save location and, once
+     * complete, replaces the previous copy with it. The nodes' auto-save directories are updated accordingly, so
+     * that nodes that are not dirty can be linked from the previous copy.
+     *
+     * <p>
+     * The swap takes two (atomic) renames: the previous copy is renamed to <code>&lt;target&gt;.old</code>, then
+     * the new copy from <code>&lt;target&gt;.tmp</code> to the target. If the process dies in between, there is no
+     * copy at the target location; {@link #recoverAutoSave(File)} (called before the next save and when the
+     * auto-save location is loaded) moves the complete new copy into place.
+     *
+     * @param wfm the workflow (project) to save
+     * @param autoSaveDirRef the auto-save location
+     * @param exec for progress/cancellation
+     * @param saveHelper the save options
+     * @throws IOException if writing or swapping the directories fails
+     * @throws CanceledExecutionException if canceled
+     * @throws LockFailedException if the temporary directory can't be locked
+     */
+    static void saveAutoSaveStaged(final WorkflowManager wfm, final ReferencedFile autoSaveDirRef,
+        final ExecutionMonitor exec, final WorkflowSaveHelper saveHelper)
+        throws IOException, CanceledExecutionException, LockFailedException {
+        final File target = autoSaveDirRef.getFile();
+        final File staging = new File(target.getParentFile(), target.getName() + STAGING_SUFFIX);
+        final File obsolete = new File(target.getParentFile(), target.getName() + OBSOLETE_SUFFIX);
+        // left-overs of a previous (failed) auto-save
+        recoverAutoSave(target);
+        FileUtil.deleteRecursively(staging);
+        FileUtil.deleteRecursively(obsolete);
+        final ReferencedFile stagingRef = new ReferencedFile(staging);
+        stagingRef.writeLock();
+        try {
+            FileWorkflowPersistor.save(wfm, stagingRef, exec, saveHelper);
+            if (target.exists()) {
+                Files.move(target.toPath(), obsolete.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            }
+            Files.move(staging.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            stagingRef.changeRoot(target);
+        } finally {
+            stagingRef.writeUnlock();
+        }
+        if (obsolete.exists() && !FileUtil.deleteRecursively(obsolete)) {
+            LOGGER.warn("Unable to delete previous auto-save copy \"" + obsolete.getAbsolutePath() + "\"");
+        }
+    }
+
+    /**
+     * Completes an auto-save that was interrupted between the two renames of
+     * {@link #saveAutoSaveStaged(WorkflowManager, ReferencedFile, ExecutionMonitor, WorkflowSaveHelper)}: if the
+     * target doesn't exist but the previous copy was already renamed, the new copy in the staging directory is
+     * complete and is moved to the target (or the previous copy if the staging directory is missing). Does nothing
+     * otherwise.
+     *
+     * @param target the auto-save location
+     * @throws IOException if the copy can't be moved to the target
+     */
+    static void recoverAutoSave(final File target) throws IOException {
+        final File staging = new File(target.getParentFile(), target.getName() + STAGING_SUFFIX);
+        final File obsolete = new File(target.getParentFile(), target.getName() + OBSOLETE_SUFFIX);
+        if (target.exists() || !obsolete.isDirectory()) {
+            return;
+        }
+        final File recovered = staging.isDirectory() ? staging : obsolete;
+        LOGGER.info("Recovering interrupted auto-save \"" + target.getAbsolutePath() + "\" from \""
+            + recovered.getName() + "\"");
+        Files.move(recovered.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        if (obsolete.exists() && !FileUtil.deleteRecursively(obsolete)) {
+            LOGGER.warn("Unable to delete previous auto-save copy \"" + obsolete.getAbsolutePath() + "\"");
+        }
+    }
+
+}
@@ -128,7 +128,18 @@ public boolean executionInProgress() {
         }
     };
 
-    private InternalNodeContainerState m_state;
+    private volatile InternalNodeContainerState m_state;
+
+    /** Guards the fields used to keep the parent's {@link NodeStateCounter} up-to-date. Leaf lock, never held
+     * while acquiring any other lock. */
+    private final Object m_stateCounterMutex = new Object();
+
+    /** Counter of the workflow this node is contained in (null if not counted, e.g. for metanodes). */
+    private NodeStateCounter m_stateCounter;
+
+    private InternalNodeContainerState m_countedState;
+
+    private boolean m_countedError;
 
     private final NodeID m_id;
 
@@ -145,7 +156,7 @@ public boolean executionInProgress() {
     /** execution environment. */
     private ExecutionEnvironment m_executionEnv = null;
 
-    private NodeMessage m_nodeMessage = NodeMessage.NONE;
+    private volatile NodeMessage m_nodeMessage = NodeMessage.NONE;
 
     /**
      * Object that represents locks set on the node, i.e.
@@ -750,6 +761,7 @@ public final void setNodeMessage(final NodeMessage newMessage) {
        NodeMessage oldMessage = m_nodeMessage;
        m_nodeMessage = newMessage == null ? NodeMessage.NONE : newMessage;
        if (!m_nodeMessage.equals(oldMessage)) {
+           updateStateCounter();
            notifyMessageListeners(new NodeMessageEvent(getID(), m_nodeMessage));
        }
    }
@@ -886,6 +898,7 @@ boolean setInternalState(final InternalNodeContainerState state, final boolean s
         // the calling method is sync'ed...
         // I ran into a deadlock (see Email to Michael on 11.4.08)
         if (changesMade) {
+            updateStateCounter();
             if (setDirty) {
                 setDirty();
             }
@@ -895,6 +908,39 @@ boolean setInternalState(final InternalNodeContainerState state, final boolean s
         return changesMade;
     }
 
+    /** Registers this node with the state counter of the workflow it is contained in (or unregisters it if
+     * the argument is null). Called by {@link Workflow} when the node is added or removed.
+     * @param counter the new counter or null
+     */
+    final void setStateCounter(final NodeStateCounter counter) {
+        synchronized (m_stateCounterMutex) {
+            if (m_stateCounter != null) {
+                m_stateCounter.remove(m_countedState, m_countedError);
+            }
+            m_stateCounter = counter;
+            if (counter != null) {
+                m_countedState = m_state;
+                m_countedError = NodeStateCounter.isError(m_nodeMessage);
+                counter.add(m_countedState, m_countedError);
+            }
+        }
+    }
+
+    /** Pushes the current state and message type into the parent's state counter. As both fields are volatile and
+     * this method is called after each of their modifications the counter is eventually consistent, in particular
+     * when the workflow lock is acquired after a change. */
+    private void updateStateCounter() {
+        synchronized (m_stateCounterMutex) {
+            if (m_stateCounter != null) {
+                InternalNodeContainerState state = m_state;
+                boolean hasError = NodeStateCounter.isError(m_nodeMessage);
+                m_stateCounter.update(m_countedState, m_countedError, state, hasError);
+                m_countedState = state;
+                m_countedError = hasError;
+            }
+        }
+    }
+
     /** Throws a new IllegalStateException with a meaningful error message
      * containing node name, current state and method name. This method is used
      * from the different state transition methods in
@@ -77,6 +77,9 @@ public abstract class NodeExecutionJob implements Runnable {
     private final NodeContainer m_nc;
     private final PortObject[] m_data;
 
+    /** {@link System#nanoTime()} at construction, i.e. when the job was submitted; used by the {@link NodeProfiler}. */
+    private final long m_submitNanos = System.nanoTime();
+
 
     /** Creates a new execution job for a given node. The array argument
      * represent the available input data..
@@ -106,9 +109,11 @@ public final void run() {
         contextStack.clear();
 
         NodeContext.pushContext(m_nc);
+        NodeProfiler.ExecutionSample profilerSample = NodeProfiler.startExecution(m_nc, m_submitNanos);
         try {
             internalRun();
         } finally {
+            NodeProfiler.endExecution(m_nc, profilerSample);
             NodeContext.removeLastContext();
             assert contextStack.size() == 0 : "Context stack is not empty although it should be";
             contextStack.addAll(savedContextStack);
@@ -0,0 +1,185 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.node.workflow;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Collects the time spent loading the individual nodes of a workflow, split into the phases of the load process. The
+ * breakdown is logged on debug level once the workflow is loaded, slowest nodes first.
+ *
+ * <p>
+ * Entries are keyed by the node's persistor as node IDs are only assigned (and possibly changed to make them unique)
+ * after the settings are read.
+ *
+ * @author agent
+ */
+final class NodeLoadTimes {
+
+    /** Maximum number of nodes listed in the log message. */
+    private static final int MAX_LOGGED_NODES = 25;
+
+    /** The phases of loading a node. */
+    enum Phase {
+        /** Reading the node's settings file and instantiating the node (or metanode). */
+        SETTINGS("settings"),
+        /** Loading the model settings and the port objects (tables are restored lazily). */
+        DATA("data"),
+        /** Transferring the loaded content into the node container (including all content of metanodes). */
+        CONTENT("content");
+
+        private final String m_label;
+
+        Phase(final String label) {
+            m_label = label;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final Map<NodeContainerPersistor, Entry> m_entries = new IdentityHashMap<>();
+
+    /**
+     * Adds the time spent in a phase.
+     *
+     * @param persistor the node's persistor
+     * @param phase the phase
+     * @param nanos time in nanoseconds
+     */
+    synchronized void add(final NodeContainerPersistor persistor, final Phase phase, final long nanos) {
+        m_entries.computeIfAbsent(persistor, p -> new Entry()).m_nanos[phase.ordinal()] += nanos;
+    }
+
+    /**
+     * Sets the name used for the node in the log output. Nodes without name (e.g. those that failed to load) are not
+     * logged.
+     *
+     * @param persistor the node's persistor
+     * @param nameWithID the name of the node container
+     */
+    synchronized void setName(final NodeContainerPersistor persistor, final String nameWithID) {
+        m_entries.computeIfAbsent(persistor, p -> new Entry()).m_name = nameWithID;
+    }
+
+    /**
+     * @param persistor the node's persistor
+     * @param phase the phase
+     * @return the time spent in the phase in nanoseconds, 0 if unknown
+     */
+    synchronized long getNanos(final NodeContainerPersistor persistor, final Phase phase) {
+        final Entry entry = m_entries.get(persistor);
+        return entry == null ? 0L : entry.m_nanos[phase.ordinal()];
+    }
+
+    /**
+     * Logs the breakdown on debug level.
+     *
+     * @param logger to log to
+     * @param workflowName name of the workflow the nodes are contained in
+     */
+    synchronized void logBreakdown(final NodeLogger logger, final String workflowName) {
+        if (!logger.isDebugEnabled()) {
+            return;
+        }
+        final List<Entry> entries = new ArrayList<>();
+        final long[] totals = new long[PHASES.length];
+        for (Entry e : m_entries.values()) {
+            if (e.m_name != null) {
+                entries.add(e);
+                for (int i = 0; i < PHASES.length; i++) {
+                    totals[i] += e.m_nanos[i];
+                }
+            }
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+        entries.sort(Comparator.comparingLong(Entry::getTotalNanos).reversed());
+        final StringBuilder b = new StringBuilder("Load times of ");
+        b.append(entries.size()).append(" node(s) in \"").append(workflowName).append("\" (");
+        appendPhases(b, totals);
+        b.append(")");
+        for (Entry e : entries.subList(0, Math.min(MAX_LOGGED_NODES, entries.size()))) {
+            b.append("\n  ").append(e.m_name).append(": ");
+            appendPhases(b, e.m_nanos);
+        }
+        if (entries.size() > MAX_LOGGED_NODES) {
+            b.append("\n  ... (").append(entries.size() - MAX_LOGGED_NODES).append(" more)");
+        }
+        logger.debug(b.toString());
+    }
+
+    private static void appendPhases(final StringBuilder b, final long[] nanos) {
+        for (int i = 0; i < PHASES.length; i++) {
+            b.append(i > 0 ? ", " : "").append(PHASES[i].m_label).append(" ");
+            b.append(TimeUnit.NANOSECONDS.toMillis(nanos[i])).append("ms");
+        }
+    }
+
+    private static final class Entry {
+        private final long[] m_nanos = new long[PHASES.length];
+
+        private String m_name;
+
+        long getTotalNanos() {
+            long sum = 0L;
+            for (long n : m_nanos) {
+                sum += n;
+            }
+            return sum;
+        }
+    }
+
+}
@@ -0,0 +1,459 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.node.workflow;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.json.Json;
+import javax.json.JsonObjectBuilder;
+
+import org.apache.commons.lang3.StringUtils;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataTableSpecCreator;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Profiler collecting per-node resource usage beyond the wall-clock time recorded by {@link NodeTimer}: CPU time and
+ * memory allocated by the executing thread, rows and bytes read and written through data containers, and the time the
+ * node spent waiting for a workflow lock or for an execution thread. It is enabled via
+ * {@link KNIMEConstants#PROPERTY_NODE_PROFILING}; the numbers are accumulated in a {@link NodeProfile} per node and can
+ * be exported as table ({@link #createProfileTable(WorkflowManager, ExecutionContext)}) or as event stream (see
+ * {@link KNIMEConstants#PROPERTY_NODE_PROFILING_EVENT_FILE}).
+ *
+ * <p>
+ * CPU time and allocations are measured on the thread executing the node only, work a node delegates to other threads
+ * (e.g. via {@link KNIMEConstants#GLOBAL_THREAD_POOL}) is not included.
+ *
+ * @noreference This class is not intended to be referenced by clients.
+ * @author agent
+ * @since 3.7
+ */
+public final class NodeProfiler {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(NodeProfiler.class);
+
+    private static final String EVENT_FILE = System.getProperty(KNIMEConstants.PROPERTY_NODE_PROFILING_EVENT_FILE);
+
+    /** Name of the events written to the event file, following the naming scheme of JFR events. */
+    static final String EXECUTION_EVENT_TYPE = "org.knime.NodeExecution";
+
+    private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+
+    private static volatile boolean enabled;
+
+    /** com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long), looked up reflectively as the com.sun packages
+     * are not necessarily visible to this bundle; null if not supported by the VM or profiling is disabled. */
+    private static volatile Method allocatedBytesMethod;
+
+    private static Writer eventWriter;
+
+    static {
+        setEnabled(Boolean.getBoolean(KNIMEConstants.PROPERTY_NODE_PROFILING) || StringUtils.isNotBlank(EVENT_FILE));
+    }
+
+    private NodeProfiler() {
+    }
+
+    /**
+     * Enables or disables profiling. Set from the system properties when the class is loaded, only changed in unit
+     * tests.
+     *
+     * @param enable whether to profile
+     */
+    static synchronized void setEnabled(final boolean enable) {
+        Method allocMethod = null;
+        if (enable) {
+            try {
+                if (THREAD_BEAN.isCurrentThreadCpuTimeSupported() && !THREAD_BEAN.isThreadCpuTimeEnabled()) {
+                    THREAD_BEAN.setThreadCpuTimeEnabled(true);
+                }
+                Class<?> cl = Class.forName("com.sun.management.ThreadMXBean", true, ClassLoader.getSystemClassLoader());
+                if (cl.isInstance(THREAD_BEAN)) {
+                    allocMethod = cl.getMethod("getThreadAllocatedBytes", long.class);
+                    if (!Boolean.TRUE.equals(cl.getMethod("isThreadAllocatedMemoryEnabled").invoke(THREAD_BEAN))) {
+                        cl.getMethod("setThreadAllocatedMemoryEnabled", boolean.class).invoke(THREAD_BEAN, true);
+                    }
+                }
+            } catch (Exception | LinkageError e) {
+                LOGGER.debug("Allocated memory per thread can't be measured: " + e.getMessage(), e);
+                allocMethod = null;
+            }
+            LOGGER.debug("Node profiling enabled" + (EVENT_FILE != null ? ", events written to " + EVENT_FILE : ""));
+        }
+        allocatedBytesMethod = allocMethod;
+        enabled = enable;
+    }
+
+    /** @return whether profiling is enabled, see {@link KNIMEConstants#PROPERTY_NODE_PROFILING}. */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Resource usage of a single node, accumulated over all its executions. All counters are updated concurrently
+     * and are only approximately consistent with each other while the node is executing.
+     */
+    public static final class NodeProfile {
+        private final AtomicLong m_executions = new AtomicLong();
+        private final AtomicLong m_wallNanos = new AtomicLong();
+        private final AtomicLong m_cpuNanos = new AtomicLong();
+        private final AtomicLong m_allocatedBytes = new AtomicLong();
+        private final AtomicLong m_rowsRead = new AtomicLong();
+        private final AtomicLong m_bytesRead = new AtomicLong();
+        private final AtomicLong m_rowsWritten = new AtomicLong();
+        private final AtomicLong m_bytesWritten = new AtomicLong();
+        private final AtomicLong m_lockWaitNanos = new AtomicLong();
+        private final AtomicLong m_queueWaitNanos = new AtomicLong();
+
+        NodeProfile() {
+        }
+
+        /** @return number of profiled executions */
+        public long getExecutions() {
+            return m_executions.get();
+        }
+
+        /** @return wall-clock time of all profiled executions in nanoseconds */
+        public long getWallNanos() {
+            return m_wallNanos.get();
+        }
+
+        /** @return CPU time consumed by the executing thread in nanoseconds (0 if not supported by the VM) */
+        public long getCpuNanos() {
+            return m_cpuNanos.get();
+        }
+
+        /** @return bytes allocated by the executing thread (0 if not supported by the VM) */
+        public long getAllocatedBytes() {
+            return m_allocatedBytes.get();
+        }
+
+        /** @return number of rows returned by the table iterators the node opened */
+        public long getRowsRead() {
+            return m_rowsRead.get();
+        }
+
+        /** @return number of bytes read from table files, approximated by the share of the rows returned */
+        public long getBytesRead() {
+            return m_bytesRead.get();
+        }
+
+        /** @return number of rows written into data containers created by the node */
+        public long getRowsWritten() {
+            return m_rowsWritten.get();
+        }
+
+        /** @return number of bytes written to disk by data containers created by the node */
+        public long getBytesWritten() {
+            return m_bytesWritten.get();
+        }
+
+        /** @return time spent waiting for workflow locks in nanoseconds */
+        public long getLockWaitNanos() {
+            return m_lockWaitNanos.get();
+        }
+
+        /** @return time between submission of the execution job and its start in nanoseconds */
+        public long getQueueWaitNanos() {
+            return m_queueWaitNanos.get();
+        }
+    }
+
+    /** Counters taken when the execution of a node starts, used to compute the usage of that execution. */
+    static final class ExecutionSample {
+        private final long m_startMillis = System.currentTimeMillis();
+        private final long m_startNanos = System.nanoTime();
+        private final long m_cpuNanos = currentThreadCpuNanos();
+        private final long m_allocatedBytes = currentThreadAllocatedBytes();
+        private final long m_queueWaitNanos;
+        private final long m_rowsRead;
+        private final long m_bytesRead;
+        private final long m_rowsWritten;
+        private final long m_bytesWritten;
+        private final long m_lockWaitNanos;
+
+        private ExecutionSample(final NodeProfile profile, final long queueWaitNanos) {
+            m_queueWaitNanos = queueWaitNanos;
+            m_rowsRead = profile.getRowsRead();
+            m_bytesRead = profile.getBytesRead();
+            m_rowsWritten = profile.getRowsWritten();
+            m_bytesWritten = profile.getBytesWritten();
+            m_lockWaitNanos = profile.getLockWaitNanos();
+        }
+    }
+
+    /**
+     * Called by the thread executing a node before the execution starts.
+     *
+     * @param nc the node
+     * @param submitNanos {@link System#nanoTime()} when the execution job was submitted
+     * @return the sample to be passed to {@link #endExecution(NodeContainer, ExecutionSample)}, null if disabled
+     */
+    static ExecutionSample startExecution(final NodeContainer nc, final long submitNanos) {
+        if (!enabled) {
+            return null;
+        }
+        NodeProfile profile = nc.getNodeTimer().getProfile();
+        long queueWaitNanos = Math.max(0L, System.nanoTime() - submitNanos);
+        profile.m_queueWaitNanos.addAndGet(queueWaitNanos);
+        return new ExecutionSample(profile, queueWaitNanos);
+    }
+
+    /**
+     * Called by the thread executing a node after the execution has finished (successfully or not).
+     *
+     * @param nc the node
+     * @param sample the sample returned by {@link #startExecution(NodeContainer, long)}, may be null
+     */
+    static void endExecution(final NodeContainer nc, final ExecutionSample sample) {
+        if (sample == null) {
+            return;
+        }
+        long wallNanos = System.nanoTime() - sample.m_startNanos;
+        long cpuNanos = delta(currentThreadCpuNanos(), sample.m_cpuNanos);
+        long allocatedBytes = delta(currentThreadAllocatedBytes(), sample.m_allocatedBytes);
+        NodeProfile profile = nc.getNodeTimer().getProfile();
+        profile.m_executions.incrementAndGet();
+        profile.m_wallNanos.addAndGet(wallNanos);
+        profile.m_cpuNanos.addAndGet(cpuNanos);
+        profile.m_allocatedBytes.addAndGet(allocatedBytes);
+        if (EVENT_FILE != null) {
+            JsonObjectBuilder event = Json.createObjectBuilder()
+                .add("type", EXECUTION_EVENT_TYPE)
+                .add("startTime", sample.m_startMillis)
+                .add("duration", wallNanos)
+                .add("eventThread", Thread.currentThread().getName())
+                .add("nodeId", nc.getID().toString())
+                .add("nodeName", nc.getName())
+                .add("success", nc.getNodeContainerState().isExecuted())
+                .add("cpuTime", cpuNanos)
+                .add("allocated", allocatedBytes)
+                .add("rowsRead", profile.getRowsRead() - sample.m_rowsRead)
+                .add("bytesRead", profile.getBytesRead() - sample.m_bytesRead)
+                .add("rowsWritten", profile.getRowsWritten() - sample.m_rowsWritten)
+                .add("bytesWritten", profile.getBytesWritten() - sample.m_bytesWritten)
+                .add("lockWait", profile.getLockWaitNanos() - sample.m_lockWaitNanos)
+                .add("queueWait", sample.m_queueWaitNanos);
+            writeEvent(event.build().toString());
+        }
+    }
+
+    /** @return difference of two counters or 0 if any is unknown (negative). */
+    private static long delta(final long end, final long start) {
+        return end < 0 || start < 0 ? 0L : Math.max(0L, end - start);
+    }
+
+    private static synchronized void writeEvent(final String event) {
+        try {
+            if (eventWriter == null) {
+                eventWriter = new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(new File(EVENT_FILE), true), StandardCharsets.UTF_8));
+            }
+            eventWriter.write(event);
+            eventWriter.write('\n');
+            eventWriter.flush();
+        } catch (IOException ex) {
+            LOGGER.warn("Unable to write node profiling event to \"" + EVENT_FILE + "\": " + ex.getMessage(), ex);
+        }
+    }
+
+    private static long currentThreadCpuNanos() {
+        return THREAD_BEAN.isCurrentThreadCpuTimeSupported() ? THREAD_BEAN.getCurrentThreadCpuTime() : -1L;
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        Method allocMethod = allocatedBytesMethod;
+        if (allocMethod == null) {
+            return -1L;
+        }
+        try {
+            return (Long)allocMethod.invoke(THREAD_BEAN, Thread.currentThread().getId());
+        } catch (Exception e) {
+            return -1L;
+        }
+    }
+
+    /**
+     * @return the profile of the node executing in the calling thread or null if disabled or there is none; used to
+     *         account data to a node when it's read later, see {@link #recordDataRead(NodeProfile, long, long)}
+     */
+    public static NodeProfile currentProfile() {
+        if (!enabled) {
+            return null;
+        }
+        NodeContext context = NodeContext.getContext();
+        NodeContainer nc = context == null ? null : context.getNodeContainer();
+        return nc == null ? null : nc.getNodeTimer().getProfile();
+    }
+
+    /**
+     * Accounts a closed data container to the node executing in the calling thread (if any).
+     *
+     * @param rows number of rows written
+     * @param bytes number of bytes written to disk, 0 if the data is kept in memory
+     */
+    public static void recordDataWritten(final long rows, final long bytes) {
+        NodeProfile profile = currentProfile();
+        if (profile != null) {
+            profile.m_rowsWritten.addAndGet(rows);
+            profile.m_bytesWritten.addAndGet(bytes);
+        }
+    }
+
+    /**
+     * Accounts rows returned by a table iterator to a node, called when the iterator is closed or exhausted.
+     *
+     * @param profile the profile of the node that opened the iterator, see {@link #currentProfile()}
+     * @param rows number of rows returned by the iterator
+     * @param bytes number of bytes read from the table file, 0 if the table is held in memory
+     */
+    public static void recordDataRead(final NodeProfile profile, final long rows, final long bytes) {
+        profile.m_rowsRead.addAndGet(rows);
+        profile.m_bytesRead.addAndGet(bytes);
+    }
+
+    /**
+     * Accounts time spent waiting for a {@link WorkflowLock} to the node executing in the calling thread (if any).
+     *
+     * @param nanos the wait time
+     */
+    static void recordLockWait(final long nanos) {
+        NodeProfile profile = currentProfile();
+        if (profile != null) {
+            profile.m_lockWaitNanos.addAndGet(nanos);
+        }
+    }
+
+    /** @return spec of the table created by {@link #createProfileTable(WorkflowManager, ExecutionContext)} */
+    public static DataTableSpec getProfileTableSpec() {
+        DataTableSpecCreator dtsc = new DataTableSpecCreator();
+        dtsc.addColumns(
+            new DataColumnSpecCreator("Node ID", StringCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("Node Name", StringCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("Executions", IntCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("Execution Time [ms]", LongCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("CPU Time [ms]", LongCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("Allocated Bytes", LongCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("Rows Read", LongCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("Bytes Read", LongCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("Rows Written", LongCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("Bytes Written", LongCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("Lock Wait Time [ms]", LongCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("Queue Wait Time [ms]", LongCell.TYPE).createSpec());
+        return dtsc.createSpec();
+    }
+
+    /**
+     * Creates a table with the profile of each node in the given workflow, including nodes in metanodes and wrapped
+     * metanodes. Nodes that have not been executed while profiling was enabled are omitted.
+     *
+     * @param wfm the workflow
+     * @param exec to create the table
+     * @return a table following {@link #getProfileTableSpec()}
+     * @throws CanceledExecutionException if canceled
+     */
+    public static BufferedDataTable createProfileTable(final WorkflowManager wfm, final ExecutionContext exec)
+        throws CanceledExecutionException {
+        BufferedDataContainer result = exec.createDataContainer(getProfileTableSpec());
+        addProfileRows(wfm, result, exec);
+        result.close();
+        return result.getTable();
+    }
+
+    private static void addProfileRows(final WorkflowManager wfm, final BufferedDataContainer result,
+        final ExecutionContext exec) throws CanceledExecutionException {
+        for (NodeContainer nc : wfm.getNodeContainers()) {
+            exec.checkCanceled();
+            if (nc instanceof WorkflowManager) {
+                addProfileRows((WorkflowManager)nc, result, exec);
+                continue;
+            } else if (nc instanceof SubNodeContainer) {
+                addProfileRows(((SubNodeContainer)nc).getWorkflowManager(), result, exec);
+            }
+            NodeProfile p = nc.getNodeTimer().getProfile();
+            if (p.getExecutions() == 0) {
+                continue;
+            }
+            result.addRowToTable(new DefaultRow(new RowKey(nc.getID().toString()),
+                new StringCell(nc.getID().toString()),
+                new StringCell(nc.getName()),
+                new IntCell((int)Math.min(Integer.MAX_VALUE, p.getExecutions())),
+                new LongCell(TimeUnit.NANOSECONDS.toMillis(p.getWallNanos())),
+                new LongCell(TimeUnit.NANOSECONDS.toMillis(p.getCpuNanos())),
+                new LongCell(p.getAllocatedBytes()),
+                new LongCell(p.getRowsRead()),
+                new LongCell(p.getBytesRead()),
+                new LongCell(p.getRowsWritten()),
+                new LongCell(p.getBytesWritten()),
+                new LongCell(TimeUnit.NANOSECONDS.toMillis(p.getLockWaitNanos())),
+                new LongCell(TimeUnit.NANOSECONDS.toMillis(p.getQueueWaitNanos()))));
+        }
+    }
+}
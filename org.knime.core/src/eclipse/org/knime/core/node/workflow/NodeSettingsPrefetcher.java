@@ -0,0 +1,177 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.node.workflow;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeSettings;
+import org.knime.core.node.NodeSettingsRO;
+
+/**
+ * Reads the settings files of the nodes contained in a workflow (settings.xml, workflow.knime) in background threads
+ * while the {@link FileWorkflowPersistor} creates the node persistors one after the other. Parsing these files is
+ * independent for each node and accounts for a good part of the time it takes to open a large workflow; the
+ * instantiation of the nodes (factory lookup, model creation) remains in the loading thread.
+ *
+ * <p>
+ * The number of threads is controlled by {@link KNIMEConstants#PROPERTY_WORKFLOW_LOAD_THREADS}.
+ *
+ * @author agent
+ */
+final class NodeSettingsPrefetcher {
+
+    private static final int NR_THREADS = Math.max(1, Integer.getInteger(
+        KNIMEConstants.PROPERTY_WORKFLOW_LOAD_THREADS, Runtime.getRuntime().availableProcessors()));
+
+    private static final ThreadPoolExecutor READ_EXECUTOR;
+
+    static {
+        READ_EXECUTOR = new ThreadPoolExecutor(NR_THREADS, NR_THREADS, 10L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                private final AtomicInteger m_counter = new AtomicInteger();
+
+                @Override
+                public Thread newThread(final Runnable r) {
+                    Thread t = new Thread(r, "KNIME-Workflow-Settings-Reader-" + m_counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+        READ_EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
+    private final WorkflowPersistor m_decipherPersistor;
+
+    private final Map<File, Future<NodeSettingsRO>> m_pendingReads = new HashMap<>();
+
+    /**
+     * @param decipherPersistor the persistor of the workflow containing the nodes, used to decipher the files of
+     *            encrypted metanodes (see {@link WorkflowPersistor#decipherInput(InputStream)})
+     */
+    NodeSettingsPrefetcher(final WorkflowPersistor decipherPersistor) {
+        m_decipherPersistor = decipherPersistor;
+    }
+
+    /** @return true if files are read in background threads, false if reading is left to the loading thread. */
+    static boolean isEnabled() {
+        return NR_THREADS > 1;
+    }
+
+    /** Schedules the given file for reading, ignored if it was already scheduled.
+     * @param settingsFile the settings file of a node */
+    void submit(final File settingsFile) {
+        if (!m_pendingReads.containsKey(settingsFile)) {
+            m_pendingReads.put(settingsFile, READ_EXECUTOR.submit(() -> read(settingsFile)));
+        }
+    }
+
+    /**
+     * Waits for and returns the content of a file previously passed to {@link #submit(File)}. Each file can only be
+     * taken once.
+     *
+     * @param settingsFile the settings file of a node
+     * @return its content or <code>null</code> if the file was not scheduled (or the waiting thread got interrupted),
+     *         in which case the caller needs to read the file itself
+     * @throws IOException if reading the file failed
+     */
+    NodeSettingsRO take(final File settingsFile) throws IOException {
+        final Future<NodeSettingsRO> future = m_pendingReads.remove(settingsFile);
+        if (future == null) {
+            return null;
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException)cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new IOException("Unable to read \"" + settingsFile.getAbsolutePath() + "\": "
+                + cause.getMessage(), cause);
+        }
+    }
+
+    /** Cancels the reads of files that were not taken (e.g. nodes that were skipped due to other load errors). */
+    void cancelRemaining() {
+        m_pendingReads.values().forEach(f -> f.cancel(true));
+        m_pendingReads.clear();
+    }
+
+    private NodeSettingsRO read(final File settingsFile) throws IOException {
+        InputStream in = new FileInputStream(settingsFile);
+        try {
+            in = m_decipherPersistor == null ? in : m_decipherPersistor.decipherInput(in);
+            return NodeSettings.loadFromXML(new BufferedInputStream(in));
+        } finally {
+            in.close();
+        }
+    }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.node.workflow;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Keeps a running histogram of the {@link InternalNodeContainerState} of the nodes contained in a {@link Workflow}
+ * plus the number of nodes carrying an error message. Nodes push their changes into the counter (see
+ * {@link NodeContainer#setStateCounter(NodeStateCounter)}) so that {@link WorkflowManager#computeNewState()} doesn't
+ * need to visit all nodes each time a single node changes its state.
+ *
+ * <p>
+ * Metanodes are not counted as their state is derived lazily (see {@link WorkflowManager#getInternalState()}).
+ *
+ * @author agent
+ */
+final class NodeStateCounter {
+
+    private static final InternalNodeContainerState[] STATES = InternalNodeContainerState.values();
+
+    private final AtomicIntegerArray m_nrNodesInState = new AtomicIntegerArray(STATES.length);
+
+    private final AtomicInteger m_nrNodes = new AtomicInteger();
+
+    private final AtomicInteger m_nrNodesWithError = new AtomicInteger();
+
+    /** Adds a node in the given state.
+     * @param state the node's state
+     * @param hasError whether the node has an error message */
+    void add(final InternalNodeContainerState state, final boolean hasError) {
+        m_nrNodesInState.incrementAndGet(state.ordinal());
+        m_nrNodes.incrementAndGet();
+        if (hasError) {
+            m_nrNodesWithError.incrementAndGet();
+        }
+    }
+
+    /** Removes a node that was previously added with the given arguments.
+     * @param state the state the node was last counted in
+     * @param hasError the error flag the node was last counted with */
+    void remove(final InternalNodeContainerState state, final boolean hasError) {
+        m_nrNodesInState.decrementAndGet(state.ordinal());
+        m_nrNodes.decrementAndGet();
+        if (hasError) {
+            m_nrNodesWithError.decrementAndGet();
+        }
+    }
+
+    /** Moves a node from one state (and error flag) to another.
+     * @param oldState previously counted state
+     * @param oldError previously counted error flag
+     * @param newState new state
+     * @param newError new error flag */
+    void update(final InternalNodeContainerState oldState, final boolean oldError,
+        final InternalNodeContainerState newState, final boolean newError) {
+        if (oldState != newState) {
+            m_nrNodesInState.incrementAndGet(newState.ordinal());
+            m_nrNodesInState.decrementAndGet(oldState.ordinal());
+        }
+        if (oldError != newError) {
+            if (newError) {
+                m_nrNodesWithError.incrementAndGet();
+            } else {
+                m_nrNodesWithError.decrementAndGet();
+            }
+        }
+    }
+
+    /** @return number of counted nodes */
+    int getNrNodes() {
+        return m_nrNodes.get();
+    }
+
+    /** @return number of counted nodes having an error message */
+    int getNrNodesWithError() {
+        return m_nrNodesWithError.get();
+    }
+
+    /** Adds the current histogram to the argument array (indexed by {@link InternalNodeContainerState#ordinal()}).
+     * @param nrNodesInState array to add to */
+    void addTo(final int[] nrNodesInState) {
+        for (int i = 0; i < STATES.length; i++) {
+            nrNodesInState[i] += m_nrNodesInState.get(i);
+        }
+    }
+
+    /** @param message node message to test, may be null
+     * @return whether the message is an error message */
+    static boolean isError(final NodeMessage message) {
+        return message != null && NodeMessage.Type.ERROR.equals(message.getMessageType());
+    }
+
+}
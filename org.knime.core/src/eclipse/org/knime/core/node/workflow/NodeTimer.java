@@ -127,6 +127,7 @@ public final class NodeTimer {
     private long m_executionDurationOverall;
     private int m_numberOfExecutionsSinceReset;
     private int m_numberOfExecutionsOverall;
+    private final NodeProfiler.NodeProfile m_profile = new NodeProfiler.NodeProfile();
 
     /**
      * Container holding stats for the entire instance and all nodes that have been used/timed.
@@ -192,6 +193,18 @@ void addExecutionTime(final String cname, final boolean success, final long exec
                 processStatChanges();
             }
         }
+        /** Average execution time of nodes of the given type, as recorded over all sessions.
+         * @param cname The canonical name of the node type.
+         * @return the average in milliseconds or -1 if nodes of this type have not been executed yet. */
+        synchronized long getAverageExecutionTime(final String cname) {
+            NodeStats ns = m_globalNodeStats.get(cname);
+            if (ns == null) {
+                return -1;
+            }
+            int count = ns.executionCount + ns.failureCount;
+            return count == 0 ? -1 : ns.executionTime / count;
+        }
+
         public void addNodeCreation(final NodeContainer nc) {
             if (DISABLE_GLOBAL_TIMER) {
                 return;
@@ -700,6 +713,24 @@ public int getNrExecsSinceStart() {
         return m_numberOfExecutionsOverall;
     }
 
+    /** Estimates the duration of the next execution of the node, used to prioritize nodes on the critical path. It's
+     * the average of the previous executions of this node or, if it hasn't been executed yet, the average of all
+     * recorded executions of nodes of the same type.
+     * @return the expected duration in milliseconds or -1 if unknown.
+     * @since 3.7 */
+    public long getExpectedExecutionDuration() {
+        if (m_numberOfExecutionsOverall > 0) {
+            return m_executionDurationOverall / m_numberOfExecutionsOverall;
+        }
+        return GLOBAL_TIMER.getAverageExecutionTime(getCanonicalName(m_parent));
+    }
+
+    /** @return the resource usage of the node, only populated if {@linkplain NodeProfiler#isEnabled() enabled}.
+     * @since 3.7 */
+    public NodeProfiler.NodeProfile getProfile() {
+        return m_profile;
+    }
+
     private void initialize() {
         m_startTime = -1;
         m_lastExecutionDuration = -1;
@@ -0,0 +1,660 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.node.workflow;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.knime.core.data.filestore.internal.IWriteFileStoreHandler;
+import org.knime.core.data.filestore.internal.WriteFileStoreHandler;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.NodeSettings;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.config.ConfigEditTreeModel;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.workflow.FlowVariable.Scope;
+import org.knime.core.node.workflow.virtual.parchunk.ParallelizedChunkExecution;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkNodeInput;
+
+/**
+ * Executes the remote chunks of a parallel chunk loop without copying the loop body into the workflow (see
+ * {@link KNIMEConstants#PROPERTY_LIGHTWEIGHT_PARALLEL_CHUNKS}). Worker threads take the chunks from a shared queue
+ * and, for each chunk, create fresh {@link Node} instances from the factories and settings of the loop body nodes and
+ * run them in topological order. Node instances are not shared between chunks as a node's output and internally held
+ * tables are only valid until it is executed again. The objects arriving at the loop end node are kept per chunk and
+ * handed to the end node via {@link ParallelizedChunkExecution#getOutportContent()}; the reason a chunk failed is
+ * available from {@link ParallelizedChunkExecution#getFailure()}.
+ *
+ * <p>
+ * Only loop bodies consisting of native nodes (no nested loops or scopes, see {@link #canExecute(WorkflowManager,
+ * NodeID, NodeID, NodeID[])}) can be run that way.
+ *
+ * @author agent
+ */
+final class ParallelChunkBodyExecutor {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(ParallelChunkBodyExecutor.class);
+
+    private enum ChunkState {
+        IDLE, QUEUED, EXECUTING, EXECUTED, FAILED;
+    }
+
+    /** Where an input of a body node (or the end node) comes from. */
+    private static final class InputSource {
+        /** Index of the body node providing the input or -1 if from start node or external. */
+        private final int m_bodyIndex;
+
+        /** Output port of the source node. */
+        private final int m_port;
+
+        /** Whether the source is the loop start node. */
+        private final boolean m_fromStart;
+
+        /** The object provided by a node outside the loop body (executed before the loop started). */
+        private final PortObject m_externalObject;
+
+        /** The flow object stack provided by a node outside the loop body. */
+        private final FlowObjectStack m_externalStack;
+
+        private InputSource(final int bodyIndex, final int port, final boolean fromStart,
+            final PortObject externalObject, final FlowObjectStack externalStack) {
+            m_bodyIndex = bodyIndex;
+            m_port = port;
+            m_fromStart = fromStart;
+            m_externalObject = externalObject;
+            m_externalStack = externalStack;
+        }
+    }
+
+    /** A node of the loop body, serves as template for the node instances. */
+    private static final class BodyNode {
+        private final NativeNodeContainer m_template;
+
+        private final NodeSettings m_modelSettings;
+
+        private final NodeSettingsRO m_variablesSettings;
+
+        private final InputSource[] m_inputs;
+
+        private BodyNode(final NativeNodeContainer template, final InputSource[] inputs) {
+            m_template = template;
+            m_modelSettings = template.getSingleNodeContainerSettings().getModelSettingsClone();
+            m_variablesSettings = template.getSingleNodeContainerSettings().getVariablesSettings();
+            m_inputs = inputs;
+        }
+    }
+
+    /** The node instances created for one run of a chunk, kept until the chunk data is no longer needed. */
+    private final class ChunkRun {
+        private final Node[] m_nodes = new Node[m_bodyNodes.length];
+
+        /** Output of the nodes - kept alive until disposal as downstream chunk data may reference it. */
+        private final PortObject[][] m_outputs = new PortObject[m_bodyNodes.length][];
+
+        private final List<IWriteFileStoreHandler> m_fileStoreHandlers = new ArrayList<>();
+
+        private String m_lastErrorMessage;
+
+        private Node createNode(final int index) throws InvalidSettingsException {
+            BodyNode body = m_bodyNodes[index];
+            Node node = new Node(body.m_template.getNode().getFactory());
+            node.addMessageListener(e -> {
+                NodeMessage message = e.getMessage();
+                if (message.getMessageType() == NodeMessage.Type.ERROR) {
+                    m_lastErrorMessage = message.getMessage();
+                }
+            });
+            m_nodes[index] = node;
+            if (body.m_variablesSettings == null) {
+                node.validateModelSettings(body.m_modelSettings);
+                node.loadModelSettingsFrom(body.m_modelSettings);
+            }
+            return node;
+        }
+
+        private void dispose() {
+            WorkflowDataRepository dataRepository = m_wfm.getWorkflowDataRepository();
+            for (int i = 0; i < m_nodes.length; i++) {
+                Node node = m_nodes[i];
+                if (node == null) {
+                    continue;
+                }
+                NodeContext.pushContext(m_bodyNodes[i].m_template);
+                try {
+                    if (m_outputs[i] != null) {
+                        node.removeOutputTablesFromGlobalRepository(dataRepository);
+                    }
+                    node.cleanOutPorts(false);
+                    node.cleanup();
+                } catch (Throwable t) {
+                    LOGGER.error("Unable to dispose chunk data of node \""
+                        + m_bodyNodes[i].m_template.getNameWithID() + "\": " + t.getMessage(), t);
+                } finally {
+                    NodeContext.removeLastContext();
+                }
+                m_nodes[i] = null;
+                m_outputs[i] = null;
+            }
+            for (IWriteFileStoreHandler fsh : m_fileStoreHandlers) {
+                fsh.clearAndDispose();
+            }
+            m_fileStoreHandlers.clear();
+        }
+    }
+
+    /** A single remote chunk. */
+    private final class Chunk implements ParallelizedChunkExecution {
+        private final VirtualParallelizedChunkNodeInput m_input;
+
+        private volatile ChunkState m_state = ChunkState.IDLE;
+
+        private volatile PortObject[] m_result;
+
+        private volatile Throwable m_failure;
+
+        /** The node instances of the successful run, guarded by the executor. */
+        private ChunkRun m_run;
+
+        private volatile Runnable m_listener;
+
+        private volatile DefaultNodeProgressMonitor m_progress;
+
+        private Chunk(final VirtualParallelizedChunkNodeInput input) {
+            m_input = input;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void execute() {
+            queue(this);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isExecuted() {
+            return m_state == ChunkState.EXECUTED;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isExecutionInProgress() {
+            ChunkState state = m_state;
+            return state == ChunkState.QUEUED || state == ChunkState.EXECUTING;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void cancel() {
+            ParallelChunkBodyExecutor.this.cancel(this);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public PortObject[] getOutportContent() {
+            return m_result;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Throwable getFailure() {
+            return m_state == ChunkState.FAILED ? m_failure : null;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void setStatusListener(final Runnable listener) {
+            m_listener = listener;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void dispose() {
+            ParallelChunkBodyExecutor.this.dispose();
+        }
+
+        private void notifyListener() {
+            Runnable listener = m_listener;
+            if (listener != null) {
+                listener.run();
+            }
+        }
+    }
+
+    private final WorkflowManager m_wfm;
+
+    private final NativeNodeContainer m_startNode;
+
+    /** The start node's outgoing stack, basis of each chunk's stack. */
+    private final FlowObjectStack m_startStack;
+
+    /** In the order of execution (each node after its predecessors). */
+    private final BodyNode[] m_bodyNodes;
+
+    /** Sources of the end node's inputs (index 0 = flow variable port). */
+    private final InputSource[] m_endInputs;
+
+    private final Chunk[] m_chunks;
+
+    private final int m_maxWorkers;
+
+    /** All fields below guarded by this. */
+    private final ArrayDeque<Chunk> m_queue = new ArrayDeque<>();
+
+    private int m_nrWorkers;
+
+    private boolean m_disposed;
+
+    /**
+     * Creates the executor. Must be called while holding the workflow lock, after the start node has been executed.
+     *
+     * @param wfm the workflow containing the loop
+     * @param startID the loop start node
+     * @param endID the loop end node
+     * @param bodyIDs the nodes in the loop body, each node listed after its predecessors
+     * @param nrChunks the number of remote chunks
+     * @throws IllegalArgumentException if the body can't be executed this way, see
+     *             {@link #canExecute(WorkflowManager, NodeID, NodeID, NodeID[])}
+     */
+    ParallelChunkBodyExecutor(final WorkflowManager wfm, final NodeID startID, final NodeID endID,
+        final NodeID[] bodyIDs, final int nrChunks) {
+        assert wfm.isLockedByCurrentThread();
+        if (!canExecute(wfm, startID, endID, bodyIDs)) {
+            throw new IllegalArgumentException("Loop body can't be executed without copying");
+        }
+        m_wfm = wfm;
+        m_startNode = (NativeNodeContainer)wfm.getNodeContainer(startID);
+        m_startStack = m_startNode.createOutFlowObjectStack();
+        // body is sorted so that nodes come after their predecessors (Workflow#findAllNodesConnectedToLoopBody)
+        Map<NodeID, Integer> bodyIndex = new HashMap<>();
+        for (int i = 0; i < bodyIDs.length; i++) {
+            bodyIndex.put(bodyIDs[i], i);
+        }
+        m_bodyNodes = new BodyNode[bodyIDs.length];
+        for (int i = 0; i < bodyIDs.length; i++) {
+            NativeNodeContainer nnc = (NativeNodeContainer)wfm.getNodeContainer(bodyIDs[i]);
+            m_bodyNodes[i] = new BodyNode(nnc, createInputSources(wfm, bodyIDs[i], startID, bodyIndex));
+        }
+        m_endInputs = createInputSources(wfm, endID, startID, bodyIndex);
+        LoopStartParallelizeNode startModel = wfm.castNodeModel(startID, LoopStartParallelizeNode.class);
+        m_chunks = new Chunk[nrChunks];
+        for (int i = 0; i < nrChunks; i++) {
+            m_chunks[i] = new Chunk(startModel.getVirtualNodeInput(i));
+        }
+        m_maxWorkers = Math.max(1, Math.min(nrChunks, KNIMEConstants.GLOBAL_THREAD_POOL.getMaxThreads()));
+    }
+
+    /**
+     * Checks whether the given loop body can be executed without copying: all nodes must be native nodes that are
+     * neither loop nor scope nodes, and all inputs from outside the loop must be available.
+     *
+     * @param wfm the workflow containing the loop
+     * @param startID the loop start node
+     * @param endID the loop end node
+     * @param bodyIDs the nodes in the loop body
+     * @return that property
+     */
+    static boolean canExecute(final WorkflowManager wfm, final NodeID startID, final NodeID endID,
+        final NodeID[] bodyIDs) {
+        if (!(wfm.getNodeContainer(startID) instanceof NativeNodeContainer)) {
+            return false;
+        }
+        List<NodeID> body = Arrays.asList(bodyIDs);
+        List<NodeID> consumers = new ArrayList<>(body);
+        consumers.add(endID);
+        for (NodeID id : consumers) {
+            NodeContainer nc = wfm.getNodeContainer(id);
+            if (!id.equals(endID)) {
+                if (!(nc instanceof NativeNodeContainer)) {
+                    return false;
+                }
+                NativeNodeContainer nnc = (NativeNodeContainer)nc;
+                if (nnc.isModelCompatibleTo(ScopeStartNode.class) || nnc.isModelCompatibleTo(ScopeEndNode.class)) {
+                    return false;
+                }
+            }
+            for (int p = 0; p < nc.getNrInPorts(); p++) {
+                ConnectionContainer cc = wfm.getIncomingConnectionFor(id, p);
+                if (cc == null || cc.getSource().equals(startID) || body.contains(cc.getSource())) {
+                    continue;
+                }
+                NodeOutPort port = getSourcePort(wfm, cc);
+                if (port == null || port.getPortObject() == null) {
+                    // external input not (yet) available
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static NodeOutPort getSourcePort(final WorkflowManager wfm, final ConnectionContainer cc) {
+        if (cc.getSource().equals(wfm.getID())) {
+            return wfm.getWorkflowIncomingPort(cc.getSourcePort());
+        }
+        return wfm.getNodeContainer(cc.getSource()).getOutPort(cc.getSourcePort());
+    }
+
+    private static InputSource[] createInputSources(final WorkflowManager wfm, final NodeID id, final NodeID startID,
+        final Map<NodeID, Integer> bodyIndex) {
+        NodeContainer nc = wfm.getNodeContainer(id);
+        InputSource[] result = new InputSource[nc.getNrInPorts()];
+        for (int p = 0; p < result.length; p++) {
+            ConnectionContainer cc = wfm.getIncomingConnectionFor(id, p);
+            if (cc == null) {
+                // unconnected (optional) input
+            } else if (cc.getSource().equals(startID)) {
+                result[p] = new InputSource(-1, cc.getSourcePort(), true, null, null);
+            } else if (bodyIndex.containsKey(cc.getSource())) {
+                result[p] = new InputSource(bodyIndex.get(cc.getSource()), cc.getSourcePort(), false, null, null);
+            } else {
+                NodeOutPort port = getSourcePort(wfm, cc);
+                result[p] = new InputSource(-1, cc.getSourcePort(), false, port.getPortObject(),
+                    port.getFlowObjectStack());
+            }
+        }
+        return result;
+    }
+
+    /** @return number of chunks */
+    int getNrChunks() {
+        return m_chunks.length;
+    }
+
+    /**
+     * @param index chunk index
+     * @return the execution of the given chunk
+     */
+    ParallelizedChunkExecution getChunk(final int index) {
+        return m_chunks[index];
+    }
+
+    private void queue(final Chunk chunk) {
+        synchronized (this) {
+            if (m_disposed) {
+                throw new IllegalStateException("Parallel chunks have been disposed");
+            }
+            switch (chunk.m_state) {
+                case QUEUED:
+                case EXECUTING:
+                case EXECUTED:
+                    return;
+                default:
+                    // (re-)queue idle or failed chunk
+            }
+            chunk.m_state = ChunkState.QUEUED;
+            chunk.m_result = null;
+            chunk.m_failure = null;
+            m_queue.add(chunk);
+            if (m_nrWorkers >= m_maxWorkers) {
+                return;
+            }
+            m_nrWorkers++;
+        }
+        KNIMEConstants.GLOBAL_THREAD_POOL.enqueue(this::runWorker);
+    }
+
+    private void cancel(final Chunk chunk) {
+        boolean notify = false;
+        synchronized (this) {
+            if (chunk.m_state == ChunkState.QUEUED) {
+                m_queue.remove(chunk);
+                chunk.m_failure = new CanceledExecutionException();
+                chunk.m_state = ChunkState.FAILED;
+                notify = true;
+            } else if (chunk.m_state == ChunkState.EXECUTING && chunk.m_progress != null) {
+                chunk.m_progress.setExecuteCanceled();
+            }
+        }
+        if (notify) {
+            chunk.notifyListener();
+        }
+    }
+
+    private void dispose() {
+        List<ChunkRun> runs = new ArrayList<>();
+        synchronized (this) {
+            if (m_disposed) {
+                return;
+            }
+            m_disposed = true;
+            for (Chunk c : m_queue) {
+                c.m_failure = new CanceledExecutionException();
+                c.m_state = ChunkState.FAILED;
+            }
+            m_queue.clear();
+            for (Chunk c : m_chunks) {
+                if (c.m_progress != null) {
+                    c.m_progress.setExecuteCanceled();
+                }
+                if (c.m_run != null) {
+                    runs.add(c.m_run);
+                    c.m_run = null;
+                }
+            }
+        }
+        // runs currently in progress are disposed by their worker
+        runs.forEach(ChunkRun::dispose);
+    }
+
+    private void runWorker() {
+        while (true) {
+            Chunk chunk;
+            synchronized (this) {
+                chunk = m_disposed ? null : m_queue.poll();
+                if (chunk == null) {
+                    m_nrWorkers--;
+                    return;
+                }
+                chunk.m_state = ChunkState.EXECUTING;
+                chunk.m_progress = new DefaultNodeProgressMonitor();
+            }
+            ChunkRun run = new ChunkRun();
+            PortObject[] result = null;
+            Throwable failure = null;
+            try {
+                result = runChunk(run, chunk);
+            } catch (CanceledExecutionException e) {
+                failure = e;
+            } catch (Throwable t) {
+                LOGGER.error("Execution of parallel chunk " + chunk.m_input.getChunkIndex() + " failed: "
+                    + t.getMessage(), t);
+                failure = t;
+            }
+            boolean keepRun;
+            synchronized (this) {
+                keepRun = failure == null && !m_disposed;
+                chunk.m_progress = null;
+                chunk.m_result = failure == null ? result : null;
+                chunk.m_failure = failure;
+                chunk.m_run = keepRun ? run : null;
+                chunk.m_state = failure == null ? ChunkState.EXECUTED : ChunkState.FAILED;
+            }
+            if (!keepRun) {
+                run.dispose();
+            }
+            chunk.notifyListener();
+        }
+    }
+
+    /**
+     * Runs the body nodes on the chunk's input, creating the nodes of the given run, and returns the objects passed to
+     * the end node.
+     *
+     * @throws CanceledExecutionException if the chunk was canceled
+     * @throws Exception if a node fails to configure or execute
+     */
+    private PortObject[] runChunk(final ChunkRun run, final Chunk chunk) throws Exception {
+        final WorkflowDataRepository dataRepository = m_wfm.getWorkflowDataRepository();
+        FlowObjectStack chunkStack = new FlowObjectStack(m_startNode.getID(), m_startStack);
+        for (FlowVariable v : chunk.m_input.getFlowVariables()) {
+            chunkStack.push(FlowObjectStack.cloneUnsetOwner(v));
+        }
+        final PortObject[][] outputs = run.m_outputs;
+        final FlowObjectStack[] outStacks = new FlowObjectStack[m_bodyNodes.length];
+        for (int b = 0; b < m_bodyNodes.length; b++) {
+            chunk.m_progress.checkCanceled();
+            final BodyNode body = m_bodyNodes[b];
+            final NativeNodeContainer template = body.m_template;
+            final NodeID id = template.getID();
+            final PortObject[] inData = new PortObject[body.m_inputs.length];
+            final PortObjectSpec[] inSpecs = new PortObjectSpec[body.m_inputs.length];
+            final List<FlowObjectStack> inStacks = new ArrayList<>();
+            for (int p = 0; p < inData.length; p++) {
+                InputSource src = body.m_inputs[p];
+                if (src != null) {
+                    inData[p] = resolve(src, chunk, outputs);
+                    inStacks.add(resolveStack(src, chunkStack, outStacks));
+                    inSpecs[p] = inData[p] == null ? null : inData[p].getSpec();
+                }
+            }
+            NodeContext.pushContext(template);
+            try {
+                Node node = run.createNode(b);
+                FlowObjectStack inStack =
+                    new FlowObjectStack(id, inStacks.toArray(new FlowObjectStack[inStacks.size()]));
+                FlowObjectStack outgoingStack = new FlowObjectStack(id);
+                node.setFlowObjectStack(inStack, outgoingStack);
+                if (body.m_variablesSettings != null) {
+                    NodeSettings settings = new NodeSettings("ignored");
+                    body.m_modelSettings.copyTo(settings);
+                    ConfigEditTreeModel configEditor = ConfigEditTreeModel.create(settings, body.m_variablesSettings);
+                    List<FlowVariable> exposed =
+                        configEditor.overwriteSettings(settings, inStack.getAvailableFlowVariables());
+                    node.validateModelSettings(settings);
+                    node.loadModelSettingsFrom(settings);
+                    List<FlowVariable> reverseOrder = new ArrayList<>(exposed);
+                    Collections.reverse(reverseOrder);
+                    for (FlowVariable v : reverseOrder) {
+                        outgoingStack.push(v);
+                    }
+                }
+                if (!node.configure(inSpecs)) {
+                    throw new InvalidSettingsException(createFailureMessage("Configuration", template, chunk, run));
+                }
+                IWriteFileStoreHandler fsh = new WriteFileStoreHandler(
+                    template.getNameWithID() + " (chunk " + chunk.m_input.getChunkIndex() + ")", UUID.randomUUID());
+                fsh.addToRepository(dataRepository);
+                run.m_fileStoreHandlers.add(fsh);
+                node.setFileStoreHandler(fsh);
+                ExecutionContext exec = new ExecutionContext(chunk.m_progress, node,
+                    template.getOutDataMemoryPolicy(), dataRepository);
+                node.openFileStoreHandler(exec);
+                boolean success;
+                try {
+                    success = node.execute(inData, null, exec);
+                } finally {
+                    fsh.close();
+                }
+                if (!success) {
+                    chunk.m_progress.checkCanceled();
+                    throw new IllegalStateException(createFailureMessage("Execution", template, chunk, run));
+                }
+                node.putOutputTablesIntoGlobalRepository(dataRepository);
+                outputs[b] = new PortObject[node.getNrOutPorts()];
+                for (int o = 0; o < outputs[b].length; o++) {
+                    outputs[b][o] = node.getOutputObject(o);
+                }
+                // mirrors SingleNodeContainer#createOutFlowObjectStack
+                FlowObjectStack outStack = new FlowObjectStack(id, inStack);
+                for (FlowObject v : outgoingStack.getFlowObjectsOwnedBy(id, Scope.Local)) {
+                    outStack.push(v);
+                }
+                outStacks[b] = outStack;
+            } finally {
+                NodeContext.removeLastContext();
+            }
+        }
+        PortObject[] result = new PortObject[m_endInputs.length - 1];
+        for (int p = 1; p < m_endInputs.length; p++) {
+            result[p - 1] = m_endInputs[p] == null ? null : resolve(m_endInputs[p], chunk, outputs);
+        }
+        return result;
+    }
+
+    private static String createFailureMessage(final String what, final NativeNodeContainer template,
+        final Chunk chunk, final ChunkRun run) {
+        return what + " of \"" + template.getNameWithID() + "\" in parallel chunk " + chunk.m_input.getChunkIndex()
+            + " failed" + (run.m_lastErrorMessage == null ? "" : ": " + run.m_lastErrorMessage);
+    }
+
+    private PortObject resolve(final InputSource src, final Chunk chunk, final PortObject[][] outputs) {
+        if (src.m_fromStart) {
+            return src.m_port == 0 ? m_startNode.getOutPort(0).getPortObject()
+                : chunk.m_input.getInputObjects()[src.m_port - 1];
+        } else if (src.m_bodyIndex >= 0) {
+            return outputs[src.m_bodyIndex][src.m_port];
+        } else {
+            return src.m_externalObject;
+        }
+    }
+
+    private static FlowObjectStack resolveStack(final InputSource src, final FlowObjectStack chunkStack,
+        final FlowObjectStack[] outStacks) {
+        if (src.m_fromStart) {
+            return chunkStack;
+        } else if (src.m_bodyIndex >= 0) {
+            return outStacks[src.m_bodyIndex];
+        } else {
+            return src.m_externalStack;
+        }
+    }
+
+}
@@ -79,6 +79,12 @@ class Workflow {
     /** mapping from NodeID to Nodes. */
     private final TreeMap<NodeID, NodeContainer> m_nodes = new TreeMap<NodeID, NodeContainer>();
 
+    /** Histogram of the states of all (non-metanode) nodes in m_nodes, maintained by the nodes themselves. */
+    private final NodeStateCounter m_stateCounter = new NodeStateCounter();
+
+    /** Subset of m_nodes that are metanodes - their state is not tracked by m_stateCounter. */
+    private final TreeMap<NodeID, WorkflowManager> m_metaNodes = new TreeMap<NodeID, WorkflowManager>();
+
     // Connections (by node, source and destination). Note that meta
     // connections (in- and outgoing of this workflow) are also part
     // of these maps. They will have our own ID as source/dest ID.
@@ -154,7 +160,15 @@ void putNode(final NodeID id, final NodeContainer nc) {
         m_connectionsBySource.put(id, new LinkedHashSet<ConnectionContainer>());
         m_connectionsByDest.put(id, new LinkedHashSet<ConnectionContainer>());
         // and then add node (avoid inconsistent node - connection setup)
-        m_nodes.put(id, nc);
+        NodeContainer old = m_nodes.put(id, nc);
+        if (old != null && old != nc) {
+            unregisterFromStateCounter(id, old);
+        }
+        if (nc instanceof WorkflowManager) {
+            m_metaNodes.put(id, (WorkflowManager)nc);
+        } else {
+            nc.setStateCounter(m_stateCounter);
+        }
         clearGraphAnnotationCache();
     }
 
@@ -166,6 +180,9 @@ void putNode(final NodeID id, final NodeContainer nc) {
     NodeContainer removeNode(final NodeID id) {
         // remove node
         NodeContainer node = m_nodes.remove(id);
+        if (node != null) {
+            unregisterFromStateCounter(id, node);
+        }
         // and then clean up the connection lists  (avoid inconsistent node - connection setup)
         m_connectionsBySource.remove(id);
         m_connectionsByDest.remove(id);
@@ -174,6 +191,29 @@ NodeContainer removeNode(final NodeID id) {
         return node;
     }
 
+    private void unregisterFromStateCounter(final NodeID id, final NodeContainer nc) {
+        if (nc instanceof WorkflowManager) {
+            m_metaNodes.remove(id);
+        } else {
+            nc.setStateCounter(null);
+        }
+    }
+
+    /**
+     * @return the counter keeping track of the states of all nodes that are not metanodes, not null.
+     */
+    NodeStateCounter getStateCounter() {
+        return m_stateCounter;
+    }
+
+    /**
+     * @return unmodifiable collection of all metanodes that are part of this workflow (their state is not tracked by
+     *         {@link #getStateCounter()}).
+     */
+    Collection<WorkflowManager> getMetaNodeValues() {
+        return Collections.unmodifiableCollection(m_metaNodes.values());
+    }
+
     /**
      * @return collection of all NodeContainers that are part of this workflow.
      */
@@ -119,7 +119,12 @@ boolean isHeldByCurrentThread() {
      * @return this.
      */
     public WorkflowLock lock() {
-        m_reentrantLock.lock();
+        if (!m_reentrantLock.tryLock()) {
+            // contended - measure how long the (executing) node is blocked
+            final long waitStart = System.nanoTime();
+            m_reentrantLock.lock();
+            NodeProfiler.recordLockWait(System.nanoTime() - waitStart);
+        }
         if (KNIMEConstants.ASSERTIONS_ENABLED) {
             hasNoChildLocked();
         }
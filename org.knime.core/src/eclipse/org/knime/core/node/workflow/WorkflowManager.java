@@ -3332,6 +3332,21 @@ private void parallelizeLoop(final NodeID startID) throws IllegalLoopException {
                 extInConnections.put(npi, index);
                 index++;
             }
+            if (startNode.getNrRemoteChunks() > 0
+                && Boolean.getBoolean(KNIMEConstants.PROPERTY_LIGHTWEIGHT_PARALLEL_CHUNKS)
+                && ParallelChunkBodyExecutor.canExecute(this, startID, endID, loopNodes)) {
+                // run chunks on instances of the loop body's node models, no need to copy the loop body
+                ParallelChunkBodyExecutor executor =
+                    new ParallelChunkBodyExecutor(this, startID, endID, loopNodes, startNode.getNrRemoteChunks());
+                ParallelizedChunkContentMaster pccm =
+                    new ParallelizedChunkContentMaster(null, endNode, executor.getNrChunks());
+                for (int i = 0; i < executor.getNrChunks(); i++) {
+                    pccm.addParallelChunk(i, new ParallelizedChunkContent(executor.getChunk(i)));
+                }
+                startNode.setChunkMaster(pccm);
+                pccm.executeChunks();
+                return;
+            }
             WorkflowManager subwfm = null;
             if (startNode.getNrRemoteChunks() > 0) {
                 subwfm = createAndAddSubWorkflow(exposedInportTypes, new PortType[0], "Parallel Chunks");
@@ -5489,13 +5504,16 @@ public WorkflowDataRepository getWorkflowDataRepository() {
     InternalNodeContainerState computeNewState() {
         assert m_workflowLock.isHeldByCurrentThread();
         int[] nrNodesInState = new int[InternalNodeContainerState.values().length];
-        int nrNodes = 0;
-        boolean internalNodeHasError = false;
-        for (NodeContainer ncIt : m_workflow.getNodeValues()) {
-            nrNodesInState[ncIt.getInternalState().ordinal()]++;
+        // the states of all nodes but metanodes are counted incrementally as they change (avoids a full scan of
+        // all nodes on each lock release); metanodes are inspected individually as their state is derived lazily
+        NodeStateCounter stateCounter = m_workflow.getStateCounter();
+        stateCounter.addTo(nrNodesInState);
+        int nrNodes = stateCounter.getNrNodes();
+        boolean internalNodeHasError = stateCounter.getNrNodesWithError() > 0;
+        for (WorkflowManager metaNode : m_workflow.getMetaNodeValues()) {
+            nrNodesInState[metaNode.getInternalState().ordinal()]++;
             nrNodes++;
-            if ((ncIt.getNodeMessage() != null)
-                && (ncIt.getNodeMessage().getMessageType().equals(NodeMessage.Type.ERROR))) {
+            if (NodeStateCounter.isError(metaNode.getNodeMessage())) {
                 internalNodeHasError = true;
             }
         }
@@ -7535,6 +7553,10 @@ public static FileWorkflowPersistor createLoadPersistor(final File directory, fi
     public WorkflowLoadResult load(final File directory, final ExecutionMonitor exec,
         final WorkflowLoadHelper loadHelper, final boolean keepNodeMessages) throws IOException,
         InvalidSettingsException, CanceledExecutionException, UnsupportedWorkflowVersionException, LockFailedException {
+        if (!directory.exists()) {
+            // an auto-save that was interrupted while replacing the previous copy
+            IncrementalSaveSupport.recoverAutoSave(directory);
+        }
         ReferencedFile rootFile = new ReferencedFile(directory);
         boolean isTemplate = loadHelper.isTemplateFlow();
         if (!isTemplate) {
@@ -7704,8 +7726,12 @@ WorkflowCopyContent loadContent(final NodeContainerPersistor nodePersistor,
             persistorMap.put(id, p);
         }
         persistor.postLoad(this, loadResult);
+        NodeLoadTimes loadTimes = persistor instanceof FileWorkflowPersistor
+            ? ((FileWorkflowPersistor)persistor).getNodeLoadTimes() : new NodeLoadTimes();
         try {
-            postLoad(persistorMap, tblRep, persistor.mustWarnOnDataLoadError(), exec, loadResult, preserveNodeMessage);
+            postLoad(persistorMap, tblRep, persistor.mustWarnOnDataLoadError(), exec, loadResult, preserveNodeMessage,
+                loadTimes);
+            loadTimes.logBreakdown(LOGGER, getNameWithID());
         } catch (CanceledExecutionException cee) {
             for (NodeID insertedNodeID : translationMap.values()) {
                 removeNode(insertedNodeID);
@@ -7747,8 +7773,8 @@ WorkflowCopyContent loadContent(final NodeContainerPersistor nodePersistor,
 
     private void postLoad(final Map<NodeID, NodeContainerPersistor> persistorMap,
         final Map<Integer, BufferedDataTable> tblRep, final boolean mustWarnOnDataLoadError,
-        final ExecutionMonitor exec, final LoadResult loadResult, final boolean keepNodeMessage)
-        throws CanceledExecutionException {
+        final ExecutionMonitor exec, final LoadResult loadResult, final boolean keepNodeMessage,
+        final NodeLoadTimes loadTimes) throws CanceledExecutionException {
         // linked set because we need reverse order later on
         Collection<NodeID> failedNodes = new LinkedHashSet<NodeID>();
         boolean isStateChangePredictable = false;
@@ -7812,6 +7838,8 @@ private void postLoad(final Map<NodeID, NodeContainerPersistor> persistorMap,
             // two steps below: loadNodeContainer and loadContent
             ExecutionMonitor sub1 = exec.createSubProgress(1.0 / (2 * m_workflow.getNrNodes()));
             ExecutionMonitor sub2 = exec.createSubProgress(1.0 / (2 * m_workflow.getNrNodes()));
+            loadTimes.setName(persistor, cont.getNameWithID());
+            final long dataLoadStart = System.nanoTime();
             NodeContext.pushContext(cont);
             try {
                 persistor.loadNodeContainer(tblRep, sub1, subResult);
@@ -7827,11 +7855,14 @@ private void postLoad(final Map<NodeID, NodeContainerPersistor> persistorMap,
                 NodeContext.removeLastContext();
             }
             sub1.setProgress(1.0);
+            final long contentLoadStart = System.nanoTime();
+            loadTimes.add(persistor, NodeLoadTimes.Phase.DATA, contentLoadStart - dataLoadStart);
             // if cont == isolated metanodes, then we need to block that metanode as well
             // (that is being asserted in methods which get called indirectly)
             try (WorkflowLock lock = cont instanceof WorkflowManager ? ((WorkflowManager)cont).lock() : lock()) {
                 cont.loadContent(persistor, tblRep, inStack, sub2, subResult, keepNodeMessage);
             }
+            loadTimes.add(persistor, NodeLoadTimes.Phase.CONTENT, System.nanoTime() - contentLoadStart);
             sub2.setProgress(1.0);
             if (persistor.isDirtyAfterLoad()) {
                 cont.setDirty();
@@ -8190,9 +8221,19 @@ public void save(final File directory, final WorkflowSaveHelper saveHelper, fina
                 if (isTemplate) {
                     FileWorkflowPersistor.saveAsTemplate(this, directoryReference, exec, saveHelper);
                 } else {
-                    FileWorkflowPersistor.save(this, directoryReference, exec, saveHelper);
+                    if (saveHelper.isIncrementalSave() && saveHelper.isAutoSave() && !isWorkingDirectory) {
+                        IncrementalSaveSupport.saveAutoSaveStaged(this, directoryReference, exec, saveHelper);
+                    } else {
+                        FileWorkflowPersistor.save(this, directoryReference, exec, saveHelper);
+                    }
                     WorkflowSaveHook.runHooks(this, saveHelper.isSaveData(), workflowDir);
                 }
+                if (saveHelper.isIncrementalSave()) {
+                    LOGGER.debugWithFormat("Saved \"%s\" to \"%s\" (%s written, %s linked from unchanged nodes)",
+                        getNameWithID(), workflowDir.getAbsolutePath(),
+                        FileUtils.byteCountToDisplaySize(saveHelper.getBytesWritten()),
+                        FileUtils.byteCountToDisplaySize(saveHelper.getBytesReused()));
+                }
             } finally {
                 directoryReference.writeUnlock();
             }
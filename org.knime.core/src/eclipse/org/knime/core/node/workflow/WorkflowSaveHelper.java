@@ -51,6 +51,7 @@
 import java.io.File;
 
 import org.knime.core.internal.ReferencedFile;
+import org.knime.core.node.KNIMEConstants;
 
 /**
  * Helper object to specify options when workflow gets saved.
@@ -62,6 +63,10 @@ public final class WorkflowSaveHelper {
     private boolean m_saveData;
     private boolean m_isAutoSave;
     private boolean m_isSaveWizardController;
+    private boolean m_isIncrementalSave;
+
+    private long m_bytesWritten;
+    private long m_bytesReused;
 
     /**
      * @param saveData ...
@@ -71,6 +76,7 @@ public WorkflowSaveHelper(final boolean saveData, final boolean isAutoSave) {
         m_saveData = saveData;
         m_isAutoSave = isAutoSave;
         m_isSaveWizardController = false;
+        m_isIncrementalSave = Boolean.getBoolean(KNIMEConstants.PROPERTY_INCREMENTAL_WORKFLOW_SAVE);
     }
 
     /** @return the saveData */
@@ -106,6 +112,43 @@ public WorkflowSaveHelper setSaveWizardController(final boolean value) {
         return this;
     }
 
+    /** @return the isIncrementalSave, see {@link #setIncrementalSave(boolean)}.
+     * @since 3.7 */
+    public boolean isIncrementalSave() {
+        return m_isIncrementalSave;
+    }
+    /** Enables the incremental save mode. Nodes whose directory in the workflow's working location (or its auto-save
+     * copy) is up to date are not serialized again when saving to another location (auto-save, save as) but their
+     * files are hard-linked (or copied if the file system doesn't support links). Auto-saves are written into a
+     * temporary directory that replaces the previous auto-save copy once complete. Defaults to the value of
+     * {@link KNIMEConstants#PROPERTY_INCREMENTAL_WORKFLOW_SAVE}.
+     * @param value the isIncrementalSave to set
+     * @return this (for method chaining).
+     * @since 3.7 */
+    public WorkflowSaveHelper setIncrementalSave(final boolean value) {
+        m_isIncrementalSave = value;
+        return this;
+    }
+    /** @return the number of bytes written by the save routine (only counted in incremental save mode).
+     * @since 3.7 */
+    public long getBytesWritten() {
+        return m_bytesWritten;
+    }
+    /** @return the number of bytes of unchanged node directories that were hard-linked instead of written (only
+     * counted in incremental save mode).
+     * @since 3.7 */
+    public long getBytesReused() {
+        return m_bytesReused;
+    }
+    /** @param bytes number of bytes to add to {@link #getBytesWritten()} */
+    void addBytesWritten(final long bytes) {
+        m_bytesWritten += bytes;
+    }
+    /** @param bytes number of bytes to add to {@link #getBytesReused()} */
+    void addBytesReused(final long bytes) {
+        m_bytesReused += bytes;
+    }
+
     public static File getAutoSaveDirectory(final ReferencedFile workflowDir) {
         File f = workflowDir.getFile();
         return new File(f.getParentFile(), "." + f.getName() + ".autoSave");
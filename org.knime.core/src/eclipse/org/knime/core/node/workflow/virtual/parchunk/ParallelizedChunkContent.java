@@ -54,7 +54,9 @@
 
 /**
  * An object representing the copied content of a chunk that is executed in
- * parallel.
+ * parallel. If the chunk is run without copying the loop body (see
+ * {@link #ParallelizedChunkContent(ParallelizedChunkExecution)}) all calls are
+ * delegated to the {@link ParallelizedChunkExecution}.
  * @author wiswedel, University of Konstanz
  */
 public final class ParallelizedChunkContent {
@@ -63,6 +65,7 @@ public final class ParallelizedChunkContent {
 	private final NodeID m_virtualInputID;
 	private final NodeID m_virtualOutputID;
 	private final NodeID[] m_copiedLoopContent;
+	private final ParallelizedChunkExecution m_execution;
 
 	/**
 	 * @param manager
@@ -84,26 +87,45 @@ public ParallelizedChunkContent(final WorkflowManager manager,
 		m_virtualInputID = virtualInputID;
 		m_virtualOutputID = virtualOutputID;
 		m_copiedLoopContent = copiedLoopContent;
+		m_execution = null;
+	}
+
+	/**
+	 * Chunk that is executed without nodes in a workflow.
+	 * @param execution the execution of the chunk, not null
+	 * @since 3.7
+	 */
+	public ParallelizedChunkContent(final ParallelizedChunkExecution execution) {
+	    if (execution == null) {
+	        throw new NullPointerException("Argument must not be null");
+	    }
+	    m_manager = null;
+	    m_virtualInputID = null;
+	    m_virtualOutputID = null;
+	    m_copiedLoopContent = new NodeID[0];
+	    m_execution = execution;
 	}
 
 	/**
 	 * Trigger execution of branch for this chunk.
 	 */
 	public void executeChunk() {
-	    if (m_manager != null) {
+	    if (m_execution != null) {
+	        m_execution.execute();
+	    } else if (m_manager != null) {
 	        m_manager.executeUpToHere(m_virtualOutputID);
 	    }
 	}
 
 	/**
-	 * @return the virtualOutputID
+	 * @return the virtualOutputID (null if executed without copied nodes)
 	 */
 	public NodeID getVirtualOutputID() {
 		return m_virtualOutputID;
 	}
 
 	/**
-	 * @return the copiedLoopContent
+	 * @return the copiedLoopContent (empty if executed without copied nodes)
 	 */
 	public NodeID[] getCopiedLoopContent() {
 		return m_copiedLoopContent;
@@ -114,6 +136,10 @@ public NodeID[] getCopiedLoopContent() {
      */
     public void registerLoopEndStateChangeListener(
             final ParallelizedChunkContentMaster pccm) {
+        if (m_execution != null) {
+            m_execution.setStatusListener(() -> pccm.chunkStatusChanged());
+            return;
+        }
         m_manager.getNodeContainer(m_virtualOutputID)
                 .addNodeStateChangeListener(pccm);
     }
@@ -123,6 +149,10 @@ public void registerLoopEndStateChangeListener(
      */
     public void removeLoopEndStateChangeListener(
             final ParallelizedChunkContentMaster pccm) {
+        if (m_execution != null) {
+            m_execution.setStatusListener(null);
+            return;
+        }
         m_manager.getNodeContainer(m_virtualOutputID)
                 .removeNodeStateChangeListener(pccm);
     }
@@ -131,7 +161,9 @@ public void removeLoopEndStateChangeListener(
      * Remove all nodes (and connections) of this chunk.
      */
     public void removeAllNodesFromWorkflow() {
-        if (m_manager != null) {
+        if (m_execution != null) {
+            m_execution.dispose();
+        } else if (m_manager != null) {
             m_manager.removeNode(m_virtualOutputID);
             for (NodeID id : m_copiedLoopContent) {
                 m_manager.removeNode(id);
@@ -144,6 +176,9 @@ public void removeAllNodesFromWorkflow() {
      * @return true if chunk is completely executed.
      */
     public boolean isExecuted() {
+        if (m_execution != null) {
+            return m_execution.isExecuted();
+        }
         return m_manager.getNodeContainer(m_virtualOutputID).getNodeContainerState().isExecuted();
     }
 
@@ -151,6 +186,9 @@ public boolean isExecuted() {
      * @return true if chunk is still being executed (or waiting to be...)
      */
     public boolean executionInProgress() {
+        if (m_execution != null) {
+            return m_execution.isExecutionInProgress();
+        }
         return m_manager.getNodeContainer(m_virtualOutputID).getNodeContainerState().isExecutionInProgress();
     }
 
@@ -158,6 +196,10 @@ public boolean executionInProgress() {
      * Cancel execution.
      */
     public void cancelExecution() {
+        if (m_execution != null) {
+            m_execution.cancel();
+            return;
+        }
         m_manager.cancelExecution(m_manager.getNodeContainer(m_virtualInputID));
         for (NodeID id : m_copiedLoopContent) {
             m_manager.cancelExecution(m_manager.getNodeContainer(id));
@@ -170,8 +212,31 @@ public void cancelExecution() {
      * @return array with PortObjects at the end node of this chunk.
      */
     public PortObject[] getOutportContent() {
+        if (m_execution != null) {
+            return m_execution.getOutportContent();
+        }
         VirtualParallelizedChunkPortObjectOutNodeModel vpoonm = m_manager.castNodeModel(
                 m_virtualOutputID, VirtualParallelizedChunkPortObjectOutNodeModel.class);
         return vpoonm.getOutObjects();
     }
+
+    /**
+     * @return the exception that caused the chunk to fail if it was executed without copied nodes, null if it did not
+     *         fail or if the chunk is represented by copied nodes (whose messages are shown in the workflow).
+     * @since 3.7
+     */
+    public Throwable getExecutionFailure() {
+        if (m_execution != null) {
+            return m_execution.getFailure();
+        }
+        return null;
+    }
+
+    /** Disposes the data of a chunk that was executed without copied nodes (the
+     * copied nodes are otherwise removed along with their metanode). */
+    void disposeExecution() {
+        if (m_execution != null) {
+            m_execution.dispose();
+        }
+    }
 }
@@ -74,6 +74,7 @@ public class ParallelizedChunkContentMaster implements NodeStateChangeListener {
      * the chunks are located in.
      *
      * @param wfm the workflowmanager holding the chunks - can be <code>null</code> if no 'remote' chunks are available
+     *            or if they are not executed as copied nodes
      * @param endNode corresponding end node of the loop
      * @param chunkCount the number of chunks.
      */
@@ -169,6 +170,23 @@ public int nrFailedChunks() {
         return count;
     }
 
+    /**
+     * @return the exception that caused the first failed chunk to fail if the chunks are executed without copied
+     *         nodes, otherwise null
+     * @see ParallelizedChunkContent#getExecutionFailure()
+     * @since 3.7
+     */
+    public Throwable getChunkFailure() {
+        for (int i = 0; i < m_chunks.length; i++) {
+            ParallelizedChunkContent pcc = m_chunks[i];
+            Throwable failure = pcc == null ? null : pcc.getExecutionFailure();
+            if (failure != null) {
+                return failure;
+            }
+        }
+        return null;
+    }
+
     /**
      * Trigger cancelation of chunk execution
      */
@@ -192,6 +210,7 @@ public void cleanupChunks() {
                 ParallelizedChunkContent pbc = m_chunks[i];
                 if (pbc != null) {
                     pbc.removeLoopEndStateChangeListener(this);
+                    pbc.disposeExecution();
                     m_chunks[i] = null;
                 }
             }
@@ -214,6 +233,11 @@ public void cleanupChunks() {
      */
     @Override
     public void stateChanged(final NodeStateEvent state) {
+        chunkStatusChanged();
+    }
+
+    /** Called when the status of a chunk has changed. */
+    void chunkStatusChanged() {
         // notify end node about new status
         m_endNode.updateStatus();
     }
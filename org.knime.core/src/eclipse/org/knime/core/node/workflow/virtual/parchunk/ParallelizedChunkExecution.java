@@ -0,0 +1,94 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.core.node.workflow.virtual.parchunk;
+
+import org.knime.core.node.port.PortObject;
+
+/**
+ * The execution of a single chunk of a parallel chunk loop that is not represented by copied nodes in a workflow
+ * but run directly by the framework (see
+ * {@link org.knime.core.node.KNIMEConstants#PROPERTY_LIGHTWEIGHT_PARALLEL_CHUNKS}).
+ *
+ * <p>NO API!
+ *
+ * @author agent
+ * @since 3.7
+ * @noimplement This interface is not intended to be implemented by clients.
+ * @noreference This interface is not intended to be referenced by clients.
+ */
+public interface ParallelizedChunkExecution {
+
+    /** Queues the chunk for execution (ignored if already queued, executing or executed). */
+    void execute();
+
+    /** @return true if the chunk is completely executed. */
+    boolean isExecuted();
+
+    /** @return true if the chunk is still being executed (or waiting to be...) */
+    boolean isExecutionInProgress();
+
+    /** Cancels the execution of the chunk. */
+    void cancel();
+
+    /** @return the objects that the loop body has passed to the end node for this chunk, null if not executed. */
+    PortObject[] getOutportContent();
+
+    /**
+     * @return the exception that caused the last execution of the chunk to fail (a
+     *         {@link org.knime.core.node.CanceledExecutionException} if it was canceled), null if the chunk has not
+     *         failed.
+     */
+    Throwable getFailure();
+
+    /** @param listener called whenever the execution status of the chunk changes (or null to remove it). */
+    void setStatusListener(Runnable listener);
+
+    /** Disposes all data (tables, file stores) held for the chunk. */
+    void dispose();
+
+}
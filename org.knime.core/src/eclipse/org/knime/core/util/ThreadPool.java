@@ -48,14 +48,15 @@
  */
 package org.knime.core.util;
 
-import java.util.HashSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.LinkedList;
-import java.util.Queue;
-import java.util.Set;
+import java.util.List;
+import java.util.ListIterator;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
@@ -63,6 +64,8 @@
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.NodeLogger;
@@ -70,19 +73,57 @@
 /**
  * Implements a sophisticated thread pool.
  *
+ * <p>
+ * The pool and all its sub pools (see {@link #createSubPool(int)}) share the same worker threads. A task is only
+ * started if the number of running tasks in its pool and in all ancestor pools is below the respective maximum thread
+ * count. Threads that wait for other tasks (in {@link #runInvisible(Callable)}, {@link #waitForTermination()} or in
+ * {@link Future#get()} of a future returned by this pool) don't count as running.
+ *
+ * <p>
+ * Scheduling is work-stealing: tasks that are enqueued by a task running in the pool are put into the deque of the
+ * executing worker, which runs them last-in-first-out, while idle workers steal the oldest tasks from the deques of
+ * other workers. A thread of the pool waiting for the result of a task (in {@link Future#get()} or when submitting)
+ * runs this task itself if it has not been started yet and its pool has a free thread, so that nested (fork/join
+ * style) parallelism does not block pool threads. No other task is run while waiting, since it may depend on the
+ * waiting task or run much longer than the awaited one. Tasks enqueued from outside the pool or with a priority (see
+ * {@link #enqueue(Runnable, long)}) are put into a shared queue and started in the order of decreasing priority and in
+ * the order of submission if the priority is equal. Tasks enqueued without priority have {@link #DEFAULT_PRIORITY},
+ * so that they are started before any prioritized task. These are usually tasks of running jobs (e.g. submitted to a
+ * sub pool), which should be finished before new jobs are started.
+ *
  * @author Thorsten Meinl, University of Konstanz
  */
 public class ThreadPool {
 
+    /**
+     * The priority of tasks enqueued without explicit priority, it's larger than any other priority.
+     *
+     * @since 3.7
+     */
+    public static final long DEFAULT_PRIORITY = Long.MAX_VALUE;
+
+    /** Time after which idle workers terminate. */
+    private static final long IDLE_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(90);
+
+    private static final AtomicInteger WORKER_COUNTER = new AtomicInteger();
+
     private class MyFuture<T> extends FutureTask<T> {
         private final CountDownLatch m_startWaiter = new CountDownLatch(1);
         private final ClassLoader m_contextClassloader = Thread.currentThread().getContextClassLoader();
+        private final long m_priority;
+
+        /** The queue this task is waiting in, null if not queued (anymore). Guarded by scheduler lock. */
+        private Deque<MyFuture<?>> m_queue;
+
+        /** Run once the task is done, see {@link ThreadPool#enqueue(Runnable, long, Runnable)}. May be null. */
+        private Runnable m_whenDone;
 
         /**
          * @see FutureTask#FutureTask(Callable)
          */
         public MyFuture(final Callable<T> callable) {
             super(ThreadUtils.callableWithContext(callable, false));
+            m_priority = DEFAULT_PRIORITY;
         }
 
         /**
@@ -95,10 +136,12 @@ public MyFuture(final Callable<T> callable) {
          *            don't need a particular result, consider using
          *            constructions of the form: <tt>Future&lt;?&gt; f =
          *            new FutureTask&lt;Object&gt;(runnable, null)</tt>
+         * @param priority the priority of the task when queued
          * @throws NullPointerException if runnable is null
          */
-        public MyFuture(final Runnable runnable, final T result) {
+        public MyFuture(final Runnable runnable, final T result, final long priority) {
             super(ThreadUtils.runnableWithContext(runnable, false), result);
+            m_priority = priority;
         }
 
         /**
@@ -134,6 +177,7 @@ public boolean cancel(final boolean mayInterruptIfRunning) {
             boolean b = super.cancel(mayInterruptIfRunning);
             if (b) {
                 m_startWaiter.countDown();
+                removeCanceled(this);
             }
             return b;
         }
@@ -141,30 +185,61 @@ public boolean cancel(final boolean mayInterruptIfRunning) {
         /**
          * Waits until this future has started its execution. Returns
          * immediately if the future is already running or even finished.
+         * If called by a thread of the pool the future is run in the calling
+         * thread if it has not been started yet (see {@link #get()}), otherwise
+         * the thread doesn't count as running while waiting.
          *
          * @throws InterruptedException if the current thread is interrupted
          *             while waiting
          */
         public void waitUntilStarted() throws InterruptedException {
-            m_startWaiter.await();
+            Worker w = currentWorker();
+            if (w == null || m_startWaiter.getCount() == 0) {
+                m_startWaiter.await();
+                return;
+            }
+            w.makeInvisible();
+            try {
+                w.runIfQueued(this);
+                m_startWaiter.await();
+            } finally {
+                w.makeVisible();
+            }
         }
 
         /**
          * {@inheritDoc}
+         *
+         * <p>
+         * If called by a thread of the pool the future is run in the calling thread if it has not been started yet
+         * and its pool has a free thread, otherwise the thread doesn't count as running while waiting.
          */
         @Override
         public T get() throws InterruptedException, ExecutionException {
-            if (Thread.currentThread() instanceof Worker) {
-                Worker w = (Worker)Thread.currentThread();
-                w.m_startedFrom.m_invisibleThreads.incrementAndGet();
+            Worker w = currentWorker();
+            if (w == null) {
+                return super.get();
+            }
+            w.makeInvisible();
+            try {
+                w.runIfQueued(this);
+                return super.get();
+            } finally {
+                w.makeVisible();
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void done() {
+            if (m_whenDone != null) {
                 try {
-                    checkQueue();
-                    return super.get();
-                } finally {
-                    w.m_startedFrom.m_invisibleThreads.decrementAndGet();
+                    m_whenDone.run();
+                } catch (RuntimeException ex) {
+                    NodeLogger.getLogger(ThreadPool.class).error("An exception occurred while completing a task.", ex);
                 }
-            } else {
-                return super.get();
             }
         }
 
@@ -174,36 +249,215 @@ void checkException() throws InterruptedException, ExecutionException {
 
         /**
          * {@inheritDoc}
+         *
+         * <p>
+         * The future is never run in the calling thread, since it may take longer than the timeout. If called by a
+         * thread of the pool the thread doesn't count as running while waiting.
          */
         @Override
         public T get(final long timeout, final TimeUnit unit)
                 throws InterruptedException, ExecutionException,
                 TimeoutException {
-            if (Thread.currentThread() instanceof Worker) {
-                Worker w = (Worker)Thread.currentThread();
-                w.m_startedFrom.m_invisibleThreads.incrementAndGet();
-                try {
-                    checkQueue();
-                    return super.get(timeout, unit);
-                } finally {
-                    w.m_startedFrom.m_invisibleThreads.decrementAndGet();
-                }
-            } else {
+            Worker w = currentWorker();
+            if (w == null) {
                 return super.get(timeout, unit);
             }
+            w.makeInvisible();
+            try {
+                return super.get(timeout, unit);
+            } finally {
+                w.makeVisible();
+            }
+        }
+    }
+
+    /**
+     * State shared by a root pool and all its sub pools: the workers, their deques and the shared queue. All
+     * scheduling decisions are made while holding {@link #m_lock}.
+     */
+    private static final class Scheduler {
+
+        private final ReentrantLock m_lock = new ReentrantLock();
+
+        private final Condition m_workAvailable = m_lock.newCondition();
+
+        private final List<Worker> m_workers = new ArrayList<Worker>();
+
+        /** Tasks enqueued from outside the pool or with priority, ordered by decreasing priority. */
+        private final LinkedList<MyFuture<?>> m_sharedQueue = new LinkedList<MyFuture<?>>();
+
+        /** Tasks that are already counted as running (see {@link ThreadPool#trySubmit(Runnable)}). */
+        private final Deque<MyFuture<?>> m_handOff = new ArrayDeque<MyFuture<?>>();
+
+        /** Number of tasks in {@link #m_sharedQueue} and in the deques of the workers. */
+        private int m_queuedTasks;
+
+        private int m_idleWorkers;
+
+        /** Number of workers that have been started but not looked for a task yet. */
+        private int m_startingWorkers;
+
+        private int m_stealOffset;
+
+        private long m_stealCount;
+
+        private long m_inlineCount;
+
+        private long m_idleNanos;
+
+        /** Inserts the task behind all queued tasks with the same or a higher priority. */
+        private void addToSharedQueue(final MyFuture<?> task) {
+            ListIterator<MyFuture<?>> it = m_sharedQueue.listIterator(m_sharedQueue.size());
+            while (it.hasPrevious()) {
+                if (it.previous().m_priority >= task.m_priority) {
+                    it.next();
+                    break;
+                }
+            }
+            it.add(task);
+            task.m_queue = m_sharedQueue;
+        }
+
+        /**
+         * Wakes up an idle worker or starts a new worker if tasks are queued. A worker that is started (or woken up)
+         * but doesn't find a startable task (e.g. due to the thread limit of a sub pool) becomes idle again.
+         */
+        private void ensureWorker() {
+            if (m_idleWorkers > 0) {
+                m_workAvailable.signalAll();
+            } else if (m_startingWorkers == 0 && (!m_handOff.isEmpty() || m_queuedTasks > 0)) {
+                Worker w = new Worker(this);
+                m_workers.add(w);
+                m_startingWorkers++;
+                w.start();
+            }
+        }
+
+        /** Called when the task has been removed from the shared queue or a worker's deque. */
+        private void dequeued(final MyFuture<?> task) {
+            task.m_queue = null;
+            m_queuedTasks--;
+        }
+
+        /** Removes and returns the first task of the queue that can be started, drops canceled tasks. */
+        private MyFuture<?> pollStartable(final Deque<MyFuture<?>> queue, final boolean lifo) {
+            Iterator<MyFuture<?>> it = lifo ? queue.descendingIterator() : queue.iterator();
+            while (it.hasNext()) {
+                MyFuture<?> f = it.next();
+                if (f.isCancelled()) {
+                    it.remove();
+                    dequeued(f);
+                    f.getPool().decrementPendingJobs();
+                } else if (f.getPool().canStart()) {
+                    it.remove();
+                    dequeued(f);
+                    return f;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Waits for the next task for the argument worker and marks it as running.
+         *
+         * @return the task or null if the worker has been idle for too long (or was interrupted) and must terminate
+         */
+        private MyFuture<?> takeTask(final Worker w) {
+            m_lock.lock();
+            try {
+                if (w.m_starting) {
+                    w.m_starting = false;
+                    m_startingWorkers--;
+                }
+                long idleNanos = IDLE_TIMEOUT_NANOS;
+                while (true) {
+                    MyFuture<?> f = m_handOff.pollFirst();
+                    if (f != null) {
+                        f.m_queue = null;
+                        return f;
+                    }
+                    f = findTask(w);
+                    if (f != null) {
+                        f.getPool().changeActiveThreads(1);
+                        if (m_idleWorkers == 0) {
+                            // more tasks may be startable, let the next worker continue
+                            ensureWorker();
+                        }
+                        return f;
+                    }
+                    if (idleNanos <= 0L) {
+                        terminate(w);
+                        return null;
+                    }
+                    m_idleWorkers++;
+                    long start = System.nanoTime();
+                    try {
+                        idleNanos = m_workAvailable.awaitNanos(idleNanos);
+                    } catch (InterruptedException ex) {
+                        terminate(w);
+                        return null;
+                    } finally {
+                        m_idleWorkers--;
+                        m_idleNanos += System.nanoTime() - start;
+                    }
+                }
+            } finally {
+                m_lock.unlock();
+            }
+        }
+
+        /** Own deque first (newest task), then steal from other workers (oldest task), then the shared queue. */
+        private MyFuture<?> findTask(final Worker w) {
+            MyFuture<?> f = pollStartable(w.m_deque, true);
+            if (f != null) {
+                return f;
+            }
+            final int workerCount = m_workers.size();
+            for (int i = 0; i < workerCount; i++) {
+                Worker victim = m_workers.get((m_stealOffset + i) % workerCount);
+                if (victim != w) {
+                    f = pollStartable(victim.m_deque, false);
+                    if (f != null) {
+                        m_stealOffset = (m_stealOffset + i + 1) % workerCount;
+                        m_stealCount++;
+                        return f;
+                    }
+                }
+            }
+            return pollStartable(m_sharedQueue, false);
+        }
+
+        private void terminate(final Worker w) {
+            m_workers.remove(w);
+            // tasks that couldn't be started due to thread limits are left for the others
+            for (MyFuture<?> f : w.m_deque) {
+                addToSharedQueue(f);
+            }
+            w.m_deque.clear();
+        }
+
+        private int getQueuedTaskCount() {
+            return m_queuedTasks + m_handOff.size();
         }
     }
 
-    private static int workerCounter;
+    private static final class Worker extends Thread {
+        private final Scheduler m_scheduler;
 
-    private static class Worker extends Thread {
-        private final Object m_lock = new Object();
+        /** Tasks enqueued by the tasks running in this worker. Guarded by the scheduler lock. */
+        private final Deque<MyFuture<?>> m_deque = new ArrayDeque<MyFuture<?>>();
 
-        private MyFuture<?> m_runnable;
+        /** The task currently running (the innermost if tasks are run while waiting). */
+        private volatile MyFuture<?> m_current;
 
-        private ThreadPool m_startedFrom;
+        /** The pool the worker is counted as running in (or null). Only accessed by this thread. */
+        private ThreadPool m_countedIn;
 
-        private boolean m_stopped;
+        /** Depth of nested invisible sections. Only accessed by this thread. */
+        private int m_invisibleDepth;
+
+        /** Whether the worker has not looked for a task yet. Guarded by the scheduler lock. */
+        private boolean m_starting = true;
 
         // set context class loader after each runnable#run -- we had problems with some cxf web service client that
         // hijacked the current thread and subsequent runnables were using some URL class loader set by cxf
@@ -212,8 +466,9 @@ private static class Worker extends Thread {
         /**
          * Creates a new worker.
          */
-        public Worker() {
-            super("KNIME-Worker-" + workerCounter++);
+        Worker(final Scheduler scheduler) {
+            super("KNIME-Worker-" + WORKER_COUNTER.getAndIncrement());
+            m_scheduler = scheduler;
             setPriority(Thread.MIN_PRIORITY + 2);
             setDaemon(true);
             m_contextClassLoaderAtInit = getContextClassLoader();
@@ -224,86 +479,148 @@ public Worker() {
          */
         @Override
         public void run() {
-            while (!isInterrupted()) {
-                ThreadPool startedFrom;
-                synchronized (m_lock) {
-                    if (m_runnable == null) {
-                        try {
-                            m_lock.wait(90 * 1000);
-                            if (m_runnable == null) {
-                                // then the timeout has occurred
-                                // and we end the thread
-                                m_stopped = true;
-                                return;
-                            }
-                        } catch (InterruptedException ex) {
-                            return;
-                        }
-                    }
-                    startedFrom = m_startedFrom;
+            MyFuture<?> f;
+            while ((f = m_scheduler.takeTask(this)) != null) {
+                m_countedIn = f.getPool();
+                runTask(f);
+            }
+        }
 
-                    try {
-                        m_runnable.run();
-                        m_runnable.checkException();
-                    } catch (InterruptedException ex) {
-                        NodeLogger.getLogger(ThreadPool.class).debug("Thread was interrupted");
-                    } catch (CancellationException ex) {
-                        NodeLogger.getLogger(ThreadPool.class).debug("Future was canceled");
-                    } catch (ExecutionException ex) {
-                        if (!(ex.getCause() instanceof CanceledExecutionException)) {
-                            // canceled execution exception is fine and will not be reported
-                            NodeLogger.getLogger(ThreadPool.class).error(
-                                "An exception occurred while executing a runnable.", ex.getCause());
-                        }
-                    } catch (Exception ex) {
-                        // prevent the worker from being terminated
-                        NodeLogger.getLogger(ThreadPool.class).error("An exception occurred while executing "
-                                + "a runnable.", ex);
-                    } finally {
-                        setContextClassLoader(m_contextClassLoaderAtInit);
+        /** Called when the task taken from the scheduler is done, before it's counted as finished. */
+        private void releaseThread() {
+            // the task may have been canceled, keep the worker alive
+            Thread.interrupted();
+            m_scheduler.m_lock.lock();
+            try {
+                m_countedIn.changeActiveThreads(-1);
+                m_countedIn = null;
+                if (m_scheduler.m_idleWorkers > 0) {
+                    m_scheduler.m_workAvailable.signalAll();
+                }
+            } finally {
+                m_scheduler.m_lock.unlock();
+            }
+        }
+
+        /** Runs the task in this thread, logs its exception and updates the pending job counters. */
+        private void runTask(final MyFuture<?> f) {
+            MyFuture<?> previous = m_current;
+            m_current = f;
+            try {
+                f.run();
+                f.checkException();
+            } catch (InterruptedException ex) {
+                NodeLogger.getLogger(ThreadPool.class).debug("Thread was interrupted");
+            } catch (CancellationException ex) {
+                NodeLogger.getLogger(ThreadPool.class).debug("Future was canceled");
+            } catch (ExecutionException ex) {
+                if (!(ex.getCause() instanceof CanceledExecutionException)) {
+                    // canceled execution exception is fine and will not be reported
+                    NodeLogger.getLogger(ThreadPool.class).error(
+                        "An exception occurred while executing a runnable.", ex.getCause());
+                }
+            } catch (Exception ex) {
+                // prevent the worker from being terminated
+                NodeLogger.getLogger(ThreadPool.class).error("An exception occurred while executing "
+                        + "a runnable.", ex);
+            } finally {
+                m_current = previous;
+                if (previous == null) {
+                    // not run while waiting for another task
+                    setContextClassLoader(m_contextClassLoaderAtInit);
+                    releaseThread();
+                }
+                f.getPool().decrementPendingJobs();
+            }
+        }
+
+        /**
+         * Called by an invisible thread before waiting for the argument future: runs it in this thread if it is still
+         * queued and can be started in its pool. While running it, the thread counts as running in the future's pool.
+         */
+        private void runIfQueued(final MyFuture<?> future) {
+            if (future.getPool().m_scheduler != m_scheduler || !unqueue(future)) {
+                return;
+            }
+            final ThreadPool countedIn = m_countedIn;
+            final int invisibleDepth = m_invisibleDepth;
+            m_countedIn = future.getPool();
+            m_invisibleDepth = 0;
+            try {
+                runTask(future);
+            } finally {
+                m_scheduler.m_lock.lock();
+                try {
+                    m_countedIn.changeActiveThreads(-1);
+                    if (m_scheduler.m_idleWorkers > 0) {
+                        m_scheduler.m_workAvailable.signalAll();
                     }
-                    m_runnable = null;
+                } finally {
+                    m_scheduler.m_lock.unlock();
                 }
-                startedFrom.workerFinished(this);
+                m_countedIn = countedIn;
+                m_invisibleDepth = invisibleDepth;
             }
         }
 
         /**
-         * Sets the runnable for this (sleeping) worker and awakes it. This
-         * method waits until the worker has finished the previous task if it is
-         * currently executing one.
+         * Removes the argument from its queue and counts it as running if it can be started.
          *
-         * @param r the Runnable to run
-         * @param pool the pool from which the worker is taken from
-         * @return <code>true</code> if the worker has been woken up,
-         *         <code>false</code> if not because the thread has already died
+         * @return whether the argument was queued and could be started
          */
-        public boolean wakeup(final MyFuture<?> r, final ThreadPool pool) {
-            synchronized (m_lock) {
-                if (m_stopped || !isAlive()) {
+        private boolean unqueue(final MyFuture<?> f) {
+            m_scheduler.m_lock.lock();
+            try {
+                if (f.m_queue == null || f.m_queue == m_scheduler.m_handOff || f.isCancelled()
+                    || !f.getPool().canStart()) {
                     return false;
                 }
-                m_runnable = r;
-                m_startedFrom = pool;
-                m_lock.notifyAll();
+                f.m_queue.remove(f);
+                m_scheduler.dequeued(f);
+                m_scheduler.m_inlineCount++;
+                f.getPool().changeActiveThreads(1);
+                return true;
+            } finally {
+                m_scheduler.m_lock.unlock();
             }
-            return true;
         }
-    }
-
-    private final Queue<Worker> m_availableWorkers;
 
-    private final AtomicInteger m_maxThreads = new AtomicInteger();
+        /** The thread doesn't count as running until {@link #makeVisible()} is called. */
+        private void makeInvisible() {
+            if (m_invisibleDepth++ == 0 && m_countedIn != null) {
+                m_scheduler.m_lock.lock();
+                try {
+                    m_countedIn.changeActiveThreads(-1);
+                    m_scheduler.ensureWorker();
+                } finally {
+                    m_scheduler.m_lock.unlock();
+                }
+            }
+        }
 
-    private final AtomicInteger m_invisibleThreads = new AtomicInteger();
+        private void makeVisible() {
+            if (--m_invisibleDepth == 0 && m_countedIn != null) {
+                m_scheduler.m_lock.lock();
+                try {
+                    m_countedIn.changeActiveThreads(1);
+                } finally {
+                    m_scheduler.m_lock.unlock();
+                }
+            }
+        }
+    }
 
-    private final AtomicInteger m_pendingJobs = new AtomicInteger();
+    private final Scheduler m_scheduler;
 
     private final ThreadPool m_parent;
 
-    private final Queue<MyFuture<?>> m_queuedFutures;
+    /** Guarded by the scheduler lock (written), volatile for unsynchronized reads. */
+    private volatile int m_maxThreads;
 
-    private final Set<Worker> m_runningWorkers = new HashSet<Worker>();
+    /** Number of running (visible) tasks of this pool and its sub pools. Guarded by the scheduler lock. */
+    private volatile int m_activeThreads;
+
+    private final AtomicInteger m_pendingJobs = new AtomicInteger();
 
     /**
      * Creates a new ThreadPool with a maximum number of threads.
@@ -314,10 +631,9 @@ public ThreadPool(final int maxThreads) {
         if (maxThreads < 1) {
             throw new IllegalArgumentException("Thread count must be > 0");
         }
-        m_maxThreads.set(maxThreads);
+        m_maxThreads = maxThreads;
         m_parent = null;
-        m_queuedFutures = new LinkedList<MyFuture<?>>();
-        m_availableWorkers = new ConcurrentLinkedQueue<Worker>();
+        m_scheduler = new Scheduler();
     }
 
     /**
@@ -331,28 +647,51 @@ protected ThreadPool(final int maxThreads, final ThreadPool parent) {
             throw new IllegalArgumentException("Thread count must be > 0");
         }
         m_parent = parent;
-        m_maxThreads.set(maxThreads);
-        m_queuedFutures = m_parent.m_queuedFutures;
-        m_availableWorkers = null;
+        m_maxThreads = maxThreads;
+        m_scheduler = m_parent.m_scheduler;
     }
 
-    private boolean checkQueue() {
-        synchronized (m_queuedFutures) {
-            for (Iterator<MyFuture<?>> it = m_queuedFutures.iterator(); it
-                    .hasNext();) {
-                MyFuture<?> f = it.next();
-                if (f.isCancelled()) {
-                    it.remove();
+    /** Removes a canceled task from its queue, so that it is not counted as pending anymore. */
+    private void removeCanceled(final MyFuture<?> f) {
+        m_scheduler.m_lock.lock();
+        try {
+            if (f.m_queue != null) {
+                f.m_queue.remove(f);
+                if (f.m_queue == m_scheduler.m_handOff) {
+                    // was already counted as running
+                    changeActiveThreads(-1);
+                    f.m_queue = null;
                 } else {
-                    ThreadPool pool = f.getPool();
-                    if (pool.wakeupWorker(f, pool) != null) {
-                        it.remove();
-                        return true;
-                    }
+                    m_scheduler.dequeued(f);
                 }
+                decrementPendingJobs();
             }
+        } finally {
+            m_scheduler.m_lock.unlock();
+        }
+    }
+
+    /** @return whether a task of this pool can be started now. Caller holds the scheduler lock. */
+    private boolean canStart() {
+        for (ThreadPool p = this; p != null; p = p.m_parent) {
+            if (p.m_activeThreads >= p.m_maxThreads) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Caller holds the scheduler lock. */
+    private void changeActiveThreads(final int delta) {
+        for (ThreadPool p = this; p != null; p = p.m_parent) {
+            p.m_activeThreads += delta;
         }
-        return false;
+    }
+
+    /** @return the worker running the current thread if it belongs to a pool, otherwise null */
+    private static Worker currentWorker() {
+        Thread t = Thread.currentThread();
+        return t instanceof Worker ? (Worker)t : null;
     }
 
     /**
@@ -361,7 +700,7 @@ private boolean checkQueue() {
      * @return a thread pool
      */
     public ThreadPool createSubPool() {
-        return new ThreadPool(m_maxThreads.get(), this);
+        return new ThreadPool(m_maxThreads, this);
     }
 
     /**
@@ -403,17 +742,31 @@ public <T> Future<T> enqueue(final Callable<T> task) {
         if (task == null) {
             throw new IllegalArgumentException("Task must not be null");
         }
-
         MyFuture<T> ftask = new MyFuture<T>(task);
+        addTask(ftask);
+        return ftask;
+    }
 
-        synchronized (m_queuedFutures) {
+    /** Puts the task into the deque of the current worker or the shared queue. */
+    private void addTask(final MyFuture<?> ftask) {
+        final Worker w = currentWorker();
+        m_scheduler.m_lock.lock();
+        try {
             incrementPendingJobs();
-            if (wakeupWorker(ftask, this) == null) {
-                m_queuedFutures.add(ftask);
+            m_scheduler.m_queuedTasks++;
+            if (w != null && w.m_current != null && w.m_scheduler == m_scheduler
+                && ftask.m_priority == DEFAULT_PRIORITY) {
+                ftask.m_queue = w.m_deque;
+                w.m_deque.addLast(ftask);
+            } else {
+                m_scheduler.addToSharedQueue(ftask);
+            }
+            if (canStart()) {
+                m_scheduler.ensureWorker();
             }
+        } finally {
+            m_scheduler.m_lock.unlock();
         }
-
-        return ftask;
     }
 
     private void incrementPendingJobs() {
@@ -446,15 +799,42 @@ private void decrementPendingJobs() {
      * @see #submit(Runnable)
      */
     public Future<?> enqueue(final Runnable r) {
-        MyFuture<?> ftask = new MyFuture<Object>(r, null);
+        return enqueue(r, DEFAULT_PRIORITY);
+    }
 
-        synchronized (m_queuedFutures) {
-            incrementPendingJobs();
-            if (wakeupWorker(ftask, this) == null) {
-                m_queuedFutures.add(ftask);
-            }
-        }
+    /**
+     * Submits a Runnable task for execution and returns a Future representing that task. The method immediately
+     * returns and puts the runnable into a queue if no thread is available. Queued tasks with higher priority are
+     * started first.
+     *
+     * @param r the task to submit
+     * @param priority the priority of the task, tasks without priority have {@link #DEFAULT_PRIORITY}
+     * @return a Future representing pending completion of the task, and whose <tt>get()</tt> method will return
+     *         <tt>null</tt> upon completion.
+     * @throws NullPointerException if <code>task</code> null
+     * @since 3.7
+     */
+    public Future<?> enqueue(final Runnable r, final long priority) {
+        return enqueue(r, priority, null);
+    }
 
+    /**
+     * Same as {@link #enqueue(Runnable, long)}, additionally runs a callback once the returned future is done, i.e.
+     * when the task has finished or when the future is canceled (also if the task never started, e.g. due to
+     * {@link #shutdown()}). The callback is run by the thread completing or canceling the future.
+     *
+     * @param r the task to submit
+     * @param priority the priority of the task, tasks without priority have {@link #DEFAULT_PRIORITY}
+     * @param whenDone the callback, may be null
+     * @return a Future representing pending completion of the task, and whose <tt>get()</tt> method will return
+     *         <tt>null</tt> upon completion.
+     * @throws NullPointerException if <code>task</code> null
+     * @since 3.7
+     */
+    public Future<?> enqueue(final Runnable r, final long priority, final Runnable whenDone) {
+        MyFuture<?> ftask = new MyFuture<Object>(r, null, priority);
+        ftask.m_whenDone = whenDone;
+        addTask(ftask);
         return ftask;
     }
 
@@ -484,16 +864,7 @@ public Future<?> enqueue(final Runnable r) {
      */
     public <T> Future<T> trySubmit(final Callable<T> t) {
         MyFuture<T> ftask = new MyFuture<T>(t);
-
-        synchronized (m_queuedFutures) {
-            incrementPendingJobs();
-            if (wakeupWorker(ftask, this) == null) {
-                decrementPendingJobs();
-                return null;
-            }
-        }
-
-        return ftask;
+        return tryHandOff(ftask) ? ftask : null;
     }
 
     /**
@@ -509,41 +880,25 @@ public <T> Future<T> trySubmit(final Callable<T> t) {
      * @see #submit(Runnable)
      */
     public Future<?> trySubmit(final Runnable r) {
-        MyFuture<?> ftask = new MyFuture<Object>(r, null);
-
-        synchronized (m_queuedFutures) {
-            incrementPendingJobs();
-            if (wakeupWorker(ftask, this) == null) {
-                decrementPendingJobs();
-                return null;
-            }
-        }
-
-        return ftask;
+        MyFuture<?> ftask = new MyFuture<Object>(r, null, DEFAULT_PRIORITY);
+        return tryHandOff(ftask) ? ftask : null;
     }
 
-    private Worker wakeupWorker(final MyFuture<?> task, final ThreadPool pool) {
-        synchronized (m_runningWorkers) {
-            if (m_runningWorkers.size() - m_invisibleThreads.get() < m_maxThreads
-                    .get()) {
-                Worker w;
-                if (m_parent == null) {
-                    w = m_availableWorkers.poll();
-                    while ((w == null) || !w.wakeup(task, pool)) {
-                        w = new Worker();
-                        w.start();
-                    }
-                } else {
-                    w = m_parent.wakeupWorker(task, pool);
-                }
-
-                if (w != null) {
-                    m_runningWorkers.add(w);
-                }
-                return w;
-            } else {
-                return null;
+    /** Counts the task as running and hands it to a worker if a thread is available. */
+    private boolean tryHandOff(final MyFuture<?> ftask) {
+        m_scheduler.m_lock.lock();
+        try {
+            if (!canStart()) {
+                return false;
             }
+            incrementPendingJobs();
+            changeActiveThreads(1);
+            ftask.m_queue = m_scheduler.m_handOff;
+            m_scheduler.m_handOff.addLast(ftask);
+            m_scheduler.ensureWorker();
+            return true;
+        } finally {
+            m_scheduler.m_lock.unlock();
         }
     }
 
@@ -553,7 +908,7 @@ private Worker wakeupWorker(final MyFuture<?> task, final ThreadPool pool) {
      * @return the maximum thread number
      */
     public int getMaxThreads() {
-        return m_maxThreads.get();
+        return m_maxThreads;
     }
 
     /**
@@ -563,7 +918,71 @@ public int getMaxThreads() {
      * @return the number of running threads
      */
     public int getRunningThreads() {
-        return m_runningWorkers.size() - m_invisibleThreads.get();
+        return m_activeThreads;
+    }
+
+    /**
+     * Returns the number of tasks that wait to be started, in this pool and all pools sharing its threads (i.e. the
+     * root pool and all its sub pools).
+     *
+     * @return the number of queued tasks
+     * @since 3.7
+     */
+    public int getQueuedTaskCount() {
+        m_scheduler.m_lock.lock();
+        try {
+            return m_scheduler.getQueuedTaskCount();
+        } finally {
+            m_scheduler.m_lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of tasks that an idle worker took from the deque of another worker, counted for the root pool
+     * and all its sub pools.
+     *
+     * @return the steal count
+     * @since 3.7
+     */
+    public long getStealCount() {
+        m_scheduler.m_lock.lock();
+        try {
+            return m_scheduler.m_stealCount;
+        } finally {
+            m_scheduler.m_lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of tasks that were run by a thread waiting for their result, counted for the root pool and all its sub pools.
+     *
+     * @return the number of tasks run while waiting
+     * @since 3.7
+     */
+    public long getInlineExecutionCount() {
+        m_scheduler.m_lock.lock();
+        try {
+            return m_scheduler.m_inlineCount;
+        } finally {
+            m_scheduler.m_lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the total time the workers of the root pool have been idle, i.e. waiting for tasks. Ongoing idle periods
+     * are not included.
+     *
+     * @param unit the unit of the result
+     * @return the accumulated idle time
+     * @since 3.7
+     */
+    public long getIdleTime(final TimeUnit unit) {
+        m_scheduler.m_lock.lock();
+        try {
+            return unit.convert(m_scheduler.m_idleNanos, TimeUnit.NANOSECONDS);
+        } finally {
+            m_scheduler.m_lock.unlock();
+        }
     }
 
     /**
@@ -583,43 +1002,19 @@ public int getRunningThreads() {
      *             reason
      */
     public <T> T runInvisible(final Callable<T> r) throws ExecutionException {
-        if (!(Thread.currentThread() instanceof Worker)) {
+        Worker w = currentWorker();
+        if (w == null) {
             throw new IllegalThreadStateException("The current thread is not "
                     + "taken out of a thread pool");
         }
-
-        Worker thisWorker = (Worker)Thread.currentThread();
-
-        boolean b;
-        synchronized (m_runningWorkers) {
-            b = m_runningWorkers.contains(thisWorker);
-        }
-
-        if (!b) {
-            synchronized (thisWorker.m_startedFrom.m_runningWorkers) {
-                b =
-                        thisWorker.m_startedFrom.m_runningWorkers
-                                .contains(thisWorker);
-            }
-
-            if (!b) {
-                throw new IllegalThreadStateException("The current thread is "
-                        + "not taken out of this thread pool");
-            }
-            return thisWorker.m_startedFrom.runInvisible(r);
-        } else {
-            m_invisibleThreads.incrementAndGet();
-            checkQueue();
-
-            try {
-                return r.call();
-            } catch (Exception ex) {
-                throw new ExecutionException(ex);
-            } finally {
-                m_invisibleThreads.decrementAndGet();
-            }
+        w.makeInvisible();
+        try {
+            return r.call();
+        } catch (Exception ex) {
+            throw new ExecutionException(ex);
+        } finally {
+            w.makeVisible();
         }
-
     }
 
     /**
@@ -634,32 +1029,44 @@ public void setMaxThreads(final int newValue) {
         if (newValue < 0) {
             throw new IllegalArgumentException("Thread count must be >= 0");
         }
-        if ((m_parent == null) && (newValue < m_maxThreads.get())) {
-            for (int i = (m_maxThreads.get() - newValue); i >= 0; i--) {
-                Worker w = m_availableWorkers.poll();
-                if (w != null) {
-                    w.interrupt();
-                }
-            }
+        m_scheduler.m_lock.lock();
+        try {
+            m_maxThreads = newValue;
+            m_scheduler.ensureWorker();
+        } finally {
+            m_scheduler.m_lock.unlock();
         }
-        m_maxThreads.set(newValue);
-        checkQueue();
     }
 
     /**
      * Shuts the pool down, still running threads are not interrupted.
      */
     public void shutdown() {
-        synchronized (m_queuedFutures) {
-            Iterator<MyFuture<?>> it = m_queuedFutures.iterator();
-            while (it.hasNext()) {
-                MyFuture<?> future = it.next();
-                if (future.getPool() == this) {
-                    decrementPendingJobs();
-                    future.cancel(true);
-                    it.remove();
+        // canceled outside the lock as completing a future runs its callback (see enqueue(Runnable, long, Runnable))
+        List<MyFuture<?>> canceled = new ArrayList<MyFuture<?>>();
+        m_scheduler.m_lock.lock();
+        try {
+            List<Deque<MyFuture<?>>> queues = new ArrayList<Deque<MyFuture<?>>>();
+            queues.add(m_scheduler.m_sharedQueue);
+            for (Worker w : m_scheduler.m_workers) {
+                queues.add(w.m_deque);
+            }
+            for (Deque<MyFuture<?>> queue : queues) {
+                for (Iterator<MyFuture<?>> it = queue.iterator(); it.hasNext();) {
+                    MyFuture<?> future = it.next();
+                    if (future.getPool() == this) {
+                        it.remove();
+                        m_scheduler.dequeued(future);
+                        decrementPendingJobs();
+                        canceled.add(future);
+                    }
                 }
             }
+        } finally {
+            m_scheduler.m_lock.unlock();
+        }
+        for (MyFuture<?> future : canceled) {
+            future.cancel(true);
         }
         setMaxThreads(0);
     }
@@ -669,8 +1076,19 @@ public void shutdown() {
      * Interrupts all running jobs.
      */
     public void interruptAll() {
-        for (Worker w : m_runningWorkers) {
-            w.interrupt();
+        m_scheduler.m_lock.lock();
+        try {
+            for (Worker w : m_scheduler.m_workers) {
+                MyFuture<?> current = w.m_current;
+                for (ThreadPool p = current == null ? null : current.getPool(); p != null; p = p.m_parent) {
+                    if (p == this) {
+                        w.interrupt();
+                        break;
+                    }
+                }
+            }
+        } finally {
+            m_scheduler.m_lock.unlock();
         }
     }
 
@@ -689,6 +1107,11 @@ public void interruptAll() {
      * example, {@link java.security.PrivilegedAction} to {@link Callable} form
      * so they can be submitted.
      *
+     * <p>
+     * If called by a thread of the pool, the task is run in the calling thread
+     * if it has not been started by another thread yet, so that a task can
+     * submit tasks to its own pool without blocking.
+     *
      * @param task the task to submit
      * @param <T> any result type
      * @return a Future representing pending completion of the task
@@ -707,6 +1130,11 @@ public <T> Future<T> submit(final Callable<T> task)
      * Submits a Runnable task for execution and returns a Future representing
      * that task. The method blocks until a free thread is available.
      *
+     * <p>
+     * If called by a thread of the pool, the task is run in the calling thread
+     * if it has not been started by another thread yet, so that a task can
+     * submit tasks to its own pool without blocking.
+     *
      * @param task the task to submit
      * @return a Future representing pending completion of the task, and whose
      *         <tt>get()</tt> method will return <tt>null</tt> upon completion.
@@ -725,67 +1153,21 @@ public Future<?> submit(final Runnable task) throws InterruptedException {
      * @throws InterruptedException if the thread is interrupted while waiting
      */
     public void waitForTermination() throws InterruptedException {
-        synchronized (m_pendingJobs) {
-            ThreadPool currentPool = currentPool();
-            if (currentPool != null) {
-                currentPool.m_invisibleThreads.incrementAndGet();
-            }
-            try {
-                checkQueue();
+        Worker w = currentWorker();
+        if (w != null) {
+            w.makeInvisible();
+        }
+        try {
+            synchronized (m_pendingJobs) {
                 while (m_pendingJobs.get() != 0) {
                     m_pendingJobs.wait();
                 }
-            } finally {
-                if (currentPool != null) {
-                    currentPool.m_invisibleThreads.decrementAndGet();
-                }
             }
-        }
-    }
-
-    /**
-     * This method is called every time a worker has finished.
-     *
-     * @param w the finished worker
-     */
-    protected void workerFinished(final Worker w) {
-        if (m_pendingJobs.decrementAndGet() == 0) {
-            synchronized (m_pendingJobs) {
-                m_pendingJobs.notifyAll();
-            }
-        }
-
-        if (m_parent != null) {
-            synchronized (m_runningWorkers) {
-                m_runningWorkers.remove(w);
-            }
-            m_parent.workerFinished(w);
-        } else { // this is the root pool
-            synchronized (m_runningWorkers) {
-                m_runningWorkers.remove(w);
-                m_availableWorkers.add(w);
-            }
-            if (checkQueue()) {
-                return;
-            }
-        }
-    }
-
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    protected void finalize() throws Throwable {
-        if (m_availableWorkers != null) {
-            while (true) {
-                Worker w = m_availableWorkers.poll();
-                if (w == null) {
-                    break;
-                }
-                w.interrupt();
+        } finally {
+            if (w != null) {
+                w.makeVisible();
             }
         }
-        super.finalize();
     }
 
     /**
@@ -795,11 +1177,9 @@ protected void finalize() throws Throwable {
      * @return a thread pool or <code>null</code>
      */
     public static ThreadPool currentPool() {
-        if (Thread.currentThread() instanceof Worker) {
-            return ((Worker)Thread.currentThread()).m_startedFrom;
-        } else {
-            return null;
-        }
+        Worker w = currentWorker();
+        MyFuture<?> current = w == null ? null : w.m_current;
+        return current == null ? null : current.getPool();
     }
 
     /**
@@ -808,6 +1188,6 @@ public static ThreadPool currentPool() {
      * @return the queue size
      */
     int getQueueSize() {
-        return m_queuedFutures.size();
+        return getQueuedTaskCount();
     }
 }
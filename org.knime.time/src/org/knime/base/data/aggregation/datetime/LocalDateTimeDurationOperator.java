@@ -130,4 +130,12 @@ protected DataCell getResultInternal(final DataCell min, final DataCell max) {
         return DurationCellFactory.create(Duration.between(((LocalDateTimeValue)min).getLocalDateTime(),
             ((LocalDateTimeValue)max).getLocalDateTime()));
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == LocalDateTimeDurationOperator.class;
+    }
 }
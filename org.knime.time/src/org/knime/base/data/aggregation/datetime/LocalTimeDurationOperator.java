@@ -128,4 +128,12 @@ protected DataCell getResultInternal(final DataCell min, final DataCell max) {
         return DurationCellFactory
             .create(Duration.between(((LocalTimeValue)min).getLocalTime(), ((LocalTimeValue)max).getLocalTime()));
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == LocalTimeDurationOperator.class;
+    }
 }
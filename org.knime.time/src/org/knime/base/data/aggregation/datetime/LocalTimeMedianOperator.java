@@ -130,4 +130,12 @@ public AggregationOperator createInstance(final GlobalSettings globalSettings,
     protected DataType getDataType(final DataType origType) {
         return TYPE;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == LocalTimeMedianOperator.class;
+    }
 }
@@ -127,4 +127,12 @@ protected DataCell getResultInternal(final DataCell min, final DataCell max) {
         return PeriodCellFactory
             .create(Period.between(((LocalDateValue)min).getLocalDate(), ((LocalDateValue)max).getLocalDate()));
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return getClass() == PeriodOperator.class;
+    }
 }
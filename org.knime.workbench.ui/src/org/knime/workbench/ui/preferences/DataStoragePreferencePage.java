@@ -56,6 +56,7 @@
 import org.eclipse.ui.IWorkbench;
 import org.eclipse.ui.IWorkbenchPreferencePage;
 import org.eclipse.ui.preferences.ScopedPreferenceStore;
+import org.knime.core.data.container.DefaultTableStoreFormat;
 import org.knime.core.data.container.storage.TableStoreFormatRegistry;
 import org.osgi.framework.FrameworkUtil;
 
@@ -94,6 +95,13 @@ protected void createFieldEditors() {
             "KNIME Table Storage Format", 1, labelsAndText, getFieldEditorParent());
         addField(m_editor);
 
+        // values are the names of DefaultTableStoreFormat.CompressionFormat
+        addField(new RadioGroupFieldEditor(DefaultTableStoreFormat.PREF_KEY_COMPRESSION,
+            "Compression of KNIME Table Storage Format (applies to newly written tables)", 1,
+            new String[][]{{"GZIP (small files, slow)", "Gzip"},
+                {"LZ4 (fast, files not readable by versions prior 3.7)", "Lz4"}, {"None", "None"}},
+            getFieldEditorParent()));
+
         DefaultScope.INSTANCE.getNode(CORE_BUNDLE_SYMBOLIC_NAME).addPreferenceChangeListener(this);
     }
 
@@ -52,6 +52,7 @@
 import org.eclipse.swt.graphics.FontData;
 import org.eclipse.swt.widgets.Display;
 import org.knime.core.data.ExtensibleUtilityFactory;
+import org.knime.core.data.container.DefaultTableStoreFormat;
 import org.knime.core.data.container.storage.TableStoreFormatRegistry;
 import org.knime.workbench.ui.KNIMEUIPlugin;
 
@@ -140,5 +141,6 @@ public void run() {
             fac.getDefaultRenderer(); // this sets the default preference for the renderer for this data type
         }
         TableStoreFormatRegistry.getInstance().getDefaultTableStoreFormat();
+        DataStoragePreferencePage.CORE_STORE.setDefault(DefaultTableStoreFormat.PREF_KEY_COMPRESSION, "Gzip");
     }
 }